@@ -214,7 +214,7 @@ public final class CarbonLRUCache {
    *
    * @return <Boolean> value
    */
-  private boolean isLRUCacheSizeConfigured() {
+  public boolean isLRUCacheSizeConfigured() {
     return lruCacheMemorySize > 0;
   }
 
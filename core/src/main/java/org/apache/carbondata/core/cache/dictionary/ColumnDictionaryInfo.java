@@ -18,9 +18,7 @@
 package org.apache.carbondata.core.cache.dictionary;
 
 import java.nio.charset.Charset;
-import java.text.SimpleDateFormat;
 import java.util.ArrayList;
-import java.util.Date;
 import java.util.List;
 import java.util.concurrent.atomic.AtomicReference;
 
@@ -29,6 +27,7 @@ import org.apache.carbondata.core.metadata.datatype.DataType;
 import org.apache.carbondata.core.util.ByteUtil;
 import org.apache.carbondata.core.util.CarbonUtil;
 import org.apache.carbondata.core.util.DataTypeUtil;
+import org.apache.carbondata.core.util.DateFormatParser;
 /**
  * class that implements methods specific for dictionary data look up
  */
@@ -285,12 +284,10 @@ public class ColumnDictionaryInfo extends AbstractColumnDictionaryInfo {
         case DATE:
         case TIMESTAMP:
           String format = CarbonUtil.getFormatFromProperty(dataType);
-          SimpleDateFormat parser = new SimpleDateFormat(format);
-          Date dateToStr;
-          Date dictionaryDate;
-          dateToStr = parser.parse(memberVal);
-          dictionaryDate = parser.parse(dictionaryVal);
-          return dictionaryDate.compareTo(dateToStr);
+          DateFormatParser parser = DateFormatParser.getParser(format, true);
+          long dateToStr = parser.parse(memberVal);
+          long dictionaryDate = parser.parse(dictionaryVal);
+          return Long.compare(dictionaryDate, dateToStr);
         case DECIMAL:
           java.math.BigDecimal javaDecValForDictVal = new java.math.BigDecimal(dictionaryVal);
           java.math.BigDecimal javaDecValForMemberVal = new java.math.BigDecimal(memberVal);
@@ -0,0 +1,99 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.carbondata.core.cache.dictionary;
+
+import java.util.Arrays;
+import java.util.BitSet;
+
+import org.apache.carbondata.core.constants.CarbonCommonConstants;
+import org.apache.carbondata.core.util.CarbonProperties;
+
+/**
+ * Keeps the values of the surrogate keys of a dictionary decoded in a task, so that each
+ * distinct value is decoded only once instead of once per row. The cache grows with the
+ * dictionary up to the maximum size, values of the bigger surrogate keys are decoded every time.
+ * Values are decoded to the dictionary string by default, subclasses can decode them to the
+ * value type of their engine.
+ */
+public class DecodedValueCache {
+
+  private final Dictionary dictionary;
+
+  private final int maxSize;
+
+  private Object[] values;
+
+  /**
+   * surrogate keys whose values are decoded, as the decoded value can be null
+   */
+  private final BitSet decoded;
+
+  public DecodedValueCache(Dictionary dictionary) {
+    this(dictionary, getMaxSize());
+  }
+
+  /**
+   * @param maxSize maximum number of values kept, 0 to decode every time
+   */
+  public DecodedValueCache(Dictionary dictionary, int maxSize) {
+    this.dictionary = dictionary;
+    this.maxSize = Math.max(maxSize, 0);
+    this.values = new Object[Math.min(dictionary.getDictionaryChunks().getSize() + 1,
+        this.maxSize)];
+    this.decoded = new BitSet(values.length);
+  }
+
+  public Object getValue(int surrogateKey) {
+    if (surrogateKey < 0 || surrogateKey >= maxSize) {
+      return decode(surrogateKey);
+    }
+    if (surrogateKey >= values.length) {
+      // dictionary has grown after the cache is created
+      values = Arrays.copyOf(values, surrogateKey + 1);
+    }
+    if (!decoded.get(surrogateKey)) {
+      values[surrogateKey] = decode(surrogateKey);
+      decoded.set(surrogateKey);
+    }
+    return values[surrogateKey];
+  }
+
+  /**
+   * @return number of the values kept in the cache
+   */
+  public int size() {
+    return values.length;
+  }
+
+  protected Object decode(int surrogateKey) {
+    return dictionary.getDictionaryValueForKey(surrogateKey);
+  }
+
+  /**
+   * @return configured maximum number of decoded values kept for a dictionary column
+   */
+  public static int getMaxSize() {
+    try {
+      return Integer.parseInt(CarbonProperties.getInstance()
+          .getProperty(CarbonCommonConstants.DICTIONARY_DECODED_VALUES_MAX_SIZE,
+              CarbonCommonConstants.DICTIONARY_DECODED_VALUES_MAX_SIZE_DEFAULT));
+    } catch (NumberFormatException e) {
+      return Integer.parseInt(CarbonCommonConstants.DICTIONARY_DECODED_VALUES_MAX_SIZE_DEFAULT);
+    }
+  }
+}
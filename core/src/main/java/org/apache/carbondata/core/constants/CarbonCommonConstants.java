@@ -477,6 +477,18 @@ public final class CarbonCommonConstants {
    * LOAD_STATUS PARTIAL_SUCCESS
    */
   public static final String STORE_LOADSTATUS_PARTIAL_SUCCESS = "Partial Success";
+  /**
+   * LOAD_STATUS STREAMING, segment is open for appending micro batches
+   */
+  public static final String STORE_LOADSTATUS_STREAMING = "Streaming";
+  /**
+   * LOAD_STATUS STREAMING_FINISH, streaming segment is closed and waiting for handoff
+   */
+  public static final String STORE_LOADSTATUS_STREAMING_FINISH = "Streaming Finish";
+  /**
+   * LOAD_STATUS IN_PROGRESS, segment is opened for load and not yet committed
+   */
+  public static final String STORE_LOADSTATUS_IN_PROGRESS = "In Progress";
   /**
    * LOAD_STATUS
    */
@@ -646,6 +658,24 @@ public final class CarbonCommonConstants {
    */
   public static final char BIG_INT_MEASURE = 'd';
 
+  /**
+   * FIXED_POINT_DECIMAL_MEASURE, decimal measure stored as unscaled long values
+   */
+  public static final char FIXED_POINT_DECIMAL_MEASURE = 'f';
+
+  /**
+   * max precision of the decimal measures which can be stored as unscaled long values
+   */
+  public static final int FIXED_POINT_DECIMAL_MAX_PRECISION = 18;
+
+  /**
+   * whether decimal measures with precision up to 18 are stored as unscaled long values
+   * instead of big decimal bytes
+   */
+  public static final String ENABLE_FIXED_POINT_DECIMAL = "carbon.enable.fixed.point.decimal";
+
+  public static final String ENABLE_FIXED_POINT_DECIMAL_DEFAULT = "true";
+
   /**
    * This determines the size of array to be processed in data load steps. one
    * for dimensions , one of ignore dictionary dimensions , one for measures.
@@ -694,6 +724,20 @@ public final class CarbonCommonConstants {
    */
   public static final String ZOOKEEPER_LOCATION = "/CarbonLocks";
 
+  /**
+   * ZOOKEEPER_SEGMENT_LOCATION this is the location in zookeeper file system where the
+   * segment metadata of the tables is stored when zookeeper segment manager is used.
+   */
+  public static final String ZOOKEEPER_SEGMENT_LOCATION = "/CarbonSegments";
+
+  /**
+   * if true, segment ids of the loads are allocated by the zookeeper segment manager, so
+   * loads of a table from different drivers do not get the same segment id
+   */
+  public static final String CARBON_SEGMENT_MANAGER_ENABLE = "carbon.segment.manager.enable";
+
+  public static final String CARBON_SEGMENT_MANAGER_ENABLE_DEFAULT = "false";
+
   /**
    * maximum dictionary chunk size that can be kept in memory while writing dictionary file
    */
@@ -704,6 +748,23 @@ public final class CarbonCommonConstants {
    */
   public static final String DICTIONARY_ONE_CHUNK_SIZE_DEFAULT = "10000";
 
+  /**
+   * number of threads used to evaluate a filter on all the values of a dictionary column, the
+   * threads are shared by all the queries of the process
+   */
+  public static final String DICTIONARY_FILTER_RESOLVE_THREADS =
+      "carbon.dictionary.filter.resolve.threads";
+
+  public static final String DICTIONARY_FILTER_RESOLVE_THREADS_DEFAULT = "4";
+
+  /**
+   * number of filters on dictionary columns whose resolved surrogate keys are cached,
+   * 0 disables the cache
+   */
+  public static final String DICTIONARY_FILTER_CACHE_SIZE = "carbon.dictionary.filter.cache.size";
+
+  public static final String DICTIONARY_FILTER_CACHE_SIZE_DEFAULT = "100";
+
   /**
    * xxhash algorithm property for hashmap
    */
@@ -810,6 +871,10 @@ public final class CarbonCommonConstants {
   public static final String COLUMN_PROPERTIES = "columnproperties";
   // table block size in MB
   public static final String TABLE_BLOCKSIZE = "table_blocksize";
+  // comma separated dictionary dimensions, rows are sorted on the z-order of their surrogate keys
+  public static final String ZORDER_COLUMNS = "zorder_columns";
+  // if true, data frame loads of the table are appended to a row format streaming segment
+  public static final String STREAMING = "streaming";
   // set in column level to disable inverted index
   public static final String NO_INVERTED_INDEX = "no_inverted_index";
 
@@ -879,6 +944,77 @@ public final class CarbonCommonConstants {
    */
   public static final String DEFAULT_SEGMENT_LEVEL_THRESHOLD = "4,3";
 
+  /**
+   * Policy used to select the segments of minor and auto compaction, level policy merges
+   * segments by count as per carbon.compaction.level.threshold and size_tiered policy merges
+   * segments of similar size chosen by the cost of the merge
+   */
+  public static final String COMPACTION_POLICY = "carbon.compaction.policy";
+
+  public static final String COMPACTION_POLICY_LEVEL = "level";
+
+  public static final String COMPACTION_POLICY_SIZE_TIERED = "size_tiered";
+
+  public static final String COMPACTION_POLICY_DEFAULT = COMPACTION_POLICY_LEVEL;
+
+  /**
+   * Minimum number of segments of similar size to be present in a tier for it to be merged
+   */
+  public static final String SIZE_TIERED_COMPACTION_MIN_THRESHOLD =
+      "carbon.compaction.size.tiered.min.threshold";
+
+  public static final String SIZE_TIERED_COMPACTION_MIN_THRESHOLD_DEFAULT = "4";
+
+  /**
+   * Maximum number of segments merged in one size tiered compaction
+   */
+  public static final String SIZE_TIERED_COMPACTION_MAX_THRESHOLD =
+      "carbon.compaction.size.tiered.max.threshold";
+
+  public static final String SIZE_TIERED_COMPACTION_MAX_THRESHOLD_DEFAULT = "32";
+
+  /**
+   * Segments whose size is within this ratio of the average size of a tier belong to the tier
+   */
+  public static final String SIZE_TIERED_COMPACTION_BUCKET_RATIO =
+      "carbon.compaction.size.tiered.bucket.ratio";
+
+  public static final String SIZE_TIERED_COMPACTION_BUCKET_RATIO_DEFAULT = "2";
+
+  /**
+   * Size in MB below which all the segments are considered to be in the smallest tier
+   */
+  public static final String SIZE_TIERED_COMPACTION_MIN_SIZE =
+      "carbon.compaction.size.tiered.min.size";
+
+  public static final String SIZE_TIERED_COMPACTION_MIN_SIZE_DEFAULT = "64";
+
+  /**
+   * Ratio of deleted rows above which a tier is merged even if it has less segments than
+   * carbon.compaction.size.tiered.min.threshold
+   */
+  public static final String SIZE_TIERED_COMPACTION_DELETE_RATIO =
+      "carbon.compaction.size.tiered.delete.ratio";
+
+  public static final String SIZE_TIERED_COMPACTION_DELETE_RATIO_DEFAULT = "0.2";
+
+  /**
+   * Maximum MB per second written by all the compaction tasks of an executor, 0 means
+   * compaction is not throttled
+   */
+  public static final String COMPACTION_IO_THROTTLE = "carbon.compaction.io.throttle.mb";
+
+  public static final String COMPACTION_IO_THROTTLE_DEFAULT = "0";
+
+  /**
+   * If true, compaction copies the encoded blocklets of the blocks to the merged segment when
+   * the blocks have the same schema and cardinality and their key ranges do not overlap, rows
+   * are merged otherwise
+   */
+  public static final String COMPACTION_BLOCKLET_COPY = "carbon.compaction.blocklet.copy";
+
+  public static final String COMPACTION_BLOCKLET_COPY_DEFAULT = "false";
+
   /**
    * Number of Update Delta files which is the Threshold for IUD compaction.
    * Only accepted Range is 0 - 10000. Outside this range system will pick default value.
@@ -1069,6 +1205,14 @@ public final class CarbonCommonConstants {
    */
   public static final String ENABLE_UNSAFE_SORT_DEFAULT = "false";
 
+  /**
+   * if true, row buffers of the load input and converter steps are reused for the next batch
+   * when the rows are packed into memory pages by the unsafe sort
+   */
+  public static final String CARBON_LOAD_ROW_BUFFER_REUSE = "carbon.load.row.buffer.reuse";
+
+  public static final String CARBON_LOAD_ROW_BUFFER_REUSE_DEFAULT = "true";
+
   /**
    * to enable offheap sort
    */
@@ -1110,10 +1254,83 @@ public final class CarbonCommonConstants {
    */
   public static final String LOAD_BATCH_SORT_SIZE_INMB = "carbon.load.batch.sort.size.inmb";
 
+  /**
+   * Scope of sorting while loading, NO_SORT writes the rows in input order, BATCH_SORT sorts
+   * each batch, LOCAL_SORT sorts all the rows of the node and GLOBAL_SORT range partitions
+   * the rows of the load across the writer tasks and sorts them.
+   * If not configured, carbon.load.use.batch.sort is used to choose between BATCH_SORT and
+   * LOCAL_SORT
+   */
+  public static final String LOAD_SORT_SCOPE = "carbon.load.sort.scope";
+
+  public static final String LOAD_SORT_SCOPE_DEFAULT = "LOCAL_SORT";
+
+  /**
+   * Number of writer tasks of the global sort load, each task writes one range of the sort key.
+   * If not configured, number of tasks reading the input is used
+   */
+  public static final String LOAD_GLOBAL_SORT_PARTITIONS = "carbon.load.global.sort.partitions";
+
+  /**
+   * If true, the load writes the carbondata and carbonindex files directly to the store path,
+   * instead of writing them to the local disk first and copying them to the store path
+   */
+  public static final String LOAD_DIRECT_WRITE_TO_STORE_PATH =
+      "carbon.load.direct.write.to.store.path";
+
+  public static final String LOAD_DIRECT_WRITE_TO_STORE_PATH_DEFAULT = "false";
+
   public static final String ENABLE_VECTOR_READER = "carbon.enable.vector.reader";
 
   public static final String ENABLE_VECTOR_READER_DEFAULT = "true";
 
+  /**
+   * maximum number of decoded values of a dictionary column kept by a task, by both the
+   * dictionary decode read support and the dictionary decoder of spark. Values of the bigger
+   * surrogate keys are decoded on every read
+   */
+  public static final String DICTIONARY_DECODED_VALUES_MAX_SIZE =
+      "carbon.dictionary.decoded.values.max.size";
+
+  public static final String DICTIONARY_DECODED_VALUES_MAX_SIZE_DEFAULT = "1000000";
+
+  /**
+   * reads from the object store bigger than this size in bytes are split to ranged requests of
+   * this size which are sent in parallel
+   */
+  public static final String OBJECT_STORE_READ_PART_SIZE = "carbon.object.store.read.part.size";
+
+  public static final String OBJECT_STORE_READ_PART_SIZE_DEFAULT = "8388608";
+
+  /**
+   * number of ranged requests of a read sent in parallel to the object store
+   */
+  public static final String OBJECT_STORE_READ_THREADS = "carbon.object.store.read.threads";
+
+  public static final String OBJECT_STORE_READ_THREADS_DEFAULT = "4";
+
+  /**
+   * local directory of the executor where the column chunks read from the remote store are
+   * cached, the cache is disabled when it is not configured
+   */
+  public static final String CHUNK_DISK_CACHE_LOCATION = "carbon.chunk.disk.cache.location";
+
+  /**
+   * maximum size of the column chunk disk cache in MB
+   */
+  public static final String CHUNK_DISK_CACHE_SIZE_MB = "carbon.chunk.disk.cache.size.mb";
+
+  public static final String CHUNK_DISK_CACHE_SIZE_MB_DEFAULT = "10240";
+
+  /**
+   * maximum size in MB of the chunks waiting to be written to the column chunk disk cache,
+   * chunks read beyond it are not cached
+   */
+  public static final String CHUNK_DISK_CACHE_PENDING_WRITE_SIZE_MB =
+      "carbon.chunk.disk.cache.pending.write.size.mb";
+
+  public static final String CHUNK_DISK_CACHE_PENDING_WRITE_SIZE_MB_DEFAULT = "64";
+
   /*
    * carbon dictionary server port
    */
@@ -1184,6 +1401,66 @@ public final class CarbonCommonConstants {
 
   public static final String CARBON_BAD_RECORDS_ACTION_DEFAULT = "FORCE";
 
+  /**
+   * number of rows buffered before a blocklet is appended to the streaming file
+   */
+  public static final String CARBON_STREAMING_BLOCKLET_ROW_COUNT =
+      "carbon.streaming.blocklet.row.count";
+
+  public static final String CARBON_STREAMING_BLOCKLET_ROW_COUNT_DEFAULT = "32000";
+
+  /**
+   * size in MB after which the streaming segment is finished and handed off to columnar format
+   */
+  public static final String CARBON_STREAMING_SEGMENT_MAX_SIZE =
+      "carbon.streaming.segment.max.size";
+
+  public static final String CARBON_STREAMING_SEGMENT_MAX_SIZE_DEFAULT = "1024";
+
+  /**
+   * if true, changes of table status are appended to a log file next to the table status
+   * file instead of rewriting the whole file for every change
+   */
+  public static final String CARBON_TABLE_STATUS_LOG_ENABLE = "carbon.tablestatus.log.enable";
+
+  public static final String CARBON_TABLE_STATUS_LOG_ENABLE_DEFAULT = "false";
+
+  /**
+   * number of changes appended to the table status log after which the log is merged into
+   * the table status file
+   */
+  public static final String CARBON_TABLE_STATUS_CHECKPOINT_INTERVAL =
+      "carbon.tablestatus.checkpoint.interval";
+
+  public static final String CARBON_TABLE_STATUS_CHECKPOINT_INTERVAL_DEFAULT = "50";
+
+  /**
+   * maximum number of table status files whose merged view is kept in memory when the table
+   * status log is enabled, least recently read views are removed beyond it
+   */
+  public static final String CARBON_TABLE_STATUS_LOG_CACHE_SIZE =
+      "carbon.tablestatus.log.cache.size";
+
+  public static final String CARBON_TABLE_STATUS_LOG_CACHE_SIZE_DEFAULT = "1000";
+
+  /**
+   * if true, start keys and min max values of the blocklets of a block are packed in one off
+   * heap buffer instead of keeping separate index key and byte array objects per blocklet
+   */
+  public static final String ENABLE_OFFHEAP_BLOCKLET_INDEX = "carbon.enable.offheap.blocklet.index";
+
+  public static final String ENABLE_OFFHEAP_BLOCKLET_INDEX_DEFAULT = "false";
+
+  /**
+   * number of blocks of a task split scanned together, next blocklets of all of them are read
+   * and scanned in background while the result of one of them is filled. Rows of the blocks
+   * are returned interleaved, so queries which need rows in block order scan one block at a
+   * time
+   */
+  public static final String CARBON_QUERY_SCAN_PARALLELISM = "carbon.query.scan.parallelism";
+
+  public static final String CARBON_QUERY_SCAN_PARALLELISM_DEFAULT = "1";
+
   private CarbonCommonConstants() {
   }
 }
@@ -27,9 +27,11 @@ import org.apache.carbondata.core.cache.Cache;
 import org.apache.carbondata.core.cache.CarbonLRUCache;
 import org.apache.carbondata.core.datastore.block.AbstractIndex;
 import org.apache.carbondata.core.datastore.block.BlockInfo;
+import org.apache.carbondata.core.datastore.block.CompactDataFileFooter;
 import org.apache.carbondata.core.datastore.block.TableBlockInfo;
 import org.apache.carbondata.core.datastore.block.TableBlockUniqueIdentifier;
 import org.apache.carbondata.core.datastore.exception.IndexBuilderException;
+import org.apache.carbondata.core.metadata.ColumnarFormatVersion;
 import org.apache.carbondata.core.metadata.blocklet.DataFileFooter;
 import org.apache.carbondata.core.util.CarbonUtil;
 
@@ -40,6 +42,11 @@ import org.apache.carbondata.core.util.CarbonUtil;
  */
 public abstract class AbstractBlockIndexStoreCache<K, V>
     implements Cache<TableBlockUniqueIdentifier, AbstractIndex> {
+  /**
+   * suffix of the lru cache key of the compact footer of a block
+   */
+  private static final String FOOTER_CACHE_KEY_SUFFIX = "_footer";
+
   /**
    * carbon store path
    */
@@ -95,7 +102,7 @@ public abstract class AbstractBlockIndexStoreCache<K, V>
       tableBlock.setMemorySize(requiredMetaSize);
       // load table blocks data
       // getting the data file meta data of the block
-      DataFileFooter footer = CarbonUtil.readMetadatFile(blockInfo);
+      DataFileFooter footer = readDataFileFooter(blockInfo, lruCacheKey);
       footer.setBlockInfo(new BlockInfo(blockInfo));
       // building the block
       tableBlock.buildIndex(Collections.singletonList(footer));
@@ -110,4 +117,40 @@ public abstract class AbstractBlockIndexStoreCache<K, V>
           "Invalid carbon data file: " + blockInfo.getFilePath());
     }
   }
+
+  /**
+   * Below method will be used to read the footer of the block. Footer of V3 block is cached
+   * in compact form in the lru cache, so the footer is not read from the file again when the
+   * B-Tree of the block is evicted and loaded again. Without the lru cache size nothing is
+   * evicted, so the footer is not cached.
+   *
+   * @param blockInfo
+   * @param lruCacheKey lru cache key of the block
+   * @return footer of the block
+   */
+  private DataFileFooter readDataFileFooter(TableBlockInfo blockInfo, String lruCacheKey)
+      throws IOException {
+    if (blockInfo.getVersion() != ColumnarFormatVersion.V3 || !lruCache
+        .isLRUCacheSizeConfigured()) {
+      return CarbonUtil.readMetadatFile(blockInfo);
+    }
+    String footerCacheKey = getFooterCacheKey(lruCacheKey);
+    CompactDataFileFooter compactFooter = (CompactDataFileFooter) lruCache.get(footerCacheKey);
+    if (null != compactFooter) {
+      return compactFooter.toDataFileFooter();
+    }
+    DataFileFooter footer = CarbonUtil.readMetadatFile(blockInfo);
+    compactFooter = CompactDataFileFooter.fromDataFileFooter(footer);
+    // footer is only an optimization, so it is not an error if it does not fit in the cache
+    lruCache.put(footerCacheKey, compactFooter, compactFooter.getMemorySize());
+    return footer;
+  }
+
+  /**
+   * @param lruCacheKey lru cache key of the block
+   * @return lru cache key of the compact footer of the block
+   */
+  protected static String getFooterCacheKey(String lruCacheKey) {
+    return lruCacheKey + FOOTER_CACHE_KEY_SUFFIX;
+  }
 }
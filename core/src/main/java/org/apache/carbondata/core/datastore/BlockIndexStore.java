@@ -330,6 +330,7 @@ public class BlockIndexStore<K, V> extends AbstractBlockIndexStoreCache<K, V> {
         for (BlockInfo blockInfo : blockInfos) {
           String lruCacheKey = getLruCacheKey(absoluteTableIdentifier, blockInfo);
           lruCache.remove(lruCacheKey);
+          lruCache.remove(getFooterCacheKey(lruCacheKey));
         }
       }
     }
@@ -368,6 +369,7 @@ public class BlockIndexStore<K, V> extends AbstractBlockIndexStoreCache<K, V> {
                 String lruCacheKey =
                     getLruCacheKey(queryModel.getAbsoluteTableIdentifier(), blockInfo);
                 lruCache.remove(lruCacheKey);
+                lruCache.remove(getFooterCacheKey(lruCacheKey));
               }
             }
           }
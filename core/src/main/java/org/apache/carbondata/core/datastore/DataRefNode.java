@@ -65,6 +65,13 @@ public interface DataRefNode {
    */
   byte[][] getColumnsMinValue();
 
+  /**
+   * This method will be used to get the min and max values of all the columns for the min max
+   * pruning of filter query, values are not copied
+   *
+   */
+  MinMaxValues getColumnsMinMaxValues();
+
   /**
    * Below method will be used to get the dimension chunks
    *
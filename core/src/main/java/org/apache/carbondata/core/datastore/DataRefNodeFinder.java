@@ -16,6 +16,8 @@
  */
 package org.apache.carbondata.core.datastore;
 
+import java.util.List;
+
 /**
  * Below Interface is to search a block
  */
@@ -38,4 +40,15 @@ public interface DataRefNodeFinder {
    * @return data block
    */
   DataRefNode findLastDataBlock(DataRefNode dataBlocks, IndexKey searchKey);
+
+  /**
+   * Below method will be used to get the tentative blocks of multiple key ranges, so
+   * the blocks in between the ranges are skipped. Each range is a start and end key and
+   * ranges must be in the key order. Blocks of the overlapping ranges are returned once.
+   *
+   * @param dataBlocks complete data blocks present
+   * @param keyRanges  start and end key of each range
+   * @return data blocks in the order of the btree
+   */
+  List<DataRefNode> findDataBlocks(DataRefNode dataBlocks, List<IndexKey[]> keyRanges);
 }
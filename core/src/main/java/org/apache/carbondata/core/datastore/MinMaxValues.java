@@ -0,0 +1,49 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.carbondata.core.datastore;
+
+/**
+ * Min and max values of the columns of a block or blocklet. Values are compared in place, so
+ * min max pruning does not copy the values of the columns which are not filtered.
+ * Values are compared as unsigned bytes, a shorter value is smaller when it is the prefix of
+ * the other one.
+ */
+public interface MinMaxValues {
+
+  /**
+   * @return negative, zero or positive if the value is less than, equal to or more than the
+   * min value of the column
+   */
+  int compareToMin(int columnIndex, byte[] value);
+
+  /**
+   * @return negative, zero or positive if the value is less than, equal to or more than the
+   * max value of the column
+   */
+  int compareToMax(int columnIndex, byte[] value);
+
+  /**
+   * @return min value of the column, it can be a copy so use compareToMin for comparing
+   */
+  byte[] getMinValue(int columnIndex);
+
+  /**
+   * @return max value of the column, it can be a copy so use compareToMax for comparing
+   */
+  byte[] getMaxValue(int columnIndex);
+}
@@ -0,0 +1,315 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.carbondata.core.datastore.block;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.charset.Charset;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.apache.carbondata.core.cache.Cacheable;
+import org.apache.carbondata.core.constants.CarbonCommonConstants;
+import org.apache.carbondata.core.metadata.ColumnarFormatVersion;
+import org.apache.carbondata.core.metadata.blocklet.BlockletInfo;
+import org.apache.carbondata.core.metadata.blocklet.DataFileFooter;
+import org.apache.carbondata.core.metadata.blocklet.SegmentInfo;
+import org.apache.carbondata.core.metadata.blocklet.index.BlockletBTreeIndex;
+import org.apache.carbondata.core.metadata.blocklet.index.BlockletIndex;
+import org.apache.carbondata.core.metadata.blocklet.index.BlockletMinMaxIndex;
+import org.apache.carbondata.core.metadata.datatype.DataType;
+import org.apache.carbondata.core.metadata.encoder.Encoding;
+import org.apache.carbondata.core.metadata.schema.table.column.ColumnSchema;
+
+/**
+ * Footer of a V3 carbondata file kept as one compact byte array, so it can be cached in the
+ * executor lru cache and a block whose B-Tree is evicted can be loaded again without reading
+ * and deserializing the thrift footer from the store. Only the fields set by the V3 footer
+ * converter are kept, the block info is set by the caller after decoding.
+ */
+public class CompactDataFileFooter implements Cacheable {
+
+  private static final Charset CHARSET =
+      Charset.forName(CarbonCommonConstants.DEFAULT_CHARSET);
+
+  /**
+   * object header and fields of this instance and the header of the byte array
+   */
+  private static final int OBJECT_OVERHEAD = 32;
+
+  private byte[] data;
+
+  private CompactDataFileFooter(byte[] data) {
+    this.data = data;
+  }
+
+  /**
+   * @param footer footer of a V3 carbondata file
+   * @return compact form of the footer
+   */
+  public static CompactDataFileFooter fromDataFileFooter(DataFileFooter footer)
+      throws IOException {
+    ByteArrayOutputStream byteStream = new ByteArrayOutputStream();
+    DataOutputStream out = new DataOutputStream(byteStream);
+    out.writeShort(footer.getVersionId().number());
+    out.writeLong(footer.getNumberOfRows());
+    out.writeLong(footer.getSchemaUpdatedTimeStamp());
+    SegmentInfo segmentInfo = footer.getSegmentInfo();
+    out.writeInt(segmentInfo.getNumberOfColumns());
+    writeIntArray(out, segmentInfo.getColumnCardinality());
+    List<ColumnSchema> columnSchemaList = footer.getColumnInTable();
+    out.writeInt(columnSchemaList.size());
+    for (ColumnSchema columnSchema : columnSchemaList) {
+      writeColumnSchema(out, columnSchema);
+    }
+    List<BlockletInfo> blockletList = footer.getBlockletList();
+    out.writeInt(blockletList.size());
+    for (BlockletInfo blockletInfo : blockletList) {
+      writeBlockletInfo(out, blockletInfo);
+    }
+    writeBlockletIndex(out, footer.getBlockletIndex());
+    out.flush();
+    return new CompactDataFileFooter(byteStream.toByteArray());
+  }
+
+  /**
+   * @return new footer instance decoded from the compact form, block info is not set
+   */
+  public DataFileFooter toDataFileFooter() throws IOException {
+    DataInputStream in = new DataInputStream(new ByteArrayInputStream(data));
+    DataFileFooter footer = new DataFileFooter();
+    footer.setVersionId(ColumnarFormatVersion.valueOf(in.readShort()));
+    footer.setNumberOfRows(in.readLong());
+    footer.setSchemaUpdatedTimeStamp(in.readLong());
+    SegmentInfo segmentInfo = new SegmentInfo();
+    segmentInfo.setNumberOfColumns(in.readInt());
+    segmentInfo.setColumnCardinality(readIntArray(in));
+    footer.setSegmentInfo(segmentInfo);
+    int numberOfColumns = in.readInt();
+    List<ColumnSchema> columnSchemaList = new ArrayList<ColumnSchema>(numberOfColumns);
+    for (int i = 0; i < numberOfColumns; i++) {
+      columnSchemaList.add(readColumnSchema(in));
+    }
+    footer.setColumnInTable(columnSchemaList);
+    int numberOfBlocklets = in.readInt();
+    List<BlockletInfo> blockletList = new ArrayList<BlockletInfo>(numberOfBlocklets);
+    for (int i = 0; i < numberOfBlocklets; i++) {
+      blockletList.add(readBlockletInfo(in));
+    }
+    footer.setBlockletList(blockletList);
+    footer.setBlockletIndex(readBlockletIndex(in));
+    return footer;
+  }
+
+  private static void writeColumnSchema(DataOutputStream out, ColumnSchema columnSchema)
+      throws IOException {
+    writeString(out, columnSchema.getColumnUniqueId());
+    writeString(out, columnSchema.getColumnName());
+    out.writeBoolean(columnSchema.isColumnar());
+    out.writeInt(columnSchema.getDataType().ordinal());
+    out.writeBoolean(columnSchema.isDimensionColumn());
+    List<Encoding> encodingList = columnSchema.getEncodingList();
+    out.writeInt(encodingList.size());
+    for (Encoding encoding : encodingList) {
+      out.writeInt(encoding.ordinal());
+    }
+    out.writeInt(columnSchema.getNumberOfChild());
+    out.writeInt(columnSchema.getPrecision());
+    out.writeInt(columnSchema.getColumnGroupId());
+    out.writeInt(columnSchema.getScale());
+    writeBytes(out, columnSchema.getDefaultValue());
+  }
+
+  private static ColumnSchema readColumnSchema(DataInputStream in) throws IOException {
+    ColumnSchema columnSchema = new ColumnSchema();
+    columnSchema.setColumnUniqueId(readString(in));
+    columnSchema.setColumnName(readString(in));
+    columnSchema.setColumnar(in.readBoolean());
+    columnSchema.setDataType(DataType.values()[in.readInt()]);
+    columnSchema.setDimensionColumn(in.readBoolean());
+    int numberOfEncodings = in.readInt();
+    List<Encoding> encodingList = new ArrayList<Encoding>(numberOfEncodings);
+    for (int i = 0; i < numberOfEncodings; i++) {
+      encodingList.add(Encoding.values()[in.readInt()]);
+    }
+    columnSchema.setEncodingList(encodingList);
+    columnSchema.setNumberOfChild(in.readInt());
+    columnSchema.setPrecision(in.readInt());
+    columnSchema.setColumnGroup(in.readInt());
+    columnSchema.setScale(in.readInt());
+    columnSchema.setDefaultValue(readBytes(in));
+    return columnSchema;
+  }
+
+  private static void writeBlockletInfo(DataOutputStream out, BlockletInfo blockletInfo)
+      throws IOException {
+    out.writeInt(blockletInfo.getNumberOfRows());
+    out.writeInt(blockletInfo.getNumberOfPages());
+    out.writeLong(blockletInfo.getDimensionOffset());
+    out.writeLong(blockletInfo.getMeasureOffsets());
+    writeLongList(out, blockletInfo.getDimensionChunkOffsets());
+    writeIntList(out, blockletInfo.getDimensionChunksLength());
+    writeLongList(out, blockletInfo.getMeasureChunkOffsets());
+    writeIntList(out, blockletInfo.getMeasureChunksLength());
+    writeBlockletIndex(out, blockletInfo.getBlockletIndex());
+  }
+
+  private static BlockletInfo readBlockletInfo(DataInputStream in) throws IOException {
+    BlockletInfo blockletInfo = new BlockletInfo();
+    blockletInfo.setNumberOfRows(in.readInt());
+    blockletInfo.setNumberOfPages(in.readInt());
+    blockletInfo.setDimensionOffset(in.readLong());
+    blockletInfo.setMeasureOffsets(in.readLong());
+    blockletInfo.setDimensionChunkOffsets(readLongList(in));
+    blockletInfo.setDimensionChunksLength(readIntList(in));
+    blockletInfo.setMeasureChunkOffsets(readLongList(in));
+    blockletInfo.setMeasureChunksLength(readIntList(in));
+    blockletInfo.setBlockletIndex(readBlockletIndex(in));
+    return blockletInfo;
+  }
+
+  private static void writeBlockletIndex(DataOutputStream out, BlockletIndex blockletIndex)
+      throws IOException {
+    writeBytes(out, blockletIndex.getBtreeIndex().getStartKey());
+    writeBytes(out, blockletIndex.getBtreeIndex().getEndKey());
+    writeByteArrays(out, blockletIndex.getMinMaxIndex().getMinValues());
+    writeByteArrays(out, blockletIndex.getMinMaxIndex().getMaxValues());
+  }
+
+  private static BlockletIndex readBlockletIndex(DataInputStream in) throws IOException {
+    BlockletBTreeIndex btreeIndex = new BlockletBTreeIndex(readBytes(in), readBytes(in));
+    BlockletMinMaxIndex minMaxIndex = new BlockletMinMaxIndex();
+    minMaxIndex.setMinValues(readByteArrays(in));
+    minMaxIndex.setMaxValues(readByteArrays(in));
+    return new BlockletIndex(btreeIndex, minMaxIndex);
+  }
+
+  private static void writeString(DataOutputStream out, String value) throws IOException {
+    writeBytes(out, null == value ? null : value.getBytes(CHARSET));
+  }
+
+  private static String readString(DataInputStream in) throws IOException {
+    byte[] bytes = readBytes(in);
+    return null == bytes ? null : new String(bytes, CHARSET);
+  }
+
+  /**
+   * writes the length followed by the bytes, length -1 for null
+   */
+  private static void writeBytes(DataOutputStream out, byte[] value) throws IOException {
+    if (null == value) {
+      out.writeInt(-1);
+    } else {
+      out.writeInt(value.length);
+      out.write(value);
+    }
+  }
+
+  private static byte[] readBytes(DataInputStream in) throws IOException {
+    int length = in.readInt();
+    if (length < 0) {
+      return null;
+    }
+    byte[] value = new byte[length];
+    in.readFully(value);
+    return value;
+  }
+
+  private static void writeByteArrays(DataOutputStream out, byte[][] values)
+      throws IOException {
+    out.writeInt(values.length);
+    for (byte[] value : values) {
+      writeBytes(out, value);
+    }
+  }
+
+  private static byte[][] readByteArrays(DataInputStream in) throws IOException {
+    byte[][] values = new byte[in.readInt()][];
+    for (int i = 0; i < values.length; i++) {
+      values[i] = readBytes(in);
+    }
+    return values;
+  }
+
+  private static void writeIntArray(DataOutputStream out, int[] values) throws IOException {
+    out.writeInt(values.length);
+    for (int value : values) {
+      out.writeInt(value);
+    }
+  }
+
+  private static int[] readIntArray(DataInputStream in) throws IOException {
+    int[] values = new int[in.readInt()];
+    for (int i = 0; i < values.length; i++) {
+      values[i] = in.readInt();
+    }
+    return values;
+  }
+
+  private static void writeIntList(DataOutputStream out, List<Integer> values)
+      throws IOException {
+    out.writeInt(values.size());
+    for (Integer value : values) {
+      out.writeInt(value);
+    }
+  }
+
+  private static List<Integer> readIntList(DataInputStream in) throws IOException {
+    int size = in.readInt();
+    List<Integer> values = new ArrayList<Integer>(size);
+    for (int i = 0; i < size; i++) {
+      values.add(in.readInt());
+    }
+    return values;
+  }
+
+  private static void writeLongList(DataOutputStream out, List<Long> values)
+      throws IOException {
+    out.writeInt(values.size());
+    for (Long value : values) {
+      out.writeLong(value);
+    }
+  }
+
+  private static List<Long> readLongList(DataInputStream in) throws IOException {
+    int size = in.readInt();
+    List<Long> values = new ArrayList<Long>(size);
+    for (int i = 0; i < size; i++) {
+      values.add(in.readLong());
+    }
+    return values;
+  }
+
+  @Override public long getFileTimeStamp() {
+    return 0;
+  }
+
+  /**
+   * footer is decoded to a new instance on every access, so it can always be evicted
+   */
+  @Override public int getAccessCount() {
+    return 0;
+  }
+
+  @Override public long getMemorySize() {
+    return data.length + OBJECT_OVERHEAD;
+  }
+}
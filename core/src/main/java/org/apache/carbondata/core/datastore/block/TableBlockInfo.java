@@ -23,6 +23,7 @@ import java.util.Map;
 import org.apache.carbondata.core.constants.CarbonCommonConstants;
 import org.apache.carbondata.core.datastore.impl.FileFactory;
 import org.apache.carbondata.core.metadata.ColumnarFormatVersion;
+import org.apache.carbondata.core.metadata.SortScope;
 import org.apache.carbondata.core.util.ByteUtil;
 import org.apache.carbondata.core.util.path.CarbonTablePath;
 import org.apache.carbondata.core.util.path.CarbonTablePath.DataFileUtil;
@@ -72,6 +73,12 @@ public class TableBlockInfo implements Distributable, Serializable {
   private Map<String, String> blockStorageIdMap =
           new HashMap<>(CarbonCommonConstants.DEFAULT_COLLECTION_SIZE);
 
+  /**
+   * sort scope of the segment of the block, the start and end keys can be used to search
+   * the blocklets only if the block is sorted
+   */
+  private SortScope sortScope = SortScope.LOCAL_SORT;
+
   public TableBlockInfo(String filePath, long blockOffset, String segmentId, String[] locations,
       long blockLength, ColumnarFormatVersion version) {
     this.filePath = FileFactory.getUpdatedFilePath(filePath);
@@ -307,4 +314,12 @@ public class TableBlockInfo implements Distributable, Serializable {
   public void setBlockStorageIdMap(Map<String, String> blockStorageIdMap) {
     this.blockStorageIdMap = blockStorageIdMap;
   }
+
+  public SortScope getSortScope() {
+    return sortScope;
+  }
+
+  public void setSortScope(SortScope sortScope) {
+    this.sortScope = sortScope;
+  }
 }
@@ -115,6 +115,14 @@ public abstract class ValueCompressionHolder<T> {
 
   public abstract BigDecimal getBigDecimalValue(int index);
 
+  /**
+   * @return scale of the decimal values if those are stored as unscaled long values, in
+   * which case long value of the index is the unscaled value, otherwise -1
+   */
+  public int getDecimalScale() {
+    return -1;
+  }
+
   public abstract void freeMemory();
 
 }
@@ -0,0 +1,95 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.carbondata.core.datastore.compression.decimal;
+
+import java.math.BigDecimal;
+
+import org.apache.carbondata.core.datastore.compression.ValueCompressionHolder;
+import org.apache.carbondata.core.util.ValueCompressionUtil.DataType;
+
+/**
+ * Holder for the decimal measure stored as unscaled long values. The unscaled values are
+ * compressed by the long compression holder selected for the page, this class only applies
+ * the scale, so long value of the index is the unscaled value of the decimal.
+ */
+public class CompressionFixedPointDecimal extends ValueCompressionHolder<Object> {
+
+  private ValueCompressionHolder unscaledValueHolder;
+
+  /**
+   * scale of the decimal values, stored as decimal count in the encoder meta
+   */
+  private int scale;
+
+  public CompressionFixedPointDecimal(ValueCompressionHolder unscaledValueHolder) {
+    this.unscaledValueHolder = unscaledValueHolder;
+  }
+
+  @Override public void setValue(Object value) {
+    unscaledValueHolder.setValue(value);
+  }
+
+  @Override
+  public void setValue(Object data, int numberOfRows, Object maxValueObject, int decimalPlaces) {
+    this.scale = decimalPlaces;
+    unscaledValueHolder.setValue(data, numberOfRows, maxValueObject, 0);
+  }
+
+  @Override public Object getValue() {
+    return unscaledValueHolder.getValue();
+  }
+
+  @Override public void setValueInBytes(byte[] value) {
+    unscaledValueHolder.setValueInBytes(value);
+  }
+
+  @Override public void compress() {
+    unscaledValueHolder.compress();
+  }
+
+  @Override public byte[] getCompressedData() {
+    return unscaledValueHolder.getCompressedData();
+  }
+
+  @Override public void uncompress(DataType dataType, byte[] compressData, int offset, int length,
+      int decimal, Object maxValueObject, int numberOfRows) {
+    this.scale = decimal;
+    unscaledValueHolder
+        .uncompress(dataType, compressData, offset, length, 0, maxValueObject, numberOfRows);
+  }
+
+  @Override public long getLongValue(int index) {
+    return unscaledValueHolder.getLongValue(index);
+  }
+
+  @Override public double getDoubleValue(int index) {
+    return getBigDecimalValue(index).doubleValue();
+  }
+
+  @Override public BigDecimal getBigDecimalValue(int index) {
+    return BigDecimal.valueOf(unscaledValueHolder.getLongValue(index), scale);
+  }
+
+  @Override public int getDecimalScale() {
+    return scale;
+  }
+
+  @Override public void freeMemory() {
+    unscaledValueHolder.freeMemory();
+  }
+}
@@ -42,6 +42,14 @@ public class CarbonReadDataHolder {
     return this.unCompressValue.getDoubleValue(index);
   }
 
+  /**
+   * @return scale of the decimal measure stored as unscaled long values, -1 for others.
+   * getReadableLongValueByIndex gives the unscaled value of such decimal measure
+   */
+  public int getDecimalScale() {
+    return this.unCompressValue.getDecimalScale();
+  }
+
   public void freeMemory() {
     unCompressValue.freeMemory();
   }
@@ -0,0 +1,326 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.carbondata.core.datastore.impl;
+
+import java.io.DataInputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.charset.Charset;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.apache.carbondata.common.logging.LogService;
+import org.apache.carbondata.common.logging.LogServiceFactory;
+import org.apache.carbondata.core.constants.CarbonCommonConstants;
+import org.apache.carbondata.core.util.CarbonProperties;
+import org.apache.carbondata.core.util.CarbonUtil;
+
+/**
+ * Cache of the byte ranges read from the remote store, like the column chunks of the blocklets,
+ * in a local directory of the executor. Every range is kept in its own file named by the hash of
+ * the file path, modification time, offset and length of the range, so a changed file is not
+ * read from the cache and the cache is reused after the executor is restarted.
+ * Ranges are written to the cache asynchronously and the least recently used ranges are
+ * removed when the cache is bigger than its maximum size.
+ */
+public final class ChunkDiskCache {
+
+  private static final LogService LOGGER =
+      LogServiceFactory.getLogService(ChunkDiskCache.class.getName());
+
+  private static final String TEMP_FILE_EXTENSION = ".tmp";
+
+  private static volatile ChunkDiskCache instance;
+
+  private static volatile boolean initialized;
+
+  private File cacheDirectory;
+
+  private long maxSize;
+
+  private long currentSize;
+
+  /**
+   * maximum total size of the ranges waiting to be written, ranges beyond it are not cached
+   */
+  private long maxPendingWriteSize;
+
+  /**
+   * total size of the ranges waiting to be written
+   */
+  private AtomicLong pendingWriteSize = new AtomicLong();
+
+  /**
+   * cache file name to its size in the order of access
+   */
+  private LinkedHashMap<String, Long> entries;
+
+  private ExecutorService writerService;
+
+  ChunkDiskCache(String cacheLocation, long maxSize) {
+    this(cacheLocation, maxSize, getPendingWriteSizeInMB() * 1024L * 1024L);
+  }
+
+  ChunkDiskCache(String cacheLocation, long maxSize, long maxPendingWriteSize) {
+    this.cacheDirectory = new File(cacheLocation);
+    this.maxSize = maxSize;
+    this.maxPendingWriteSize = maxPendingWriteSize;
+    this.entries = new LinkedHashMap<>(CarbonCommonConstants.DEFAULT_COLLECTION_SIZE, 0.75f, true);
+    this.writerService = new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS,
+        new LinkedBlockingQueue<Runnable>(), new ThreadFactory() {
+          @Override public Thread newThread(Runnable runnable) {
+            Thread thread = new Thread(runnable, "ChunkDiskCacheWriter");
+            thread.setDaemon(true);
+            return thread;
+          }
+        });
+    if (!cacheDirectory.exists() && !cacheDirectory.mkdirs()) {
+      LOGGER.error("Unable to create the chunk disk cache directory " + cacheLocation);
+    }
+    loadEntries();
+  }
+
+  /**
+   * @return cache of the executor, null if the cache is not configured
+   */
+  public static ChunkDiskCache getInstance() {
+    if (!initialized) {
+      synchronized (ChunkDiskCache.class) {
+        if (!initialized) {
+          String cacheLocation = CarbonProperties.getInstance()
+              .getProperty(CarbonCommonConstants.CHUNK_DISK_CACHE_LOCATION);
+          if (null != cacheLocation && !cacheLocation.trim().isEmpty()) {
+            instance = new ChunkDiskCache(cacheLocation.trim(), getMaxSizeInMB() * 1024L * 1024L);
+          }
+          initialized = true;
+        }
+      }
+    }
+    return instance;
+  }
+
+  private static long getMaxSizeInMB() {
+    try {
+      return Long.parseLong(CarbonProperties.getInstance()
+          .getProperty(CarbonCommonConstants.CHUNK_DISK_CACHE_SIZE_MB,
+              CarbonCommonConstants.CHUNK_DISK_CACHE_SIZE_MB_DEFAULT));
+    } catch (NumberFormatException e) {
+      return Long.parseLong(CarbonCommonConstants.CHUNK_DISK_CACHE_SIZE_MB_DEFAULT);
+    }
+  }
+
+  private static long getPendingWriteSizeInMB() {
+    try {
+      return Long.parseLong(CarbonProperties.getInstance()
+          .getProperty(CarbonCommonConstants.CHUNK_DISK_CACHE_PENDING_WRITE_SIZE_MB,
+              CarbonCommonConstants.CHUNK_DISK_CACHE_PENDING_WRITE_SIZE_MB_DEFAULT));
+    } catch (NumberFormatException e) {
+      return Long.parseLong(CarbonCommonConstants.CHUNK_DISK_CACHE_PENDING_WRITE_SIZE_MB_DEFAULT);
+    }
+  }
+
+  /**
+   * Adds the files cached before the restart of the executor, the least recently modified
+   * files are considered as least recently used
+   */
+  private void loadEntries() {
+    File[] files = cacheDirectory.listFiles();
+    if (null == files) {
+      return;
+    }
+    Arrays.sort(files, new Comparator<File>() {
+      @Override public int compare(File file1, File file2) {
+        return Long.compare(file1.lastModified(), file2.lastModified());
+      }
+    });
+    synchronized (this) {
+      for (File file : files) {
+        if (file.getName().endsWith(TEMP_FILE_EXTENSION)) {
+          // written partially before the restart
+          deleteFile(file);
+        } else if (file.isFile()) {
+          entries.put(file.getName(), file.length());
+          currentSize += file.length();
+        }
+      }
+      evictIfRequired();
+    }
+    LOGGER.info("Loaded " + entries.size() + " cached chunks of size " + currentSize
+        + " from " + cacheDirectory.getAbsolutePath());
+  }
+
+  /**
+   * @return cached range, null if it is not cached
+   */
+  public byte[] get(String filePath, long modificationTime, long offset, int length) {
+    String fileName = getFileName(filePath, modificationTime, offset, length);
+    synchronized (this) {
+      if (null == entries.get(fileName)) {
+        return null;
+      }
+    }
+    File file = new File(cacheDirectory, fileName);
+    byte[] data = new byte[length];
+    DataInputStream stream = null;
+    try {
+      stream = new DataInputStream(new FileInputStream(file));
+      stream.readFully(data);
+    } catch (IOException e) {
+      // removed by the eviction or the cache directory is cleaned
+      remove(fileName);
+      return null;
+    } finally {
+      CarbonUtil.closeStreams(stream);
+    }
+    if (!file.setLastModified(System.currentTimeMillis())) {
+      LOGGER.debug("Unable to update the access time of the cached chunk " + fileName);
+    }
+    return data;
+  }
+
+  /**
+   * Adds the range to the cache, the range is written to the cache directory by a separate
+   * thread, so the reader does not wait for it. The range is not cached if the ranges waiting to
+   * be written are already of the maximum pending write size
+   */
+  public void putAsync(final String filePath, final long modificationTime, final long offset,
+      final byte[] data) {
+    if (data.length > maxSize) {
+      return;
+    }
+    if (pendingWriteSize.addAndGet(data.length) > maxPendingWriteSize) {
+      pendingWriteSize.addAndGet(-data.length);
+      return;
+    }
+    try {
+      writerService.execute(new Runnable() {
+        @Override public void run() {
+          try {
+            put(filePath, modificationTime, offset, data);
+          } finally {
+            pendingWriteSize.addAndGet(-data.length);
+          }
+        }
+      });
+    } catch (RejectedExecutionException e) {
+      pendingWriteSize.addAndGet(-data.length);
+    }
+  }
+
+  /**
+   * Writes the range to the cache directory and removes the least recently used ranges if the
+   * cache is full
+   */
+  void put(String filePath, long modificationTime, long offset, byte[] data) {
+    String fileName = getFileName(filePath, modificationTime, offset, data.length);
+    synchronized (this) {
+      if (entries.containsKey(fileName)) {
+        return;
+      }
+    }
+    File tempFile = new File(cacheDirectory, fileName + TEMP_FILE_EXTENSION);
+    FileOutputStream stream = null;
+    boolean isWritten = false;
+    try {
+      stream = new FileOutputStream(tempFile);
+      stream.write(data);
+      isWritten = true;
+    } catch (IOException e) {
+      LOGGER.error("Problem while writing the chunk to the disk cache: " + e.getMessage());
+    } finally {
+      CarbonUtil.closeStreams(stream);
+    }
+    // the cache file is complete once it has its name, even if the executor stops
+    if (!isWritten || !tempFile.renameTo(new File(cacheDirectory, fileName))) {
+      deleteFile(tempFile);
+      return;
+    }
+    synchronized (this) {
+      entries.put(fileName, (long) data.length);
+      currentSize += data.length;
+      evictIfRequired();
+    }
+  }
+
+  private synchronized void remove(String fileName) {
+    Long size = entries.remove(fileName);
+    if (null != size) {
+      currentSize -= size;
+      deleteFile(new File(cacheDirectory, fileName));
+    }
+  }
+
+  private void evictIfRequired() {
+    Iterator<Map.Entry<String, Long>> iterator = entries.entrySet().iterator();
+    while (currentSize > maxSize && iterator.hasNext()) {
+      Map.Entry<String, Long> eldest = iterator.next();
+      iterator.remove();
+      currentSize -= eldest.getValue();
+      deleteFile(new File(cacheDirectory, eldest.getKey()));
+    }
+  }
+
+  private static void deleteFile(File file) {
+    if (file.exists() && !file.delete()) {
+      LOGGER.error("Unable to delete the file " + file.getAbsolutePath());
+    }
+  }
+
+  synchronized long getCurrentSize() {
+    return currentSize;
+  }
+
+  long getPendingWriteSize() {
+    return pendingWriteSize.get();
+  }
+
+  /**
+   * @return name of the cache file of the range, hash of the range identity
+   */
+  private static String getFileName(String filePath, long modificationTime, long offset,
+      int length) {
+    String key = filePath + '_' + modificationTime + '_' + offset + '_' + length;
+    try {
+      MessageDigest digest = MessageDigest.getInstance("SHA-1");
+      byte[] hash =
+          digest.digest(key.getBytes(Charset.forName(CarbonCommonConstants.DEFAULT_CHARSET)));
+      StringBuilder fileName = new StringBuilder(hash.length * 2);
+      for (byte b : hash) {
+        fileName.append(Character.forDigit((b >> 4) & 0xF, 16))
+            .append(Character.forDigit(b & 0xF, 16));
+      }
+      return fileName.toString();
+    } catch (NoSuchAlgorithmException e) {
+      throw new IllegalStateException(e);
+    }
+  }
+}
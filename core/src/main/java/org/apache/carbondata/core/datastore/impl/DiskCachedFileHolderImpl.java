@@ -0,0 +1,102 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.carbondata.core.datastore.impl;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.apache.carbondata.core.constants.CarbonCommonConstants;
+import org.apache.carbondata.core.datastore.FileHolder;
+
+import org.apache.hadoop.fs.Path;
+
+/**
+ * File holder which reads the byte ranges of the remote files, like the column chunks, from the
+ * local {@link ChunkDiskCache} and reads them from the remote file holder only on a cache miss.
+ * Reads without an offset are not cached as they depend on the position of the stream.
+ */
+public class DiskCachedFileHolderImpl implements FileHolder {
+
+  private FileHolder fileHolder;
+
+  private ChunkDiskCache chunkDiskCache;
+
+  /**
+   * modification time of the files read by this holder
+   */
+  private Map<String, Long> modificationTimes;
+
+  public DiskCachedFileHolderImpl(FileHolder fileHolder, ChunkDiskCache chunkDiskCache) {
+    this.fileHolder = fileHolder;
+    this.chunkDiskCache = chunkDiskCache;
+    this.modificationTimes = new HashMap<>(CarbonCommonConstants.DEFAULT_COLLECTION_SIZE);
+  }
+
+  @Override public byte[] readByteArray(String filePath, long offset, int length)
+      throws IOException {
+    long modificationTime = getModificationTime(filePath);
+    byte[] data = chunkDiskCache.get(filePath, modificationTime, offset, length);
+    if (null == data) {
+      data = fileHolder.readByteArray(filePath, offset, length);
+      chunkDiskCache.putAsync(filePath, modificationTime, offset, data);
+    }
+    return data;
+  }
+
+  @Override public ByteBuffer readByteBuffer(String filePath, long offset, int length)
+      throws IOException {
+    return ByteBuffer.wrap(readByteArray(filePath, offset, length));
+  }
+
+  private long getModificationTime(String filePath) throws IOException {
+    Long modificationTime = modificationTimes.get(filePath);
+    if (null == modificationTime) {
+      Path path = new Path(filePath);
+      modificationTime = path.getFileSystem(FileFactory.getConfiguration()).getFileStatus(path)
+          .getModificationTime();
+      modificationTimes.put(filePath, modificationTime);
+    }
+    return modificationTime;
+  }
+
+  @Override public byte[] readByteArray(String filePath, int length) throws IOException {
+    return fileHolder.readByteArray(filePath, length);
+  }
+
+  @Override public int readInt(String filePath, long offset) throws IOException {
+    return fileHolder.readInt(filePath, offset);
+  }
+
+  @Override public long readLong(String filePath, long offset) throws IOException {
+    return fileHolder.readLong(filePath, offset);
+  }
+
+  @Override public int readInt(String filePath) throws IOException {
+    return fileHolder.readInt(filePath);
+  }
+
+  @Override public long readDouble(String filePath, long offset) throws IOException {
+    return fileHolder.readDouble(filePath, offset);
+  }
+
+  @Override public void finish() throws IOException {
+    fileHolder.finish();
+  }
+}
@@ -65,12 +65,24 @@ public final class FileFactory {
       case HDFS:
       case ALLUXIO:
       case VIEWFS:
-        return new DFSFileHolderImpl();
+        return getDiskCachedFileHolder(new DFSFileHolderImpl());
+      case S3:
+        return getDiskCachedFileHolder(new ObjectStoreFileHolderImpl());
       default:
         return new FileHolderImpl();
     }
   }
 
+  /**
+   * @return file holder reading the chunks of the remote file from the local disk cache of the
+   * executor if the cache is configured, else the remote file holder
+   */
+  private static FileHolder getDiskCachedFileHolder(FileHolder fileHolder) {
+    ChunkDiskCache chunkDiskCache = ChunkDiskCache.getInstance();
+    return null == chunkDiskCache ? fileHolder :
+        new DiskCachedFileHolderImpl(fileHolder, chunkDiskCache);
+  }
+
   public static FileType getFileType(String path) {
     if (path.startsWith(CarbonUtil.HDFS_PREFIX)) {
       return FileType.HDFS;
@@ -81,6 +93,10 @@ public final class FileFactory {
     else if (path.startsWith(CarbonUtil.VIEWFS_PREFIX)) {
       return FileType.VIEWFS;
     }
+    else if (path.startsWith(CarbonUtil.S3A_PREFIX) || path.startsWith(CarbonUtil.S3N_PREFIX)
+        || path.startsWith(CarbonUtil.S3_PREFIX)) {
+      return FileType.S3;
+    }
     return FileType.LOCAL;
   }
 
@@ -94,6 +110,8 @@ public final class FileFactory {
         return new AlluxioCarbonFile(path);
       case VIEWFS:
         return new ViewFSCarbonFile(path);
+      case S3:
+        return new S3CarbonFile(path);
       default:
         return new LocalCarbonFile(getUpdatedFilePath(path, fileType));
     }
@@ -124,6 +142,7 @@ public final class FileFactory {
       case HDFS:
       case ALLUXIO:
       case VIEWFS:
+      case S3:
         Path pt = new Path(path);
         FileSystem fs = pt.getFileSystem(configuration);
         if (bufferSize == -1) {
@@ -162,6 +181,7 @@ public final class FileFactory {
       case HDFS:
       case ALLUXIO:
       case VIEWFS:
+      case S3:
         Path pt = new Path(path);
         FileSystem fs = pt.getFileSystem(configuration);
         FSDataInputStream stream = fs.open(pt, bufferSize);
@@ -189,6 +209,7 @@ public final class FileFactory {
       case HDFS:
       case ALLUXIO:
       case VIEWFS:
+      case S3:
         Path pt = new Path(path);
         FileSystem fs = pt.getFileSystem(configuration);
         FSDataOutputStream stream = fs.create(pt, true);
@@ -206,6 +227,12 @@ public final class FileFactory {
         path = getUpdatedFilePath(path, fileType);
         return new DataOutputStream(
             new BufferedOutputStream(new FileOutputStream(path, append), bufferSize));
+      case S3:
+        if (append) {
+          throw new IOException("Append is not supported by the object store: " + path);
+        }
+        Path s3Path = new Path(path);
+        return s3Path.getFileSystem(configuration).create(s3Path, true, bufferSize);
       case HDFS:
       case ALLUXIO:
       case VIEWFS:
@@ -242,6 +269,7 @@ public final class FileFactory {
       case HDFS:
       case ALLUXIO:
       case VIEWFS:
+      case S3:
         Path pt = new Path(path);
         FileSystem fs = pt.getFileSystem(configuration);
         FSDataOutputStream stream =
@@ -269,6 +297,7 @@ public final class FileFactory {
       case HDFS:
       case ALLUXIO:
       case VIEWFS:
+      case S3:
         Path path = new Path(filePath);
         FileSystem fs = path.getFileSystem(configuration);
         if (performFileCheck) {
@@ -303,6 +332,7 @@ public final class FileFactory {
       case HDFS:
       case ALLUXIO:
       case VIEWFS:
+      case S3:
         Path path = new Path(filePath);
         FileSystem fs = path.getFileSystem(configuration);
         return fs.exists(path);
@@ -321,6 +351,7 @@ public final class FileFactory {
       case HDFS:
       case ALLUXIO:
       case VIEWFS:
+      case S3:
         Path path = new Path(filePath);
         FileSystem fs = path.getFileSystem(configuration);
         return fs.createNewFile(path);
@@ -339,6 +370,7 @@ public final class FileFactory {
       case HDFS:
       case ALLUXIO:
       case VIEWFS:
+      case S3:
         Path path = new Path(filePath);
         FileSystem fs = path.getFileSystem(configuration);
         return fs.delete(path, true);
@@ -371,6 +403,7 @@ public final class FileFactory {
       case HDFS:
       case ALLUXIO:
       case VIEWFS:
+      case S3:
         Path path = new Path(filePath);
         FileSystem fs = path.getFileSystem(configuration);
         return fs.mkdirs(path);
@@ -382,6 +415,13 @@ public final class FileFactory {
     }
   }
 
+  /**
+   * @return false for the object stores, which can not append to an existing file
+   */
+  public static boolean isAppendSupported(FileType fileType) {
+    return fileType != FileType.S3;
+  }
+
   /**
    * for getting the dataoutput stream using the hdfs filesystem append API.
    *
@@ -397,6 +437,8 @@ public final class FileFactory {
       case LOCAL:
         path = getUpdatedFilePath(path, fileType);
         return new DataOutputStream(new BufferedOutputStream(new FileOutputStream(path, true)));
+      case S3:
+        throw new IOException("Append is not supported by the object store: " + path);
       case HDFS:
       case ALLUXIO:
       case VIEWFS:
@@ -424,6 +466,7 @@ public final class FileFactory {
       case HDFS:
       case ALLUXIO:
       case VIEWFS:
+      case S3:
         Path path = new Path(filePath);
         FileSystem fs = path.getFileSystem(configuration);
         if (fs.createNewFile(path)) {
@@ -440,7 +483,7 @@ public final class FileFactory {
   }
 
   public enum FileType {
-    LOCAL, HDFS, ALLUXIO, VIEWFS
+    LOCAL, HDFS, ALLUXIO, VIEWFS, S3
   }
 
   /**
@@ -457,6 +500,7 @@ public final class FileFactory {
       case HDFS:
       case ALLUXIO:
       case VIEWFS:
+      case S3:
         return filePath;
       case LOCAL:
       default:
@@ -505,6 +549,7 @@ public final class FileFactory {
       case HDFS:
       case ALLUXIO:
       case VIEWFS:
+      case S3:
         Path path = new Path(filePath);
         FileSystem fs = path.getFileSystem(configuration);
         return fs.getContentSummary(path).getLength();
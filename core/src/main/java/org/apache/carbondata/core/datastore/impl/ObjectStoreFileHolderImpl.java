@@ -0,0 +1,196 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.carbondata.core.datastore.impl;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.apache.carbondata.core.constants.CarbonCommonConstants;
+import org.apache.carbondata.core.datastore.FileHolder;
+import org.apache.carbondata.core.util.CarbonProperties;
+
+import org.apache.hadoop.fs.FSDataInputStream;
+import org.apache.hadoop.fs.FileSystem;
+import org.apache.hadoop.fs.Path;
+
+/**
+ * File holder for the files in an object store, where every seek of a stream starts a new
+ * ranged request. Reads at an offset are positional reads, so they do not seek the cached
+ * stream, and a big read like a blocklet is split to parts which are read in parallel, each
+ * with its own stream.
+ */
+public class ObjectStoreFileHolderImpl implements FileHolder {
+  /**
+   * cache to hold filename and its stream
+   */
+  private Map<String, FSDataInputStream> fileNameAndStreamCache;
+
+  /**
+   * size of a part of the parallel read
+   */
+  private int partSize;
+
+  private int numberOfThreads;
+
+  /**
+   * executor to read the parts, created on the first parallel read
+   */
+  private ExecutorService executorService;
+
+  public ObjectStoreFileHolderImpl() {
+    this(getProperty(CarbonCommonConstants.OBJECT_STORE_READ_PART_SIZE,
+        CarbonCommonConstants.OBJECT_STORE_READ_PART_SIZE_DEFAULT),
+        getProperty(CarbonCommonConstants.OBJECT_STORE_READ_THREADS,
+            CarbonCommonConstants.OBJECT_STORE_READ_THREADS_DEFAULT));
+  }
+
+  ObjectStoreFileHolderImpl(int partSize, int numberOfThreads) {
+    this.fileNameAndStreamCache =
+        new HashMap<String, FSDataInputStream>(CarbonCommonConstants.DEFAULT_COLLECTION_SIZE);
+    this.partSize = partSize;
+    this.numberOfThreads = numberOfThreads;
+  }
+
+  private static int getProperty(String key, String defaultValue) {
+    int value;
+    try {
+      value = Integer.parseInt(CarbonProperties.getInstance().getProperty(key, defaultValue));
+    } catch (NumberFormatException e) {
+      value = Integer.parseInt(defaultValue);
+    }
+    return value > 0 ? value : Integer.parseInt(defaultValue);
+  }
+
+  @Override public byte[] readByteArray(String filePath, long offset, int length)
+      throws IOException {
+    if (length > partSize && numberOfThreads > 1) {
+      return readInParts(filePath, offset, length);
+    }
+    byte[] data = new byte[length];
+    updateCache(filePath).readFully(offset, data);
+    return data;
+  }
+
+  /**
+   * Reads the range in parts of the part size in parallel
+   */
+  private byte[] readInParts(final String filePath, final long offset, int length)
+      throws IOException {
+    final byte[] data = new byte[length];
+    if (null == executorService) {
+      executorService = Executors.newFixedThreadPool(numberOfThreads);
+    }
+    List<Future<Void>> parts = new ArrayList<>();
+    for (int partOffset = 0; partOffset < length; partOffset += partSize) {
+      final int start = partOffset;
+      final int partLength = Math.min(partSize, length - partOffset);
+      parts.add(executorService.submit(new Callable<Void>() {
+        @Override public Void call() throws IOException {
+          Path path = new Path(filePath);
+          FileSystem fs = path.getFileSystem(FileFactory.getConfiguration());
+          FSDataInputStream stream = fs.open(path);
+          try {
+            stream.readFully(offset + start, data, start, partLength);
+          } finally {
+            stream.close();
+          }
+          return null;
+        }
+      }));
+    }
+    try {
+      for (Future<Void> part : parts) {
+        part.get();
+      }
+    } catch (InterruptedException e) {
+      throw new InterruptedIOException("Interrupted while reading the file: " + filePath);
+    } catch (ExecutionException e) {
+      throw new IOException("Problem while reading the file: " + filePath, e.getCause());
+    }
+    return data;
+  }
+
+  /**
+   * This method will be used to check whether stream is already present in
+   * cache or not for filepath if not present then create it and then add to
+   * cache, other wise get from cache
+   *
+   * @param filePath fully qualified file path
+   * @return channel
+   */
+  private FSDataInputStream updateCache(String filePath) throws IOException {
+    FSDataInputStream fileChannel = fileNameAndStreamCache.get(filePath);
+    if (null == fileChannel) {
+      Path pt = new Path(filePath);
+      FileSystem fs = pt.getFileSystem(FileFactory.getConfiguration());
+      fileChannel = fs.open(pt);
+      fileNameAndStreamCache.put(filePath, fileChannel);
+    }
+    return fileChannel;
+  }
+
+  @Override public byte[] readByteArray(String filePath, int length) throws IOException {
+    byte[] data = new byte[length];
+    updateCache(filePath).readFully(data);
+    return data;
+  }
+
+  @Override public int readInt(String filePath, long offset) throws IOException {
+    return ByteBuffer.wrap(readByteArray(filePath, offset, 4)).getInt();
+  }
+
+  @Override public long readLong(String filePath, long offset) throws IOException {
+    return ByteBuffer.wrap(readByteArray(filePath, offset, 8)).getLong();
+  }
+
+  @Override public int readInt(String filePath) throws IOException {
+    return updateCache(filePath).readInt();
+  }
+
+  @Override public long readDouble(String filePath, long offset) throws IOException {
+    return readLong(filePath, offset);
+  }
+
+  @Override public ByteBuffer readByteBuffer(String filePath, long offset, int length)
+      throws IOException {
+    return ByteBuffer.wrap(readByteArray(filePath, offset, length));
+  }
+
+  @Override public void finish() throws IOException {
+    if (null != executorService) {
+      executorService.shutdownNow();
+    }
+    for (Entry<String, FSDataInputStream> entry : fileNameAndStreamCache.entrySet()) {
+      FSDataInputStream channel = entry.getValue();
+      if (null != channel) {
+        channel.close();
+      }
+    }
+  }
+}
@@ -22,6 +22,7 @@ import org.apache.carbondata.core.cache.update.BlockletLevelDeleteDeltaDataCache
 import org.apache.carbondata.core.datastore.DataRefNode;
 import org.apache.carbondata.core.datastore.FileHolder;
 import org.apache.carbondata.core.datastore.IndexKey;
+import org.apache.carbondata.core.datastore.MinMaxValues;
 import org.apache.carbondata.core.datastore.chunk.impl.DimensionRawColumnChunk;
 import org.apache.carbondata.core.datastore.chunk.impl.MeasureRawColumnChunk;
 
@@ -64,6 +65,11 @@ public abstract class AbstractBTreeLeafNode implements BTreeNode {
    */
   protected byte[][] minKeyOfColumns;
 
+  /**
+   * min and max values of the columns, created when they are used for min max pruning
+   */
+  protected MinMaxValues minMaxValues;
+
   /**
    * Method to get the next block this can be used while scanning when
    * iterator of this class can be used iterate over blocks
@@ -131,6 +137,18 @@ public abstract class AbstractBTreeLeafNode implements BTreeNode {
     return minKeyOfColumns;
   }
 
+  /**
+   * This method will be used to get the min and max values of all the columns this can
+   * be used in case of filter query
+   *
+   */
+  @Override public MinMaxValues getColumnsMinMaxValues() {
+    if (null == minMaxValues) {
+      minMaxValues = new ArrayMinMaxValues(maxKeyOfColumns, minKeyOfColumns);
+    }
+    return minMaxValues;
+  }
+
   /**
    * to check whether node in a btree is a leaf node or not
    *
@@ -0,0 +1,52 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.carbondata.core.datastore.impl.btree;
+
+import org.apache.carbondata.core.datastore.MinMaxValues;
+import org.apache.carbondata.core.util.ByteUtil;
+
+/**
+ * Min and max values of the columns kept in byte arrays on the heap
+ */
+public class ArrayMinMaxValues implements MinMaxValues {
+
+  private byte[][] maxValues;
+
+  private byte[][] minValues;
+
+  public ArrayMinMaxValues(byte[][] maxValues, byte[][] minValues) {
+    this.maxValues = maxValues;
+    this.minValues = minValues;
+  }
+
+  @Override public int compareToMin(int columnIndex, byte[] value) {
+    return ByteUtil.UnsafeComparer.INSTANCE.compareTo(value, minValues[columnIndex]);
+  }
+
+  @Override public int compareToMax(int columnIndex, byte[] value) {
+    return ByteUtil.UnsafeComparer.INSTANCE.compareTo(value, maxValues[columnIndex]);
+  }
+
+  @Override public byte[] getMinValue(int columnIndex) {
+    return minValues[columnIndex];
+  }
+
+  @Override public byte[] getMaxValue(int columnIndex) {
+    return maxValues[columnIndex];
+  }
+}
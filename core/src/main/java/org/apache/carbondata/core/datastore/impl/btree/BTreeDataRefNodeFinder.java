@@ -17,6 +17,8 @@
 package org.apache.carbondata.core.datastore.impl.btree;
 
 import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
 
 import org.apache.carbondata.core.datastore.DataRefNode;
 import org.apache.carbondata.core.datastore.DataRefNodeFinder;
@@ -93,6 +95,36 @@ public class BTreeDataRefNodeFinder implements DataRefNodeFinder {
     return rootNode;
   }
 
+  /**
+   * Below method will be used to get the tentative blocks of multiple key ranges. As the
+   * ranges are in key order, a range which ends in a block already added is merged with the
+   * previous range
+   *
+   * @return data blocks
+   */
+  @Override public List<DataRefNode> findDataBlocks(DataRefNode dataRefBlock,
+      List<IndexKey[]> keyRanges) {
+    List<DataRefNode> dataBlocks = new ArrayList<DataRefNode>();
+    long lastNodeNumber = -1;
+    for (IndexKey[] keyRange : keyRanges) {
+      DataRefNode endBlock = findLastDataBlock(dataRefBlock, keyRange[1]);
+      if (endBlock.nodeNumber() <= lastNodeNumber) {
+        continue;
+      }
+      DataRefNode block = findFirstDataBlock(dataRefBlock, keyRange[0]);
+      while (block.nodeNumber() <= lastNodeNumber) {
+        block = block.getNextDataRefNode();
+      }
+      dataBlocks.add(block);
+      while (block != endBlock) {
+        block = block.getNextDataRefNode();
+        dataBlocks.add(block);
+      }
+      lastNodeNumber = endBlock.nodeNumber();
+    }
+    return dataBlocks;
+  }
+
   /**
    * Binary search used to get the first tentative block of the btree based on
    * search key
@@ -107,12 +139,13 @@ public class BTreeDataRefNodeFinder implements DataRefNodeFinder {
     int high = node.nodeSize() - 1;
     int mid = 0;
     int compareRes = -1;
-    IndexKey[] nodeKeys = node.getNodeKeys();
+    OffHeapBlockletIndex blockletIndex = getOffHeapBlockletIndex(node);
+    IndexKey[] nodeKeys = null == blockletIndex ? node.getNodeKeys() : null;
     //
     while (low <= high) {
       mid = (low + high) >>> 1;
       // compare the entries
-      compareRes = compareIndexes(key, nodeKeys[mid]);
+      compareRes = compareNodeKey(key, nodeKeys, blockletIndex, mid);
       if (compareRes < 0) {
         high = mid - 1;
       } else if (compareRes > 0) {
@@ -120,7 +153,8 @@ public class BTreeDataRefNodeFinder implements DataRefNodeFinder {
       } else {
         // if key is matched then get the first entry
         int currentPos = mid;
-        while (currentPos - 1 >= 0 && compareIndexes(key, nodeKeys[currentPos - 1]) == 0) {
+        while (currentPos - 1 >= 0
+            && compareNodeKey(key, nodeKeys, blockletIndex, currentPos - 1) == 0) {
           currentPos--;
         }
         mid = currentPos;
@@ -157,12 +191,13 @@ public class BTreeDataRefNodeFinder implements DataRefNodeFinder {
     int high = node.nodeSize() - 1;
     int mid = 0;
     int compareRes = -1;
-    IndexKey[] nodeKeys = node.getNodeKeys();
+    OffHeapBlockletIndex blockletIndex = getOffHeapBlockletIndex(node);
+    IndexKey[] nodeKeys = null == blockletIndex ? node.getNodeKeys() : null;
     //
     while (low <= high) {
       mid = (low + high) >>> 1;
       // compare the entries
-      compareRes = compareIndexes(key, nodeKeys[mid]);
+      compareRes = compareNodeKey(key, nodeKeys, blockletIndex, mid);
       if (compareRes < 0) {
         high = mid - 1;
       } else if (compareRes > 0) {
@@ -171,7 +206,7 @@ public class BTreeDataRefNodeFinder implements DataRefNodeFinder {
         int currentPos = mid;
         // if key is matched then get the first entry
         while (currentPos + 1 < node.nodeSize()
-            && compareIndexes(key, nodeKeys[currentPos + 1]) == 0) {
+            && compareNodeKey(key, nodeKeys, blockletIndex, currentPos + 1) == 0) {
           currentPos++;
         }
         mid = currentPos;
@@ -193,6 +228,28 @@ public class BTreeDataRefNodeFinder implements DataRefNodeFinder {
     return node;
   }
 
+  /**
+   * @return off heap index of the node if keys of the node are present in off heap index
+   */
+  private OffHeapBlockletIndex getOffHeapBlockletIndex(BTreeNode node) {
+    if (node instanceof OffHeapBTreeNonLeafNode) {
+      return ((OffHeapBTreeNonLeafNode) node).getBlockletIndex();
+    }
+    return null;
+  }
+
+  /**
+   * Compares the search key with the key of the node present at the index, keys are read from
+   * the off heap index if present otherwise from the node keys
+   */
+  private int compareNodeKey(IndexKey key, IndexKey[] nodeKeys,
+      OffHeapBlockletIndex blockletIndex, int index) {
+    if (null != blockletIndex) {
+      return compareIndexes(key, blockletIndex, index);
+    }
+    return compareIndexes(key, nodeKeys[index]);
+  }
+
   /**
    * Comparison of index key will be following format of key <Dictionary> key
    * will be in byte array No dictionary key Index of FirstKey (2
@@ -209,7 +266,7 @@ public class BTreeDataRefNodeFinder implements DataRefNodeFinder {
    * @param second key
    * @return comparison value
    */
-  private int compareIndexes(IndexKey first, IndexKey second) {
+  public int compareIndexes(IndexKey first, IndexKey second) {
     int dictionaryKeyOffset = 0;
     int nonDictionaryKeyOffset = 0;
     int compareResult = 0;
@@ -260,4 +317,63 @@ public class BTreeDataRefNodeFinder implements DataRefNodeFinder {
 
     return 0;
   }
+
+  /**
+   * Comparison of index key with the start key of a blocklet present in the off heap index,
+   * key format and comparison are same as {@link #compareIndexes(IndexKey, IndexKey)}
+   *
+   * @param first         key
+   * @param blockletIndex off heap blocklet index
+   * @param blocklet      blocklet whose start key is compared
+   * @return comparison value
+   */
+  public int compareIndexes(IndexKey first, OffHeapBlockletIndex blockletIndex, int blocklet) {
+    int dictionaryKeyOffset = 0;
+    int nonDictionaryKeyOffset = 0;
+    int compareResult = 0;
+    int processedNoDictionaryColumn = numberOfNoDictionaryColumns;
+    ByteBuffer firstNoDictionaryKeyBuffer = ByteBuffer.wrap(first.getNoDictionaryKeys());
+    int secondDictionaryKeyStart = blockletIndex.getDictionaryStartKeyOffset(blocklet);
+    int secondNoDictionaryKeyStart = blockletIndex.getNoDictionaryStartKeyOffset(blocklet);
+    int secondNoDictionaryKeyLength = blockletIndex.getNoDictionaryStartKeyLength(blocklet);
+    int actualOffset = 0;
+    int actualOffset1 = 0;
+    int firstNoDcitionaryLength = 0;
+    int secondNodeDictionaryLength = 0;
+
+    for (int i = 0; i < eachColumnValueSize.length; i++) {
+
+      if (eachColumnValueSize[i] != NO_DCITIONARY_COLUMN_VALUE) {
+        compareResult = blockletIndex
+            .compareTo(first.getDictionaryKeys(), dictionaryKeyOffset, eachColumnValueSize[i],
+                secondDictionaryKeyStart + dictionaryKeyOffset, eachColumnValueSize[i]);
+        dictionaryKeyOffset += eachColumnValueSize[i];
+      } else {
+        actualOffset = firstNoDictionaryKeyBuffer.getShort(nonDictionaryKeyOffset);
+        actualOffset1 =
+            blockletIndex.getShort(secondNoDictionaryKeyStart + nonDictionaryKeyOffset);
+        if (processedNoDictionaryColumn > 1) {
+          firstNoDcitionaryLength =
+              firstNoDictionaryKeyBuffer.getShort(nonDictionaryKeyOffset + SHORT_SIZE_IN_BYTES)
+                  - actualOffset;
+          secondNodeDictionaryLength = blockletIndex.getShort(
+              secondNoDictionaryKeyStart + nonDictionaryKeyOffset + SHORT_SIZE_IN_BYTES)
+              - actualOffset1;
+          nonDictionaryKeyOffset += SHORT_SIZE_IN_BYTES;
+          processedNoDictionaryColumn--;
+        } else {
+          firstNoDcitionaryLength = first.getNoDictionaryKeys().length - actualOffset;
+          secondNodeDictionaryLength = secondNoDictionaryKeyLength - actualOffset1;
+        }
+        compareResult = blockletIndex
+            .compareTo(first.getNoDictionaryKeys(), actualOffset, firstNoDcitionaryLength,
+                secondNoDictionaryKeyStart + actualOffset1, secondNodeDictionaryLength);
+      }
+      if (compareResult != 0) {
+        return compareResult;
+      }
+    }
+
+    return 0;
+  }
 }
@@ -24,6 +24,7 @@ import org.apache.carbondata.core.constants.CarbonCommonConstants;
 import org.apache.carbondata.core.datastore.DataRefNode;
 import org.apache.carbondata.core.datastore.FileHolder;
 import org.apache.carbondata.core.datastore.IndexKey;
+import org.apache.carbondata.core.datastore.MinMaxValues;
 import org.apache.carbondata.core.datastore.chunk.impl.DimensionRawColumnChunk;
 import org.apache.carbondata.core.datastore.chunk.impl.MeasureRawColumnChunk;
 
@@ -163,6 +164,16 @@ public class BTreeNonLeafNode implements BTreeNode {
     throw new UnsupportedOperationException("Unsupported operation");
   }
 
+  /**
+   * This method will be used to get the min and max values of all the columns this can
+   * be used in case of filter query
+   *
+   */
+  @Override public MinMaxValues getColumnsMinMaxValues() {
+    // min and max are present only in the leaf node
+    throw new UnsupportedOperationException("Unsupported operation");
+  }
+
   /**
    * Below method will be used to get the dimension chunks
    *
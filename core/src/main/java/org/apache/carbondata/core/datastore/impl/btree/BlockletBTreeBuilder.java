@@ -24,6 +24,8 @@ import org.apache.carbondata.common.logging.LogServiceFactory;
 import org.apache.carbondata.core.constants.CarbonCommonConstants;
 import org.apache.carbondata.core.datastore.BTreeBuilderInfo;
 import org.apache.carbondata.core.datastore.IndexKey;
+import org.apache.carbondata.core.metadata.blocklet.BlockletInfo;
+import org.apache.carbondata.core.util.CarbonProperties;
 
 /**
  * Btree based builder which will build the leaf node in a b+ tree format
@@ -36,6 +38,17 @@ public class BlockletBTreeBuilder extends AbstractBTreeBuilder {
   private static final LogService LOGGER =
       LogServiceFactory.getLogService(BlockletBTreeBuilder.class.getName());
 
+  /**
+   * whether start keys and min max of the blocklets are kept in an off heap index
+   */
+  private boolean isOffHeapBlockletIndexEnabled;
+
+  public BlockletBTreeBuilder() {
+    isOffHeapBlockletIndexEnabled = Boolean.parseBoolean(CarbonProperties.getInstance()
+        .getProperty(CarbonCommonConstants.ENABLE_OFFHEAP_BLOCKLET_INDEX,
+            CarbonCommonConstants.ENABLE_OFFHEAP_BLOCKLET_INDEX_DEFAULT));
+  }
+
   /**
    * Below method will be used to build the segment info bplus tree format
    * Tree will be a read only tree, and it will be build on Bottoms up approach
@@ -43,6 +56,11 @@ public class BlockletBTreeBuilder extends AbstractBTreeBuilder {
    * in our case one leaf node will have not only one entry it will have group of entries
    */
   @Override public void build(BTreeBuilderInfo segmentBuilderInfos) {
+    List<BlockletInfo> blockletList = segmentBuilderInfos.getFooterList().get(0).getBlockletList();
+    if (isOffHeapBlockletIndexEnabled && OffHeapBlockletIndex.isSupported(blockletList)) {
+      buildWithOffHeapIndex(segmentBuilderInfos, blockletList);
+      return;
+    }
     long totalNumberOfTuple = 0;
     int groupCounter;
     int nInternal = 0;
@@ -99,4 +117,33 @@ public class BlockletBTreeBuilder extends AbstractBTreeBuilder {
     LOGGER.info("****************************Total Number Rows In BTREE: " + totalNumberOfTuple);
   }
 
+  /**
+   * Below method will be used to build the tree with all the leaf nodes as the children of the
+   * root node, start keys and min max of the leaf nodes are kept in an off heap index which is
+   * searched directly, so no index key object is created for the leaf nodes
+   */
+  private void buildWithOffHeapIndex(BTreeBuilderInfo segmentBuilderInfos,
+      List<BlockletInfo> blockletList) {
+    OffHeapBlockletIndex blockletIndex = new OffHeapBlockletIndex(blockletList);
+    BTreeNode[] leafNodes = new BTreeNode[blockletList.size()];
+    long totalNumberOfTuple = 0;
+    BTreeNode prevNode = null;
+    for (int index = 0; index < blockletList.size(); index++) {
+      BTreeNode curNode =
+          new BlockletBTreeLeafNode(segmentBuilderInfos, index, index, blockletIndex);
+      totalNumberOfTuple += blockletList.get(index).getNumberOfRows();
+      nLeaf++;
+      if (prevNode != null) {
+        prevNode.setNextNode(curNode);
+      }
+      prevNode = curNode;
+      leafNodes[index] = curNode;
+    }
+    if (totalNumberOfTuple == 0) {
+      return;
+    }
+    root = new OffHeapBTreeNonLeafNode(leafNodes, blockletIndex);
+    LOGGER.info("Total Number Rows In BTREE: " + totalNumberOfTuple
+        + ", off heap blocklet index size: " + blockletIndex.getMemorySize());
+  }
 }
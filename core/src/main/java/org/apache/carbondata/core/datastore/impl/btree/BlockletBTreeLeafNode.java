@@ -20,6 +20,7 @@ import java.io.IOException;
 
 import org.apache.carbondata.core.datastore.BTreeBuilderInfo;
 import org.apache.carbondata.core.datastore.FileHolder;
+import org.apache.carbondata.core.datastore.MinMaxValues;
 import org.apache.carbondata.core.datastore.chunk.impl.DimensionRawColumnChunk;
 import org.apache.carbondata.core.datastore.chunk.impl.MeasureRawColumnChunk;
 import org.apache.carbondata.core.datastore.chunk.reader.CarbonDataReaderFactory;
@@ -47,6 +48,16 @@ public class BlockletBTreeLeafNode extends AbstractBTreeLeafNode {
    */
   private int numberOfPages;
 
+  /**
+   * off heap index of the blocklets of the block, null if min max are kept in the node
+   */
+  private OffHeapBlockletIndex blockletIndex;
+
+  /**
+   * index of the leaf in the off heap index
+   */
+  private int leafIndex;
+
   /**
    * Create a leaf node
    *
@@ -57,14 +68,32 @@ public class BlockletBTreeLeafNode extends AbstractBTreeLeafNode {
    *                     give some leaf node of a btree to one executor some to other
    */
   public BlockletBTreeLeafNode(BTreeBuilderInfo builderInfos, int leafIndex, long nodeNumber) {
-    // get a lead node min max
-    BlockletMinMaxIndex minMaxIndex =
-        builderInfos.getFooterList().get(0).getBlockletList().get(leafIndex).getBlockletIndex()
-            .getMinMaxIndex();
-    // max key of the columns
-    maxKeyOfColumns = minMaxIndex.getMaxValues();
-    // min keys of the columns
-    minKeyOfColumns = minMaxIndex.getMinValues();
+    this(builderInfos, leafIndex, nodeNumber, null);
+  }
+
+  /**
+   * Create a leaf node
+   *
+   * @param builderInfos  builder infos which have required metadata to create a leaf node
+   * @param leafIndex     leaf node index
+   * @param nodeNumber    node number of the node
+   * @param blockletIndex off heap index having min max of the leaf, if null min max of the leaf
+   *                      are kept in the node
+   */
+  public BlockletBTreeLeafNode(BTreeBuilderInfo builderInfos, int leafIndex, long nodeNumber,
+      OffHeapBlockletIndex blockletIndex) {
+    this.blockletIndex = blockletIndex;
+    this.leafIndex = leafIndex;
+    if (null == blockletIndex) {
+      // get a lead node min max
+      BlockletMinMaxIndex minMaxIndex =
+          builderInfos.getFooterList().get(0).getBlockletList().get(leafIndex).getBlockletIndex()
+              .getMinMaxIndex();
+      // max key of the columns
+      maxKeyOfColumns = minMaxIndex.getMaxValues();
+      // min keys of the columns
+      minKeyOfColumns = minMaxIndex.getMinValues();
+    }
     // number of keys present in the leaf
     numberOfKeys =
         builderInfos.getFooterList().get(0).getBlockletList().get(leafIndex).getNumberOfRows();
@@ -84,6 +113,44 @@ public class BlockletBTreeLeafNode extends AbstractBTreeLeafNode {
         builderInfos.getFooterList().get(0).getBlockletList().get(leafIndex).getNumberOfPages();
   }
 
+  /**
+   * This method will be used to get the max value of all the columns this can
+   * be used in case of filter query
+   *
+   */
+  @Override public byte[][] getColumnsMaxValue() {
+    if (null != blockletIndex) {
+      return blockletIndex.getMaxValues(leafIndex);
+    }
+    return maxKeyOfColumns;
+  }
+
+  /**
+   * This method will be used to get the min value of all the columns this can
+   * be used in case of filter query
+   *
+   */
+  @Override public byte[][] getColumnsMinValue() {
+    if (null != blockletIndex) {
+      return blockletIndex.getMinValues(leafIndex);
+    }
+    return minKeyOfColumns;
+  }
+
+  /**
+   * min and max values are compared in the off heap index if it is present
+   *
+   */
+  @Override public MinMaxValues getColumnsMinMaxValues() {
+    if (null != blockletIndex) {
+      if (null == minMaxValues) {
+        minMaxValues = blockletIndex.getMinMaxValues(leafIndex);
+      }
+      return minMaxValues;
+    }
+    return super.getColumnsMinMaxValues();
+  }
+
   /**
    * Below method will be used to get the dimension chunks
    *
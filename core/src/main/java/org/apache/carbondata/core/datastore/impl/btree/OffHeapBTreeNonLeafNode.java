@@ -0,0 +1,63 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.carbondata.core.datastore.impl.btree;
+
+import org.apache.carbondata.core.datastore.IndexKey;
+
+/**
+ * Root node of a blocklet btree whose children are all the leaf nodes of the block and whose
+ * keys are the start keys of the blocklets present in the off heap blocklet index, so the
+ * keys are searched directly in the off heap buffer and no index key object is kept
+ */
+public class OffHeapBTreeNonLeafNode extends BTreeNonLeafNode {
+
+  private OffHeapBlockletIndex blockletIndex;
+
+  public OffHeapBTreeNonLeafNode(BTreeNode[] children, OffHeapBlockletIndex blockletIndex) {
+    setChildren(children);
+    this.blockletIndex = blockletIndex;
+  }
+
+  /**
+   * @return off heap index of the blocklets, start key of a child is at the same index
+   */
+  public OffHeapBlockletIndex getBlockletIndex() {
+    return blockletIndex;
+  }
+
+  /**
+   * keys are created from the off heap index, searching the node should use the off heap
+   * index directly
+   *
+   * @return node entry array
+   */
+  @Override public IndexKey[] getNodeKeys() {
+    IndexKey[] nodeKeys = new IndexKey[blockletIndex.getNumberOfBlocklets()];
+    for (int i = 0; i < nodeKeys.length; i++) {
+      nodeKeys[i] = blockletIndex.getStartKey(i);
+    }
+    return nodeKeys;
+  }
+
+  @Override public void setKey(IndexKey key) {
+    throw new UnsupportedOperationException("Keys are present in the off heap blocklet index");
+  }
+
+  @Override public int nodeSize() {
+    return blockletIndex.getNumberOfBlocklets();
+  }
+}
@@ -0,0 +1,272 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.carbondata.core.datastore.impl.btree;
+
+import java.nio.ByteBuffer;
+import java.util.List;
+
+import org.apache.carbondata.core.datastore.IndexKey;
+import org.apache.carbondata.core.datastore.MinMaxValues;
+import org.apache.carbondata.core.metadata.blocklet.BlockletInfo;
+import org.apache.carbondata.core.metadata.blocklet.index.BlockletMinMaxIndex;
+
+/**
+ * Index of all the blocklets of a block packed in one off heap buffer, so a loaded block does
+ * not keep index key and byte array objects for every blocklet on the heap.
+ * Buffer format is
+ * <offset table><blocklet 0 fields><blocklet 1 fields>...
+ * where fields of a blocklet are
+ * <dictionary start key><no dictionary start key><min of column 0>..<max of column 0>..
+ * and the offset table holds the start position of every field followed by the end position
+ * of the last field, so length of a field is the start of the next field minus its start.
+ * Memory is released with the buffer when the block is removed from the cache and not used
+ * by any query.
+ */
+public class OffHeapBlockletIndex {
+
+  private static final int INT_SIZE_IN_BYTES = 4;
+
+  /**
+   * start key format is <dictionary key length><no dictionary key length><dictionary key>
+   * <no dictionary key>
+   */
+  private static final int START_KEY_HEADER_SIZE = 2 * INT_SIZE_IN_BYTES;
+
+  private static final int DICTIONARY_START_KEY_FIELD = 0;
+
+  private static final int NO_DICTIONARY_START_KEY_FIELD = 1;
+
+  private static final int MIN_VALUE_FIELD = 2;
+
+  private int numberOfBlocklets;
+
+  private int numberOfColumns;
+
+  private int fieldsPerBlocklet;
+
+  private ByteBuffer buffer;
+
+  /**
+   * @param blockletList blocklets of the block, all of them with min max of the same columns
+   */
+  public OffHeapBlockletIndex(List<BlockletInfo> blockletList) {
+    numberOfBlocklets = blockletList.size();
+    numberOfColumns = numberOfBlocklets == 0 ?
+        0 :
+        blockletList.get(0).getBlockletIndex().getMinMaxIndex().getMinValues().length;
+    fieldsPerBlocklet = MIN_VALUE_FIELD + 2 * numberOfColumns;
+    int offsetTableSize = (numberOfBlocklets * fieldsPerBlocklet + 1) * INT_SIZE_IN_BYTES;
+    int dataSize = 0;
+    for (BlockletInfo blockletInfo : blockletList) {
+      BlockletMinMaxIndex minMaxIndex = blockletInfo.getBlockletIndex().getMinMaxIndex();
+      dataSize += blockletInfo.getBlockletIndex().getBtreeIndex().getStartKey().length
+          - START_KEY_HEADER_SIZE;
+      for (int i = 0; i < numberOfColumns; i++) {
+        dataSize += minMaxIndex.getMinValues()[i].length + minMaxIndex.getMaxValues()[i].length;
+      }
+    }
+    buffer = ByteBuffer.allocateDirect(offsetTableSize + dataSize);
+    int fieldIndex = 0;
+    int position = offsetTableSize;
+    for (BlockletInfo blockletInfo : blockletList) {
+      byte[] startKey = blockletInfo.getBlockletIndex().getBtreeIndex().getStartKey();
+      ByteBuffer startKeyBuffer = ByteBuffer.wrap(startKey);
+      int dictionaryKeyLength = startKeyBuffer.getInt();
+      int noDictionaryKeyLength = startKeyBuffer.getInt();
+      position = putField(fieldIndex++, position, startKey, START_KEY_HEADER_SIZE,
+          dictionaryKeyLength);
+      position = putField(fieldIndex++, position, startKey,
+          START_KEY_HEADER_SIZE + dictionaryKeyLength, noDictionaryKeyLength);
+      BlockletMinMaxIndex minMaxIndex = blockletInfo.getBlockletIndex().getMinMaxIndex();
+      for (int i = 0; i < numberOfColumns; i++) {
+        byte[] minValue = minMaxIndex.getMinValues()[i];
+        position = putField(fieldIndex++, position, minValue, 0, minValue.length);
+      }
+      for (int i = 0; i < numberOfColumns; i++) {
+        byte[] maxValue = minMaxIndex.getMaxValues()[i];
+        position = putField(fieldIndex++, position, maxValue, 0, maxValue.length);
+      }
+    }
+    buffer.putInt(fieldIndex * INT_SIZE_IN_BYTES, position);
+  }
+
+  /**
+   * @return true if all the blocklets have min max of the same number of columns
+   */
+  public static boolean isSupported(List<BlockletInfo> blockletList) {
+    int numberOfColumns = -1;
+    for (BlockletInfo blockletInfo : blockletList) {
+      if (null == blockletInfo.getBlockletIndex()
+          || null == blockletInfo.getBlockletIndex().getMinMaxIndex()) {
+        return false;
+      }
+      BlockletMinMaxIndex minMaxIndex = blockletInfo.getBlockletIndex().getMinMaxIndex();
+      if (numberOfColumns == -1) {
+        numberOfColumns = minMaxIndex.getMinValues().length;
+      }
+      if (minMaxIndex.getMinValues().length != numberOfColumns
+          || minMaxIndex.getMaxValues().length != numberOfColumns) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  private int putField(int fieldIndex, int position, byte[] data, int offset, int length) {
+    buffer.putInt(fieldIndex * INT_SIZE_IN_BYTES, position);
+    for (int i = 0; i < length; i++) {
+      buffer.put(position + i, data[offset + i]);
+    }
+    return position + length;
+  }
+
+  private int getFieldOffset(int blocklet, int field) {
+    return buffer.getInt((blocklet * fieldsPerBlocklet + field) * INT_SIZE_IN_BYTES);
+  }
+
+  private int getFieldLength(int blocklet, int field) {
+    return buffer.getInt((blocklet * fieldsPerBlocklet + field + 1) * INT_SIZE_IN_BYTES)
+        - getFieldOffset(blocklet, field);
+  }
+
+  private byte[] getField(int blocklet, int field) {
+    int offset = getFieldOffset(blocklet, field);
+    byte[] data = new byte[getFieldLength(blocklet, field)];
+    for (int i = 0; i < data.length; i++) {
+      data[i] = buffer.get(offset + i);
+    }
+    return data;
+  }
+
+  public int getNumberOfBlocklets() {
+    return numberOfBlocklets;
+  }
+
+  public int getDictionaryStartKeyOffset(int blocklet) {
+    return getFieldOffset(blocklet, DICTIONARY_START_KEY_FIELD);
+  }
+
+  public int getNoDictionaryStartKeyOffset(int blocklet) {
+    return getFieldOffset(blocklet, NO_DICTIONARY_START_KEY_FIELD);
+  }
+
+  public int getNoDictionaryStartKeyLength(int blocklet) {
+    return getFieldLength(blocklet, NO_DICTIONARY_START_KEY_FIELD);
+  }
+
+  /**
+   * @return short value present at the position of the buffer
+   */
+  public short getShort(int position) {
+    return buffer.getShort(position);
+  }
+
+  /**
+   * Compares the bytes of the key with the bytes present at the position of the buffer as
+   * unsigned values, a shorter value is smaller when it is the prefix of the other one
+   *
+   * @return comparison value
+   */
+  public int compareTo(byte[] key, int keyOffset, int keyLength, int position, int length) {
+    int minLength = Math.min(keyLength, length);
+    for (int i = 0; i < minLength; i++) {
+      int compareResult = (key[keyOffset + i] & 0xff) - (buffer.get(position + i) & 0xff);
+      if (compareResult != 0) {
+        return compareResult;
+      }
+    }
+    return keyLength - length;
+  }
+
+  /**
+   * @return start key of the blocklet
+   */
+  public IndexKey getStartKey(int blocklet) {
+    return new IndexKey(getField(blocklet, DICTIONARY_START_KEY_FIELD),
+        getField(blocklet, NO_DICTIONARY_START_KEY_FIELD));
+  }
+
+  /**
+   * @return min values of all the columns of the blocklet
+   */
+  public byte[][] getMinValues(int blocklet) {
+    byte[][] minValues = new byte[numberOfColumns][];
+    for (int i = 0; i < numberOfColumns; i++) {
+      minValues[i] = getField(blocklet, MIN_VALUE_FIELD + i);
+    }
+    return minValues;
+  }
+
+  /**
+   * @return max values of all the columns of the blocklet
+   */
+  public byte[][] getMaxValues(int blocklet) {
+    byte[][] maxValues = new byte[numberOfColumns][];
+    for (int i = 0; i < numberOfColumns; i++) {
+      maxValues[i] = getField(blocklet, MIN_VALUE_FIELD + numberOfColumns + i);
+    }
+    return maxValues;
+  }
+
+  /**
+   * @return min and max values of the blocklet which are compared in the off heap buffer
+   */
+  public MinMaxValues getMinMaxValues(int blocklet) {
+    return new BlockletMinMaxValues(blocklet);
+  }
+
+  /**
+   * @return size of the off heap buffer in bytes
+   */
+  public int getMemorySize() {
+    return buffer.capacity();
+  }
+
+  /**
+   * Min and max values of one blocklet, the values are compared without copying them from
+   * the buffer
+   */
+  private class BlockletMinMaxValues implements MinMaxValues {
+
+    private int blocklet;
+
+    BlockletMinMaxValues(int blocklet) {
+      this.blocklet = blocklet;
+    }
+
+    @Override public int compareToMin(int columnIndex, byte[] value) {
+      return compareToField(MIN_VALUE_FIELD + columnIndex, value);
+    }
+
+    @Override public int compareToMax(int columnIndex, byte[] value) {
+      return compareToField(MIN_VALUE_FIELD + numberOfColumns + columnIndex, value);
+    }
+
+    @Override public byte[] getMinValue(int columnIndex) {
+      return getField(blocklet, MIN_VALUE_FIELD + columnIndex);
+    }
+
+    @Override public byte[] getMaxValue(int columnIndex) {
+      return getField(blocklet, MIN_VALUE_FIELD + numberOfColumns + columnIndex);
+    }
+
+    private int compareToField(int field, byte[] value) {
+      return compareTo(value, 0, value.length, getFieldOffset(blocklet, field),
+          getFieldLength(blocklet, field));
+    }
+  }
+}
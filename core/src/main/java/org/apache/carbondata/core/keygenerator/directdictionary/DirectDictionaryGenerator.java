@@ -53,6 +53,15 @@ public interface DirectDictionaryGenerator {
    */
   int generateDirectSurrogateKey(String memberStr, String format);
 
+  /**
+   * The method generate and returns the dictionary / surrogate key for the time value which is
+   * already parsed, like the typed values read from columnar input files
+   *
+   * @param timeValue milliseconds since epoch
+   * @return returns dictionary/ surrogate value
+   */
+  int generateKey(long timeValue);
+
   void initialize();
 
   /**
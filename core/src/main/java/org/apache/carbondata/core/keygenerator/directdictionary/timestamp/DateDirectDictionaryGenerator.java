@@ -17,9 +17,7 @@
 package org.apache.carbondata.core.keygenerator.directdictionary.timestamp;
 
 import java.text.ParseException;
-import java.text.SimpleDateFormat;
 import java.util.Calendar;
-import java.util.Date;
 import java.util.TimeZone;
 
 import org.apache.carbondata.common.logging.LogService;
@@ -28,6 +26,7 @@ import org.apache.carbondata.core.constants.CarbonCommonConstants;
 import org.apache.carbondata.core.keygenerator.directdictionary.DirectDictionaryGenerator;
 import org.apache.carbondata.core.metadata.datatype.DataType;
 import org.apache.carbondata.core.util.CarbonProperties;
+import org.apache.carbondata.core.util.DateFormatParser;
 
 /**
  * The class provides the method to generate dictionary key and getting the actual value from
@@ -39,7 +38,7 @@ public class DateDirectDictionaryGenerator implements DirectDictionaryGenerator
   private static final long SECONDS_PER_DAY = 60 * 60 * 24L;
   private static final long MILLIS_PER_DAY = SECONDS_PER_DAY * 1000L;
 
-  private ThreadLocal<SimpleDateFormat> simpleDateFormatLocal = new ThreadLocal<>();
+  private ThreadLocal<DateFormatParser> dateFormatParserLocal = new ThreadLocal<>();
 
   //Java TimeZone has no mention of thread safety. Use thread local instance to be safe.
   private ThreadLocal<TimeZone> threadLocalLocalTimeZone = new ThreadLocal() {
@@ -100,26 +99,22 @@ public class DateDirectDictionaryGenerator implements DirectDictionaryGenerator
   }
 
   private int getDirectSurrogateForMember(String memberStr) {
-    Date dateToStr = null;
+    long timeValue;
     try {
-      SimpleDateFormat simpleDateFormat = simpleDateFormatLocal.get();
-      if (null == simpleDateFormat) {
+      DateFormatParser dateFormatParser = dateFormatParserLocal.get();
+      if (null == dateFormatParser) {
         initialize();
-        simpleDateFormat = simpleDateFormatLocal.get();
+        dateFormatParser = dateFormatParserLocal.get();
       }
-      dateToStr = simpleDateFormat.parse(memberStr);
+      timeValue = dateFormatParser.parse(memberStr);
     } catch (ParseException e) {
       LOGGER.debug(
           "Cannot convert " + memberStr + " to Time/Long type value. Value considered as null." + e
               .getMessage());
-      dateToStr = null;
-    }
-    //adding +2 to reserve the first cuttOffDiff value for null or empty date
-    if (null == dateToStr) {
+      //adding +2 to reserve the first cuttOffDiff value for null or empty date
       return 1;
-    } else {
-      return generateKey(dateToStr.getTime());
     }
+    return generateKey(timeValue);
   }
 
   /**
@@ -150,16 +145,15 @@ public class DateDirectDictionaryGenerator implements DirectDictionaryGenerator
     }
   }
 
-  private int generateKey(long timeValue) {
+  @Override public int generateKey(long timeValue) {
     long milli = timeValue + threadLocalLocalTimeZone.get().getOffset(timeValue);
     int key = (int) Math.floor((double) milli / MILLIS_PER_DAY) + cutOffDate;
     return key;
   }
 
   public void initialize() {
-    if (simpleDateFormatLocal.get() == null) {
-      simpleDateFormatLocal.set(new SimpleDateFormat(dateFormat));
-      simpleDateFormatLocal.get().setLenient(false);
+    if (dateFormatParserLocal.get() == null) {
+      dateFormatParserLocal.set(DateFormatParser.getParser(dateFormat, false));
     }
   }
 
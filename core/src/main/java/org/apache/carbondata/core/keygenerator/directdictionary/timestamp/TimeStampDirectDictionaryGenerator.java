@@ -26,6 +26,7 @@ import org.apache.carbondata.core.constants.CarbonCommonConstants;
 import org.apache.carbondata.core.keygenerator.directdictionary.DirectDictionaryGenerator;
 import org.apache.carbondata.core.metadata.datatype.DataType;
 import org.apache.carbondata.core.util.CarbonProperties;
+import org.apache.carbondata.core.util.DateFormatParser;
 
 import static org.apache.carbondata.core.keygenerator.directdictionary.timestamp
     .TimeStampGranularityConstants.TIME_GRAN_DAY;
@@ -42,7 +43,7 @@ import static org.apache.carbondata.core.keygenerator.directdictionary.timestamp
  */
 public class TimeStampDirectDictionaryGenerator implements DirectDictionaryGenerator {
 
-  private ThreadLocal<SimpleDateFormat> simpleDateFormatLocal = new ThreadLocal<>();
+  private ThreadLocal<DateFormatParser> dateFormatParserLocal = new ThreadLocal<>();
 
   private String dateFormat;
 
@@ -154,26 +155,22 @@ public class TimeStampDirectDictionaryGenerator implements DirectDictionaryGener
   }
 
   private int getDirectSurrogateForMember(String memberStr) {
-    Date dateToStr = null;
+    long timeValue;
     try {
-      SimpleDateFormat simpleDateFormat = simpleDateFormatLocal.get();
-      if (null == simpleDateFormat) {
+      DateFormatParser dateFormatParser = dateFormatParserLocal.get();
+      if (null == dateFormatParser) {
         initialize();
-        simpleDateFormat = simpleDateFormatLocal.get();
+        dateFormatParser = dateFormatParserLocal.get();
       }
-      dateToStr = simpleDateFormat.parse(memberStr);
+      timeValue = dateFormatParser.parse(memberStr);
     } catch (ParseException e) {
       LOGGER.debug(
           "Cannot convert " + memberStr + " to Time/Long type value. Value considered as null." + e
               .getMessage());
-      dateToStr = null;
-    }
-    //adding +2 to reserve the first cuttOffDiff value for null or empty date
-    if (null == dateToStr) {
+      //adding +2 to reserve the first cuttOffDiff value for null or empty date
       return 1;
-    } else {
-      return generateKey(dateToStr.getTime());
     }
+    return generateKey(timeValue);
   }
 
   /**
@@ -211,7 +208,7 @@ public class TimeStampDirectDictionaryGenerator implements DirectDictionaryGener
     }
   }
 
-  private int generateKey(long timeValue) {
+  @Override public int generateKey(long timeValue) {
     if (cutOffTimeStamp >= 0) {
       int keyValue = (int) ((timeValue - cutOffTimeStamp) / granularityFactor);
       return keyValue < 0 ? 1 : keyValue + 2;
@@ -222,9 +219,8 @@ public class TimeStampDirectDictionaryGenerator implements DirectDictionaryGener
   }
 
   public void initialize() {
-    if (simpleDateFormatLocal.get() == null) {
-      simpleDateFormatLocal.set(new SimpleDateFormat(dateFormat));
-      simpleDateFormatLocal.get().setLenient(false);
+    if (dateFormatParserLocal.get() == null) {
+      dateFormatParserLocal.set(DateFormatParser.getParser(dateFormat, false));
     }
   }
 
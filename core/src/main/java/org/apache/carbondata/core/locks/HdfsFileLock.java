@@ -55,7 +55,8 @@ public class HdfsFileLock extends AbstractCarbonLock {
     tmpPath = CarbonProperties.getInstance().getProperty(CarbonCommonConstants.STORE_LOCATION,
                System.getProperty(CarbonCommonConstants.HDFS_TEMP_LOCATION));
     if (!tmpPath.startsWith(CarbonCommonConstants.HDFSURL_PREFIX)
-          && !tmpPath.startsWith(CarbonCommonConstants.VIEWFSURL_PREFIX)) {
+          && !tmpPath.startsWith(CarbonCommonConstants.VIEWFSURL_PREFIX)
+          && FileFactory.getFileType(tmpPath) != FileFactory.FileType.S3) {
       tmpPath = hdfsPath + tmpPath;
     }
   }
@@ -67,6 +68,13 @@ public class HdfsFileLock extends AbstractCarbonLock {
   public HdfsFileLock(String lockFileLocation, String lockFile) {
     this.location = tmpPath + CarbonCommonConstants.FILE_SEPARATOR + lockFileLocation
         + CarbonCommonConstants.FILE_SEPARATOR + lockFile;
+    if (FileFactory.getFileType(location) == FileFactory.FileType.S3) {
+      // the object store can neither append to the lock file nor create it exclusively
+      throw new UnsupportedOperationException("Lock type "
+          + CarbonCommonConstants.CARBON_LOCK_TYPE_HDFS + " is not supported for the object store "
+          + "location " + location + ", configure " + CarbonCommonConstants.LOCK_TYPE + " as "
+          + CarbonCommonConstants.CARBON_LOCK_TYPE_ZOOKEEPER);
+    }
     LOGGER.info("HDFS lock path:" + this.location);
     initRetry();
   }
@@ -0,0 +1,74 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.carbondata.core.metadata;
+
+/**
+ * Scope of the sorting done while loading a segment, it is recorded in the table status so
+ * that the query and the compaction know how the rows of the segment are ordered.
+ */
+public enum SortScope {
+  /**
+   * rows are written in the order of the input, the start and end keys of the blocks and
+   * blocklets can not be used to search the rows, only min and max values are valid
+   */
+  NO_SORT,
+  /**
+   * rows are sorted within each batch of a writer and each batch is written with its own
+   * index file, so each index tree is ordered
+   */
+  BATCH_SORT,
+  /**
+   * all the rows of a node are sorted and written with one index file
+   */
+  LOCAL_SORT,
+  /**
+   * rows of the load are range partitioned on the sort key across the writer tasks and sorted
+   * in each task, so the key ranges of the files written by different tasks do not overlap
+   */
+  GLOBAL_SORT;
+
+  /**
+   * @return true if the rows of each index tree are sorted on the mdk key
+   */
+  public boolean isSorted() {
+    return this != NO_SORT;
+  }
+
+  public static boolean isValidSortScope(String sortScope) {
+    if (null == sortScope) {
+      return false;
+    }
+    for (SortScope scope : values()) {
+      if (scope.name().equalsIgnoreCase(sortScope.trim())) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  /**
+   * @return sort scope of the name, LOCAL_SORT if name is null or invalid as the segments
+   * loaded before the sort scope is recorded are sorted locally
+   */
+  public static SortScope getSortScope(String sortScope) {
+    if (!isValidSortScope(sortScope)) {
+      return LOCAL_SORT;
+    }
+    return valueOf(sortScope.trim().toUpperCase());
+  }
+}
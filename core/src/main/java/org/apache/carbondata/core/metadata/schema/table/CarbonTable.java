@@ -116,6 +116,17 @@ public class CarbonTable implements Serializable {
    */
   private int blockSize;
 
+  /**
+   * names of the dimensions on whose z-order the rows are sorted, empty if the rows are sorted
+   * on the mdk key
+   */
+  private List<String> zOrderColumns;
+
+  /**
+   * true if the micro batches loaded to the table are appended to a streaming segment
+   */
+  private boolean streamingTable;
+
   public CarbonTable() {
     this.tableDimensionsMap = new HashMap<String, List<CarbonDimension>>();
     this.tableImplicitDimensionsMap = new HashMap<String, List<CarbonDimension>>();
@@ -124,6 +135,7 @@ public class CarbonTable implements Serializable {
     this.aggregateTablesName = new ArrayList<String>();
     this.createOrderColumn = new HashMap<String, List<CarbonColumn>>();
     this.tablePrimitiveDimensionsMap = new HashMap<String, List<CarbonDimension>>();
+    this.zOrderColumns = new ArrayList<String>();
   }
 
   /**
@@ -131,6 +143,10 @@ public class CarbonTable implements Serializable {
    */
   public void loadCarbonTable(TableInfo tableInfo) {
     this.blockSize = getTableBlockSizeInMB(tableInfo);
+    this.zOrderColumns = getZOrderColumns(tableInfo);
+    Map<String, String> tableProperties = tableInfo.getFactTable().getTableProperties();
+    this.streamingTable = null != tableProperties && Boolean
+        .parseBoolean(tableProperties.get(CarbonCommonConstants.STREAMING));
     this.tableLastUpdatedTime = tableInfo.getLastUpdatedTime();
     this.tableUniqueName = tableInfo.getTableUniqueName();
     this.metaDataFilepath = tableInfo.getMetaDataFilepath();
@@ -204,6 +220,24 @@ public class CarbonTable implements Serializable {
     return Integer.parseInt(tableBlockSize);
   }
 
+  /**
+   * @return names of the z-order columns from the table properties in lower case
+   */
+  private List<String> getZOrderColumns(TableInfo tableInfo) {
+    List<String> columns = new ArrayList<String>();
+    Map<String, String> tableProperties = tableInfo.getFactTable().getTableProperties();
+    String property =
+        null == tableProperties ? null : tableProperties.get(CarbonCommonConstants.ZORDER_COLUMNS);
+    if (null != property) {
+      for (String column : property.split(",")) {
+        if (!column.trim().isEmpty()) {
+          columns.add(column.trim().toLowerCase());
+        }
+      }
+    }
+    return columns;
+  }
+
   /**
    * Fill allDimensions and allMeasures for carbon table
    *
@@ -576,6 +610,29 @@ public class CarbonTable implements Serializable {
     return blockSize;
   }
 
+  /**
+   * @return names of the dimensions on whose z-order the rows are sorted in lower case, empty
+   * if the rows are sorted on the mdk key
+   */
+  public List<String> getZOrderColumns() {
+    return zOrderColumns;
+  }
+
+  /**
+   * @return true if the rows of the blocks are sorted on the mdk key, so the start and end key
+   * of the blocks can be used to search them
+   */
+  public boolean isSortedOnMdKey() {
+    return zOrderColumns.isEmpty();
+  }
+
+  /**
+   * @return true if the data frame loads of the table are appended to a streaming segment
+   */
+  public boolean isStreamingTable() {
+    return streamingTable;
+  }
+
   /**
    * to get the normal dimension or the primitive dimension of the complex type
    *
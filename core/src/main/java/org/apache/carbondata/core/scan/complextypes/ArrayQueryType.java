@@ -24,6 +24,7 @@ import java.nio.ByteBuffer;
 import org.apache.carbondata.core.datastore.chunk.impl.DimensionRawColumnChunk;
 import org.apache.carbondata.core.scan.filter.GenericQueryType;
 import org.apache.carbondata.core.scan.processor.BlocksChunkHolder;
+import org.apache.carbondata.core.scan.result.vector.CarbonColumnVector;
 
 import org.apache.spark.sql.catalyst.util.*;
 import org.apache.spark.sql.types.*;
@@ -78,6 +79,26 @@ public class ArrayQueryType extends ComplexQueryType implements GenericQueryType
     }
   }
 
+  @Override public void fillColumnVector(DimensionRawColumnChunk[] rawColumnChunks,
+      int rowNumber, int pageNumber, CarbonColumnVector vector, int vectorRow) {
+    ByteBuffer byteArray =
+        ByteBuffer.wrap(getBlockDataChunk(rawColumnChunks, rowNumber, pageNumber));
+    int dataLength = byteArray.getInt();
+    if (dataLength == -1) {
+      vector.putNull(vectorRow);
+      return;
+    }
+    int elementOffset = vector.putArray(vectorRow, dataLength);
+    if (dataLength > 0) {
+      int columnIndex = byteArray.getInt();
+      CarbonColumnVector elementVector = vector.getChildVector(0);
+      for (int i = 0; i < dataLength; i++) {
+        children.fillColumnVector(rawColumnChunks, columnIndex++, pageNumber, elementVector,
+            elementOffset++);
+      }
+    }
+  }
+
   @Override public int getColsCount() {
     return children.getColsCount() + 1;
   }
@@ -52,6 +52,14 @@ public class ComplexQueryType {
     System.arraycopy(data, 0, input, 0, data.length);
   }
 
+  /**
+   * Returns the data of the row in the block chunk without copying it again
+   */
+  protected byte[] getBlockDataChunk(DimensionRawColumnChunk[] rawColumnChunks, int rowNumber,
+      int pageNumber) {
+    return rawColumnChunks[blockIndex].convertToDimColDataChunk(pageNumber).getChunkData(rowNumber);
+  }
+
   /*
    * This method will read the block data chunk from the respective block
    */
@@ -29,8 +29,10 @@ import org.apache.carbondata.core.keygenerator.directdictionary.DirectDictionary
 import org.apache.carbondata.core.keygenerator.mdkey.Bits;
 import org.apache.carbondata.core.scan.filter.GenericQueryType;
 import org.apache.carbondata.core.scan.processor.BlocksChunkHolder;
+import org.apache.carbondata.core.scan.result.vector.CarbonColumnVector;
 import org.apache.carbondata.core.util.DataTypeUtil;
 
+import org.apache.spark.sql.catalyst.util.DateTimeUtils;
 import org.apache.spark.sql.types.BooleanType$;
 import org.apache.spark.sql.types.DataType;
 import org.apache.spark.sql.types.DateType$;
@@ -38,6 +40,7 @@ import org.apache.spark.sql.types.DoubleType$;
 import org.apache.spark.sql.types.IntegerType$;
 import org.apache.spark.sql.types.LongType$;
 import org.apache.spark.sql.types.TimestampType$;
+import org.apache.spark.unsafe.types.UTF8String;
 
 public class PrimitiveQueryType extends ComplexQueryType implements GenericQueryType {
 
@@ -54,6 +57,11 @@ public class PrimitiveQueryType extends ComplexQueryType implements GenericQuery
 
   private boolean isDirectDictionary;
 
+  /**
+   * reads the surrogate key of keySize bytes
+   */
+  private Bits bits;
+
   public PrimitiveQueryType(String name, String parentname, int blockIndex,
       org.apache.carbondata.core.metadata.datatype.DataType dataType, int keySize,
       Dictionary dictionary, boolean isDirectDictionary) {
@@ -65,6 +73,7 @@ public class PrimitiveQueryType extends ComplexQueryType implements GenericQuery
     this.parentname = parentname;
     this.blockIndex = blockIndex;
     this.isDirectDictionary = isDirectDictionary;
+    this.bits = new Bits(new int[] { keySize * 8 });
   }
 
   @Override public void addChildren(GenericQueryType children) {
@@ -129,8 +138,50 @@ public class PrimitiveQueryType extends ComplexQueryType implements GenericQuery
   @Override public Object getDataBasedOnDataTypeFromSurrogates(ByteBuffer surrogateData) {
     byte[] data = new byte[keySize];
     surrogateData.get(data);
-    Bits bit = new Bits(new int[]{keySize * 8});
-    int surrgateValue = (int)bit.getKeyArray(data, 0)[0];
+    return getDataFromSurrogate(data);
+  }
+
+  @Override public void fillColumnVector(DimensionRawColumnChunk[] rawColumnChunks,
+      int rowNumber, int pageNumber, CarbonColumnVector vector, int vectorRow) {
+    Object actualData =
+        getDataFromSurrogate(getBlockDataChunk(rawColumnChunks, rowNumber, pageNumber));
+    if (null == actualData) {
+      vector.putNull(vectorRow);
+      return;
+    }
+    switch (dataType) {
+      case SHORT:
+        vector.putShort(vectorRow, (Short) actualData);
+        break;
+      case INT:
+        vector.putInt(vectorRow, (Integer) actualData);
+        break;
+      case LONG:
+      case TIMESTAMP:
+        vector.putLong(vectorRow, (Long) actualData);
+        break;
+      case DOUBLE:
+        vector.putDouble(vectorRow, (Double) actualData);
+        break;
+      case STRING:
+        vector.putBytes(vectorRow, ((UTF8String) actualData).getBytes());
+        break;
+      case DATE:
+        if (isDirectDictionary) {
+          vector.putInt(vectorRow, (Integer) actualData);
+        } else {
+          // dictionary value is decoded in micro seconds, date vector keeps the number of days
+          vector.putInt(vectorRow, DateTimeUtils.millisToDays((Long) actualData / 1000));
+        }
+        break;
+      default:
+        // the vector converts the value to its type
+        vector.putObject(vectorRow, actualData);
+    }
+  }
+
+  private Object getDataFromSurrogate(byte[] data) {
+    int surrgateValue = (int) bits.getKeyArray(data, 0)[0];
     Object actualData = null;
     if (isDirectDictionary) {
       DirectDictionaryGenerator directDictionaryGenerator = DirectDictionaryKeyGeneratorFactory
@@ -26,6 +26,7 @@ import java.util.List;
 import org.apache.carbondata.core.datastore.chunk.impl.DimensionRawColumnChunk;
 import org.apache.carbondata.core.scan.filter.GenericQueryType;
 import org.apache.carbondata.core.scan.processor.BlocksChunkHolder;
+import org.apache.carbondata.core.scan.result.vector.CarbonColumnVector;
 
 import org.apache.spark.sql.catalyst.expressions.GenericInternalRow;
 import org.apache.spark.sql.types.DataType;
@@ -98,6 +99,22 @@ public class StructQueryType extends ComplexQueryType implements GenericQueryTyp
     }
   }
 
+  @Override public void fillColumnVector(DimensionRawColumnChunk[] rawColumnChunks,
+      int rowNumber, int pageNumber, CarbonColumnVector vector, int vectorRow) {
+    ByteBuffer byteArray =
+        ByteBuffer.wrap(getBlockDataChunk(rawColumnChunks, rowNumber, pageNumber));
+    int childElement = byteArray.getInt();
+    // fields of the struct are filled at the same row of their vectors
+    for (int i = 0; i < children.size(); i++) {
+      if (i < childElement) {
+        children.get(i).fillColumnVector(rawColumnChunks, rowNumber, pageNumber,
+            vector.getChildVector(i), vectorRow);
+      } else {
+        vector.getChildVector(i).putNull(vectorRow);
+      }
+    }
+  }
+
   @Override public DataType getSchemaType() {
     StructField[] fields = new StructField[children.size()];
     for (int i = 0; i < children.size(); i++) {
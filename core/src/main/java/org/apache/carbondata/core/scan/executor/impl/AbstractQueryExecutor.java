@@ -57,6 +57,8 @@ import org.apache.carbondata.core.scan.filter.FilterUtil;
 import org.apache.carbondata.core.scan.model.QueryDimension;
 import org.apache.carbondata.core.scan.model.QueryMeasure;
 import org.apache.carbondata.core.scan.model.QueryModel;
+import org.apache.carbondata.core.scan.processor.TopNPruner;
+import org.apache.carbondata.core.stats.QueryProfile;
 import org.apache.carbondata.core.stats.QueryStatistic;
 import org.apache.carbondata.core.stats.QueryStatisticsConstants;
 import org.apache.carbondata.core.util.CarbonProperties;
@@ -111,7 +113,9 @@ public abstract class AbstractQueryExecutor<E> implements QueryExecutor<E> {
         CarbonTimeStatisticsFactory.createExecutorRecorder(queryModel.getQueryId());
     queryModel.setStatisticsRecorder(queryProperties.queryStatisticsRecorder);
     QueryUtil.resolveQueryModel(queryModel);
+    QueryProfile queryProfile = queryProperties.queryStatisticsRecorder.getQueryProfile();
     QueryStatistic queryStatistic = new QueryStatistic();
+    long blockLoadStartTime = System.nanoTime();
     // sort the block info
     // so block will be loaded in sorted order this will be required for
     // query execution
@@ -129,6 +133,10 @@ public abstract class AbstractQueryExecutor<E> implements QueryExecutor<E> {
             queryModel.getAbsoluteTableIdentifier());
     cache.removeTableBlocksIfHorizontalCompactionDone(queryModel);
     queryProperties.dataBlocks = cache.getAll(tableBlockUniqueIdentifiers);
+    if (null != queryProfile) {
+      queryProfile
+          .addStageTime(QueryProfile.Stage.BLOCK_LOAD, System.nanoTime() - blockLoadStartTime);
+    }
     queryStatistic
         .addStatistics(QueryStatisticsConstants.LOAD_BLOCKS_EXECUTOR, System.currentTimeMillis());
     queryProperties.queryStatisticsRecorder.recordStatistics(queryStatistic);
@@ -159,11 +167,16 @@ public abstract class AbstractQueryExecutor<E> implements QueryExecutor<E> {
         queryProperties.complexFilterDimension, queryProperties.filterMeasures);
 
     queryStatistic = new QueryStatistic();
+    long dictionaryLoadStartTime = System.nanoTime();
     // dictionary column unique column id to dictionary mapping
     // which will be used to get column actual data
     queryProperties.columnToDictionayMapping = QueryUtil
         .getDimensionDictionaryDetail(queryModel.getQueryDimension(),
             queryProperties.complexFilterDimension, queryModel.getAbsoluteTableIdentifier());
+    if (null != queryProfile) {
+      queryProfile.addStageTime(QueryProfile.Stage.DICTIONARY_LOAD,
+          System.nanoTime() - dictionaryLoadStartTime);
+    }
     queryStatistic
         .addStatistics(QueryStatisticsConstants.LOAD_DICTIONARY, System.currentTimeMillis());
     queryProperties.queryStatisticsRecorder.recordStatistics(queryStatistic);
@@ -188,12 +201,34 @@ public abstract class AbstractQueryExecutor<E> implements QueryExecutor<E> {
     // fill all the block execution infos for all the blocks selected in
     // query
     // and query will be executed based on that infos
+    CarbonDimension topNDimension = getTopNDimension(queryModel);
+    TopNPruner topNPruner = null;
+    if (null != topNDimension) {
+      topNPruner = new TopNPruner(queryModel.getTopN(), queryModel.isTopNDescending(),
+          !topNDimension.hasEncoding(Encoding.DICTIONARY));
+    }
     for (int i = 0; i < queryProperties.dataBlocks.size(); i++) {
-      blockExecutionInfoList.add(
+      TableBlockInfo tableBlockInfo = queryModel.getTableBlockInfos().get(i);
+      boolean isSortedData =
+          tableBlockInfo.getSortScope().isSorted() && queryModel.getTable().isSortedOnMdKey();
+      BlockExecutionInfo blockExecutionInfo =
           getBlockExecutionInfoForBlock(queryModel, queryProperties.dataBlocks.get(i),
-              queryModel.getTableBlockInfos().get(i).getBlockletInfos().getStartBlockletNumber(),
-              queryModel.getTableBlockInfos().get(i).getBlockletInfos().getNumberOfBlockletToScan(),
-              queryModel.getTableBlockInfos().get(i).getFilePath()));
+              tableBlockInfo.getBlockletInfos().getStartBlockletNumber(),
+              tableBlockInfo.getBlockletInfos().getNumberOfBlockletToScan(),
+              tableBlockInfo.getFilePath(), isSortedData);
+      if (null != topNPruner && isSortedData) {
+        SegmentProperties segmentProperties =
+            queryProperties.dataBlocks.get(i).getSegmentProperties();
+        CarbonDimension blockDimension = CarbonUtil
+            .getDimensionFromCurrentBlock(segmentProperties.getDimensions(), topNDimension);
+        // blocklets of the blocks without the dimension or with it in a row group are scanned
+        if (null != blockDimension && blockDimension.isColumnar()) {
+          blockExecutionInfo.setTopNPruner(topNPruner);
+          blockExecutionInfo.setTopNColumnIndex(segmentProperties
+              .getDimensionOrdinalToBlockMapping().get(blockDimension.getOrdinal()));
+        }
+      }
+      blockExecutionInfoList.add(blockExecutionInfo);
     }
     if (null != queryModel.getStatisticsRecorder()) {
       QueryStatistic queryStatistic = new QueryStatistic();
@@ -204,18 +239,43 @@ public abstract class AbstractQueryExecutor<E> implements QueryExecutor<E> {
     return blockExecutionInfoList;
   }
 
+  /**
+   * @return dimension ordering the top n rows of the query if its blocklets can be pruned by
+   * their min and max values, null otherwise. Only the direct dictionary and the no dictionary
+   * string values are compared as bytes in the order of the query
+   */
+  private CarbonDimension getTopNDimension(QueryModel queryModel) {
+    if (queryModel.getTopN() < 0 || null == queryModel.getTopNColumnName()) {
+      return null;
+    }
+    CarbonDimension dimension = queryModel.getTable()
+        .getDimensionByName(queryModel.getTable().getFactTableName(),
+            queryModel.getTopNColumnName());
+    if (null == dimension || dimension.isComplex()) {
+      return null;
+    }
+    boolean isNoDictionaryString =
+        !dimension.hasEncoding(Encoding.DICTIONARY) && dimension.getDataType() == DataType.STRING;
+    if (dimension.hasEncoding(Encoding.DIRECT_DICTIONARY) || isNoDictionaryString) {
+      return dimension;
+    }
+    return null;
+  }
+
   /**
    * Below method will be used to get the block execution info which is
    * required to execute any block  based on query model
    *
    * @param queryModel query model from user query
    * @param blockIndex block index
+   * @param isSortedData whether rows of the block are sorted, start and end key of the
+   *                     filter are used to find the blocklets only for the sorted block
    * @return block execution info
    * @throws QueryExecutionException any failure during block info creation
    */
   protected BlockExecutionInfo getBlockExecutionInfoForBlock(QueryModel queryModel,
-      AbstractIndex blockIndex, int startBlockletIndex, int numberOfBlockletToScan, String filePath)
-      throws QueryExecutionException {
+      AbstractIndex blockIndex, int startBlockletIndex, int numberOfBlockletToScan, String filePath,
+      boolean isSortedData) throws QueryExecutionException {
     BlockExecutionInfo blockExecutionInfo = new BlockExecutionInfo();
     SegmentProperties segmentProperties = blockIndex.getSegmentProperties();
     List<CarbonDimension> tableBlockDimensions = segmentProperties.getDimensions();
@@ -263,6 +323,8 @@ public abstract class AbstractQueryExecutor<E> implements QueryExecutor<E> {
       blockExecutionInfo.setFilterExecuterTree(FilterUtil
           .getFilterExecuterTree(queryModel.getFilterExpressionResolverTree(), segmentProperties,
               blockExecutionInfo.getComlexDimensionInfoMap()));
+    }
+    if (null != queryModel.getFilterExpressionResolverTree() && isSortedData) {
       List<IndexKey> listOfStartEndKeys = new ArrayList<IndexKey>(2);
       FilterUtil.traverseResolverTreeAndGetStartAndEndKey(segmentProperties,
           queryModel.getFilterExpressionResolverTree(), listOfStartEndKeys);
@@ -28,6 +28,7 @@ import org.apache.carbondata.core.scan.filter.GenericQueryType;
 import org.apache.carbondata.core.scan.filter.executer.FilterExecuter;
 import org.apache.carbondata.core.scan.model.QueryDimension;
 import org.apache.carbondata.core.scan.model.QueryMeasure;
+import org.apache.carbondata.core.scan.processor.TopNPruner;
 
 /**
  * Below class will have all the properties which needed during query execution
@@ -230,6 +231,17 @@ public class BlockExecutionInfo {
    */
   private AbsoluteTableIdentifier absoluteTableIdentifier;
 
+  /**
+   * pruner of the blocklets beyond the top n rows, null if the block is not sorted on the
+   * dimension ordering the query
+   */
+  private TopNPruner topNPruner;
+
+  /**
+   * block index of the dimension ordering the top n rows
+   */
+  private int topNColumnIndex;
+
   public AbsoluteTableIdentifier getAbsoluteTableIdentifier() {
     return absoluteTableIdentifier;
   }
@@ -643,4 +655,20 @@ public class BlockExecutionInfo {
     this.projectionListMeasureIndexes = projectionListMeasureIndexes;
   }
 
+  public TopNPruner getTopNPruner() {
+    return topNPruner;
+  }
+
+  public void setTopNPruner(TopNPruner topNPruner) {
+    this.topNPruner = topNPruner;
+  }
+
+  public int getTopNColumnIndex() {
+    return topNColumnIndex;
+  }
+
+  public void setTopNColumnIndex(int topNColumnIndex) {
+    this.topNColumnIndex = topNColumnIndex;
+  }
+
 }
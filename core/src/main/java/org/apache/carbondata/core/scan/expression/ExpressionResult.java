@@ -29,6 +29,7 @@ import org.apache.carbondata.core.constants.CarbonCommonConstants;
 import org.apache.carbondata.core.metadata.datatype.DataType;
 import org.apache.carbondata.core.scan.expression.exception.FilterIllegalMemberException;
 import org.apache.carbondata.core.util.CarbonUtil;
+import org.apache.carbondata.core.util.DateFormatParser;
 
 public class ExpressionResult implements Comparable<ExpressionResult> {
 
@@ -348,12 +349,10 @@ public class ExpressionResult implements Comparable<ExpressionResult> {
           // no matter in which format the data is been stored, so while retrieving the direct
           // surrogate value for filter member first it should be converted in date form as per
           // above format and needs to retrieve time stamp.
-          SimpleDateFormat parser =
-              new SimpleDateFormat(CarbonCommonConstants.CARBON_TIMESTAMP_DEFAULT_FORMAT);
-          Date dateToStr;
+          DateFormatParser parser = DateFormatParser
+              .getParser(CarbonCommonConstants.CARBON_TIMESTAMP_DEFAULT_FORMAT, true);
           try {
-            dateToStr = parser.parse(value.toString());
-            return dateToStr.getTime();
+            return parser.parse(value.toString());
           } catch (ParseException e) {
             throw new FilterIllegalMemberException(
                 "Cannot convert" + this.getDataType().name() + " to Time/Long type value");
@@ -523,10 +522,10 @@ public class ExpressionResult implements Comparable<ExpressionResult> {
         case DATE:
         case TIMESTAMP:
           String format = CarbonUtil.getFormatFromProperty(o.dataType);
-          SimpleDateFormat parser = new SimpleDateFormat(format);
-          Date date1 = parser.parse(this.getString());
-          Date date2 = parser.parse(o.getString());
-          return date1.compareTo(date2);
+          DateFormatParser parser = DateFormatParser.getParser(format, true);
+          long date1 = parser.parse(this.getString());
+          long date2 = parser.parse(o.getString());
+          return Long.compare(date1, date2);
         case STRING:
         default:
           return this.getString().compareTo(o.getString());
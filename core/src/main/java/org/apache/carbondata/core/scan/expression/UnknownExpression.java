@@ -23,4 +23,13 @@ public abstract class UnknownExpression extends Expression {
 
   public abstract List<ColumnExpression> getAllColumnList();
 
+  /**
+   * @return string of the expression which is same for the same expression in different
+   * queries, null if the expression can not be identified by a string like a non deterministic
+   * function
+   */
+  public String getCanonicalString() {
+    return null;
+  }
+
 }
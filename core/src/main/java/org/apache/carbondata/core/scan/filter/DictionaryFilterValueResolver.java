@@ -0,0 +1,453 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.carbondata.core.scan.filter;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.nio.charset.Charset;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.carbondata.common.logging.LogService;
+import org.apache.carbondata.common.logging.LogServiceFactory;
+import org.apache.carbondata.core.cache.dictionary.Dictionary;
+import org.apache.carbondata.core.constants.CarbonCommonConstants;
+import org.apache.carbondata.core.metadata.AbsoluteTableIdentifier;
+import org.apache.carbondata.core.metadata.datatype.DataType;
+import org.apache.carbondata.core.scan.expression.ColumnExpression;
+import org.apache.carbondata.core.scan.expression.Expression;
+import org.apache.carbondata.core.scan.expression.LiteralExpression;
+import org.apache.carbondata.core.scan.expression.UnknownExpression;
+import org.apache.carbondata.core.scan.expression.conditional.GreaterThanEqualToExpression;
+import org.apache.carbondata.core.scan.expression.conditional.GreaterThanExpression;
+import org.apache.carbondata.core.scan.expression.conditional.LessThanEqualToExpression;
+import org.apache.carbondata.core.scan.expression.conditional.LessThanExpression;
+import org.apache.carbondata.core.scan.expression.exception.FilterIllegalMemberException;
+import org.apache.carbondata.core.scan.expression.exception.FilterUnsupportedException;
+import org.apache.carbondata.core.scan.expression.logical.AndExpression;
+import org.apache.carbondata.core.scan.expression.logical.RangeExpression;
+import org.apache.carbondata.core.scan.filter.intf.RowImpl;
+import org.apache.carbondata.core.scan.filter.intf.RowIntf;
+import org.apache.carbondata.core.util.CarbonProperties;
+import org.apache.carbondata.core.util.DataTypeUtil;
+
+/**
+ * Resolves a filter on a dictionary column to the surrogate keys of the dictionary values
+ * which satisfy it, for the filters which can not be resolved from the filter literals
+ * like LIKE, casts and other functions on the column.
+ * Range filters on string columns are answered from the sort index of the dictionary as the
+ * matching values are contiguous in it. Other filters are evaluated on all the dictionary
+ * values in parallel by a thread pool shared by all the queries and the result is cached per
+ * filter, as the dictionary is append only a cached result is reused by evaluating only the
+ * values added after it is cached.
+ */
+public final class DictionaryFilterValueResolver {
+
+  private static final LogService LOGGER =
+      LogServiceFactory.getLogService(DictionaryFilterValueResolver.class.getName());
+
+  /**
+   * minimum number of dictionary values evaluated by one thread
+   */
+  private static final int MIN_VALUES_PER_THREAD = 50000;
+
+  private static final Charset CHARSET = Charset.forName(CarbonCommonConstants.DEFAULT_CHARSET);
+
+  /**
+   * resolved surrogates of the filters in least recently used order
+   */
+  private static final Map<String, ResolvedSurrogates> CACHE =
+      new LinkedHashMap<String, ResolvedSurrogates>(16, 0.75f, true) {
+        @Override protected boolean removeEldestEntry(Map.Entry<String, ResolvedSurrogates> e) {
+          return size() > getCacheSize();
+        }
+      };
+
+  /**
+   * pool shared by all the queries, so concurrent queries do not create threads per filter
+   */
+  private static volatile ExecutorService executorService;
+
+  private DictionaryFilterValueResolver() {
+
+  }
+
+  /**
+   * Get the surrogate keys of all the dictionary values for which the result of the
+   * expression is same as isIncludeFilter
+   *
+   * @return surrogate keys in ascending order
+   */
+  public static List<Integer> getFilteredSurrogates(AbsoluteTableIdentifier tableIdentifier,
+      Expression expression, ColumnExpression columnExpression, boolean isIncludeFilter,
+      Dictionary forwardDictionary) throws FilterUnsupportedException {
+    int dictionarySize = forwardDictionary.getDictionaryChunks().getSize();
+    if (isIncludeFilter && columnExpression.getCarbonColumn().getDataType() == DataType.STRING) {
+      List<Integer> surrogates =
+          getSurrogatesFromSortIndex(expression, columnExpression, forwardDictionary,
+              dictionarySize);
+      if (null != surrogates) {
+        return surrogates;
+      }
+    }
+    String key = null;
+    ResolvedSurrogates cached = null;
+    String expressionKey = getCacheSize() > 0 ? getExpressionKey(expression) : null;
+    // expression without a canonical form is not cached
+    if (null != expressionKey) {
+      key = tableIdentifier.getStorePath() + '/'
+          + tableIdentifier.getCarbonTableIdentifier().getTableUniqueName() + '/'
+          + columnExpression.getDimension().getColumnId() + '/' + isIncludeFilter + '/'
+          + expressionKey;
+      synchronized (CACHE) {
+        cached = CACHE.get(key);
+      }
+    }
+    int evaluatedSize = 0;
+    List<Integer> surrogates = new ArrayList<>();
+    if (null != cached && cached.dictionarySize <= dictionarySize) {
+      evaluatedSize = cached.dictionarySize;
+      for (int surrogate : cached.surrogates) {
+        surrogates.add(surrogate);
+      }
+    }
+    if (evaluatedSize < dictionarySize) {
+      surrogates.addAll(evaluate(expression, columnExpression, isIncludeFilter,
+          forwardDictionary, evaluatedSize + 1, dictionarySize));
+      if (null != key) {
+        synchronized (CACHE) {
+          CACHE.put(key, new ResolvedSurrogates(dictionarySize, surrogates));
+        }
+      }
+    }
+    return surrogates;
+  }
+
+  /**
+   * evaluate the expression on the values of the surrogates from start till end, the values
+   * are divided among the threads when there are many of them
+   */
+  private static List<Integer> evaluate(Expression expression,
+      ColumnExpression columnExpression, boolean isIncludeFilter, Dictionary forwardDictionary,
+      int start, int end) throws FilterUnsupportedException {
+    int numberOfValues = end - start + 1;
+    int numberOfThreads =
+        Math.min(getNumberOfThreads(), (numberOfValues + MIN_VALUES_PER_THREAD - 1)
+            / MIN_VALUES_PER_THREAD);
+    if (numberOfThreads <= 1) {
+      return evaluate(expression, columnExpression.getCarbonColumn().getDataType(),
+          isIncludeFilter, forwardDictionary, start, end);
+    }
+    // expressions like functions can have state, so each thread evaluates its own copy
+    List<Expression> copies = new ArrayList<>(numberOfThreads);
+    try {
+      byte[] serialized = serialize(expression);
+      for (int i = 0; i < numberOfThreads; i++) {
+        copies.add(deserialize(serialized));
+      }
+    } catch (IOException | ClassNotFoundException e) {
+      LOGGER.warn("Evaluating filter on dictionary in single thread as expression can not be"
+          + " copied: " + e.getMessage());
+      return evaluate(expression, columnExpression.getCarbonColumn().getDataType(),
+          isIncludeFilter, forwardDictionary, start, end);
+    }
+    final DataType dataType = columnExpression.getCarbonColumn().getDataType();
+    final boolean include = isIncludeFilter;
+    final Dictionary dictionary = forwardDictionary;
+    int valuesPerThread = (numberOfValues + numberOfThreads - 1) / numberOfThreads;
+    ExecutorService executorService = getExecutorService();
+    List<Future<List<Integer>>> futures = new ArrayList<>(numberOfThreads);
+    try {
+      for (int i = 0; i < numberOfThreads; i++) {
+        final Expression copy = copies.get(i);
+        final int threadStart = start + i * valuesPerThread;
+        final int threadEnd = Math.min(end, threadStart + valuesPerThread - 1);
+        futures.add(executorService.submit(new Callable<List<Integer>>() {
+          @Override public List<Integer> call() throws Exception {
+            return evaluate(copy, dataType, include, dictionary, threadStart, threadEnd);
+          }
+        }));
+      }
+      List<Integer> surrogates = new ArrayList<>();
+      for (Future<List<Integer>> future : futures) {
+        surrogates.addAll(future.get());
+      }
+      return surrogates;
+    } catch (InterruptedException e) {
+      throw new FilterUnsupportedException(e);
+    } catch (ExecutionException e) {
+      if (e.getCause() instanceof FilterUnsupportedException) {
+        throw (FilterUnsupportedException) e.getCause();
+      }
+      throw new FilterUnsupportedException(e.getCause());
+    } finally {
+      // remaining parts are not needed once a part failed
+      for (Future<List<Integer>> future : futures) {
+        future.cancel(true);
+      }
+    }
+  }
+
+  private static ExecutorService getExecutorService() {
+    if (null == executorService) {
+      synchronized (DictionaryFilterValueResolver.class) {
+        if (null == executorService) {
+          executorService = Executors.newFixedThreadPool(getNumberOfThreads(), new ThreadFactory() {
+            private final AtomicInteger threadNumber = new AtomicInteger();
+
+            @Override public Thread newThread(Runnable runnable) {
+              Thread thread = new Thread(runnable,
+                  "DictionaryFilterResolver_" + threadNumber.incrementAndGet());
+              thread.setDaemon(true);
+              return thread;
+            }
+          });
+        }
+      }
+    }
+    return executorService;
+  }
+
+  private static List<Integer> evaluate(Expression expression, DataType dataType,
+      boolean isIncludeFilter, Dictionary forwardDictionary, int start, int end)
+      throws FilterUnsupportedException {
+    List<Integer> surrogates = new ArrayList<>();
+    RowIntf row = new RowImpl();
+    for (int surrogate = start; surrogate <= end; surrogate++) {
+      byte[] columnVal = forwardDictionary.getDictionaryValueForKeyInBytes(surrogate);
+      if (null == columnVal) {
+        continue;
+      }
+      try {
+        String stringValue = new String(columnVal, CHARSET);
+        if (stringValue.equals(CarbonCommonConstants.MEMBER_DEFAULT_VAL)) {
+          stringValue = null;
+        }
+        row.setValues(new Object[] { DataTypeUtil.getDataBasedOnDataType(stringValue, dataType) });
+        Boolean rslt = expression.evaluate(row).getBoolean();
+        if (null != rslt && rslt == isIncludeFilter) {
+          surrogates.add(surrogate);
+        }
+      } catch (FilterIllegalMemberException e) {
+        LOGGER.debug(e.getMessage());
+      }
+    }
+    return surrogates;
+  }
+
+  /**
+   * Get the surrogates of a range filter on the column from the sort index of the dictionary
+   *
+   * @return surrogates, null if the expression is not a range on the column or the sort
+   * index is not present
+   */
+  private static List<Integer> getSurrogatesFromSortIndex(Expression expression,
+      ColumnExpression columnExpression, Dictionary forwardDictionary, int dictionarySize) {
+    List<Expression> bounds = new ArrayList<>(2);
+    if (!collectBounds(expression, columnExpression, bounds)) {
+      return null;
+    }
+    if (dictionarySize == 0 || forwardDictionary.getSortedIndex(dictionarySize) <= 0) {
+      return null;
+    }
+    // sort index of the first and the last matching value
+    int low = 1;
+    int high = dictionarySize;
+    for (Expression bound : bounds) {
+      String literal = ((LiteralExpression) bound.getChildren().get(1)).getLiteralExpValue()
+          .toString();
+      if (bound instanceof GreaterThanExpression) {
+        low = Math.max(low, getFirstSortIndex(forwardDictionary, dictionarySize, literal, false));
+      } else if (bound instanceof GreaterThanEqualToExpression) {
+        low = Math.max(low, getFirstSortIndex(forwardDictionary, dictionarySize, literal, true));
+      } else if (bound instanceof LessThanExpression) {
+        high = Math.min(high,
+            getFirstSortIndex(forwardDictionary, dictionarySize, literal, true) - 1);
+      } else {
+        high = Math.min(high,
+            getFirstSortIndex(forwardDictionary, dictionarySize, literal, false) - 1);
+      }
+    }
+    List<Integer> surrogates = new ArrayList<>();
+    if (low > high) {
+      return surrogates;
+    }
+    for (int surrogate = 1; surrogate <= dictionarySize; surrogate++) {
+      int sortIndex = forwardDictionary.getSortedIndex(surrogate);
+      // null member is never selected by a comparison
+      if (sortIndex >= low && sortIndex <= high
+          && surrogate != CarbonCommonConstants.MEMBER_DEFAULT_VAL_SURROGATE_KEY) {
+        surrogates.add(surrogate);
+      }
+    }
+    return surrogates;
+  }
+
+  /**
+   * first sort index whose value is greater than or equal to the literal when inclusive,
+   * or greater than the literal otherwise, dictionarySize + 1 if there is no such value
+   */
+  private static int getFirstSortIndex(Dictionary forwardDictionary, int dictionarySize,
+      String literal, boolean inclusive) {
+    int low = 1;
+    int high = dictionarySize;
+    while (low <= high) {
+      int mid = (low + high) >>> 1;
+      int cmp = forwardDictionary.getDictionaryValueFromSortedIndex(mid).compareTo(literal);
+      if (cmp > 0 || (inclusive && cmp == 0)) {
+        high = mid - 1;
+      } else {
+        low = mid + 1;
+      }
+    }
+    return low;
+  }
+
+  /**
+   * collect the comparisons of the column with string literals which form the range filter
+   */
+  private static boolean collectBounds(Expression expression, ColumnExpression column,
+      List<Expression> bounds) {
+    if (expression instanceof RangeExpression || expression instanceof AndExpression) {
+      return collectBounds(expression.getChildren().get(0), column, bounds) && collectBounds(
+          expression.getChildren().get(1), column, bounds);
+    }
+    if (!(expression instanceof GreaterThanExpression
+        || expression instanceof GreaterThanEqualToExpression
+        || expression instanceof LessThanExpression
+        || expression instanceof LessThanEqualToExpression)) {
+      return false;
+    }
+    Expression left = expression.getChildren().get(0);
+    Expression right = expression.getChildren().get(1);
+    if (left instanceof ColumnExpression && right instanceof LiteralExpression
+        && ((ColumnExpression) left).getColumnName().equalsIgnoreCase(column.getColumnName())
+        && ((LiteralExpression) right).getLiteralExpDataType() == DataType.STRING
+        && null != ((LiteralExpression) right).getLiteralExpValue()) {
+      bounds.add(expression);
+      return true;
+    }
+    return false;
+  }
+
+  /**
+   * key of the expression in the cache, which is same for the same filter of different
+   * queries. Unknown expressions of the engine are keyed by their canonical string, others by
+   * their string representation or by their children when they do not have one or when they
+   * have an unknown expression in them.
+   *
+   * @return null if the expression does not have a canonical form
+   */
+  private static String getExpressionKey(Expression expression) {
+    if (expression instanceof UnknownExpression) {
+      return ((UnknownExpression) expression).getCanonicalString();
+    }
+    String string = hasUnknownExpression(expression) ? null : expression.getString();
+    if (null != string) {
+      return string;
+    }
+    StringBuilder builder = new StringBuilder(expression.getClass().getSimpleName()).append('(');
+    for (Expression child : expression.getChildren()) {
+      String childKey = getExpressionKey(child);
+      if (null == childKey) {
+        return null;
+      }
+      builder.append(childKey).append(',');
+    }
+    return builder.append(')').toString();
+  }
+
+  private static boolean hasUnknownExpression(Expression expression) {
+    for (Expression child : expression.getChildren()) {
+      if (child instanceof UnknownExpression || hasUnknownExpression(child)) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  private static byte[] serialize(Expression expression) throws IOException {
+    ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+    ObjectOutputStream out = new ObjectOutputStream(bytes);
+    try {
+      out.writeObject(expression);
+    } finally {
+      out.close();
+    }
+    return bytes.toByteArray();
+  }
+
+  private static Expression deserialize(byte[] serialized)
+      throws IOException, ClassNotFoundException {
+    ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(serialized));
+    try {
+      return (Expression) in.readObject();
+    } finally {
+      in.close();
+    }
+  }
+
+  private static int getNumberOfThreads() {
+    try {
+      return Integer.parseInt(CarbonProperties.getInstance()
+          .getProperty(CarbonCommonConstants.DICTIONARY_FILTER_RESOLVE_THREADS,
+              CarbonCommonConstants.DICTIONARY_FILTER_RESOLVE_THREADS_DEFAULT));
+    } catch (NumberFormatException e) {
+      return Integer.parseInt(CarbonCommonConstants.DICTIONARY_FILTER_RESOLVE_THREADS_DEFAULT);
+    }
+  }
+
+  private static int getCacheSize() {
+    try {
+      return Integer.parseInt(CarbonProperties.getInstance()
+          .getProperty(CarbonCommonConstants.DICTIONARY_FILTER_CACHE_SIZE,
+              CarbonCommonConstants.DICTIONARY_FILTER_CACHE_SIZE_DEFAULT));
+    } catch (NumberFormatException e) {
+      return Integer.parseInt(CarbonCommonConstants.DICTIONARY_FILTER_CACHE_SIZE_DEFAULT);
+    }
+  }
+
+  /**
+   * surrogates which satisfy a filter among the first dictionarySize values of the dictionary
+   */
+  private static class ResolvedSurrogates {
+
+    private int dictionarySize;
+
+    private int[] surrogates;
+
+    private ResolvedSurrogates(int dictionarySize, List<Integer> surrogates) {
+      this.dictionarySize = dictionarySize;
+      this.surrogates = new int[surrogates.size()];
+      for (int i = 0; i < this.surrogates.length; i++) {
+        this.surrogates[i] = surrogates.get(i);
+      }
+    }
+  }
+}
@@ -83,20 +83,33 @@ public class FilterExpressionProcessor implements FilterProcessor {
    */
   public List<DataRefNode> getFilterredBlocks(DataRefNode btreeNode,
       FilterResolverIntf filterResolver, AbstractIndex tableSegment,
-      AbsoluteTableIdentifier tableIdentifier) {
+      AbsoluteTableIdentifier tableIdentifier, boolean isSortedData) {
     // Need to get the current dimension tables
     List<DataRefNode> listOfDataBlocksToScan = new ArrayList<DataRefNode>();
-    // getting the start and end index key based on filter for hitting the
-    // selected block reference nodes based on filter resolver tree.
-    LOGGER.debug("preparing the start and end key for finding"
-        + "start and end block as per filter resolver");
-    List<IndexKey> listOfStartEndKeys = new ArrayList<IndexKey>(2);
-    FilterUtil.traverseResolverTreeAndGetStartAndEndKey(tableSegment.getSegmentProperties(),
-        filterResolver, listOfStartEndKeys);
-    // reading the first value from list which has start key
-    IndexKey searchStartKey = listOfStartEndKeys.get(0);
-    // reading the last value from list which has end key
-    IndexKey searchEndKey = listOfStartEndKeys.get(1);
+    IndexKey searchStartKey = null;
+    IndexKey searchEndKey = null;
+    // start and end key of the unsorted blocks do not bound the rows in between, so all
+    // the blocks are selected based on min and max values
+    if (isSortedData) {
+      // IN filter on the first dimension of the sort key searches the blocks of each value
+      List<IndexKey[]> skipScanKeys = FilterUtil
+          .getSkipScanStartAndEndKeys(tableSegment.getSegmentProperties(), filterResolver);
+      if (null != skipScanKeys) {
+        return getFilterredBlocksOfKeyRanges(btreeNode, filterResolver, tableSegment,
+            skipScanKeys);
+      }
+      // getting the start and end index key based on filter for hitting the
+      // selected block reference nodes based on filter resolver tree.
+      LOGGER.debug("preparing the start and end key for finding"
+          + "start and end block as per filter resolver");
+      List<IndexKey> listOfStartEndKeys = new ArrayList<IndexKey>(2);
+      FilterUtil.traverseResolverTreeAndGetStartAndEndKey(tableSegment.getSegmentProperties(),
+          filterResolver, listOfStartEndKeys);
+      // reading the first value from list which has start key
+      searchStartKey = listOfStartEndKeys.get(0);
+      // reading the last value from list which has end key
+      searchEndKey = listOfStartEndKeys.get(1);
+    }
     if (null == searchStartKey && null == searchEndKey) {
       try {
         // TODO need to handle for no dictionary dimensions
@@ -134,6 +147,28 @@ public class FilterExpressionProcessor implements FilterProcessor {
     return listOfDataBlocksToScan;
   }
 
+  /**
+   * Selects the blocks of each start and end key range and skips the blocks in between the
+   * ranges, the blocks of the ranges are then selected based on min and max value
+   */
+  private List<DataRefNode> getFilterredBlocksOfKeyRanges(DataRefNode btreeNode,
+      FilterResolverIntf filterResolver, AbstractIndex tableSegment, List<IndexKey[]> keyRanges) {
+    long startTimeInMillis = System.currentTimeMillis();
+    List<DataRefNode> listOfDataBlocksToScan = new ArrayList<DataRefNode>();
+    DataRefNodeFinder blockFinder = new BTreeDataRefNodeFinder(
+        tableSegment.getSegmentProperties().getEachDimColumnValueSize());
+    FilterExecuter filterExecuter =
+        FilterUtil.getFilterExecuterTree(filterResolver, tableSegment.getSegmentProperties(), null);
+    for (DataRefNode dataBlock : blockFinder.findDataBlocks(btreeNode, keyRanges)) {
+      addBlockBasedOnMinMaxValue(filterExecuter, listOfDataBlocksToScan, dataBlock);
+    }
+    LOGGER.info("Total Time in retrieving the data reference node after skip scan of the btree "
+        + "for " + keyRanges.size() + " key ranges " + (System.currentTimeMillis()
+        - startTimeInMillis) + " Total number of data reference node for executing filter(s) "
+        + listOfDataBlocksToScan.size());
+    return listOfDataBlocksToScan;
+  }
+
   /**
    * Selects the blocks based on col max and min value.
    *
@@ -143,8 +178,7 @@ public class FilterExpressionProcessor implements FilterProcessor {
   private void addBlockBasedOnMinMaxValue(FilterExecuter filterExecuter,
       List<DataRefNode> listOfDataBlocksToScan, DataRefNode dataRefNode) {
 
-    BitSet bitSet = filterExecuter
-        .isScanRequired(dataRefNode.getColumnsMaxValue(), dataRefNode.getColumnsMinValue());
+    BitSet bitSet = filterExecuter.isScanRequired(dataRefNode.getColumnsMinMaxValues());
     if (!bitSet.isEmpty()) {
       listOfDataBlocksToScan.add(dataRefNode);
 
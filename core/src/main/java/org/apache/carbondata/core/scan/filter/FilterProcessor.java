@@ -47,9 +47,12 @@ public interface FilterProcessor {
    * to apply filters.
    *
    * @param filterResolver DataBlock list with resolved filters
+   * @param isSortedData whether the blocks of the index are sorted, if not sorted all the
+   *                     blocks are pruned using min and max values
    * @return list of DataRefNode.
    */
   List<DataRefNode> getFilterredBlocks(DataRefNode dataRefNode, FilterResolverIntf filterResolver,
-      AbstractIndex segmentIndexBuilder, AbsoluteTableIdentifier tableIdentifier);
+      AbstractIndex segmentIndexBuilder, AbsoluteTableIdentifier tableIdentifier,
+      boolean isSortedData);
 
 }
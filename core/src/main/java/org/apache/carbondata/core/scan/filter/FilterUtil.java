@@ -21,13 +21,11 @@ import java.io.IOException;
 import java.math.BigDecimal;
 import java.nio.ByteBuffer;
 import java.nio.charset.Charset;
-import java.text.SimpleDateFormat;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.BitSet;
 import java.util.Collections;
 import java.util.Comparator;
-import java.util.Date;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
@@ -42,7 +40,6 @@ import org.apache.carbondata.core.cache.Cache;
 import org.apache.carbondata.core.cache.CacheProvider;
 import org.apache.carbondata.core.cache.CacheType;
 import org.apache.carbondata.core.cache.dictionary.Dictionary;
-import org.apache.carbondata.core.cache.dictionary.DictionaryChunksWrapper;
 import org.apache.carbondata.core.cache.dictionary.DictionaryColumnUniqueIdentifier;
 import org.apache.carbondata.core.cache.dictionary.ForwardDictionary;
 import org.apache.carbondata.core.constants.CarbonCommonConstants;
@@ -89,6 +86,7 @@ import org.apache.carbondata.core.util.ByteUtil;
 import org.apache.carbondata.core.util.CarbonProperties;
 import org.apache.carbondata.core.util.CarbonUtil;
 import org.apache.carbondata.core.util.DataTypeUtil;
+import org.apache.carbondata.core.util.DateFormatParser;
 
 public final class FilterUtil {
   private static final LogService LOGGER =
@@ -463,37 +461,19 @@ public final class FilterUtil {
       final ColumnExpression columnExpression, boolean isIncludeFilter)
       throws IOException, FilterUnsupportedException {
     Dictionary forwardDictionary = null;
-    List<String> evaluateResultListFinal = new ArrayList<String>(20);
-    DictionaryChunksWrapper dictionaryWrapper = null;
     try {
       forwardDictionary =
           getForwardDictionaryCache(tableIdentifier, columnExpression.getDimension());
-      dictionaryWrapper = forwardDictionary.getDictionaryChunks();
-      while (dictionaryWrapper.hasNext()) {
-        byte[] columnVal = dictionaryWrapper.next();
-        try {
-          RowIntf row = new RowImpl();
-          String stringValue =
-              new String(columnVal, Charset.forName(CarbonCommonConstants.DEFAULT_CHARSET));
-          if (stringValue.equals(CarbonCommonConstants.MEMBER_DEFAULT_VAL)) {
-            stringValue = null;
-          }
-          row.setValues(new Object[] { DataTypeUtil.getDataBasedOnDataType(stringValue,
-              columnExpression.getCarbonColumn().getDataType()) });
-          Boolean rslt = expression.evaluate(row).getBoolean();
-          if (null != rslt && rslt == isIncludeFilter) {
-            if (null == stringValue) {
-              evaluateResultListFinal.add(CarbonCommonConstants.MEMBER_DEFAULT_VAL);
-            } else {
-              evaluateResultListFinal.add(stringValue);
-            }
-          }
-        } catch (FilterIllegalMemberException e) {
-          LOGGER.debug(e.getMessage());
-        }
+      List<Integer> surrogates = DictionaryFilterValueResolver
+          .getFilteredSurrogates(tableIdentifier, expression, columnExpression, isIncludeFilter,
+              forwardDictionary);
+      DimColumnFilterInfo columnFilterInfo = null;
+      if (surrogates.size() > 0) {
+        columnFilterInfo = new DimColumnFilterInfo();
+        columnFilterInfo.setIncludeFilter(isIncludeFilter);
+        columnFilterInfo.setFilterList(surrogates);
       }
-      return getFilterValues(columnExpression, evaluateResultListFinal, forwardDictionary,
-          isIncludeFilter);
+      return columnFilterInfo;
     } finally {
       CarbonUtil.clearDictionaryCache(forwardDictionary);
     }
@@ -1150,12 +1130,10 @@ public final class FilterUtil {
         case DATE:
         case TIMESTAMP:
           String format = CarbonUtil.getFormatFromProperty(dataType);
-          SimpleDateFormat parser = new SimpleDateFormat(format);
-          Date dateToStr;
-          Date dictionaryDate;
-          dateToStr = parser.parse(memberVal);
-          dictionaryDate = parser.parse(dictionaryVal);
-          return dictionaryDate.compareTo(dateToStr);
+          DateFormatParser parser = DateFormatParser.getParser(format, true);
+          long dateToStr = parser.parse(memberVal);
+          long dictionaryDate = parser.parse(dictionaryVal);
+          return Long.compare(dictionaryDate, dateToStr);
 
         case DECIMAL:
           java.math.BigDecimal javaDecValForDictVal = new java.math.BigDecimal(dictionaryVal);
@@ -1246,6 +1224,87 @@ public final class FilterUtil {
 
   }
 
+  /**
+   * Below method will be used to get the start and end key of each value of an IN filter on
+   * the first dimension of the sort key. Searching the btree for each value skips the blocks
+   * in between the values, a single start and end key covers all the blocks from the
+   * smallest to the largest value.
+   *
+   * @param segmentProperties
+   * @param filterResolver
+   * @return start and end key of each filter value in the key order, null if the filter is
+   * not an IN filter of multiple values on the first dimension of the sort key
+   */
+  public static List<IndexKey[]> getSkipScanStartAndEndKeys(SegmentProperties segmentProperties,
+      FilterResolverIntf filterResolver) {
+    List<Integer> filterKeys = getLeadingDimensionInFilterKeys(segmentProperties, filterResolver);
+    if (null == filterKeys || filterKeys.size() < 2) {
+      return null;
+    }
+    List<Integer> sortedFilterKeys = new ArrayList<Integer>(filterKeys);
+    Collections.sort(sortedFilterKeys);
+    KeyGenerator keyGenerator = segmentProperties.getDimensionKeyGenerator();
+    int[] dimColumnsCardinality = segmentProperties.getDimColumnsCardinality();
+    byte[] noDictionaryStartKey = getNoDictionaryDefaultStartKey(segmentProperties);
+    byte[] noDictionaryEndKey = getNoDictionaryDefaultEndKey(segmentProperties);
+    List<IndexKey[]> keyRanges = new ArrayList<IndexKey[]>(sortedFilterKeys.size());
+    for (Integer filterKey : sortedFilterKeys) {
+      long[] startKey = new long[keyGenerator.getDimCount()];
+      long[] endKey = new long[keyGenerator.getDimCount()];
+      for (int i = 1; i < endKey.length; i++) {
+        endKey[i] = dimColumnsCardinality[i];
+      }
+      // same as the start key of the filter, block which starts with the previous value can
+      // have the rows of the filter value
+      startKey[0] = filterKey - 1;
+      endKey[0] = filterKey;
+      IndexKey searchStartKey =
+          createIndexKeyFromResolvedFilterVal(startKey, keyGenerator, noDictionaryStartKey);
+      IndexKey searchEndKey =
+          createIndexKeyFromResolvedFilterVal(endKey, keyGenerator, noDictionaryEndKey);
+      if (null == searchStartKey || null == searchEndKey) {
+        return null;
+      }
+      keyRanges.add(new IndexKey[] { searchStartKey, searchEndKey });
+    }
+    return keyRanges;
+  }
+
+  /**
+   * @return surrogate keys of the IN filter on the first dimension of the sort key, which is
+   * the filter itself or a child of the AND filters, null if there is no such filter
+   */
+  private static List<Integer> getLeadingDimensionInFilterKeys(
+      SegmentProperties segmentProperties, FilterResolverIntf filterResolver) {
+    if (filterResolver.getFilterExecuterType() == FilterExecuterType.AND) {
+      List<Integer> filterKeys =
+          getLeadingDimensionInFilterKeys(segmentProperties, filterResolver.getLeft());
+      if (null == filterKeys) {
+        filterKeys = getLeadingDimensionInFilterKeys(segmentProperties, filterResolver.getRight());
+      }
+      return filterKeys;
+    }
+    if (filterResolver.getClass() != ConditionalFilterResolverImpl.class
+        || filterResolver.getFilterExpression().getFilterExpressionType() != ExpressionType.IN) {
+      return null;
+    }
+    DimColumnResolvedFilterInfo dimColResolvedFilterInfo =
+        filterResolver.getDimColResolvedFilterInfo();
+    if (null == dimColResolvedFilterInfo || null == dimColResolvedFilterInfo.getDimension()
+        || null == dimColResolvedFilterInfo.getFilterValues()
+        || !dimColResolvedFilterInfo.getFilterValues().isIncludeFilter()) {
+      return null;
+    }
+    CarbonDimension leadingDimension = segmentProperties.getDimensions().get(0);
+    String filterColumnId = dimColResolvedFilterInfo.getDimension().getColumnId();
+    if (!leadingDimension.getColumnId().equals(filterColumnId)
+        || !leadingDimension.hasEncoding(Encoding.DICTIONARY)
+        || !leadingDimension.isColumnar() || leadingDimension.getKeyOrdinal() != 0) {
+      return null;
+    }
+    return dimColResolvedFilterInfo.getFilterValues().getFilterList();
+  }
+
   private static int compareFilterMembersBasedOnActualDataType(String filterMember1,
       String filterMember2, DataType dataType) {
     try {
@@ -1283,12 +1342,10 @@ public final class FilterUtil {
                 .getProperty(CarbonCommonConstants.CARBON_TIMESTAMP_FORMAT,
                     CarbonCommonConstants.CARBON_TIMESTAMP_DEFAULT_FORMAT);
           }
-          SimpleDateFormat parser = new SimpleDateFormat(format);
-          Date date1 = null;
-          Date date2 = null;
-          date1 = parser.parse(filterMember1);
-          date2 = parser.parse(filterMember2);
-          return date1.compareTo(date2);
+          DateFormatParser parser = DateFormatParser.getParser(format, true);
+          long date1 = parser.parse(filterMember1);
+          long date2 = parser.parse(filterMember2);
+          return Long.compare(date1, date2);
         case STRING:
         default:
           return filterMember1.compareTo(filterMember2);
@@ -23,6 +23,7 @@ import java.nio.ByteBuffer;
 
 import org.apache.carbondata.core.datastore.chunk.impl.DimensionRawColumnChunk;
 import org.apache.carbondata.core.scan.processor.BlocksChunkHolder;
+import org.apache.carbondata.core.scan.result.vector.CarbonColumnVector;
 
 import org.apache.spark.sql.types.DataType;
 
@@ -48,4 +49,15 @@ public interface GenericQueryType {
   void fillRequiredBlockData(BlocksChunkHolder blockChunkHolder) throws IOException;
 
   Object getDataBasedOnDataTypeFromSurrogates(ByteBuffer surrogateData);
+
+  /**
+   * Fills the value of the row directly from the column chunks to the vector, values of the
+   * children are filled to the child vectors, so the row is not serialized and parsed again
+   *
+   * @param rowNumber row of the column chunk
+   * @param vector    vector of this column
+   * @param vectorRow row of the vector to fill
+   */
+  void fillColumnVector(DimensionRawColumnChunk[] rawColumnChunks, int rowNumber, int pageNumber,
+      CarbonColumnVector vector, int vectorRow);
 }
@@ -19,6 +19,7 @@ package org.apache.carbondata.core.scan.filter.executer;
 import java.io.IOException;
 import java.util.BitSet;
 
+import org.apache.carbondata.core.datastore.MinMaxValues;
 import org.apache.carbondata.core.scan.expression.exception.FilterUnsupportedException;
 import org.apache.carbondata.core.scan.processor.BlocksChunkHolder;
 import org.apache.carbondata.core.util.BitSetGroup;
@@ -47,12 +48,12 @@ public class AndFilterExecuterImpl implements FilterExecuter {
     return leftFilters;
   }
 
-  @Override public BitSet isScanRequired(byte[][] blockMaxValue, byte[][] blockMinValue) {
-    BitSet leftFilters = leftExecuter.isScanRequired(blockMaxValue, blockMinValue);
+  @Override public BitSet isScanRequired(MinMaxValues minMaxValues) {
+    BitSet leftFilters = leftExecuter.isScanRequired(minMaxValues);
     if (leftFilters.isEmpty()) {
       return leftFilters;
     }
-    BitSet rightFilter = rightExecuter.isScanRequired(blockMaxValue, blockMinValue);
+    BitSet rightFilter = rightExecuter.isScanRequired(minMaxValues);
     if (rightFilter.isEmpty()) {
       return rightFilter;
     }
@@ -19,6 +19,7 @@ package org.apache.carbondata.core.scan.filter.executer;
 import java.io.IOException;
 import java.util.BitSet;
 
+import org.apache.carbondata.core.datastore.MinMaxValues;
 import org.apache.carbondata.core.scan.expression.exception.FilterUnsupportedException;
 import org.apache.carbondata.core.scan.processor.BlocksChunkHolder;
 import org.apache.carbondata.core.util.BitSetGroup;
@@ -38,11 +39,10 @@ public interface FilterExecuter {
    * API will verify whether the block can be shortlisted based on block
    * max and min key.
    *
-   * @param blockMaxValue, maximum value of the
-   * @param blockMinValue
+   * @param minMaxValues min and max values of the columns of the block
    * @return BitSet
    */
-  BitSet isScanRequired(byte[][] blockMaxValue, byte[][] blockMinValue);
+  BitSet isScanRequired(MinMaxValues minMaxValues);
 
   /**
    * It just reads necessary block for filter executor, it does not uncompress the data.
@@ -19,6 +19,7 @@ package org.apache.carbondata.core.scan.filter.executer;
 import java.io.IOException;
 import java.util.BitSet;
 
+import org.apache.carbondata.core.datastore.MinMaxValues;
 import org.apache.carbondata.core.datastore.block.SegmentProperties;
 import org.apache.carbondata.core.datastore.chunk.DimensionColumnDataChunk;
 import org.apache.carbondata.core.datastore.chunk.impl.DimensionRawColumnChunk;
@@ -157,14 +158,21 @@ public class IncludeFilterExecuterImpl implements FilterExecuter {
     return bitSet;
   }
 
-  public BitSet isScanRequired(byte[][] blkMaxVal, byte[][] blkMinVal) {
+  public BitSet isScanRequired(MinMaxValues minMaxValues) {
     BitSet bitSet = new BitSet(1);
     byte[][] filterValues = dimColumnExecuterInfo.getFilterKeys();
     int columnIndex = dimColumnEvaluatorInfo.getColumnIndex();
     int blockIndex = segmentProperties.getDimensionOrdinalToBlockMapping().get(columnIndex);
 
-    boolean isScanRequired =
-        isScanRequired(blkMaxVal[blockIndex], blkMinVal[blockIndex], filterValues);
+    boolean isScanRequired = false;
+    for (int k = 0; k < filterValues.length; k++) {
+      // if any filter value is in range of min and max than this block needs to be scanned
+      if (minMaxValues.compareToMax(blockIndex, filterValues[k]) <= 0
+          && minMaxValues.compareToMin(blockIndex, filterValues[k]) >= 0) {
+        isScanRequired = true;
+        break;
+      }
+    }
     if (isScanRequired) {
       bitSet.set(0);
     }
@@ -19,6 +19,7 @@ package org.apache.carbondata.core.scan.filter.executer;
 import java.io.IOException;
 import java.util.BitSet;
 
+import org.apache.carbondata.core.datastore.MinMaxValues;
 import org.apache.carbondata.core.scan.expression.exception.FilterUnsupportedException;
 import org.apache.carbondata.core.scan.processor.BlocksChunkHolder;
 import org.apache.carbondata.core.util.BitSetGroup;
@@ -42,9 +43,9 @@ public class OrFilterExecuterImpl implements FilterExecuter {
     return leftFilters;
   }
 
-  @Override public BitSet isScanRequired(byte[][] blockMaxValue, byte[][] blockMinValue) {
-    BitSet leftFilters = leftExecuter.isScanRequired(blockMaxValue, blockMinValue);
-    BitSet rightFilters = rightExecuter.isScanRequired(blockMaxValue, blockMinValue);
+  @Override public BitSet isScanRequired(MinMaxValues minMaxValues) {
+    BitSet leftFilters = leftExecuter.isScanRequired(minMaxValues);
+    BitSet rightFilters = rightExecuter.isScanRequired(minMaxValues);
     leftFilters.or(rightFilters);
     return leftFilters;
   }
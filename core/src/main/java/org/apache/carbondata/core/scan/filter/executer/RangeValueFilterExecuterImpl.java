@@ -21,6 +21,7 @@ import java.io.IOException;
 import java.util.BitSet;
 
 import org.apache.carbondata.core.constants.CarbonCommonConstants;
+import org.apache.carbondata.core.datastore.MinMaxValues;
 import org.apache.carbondata.core.datastore.block.SegmentProperties;
 import org.apache.carbondata.core.datastore.chunk.DimensionColumnDataChunk;
 import org.apache.carbondata.core.datastore.chunk.impl.DimensionRawColumnChunk;
@@ -280,16 +281,26 @@ public class RangeValueFilterExecuterImpl extends ValueBasedFilterExecuterImpl {
 
   /**
    * Method checks is the scan lies within the range values or not.
-   * @param blockMaxValue
-   * @param blockMinValue
+   * @param minMaxValues
    * @return
    */
-  @Override public BitSet isScanRequired(byte[][] blockMaxValue, byte[][] blockMinValue) {
+  @Override public BitSet isScanRequired(MinMaxValues minMaxValues) {
     BitSet bitSet = new BitSet(1);
     byte[][] filterValues = this.filterRangesValues;
     int columnIndex = this.dimColEvaluatorInfo.getColumnIndex();
-    boolean isScanRequired =
-        isScanRequired(blockMinValue[columnIndex], blockMaxValue[columnIndex], filterValues);
+    boolean isScanRequired;
+    if (isDimensionPresentInCurrentBlock) {
+      // scan is not required if the range is completely out of block boundary, same as the
+      // case A of the scan required check of the min max values of a page
+      int filterMaxToBlockMin = minMaxValues.compareToMin(columnIndex, filterValues[1]);
+      int filterMinToBlockMax = minMaxValues.compareToMax(columnIndex, filterValues[0]);
+      isScanRequired = !((lessThanExp && filterMaxToBlockMin <= 0)
+          || (lessThanEqualExp && filterMaxToBlockMin < 0)
+          || (greaterThanExp && filterMinToBlockMax >= 0)
+          || (greaterThanEqualExp && filterMinToBlockMax > 0));
+    } else {
+      isScanRequired = isDefaultValuePresentInFilter;
+    }
     if (isScanRequired) {
       bitSet.set(0);
     }
@@ -20,6 +20,7 @@ import java.io.IOException;
 import java.util.BitSet;
 import java.util.List;
 
+import org.apache.carbondata.core.datastore.MinMaxValues;
 import org.apache.carbondata.core.datastore.block.SegmentProperties;
 import org.apache.carbondata.core.datastore.chunk.DimensionColumnDataChunk;
 import org.apache.carbondata.core.datastore.chunk.impl.DimensionRawColumnChunk;
@@ -76,10 +77,20 @@ public class RowLevelRangeGrtrThanEquaToFilterExecuterImpl extends RowLevelFilte
     }
   }
 
-  @Override public BitSet isScanRequired(byte[][] blockMaxValue, byte[][] blockMinValue) {
+  @Override public BitSet isScanRequired(MinMaxValues minMaxValues) {
     BitSet bitSet = new BitSet(1);
-    boolean isScanRequired =
-        isScanRequired(blockMaxValue[dimensionBlocksIndex[0]], filterRangeValues);
+    boolean isScanRequired = false;
+    if (isDimensionPresentInCurrentBlock[0]) {
+      // scan is required if the block max is more than or equal to a filter value
+      for (int k = 0; k < filterRangeValues.length; k++) {
+        if (minMaxValues.compareToMax(dimensionBlocksIndex[0], filterRangeValues[k]) <= 0) {
+          isScanRequired = true;
+          break;
+        }
+      }
+    } else {
+      isScanRequired = isDefaultValuePresentInFilter;
+    }
     if (isScanRequired) {
       bitSet.set(0);
     }
@@ -20,6 +20,7 @@ package org.apache.carbondata.core.scan.filter.executer;
 import java.io.IOException;
 import java.util.BitSet;
 
+import org.apache.carbondata.core.datastore.MinMaxValues;
 import org.apache.carbondata.core.scan.expression.exception.FilterUnsupportedException;
 import org.apache.carbondata.core.scan.processor.BlocksChunkHolder;
 import org.apache.carbondata.core.util.BitSetGroup;
@@ -48,11 +49,10 @@ public class TrueFilterExecutor implements FilterExecuter {
    * API will verify whether the block can be shortlisted based on block
    * max and min key.
    *
-   * @param blockMaxValue, maximum value of the
-   * @param blockMinValue
+   * @param minMaxValues min and max values of the columns of the block
    * @return BitSet
    */
-  public BitSet isScanRequired(byte[][] blockMaxValue, byte[][] blockMinValue) {
+  public BitSet isScanRequired(MinMaxValues minMaxValues) {
     BitSet bitSet = new BitSet(1);
     bitSet.flip(0, 1);
     return bitSet;
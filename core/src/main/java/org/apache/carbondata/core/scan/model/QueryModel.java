@@ -97,6 +97,24 @@ public class QueryModel implements Serializable {
 
   private boolean vectorReader;
 
+  /**
+   * maximum number of rows needed from the query, -1 if all the rows are needed
+   */
+  private int limit = -1;
+
+  /**
+   * number of rows needed from the query ordered by the leading dimension of the sort key,
+   * -1 if the query is not ordered by it
+   */
+  private int topN = -1;
+
+  /**
+   * name of the dimension ordering the top n rows
+   */
+  private String topNColumnName;
+
+  private boolean topNDescending;
+
   /**
    * Invalid table blocks, which need to be removed from
    * memory, invalid blocks can be segment which are deleted
@@ -351,6 +369,33 @@ public class QueryModel implements Serializable {
   public void setVectorReader(boolean vectorReader) {
     this.vectorReader = vectorReader;
   }
+
+  public int getLimit() {
+    return limit;
+  }
+
+  public void setLimit(int limit) {
+    this.limit = limit;
+  }
+
+  public int getTopN() {
+    return topN;
+  }
+
+  public String getTopNColumnName() {
+    return topNColumnName;
+  }
+
+  public boolean isTopNDescending() {
+    return topNDescending;
+  }
+
+  public void setTopN(int topN, String topNColumnName, boolean topNDescending) {
+    this.topN = topN;
+    this.topNColumnName = topNColumnName;
+    this.topNDescending = topNDescending;
+  }
+
   public void setInvalidBlockForSegmentId(List<UpdateVO> invalidSegmentTimestampList) {
     for (UpdateVO anUpdateVO : invalidSegmentTimestampList) {
       this.invalidSegmentBlockIdMap.put(anUpdateVO.getSegmentId(), anUpdateVO);
@@ -37,6 +37,7 @@ import org.apache.carbondata.core.scan.result.vector.CarbonColumnarBatch;
 import org.apache.carbondata.core.scan.scanner.BlockletScanner;
 import org.apache.carbondata.core.scan.scanner.impl.FilterScanner;
 import org.apache.carbondata.core.scan.scanner.impl.NonFilterScanner;
+import org.apache.carbondata.core.stats.QueryProfile;
 import org.apache.carbondata.core.stats.QueryStatisticsModel;
 
 /**
@@ -85,6 +86,11 @@ public abstract class AbstractDataBlockIterator extends CarbonIterator<List<Obje
 
   private AtomicBoolean nextRead;
 
+  /**
+   * execution profile of the query, null if the statistics are disabled
+   */
+  protected QueryProfile queryProfile;
+
   public AbstractDataBlockIterator(BlockExecutionInfo blockExecutionInfo, FileHolder fileReader,
       int batchSize, QueryStatisticsModel queryStatisticsModel, ExecutorService executorService) {
     this.blockExecutionInfo = blockExecutionInfo;
@@ -102,6 +108,7 @@ public abstract class AbstractDataBlockIterator extends CarbonIterator<List<Obje
     this.executorService = executorService;
     this.nextBlock = new AtomicBoolean(false);
     this.nextRead = new AtomicBoolean(false);
+    this.queryProfile = queryStatisticsModel.getRecorder().getQueryProfile();
   }
 
   public boolean hasNext() {
@@ -142,7 +149,11 @@ public abstract class AbstractDataBlockIterator extends CarbonIterator<List<Obje
       if (future == null) {
         future = execute();
       }
+      long waitStartTime = null == queryProfile ? 0 : System.nanoTime();
       result = future.get();
+      if (null != queryProfile) {
+        queryProfile.addStageTime(QueryProfile.Stage.IO_WAIT, System.nanoTime() - waitStartTime);
+      }
       nextBlock.set(false);
       if (dataBlockIterator.hasNext() || nextRead.get()) {
         nextBlock.set(true);
@@ -152,6 +163,17 @@ public abstract class AbstractDataBlockIterator extends CarbonIterator<List<Obje
     return result;
   }
 
+  /**
+   * Starts reading and scanning the first blocklet in background, so blocklets of multiple
+   * blocks can be scanned together
+   */
+  public void prefetch() {
+    if (future == null && dataBlockIterator.hasNext()) {
+      nextBlock.set(true);
+      future = execute();
+    }
+  }
+
   private BlocksChunkHolder getBlocksChunkHolder() throws IOException {
     BlocksChunkHolder blocksChunkHolder = getBlocksChunkHolderInternal();
     while (blocksChunkHolder == null && dataBlockIterator.hasNext()) {
@@ -165,6 +187,17 @@ public abstract class AbstractDataBlockIterator extends CarbonIterator<List<Obje
         new BlocksChunkHolder(blockExecutionInfo.getTotalNumberDimensionBlock(),
             blockExecutionInfo.getTotalNumberOfMeasureBlock(), fileReader);
     blocksChunkHolder.setDataBlock(dataBlockIterator.next());
+    TopNPruner topNPruner = blockExecutionInfo.getTopNPruner();
+    if (null != topNPruner && !topNPruner
+        .isScanRequired(blocksChunkHolder.getDataBlock().getColumnsMinMaxValues(),
+            blockExecutionInfo.getTopNColumnIndex())) {
+      if (null != queryProfile) {
+        queryProfile.addBlocklets(1);
+        queryProfile.addBlockletPrunedByMinMax();
+        queryProfile.addPages(blocksChunkHolder.getDataBlock().numberOfPages(), 0);
+      }
+      return null;
+    }
     if (blockletScanner.isScanRequired(blocksChunkHolder)) {
       return blocksChunkHolder;
     }
@@ -185,7 +218,14 @@ public abstract class AbstractDataBlockIterator extends CarbonIterator<List<Obje
             nextRead.set(true);
             futureIo = executeRead();
           }
-          return blockletScanner.scanBlocklet(blocksChunkHolder);
+          AbstractScannedResult result = blockletScanner.scanBlocklet(blocksChunkHolder);
+          TopNPruner topNPruner = blockExecutionInfo.getTopNPruner();
+          // rows removed by the delete delta are not known before the rows are read
+          if (null != topNPruner && null == result.getDeleteDeltaDataCache()) {
+            topNPruner.addScannedBlocklet(blocksChunkHolder.getDataBlock().getColumnsMinMaxValues(),
+                blockExecutionInfo.getTopNColumnIndex(), result.numberOfOutputRows());
+          }
+          return result;
         }
         return null;
       }
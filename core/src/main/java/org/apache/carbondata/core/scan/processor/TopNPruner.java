@@ -0,0 +1,122 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.carbondata.core.scan.processor;
+
+import java.util.Comparator;
+import java.util.PriorityQueue;
+
+import org.apache.carbondata.core.constants.CarbonCommonConstants;
+import org.apache.carbondata.core.datastore.MinMaxValues;
+import org.apache.carbondata.core.util.ByteUtil;
+
+/**
+ * Skips the blocklets which cannot have any of the top n rows of a query ordered by the leading
+ * dimension of the sort key. Values of every scanned blocklet are bounded by its max value, or
+ * by its min value in descending order, so once the scanned blocklets bound n rows, a blocklet
+ * with all its values beyond the n-th bound is not scanned.
+ * It is shared by all the blocks of the task, so the bounds of the scanned blocks prune the
+ * blocklets of the next blocks.
+ */
+public class TopNPruner {
+
+  private int topN;
+
+  private boolean descending;
+
+  /**
+   * value of the null rows if it is not the smallest value, null otherwise. Blocklets which may
+   * have the null rows are neither skipped nor bound the rows as nulls are not ordered by value
+   */
+  private byte[] nullValue;
+
+  /**
+   * bounds of the scanned blocklets, the head is the bound of the n-th row
+   */
+  private PriorityQueue<Bound> bounds;
+
+  /**
+   * number of rows of the blocklets in the bounds
+   */
+  private long boundedRows;
+
+  public TopNPruner(int topN, final boolean descending, boolean isNoDictionary) {
+    this.topN = topN;
+    this.descending = descending;
+    this.nullValue = isNoDictionary ? CarbonCommonConstants.MEMBER_DEFAULT_VAL_ARRAY : null;
+    this.bounds = new PriorityQueue<>(CarbonCommonConstants.DEFAULT_COLLECTION_SIZE,
+        new Comparator<Bound>() {
+          @Override public int compare(Bound bound1, Bound bound2) {
+            // the farthest bound is the head, so it is removed first
+            int compare = ByteUtil.UnsafeComparer.INSTANCE.compareTo(bound1.value, bound2.value);
+            return descending ? compare : -compare;
+          }
+        });
+  }
+
+  /**
+   * @return false if all the values of the blocklet are beyond the values of the top n rows
+   * scanned already
+   */
+  public synchronized boolean isScanRequired(MinMaxValues minMaxValues, int columnIndex) {
+    if (boundedRows < topN || bounds.isEmpty() || mayHaveNull(minMaxValues, columnIndex)) {
+      return true;
+    }
+    byte[] bound = bounds.peek().value;
+    if (descending) {
+      return minMaxValues.compareToMax(columnIndex, bound) <= 0;
+    }
+    return minMaxValues.compareToMin(columnIndex, bound) >= 0;
+  }
+
+  /**
+   * Adds the bound of the scanned blocklet and removes the farthest bounds which are not needed
+   * to bound the top n rows
+   *
+   * @param rows number of rows of the blocklet returned by the scan
+   */
+  public synchronized void addScannedBlocklet(MinMaxValues minMaxValues, int columnIndex,
+      int rows) {
+    if (rows <= 0 || mayHaveNull(minMaxValues, columnIndex)) {
+      return;
+    }
+    byte[] value = descending ?
+        minMaxValues.getMinValue(columnIndex) :
+        minMaxValues.getMaxValue(columnIndex);
+    bounds.add(new Bound(value, rows));
+    boundedRows += rows;
+    while (!bounds.isEmpty() && boundedRows - bounds.peek().rows >= topN) {
+      boundedRows -= bounds.poll().rows;
+    }
+  }
+
+  private boolean mayHaveNull(MinMaxValues minMaxValues, int columnIndex) {
+    return null != nullValue && minMaxValues.compareToMin(columnIndex, nullValue) >= 0
+        && minMaxValues.compareToMax(columnIndex, nullValue) <= 0;
+  }
+
+  private static class Bound {
+
+    private byte[] value;
+
+    private int rows;
+
+    private Bound(byte[] value, int rows) {
+      this.value = value;
+      this.rows = rows;
+    }
+  }
+}
@@ -24,6 +24,7 @@ import org.apache.carbondata.core.datastore.FileHolder;
 import org.apache.carbondata.core.scan.executor.infos.BlockExecutionInfo;
 import org.apache.carbondata.core.scan.processor.AbstractDataBlockIterator;
 import org.apache.carbondata.core.scan.result.vector.CarbonColumnarBatch;
+import org.apache.carbondata.core.stats.QueryProfile;
 import org.apache.carbondata.core.stats.QueryStatisticsModel;
 
 /**
@@ -48,12 +49,20 @@ public class DataBlockIteratorImpl extends AbstractDataBlockIterator {
   public List<Object[]> next() {
     List<Object[]> collectedResult = null;
     if (updateScanner()) {
+      long fillStartTime = null == queryProfile ? 0 : System.nanoTime();
       collectedResult = this.scannerResultAggregator.collectData(scannedResult, batchSize);
+      long fillTime = null == queryProfile ? 0 : System.nanoTime() - fillStartTime;
       while (collectedResult.size() < batchSize && updateScanner()) {
+        fillStartTime = null == queryProfile ? 0 : System.nanoTime();
         List<Object[]> data = this.scannerResultAggregator
             .collectData(scannedResult, batchSize - collectedResult.size());
+        fillTime += null == queryProfile ? 0 : System.nanoTime() - fillStartTime;
         collectedResult.addAll(data);
       }
+      if (null != queryProfile) {
+        queryProfile.addStageTime(QueryProfile.Stage.RESULT_FILL, fillTime);
+        queryProfile.addResultRows(collectedResult.size());
+      }
     } else {
       collectedResult = new ArrayList<>();
     }
@@ -62,7 +71,14 @@ public class DataBlockIteratorImpl extends AbstractDataBlockIterator {
 
   public void processNextBatch(CarbonColumnarBatch columnarBatch) {
     if (updateScanner()) {
+      int rowsBeforeFill = columnarBatch.getActualSize();
+      long fillStartTime = null == queryProfile ? 0 : System.nanoTime();
       this.scannerResultAggregator.collectVectorBatch(scannedResult, columnarBatch);
+      if (null != queryProfile) {
+        queryProfile
+            .addStageTime(QueryProfile.Stage.RESULT_FILL, System.nanoTime() - fillStartTime);
+        queryProfile.addResultRows(columnarBatch.getActualSize() - rowsBeforeFill);
+      }
     }
   }
 
@@ -17,7 +17,10 @@
 package org.apache.carbondata.core.scan.result.iterator;
 
 import java.io.IOException;
+import java.util.IdentityHashMap;
+import java.util.LinkedList;
 import java.util.List;
+import java.util.Map;
 import java.util.concurrent.ExecutorService;
 
 import org.apache.carbondata.common.CarbonIterator;
@@ -79,6 +82,37 @@ public abstract class AbstractDetailQueryResultIterator<E> extends CarbonIterato
    */
   QueryStatisticsModel queryStatisticsModel;
 
+  /**
+   * maximum number of rows to be returned, -1 if all the rows are returned
+   */
+  private int limit;
+
+  /**
+   * number of rows returned till now
+   */
+  private long returnedRows;
+
+  /**
+   * file type of the store
+   */
+  private FileFactory.FileType fileType;
+
+  /**
+   * number of blocks scanned together, blocks are scanned one after the other if it is 1
+   */
+  private int scanParallelism;
+
+  /**
+   * blocks being scanned together other than the current one, result is taken from them in
+   * turn
+   */
+  private LinkedList<AbstractDataBlockIterator> activeDataBlockIterators;
+
+  /**
+   * file reader of each block scanned together, as the blocks are read at the same time
+   */
+  private Map<AbstractDataBlockIterator, FileHolder> activeFileReaders;
+
   public AbstractDetailQueryResultIterator(List<BlockExecutionInfo> infos, QueryModel queryModel,
       ExecutorService execService) {
     String batchSizeString =
@@ -95,13 +129,35 @@ public abstract class AbstractDetailQueryResultIterator<E> extends CarbonIterato
     }
     this.recorder = queryModel.getStatisticsRecorder();
     this.blockExecutionInfos = infos;
-    this.fileReader = FileFactory.getFileHolder(
-        FileFactory.getFileType(queryModel.getAbsoluteTableIdentifier().getStorePath()));
+    this.fileType =
+        FileFactory.getFileType(queryModel.getAbsoluteTableIdentifier().getStorePath());
+    this.fileReader = FileFactory.getFileHolder(fileType);
     this.execService = execService;
+    this.limit = queryModel.getLimit();
+    // raw detail query is used by compaction which needs the rows in block order, and a query
+    // with limit or top n scans one block at a time so blocklets after the limit or beyond the
+    // top n rows are not scanned
+    this.scanParallelism =
+        queryModel.isForcedDetailRawQuery() || limit >= 0 || queryModel.getTopN() >= 0 ?
+            1 :
+            getScanParallelism();
+    this.activeDataBlockIterators = new LinkedList<AbstractDataBlockIterator>();
+    this.activeFileReaders = new IdentityHashMap<AbstractDataBlockIterator, FileHolder>();
     intialiseInfos();
     initQueryStatiticsModel();
   }
 
+  private int getScanParallelism() {
+    try {
+      return Math.max(1, Integer.parseInt(CarbonProperties.getInstance()
+          .getProperty(CarbonCommonConstants.CARBON_QUERY_SCAN_PARALLELISM,
+              CarbonCommonConstants.CARBON_QUERY_SCAN_PARALLELISM_DEFAULT)));
+    } catch (NumberFormatException e) {
+      LOGGER.error("Invalid query scan parallelism. Using default value");
+      return Integer.parseInt(CarbonCommonConstants.CARBON_QUERY_SCAN_PARALLELISM_DEFAULT);
+    }
+  }
+
   private void intialiseInfos() {
     for (BlockExecutionInfo blockInfo : blockExecutionInfos) {
       DataRefNodeFinder finder = new BTreeDataRefNodeFinder(blockInfo.getEachColumnValueSize());
@@ -124,16 +180,37 @@ public abstract class AbstractDetailQueryResultIterator<E> extends CarbonIterato
   }
 
   @Override public boolean hasNext() {
-    if ((dataBlockIterator != null && dataBlockIterator.hasNext())) {
+    if (limit >= 0 && returnedRows >= limit) {
+      return false;
+    } else if ((dataBlockIterator != null && dataBlockIterator.hasNext())) {
       return true;
     } else if (blockExecutionInfos.size() > 0) {
       return true;
     } else {
+      for (AbstractDataBlockIterator iterator : activeDataBlockIterators) {
+        if (iterator.hasNext()) {
+          return true;
+        }
+      }
       return false;
     }
   }
 
+  /**
+   * Below method will be used to count the returned rows, scan is stopped once the rows of
+   * the limit are returned
+   *
+   * @param rows number of rows returned in a batch
+   */
+  protected void addReturnedRows(int rows) {
+    returnedRows += rows;
+  }
+
   protected void updateDataBlockIterator() {
+    if (scanParallelism > 1) {
+      updateParallelDataBlockIterator();
+      return;
+    }
     if (dataBlockIterator == null || !dataBlockIterator.hasNext()) {
       dataBlockIterator = getDataBlockIterator();
       while (dataBlockIterator != null && !dataBlockIterator.hasNext()) {
@@ -142,13 +219,64 @@ public abstract class AbstractDetailQueryResultIterator<E> extends CarbonIterato
     }
   }
 
+  /**
+   * Takes the data block iterators of the blocks scanned together in turn, so next blocklets
+   * of all of them are scanned in background while the result of one of them is filled.
+   * Exhausted blocks are replaced with the next blocks of the split.
+   */
+  private void updateParallelDataBlockIterator() {
+    AbstractDataBlockIterator previousIterator = dataBlockIterator;
+    dataBlockIterator = null;
+    if (null != previousIterator) {
+      if (previousIterator.hasNext()) {
+        activeDataBlockIterators.addLast(previousIterator);
+      } else {
+        finishDataBlockIterator(previousIterator);
+      }
+    }
+    while (null == dataBlockIterator) {
+      while (activeDataBlockIterators.size() < scanParallelism && blockExecutionInfos.size() > 0) {
+        FileHolder blockFileReader = FileFactory.getFileHolder(fileType);
+        AbstractDataBlockIterator iterator = getDataBlockIterator(blockFileReader);
+        activeFileReaders.put(iterator, blockFileReader);
+        iterator.prefetch();
+        activeDataBlockIterators.addLast(iterator);
+      }
+      if (activeDataBlockIterators.isEmpty()) {
+        return;
+      }
+      AbstractDataBlockIterator iterator = activeDataBlockIterators.pollFirst();
+      if (iterator.hasNext()) {
+        dataBlockIterator = iterator;
+      } else {
+        finishDataBlockIterator(iterator);
+      }
+    }
+  }
+
+  private void finishDataBlockIterator(AbstractDataBlockIterator iterator) {
+    iterator.close();
+    FileHolder blockFileReader = activeFileReaders.remove(iterator);
+    if (null != blockFileReader) {
+      try {
+        blockFileReader.finish();
+      } catch (IOException e) {
+        LOGGER.error(e);
+      }
+    }
+  }
+
   private DataBlockIteratorImpl getDataBlockIterator() {
+    return getDataBlockIterator(fileReader);
+  }
+
+  private DataBlockIteratorImpl getDataBlockIterator(FileHolder blockFileReader) {
     if (blockExecutionInfos.size() > 0) {
       BlockExecutionInfo executionInfo = blockExecutionInfos.get(0);
       blockExecutionInfos.remove(executionInfo);
       queryStatisticsModel.setRecorder(recorder);
-      return new DataBlockIteratorImpl(executionInfo, fileReader, batchSize, queryStatisticsModel,
-          execService);
+      return new DataBlockIteratorImpl(executionInfo, blockFileReader, batchSize,
+          queryStatisticsModel, execService);
     }
     return null;
   }
@@ -181,8 +309,16 @@ public abstract class AbstractDetailQueryResultIterator<E> extends CarbonIterato
 
   @Override public void close() {
     if (null != dataBlockIterator) {
-      dataBlockIterator.close();
+      if (activeFileReaders.containsKey(dataBlockIterator)) {
+        finishDataBlockIterator(dataBlockIterator);
+      } else {
+        dataBlockIterator.close();
+      }
+    }
+    for (AbstractDataBlockIterator iterator : activeDataBlockIterators) {
+      finishDataBlockIterator(iterator);
     }
+    activeDataBlockIterators.clear();
     try {
       fileReader.finish();
     } catch (IOException e) {
@@ -47,7 +47,9 @@ public class DetailQueryResultIterator extends AbstractDetailQueryResultIterator
     synchronized (lock) {
       updateDataBlockIterator();
       if (dataBlockIterator != null) {
-        batchResult.setRows(dataBlockIterator.next());
+        List<Object[]> rows = dataBlockIterator.next();
+        addReturnedRows(rows.size());
+        batchResult.setRows(rows);
       }
     }
     return batchResult;
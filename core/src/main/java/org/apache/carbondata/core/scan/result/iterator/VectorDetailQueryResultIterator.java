@@ -43,7 +43,9 @@ public class VectorDetailQueryResultIterator extends AbstractDetailQueryResultIt
     synchronized (lock) {
       updateDataBlockIterator();
       if (dataBlockIterator != null) {
+        int rowsBeforeFill = columnarBatch.getActualSize();
         dataBlockIterator.processNextBatch(columnarBatch);
+        addReturnedRows(columnarBatch.getActualSize() - rowsBeforeFill);
       }
     }
   }
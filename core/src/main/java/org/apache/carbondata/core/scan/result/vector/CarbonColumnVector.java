@@ -37,6 +37,11 @@ public interface CarbonColumnVector {
 
   void putDecimals(int rowId, int count, Decimal value, int precision);
 
+  /**
+   * puts the unscaled value of the decimal whose precision is not more than 18
+   */
+  void putDecimal(int rowId, long unscaledValue, int precision);
+
   void putDouble(int rowId, double value);
 
   void putDoubles(int rowId, int count, double value);
@@ -55,6 +60,21 @@ public interface CarbonColumnVector {
 
   void putObject(int rowId, Object obj);
 
+  /**
+   * puts the array of the row, its elements are filled to the child vector from the returned
+   * offset
+   *
+   * @param length number of elements of the array
+   * @return offset of the first element of the array in the child vector
+   */
+  int putArray(int rowId, int length);
+
+  /**
+   * @return vector of the elements of the array column or of the field at ordinal of the
+   * struct column
+   */
+  CarbonColumnVector getChildVector(int ordinal);
+
   Object getData(int rowId);
 
   void reset();
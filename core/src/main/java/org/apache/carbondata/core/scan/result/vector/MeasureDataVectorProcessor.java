@@ -19,6 +19,7 @@ package org.apache.carbondata.core.scan.result.vector;
 import java.math.BigDecimal;
 import java.util.BitSet;
 
+import org.apache.carbondata.core.constants.CarbonCommonConstants;
 import org.apache.carbondata.core.datastore.chunk.MeasureColumnDataChunk;
 import org.apache.carbondata.core.metadata.datatype.DataType;
 
@@ -219,9 +220,13 @@ public class MeasureDataVectorProcessor {
       int precision = info.measure.getMeasure().getPrecision();
       int newMeasureScale = info.measure.getMeasure().getScale();
       BitSet nullBitSet = dataChunk.getNullValueIndexHolder().getBitSet();
+      boolean isUnscaled = isUnscaledValueOfMeasure(dataChunk, info);
       for (int i = offset; i < len; i++) {
         if (nullBitSet.get(i)) {
           vector.putNull(vectorOffset);
+        } else if (isUnscaled) {
+          vector.putDecimal(vectorOffset,
+              dataChunk.getMeasureDataHolder().getReadableLongValueByIndex(i), precision);
         } else {
           BigDecimal decimal =
               dataChunk.getMeasureDataHolder().getReadableBigDecimalValueByIndex(i);
@@ -244,10 +249,15 @@ public class MeasureDataVectorProcessor {
       CarbonColumnVector vector = info.vector;
       int precision = info.measure.getMeasure().getPrecision();
       BitSet nullBitSet = dataChunk.getNullValueIndexHolder().getBitSet();
+      boolean isUnscaled = isUnscaledValueOfMeasure(dataChunk, info);
       for (int i = offset; i < len; i++) {
         int currentRow = rowMapping[i];
         if (nullBitSet.get(currentRow)) {
           vector.putNull(vectorOffset);
+        } else if (isUnscaled) {
+          vector.putDecimal(vectorOffset,
+              dataChunk.getMeasureDataHolder().getReadableLongValueByIndex(currentRow),
+              precision);
         } else {
           BigDecimal decimal =
               dataChunk.getMeasureDataHolder().getReadableBigDecimalValueByIndex(currentRow);
@@ -260,6 +270,18 @@ public class MeasureDataVectorProcessor {
         vectorOffset++;
       }
     }
+
+    /**
+     * whether the unscaled values of the chunk can be filled to the vector without creating
+     * decimal objects, which needs the stored scale to be same as the scale of the measure
+     */
+    private static boolean isUnscaledValueOfMeasure(MeasureColumnDataChunk dataChunk,
+        ColumnVectorInfo info) {
+      int scale = dataChunk.getMeasureDataHolder().getDecimalScale();
+      return scale >= 0 && scale == info.measure.getMeasure().getScale()
+          && info.measure.getMeasure().getPrecision()
+          <= CarbonCommonConstants.FIXED_POINT_DECIMAL_MAX_PRECISION;
+    }
   }
 
   public static class DefaultMeasureVectorFiller implements MeasureVectorFiller {
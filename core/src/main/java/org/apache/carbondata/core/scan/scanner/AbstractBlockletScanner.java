@@ -30,6 +30,7 @@ import org.apache.carbondata.core.scan.expression.exception.FilterUnsupportedExc
 import org.apache.carbondata.core.scan.processor.BlocksChunkHolder;
 import org.apache.carbondata.core.scan.result.AbstractScannedResult;
 import org.apache.carbondata.core.scan.result.impl.NonFilterQueryScannedResult;
+import org.apache.carbondata.core.stats.QueryProfile;
 import org.apache.carbondata.core.stats.QueryStatistic;
 import org.apache.carbondata.core.stats.QueryStatisticsConstants;
 import org.apache.carbondata.core.stats.QueryStatisticsModel;
@@ -79,6 +80,12 @@ public abstract class AbstractBlockletScanner implements BlockletScanner {
     totalPagesScanned.addCountStatistic(QueryStatisticsConstants.TOTAL_PAGE_SCANNED,
         totalPagesScanned.getCount() + blocksChunkHolder.getDataBlock().numberOfPages());
     queryStatisticsModel.getRecorder().recordStatistics(totalPagesScanned);
+    QueryProfile queryProfile = queryStatisticsModel.getRecorder().getQueryProfile();
+    if (null != queryProfile) {
+      queryProfile.addBlocklets(1);
+      queryProfile.addPages(blocksChunkHolder.getDataBlock().numberOfPages(),
+          blocksChunkHolder.getDataBlock().numberOfPages());
+    }
 
     scannedResult.setBlockletId(
         blockExecutionInfo.getBlockId() + CarbonCommonConstants.FILE_SEPARATOR + blocksChunkHolder
@@ -89,7 +96,12 @@ public abstract class AbstractBlockletScanner implements BlockletScanner {
         new DimensionColumnDataChunk[dimensionRawColumnChunks.length][];
     for (int i = 0; i < dimensionRawColumnChunks.length; i++) {
       if (dimensionRawColumnChunks[i] != null) {
+        long decompressStartTime = null == queryProfile ? 0 : System.nanoTime();
         dimensionColumnDataChunks[i] = dimensionRawColumnChunks[i].convertToDimColDataChunks();
+        if (null != queryProfile) {
+          queryProfile.addColumnDecompress(QueryProfile.getDimensionColumnId(i),
+              dimensionColumnDataChunks[i].length, System.nanoTime() - decompressStartTime);
+        }
       }
     }
     scannedResult.setDimensionChunks(dimensionColumnDataChunks);
@@ -98,7 +110,12 @@ public abstract class AbstractBlockletScanner implements BlockletScanner {
         new MeasureColumnDataChunk[measureRawColumnChunks.length][];
     for (int i = 0; i < measureRawColumnChunks.length; i++) {
       if (measureRawColumnChunks[i] != null) {
+        long decompressStartTime = null == queryProfile ? 0 : System.nanoTime();
         measureColumnDataChunks[i] = measureRawColumnChunks[i].convertToMeasureColDataChunks();
+        if (null != queryProfile) {
+          queryProfile.addColumnDecompress(QueryProfile.getMeasureColumnId(i),
+              measureColumnDataChunks[i].length, System.nanoTime() - decompressStartTime);
+        }
       }
     }
     scannedResult.setMeasureChunks(measureColumnDataChunks);
@@ -138,6 +155,8 @@ public abstract class AbstractBlockletScanner implements BlockletScanner {
 
   @Override public void readBlocklet(BlocksChunkHolder blocksChunkHolder) throws IOException {
     long startTime = System.currentTimeMillis();
+    QueryProfile queryProfile = queryStatisticsModel.getRecorder().getQueryProfile();
+    long readStartTime = null == queryProfile ? 0 : System.nanoTime();
     DimensionRawColumnChunk[] dimensionRawColumnChunks = blocksChunkHolder.getDataBlock()
         .getDimensionChunks(blocksChunkHolder.getFileReader(),
             blockExecutionInfo.getAllSelectedDimensionBlocksIndexes());
@@ -146,6 +165,10 @@ public abstract class AbstractBlockletScanner implements BlockletScanner {
         .getMeasureChunks(blocksChunkHolder.getFileReader(),
             blockExecutionInfo.getAllSelectedMeasureBlocksIndexes());
     blocksChunkHolder.setMeasureRawDataChunk(measureRawColumnChunks);
+    if (null != queryProfile) {
+      queryProfile.addStageTime(QueryProfile.Stage.IO_READ, System.nanoTime() - readStartTime);
+      addBytesRead(queryProfile, dimensionRawColumnChunks, measureRawColumnChunks);
+    }
     // adding statistics for carbon read time
     QueryStatistic readTime = queryStatisticsModel.getStatisticsTypeAndObjMap()
         .get(QueryStatisticsConstants.READ_BLOCKlET_TIME);
@@ -154,6 +177,30 @@ public abstract class AbstractBlockletScanner implements BlockletScanner {
     queryStatisticsModel.getRecorder().recordStatistics(readTime);
   }
 
+  /**
+   * Below method will be used to add the bytes read for each column chunk to profile
+   *
+   * @param queryProfile            profile of the query
+   * @param dimensionRawColumnChunks dimension chunks read
+   * @param measureRawColumnChunks   measure chunks read
+   */
+  protected void addBytesRead(QueryProfile queryProfile,
+      DimensionRawColumnChunk[] dimensionRawColumnChunks,
+      MeasureRawColumnChunk[] measureRawColumnChunks) {
+    for (int i = 0; i < dimensionRawColumnChunks.length; i++) {
+      if (dimensionRawColumnChunks[i] != null) {
+        queryProfile.addColumnBytesRead(QueryProfile.getDimensionColumnId(i),
+            dimensionRawColumnChunks[i].getLength());
+      }
+    }
+    for (int i = 0; i < measureRawColumnChunks.length; i++) {
+      if (measureRawColumnChunks[i] != null) {
+        queryProfile.addColumnBytesRead(QueryProfile.getMeasureColumnId(i),
+            measureRawColumnChunks[i].getLength());
+      }
+    }
+  }
+
   @Override public AbstractScannedResult createEmptyResult() {
     if (emptyResult == null) {
       emptyResult = new NonFilterQueryScannedResult(blockExecutionInfo);
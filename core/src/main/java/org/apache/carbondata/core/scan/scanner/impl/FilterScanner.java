@@ -35,6 +35,7 @@ import org.apache.carbondata.core.scan.processor.BlocksChunkHolder;
 import org.apache.carbondata.core.scan.result.AbstractScannedResult;
 import org.apache.carbondata.core.scan.result.impl.FilterQueryScannedResult;
 import org.apache.carbondata.core.scan.scanner.AbstractBlockletScanner;
+import org.apache.carbondata.core.stats.QueryProfile;
 import org.apache.carbondata.core.stats.QueryStatistic;
 import org.apache.carbondata.core.stats.QueryStatisticsConstants;
 import org.apache.carbondata.core.stats.QueryStatisticsModel;
@@ -101,10 +102,20 @@ public class FilterScanner extends AbstractBlockletScanner {
     queryStatisticsModel.getRecorder().recordStatistics(totalPagesScanned);
     // apply min max
     if (isMinMaxEnabled) {
+      QueryProfile queryProfile = queryStatisticsModel.getRecorder().getQueryProfile();
+      long minMaxStartTime = null == queryProfile ? 0 : System.nanoTime();
       BitSet bitSet = this.filterExecuter
-          .isScanRequired(blocksChunkHolder.getDataBlock().getColumnsMaxValue(),
-              blocksChunkHolder.getDataBlock().getColumnsMinValue());
+          .isScanRequired(blocksChunkHolder.getDataBlock().getColumnsMinMaxValues());
+      if (null != queryProfile) {
+        queryProfile.addStageTime(QueryProfile.Stage.MIN_MAX_PRUNING,
+            System.nanoTime() - minMaxStartTime);
+      }
       if (bitSet.isEmpty()) {
+        if (null != queryProfile) {
+          queryProfile.addBlocklets(1);
+          queryProfile.addBlockletPrunedByMinMax();
+          queryProfile.addPages(blocksChunkHolder.getDataBlock().numberOfPages(), 0);
+        }
         CarbonUtil.freeMemory(blocksChunkHolder.getDimensionRawDataChunk(),
             blocksChunkHolder.getMeasureRawDataChunk());
         return false;
@@ -115,7 +126,14 @@ public class FilterScanner extends AbstractBlockletScanner {
 
   @Override public void readBlocklet(BlocksChunkHolder blocksChunkHolder) throws IOException {
     long startTime = System.currentTimeMillis();
+    QueryProfile queryProfile = queryStatisticsModel.getRecorder().getQueryProfile();
+    long readStartTime = null == queryProfile ? 0 : System.nanoTime();
     this.filterExecuter.readBlocks(blocksChunkHolder);
+    if (null != queryProfile) {
+      queryProfile.addStageTime(QueryProfile.Stage.IO_READ, System.nanoTime() - readStartTime);
+      addBytesRead(queryProfile, blocksChunkHolder.getDimensionRawDataChunk(),
+          blocksChunkHolder.getMeasureRawDataChunk());
+    }
     // adding statistics for carbon read time
     QueryStatistic readTime = queryStatisticsModel.getStatisticsTypeAndObjMap()
         .get(QueryStatisticsConstants.READ_BLOCKlET_TIME);
@@ -143,10 +161,20 @@ public class FilterScanner extends AbstractBlockletScanner {
   private AbstractScannedResult fillScannedResult(BlocksChunkHolder blocksChunkHolder)
       throws FilterUnsupportedException, IOException {
     long startTime = System.currentTimeMillis();
+    QueryProfile queryProfile = queryStatisticsModel.getRecorder().getQueryProfile();
+    long filterStartTime = null == queryProfile ? 0 : System.nanoTime();
     // apply filter on actual data
     BitSetGroup bitSetGroup = this.filterExecuter.applyFilter(blocksChunkHolder);
+    if (null != queryProfile) {
+      queryProfile.addStageTime(QueryProfile.Stage.FILTER, System.nanoTime() - filterStartTime);
+      queryProfile.addBlocklets(1);
+    }
     // if indexes is empty then return with empty result
     if (bitSetGroup.isEmpty()) {
+      if (null != queryProfile) {
+        queryProfile.addBlockletPrunedByFilter();
+        queryProfile.addPages(blocksChunkHolder.getDataBlock().numberOfPages(), 0);
+      }
       CarbonUtil.freeMemory(blocksChunkHolder.getDimensionRawDataChunk(),
           blocksChunkHolder.getMeasureRawDataChunk());
       return createEmptyResult();
@@ -169,6 +197,10 @@ public class FilterScanner extends AbstractBlockletScanner {
     validPages.addCountStatistic(QueryStatisticsConstants.VALID_PAGE_SCANNED,
         validPages.getCount() + bitSetGroup.getValidPages());
     queryStatisticsModel.getRecorder().recordStatistics(validPages);
+    if (null != queryProfile) {
+      queryProfile.addPages(blocksChunkHolder.getDataBlock().numberOfPages(),
+          bitSetGroup.getValidPages());
+    }
     QueryStatistic totalBlockletStatistic = queryStatisticsModel.getStatisticsTypeAndObjMap()
         .get(QueryStatisticsConstants.TOTAL_BLOCKLET_NUM);
     totalBlockletStatistic.addCountStatistic(QueryStatisticsConstants.TOTAL_BLOCKLET_NUM,
@@ -199,6 +231,7 @@ public class FilterScanner extends AbstractBlockletScanner {
     FileHolder fileReader = blocksChunkHolder.getFileReader();
     int[][] allSelectedDimensionBlocksIndexes =
         blockExecutionInfo.getAllSelectedDimensionBlocksIndexes();
+    long readStartTime = null == queryProfile ? 0 : System.nanoTime();
     DimensionRawColumnChunk[] projectionListDimensionChunk = blocksChunkHolder.getDataBlock()
         .getDimensionChunks(fileReader, allSelectedDimensionBlocksIndexes);
 
@@ -228,6 +261,11 @@ public class FilterScanner extends AbstractBlockletScanner {
         dimensionRawColumnChunks[projectionListDimensionIndexes[i]] =
             blocksChunkHolder.getDataBlock()
                 .getDimensionChunk(fileReader, projectionListDimensionIndexes[i]);
+        if (null != queryProfile) {
+          queryProfile.addColumnBytesRead(
+              QueryProfile.getDimensionColumnId(projectionListDimensionIndexes[i]),
+              dimensionRawColumnChunks[projectionListDimensionIndexes[i]].getLength());
+        }
       }
     }
     MeasureRawColumnChunk[] measureRawColumnChunks =
@@ -258,24 +296,43 @@ public class FilterScanner extends AbstractBlockletScanner {
       if (null == measureRawColumnChunks[projectionListMeasureIndexes[i]]) {
         measureRawColumnChunks[projectionListMeasureIndexes[i]] = blocksChunkHolder.getDataBlock()
             .getMeasureChunk(fileReader, projectionListMeasureIndexes[i]);
+        if (null != queryProfile) {
+          queryProfile.addColumnBytesRead(
+              QueryProfile.getMeasureColumnId(projectionListMeasureIndexes[i]),
+              measureRawColumnChunks[projectionListMeasureIndexes[i]].getLength());
+        }
       }
     }
+    if (null != queryProfile) {
+      addBytesRead(queryProfile, projectionListDimensionChunk, projectionListMeasureChunk);
+      queryProfile.addStageTime(QueryProfile.Stage.IO_READ, System.nanoTime() - readStartTime);
+    }
     DimensionColumnDataChunk[][] dimensionColumnDataChunks =
         new DimensionColumnDataChunk[dimensionRawColumnChunks.length][indexesGroup.length];
     MeasureColumnDataChunk[][] measureColumnDataChunks =
         new MeasureColumnDataChunk[measureRawColumnChunks.length][indexesGroup.length];
     for (int i = 0; i < dimensionRawColumnChunks.length; i++) {
-      for (int j = 0; j < indexesGroup.length; j++) {
-        if (dimensionRawColumnChunks[i] != null) {
+      if (dimensionRawColumnChunks[i] != null) {
+        long decompressStartTime = null == queryProfile ? 0 : System.nanoTime();
+        for (int j = 0; j < indexesGroup.length; j++) {
           dimensionColumnDataChunks[i][j] = dimensionRawColumnChunks[i].convertToDimColDataChunk(j);
         }
+        if (null != queryProfile) {
+          queryProfile.addColumnDecompress(QueryProfile.getDimensionColumnId(i),
+              indexesGroup.length, System.nanoTime() - decompressStartTime);
+        }
       }
     }
     for (int i = 0; i < measureRawColumnChunks.length; i++) {
-      for (int j = 0; j < indexesGroup.length; j++) {
-        if (measureRawColumnChunks[i] != null) {
+      if (measureRawColumnChunks[i] != null) {
+        long decompressStartTime = null == queryProfile ? 0 : System.nanoTime();
+        for (int j = 0; j < indexesGroup.length; j++) {
           measureColumnDataChunks[i][j] = measureRawColumnChunks[i].convertToMeasureColDataChunk(j);
         }
+        if (null != queryProfile) {
+          queryProfile.addColumnDecompress(QueryProfile.getMeasureColumnId(i),
+              indexesGroup.length, System.nanoTime() - decompressStartTime);
+        }
       }
     }
     scannedResult.setDimensionChunks(dimensionColumnDataChunks);
@@ -60,4 +60,16 @@ public class DriverQueryStatisticsRecorderDummy implements QueryStatisticsRecord
 
   }
 
+  public QueryProfile getQueryProfile() {
+    return null;
+  }
+
+  public void recordQueryProfileForDriver(QueryProfile profile, String queryId) {
+
+  }
+
+  public QueryProfile getQueryProfileForDriver(String queryId) {
+    return null;
+  }
+
 }
@@ -42,6 +42,11 @@ public class DriverQueryStatisticsRecorderImpl implements QueryStatisticsRecorde
    */
   private Map<String, List<QueryStatistic>> queryStatisticsMap;
 
+  /**
+   * query id to aggregated execution profile mapping
+   */
+  private Map<String, QueryProfile> queryProfileMap;
+
   /**
    * lock for log statistics table
    */
@@ -50,6 +55,7 @@ public class DriverQueryStatisticsRecorderImpl implements QueryStatisticsRecorde
   private DriverQueryStatisticsRecorderImpl() {
     // use ConcurrentHashMap, it is thread-safe
     queryStatisticsMap = new ConcurrentHashMap<String, List<QueryStatistic>>();
+    queryProfileMap = new ConcurrentHashMap<String, QueryProfile>();
   }
 
   private static DriverQueryStatisticsRecorderImpl carbonLoadStatisticsImplInstance =
@@ -89,11 +95,54 @@ public class DriverQueryStatisticsRecorderImpl implements QueryStatisticsRecorde
     }
   }
 
+  public QueryProfile getQueryProfile() {
+    return null;
+  }
+
+  /**
+   * Below method will be used to add the execution profile of the query. First profile
+   * of the query is kept as it is, so a profile which is filled later (for example
+   * the value of an accumulator) remains visible, others are merged to it
+   *
+   * @param profile task or query profile
+   * @param queryId query id
+   */
+  public void recordQueryProfileForDriver(QueryProfile profile, String queryId) {
+    if (StringUtils.isEmpty(queryId) || null == profile) {
+      return;
+    }
+    synchronized (lock) {
+      QueryProfile queryProfile = queryProfileMap.get(queryId);
+      if (null == queryProfile) {
+        queryProfileMap.put(queryId, profile);
+      } else {
+        queryProfile.merge(profile);
+      }
+    }
+  }
+
+  public QueryProfile getQueryProfileForDriver(String queryId) {
+    if (StringUtils.isEmpty(queryId)) {
+      return null;
+    }
+    return queryProfileMap.get(queryId);
+  }
+
   /**
    * Below method will be used to show statistic log as table
    */
   public void logStatisticsAsTableDriver() {
     synchronized (lock) {
+      // clear the timeout query profiles
+      Iterator<Map.Entry<String, QueryProfile>> profiles = queryProfileMap.entrySet().iterator();
+      while (profiles.hasNext()) {
+        String queryId = profiles.next().getKey();
+        if (StringUtils.isEmpty(queryId) || !StringUtils.isNumeric(queryId)
+            || System.nanoTime() - Long.parseLong(queryId)
+            > QueryStatisticsConstants.CLEAR_PROFILE_TIMEOUT) {
+          profiles.remove();
+        }
+      }
       Iterator<Map.Entry<String, List<QueryStatistic>>> entries =
               queryStatisticsMap.entrySet().iterator();
       while (entries.hasNext()) {
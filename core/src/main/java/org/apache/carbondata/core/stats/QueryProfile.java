@@ -0,0 +1,353 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.carbondata.core.stats;
+
+import java.io.Serializable;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Structured execution profile of a query. Each task fills its own profile while
+ * scanning and the task profiles are merged into one profile per query in driver.
+ * All timers are in nano seconds.
+ */
+public class QueryProfile implements Serializable {
+
+  /**
+   * serialization version
+   */
+  private static final long serialVersionUID = 2634887327367451127L;
+
+  /**
+   * Stages of the scan for which time is recorded
+   */
+  public enum Stage {
+    /**
+     * loading the block index in executor
+     */
+    BLOCK_LOAD,
+    /**
+     * loading the dictionary of the queried columns
+     */
+    DICTIONARY_LOAD,
+    /**
+     * applying the blocklet min max on the filter tree
+     */
+    MIN_MAX_PRUNING,
+    /**
+     * reading the column chunks from file
+     */
+    IO_READ,
+    /**
+     * time the scan thread waited for the prefetched blocklet
+     */
+    IO_WAIT,
+    /**
+     * converting the raw column chunks to pages
+     */
+    DECOMPRESS,
+    /**
+     * applying the filter on the page data
+     */
+    FILTER,
+    /**
+     * filling the rows or column vectors from the scanned result
+     */
+    RESULT_FILL,
+    /**
+     * converting the dictionary surrogates to actual values
+     */
+    DICTIONARY_DECODE
+  }
+
+  /**
+   * index of bytes read in column statistics
+   */
+  private static final int BYTES_READ = 0;
+
+  /**
+   * index of number of pages decompressed in column statistics
+   */
+  private static final int PAGES_DECOMPRESSED = 1;
+
+  /**
+   * index of decompress time in column statistics
+   */
+  private static final int DECOMPRESS_TIME = 2;
+
+  private long[] stageTime;
+
+  private long totalBlocks;
+
+  private long scannedBlocks;
+
+  private long totalBlocklets;
+
+  private long blockletsPrunedByMinMax;
+
+  private long blockletsPrunedByFilter;
+
+  private long totalPages;
+
+  private long validPages;
+
+  private long resultRows;
+
+  /**
+   * column to statistics mapping, column is identified by its block index
+   */
+  private Map<String, long[]> columnStatistics;
+
+  public QueryProfile() {
+    this.stageTime = new long[Stage.values().length];
+    this.columnStatistics = new TreeMap<String, long[]>();
+  }
+
+  /**
+   * Below method will be used to add the time taken by a stage
+   *
+   * @param stage     stage of the scan
+   * @param timeTaken time taken in nano seconds
+   */
+  public synchronized void addStageTime(Stage stage, long timeTaken) {
+    stageTime[stage.ordinal()] += timeTaken;
+  }
+
+  public synchronized void addBlocks(long total, long scanned) {
+    totalBlocks += total;
+    scannedBlocks += scanned;
+  }
+
+  public synchronized void addBlocklets(long total) {
+    totalBlocklets += total;
+  }
+
+  public synchronized void addBlockletPrunedByMinMax() {
+    blockletsPrunedByMinMax++;
+  }
+
+  public synchronized void addBlockletPrunedByFilter() {
+    blockletsPrunedByFilter++;
+  }
+
+  public synchronized void addPages(long total, long valid) {
+    totalPages += total;
+    validPages += valid;
+  }
+
+  public synchronized void addResultRows(long rows) {
+    resultRows += rows;
+  }
+
+  /**
+   * Below method will be used to add the bytes read for a column chunk
+   *
+   * @param column column identifier
+   * @param bytes  number of bytes read from file
+   */
+  public synchronized void addColumnBytesRead(String column, long bytes) {
+    getColumnStatistics(column)[BYTES_READ] += bytes;
+  }
+
+  /**
+   * Below method will be used to add the decompress details of a column chunk
+   *
+   * @param column    column identifier
+   * @param pages     number of pages decompressed
+   * @param timeTaken time taken in nano seconds
+   */
+  public synchronized void addColumnDecompress(String column, long pages, long timeTaken) {
+    long[] statistics = getColumnStatistics(column);
+    statistics[PAGES_DECOMPRESSED] += pages;
+    statistics[DECOMPRESS_TIME] += timeTaken;
+    stageTime[Stage.DECOMPRESS.ordinal()] += timeTaken;
+  }
+
+  private long[] getColumnStatistics(String column) {
+    long[] statistics = columnStatistics.get(column);
+    if (null == statistics) {
+      statistics = new long[3];
+      columnStatistics.put(column, statistics);
+    }
+    return statistics;
+  }
+
+  /**
+   * Below method will be used to merge the other profile to this profile,
+   * it is used to aggregate the task profiles of a query
+   *
+   * @param other profile to merge
+   * @return this profile
+   */
+  public QueryProfile merge(QueryProfile other) {
+    if (null == other || other == this) {
+      return this;
+    }
+    // take snapshot of other profile first to avoid locking both the objects together
+    QueryProfile snapshot = other.copy();
+    synchronized (this) {
+      for (int i = 0; i < stageTime.length; i++) {
+        stageTime[i] += snapshot.stageTime[i];
+      }
+      totalBlocks += snapshot.totalBlocks;
+      scannedBlocks += snapshot.scannedBlocks;
+      totalBlocklets += snapshot.totalBlocklets;
+      blockletsPrunedByMinMax += snapshot.blockletsPrunedByMinMax;
+      blockletsPrunedByFilter += snapshot.blockletsPrunedByFilter;
+      totalPages += snapshot.totalPages;
+      validPages += snapshot.validPages;
+      resultRows += snapshot.resultRows;
+      for (Map.Entry<String, long[]> entry : snapshot.columnStatistics.entrySet()) {
+        long[] statistics = getColumnStatistics(entry.getKey());
+        for (int i = 0; i < statistics.length; i++) {
+          statistics[i] += entry.getValue()[i];
+        }
+      }
+    }
+    return this;
+  }
+
+  /**
+   * @return copy of this profile
+   */
+  public synchronized QueryProfile copy() {
+    QueryProfile copy = new QueryProfile();
+    System.arraycopy(stageTime, 0, copy.stageTime, 0, stageTime.length);
+    copy.totalBlocks = totalBlocks;
+    copy.scannedBlocks = scannedBlocks;
+    copy.totalBlocklets = totalBlocklets;
+    copy.blockletsPrunedByMinMax = blockletsPrunedByMinMax;
+    copy.blockletsPrunedByFilter = blockletsPrunedByFilter;
+    copy.totalPages = totalPages;
+    copy.validPages = validPages;
+    copy.resultRows = resultRows;
+    for (Map.Entry<String, long[]> entry : columnStatistics.entrySet()) {
+      copy.columnStatistics.put(entry.getKey(), entry.getValue().clone());
+    }
+    return copy;
+  }
+
+  public synchronized long getStageTime(Stage stage) {
+    return stageTime[stage.ordinal()];
+  }
+
+  public synchronized long getTotalBlocks() {
+    return totalBlocks;
+  }
+
+  public synchronized long getScannedBlocks() {
+    return scannedBlocks;
+  }
+
+  public synchronized long getTotalBlocklets() {
+    return totalBlocklets;
+  }
+
+  public synchronized long getBlockletsPrunedByMinMax() {
+    return blockletsPrunedByMinMax;
+  }
+
+  public synchronized long getBlockletsPrunedByFilter() {
+    return blockletsPrunedByFilter;
+  }
+
+  public synchronized long getTotalPages() {
+    return totalPages;
+  }
+
+  public synchronized long getValidPages() {
+    return validPages;
+  }
+
+  public synchronized long getResultRows() {
+    return resultRows;
+  }
+
+  public synchronized long getColumnBytesRead(String column) {
+    long[] statistics = columnStatistics.get(column);
+    return null == statistics ? 0 : statistics[BYTES_READ];
+  }
+
+  public synchronized long getColumnPagesDecompressed(String column) {
+    long[] statistics = columnStatistics.get(column);
+    return null == statistics ? 0 : statistics[PAGES_DECOMPRESSED];
+  }
+
+  public synchronized long getColumnDecompressTime(String column) {
+    long[] statistics = columnStatistics.get(column);
+    return null == statistics ? 0 : statistics[DECOMPRESS_TIME];
+  }
+
+  /**
+   * @return total bytes read of all the columns
+   */
+  public synchronized long getTotalBytesRead() {
+    long bytesRead = 0;
+    for (long[] statistics : columnStatistics.values()) {
+      bytesRead += statistics[BYTES_READ];
+    }
+    return bytesRead;
+  }
+
+  /**
+   * @return identifiers of all the columns which are read
+   */
+  public synchronized String[] getColumns() {
+    return columnStatistics.keySet().toArray(new String[columnStatistics.size()]);
+  }
+
+  /**
+   * Below method will be used to get the dimension column identifier used in profile
+   *
+   * @param blockIndex block index of the dimension
+   * @return column identifier
+   */
+  public static String getDimensionColumnId(int blockIndex) {
+    return "dimension_" + blockIndex;
+  }
+
+  /**
+   * Below method will be used to get the measure column identifier used in profile
+   *
+   * @param blockIndex block index of the measure
+   * @return column identifier
+   */
+  public static String getMeasureColumnId(int blockIndex) {
+    return "measure_" + blockIndex;
+  }
+
+  @Override public synchronized String toString() {
+    StringBuilder builder = new StringBuilder();
+    builder.append("blocks: ").append(scannedBlocks).append('/').append(totalBlocks)
+        .append(", blocklets: ").append(totalBlocklets)
+        .append(" (min max pruned: ").append(blockletsPrunedByMinMax)
+        .append(", filter pruned: ").append(blockletsPrunedByFilter).append(')')
+        .append(", pages: ").append(validPages).append('/').append(totalPages)
+        .append(", rows: ").append(resultRows);
+    for (Stage stage : Stage.values()) {
+      builder.append(", ").append(stage.name().toLowerCase()).append(": ")
+          .append(stageTime[stage.ordinal()]).append("ns");
+    }
+    for (Map.Entry<String, long[]> entry : columnStatistics.entrySet()) {
+      builder.append(", ").append(entry.getKey()).append(": [bytes read: ")
+          .append(entry.getValue()[BYTES_READ]).append(", pages decompressed: ")
+          .append(entry.getValue()[PAGES_DECOMPRESSED]).append(", decompress time: ")
+          .append(entry.getValue()[DECOMPRESS_TIME]).append("ns]");
+    }
+    return builder.toString();
+  }
+}
@@ -58,6 +58,9 @@ public interface QueryStatisticsConstants {
   // clear no-use statistics timeout
   long CLEAR_STATISTICS_TIMEOUT = 60 * 1000 * 1000000L;
 
+  // clear no-use query profile timeout, profile is kept longer to be read after query completes
+  long CLEAR_PROFILE_TIMEOUT = 10 * CLEAR_STATISTICS_TIMEOUT;
+
 }
 
 
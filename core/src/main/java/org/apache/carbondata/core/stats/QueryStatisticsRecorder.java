@@ -31,4 +31,23 @@ public interface QueryStatisticsRecorder {
 
   void logStatisticsAsTableDriver();
 
+  /**
+   * @return execution profile recorded by this recorder, null if the statistics are disabled
+   */
+  QueryProfile getQueryProfile();
+
+  /**
+   * Below method will be used to merge the task profile to the query profile in driver
+   *
+   * @param profile task or query profile
+   * @param queryId query id
+   */
+  void recordQueryProfileForDriver(QueryProfile profile, String queryId);
+
+  /**
+   * @param queryId query id
+   * @return aggregated execution profile of the query, null if not present
+   */
+  QueryProfile getQueryProfileForDriver(String queryId);
+
 }
@@ -28,10 +28,6 @@ public class QueryStatisticsRecorderDummy implements QueryStatisticsRecorder,Ser
    */
   private static final long serialVersionUID = -5719752001674467864L;
 
-  public QueryStatisticsRecorderDummy() {
-
-  }
-
   /**
    * Below method will be used to add the statistics
    *
@@ -63,4 +59,20 @@ public class QueryStatisticsRecorderDummy implements QueryStatisticsRecorder,Ser
 
   }
 
+  /**
+   * @return null as the profile is not recorded when the statistics are disabled, so the
+   * scanners do not measure the time of the query stages
+   */
+  public QueryProfile getQueryProfile() {
+    return null;
+  }
+
+  public void recordQueryProfileForDriver(QueryProfile profile, String queryId) {
+
+  }
+
+  public QueryProfile getQueryProfileForDriver(String queryId) {
+    return null;
+  }
+
 }
@@ -50,9 +50,15 @@ public class QueryStatisticsRecorderImpl implements QueryStatisticsRecorder, Ser
    */
   private String queryIWthTask;
 
+  /**
+   * execution profile of the task
+   */
+  private QueryProfile queryProfile;
+
   public QueryStatisticsRecorderImpl(String queryId) {
     queryStatistics = new ArrayList<QueryStatistic>();
     this.queryIWthTask = queryId;
+    this.queryProfile = new QueryProfile();
   }
 
   /**
@@ -81,6 +87,7 @@ public class QueryStatisticsRecorderImpl implements QueryStatisticsRecorder, Ser
     if (null != tableInfo) {
       LOGGER.statistic(tableInfo);
     }
+    LOGGER.statistic("Query profile for the taskid : " + queryIWthTask + " Is : " + queryProfile);
   }
 
   /**
@@ -186,4 +193,16 @@ public class QueryStatisticsRecorderImpl implements QueryStatisticsRecorder, Ser
 
   }
 
+  public QueryProfile getQueryProfile() {
+    return queryProfile;
+  }
+
+  public void recordQueryProfileForDriver(QueryProfile profile, String queryId) {
+
+  }
+
+  public QueryProfile getQueryProfileForDriver(String queryId) {
+    return null;
+  }
+
 }
@@ -0,0 +1,88 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.carbondata.core.stats;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.apache.carbondata.core.metadata.AbsoluteTableIdentifier;
+
+/**
+ * Number of queries which scanned each segment of a table, recorded in driver while
+ * pruning the blocks of the query. It is used by compaction to prefer merging the
+ * segments which are read frequently. Counts are kept only in memory of the driver.
+ */
+public final class SegmentAccessStatistics {
+
+  private static final SegmentAccessStatistics INSTANCE = new SegmentAccessStatistics();
+
+  /**
+   * table unique name to segment id to access count
+   */
+  private Map<String, Map<String, AtomicLong>> accessCounts = new ConcurrentHashMap<>();
+
+  private SegmentAccessStatistics() {
+
+  }
+
+  public static SegmentAccessStatistics getInstance() {
+    return INSTANCE;
+  }
+
+  /**
+   * record one access of the segment by a query
+   */
+  public void recordAccess(AbsoluteTableIdentifier identifier, String segmentId) {
+    String tableName = identifier.getCarbonTableIdentifier().getTableUniqueName();
+    Map<String, AtomicLong> segmentCounts = accessCounts.get(tableName);
+    if (null == segmentCounts) {
+      accessCounts.putIfAbsent(tableName, new ConcurrentHashMap<String, AtomicLong>());
+      segmentCounts = accessCounts.get(tableName);
+    }
+    AtomicLong count = segmentCounts.get(segmentId);
+    if (null == count) {
+      segmentCounts.putIfAbsent(segmentId, new AtomicLong());
+      count = segmentCounts.get(segmentId);
+    }
+    count.incrementAndGet();
+  }
+
+  /**
+   * @return number of accesses of the segment since the driver is started
+   */
+  public long getAccessCount(AbsoluteTableIdentifier identifier, String segmentId) {
+    Map<String, AtomicLong> segmentCounts =
+        accessCounts.get(identifier.getCarbonTableIdentifier().getTableUniqueName());
+    if (null == segmentCounts) {
+      return 0;
+    }
+    AtomicLong count = segmentCounts.get(segmentId);
+    return null == count ? 0 : count.get();
+  }
+
+  /**
+   * remove the counts of the segments which are merged or deleted
+   */
+  public void removeSegment(AbsoluteTableIdentifier identifier, String segmentId) {
+    Map<String, AtomicLong> segmentCounts =
+        accessCounts.get(identifier.getCarbonTableIdentifier().getTableUniqueName());
+    if (null != segmentCounts) {
+      segmentCounts.remove(segmentId);
+    }
+  }
+}
@@ -25,6 +25,7 @@ import java.util.Date;
 import org.apache.carbondata.common.logging.LogService;
 import org.apache.carbondata.common.logging.LogServiceFactory;
 import org.apache.carbondata.core.constants.CarbonCommonConstants;
+import org.apache.carbondata.core.metadata.SortScope;
 
 public class LoadMetadataDetails implements Serializable {
 
@@ -70,6 +71,12 @@ public class LoadMetadataDetails implements Serializable {
    */
   private String majorCompacted;
 
+  /**
+   * sort scope used while loading the segment, null for the segments loaded before the
+   * sort scope is recorded
+   */
+  private String sortScope;
+
   public String getPartitionCount() {
     return partitionCount;
   }
@@ -268,6 +275,18 @@ public class LoadMetadataDetails implements Serializable {
     this.majorCompacted = majorCompacted;
   }
 
+  /**
+   * @return sort scope of the segment, LOCAL_SORT for the segments loaded before the sort
+   * scope is recorded
+   */
+  public SortScope getSortScope() {
+    return SortScope.getSortScope(sortScope);
+  }
+
+  public void setSortScope(SortScope sortScope) {
+    this.sortScope = sortScope.name();
+  }
+
   /**
    * To get isDeleted property.
    *
@@ -339,4 +358,26 @@ public class LoadMetadataDetails implements Serializable {
   public void setUpdateStatusFileName(String updateStatusFileName) {
     this.updateStatusFileName = updateStatusFileName;
   }
+
+  /**
+   * @return copy of the details, used to give cached details to the callers who modify them
+   */
+  LoadMetadataDetails copy() {
+    LoadMetadataDetails copy = new LoadMetadataDetails();
+    copy.timestamp = timestamp;
+    copy.loadStatus = loadStatus;
+    copy.loadName = loadName;
+    copy.partitionCount = partitionCount;
+    copy.isDeleted = isDeleted;
+    copy.updateDeltaEndTimestamp = updateDeltaEndTimestamp;
+    copy.updateDeltaStartTimestamp = updateDeltaStartTimestamp;
+    copy.updateStatusFileName = updateStatusFileName;
+    copy.modificationOrdeletionTimesStamp = modificationOrdeletionTimesStamp;
+    copy.loadStartTime = loadStartTime;
+    copy.mergedLoadName = mergedLoadName;
+    copy.visibility = visibility;
+    copy.majorCompacted = majorCompacted;
+    copy.sortScope = sortScope;
+    return copy;
+  }
 }
@@ -17,39 +17,28 @@
 
 package org.apache.carbondata.core.statusmanager;
 
-import java.io.BufferedReader;
-import java.io.BufferedWriter;
-import java.io.Closeable;
-import java.io.DataInputStream;
-import java.io.DataOutputStream;
 import java.io.IOException;
-import java.io.InputStreamReader;
-import java.io.OutputStreamWriter;
-import java.nio.charset.Charset;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 import org.apache.carbondata.common.logging.LogService;
 import org.apache.carbondata.common.logging.LogServiceFactory;
 import org.apache.carbondata.core.constants.CarbonCommonConstants;
 import org.apache.carbondata.core.datastore.impl.FileFactory;
-import org.apache.carbondata.core.fileoperations.AtomicFileOperations;
-import org.apache.carbondata.core.fileoperations.AtomicFileOperationsImpl;
-import org.apache.carbondata.core.fileoperations.FileWriteOperation;
 import org.apache.carbondata.core.locks.CarbonLockFactory;
 import org.apache.carbondata.core.locks.CarbonLockUtil;
 import org.apache.carbondata.core.locks.ICarbonLock;
 import org.apache.carbondata.core.locks.LockUsage;
 import org.apache.carbondata.core.metadata.AbsoluteTableIdentifier;
 import org.apache.carbondata.core.metadata.CarbonTableIdentifier;
+import org.apache.carbondata.core.metadata.SortScope;
 import org.apache.carbondata.core.mutate.CarbonUpdateUtil;
-import org.apache.carbondata.core.util.CarbonUtil;
 import org.apache.carbondata.core.util.path.CarbonStorePath;
 import org.apache.carbondata.core.util.path.CarbonTablePath;
 
-import com.google.gson.Gson;
-
 /**
  * Manages Load/Segment status
  */
@@ -82,12 +71,7 @@ public class SegmentStatusManager {
     String tableStatusPath = CarbonStorePath
         .getCarbonTablePath(identifier.getStorePath(), identifier.getCarbonTableIdentifier())
         .getTableStatusFilePath();
-    if (!FileFactory.isFileExist(tableStatusPath, FileFactory.getFileType(tableStatusPath))) {
-      return 0L;
-    } else {
-      return FileFactory.getCarbonFile(tableStatusPath, FileFactory.getFileType(tableStatusPath))
-          .getLastModifiedTime();
-    }
+    return TableStatusLog.getLastModifiedTime(tableStatusPath);
   }
 
   /**
@@ -102,73 +86,66 @@ public class SegmentStatusManager {
     List<String> listOfValidSegments = new ArrayList<String>(10);
     List<String> listOfValidUpdatedSegments = new ArrayList<String>(10);
     List<String> listOfInvalidSegments = new ArrayList<String>(10);
+    List<String> listOfStreamSegments = new ArrayList<String>(10);
+    Map<String, SortScope> sortScopeOfSegments = new HashMap<String, SortScope>(10);
     CarbonTablePath carbonTablePath = CarbonStorePath
             .getCarbonTablePath(absoluteTableIdentifier.getStorePath(),
                     absoluteTableIdentifier.getCarbonTableIdentifier());
     String dataPath = carbonTablePath.getTableStatusFilePath();
-    DataInputStream dataInputStream = null;
-    Gson gsonObjectToRead = new Gson();
-    AtomicFileOperations fileOperation =
-            new AtomicFileOperationsImpl(dataPath, FileFactory.getFileType(dataPath));
-    LoadMetadataDetails[] loadFolderDetailsArray;
+    List<LoadMetadataDetails> loadFolderDetailsArray;
     try {
-      if (FileFactory.isFileExist(dataPath, FileFactory.getFileType(dataPath))) {
-        dataInputStream = fileOperation.openForRead();
-        BufferedReader buffReader =
-                new BufferedReader(new InputStreamReader(dataInputStream, "UTF-8"));
-        loadFolderDetailsArray = gsonObjectToRead.fromJson(buffReader, LoadMetadataDetails[].class);
-        //just directly iterate Array
-        for (LoadMetadataDetails loadMetadataDetails : loadFolderDetailsArray) {
-          if (CarbonCommonConstants.STORE_LOADSTATUS_SUCCESS
-                  .equalsIgnoreCase(loadMetadataDetails.getLoadStatus())
-                  || CarbonCommonConstants.MARKED_FOR_UPDATE
-                  .equalsIgnoreCase(loadMetadataDetails.getLoadStatus())
-                  || CarbonCommonConstants.STORE_LOADSTATUS_PARTIAL_SUCCESS
-                  .equalsIgnoreCase(loadMetadataDetails.getLoadStatus())) {
-            // check for merged loads.
-            if (null != loadMetadataDetails.getMergedLoadName()) {
-              if (!listOfValidSegments.contains(loadMetadataDetails.getMergedLoadName())) {
-                listOfValidSegments.add(loadMetadataDetails.getMergedLoadName());
-              }
-              // if merged load is updated then put it in updated list
-              if (CarbonCommonConstants.MARKED_FOR_UPDATE
-                      .equalsIgnoreCase(loadMetadataDetails.getLoadStatus())) {
-                listOfValidUpdatedSegments.add(loadMetadataDetails.getMergedLoadName());
-              }
-              continue;
-            }
-
-            if (CarbonCommonConstants.MARKED_FOR_UPDATE
-                    .equalsIgnoreCase(loadMetadataDetails.getLoadStatus())) {
-
-              listOfValidUpdatedSegments.add(loadMetadataDetails.getLoadName());
-            }
-            listOfValidSegments.add(loadMetadataDetails.getLoadName());
-          } else if ((CarbonCommonConstants.STORE_LOADSTATUS_FAILURE
-                  .equalsIgnoreCase(loadMetadataDetails.getLoadStatus())
-                  || CarbonCommonConstants.COMPACTED
-                  .equalsIgnoreCase(loadMetadataDetails.getLoadStatus())
-                  || CarbonCommonConstants.MARKED_FOR_DELETE
-                  .equalsIgnoreCase(loadMetadataDetails.getLoadStatus()))) {
-            listOfInvalidSegments.add(loadMetadataDetails.getLoadName());
-          }
-        }
-      }
+      // details are only read here, so they are not copied
+      loadFolderDetailsArray = TableStatusLog.readUnmodifiable(dataPath);
     } catch (IOException e) {
       LOG.error(e);
       throw e;
-    } finally {
-      try {
-        if (null != dataInputStream) {
-          dataInputStream.close();
+    }
+    //just directly iterate the list
+    for (LoadMetadataDetails loadMetadataDetails : loadFolderDetailsArray) {
+      if (CarbonCommonConstants.STORE_LOADSTATUS_SUCCESS
+              .equalsIgnoreCase(loadMetadataDetails.getLoadStatus())
+              || CarbonCommonConstants.MARKED_FOR_UPDATE
+              .equalsIgnoreCase(loadMetadataDetails.getLoadStatus())
+              || CarbonCommonConstants.STORE_LOADSTATUS_PARTIAL_SUCCESS
+              .equalsIgnoreCase(loadMetadataDetails.getLoadStatus())) {
+        // check for merged loads.
+        if (null != loadMetadataDetails.getMergedLoadName()) {
+          if (!listOfValidSegments.contains(loadMetadataDetails.getMergedLoadName())) {
+            listOfValidSegments.add(loadMetadataDetails.getMergedLoadName());
+          }
+          // if merged load is updated then put it in updated list
+          if (CarbonCommonConstants.MARKED_FOR_UPDATE
+                  .equalsIgnoreCase(loadMetadataDetails.getLoadStatus())) {
+            listOfValidUpdatedSegments.add(loadMetadataDetails.getMergedLoadName());
+          }
+          continue;
         }
-      } catch (Exception e) {
-        LOG.error(e);
-        throw e;
+
+        if (CarbonCommonConstants.MARKED_FOR_UPDATE
+                .equalsIgnoreCase(loadMetadataDetails.getLoadStatus())) {
+
+          listOfValidUpdatedSegments.add(loadMetadataDetails.getLoadName());
+        }
+        listOfValidSegments.add(loadMetadataDetails.getLoadName());
+        sortScopeOfSegments
+            .put(loadMetadataDetails.getLoadName(), loadMetadataDetails.getSortScope());
+      } else if ((CarbonCommonConstants.STORE_LOADSTATUS_FAILURE
+              .equalsIgnoreCase(loadMetadataDetails.getLoadStatus())
+              || CarbonCommonConstants.COMPACTED
+              .equalsIgnoreCase(loadMetadataDetails.getLoadStatus())
+              || CarbonCommonConstants.MARKED_FOR_DELETE
+              .equalsIgnoreCase(loadMetadataDetails.getLoadStatus()))) {
+        listOfInvalidSegments.add(loadMetadataDetails.getLoadName());
+      } else if (CarbonCommonConstants.STORE_LOADSTATUS_STREAMING
+              .equalsIgnoreCase(loadMetadataDetails.getLoadStatus())
+              || CarbonCommonConstants.STORE_LOADSTATUS_STREAMING_FINISH
+              .equalsIgnoreCase(loadMetadataDetails.getLoadStatus())) {
+        // row format segments, they are read with the streaming reader
+        listOfStreamSegments.add(loadMetadataDetails.getLoadName());
       }
     }
     return new ValidAndInvalidSegmentsInfo(listOfValidSegments, listOfValidUpdatedSegments,
-            listOfInvalidSegments);
+            listOfInvalidSegments, listOfStreamSegments, sortScopeOfSegments);
   }
 
   /**
@@ -178,33 +155,13 @@ public class SegmentStatusManager {
    * @return
    */
   public static LoadMetadataDetails[] readLoadMetadata(String tableFolderPath) {
-    Gson gsonObjectToRead = new Gson();
-    DataInputStream dataInputStream = null;
-    BufferedReader buffReader = null;
-    InputStreamReader inStream = null;
     String metadataFileName = tableFolderPath + CarbonCommonConstants.FILE_SEPARATOR
         + CarbonCommonConstants.LOADMETADATA_FILENAME;
-    LoadMetadataDetails[] listOfLoadFolderDetailsArray;
-    AtomicFileOperations fileOperation =
-        new AtomicFileOperationsImpl(metadataFileName, FileFactory.getFileType(metadataFileName));
-
     try {
-      if (!FileFactory.isFileExist(metadataFileName, FileFactory.getFileType(metadataFileName))) {
-        return new LoadMetadataDetails[0];
-      }
-      dataInputStream = fileOperation.openForRead();
-      inStream = new InputStreamReader(dataInputStream,
-              Charset.forName(CarbonCommonConstants.DEFAULT_CHARSET));
-      buffReader = new BufferedReader(inStream);
-      listOfLoadFolderDetailsArray =
-          gsonObjectToRead.fromJson(buffReader, LoadMetadataDetails[].class);
+      return TableStatusLog.read(metadataFileName);
     } catch (IOException e) {
       return new LoadMetadataDetails[0];
-    } finally {
-      closeStreams(buffReader, inStream, dataInputStream);
     }
-
-    return listOfLoadFolderDetailsArray;
   }
 
   /**
@@ -396,31 +353,7 @@ public class SegmentStatusManager {
    */
   public static void writeLoadDetailsIntoFile(String dataLoadLocation,
       LoadMetadataDetails[] listOfLoadFolderDetailsArray) throws IOException {
-    AtomicFileOperations fileWrite =
-        new AtomicFileOperationsImpl(dataLoadLocation, FileFactory.getFileType(dataLoadLocation));
-    BufferedWriter brWriter = null;
-    DataOutputStream dataOutputStream = null;
-    Gson gsonObjectToWrite = new Gson();
-    // write the updated data into the metadata file.
-
-    try {
-      dataOutputStream = fileWrite.openForWrite(FileWriteOperation.OVERWRITE);
-      brWriter = new BufferedWriter(new OutputStreamWriter(dataOutputStream,
-              Charset.forName(CarbonCommonConstants.DEFAULT_CHARSET)));
-
-      String metadataInstance = gsonObjectToWrite.toJson(listOfLoadFolderDetailsArray);
-      brWriter.write(metadataInstance);
-    } catch (IOException ioe) {
-      LOG.error("Error message: " + ioe.getLocalizedMessage());
-      throw ioe;
-    } finally {
-      if (null != brWriter) {
-        brWriter.flush();
-      }
-      CarbonUtil.closeStreams(brWriter);
-      fileWrite.close();
-    }
-
+    TableStatusLog.write(dataLoadLocation, listOfLoadFolderDetailsArray);
   }
 
   /**
@@ -511,26 +444,6 @@ public class SegmentStatusManager {
     return invalidLoadTimestamps;
   }
 
-  /**
-   * This method closes the streams
-   *
-   * @param streams - streams to close.
-   */
-  private static void closeStreams(Closeable... streams) {
-    // Added if to avoid NullPointerException in case one stream is being passed as null
-    if (null != streams) {
-      for (Closeable stream : streams) {
-        if (null != stream) {
-          try {
-            stream.close();
-          } catch (IOException e) {
-            LOG.error("Error while closing stream" + stream);
-          }
-        }
-      }
-    }
-  }
-
   /**
    * updates table status details using latest metadata
    *
@@ -605,12 +518,17 @@ public class SegmentStatusManager {
     private final List<String> listOfValidSegments;
     private final List<String> listOfValidUpdatedSegments;
     private final List<String> listOfInvalidSegments;
+    private final List<String> listOfStreamSegments;
+    private final Map<String, SortScope> sortScopeOfSegments;
 
     private ValidAndInvalidSegmentsInfo(List<String> listOfValidSegments,
-        List<String> listOfValidUpdatedSegments, List<String> listOfInvalidUpdatedSegments) {
+        List<String> listOfValidUpdatedSegments, List<String> listOfInvalidUpdatedSegments,
+        List<String> listOfStreamSegments, Map<String, SortScope> sortScopeOfSegments) {
       this.listOfValidSegments = listOfValidSegments;
       this.listOfValidUpdatedSegments = listOfValidUpdatedSegments;
       this.listOfInvalidSegments = listOfInvalidUpdatedSegments;
+      this.listOfStreamSegments = listOfStreamSegments;
+      this.sortScopeOfSegments = sortScopeOfSegments;
     }
     public List<String> getInvalidSegments() {
       return listOfInvalidSegments;
@@ -618,5 +536,16 @@ public class SegmentStatusManager {
     public List<String> getValidSegments() {
       return listOfValidSegments;
     }
+    public List<String> getStreamSegments() {
+      return listOfStreamSegments;
+    }
+
+    /**
+     * @return sort scope of the valid segment, LOCAL_SORT if it is not recorded
+     */
+    public SortScope getSortScope(String segmentId) {
+      SortScope sortScope = sortScopeOfSegments.get(segmentId);
+      return null == sortScope ? SortScope.LOCAL_SORT : sortScope;
+    }
   }
 }
@@ -0,0 +1,620 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.carbondata.core.statusmanager;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.charset.Charset;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.apache.carbondata.common.logging.LogService;
+import org.apache.carbondata.common.logging.LogServiceFactory;
+import org.apache.carbondata.core.constants.CarbonCommonConstants;
+import org.apache.carbondata.core.datastore.filesystem.CarbonFile;
+import org.apache.carbondata.core.datastore.impl.FileFactory;
+import org.apache.carbondata.core.fileoperations.AtomicFileOperations;
+import org.apache.carbondata.core.fileoperations.AtomicFileOperationsImpl;
+import org.apache.carbondata.core.fileoperations.FileWriteOperation;
+import org.apache.carbondata.core.util.CarbonProperties;
+import org.apache.carbondata.core.util.CarbonUtil;
+
+import com.google.gson.Gson;
+
+/**
+ * Log structured table status. The table status file is the checkpoint holding the details
+ * of all the segments, and the changes after it are appended as one json line per change to
+ * the log file next to it. When the log has enough changes, it is merged into a new
+ * checkpoint. Readers keep the merged view per table status file in memory and refresh it by
+ * reading only the log lines appended after the last read. Views are kept only when the log is
+ * enabled, for the least recently read table status files up to the configured cache size.
+ *
+ * The checkpoint is identified by its modification time and size. A checkpoint read within the
+ * modification time granularity of the file system can be replaced by another of the same size
+ * and time, so till the granularity has passed its digest is compared instead.
+ *
+ * Every log record carries the digest of the checkpoint it is written on, so a log left
+ * behind when the writer fails after publishing a new checkpoint is not replayed on it.
+ *
+ * Writers must hold the table status lock as before.
+ */
+public final class TableStatusLog {
+
+  private static final LogService LOGGER =
+      LogServiceFactory.getLogService(TableStatusLog.class.getName());
+
+  private static final String LOG_FILE_EXTENSION = ".log";
+
+  private static final Charset CHARSET = Charset.forName(CarbonCommonConstants.DEFAULT_CHARSET);
+
+  /**
+   * times the view is loaded again if the checkpoint is replaced while it is being read
+   */
+  private static final int MAX_LOAD_RETRY = 3;
+
+  /**
+   * time within which a replaced checkpoint can have the same modification time as the old one
+   */
+  private static final long MODIFIED_TIME_GRANULARITY_MS = 2000L;
+
+  private static final int MAX_VIEWS = getCacheSize();
+
+  /**
+   * merged view per table status file in the order of access
+   */
+  private static final Map<String, TableStatusView> VIEWS = Collections.synchronizedMap(
+      new LinkedHashMap<String, TableStatusView>(CarbonCommonConstants.DEFAULT_COLLECTION_SIZE,
+          0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, TableStatusView> eldest) {
+          return size() > MAX_VIEWS;
+        }
+      });
+
+  private TableStatusLog() {
+  }
+
+  /**
+   * Reads the details of all the segments
+   *
+   * @param statusFilePath path of the table status file
+   * @return copy of the details which can be modified by the caller, empty if the table
+   * status file is not present
+   */
+  public static LoadMetadataDetails[] read(String statusFilePath) throws IOException {
+    TableStatusView view = refresh(statusFilePath);
+    if (null == view) {
+      return new LoadMetadataDetails[0];
+    }
+    return copyOf(view.details);
+  }
+
+  /**
+   * Reads the details of all the segments without copying them, for the callers which only
+   * read the details like the query planning
+   *
+   * @param statusFilePath path of the table status file
+   * @return unmodifiable list of the details shared with other readers, the details must not
+   * be modified, empty if the table status file is not present
+   */
+  public static List<LoadMetadataDetails> readUnmodifiable(String statusFilePath)
+      throws IOException {
+    TableStatusView view = refresh(statusFilePath);
+    if (null == view) {
+      return Collections.emptyList();
+    }
+    return Collections.unmodifiableList(Arrays.asList(view.details));
+  }
+
+  /**
+   * Writes the details of all the segments. Only the segments changed from the current
+   * details are appended to the log when possible.
+   *
+   * @param statusFilePath path of the table status file
+   * @param details        details of all the segments after the change
+   */
+  public static void write(String statusFilePath, LoadMetadataDetails[] details)
+      throws IOException {
+    TableStatusView view = refresh(statusFilePath);
+    int checkpointInterval = getCheckpointInterval();
+    if (null == view || !isLogEnabled(statusFilePath)
+        || view.logRecordCount >= checkpointInterval || view.isCheckpointRequired) {
+      writeCheckpoint(statusFilePath, details, view);
+      return;
+    }
+    TableStatusLogRecord record = createRecord(view.checkpointDigest, view.details, details);
+    if (null == record) {
+      // order of the segments is changed, which is not possible to replay from log
+      writeCheckpoint(statusFilePath, details, view);
+      return;
+    }
+    if (record.isEmpty()) {
+      return;
+    }
+    byte[] line = (new Gson().toJson(record) + '\n').getBytes(CHARSET);
+    String logFilePath = getLogFilePath(statusFilePath);
+    DataOutputStream outputStream = FileFactory
+        .getDataOutputStream(logFilePath, FileFactory.getFileType(logFilePath),
+            CarbonCommonConstants.BYTEBUFFER_SIZE, true);
+    try {
+      outputStream.write(line);
+      outputStream.flush();
+    } finally {
+      CarbonUtil.closeStreams(outputStream);
+    }
+    // the lock is held by the writer, so the log is not changed by others after refresh
+    VIEWS.put(statusFilePath, new TableStatusView(view.checkpointModifiedTime,
+        view.checkpointSize, view.checkpointDigest, view.checkpointReadTime,
+        view.logOffset + line.length, view.logRecordCount + 1, false, copyOf(details)));
+  }
+
+  /**
+   * @return last time the table status is changed either by checkpoint or by log,
+   * 0 if the table status file is not present
+   */
+  public static long getLastModifiedTime(String statusFilePath) throws IOException {
+    long lastModifiedTime = 0L;
+    for (String path : new String[] { statusFilePath, getLogFilePath(statusFilePath) }) {
+      FileFactory.FileType fileType = FileFactory.getFileType(path);
+      if (FileFactory.isFileExist(path, fileType)) {
+        lastModifiedTime = Math.max(lastModifiedTime,
+            FileFactory.getCarbonFile(path, fileType).getLastModifiedTime());
+      }
+    }
+    return lastModifiedTime;
+  }
+
+  /**
+   * @return true if log is enabled and the file system can append to the log
+   */
+  private static boolean isLogEnabled(String statusFilePath) {
+    return FileFactory.isAppendSupported(FileFactory.getFileType(statusFilePath))
+        && Boolean.parseBoolean(CarbonProperties.getInstance()
+        .getProperty(CarbonCommonConstants.CARBON_TABLE_STATUS_LOG_ENABLE,
+            CarbonCommonConstants.CARBON_TABLE_STATUS_LOG_ENABLE_DEFAULT));
+  }
+
+  private static int getCheckpointInterval() {
+    try {
+      return Integer.parseInt(CarbonProperties.getInstance()
+          .getProperty(CarbonCommonConstants.CARBON_TABLE_STATUS_CHECKPOINT_INTERVAL,
+              CarbonCommonConstants.CARBON_TABLE_STATUS_CHECKPOINT_INTERVAL_DEFAULT));
+    } catch (NumberFormatException e) {
+      return Integer
+          .parseInt(CarbonCommonConstants.CARBON_TABLE_STATUS_CHECKPOINT_INTERVAL_DEFAULT);
+    }
+  }
+
+  static boolean isViewCached(String statusFilePath) {
+    return VIEWS.containsKey(statusFilePath);
+  }
+
+  private static int getCacheSize() {
+    try {
+      return Integer.parseInt(CarbonProperties.getInstance()
+          .getProperty(CarbonCommonConstants.CARBON_TABLE_STATUS_LOG_CACHE_SIZE,
+              CarbonCommonConstants.CARBON_TABLE_STATUS_LOG_CACHE_SIZE_DEFAULT));
+    } catch (NumberFormatException e) {
+      return Integer.parseInt(CarbonCommonConstants.CARBON_TABLE_STATUS_LOG_CACHE_SIZE_DEFAULT);
+    }
+  }
+
+  private static String getLogFilePath(String statusFilePath) {
+    return statusFilePath + LOG_FILE_EXTENSION;
+  }
+
+  private static LoadMetadataDetails[] copyOf(LoadMetadataDetails[] details) {
+    LoadMetadataDetails[] copy = new LoadMetadataDetails[details.length];
+    for (int i = 0; i < details.length; i++) {
+      copy[i] = details[i].copy();
+    }
+    return copy;
+  }
+
+  /**
+   * Writes all the details to the table status file and removes the log merged into it
+   *
+   * @param view current view of the table status, null if the file is not present
+   */
+  private static void writeCheckpoint(String statusFilePath, LoadMetadataDetails[] details,
+      TableStatusView view) throws IOException {
+    byte[] content = new Gson().toJson(details).getBytes(CHARSET);
+    String logFilePath = getLogFilePath(statusFilePath);
+    // log written on a checkpoint having the same digest would be replayed on the new one,
+    // so it is removed first. Otherwise it is removed only after the checkpoint is published
+    // and the records of a log left behind are ignored by their checkpoint digest
+    boolean sameDigest = null != view && view.checkpointDigest.equals(getDigest(content));
+    if (sameDigest) {
+      deleteLog(logFilePath);
+    }
+    AtomicFileOperations fileWrite =
+        new AtomicFileOperationsImpl(statusFilePath, FileFactory.getFileType(statusFilePath));
+    DataOutputStream dataOutputStream = null;
+    // write the updated data into the metadata file.
+    try {
+      dataOutputStream = fileWrite.openForWrite(FileWriteOperation.OVERWRITE);
+      dataOutputStream.write(content);
+      dataOutputStream.flush();
+    } catch (IOException ioe) {
+      LOGGER.error("Error message: " + ioe.getLocalizedMessage());
+      throw ioe;
+    } finally {
+      CarbonUtil.closeStreams(dataOutputStream);
+      fileWrite.close();
+    }
+    if (!sameDigest) {
+      deleteLog(logFilePath);
+    }
+    VIEWS.remove(statusFilePath);
+  }
+
+  private static void deleteLog(String logFilePath) throws IOException {
+    FileFactory.FileType logFileType = FileFactory.getFileType(logFilePath);
+    if (FileFactory.isFileExist(logFilePath, logFileType)) {
+      FileFactory.deleteFile(logFilePath, logFileType);
+    }
+  }
+
+  /**
+   * @return hex of the SHA-1 hash of the checkpoint content
+   */
+  private static String getDigest(byte[] content) {
+    try {
+      byte[] hash = MessageDigest.getInstance("SHA-1").digest(content);
+      StringBuilder digest = new StringBuilder(hash.length * 2);
+      for (byte b : hash) {
+        digest.append(Character.forDigit((b >> 4) & 0xF, 16))
+            .append(Character.forDigit(b & 0xF, 16));
+      }
+      return digest.toString();
+    } catch (NoSuchAlgorithmException e) {
+      throw new IllegalStateException(e);
+    }
+  }
+
+  /**
+   * Creates the log record which changes the current details to the new details
+   *
+   * @return null if the new details can not be reached by replaying a record
+   */
+  private static TableStatusLogRecord createRecord(String checkpointDigest,
+      LoadMetadataDetails[] current, LoadMetadataDetails[] details) {
+    Map<String, LoadMetadataDetails> currentByName = indexByName(current);
+    Map<String, LoadMetadataDetails> newByName = indexByName(details);
+    if (null == currentByName || null == newByName) {
+      return null;
+    }
+    // replay keeps the order of the remaining segments and adds new segments at the end
+    List<String> replayedOrder = new ArrayList<>(details.length);
+    for (LoadMetadataDetails detail : current) {
+      if (newByName.containsKey(detail.getLoadName())) {
+        replayedOrder.add(detail.getLoadName());
+      }
+    }
+    for (LoadMetadataDetails detail : details) {
+      if (!currentByName.containsKey(detail.getLoadName())) {
+        replayedOrder.add(detail.getLoadName());
+      }
+    }
+    for (int i = 0; i < details.length; i++) {
+      if (!details[i].getLoadName().equals(replayedOrder.get(i))) {
+        return null;
+      }
+    }
+    Gson gson = new Gson();
+    List<LoadMetadataDetails> upserts = new ArrayList<>();
+    for (LoadMetadataDetails detail : details) {
+      LoadMetadataDetails currentDetail = currentByName.get(detail.getLoadName());
+      if (null == currentDetail || !gson.toJson(currentDetail).equals(gson.toJson(detail))) {
+        upserts.add(detail);
+      }
+    }
+    List<String> removed = new ArrayList<>();
+    for (LoadMetadataDetails detail : current) {
+      if (!newByName.containsKey(detail.getLoadName())) {
+        removed.add(detail.getLoadName());
+      }
+    }
+    return new TableStatusLogRecord(checkpointDigest,
+        upserts.toArray(new LoadMetadataDetails[upserts.size()]),
+        removed.toArray(new String[removed.size()]));
+  }
+
+  /**
+   * @return details by segment name, null if any segment is without name or is duplicated
+   */
+  private static Map<String, LoadMetadataDetails> indexByName(LoadMetadataDetails[] details) {
+    Map<String, LoadMetadataDetails> byName = new HashMap<>(details.length * 2);
+    for (LoadMetadataDetails detail : details) {
+      if (null == detail.getLoadName() || null != byName.put(detail.getLoadName(), detail)) {
+        return null;
+      }
+    }
+    return byName;
+  }
+
+  /**
+   * Gets the latest view of the table status, it reads only the new log lines if the
+   * checkpoint is not changed after the last read. The view is cached only if the log is
+   * enabled, otherwise the checkpoint is read every time as it is rewritten by every change.
+   *
+   * @return null if table status file is not present
+   */
+  private static TableStatusView refresh(String statusFilePath) throws IOException {
+    boolean isCached = isLogEnabled(statusFilePath);
+    TableStatusView view = null;
+    if (isCached) {
+      view = VIEWS.get(statusFilePath);
+    } else {
+      // left by a reader when the log was enabled
+      VIEWS.remove(statusFilePath);
+    }
+    for (int i = 0; i < MAX_LOAD_RETRY; i++) {
+      // taken before the modification time, so a checkpoint replaced after it is settled has
+      // a different modification time
+      long readTime = System.currentTimeMillis();
+      FileFactory.FileType fileType = FileFactory.getFileType(statusFilePath);
+      if (!FileFactory.isFileExist(statusFilePath, fileType)) {
+        VIEWS.remove(statusFilePath);
+        return null;
+      }
+      CarbonFile checkpoint = FileFactory.getCarbonFile(statusFilePath, fileType);
+      long modifiedTime = checkpoint.getLastModifiedTime();
+      long size = checkpoint.getSize();
+      boolean isSameMetadata = null != view && view.checkpointModifiedTime == modifiedTime
+          && view.checkpointSize == size;
+      TableStatusView newView;
+      if (isSameMetadata && view.isCheckpointSettled()) {
+        newView = readLog(statusFilePath, view);
+      } else {
+        byte[] content = readCheckpoint(statusFilePath);
+        String digest = getDigest(content);
+        if (isSameMetadata && view.checkpointDigest.equals(digest)) {
+          newView = readLog(statusFilePath, view.withReadTime(readTime));
+        } else {
+          LoadMetadataDetails[] details =
+              new Gson().fromJson(new String(content, CHARSET), LoadMetadataDetails[].class);
+          newView = readLog(statusFilePath,
+              new TableStatusView(modifiedTime, size, digest, readTime, 0, 0, false,
+                  null == details ? new LoadMetadataDetails[0] : details));
+        }
+      }
+      // checkpoint may be replaced while the log is read, then the log is not of this view
+      if (null != newView && isSameCheckpoint(statusFilePath, newView)) {
+        if (isCached) {
+          VIEWS.put(statusFilePath, newView);
+        }
+        return newView;
+      }
+      view = null;
+    }
+    throw new IOException("Table status is being changed, failed to read " + statusFilePath);
+  }
+
+  private static boolean isSameCheckpoint(String statusFilePath, TableStatusView view)
+      throws IOException {
+    FileFactory.FileType fileType = FileFactory.getFileType(statusFilePath);
+    if (!FileFactory.isFileExist(statusFilePath, fileType)) {
+      return false;
+    }
+    CarbonFile checkpoint = FileFactory.getCarbonFile(statusFilePath, fileType);
+    if (view.checkpointModifiedTime != checkpoint.getLastModifiedTime()
+        || view.checkpointSize != checkpoint.getSize()) {
+      return false;
+    }
+    // replaced checkpoint can have the same modification time and size till it is settled
+    return view.isCheckpointSettled()
+        || view.checkpointDigest.equals(getDigest(readCheckpoint(statusFilePath)));
+  }
+
+  private static byte[] readCheckpoint(String statusFilePath) throws IOException {
+    AtomicFileOperations fileOperation =
+        new AtomicFileOperationsImpl(statusFilePath, FileFactory.getFileType(statusFilePath));
+    DataInputStream dataInputStream = fileOperation.openForRead();
+    try {
+      ByteArrayOutputStream content = new ByteArrayOutputStream();
+      byte[] buffer = new byte[CarbonCommonConstants.BYTEBUFFER_SIZE];
+      int read;
+      while ((read = dataInputStream.read(buffer)) != -1) {
+        content.write(buffer, 0, read);
+      }
+      return content.toByteArray();
+    } finally {
+      CarbonUtil.closeStreams(dataInputStream);
+    }
+  }
+
+  /**
+   * Applies the log lines appended after the offset of the view
+   *
+   * @return new view, null if the log is not the continuation of the view
+   */
+  private static TableStatusView readLog(String statusFilePath, TableStatusView view)
+      throws IOException {
+    String logFilePath = getLogFilePath(statusFilePath);
+    FileFactory.FileType fileType = FileFactory.getFileType(logFilePath);
+    if (!FileFactory.isFileExist(logFilePath, fileType)) {
+      return view.logOffset == 0 ? view : null;
+    }
+    long logSize = FileFactory.getCarbonFile(logFilePath, fileType).getSize();
+    if (logSize < view.logOffset) {
+      return null;
+    }
+    if (logSize == view.logOffset) {
+      return view;
+    }
+    byte[] bytes = new byte[(int) (logSize - view.logOffset)];
+    DataInputStream inputStream = FileFactory
+        .getDataInputStream(logFilePath, fileType, CarbonCommonConstants.BYTEBUFFER_SIZE,
+            view.logOffset);
+    try {
+      inputStream.readFully(bytes);
+    } finally {
+      CarbonUtil.closeStreams(inputStream);
+    }
+    // a line without new line at the end is not completely written
+    int end = bytes.length;
+    while (end > 0 && bytes[end - 1] != '\n') {
+      end--;
+    }
+    Map<String, LoadMetadataDetails> details = new LinkedHashMap<>();
+    for (LoadMetadataDetails detail : view.details) {
+      details.put(detail.getLoadName(), detail);
+    }
+    Gson gson = new Gson();
+    int recordCount = view.logRecordCount;
+    int start = 0;
+    for (int i = 0; i < end; i++) {
+      if (bytes[i] != '\n') {
+        continue;
+      }
+      String line = new String(bytes, start, i - start, CHARSET);
+      start = i + 1;
+      TableStatusLogRecord record;
+      try {
+        record = gson.fromJson(line, TableStatusLogRecord.class);
+      } catch (RuntimeException e) {
+        // the log is replaced by a new log after the view is read
+        LOGGER.warn("Invalid table status log record found in " + logFilePath);
+        return null;
+      }
+      if (null == record) {
+        continue;
+      }
+      if (!view.checkpointDigest.equals(record.checkpoint)) {
+        // log of an older checkpoint left behind by a failed checkpoint, which is already
+        // merged into the current checkpoint
+        LOGGER.warn("Ignoring table status log of an older checkpoint " + logFilePath);
+        return new TableStatusView(view.checkpointModifiedTime, view.checkpointSize,
+            view.checkpointDigest, view.checkpointReadTime, view.logOffset + end,
+            view.logRecordCount, true, view.details);
+      }
+      record.applyTo(details);
+      recordCount++;
+    }
+    return new TableStatusView(view.checkpointModifiedTime, view.checkpointSize,
+        view.checkpointDigest, view.checkpointReadTime, view.logOffset + end, recordCount,
+        end < bytes.length, details.values().toArray(new LoadMetadataDetails[details.size()]));
+  }
+
+  /**
+   * Details of the segments after applying the log on the checkpoint, it is not modified
+   * after creation
+   */
+  private static final class TableStatusView {
+
+    private final long checkpointModifiedTime;
+
+    private final long checkpointSize;
+
+    private final String checkpointDigest;
+
+    /**
+     * time before the modification time of the checkpoint is read
+     */
+    private final long checkpointReadTime;
+
+    /**
+     * offset of the log till which the records are applied
+     */
+    private final long logOffset;
+
+    private final int logRecordCount;
+
+    /**
+     * true if the log is having a partially written record at the end or is written on an
+     * older checkpoint, next write must replace the log by a checkpoint
+     */
+    private final boolean isCheckpointRequired;
+
+    private final LoadMetadataDetails[] details;
+
+    private TableStatusView(long checkpointModifiedTime, long checkpointSize,
+        String checkpointDigest, long checkpointReadTime, long logOffset, int logRecordCount,
+        boolean isCheckpointRequired, LoadMetadataDetails[] details) {
+      this.checkpointModifiedTime = checkpointModifiedTime;
+      this.checkpointSize = checkpointSize;
+      this.checkpointDigest = checkpointDigest;
+      this.checkpointReadTime = checkpointReadTime;
+      this.logOffset = logOffset;
+      this.logRecordCount = logRecordCount;
+      this.isCheckpointRequired = isCheckpointRequired;
+      this.details = details;
+    }
+
+    /**
+     * @return true if a checkpoint replacing this one can not have the same modification time
+     */
+    private boolean isCheckpointSettled() {
+      return checkpointReadTime - checkpointModifiedTime > MODIFIED_TIME_GRANULARITY_MS;
+    }
+
+    private TableStatusView withReadTime(long readTime) {
+      return new TableStatusView(checkpointModifiedTime, checkpointSize, checkpointDigest,
+          readTime, logOffset, logRecordCount, isCheckpointRequired, details);
+    }
+  }
+
+  /**
+   * One change of the table status, segments added or modified and segments removed
+   */
+  private static final class TableStatusLogRecord {
+
+    /**
+     * digest of the checkpoint the record is written on
+     */
+    private String checkpoint;
+
+    private LoadMetadataDetails[] upserts;
+
+    private String[] removed;
+
+    private TableStatusLogRecord(String checkpoint, LoadMetadataDetails[] upserts,
+        String[] removed) {
+      this.checkpoint = checkpoint;
+      this.upserts = upserts;
+      this.removed = removed;
+    }
+
+    private boolean isEmpty() {
+      return upserts.length == 0 && removed.length == 0;
+    }
+
+    private void applyTo(Map<String, LoadMetadataDetails> details) {
+      if (null != removed) {
+        for (String loadName : removed) {
+          details.remove(loadName);
+        }
+      }
+      if (null != upserts) {
+        for (LoadMetadataDetails detail : upserts) {
+          // modified segment keeps its position as the map is ordered by insertion
+          details.put(detail.getLoadName(), detail);
+        }
+      }
+    }
+  }
+}
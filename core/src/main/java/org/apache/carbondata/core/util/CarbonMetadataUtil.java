@@ -835,7 +835,8 @@ public class CarbonMetadataUtil {
       buffer.putDouble((Double) valueEncoderMeta.getMaxValue());
       buffer.putDouble((Double) valueEncoderMeta.getMinValue());
       buffer.putDouble((Double) valueEncoderMeta.getUniqueValue());
-    } else if (valueEncoderMeta.getType() == CarbonCommonConstants.BIG_INT_MEASURE) {
+    } else if (valueEncoderMeta.getType() == CarbonCommonConstants.BIG_INT_MEASURE
+        || valueEncoderMeta.getType() == CarbonCommonConstants.FIXED_POINT_DECIMAL_MEASURE) {
       buffer = ByteBuffer.allocate(
           (CarbonCommonConstants.LONG_SIZE_IN_BYTE * 3) + CarbonCommonConstants.INT_SIZE_IN_BYTE
               + 3);
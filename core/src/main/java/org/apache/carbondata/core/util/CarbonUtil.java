@@ -70,8 +70,10 @@ import org.apache.carbondata.core.service.PathService;
 import org.apache.carbondata.core.statusmanager.SegmentUpdateStatusManager;
 import org.apache.carbondata.core.util.path.CarbonStorePath;
 import org.apache.carbondata.core.util.path.CarbonTablePath;
+import org.apache.carbondata.format.BlockletHeader;
 import org.apache.carbondata.format.DataChunk2;
 import org.apache.carbondata.format.DataChunk3;
+import org.apache.carbondata.format.FileHeader;
 
 import org.apache.commons.lang.ArrayUtils;
 import org.apache.hadoop.conf.Configuration;
@@ -87,6 +89,9 @@ public final class CarbonUtil {
   public static final String HDFS_PREFIX = "hdfs://";
   public static final String VIEWFS_PREFIX = "viewfs://";
   public static final String ALLUXIO_PREFIX = "alluxio://";
+  public static final String S3A_PREFIX = "s3a://";
+  public static final String S3N_PREFIX = "s3n://";
+  public static final String S3_PREFIX = "s3://";
   private static final String FS_DEFAULT_FS = "fs.defaultFS";
 
   /**
@@ -678,7 +683,8 @@ public final class CarbonUtil {
     String currentPath = filePath;
     if (null != filePath && filePath.length() != 0
         && FileFactory.getFileType(filePath) != FileFactory.FileType.HDFS
-        && FileFactory.getFileType(filePath) != FileFactory.FileType.VIEWFS) {
+        && FileFactory.getFileType(filePath) != FileFactory.FileType.VIEWFS
+        && FileFactory.getFileType(filePath) != FileFactory.FileType.S3) {
       String baseDFSUrl = CarbonProperties.getInstance()
           .getProperty(CarbonCommonConstants.CARBON_DDL_BASE_HDFS_URL);
       if (null != baseDFSUrl) {
@@ -1373,6 +1379,36 @@ public final class CarbonUtil {
     }, offset, length);
   }
 
+  /**
+   * Below method will be used to convert the bytearray to header of streaming file
+   *
+   * @param headerBytes file header thrift object in bytes
+   * @return file header thrift object
+   */
+  public static FileHeader readFileHeader(byte[] headerBytes, int offset, int length)
+      throws IOException {
+    return (FileHeader) read(headerBytes, new ThriftReader.TBaseCreator() {
+      @Override public TBase create() {
+        return new FileHeader();
+      }
+    }, offset, length);
+  }
+
+  /**
+   * Below method will be used to convert the bytearray to header of a streaming blocklet
+   *
+   * @param headerBytes blocklet header thrift object in bytes
+   * @return blocklet header thrift object
+   */
+  public static BlockletHeader readBlockletHeader(byte[] headerBytes, int offset, int length)
+      throws IOException {
+    return (BlockletHeader) read(headerBytes, new ThriftReader.TBaseCreator() {
+      @Override public TBase create() {
+        return new BlockletHeader();
+      }
+    }, offset, length);
+  }
+
   /**
    * Below method will be used to convert the byte array value to thrift object for
    * data chunk
@@ -1438,6 +1474,7 @@ public final class CarbonUtil {
         valueEncoderMeta.setUniqueValue(0.0);
         break;
       case CarbonCommonConstants.BIG_INT_MEASURE:
+      case CarbonCommonConstants.FIXED_POINT_DECIMAL_MEASURE:
         valueEncoderMeta.setMaxValue(buffer.getLong());
         valueEncoderMeta.setMinValue(buffer.getLong());
         valueEncoderMeta.setUniqueValue(buffer.getLong());
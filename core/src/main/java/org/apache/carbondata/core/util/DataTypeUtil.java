@@ -21,11 +21,8 @@ import java.math.BigDecimal;
 import java.math.BigInteger;
 import java.math.RoundingMode;
 import java.nio.charset.Charset;
-import java.text.DateFormat;
 import java.text.ParseException;
-import java.text.SimpleDateFormat;
 import java.util.Arrays;
-import java.util.Date;
 import java.util.HashMap;
 import java.util.Map;
 
@@ -50,21 +47,23 @@ public final class DataTypeUtil {
       LogServiceFactory.getLogService(DataTypeUtil.class.getName());
   private static final Map<String, String> dataTypeDisplayNames;
 
-  private static final ThreadLocal<DateFormat> timeStampformatter = new ThreadLocal<DateFormat>() {
-    @Override protected DateFormat initialValue() {
-      return new SimpleDateFormat(CarbonProperties.getInstance()
-          .getProperty(CarbonCommonConstants.CARBON_TIMESTAMP_FORMAT,
-              CarbonCommonConstants.CARBON_TIMESTAMP_DEFAULT_FORMAT));
-    }
-  };
-
-  private static final ThreadLocal<DateFormat> dateformatter = new ThreadLocal<DateFormat>() {
-    @Override protected DateFormat initialValue() {
-      return new SimpleDateFormat(CarbonProperties.getInstance()
-          .getProperty(CarbonCommonConstants.CARBON_DATE_FORMAT,
-              CarbonCommonConstants.CARBON_DATE_DEFAULT_FORMAT));
-    }
-  };
+  private static final ThreadLocal<DateFormatParser> timeStampformatter =
+      new ThreadLocal<DateFormatParser>() {
+        @Override protected DateFormatParser initialValue() {
+          return new DateFormatParser(CarbonProperties.getInstance()
+              .getProperty(CarbonCommonConstants.CARBON_TIMESTAMP_FORMAT,
+                  CarbonCommonConstants.CARBON_TIMESTAMP_DEFAULT_FORMAT), true);
+        }
+      };
+
+  private static final ThreadLocal<DateFormatParser> dateformatter =
+      new ThreadLocal<DateFormatParser>() {
+        @Override protected DateFormatParser initialValue() {
+          return new DateFormatParser(CarbonProperties.getInstance()
+              .getProperty(CarbonCommonConstants.CARBON_DATE_FORMAT,
+                  CarbonCommonConstants.CARBON_DATE_DEFAULT_FORMAT), true);
+        }
+      };
 
   static {
     dataTypeDisplayNames = new HashMap<String, String>(16);
@@ -115,6 +114,47 @@ public final class DataTypeUtil {
     }
   }
 
+  /**
+   * This method will convert the typed measure value read from columnar input to the value of
+   * the measure data type, same as the value parsed from the string
+   *
+   * @param msrValue
+   * @param dataType
+   * @param carbonMeasure
+   * @return measure value, null if the value cannot be stored in the data type
+   */
+  public static Object getMeasureValueBasedOnDataType(Number msrValue, DataType dataType,
+      CarbonMeasure carbonMeasure) {
+    switch (dataType) {
+      case DECIMAL:
+        BigDecimal bigDecimal = msrValue instanceof BigDecimal ?
+            (BigDecimal) msrValue :
+            new BigDecimal(msrValue.toString());
+        bigDecimal = bigDecimal.setScale(carbonMeasure.getScale(), RoundingMode.HALF_UP);
+        return normalizeDecimalValue(bigDecimal, carbonMeasure.getPrecision());
+      case SHORT:
+      case INT:
+      case LONG:
+        if (msrValue instanceof Double || msrValue instanceof Float
+            || msrValue instanceof BigDecimal) {
+          // string of fractional value is not a valid integer
+          return null;
+        }
+        long longValue = msrValue.longValue();
+        if ((dataType == DataType.SHORT && longValue != (short) longValue) || (
+            dataType == DataType.INT && longValue != (int) longValue)) {
+          return null;
+        }
+        return longValue;
+      default:
+        double doubleValue = msrValue.doubleValue();
+        if (Double.isInfinite(doubleValue) || Double.isNaN(doubleValue)) {
+          return null;
+        }
+        return doubleValue;
+    }
+  }
+
   /**
    * @param dataType
    * @return
@@ -289,8 +329,7 @@ public final class DataTypeUtil {
             return null;
           }
           try {
-            Date dateToStr = dateformatter.get().parse(data);
-            return dateToStr.getTime() * 1000;
+            return dateformatter.get().parse(data) * 1000;
           } catch (ParseException e) {
             LOGGER.error("Cannot convert" + data + " to Time/Long type value" + e.getMessage());
             return null;
@@ -301,8 +340,7 @@ public final class DataTypeUtil {
             return null;
           }
           try {
-            Date dateToStr = timeStampformatter.get().parse(data);
-            return dateToStr.getTime() * 1000;
+            return timeStampformatter.get().parse(data) * 1000;
           } catch (ParseException e) {
             LOGGER.error("Cannot convert" + data + " to Time/Long type value" + e.getMessage());
             return null;
@@ -368,8 +406,7 @@ public final class DataTypeUtil {
             return null;
           }
           try {
-            Date dateToStr = dateformatter.get().parse(data5);
-            return dateToStr.getTime() * 1000;
+            return dateformatter.get().parse(data5) * 1000;
           } catch (ParseException e) {
             LOGGER.error("Cannot convert" + data5 + " to Time/Long type value" + e.getMessage());
             return null;
@@ -381,8 +418,7 @@ public final class DataTypeUtil {
             return null;
           }
           try {
-            Date dateToStr = timeStampformatter.get().parse(data6);
-            return dateToStr.getTime() * 1000;
+            return timeStampformatter.get().parse(data6) * 1000;
           } catch (ParseException e) {
             LOGGER.error("Cannot convert" + data6 + " to Time/Long type value" + e.getMessage());
             return null;
@@ -0,0 +1,293 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.carbondata.core.util;
+
+import java.text.ParseException;
+import java.text.SimpleDateFormat;
+import java.util.Calendar;
+import java.util.GregorianCalendar;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Parser of the date and timestamp values in the SimpleDateFormat pattern like
+ * carbon.timestamp.format and carbon.date.format.
+ * Pattern made of fixed width numeric fields (yyyy, MM, dd, HH, mm, ss and SSS) and literals is
+ * compiled to a layout, and the values matching the layout are parsed without creating any
+ * object. Time zone offset is computed once per local minute, and the last parsed value is
+ * remembered as the same value is repeated in the consecutive rows. Other patterns and the
+ * values not matching the layout are parsed by SimpleDateFormat, so the result is always same
+ * as SimpleDateFormat.
+ * Instance is not thread safe, use getParser to get the parser of the current thread.
+ */
+public final class DateFormatParser {
+
+  private static final ThreadLocal<Map<String, DateFormatParser>> LENIENT_PARSERS =
+      new ThreadLocal<Map<String, DateFormatParser>>() {
+        @Override protected Map<String, DateFormatParser> initialValue() {
+          return new HashMap<>();
+        }
+      };
+
+  private static final ThreadLocal<Map<String, DateFormatParser>> STRICT_PARSERS =
+      new ThreadLocal<Map<String, DateFormatParser>>() {
+        @Override protected Map<String, DateFormatParser> initialValue() {
+          return new HashMap<>();
+        }
+      };
+
+  private static final int YEAR = 0;
+
+  private static final int MONTH = 1;
+
+  private static final int DAY = 2;
+
+  private static final int HOUR = 3;
+
+  private static final int MINUTE = 4;
+
+  private static final int SECOND = 5;
+
+  private static final int MILLISECOND = 6;
+
+  private static final int LITERAL = -1;
+
+  private static final long MILLIS_PER_MINUTE = 60 * 1000L;
+
+  private static final long MILLIS_PER_DAY = 24 * 60 * MILLIS_PER_MINUTE;
+
+  /**
+   * returned by the layout parsing when the value has to be parsed by SimpleDateFormat
+   */
+  private static final long NOT_PARSED = Long.MIN_VALUE;
+
+  private SimpleDateFormat dateFormat;
+
+  /**
+   * calendar used to find the time zone offset of the local time
+   */
+  private Calendar calendar;
+
+  /**
+   * field of each character of the layout, LITERAL for the literal characters.
+   * null if the pattern cannot be parsed using layout
+   */
+  private int[] layoutFields;
+
+  private char[] layoutLiterals;
+
+  private int[] fieldValues = new int[MILLISECOND + 1];
+
+  private String lastValue;
+
+  private long lastTime;
+
+  private long lastLocalMinute = Long.MIN_VALUE;
+
+  private long lastOffset;
+
+  public DateFormatParser(String format, boolean lenient) {
+    this.dateFormat = new SimpleDateFormat(format);
+    this.dateFormat.setLenient(lenient);
+    // calendar of some locales does not use the gregorian years
+    if (dateFormat.getCalendar() instanceof GregorianCalendar) {
+      this.calendar = (Calendar) dateFormat.getCalendar().clone();
+      this.calendar.setLenient(lenient);
+      compileLayout(format);
+    }
+  }
+
+  /**
+   * @return parser of the format for the current thread
+   */
+  public static DateFormatParser getParser(String format, boolean lenient) {
+    Map<String, DateFormatParser> parsers = lenient ? LENIENT_PARSERS.get() : STRICT_PARSERS.get();
+    DateFormatParser parser = parsers.get(format);
+    if (null == parser) {
+      parser = new DateFormatParser(format, lenient);
+      parsers.put(format, parser);
+    }
+    return parser;
+  }
+
+  /**
+   * @return milliseconds since epoch of the value
+   * @throws ParseException if the value is not a valid date of the format
+   */
+  public long parse(String value) throws ParseException {
+    if (value.equals(lastValue)) {
+      return lastTime;
+    }
+    long time = NOT_PARSED;
+    if (null != layoutFields) {
+      time = parseLayout(value);
+    }
+    if (NOT_PARSED == time) {
+      time = dateFormat.parse(value).getTime();
+    }
+    lastValue = value;
+    lastTime = time;
+    return time;
+  }
+
+  private void compileLayout(String format) {
+    int[] fields = new int[format.length()];
+    char[] literals = new char[format.length()];
+    boolean[] isFieldPresent = new boolean[fieldValues.length];
+    int length = 0;
+    int index = 0;
+    while (index < format.length()) {
+      char c = format.charAt(index);
+      if (c == '\'') {
+        int end = format.indexOf('\'', index + 1);
+        // quote inside the quoted text is not handled
+        if (end <= index + 1) {
+          return;
+        }
+        for (int i = index + 1; i < end; i++) {
+          fields[length] = LITERAL;
+          literals[length++] = format.charAt(i);
+        }
+        index = end + 1;
+      } else if ((c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z')) {
+        int count = 1;
+        while (index + count < format.length() && format.charAt(index + count) == c) {
+          count++;
+        }
+        int field = getField(c, count);
+        if (field == LITERAL || isFieldPresent[field]) {
+          return;
+        }
+        isFieldPresent[field] = true;
+        for (int i = 0; i < count; i++) {
+          fields[length++] = field;
+        }
+        index += count;
+      } else {
+        fields[length] = LITERAL;
+        literals[length++] = c;
+        index++;
+      }
+    }
+    if (isFieldPresent[YEAR] && isFieldPresent[MONTH] && isFieldPresent[DAY]) {
+      layoutFields = new int[length];
+      layoutLiterals = new char[length];
+      System.arraycopy(fields, 0, layoutFields, 0, length);
+      System.arraycopy(literals, 0, layoutLiterals, 0, length);
+    }
+  }
+
+  /**
+   * @return field of the fixed width numeric pattern, LITERAL if the pattern is not supported
+   */
+  private static int getField(char patternChar, int count) {
+    switch (patternChar) {
+      case 'y':
+        return count == 4 ? YEAR : LITERAL;
+      case 'M':
+        return count == 2 ? MONTH : LITERAL;
+      case 'd':
+        return count == 2 ? DAY : LITERAL;
+      case 'H':
+        return count == 2 ? HOUR : LITERAL;
+      case 'm':
+        return count == 2 ? MINUTE : LITERAL;
+      case 's':
+        return count == 2 ? SECOND : LITERAL;
+      case 'S':
+        return count == 3 ? MILLISECOND : LITERAL;
+      default:
+        return LITERAL;
+    }
+  }
+
+  private long parseLayout(String value) {
+    if (value.length() != layoutFields.length) {
+      return NOT_PARSED;
+    }
+    for (int i = 0; i < fieldValues.length; i++) {
+      fieldValues[i] = 0;
+    }
+    for (int i = 0; i < layoutFields.length; i++) {
+      char c = value.charAt(i);
+      int field = layoutFields[i];
+      if (field == LITERAL) {
+        if (c != layoutLiterals[i]) {
+          return NOT_PARSED;
+        }
+      } else if (c >= '0' && c <= '9') {
+        fieldValues[field] = fieldValues[field] * 10 + (c - '0');
+      } else {
+        return NOT_PARSED;
+      }
+    }
+    int year = fieldValues[YEAR];
+    int month = fieldValues[MONTH];
+    int day = fieldValues[DAY];
+    // values to be adjusted by the lenient parsing and the dates of julian calendar are left
+    // to SimpleDateFormat
+    if (year <= 1582 || month < 1 || month > 12 || day < 1 || day > getDaysInMonth(year, month)
+        || fieldValues[HOUR] > 23 || fieldValues[MINUTE] > 59 || fieldValues[SECOND] > 59) {
+      return NOT_PARSED;
+    }
+    long localMinute = (getEpochDay(year, month, day) * 24 + fieldValues[HOUR]) * 60
+        + fieldValues[MINUTE];
+    long localTime = localMinute * MILLIS_PER_MINUTE + fieldValues[SECOND] * 1000L
+        + fieldValues[MILLISECOND];
+    if (localMinute != lastLocalMinute) {
+      calendar.clear();
+      calendar.set(year, month - 1, day, fieldValues[HOUR], fieldValues[MINUTE],
+          fieldValues[SECOND]);
+      calendar.set(Calendar.MILLISECOND, fieldValues[MILLISECOND]);
+      try {
+        lastOffset = localTime - calendar.getTimeInMillis();
+      } catch (IllegalArgumentException e) {
+        // local time which does not exist in the time zone
+        return NOT_PARSED;
+      }
+      lastLocalMinute = localMinute;
+    }
+    return localTime - lastOffset;
+  }
+
+  private static int getDaysInMonth(int year, int month) {
+    switch (month) {
+      case 2:
+        return (year % 4 == 0 && (year % 100 != 0 || year % 400 == 0)) ? 29 : 28;
+      case 4:
+      case 6:
+      case 9:
+      case 11:
+        return 30;
+      default:
+        return 31;
+    }
+  }
+
+  /**
+   * @return number of days from 1970-01-01 in the proleptic gregorian calendar
+   */
+  private static long getEpochDay(int year, int month, int day) {
+    long y = month <= 2 ? year - 1 : year;
+    long era = y / 400;
+    long yearOfEra = y - era * 400;
+    long dayOfYear = (153 * (month > 2 ? month - 3 : month + 9) + 2) / 5 + day - 1;
+    long dayOfEra = yearOfEra * 365 + yearOfEra / 4 - yearOfEra / 100 + dayOfYear;
+    return era * 146097 + dayOfEra - 719468;
+  }
+}
@@ -119,6 +119,9 @@ public final class ValueCompressionUtil {
       case 'd':
         return getLongCompressorFinder(maxValue, minValue, mantissa, dataTypeSelected,
             measureStoreType);
+      case 'f':
+        return getFixedPointDecimalCompressorFinder(maxValue, minValue, dataTypeSelected,
+            measureStoreType);
       case 'l':
         return new CompressionFinder(COMPRESSION_TYPE.ADAPTIVE,
             DataType.DATA_BIGINT, DataType.DATA_BIGINT, measureStoreType);
@@ -204,6 +207,24 @@ public final class ValueCompressionUtil {
     }
   }
 
+  /**
+   * unscaled values of the decimal are compressed like long values, mantissa is the scale
+   * of the decimal so it is not used in finding the compression
+   */
+  private static CompressionFinder getFixedPointDecimalCompressorFinder(Object maxValue,
+      Object minValue, byte dataTypeSelected, char measureStoreType) {
+    CompressionFinder compressionFinder =
+        getLongCompressorFinder(maxValue, minValue, 0, dataTypeSelected, measureStoreType);
+    // delta compression keeps the max value as double while reading, which is not exact
+    // for the unscaled values of 16 digits and more
+    if (compressionFinder.getCompType() == COMPRESSION_TYPE.DELTA_DOUBLE
+        && Math.max(Math.abs((long) maxValue), Math.abs((long) minValue)) > (1L << 53)) {
+      return new CompressionFinder(COMPRESSION_TYPE.ADAPTIVE, DataType.DATA_BIGINT,
+          DataType.DATA_LONG, measureStoreType);
+    }
+    return compressionFinder;
+  }
+
   /**
    * @param compType        : compression type
    * @param values          : the data of one measure
@@ -235,6 +256,7 @@ public final class ValueCompressionUtil {
   public static ValueCompressor getValueCompressor(CompressionFinder compressorFinder) {
     switch (compressorFinder.getMeasureStoreType()) {
       case 'd':
+      case 'f':
         return new BigIntCompressor();
       default:
         return new DoubleCompressor();
@@ -265,6 +287,10 @@ public final class ValueCompressionUtil {
   private static ValueCompressionHolder getValueCompressionHolder(
       CompressionFinder compressionFinder) {
     switch (compressionFinder.getMeasureStoreType()) {
+      case 'f':
+        return new CompressionFixedPointDecimal(
+            getValueCompressionHolder(compressionFinder.getCompType(),
+                compressionFinder.getActualDataType(), compressionFinder.getConvertedDataType()));
       default:
         return getValueCompressionHolder(compressionFinder.getCompType(),
             compressionFinder.getActualDataType(), compressionFinder.getConvertedDataType());
@@ -50,6 +50,7 @@ public class CarbonTablePath extends Path {
   protected static final String BATCH_PREFIX = "_batchno";
   protected static final String INDEX_FILE_EXT = ".carbonindex";
   protected static final String DELETE_DELTA_FILE_EXT = ".deletedelta";
+  protected static final String STREAMING_FILE_EXT = ".stream";
 
   protected String tablePath;
   protected CarbonTableIdentifier carbonTableIdentifier;
@@ -111,6 +112,16 @@ public class CarbonTablePath extends Path {
     }
     return false;
   }
+  /**
+   * check if it is row format streaming file matching extension
+   *
+   * @param fileNameWithPath
+   * @return boolean
+   */
+  public static boolean isStreamingDataFile(String fileNameWithPath) {
+    return fileNameWithPath.endsWith(STREAMING_FILE_EXT);
+  }
+
   /**
    * check if it is carbon data file matching extension
    *
@@ -391,6 +402,17 @@ public class CarbonTablePath extends Path {
         + bucketNumber + "-" + factUpdateTimeStamp + CARBON_DATA_EXT;
   }
 
+  /**
+   * Gets the name of the row format streaming file of a task, micro batches of the same
+   * task are appended to this file
+   *
+   * @param taskNo task identifier
+   * @return streaming file name only with out path
+   */
+  public String getStreamingDataFileName(String taskNo) {
+    return DATA_PART_PREFIX + "0-" + taskNo + BATCH_PREFIX + "0-0-0" + STREAMING_FILE_EXT;
+  }
+
   /**
    * Below method will be used to get the carbon index filename
    *
@@ -60,6 +60,11 @@ public class CarbonLRUCacheTest {
     assertNull(carbonLRUCache.get("Column2"));
   }
 
+  @Test public void testLRUCacheSizeConfigured() {
+    assertTrue(carbonLRUCache.isLRUCacheSizeConfigured());
+    assertFalse(new CarbonLRUCache("prop2", "-1").isLRUCacheSizeConfigured());
+  }
+
   @AfterClass public static void cleanUp() {
     carbonLRUCache.clear();
     assertNull(carbonLRUCache.get("Column1"));
@@ -0,0 +1,137 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.carbondata.core.cache.dictionary;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+public class DecodedValueCacheTest {
+
+  @Test public void testValueIsDecodedOncePerSurrogateKey() {
+    TestDictionary dictionary = new TestDictionary(100);
+    DecodedValueCache cache = new DecodedValueCache(dictionary, 1000);
+    assertEquals(101, cache.size());
+    for (int i = 0; i < 3; i++) {
+      for (int key = 1; key <= 100; key++) {
+        assertEquals("v" + key, cache.getValue(key));
+      }
+    }
+    assertEquals(100, dictionary.decodeCount);
+  }
+
+  @Test public void testCacheIsCappedToMaximumSize() {
+    TestDictionary dictionary = new TestDictionary(100);
+    DecodedValueCache cache = new DecodedValueCache(dictionary, 10);
+    assertEquals(10, cache.size());
+    for (int i = 0; i < 2; i++) {
+      for (int key = 1; key <= 100; key++) {
+        assertEquals("v" + key, cache.getValue(key));
+      }
+    }
+    // keys up to 9 are decoded once, the bigger keys are decoded on every read
+    assertEquals(9 + 2 * 91, dictionary.decodeCount);
+    assertEquals(10, cache.size());
+  }
+
+  @Test public void testCacheGrowsWithDictionaryUpToMaximumSize() {
+    TestDictionary dictionary = new TestDictionary(5);
+    DecodedValueCache cache = new DecodedValueCache(dictionary, 20);
+    assertEquals(6, cache.size());
+    assertEquals("v15", cache.getValue(15));
+    assertEquals(16, cache.size());
+    assertEquals("v50", cache.getValue(50));
+    assertEquals(16, cache.size());
+  }
+
+  @Test public void testZeroMaximumSizeDecodesEveryTime() {
+    TestDictionary dictionary = new TestDictionary(10);
+    DecodedValueCache cache = new DecodedValueCache(dictionary, 0);
+    assertEquals(0, cache.size());
+    cache.getValue(1);
+    cache.getValue(1);
+    assertEquals(2, dictionary.decodeCount);
+  }
+
+  @Test public void testNullValueIsDecodedOnce() {
+    final TestDictionary dictionary = new TestDictionary(10);
+    DecodedValueCache cache = new DecodedValueCache(dictionary, 1000) {
+      @Override protected Object decode(int surrogateKey) {
+        dictionary.decodeCount++;
+        return null;
+      }
+    };
+    assertNull(cache.getValue(1));
+    assertNull(cache.getValue(1));
+    assertEquals(1, dictionary.decodeCount);
+  }
+
+  /**
+   * dictionary of the surrogate keys 1 to size, the value of a key is v followed by the key
+   */
+  private static class TestDictionary implements Dictionary {
+
+    private int decodeCount;
+
+    private List<List<byte[]>> chunks = new ArrayList<>();
+
+    private TestDictionary(int size) {
+      List<byte[]> chunk = new ArrayList<>();
+      for (int key = 1; key <= size; key++) {
+        chunk.add(("v" + key).getBytes());
+      }
+      chunks.add(chunk);
+    }
+
+    @Override public int getSurrogateKey(String value) {
+      return Integer.parseInt(value.substring(1));
+    }
+
+    @Override public int getSurrogateKey(byte[] value) {
+      return getSurrogateKey(new String(value));
+    }
+
+    @Override public String getDictionaryValueForKey(int surrogateKey) {
+      return new String(getDictionaryValueForKeyInBytes(surrogateKey));
+    }
+
+    @Override public byte[] getDictionaryValueForKeyInBytes(int surrogateKey) {
+      decodeCount++;
+      return ("v" + surrogateKey).getBytes();
+    }
+
+    @Override public int getSortedIndex(int surrogateKey) {
+      return surrogateKey;
+    }
+
+    @Override public String getDictionaryValueFromSortedIndex(int sortedIndex) {
+      return getDictionaryValueForKey(sortedIndex);
+    }
+
+    @Override public DictionaryChunksWrapper getDictionaryChunks() {
+      return new DictionaryChunksWrapper(chunks);
+    }
+
+    @Override public void clear() {
+    }
+  }
+}
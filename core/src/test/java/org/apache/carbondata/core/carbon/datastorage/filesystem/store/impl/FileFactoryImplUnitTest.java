@@ -34,6 +34,7 @@ import static junit.framework.TestCase.assertNotNull;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
 
 public class FileFactoryImplUnitTest {
 
@@ -147,5 +148,23 @@ public class FileFactoryImplUnitTest {
     FileFactory.getDataOutputStream(filePath, FileFactory.FileType.VIEWFS);
     assertNotNull(FileFactory.getCarbonFile(filePath, FileFactory.FileType.HDFS));
   }
-}
 
+  @Test public void testAppendIsNotSupportedForS3Type() {
+    assertFalse(FileFactory.isAppendSupported(FileFactory.FileType.S3));
+    assertTrue(FileFactory.isAppendSupported(FileFactory.FileType.HDFS));
+    try {
+      FileFactory.getDataOutputStream("s3a://bucket/store/t1/tablestatus.log",
+          FileFactory.FileType.S3, 1024, true);
+      fail("append should fail for object store");
+    } catch (IOException e) {
+      assertTrue(e.getMessage().startsWith("Append is not supported"));
+    }
+    try {
+      FileFactory.getDataOutputStreamUsingAppend("s3a://bucket/store/t1/lock",
+          FileFactory.FileType.S3);
+      fail("append should fail for object store");
+    } catch (IOException e) {
+      assertTrue(e.getMessage().startsWith("Append is not supported"));
+    }
+  }
+}
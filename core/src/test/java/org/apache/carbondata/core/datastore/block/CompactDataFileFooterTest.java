@@ -0,0 +1,138 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.carbondata.core.datastore.block;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.apache.carbondata.core.metadata.ColumnarFormatVersion;
+import org.apache.carbondata.core.metadata.blocklet.BlockletInfo;
+import org.apache.carbondata.core.metadata.blocklet.DataFileFooter;
+import org.apache.carbondata.core.metadata.blocklet.SegmentInfo;
+import org.apache.carbondata.core.metadata.blocklet.index.BlockletBTreeIndex;
+import org.apache.carbondata.core.metadata.blocklet.index.BlockletIndex;
+import org.apache.carbondata.core.metadata.blocklet.index.BlockletMinMaxIndex;
+import org.apache.carbondata.core.metadata.datatype.DataType;
+import org.apache.carbondata.core.metadata.encoder.Encoding;
+import org.apache.carbondata.core.metadata.schema.table.column.ColumnSchema;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class CompactDataFileFooterTest {
+
+  private static BlockletIndex getBlockletIndex(byte start, byte end) {
+    List<ByteBuffer> minValues = Arrays.asList(ByteBuffer.wrap(new byte[] { start }));
+    List<ByteBuffer> maxValues = Arrays.asList(ByteBuffer.wrap(new byte[] { end }));
+    return new BlockletIndex(new BlockletBTreeIndex(new byte[] { start }, new byte[] { end }),
+        new BlockletMinMaxIndex(minValues, maxValues));
+  }
+
+  private static ColumnSchema getColumnSchema(String name, DataType dataType,
+      boolean isDimension, Encoding... encodings) {
+    ColumnSchema columnSchema = new ColumnSchema();
+    columnSchema.setColumnUniqueId(name + "_id");
+    columnSchema.setColumnName(name);
+    columnSchema.setColumnar(true);
+    columnSchema.setDataType(dataType);
+    columnSchema.setDimensionColumn(isDimension);
+    columnSchema.setEncodingList(Arrays.asList(encodings));
+    return columnSchema;
+  }
+
+  private static DataFileFooter getDataFileFooter() {
+    DataFileFooter footer = new DataFileFooter();
+    footer.setVersionId(ColumnarFormatVersion.V3);
+    footer.setNumberOfRows(300);
+    footer.setSchemaUpdatedTimeStamp(1234L);
+    SegmentInfo segmentInfo = new SegmentInfo();
+    segmentInfo.setNumberOfColumns(2);
+    segmentInfo.setColumnCardinality(new int[] { 11 });
+    footer.setSegmentInfo(segmentInfo);
+    ColumnSchema measure = getColumnSchema("salary", DataType.DECIMAL, false);
+    measure.setPrecision(10);
+    measure.setScale(2);
+    measure.setDefaultValue(new byte[] { 5 });
+    footer.setColumnInTable(Arrays.asList(
+        getColumnSchema("name", DataType.STRING, true, Encoding.DICTIONARY, Encoding.RLE),
+        measure));
+    List<BlockletInfo> blockletList = new ArrayList<>();
+    for (int i = 0; i < 2; i++) {
+      BlockletInfo blockletInfo = new BlockletInfo();
+      blockletInfo.setNumberOfRows(150);
+      blockletInfo.setNumberOfPages(3);
+      blockletInfo.setDimensionOffset(100L * i + 50);
+      blockletInfo.setMeasureOffsets(100L * i + 90);
+      blockletInfo.setDimensionChunkOffsets(Arrays.asList(100L * i));
+      blockletInfo.setDimensionChunksLength(Arrays.asList(50));
+      blockletInfo.setMeasureChunkOffsets(Arrays.asList(100L * i + 60));
+      blockletInfo.setMeasureChunksLength(Arrays.asList(30));
+      blockletInfo.setBlockletIndex(getBlockletIndex((byte) i, (byte) (i + 1)));
+      blockletList.add(blockletInfo);
+    }
+    footer.setBlockletList(blockletList);
+    footer.setBlockletIndex(getBlockletIndex((byte) 0, (byte) 2));
+    return footer;
+  }
+
+  @Test public void testFooterIsSameAfterDecoding() throws Exception {
+    DataFileFooter expected = getDataFileFooter();
+    CompactDataFileFooter compactFooter = CompactDataFileFooter.fromDataFileFooter(expected);
+    DataFileFooter actual = compactFooter.toDataFileFooter();
+    Assert.assertEquals(ColumnarFormatVersion.V3, actual.getVersionId());
+    Assert.assertEquals(300, actual.getNumberOfRows());
+    Assert.assertEquals(1234L, actual.getSchemaUpdatedTimeStamp());
+    Assert.assertArrayEquals(new int[] { 11 }, actual.getSegmentInfo().getColumnCardinality());
+    Assert.assertEquals(2, actual.getColumnInTable().size());
+    ColumnSchema dimension = actual.getColumnInTable().get(0);
+    Assert.assertEquals("name", dimension.getColumnName());
+    Assert.assertEquals("name_id", dimension.getColumnUniqueId());
+    Assert.assertTrue(dimension.isDimensionColumn());
+    Assert.assertEquals(Arrays.asList(Encoding.DICTIONARY, Encoding.RLE),
+        dimension.getEncodingList());
+    Assert.assertNull(dimension.getDefaultValue());
+    ColumnSchema measure = actual.getColumnInTable().get(1);
+    Assert.assertEquals(DataType.DECIMAL, measure.getDataType());
+    Assert.assertEquals(10, measure.getPrecision());
+    Assert.assertEquals(2, measure.getScale());
+    Assert.assertArrayEquals(new byte[] { 5 }, measure.getDefaultValue());
+    Assert.assertEquals(2, actual.getBlockletList().size());
+    BlockletInfo blockletInfo = actual.getBlockletList().get(1);
+    Assert.assertEquals(150, blockletInfo.getNumberOfRows());
+    Assert.assertEquals(3, blockletInfo.getNumberOfPages());
+    Assert.assertEquals(150L, blockletInfo.getDimensionOffset());
+    Assert.assertEquals(Arrays.asList(160L), blockletInfo.getMeasureChunkOffsets());
+    Assert.assertEquals(Arrays.asList(50), blockletInfo.getDimensionChunksLength());
+    Assert.assertArrayEquals(new byte[] { 2 },
+        blockletInfo.getBlockletIndex().getBtreeIndex().getEndKey());
+    Assert.assertArrayEquals(new byte[] { 1 },
+        blockletInfo.getBlockletIndex().getMinMaxIndex().getMinValues()[0]);
+    Assert.assertArrayEquals(new byte[] { 2 },
+        actual.getBlockletIndex().getMinMaxIndex().getMaxValues()[0]);
+  }
+
+  @Test public void testCompactFooterIsAlwaysEvictable() throws Exception {
+    CompactDataFileFooter compactFooter =
+        CompactDataFileFooter.fromDataFileFooter(getDataFileFooter());
+    compactFooter.toDataFileFooter();
+    Assert.assertEquals(0, compactFooter.getAccessCount());
+    Assert.assertTrue(compactFooter.getMemorySize() > 0);
+  }
+}
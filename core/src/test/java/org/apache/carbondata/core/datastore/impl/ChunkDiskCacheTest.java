@@ -0,0 +1,113 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.carbondata.core.datastore.impl;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Arrays;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+
+public class ChunkDiskCacheTest {
+
+  private static final String FILE_PATH =
+      "hdfs://store/default/t1/Fact/Part0/Segment_0/0.carbondata";
+
+  private File cacheDirectory;
+
+  @Before public void setUp() {
+    cacheDirectory = new File("ChunkDiskCacheTest");
+    cleanCacheDirectory();
+  }
+
+  @After public void tearDown() {
+    cleanCacheDirectory();
+  }
+
+  private void cleanCacheDirectory() {
+    File[] files = cacheDirectory.listFiles();
+    if (null != files) {
+      for (File file : files) {
+        file.delete();
+      }
+    }
+    cacheDirectory.delete();
+  }
+
+  private static byte[] getData(int length, int value) {
+    byte[] data = new byte[length];
+    Arrays.fill(data, (byte) value);
+    return data;
+  }
+
+  @Test public void testGetCachedRange() {
+    ChunkDiskCache cache = new ChunkDiskCache(cacheDirectory.getAbsolutePath(), 100);
+    cache.put(FILE_PATH, 1L, 0, getData(40, 1));
+    assertArrayEquals(getData(40, 1), cache.get(FILE_PATH, 1L, 0, 40));
+    // range of the modified file or another range is not cached
+    assertNull(cache.get(FILE_PATH, 2L, 0, 40));
+    assertNull(cache.get(FILE_PATH, 1L, 40, 40));
+  }
+
+  @Test public void testEvictLeastRecentlyUsedRange() {
+    ChunkDiskCache cache = new ChunkDiskCache(cacheDirectory.getAbsolutePath(), 100);
+    cache.put(FILE_PATH, 1L, 0, getData(40, 1));
+    cache.put(FILE_PATH, 1L, 40, getData(40, 2));
+    assertNotNull(cache.get(FILE_PATH, 1L, 0, 40));
+    cache.put(FILE_PATH, 1L, 80, getData(40, 3));
+    assertNull(cache.get(FILE_PATH, 1L, 40, 40));
+    assertNotNull(cache.get(FILE_PATH, 1L, 0, 40));
+    assertNotNull(cache.get(FILE_PATH, 1L, 80, 40));
+    assertEquals(80, cache.getCurrentSize());
+  }
+
+  @Test public void testSkipWriteBeyondPendingWriteSize() throws InterruptedException {
+    ChunkDiskCache cache = new ChunkDiskCache(cacheDirectory.getAbsolutePath(), 100, 50);
+    // the writer waits for the lock of the cache, so the first range stays pending
+    synchronized (cache) {
+      cache.putAsync(FILE_PATH, 1L, 0, getData(40, 1));
+      cache.putAsync(FILE_PATH, 1L, 40, getData(40, 2));
+      assertEquals(40, cache.getPendingWriteSize());
+    }
+    while (cache.getPendingWriteSize() > 0) {
+      Thread.sleep(10);
+    }
+    assertArrayEquals(getData(40, 1), cache.get(FILE_PATH, 1L, 0, 40));
+    assertNull(cache.get(FILE_PATH, 1L, 40, 40));
+    assertEquals(40, cache.getCurrentSize());
+  }
+
+  @Test public void testCacheIsReusedAfterRestart() throws IOException {
+    ChunkDiskCache cache = new ChunkDiskCache(cacheDirectory.getAbsolutePath(), 100);
+    cache.put(FILE_PATH, 1L, 0, getData(40, 1));
+    File tempFile = new File(cacheDirectory, "partial.tmp");
+    tempFile.createNewFile();
+    ChunkDiskCache restartedCache = new ChunkDiskCache(cacheDirectory.getAbsolutePath(), 100);
+    assertArrayEquals(getData(40, 1), restartedCache.get(FILE_PATH, 1L, 0, 40));
+    assertEquals(40, restartedCache.getCurrentSize());
+    assertFalse(tempFile.exists());
+  }
+}
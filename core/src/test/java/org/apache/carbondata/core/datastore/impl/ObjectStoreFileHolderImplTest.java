@@ -0,0 +1,87 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.carbondata.core.datastore.impl;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Runs the object store file holder against the local file system of hadoop in place of the
+ * object store
+ */
+public class ObjectStoreFileHolderImplTest {
+
+  private static File file;
+
+  private static byte[] content;
+
+  @BeforeClass public static void setUp() throws IOException {
+    file = new File("ObjectStoreTest.carbondata");
+    content = new byte[1000];
+    for (int i = 0; i < content.length; i++) {
+      content[i] = (byte) i;
+    }
+    FileOutputStream stream = new FileOutputStream(file);
+    try {
+      stream.write(content);
+    } finally {
+      stream.close();
+    }
+  }
+
+  @AfterClass public static void tearDown() {
+    file.delete();
+  }
+
+  @Test public void testReadInParallelParts() throws IOException {
+    ObjectStoreFileHolderImpl fileHolder = new ObjectStoreFileHolderImpl(64, 4);
+    try {
+      byte[] data = fileHolder.readByteArray(file.getAbsolutePath(), 10, 900);
+      assertArrayEquals(Arrays.copyOfRange(content, 10, 910), data);
+    } finally {
+      fileHolder.finish();
+    }
+  }
+
+  @Test public void testReadAtOffsetDoesNotMoveStream() throws IOException {
+    ObjectStoreFileHolderImpl fileHolder = new ObjectStoreFileHolderImpl(64, 4);
+    try {
+      String filePath = file.getAbsolutePath();
+      assertEquals(ByteBuffer.wrap(content, 500, 8).getLong(), fileHolder.readLong(filePath, 500));
+      assertEquals(ByteBuffer.wrap(content, 0, 4).getInt(), fileHolder.readInt(filePath));
+      assertArrayEquals(Arrays.copyOfRange(content, 4, 20), fileHolder.readByteArray(filePath, 16));
+    } finally {
+      fileHolder.finish();
+    }
+  }
+
+  @Test public void testGetFileType() {
+    assertEquals(FileFactory.FileType.S3, FileFactory.getFileType("s3a://bucket/store/t1"));
+    assertEquals(FileFactory.FileType.S3, FileFactory.getFileType("s3://bucket/store/t1"));
+  }
+}
@@ -174,6 +174,44 @@ public class BTreeBlockFinderTest extends TestCase {
     assertEquals(99, findLastBlock.nodeNumber());
   }
 
+  /**
+   * Below method will test that the blocks in between the key ranges are skipped and the
+   * blocks of overlapping ranges are returned once
+   */
+  @Test public void testBtreeSearchOfMultipleKeyRangesSkipsBlocksInBetween()
+      throws KeyGenException {
+    BtreeBuilder builder = new BlockBTreeBuilder();
+    List<DataFileFooter> footerList = getFileFooterListWithOnlyDictionaryKey();
+    BTreeBuilderInfo infos = new BTreeBuilderInfo(footerList, null);
+    builder.build(infos);
+    DataRefNode dataBlock = builder.get();
+    DataRefNodeFinder finder = new BTreeDataRefNodeFinder(new int[] { 2, 2 });
+    int[] dimensionBitLength =
+        CarbonUtil.getDimensionBitLength(new int[] { 10000, 10000 }, new int[] { 1, 1 });
+    KeyGenerator multiDimKeyVarLengthGenerator =
+        new MultiDimKeyVarLengthGenerator(dimensionBitLength);
+    List<IndexKey[]> keyRanges = new ArrayList<IndexKey[]>();
+    for (int value : new int[] { 5, 505, 507 }) {
+      keyRanges.add(new IndexKey[] {
+          new IndexKey(multiDimKeyVarLengthGenerator.generateKey(new int[] { value, 0 }), null),
+          new IndexKey(multiDimKeyVarLengthGenerator.generateKey(new int[] { value, 10000 }),
+              null) });
+    }
+    List<DataRefNode> dataBlocks = finder.findDataBlocks(dataBlock, keyRanges);
+    long firstRangeEnd = finder.findLastDataBlock(dataBlock, keyRanges.get(0)[1]).nodeNumber();
+    long lastRangeStart = finder.findFirstDataBlock(dataBlock, keyRanges.get(1)[0]).nodeNumber();
+    for (int i = 0; i < dataBlocks.size(); i++) {
+      long nodeNumber = dataBlocks.get(i).nodeNumber();
+      assertTrue(nodeNumber <= firstRangeEnd || nodeNumber >= lastRangeStart);
+      if (i > 0) {
+        assertTrue(dataBlocks.get(i - 1).nodeNumber() < nodeNumber);
+      }
+    }
+    assertTrue(dataBlocks.get(0).nodeNumber() <= firstRangeEnd);
+    assertTrue(dataBlocks.get(dataBlocks.size() - 1).nodeNumber() >= lastRangeStart);
+    assertTrue(dataBlocks.size() < 10);
+  }
+
   private List<DataFileFooter> getDataFileFooterList() {
     List<DataFileFooter> list = new ArrayList<DataFileFooter>();
     try {
@@ -0,0 +1,145 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.carbondata.core.datastore.impl.btree;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.apache.carbondata.core.datastore.IndexKey;
+import org.apache.carbondata.core.datastore.MinMaxValues;
+import org.apache.carbondata.core.metadata.blocklet.BlockletInfo;
+import org.apache.carbondata.core.metadata.blocklet.index.BlockletBTreeIndex;
+import org.apache.carbondata.core.metadata.blocklet.index.BlockletIndex;
+import org.apache.carbondata.core.metadata.blocklet.index.BlockletMinMaxIndex;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class OffHeapBlockletIndexTest {
+
+  // one dictionary column of 1 byte followed by two no dictionary columns
+  private static final int[] EACH_COLUMN_VALUE_SIZE = new int[] { 1, -1, -1 };
+
+  private static byte[] getNoDictionaryKey(String first, String second) {
+    ByteBuffer buffer = ByteBuffer.allocate(4 + first.length() + second.length());
+    buffer.putShort((short) 4);
+    buffer.putShort((short) (4 + first.length()));
+    buffer.put(first.getBytes());
+    buffer.put(second.getBytes());
+    return buffer.array();
+  }
+
+  private static byte[] getStartKey(byte dictionaryKey, byte[] noDictionaryKey) {
+    ByteBuffer buffer = ByteBuffer.allocate(8 + 1 + noDictionaryKey.length);
+    buffer.putInt(1);
+    buffer.putInt(noDictionaryKey.length);
+    buffer.put(dictionaryKey);
+    buffer.put(noDictionaryKey);
+    return buffer.array();
+  }
+
+  private static BlockletInfo getBlockletInfo(byte dictionaryKey, String first, String second) {
+    byte[] startKey = getStartKey(dictionaryKey, getNoDictionaryKey(first, second));
+    List<ByteBuffer> minValues = Arrays.asList(ByteBuffer.wrap(new byte[] { dictionaryKey }),
+        ByteBuffer.wrap(first.getBytes()));
+    List<ByteBuffer> maxValues = Arrays.asList(ByteBuffer.wrap(new byte[] { 9 }),
+        ByteBuffer.wrap((first + first).getBytes()));
+    BlockletInfo blockletInfo = new BlockletInfo();
+    blockletInfo.setBlockletIndex(new BlockletIndex(new BlockletBTreeIndex(startKey, startKey),
+        new BlockletMinMaxIndex(minValues, maxValues)));
+    return blockletInfo;
+  }
+
+  private static List<BlockletInfo> getBlockletList() {
+    List<BlockletInfo> blockletList = new ArrayList<>();
+    blockletList.add(getBlockletInfo((byte) 1, "a", "xyz"));
+    blockletList.add(getBlockletInfo((byte) 1, "bc", "x"));
+    blockletList.add(getBlockletInfo((byte) 3, "", "m"));
+    return blockletList;
+  }
+
+  @Test public void testMinMaxAndStartKeysAreReadFromIndex() {
+    OffHeapBlockletIndex blockletIndex = new OffHeapBlockletIndex(getBlockletList());
+    Assert.assertEquals(3, blockletIndex.getNumberOfBlocklets());
+    Assert.assertArrayEquals(new byte[] { 1 }, blockletIndex.getMinValues(1)[0]);
+    Assert.assertArrayEquals("bc".getBytes(), blockletIndex.getMinValues(1)[1]);
+    Assert.assertArrayEquals("bcbc".getBytes(), blockletIndex.getMaxValues(1)[1]);
+    Assert.assertArrayEquals(new byte[0], blockletIndex.getMinValues(2)[1]);
+    IndexKey startKey = blockletIndex.getStartKey(0);
+    Assert.assertArrayEquals(new byte[] { 1 }, startKey.getDictionaryKeys());
+    Assert.assertArrayEquals(getNoDictionaryKey("a", "xyz"), startKey.getNoDictionaryKeys());
+  }
+
+  @Test public void testComparisonWithIndexIsSameAsWithIndexKey() {
+    OffHeapBlockletIndex blockletIndex = new OffHeapBlockletIndex(getBlockletList());
+    BTreeDataRefNodeFinder finder = new BTreeDataRefNodeFinder(EACH_COLUMN_VALUE_SIZE);
+    IndexKey[] searchKeys = new IndexKey[] {
+        new IndexKey(new byte[] { 1 }, getNoDictionaryKey("a", "xyz")),
+        new IndexKey(new byte[] { 1 }, getNoDictionaryKey("a", "xy")),
+        new IndexKey(new byte[] { 1 }, getNoDictionaryKey("b", "zz")),
+        new IndexKey(new byte[] { 2 }, getNoDictionaryKey("", "")),
+        new IndexKey(new byte[] { 3 }, getNoDictionaryKey("", "m")) };
+    for (IndexKey searchKey : searchKeys) {
+      for (int i = 0; i < blockletIndex.getNumberOfBlocklets(); i++) {
+        int expected = finder.compareIndexes(searchKey, blockletIndex.getStartKey(i));
+        int actual = finder.compareIndexes(searchKey, blockletIndex, i);
+        Assert.assertEquals(Integer.signum(expected), Integer.signum(actual));
+      }
+    }
+    Assert.assertEquals(0, finder.compareIndexes(searchKeys[0], blockletIndex, 0));
+    Assert.assertEquals(0, finder.compareIndexes(searchKeys[4], blockletIndex, 2));
+  }
+
+  @Test public void testMinMaxComparisonIsSameAsWithArrays() {
+    OffHeapBlockletIndex blockletIndex = new OffHeapBlockletIndex(getBlockletList());
+    byte[][] values = new byte[][] { new byte[0], new byte[] { 1 }, new byte[] { 2 },
+        new byte[] { 9 }, new byte[] { 10 }, "a".getBytes(), "aa".getBytes(), "b".getBytes(),
+        "bc".getBytes(), "bcbc".getBytes(), "bcbd".getBytes() };
+    for (int i = 0; i < blockletIndex.getNumberOfBlocklets(); i++) {
+      MinMaxValues offHeapValues = blockletIndex.getMinMaxValues(i);
+      MinMaxValues arrayValues = new ArrayMinMaxValues(blockletIndex.getMaxValues(i),
+          blockletIndex.getMinValues(i));
+      for (int column = 0; column < 2; column++) {
+        Assert.assertArrayEquals(arrayValues.getMinValue(column),
+            offHeapValues.getMinValue(column));
+        Assert.assertArrayEquals(arrayValues.getMaxValue(column),
+            offHeapValues.getMaxValue(column));
+        for (byte[] value : values) {
+          Assert.assertEquals(Integer.signum(arrayValues.compareToMin(column, value)),
+              Integer.signum(offHeapValues.compareToMin(column, value)));
+          Assert.assertEquals(Integer.signum(arrayValues.compareToMax(column, value)),
+              Integer.signum(offHeapValues.compareToMax(column, value)));
+        }
+      }
+    }
+    MinMaxValues minMaxValues = blockletIndex.getMinMaxValues(1);
+    Assert.assertEquals(0, minMaxValues.compareToMin(1, "bc".getBytes()));
+    Assert.assertTrue(minMaxValues.compareToMin(1, "b".getBytes()) < 0);
+    Assert.assertTrue(minMaxValues.compareToMax(1, "bcbd".getBytes()) > 0);
+    Assert.assertTrue(minMaxValues.compareToMax(0, new byte[] { (byte) 200 }) > 0);
+  }
+
+  @Test public void testBlockletsWithDifferentMinMaxColumnsAreNotSupported() {
+    List<BlockletInfo> blockletList = getBlockletList();
+    Assert.assertTrue(OffHeapBlockletIndex.isSupported(blockletList));
+    blockletList.get(1).getBlockletIndex().getMinMaxIndex()
+        .setMinValues(new byte[][] { new byte[] { 1 } });
+    Assert.assertFalse(OffHeapBlockletIndex.isSupported(blockletList));
+  }
+}
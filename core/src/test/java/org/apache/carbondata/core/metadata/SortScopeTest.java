@@ -0,0 +1,44 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.carbondata.core.metadata;
+
+import org.apache.carbondata.core.statusmanager.LoadMetadataDetails;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class SortScopeTest {
+
+  @Test public void testGetSortScope() {
+    Assert.assertEquals(SortScope.NO_SORT, SortScope.getSortScope(" no_sort "));
+    Assert.assertEquals(SortScope.BATCH_SORT, SortScope.getSortScope("BATCH_SORT"));
+    Assert.assertEquals(SortScope.LOCAL_SORT, SortScope.getSortScope(null));
+    Assert.assertEquals(SortScope.GLOBAL_SORT, SortScope.getSortScope("global_sort"));
+    Assert.assertEquals(SortScope.LOCAL_SORT, SortScope.getSortScope("full_sort"));
+    Assert.assertFalse(SortScope.isValidSortScope("full_sort"));
+  }
+
+  @Test public void testSortScopeOfLoadMetadataDetails() {
+    LoadMetadataDetails details = new LoadMetadataDetails();
+    // segments loaded before the sort scope is recorded are locally sorted
+    Assert.assertEquals(SortScope.LOCAL_SORT, details.getSortScope());
+    details.setSortScope(SortScope.NO_SORT);
+    Assert.assertEquals(SortScope.NO_SORT, details.getSortScope());
+    Assert.assertFalse(details.getSortScope().isSorted());
+  }
+}
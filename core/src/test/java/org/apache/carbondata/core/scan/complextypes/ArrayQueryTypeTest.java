@@ -17,10 +17,23 @@
 package org.apache.carbondata.core.scan.complextypes;
 
 import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
 
+import org.apache.carbondata.core.cache.dictionary.ColumnDictionaryInfo;
+import org.apache.carbondata.core.cache.dictionary.ForwardDictionary;
+import org.apache.carbondata.core.datastore.chunk.impl.DimensionRawColumnChunk;
+import org.apache.carbondata.core.metadata.datatype.DataType;
+import org.apache.carbondata.core.scan.result.vector.CarbonColumnVector;
+
+import mockit.Invocation;
+import mockit.Mock;
+import mockit.MockUp;
 import org.junit.BeforeClass;
 import org.junit.Test;
 
+import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertNull;
 
@@ -52,4 +65,42 @@ public class ArrayQueryTypeTest {
     arrayQueryType.addChildren(arrayQueryType);
     assertNotNull(arrayQueryType.getDataBasedOnDataTypeFromSurrogates(surrogateData));
   }
+
+  @Test public void testFillColumnVector() {
+    ArrayQueryType queryType = new ArrayQueryType("test", "test", 1);
+    queryType.addChildren(new PrimitiveQueryType("test.val", "test", 2, DataType.INT, 4,
+        new ForwardDictionary(new ColumnDictionaryInfo(DataType.INT)), false));
+    new MockUp<ComplexQueryType>() {
+      @Mock byte[] getBlockDataChunk(DimensionRawColumnChunk[] rawColumnChunks, int rowNumber,
+          int pageNumber) {
+        // array of 2 elements starting from the row 5 of the child chunk
+        return new byte[] { 0, 0, 0, 2, 0, 0, 0, 5 };
+      }
+    };
+    new MockUp<ForwardDictionary>() {
+      @Mock public String getDictionaryValueForKey(int surrogateKey) {
+        return "7";
+      }
+    };
+    final List<Integer> arrayLengths = new ArrayList<>();
+    final List<Integer> elementRows = new ArrayList<>();
+    CarbonColumnVector vector = new MockUp<CarbonColumnVector>() {
+      @Mock int putArray(int rowId, int length) {
+        arrayLengths.add(length);
+        return 3;
+      }
+
+      @Mock CarbonColumnVector getChildVector(Invocation invocation, int ordinal) {
+        return invocation.getInvokedInstance();
+      }
+
+      @Mock void putInt(int rowId, int value) {
+        assertEquals(7, value);
+        elementRows.add(rowId);
+      }
+    }.getMockInstance();
+    queryType.fillColumnVector(new DimensionRawColumnChunk[3], 0, 0, vector, 0);
+    assertEquals(Arrays.asList(2), arrayLengths);
+    assertEquals(Arrays.asList(3, 4), elementRows);
+  }
 }
@@ -17,18 +17,24 @@
 package org.apache.carbondata.core.scan.complextypes;
 
 import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
 
 import org.apache.carbondata.core.cache.dictionary.ColumnDictionaryInfo;
 import org.apache.carbondata.core.cache.dictionary.Dictionary;
 import org.apache.carbondata.core.cache.dictionary.ForwardDictionary;
+import org.apache.carbondata.core.datastore.chunk.impl.DimensionRawColumnChunk;
 import org.apache.carbondata.core.metadata.datatype.DataType;
 import org.apache.carbondata.core.keygenerator.directdictionary.DirectDictionaryGenerator;
 import org.apache.carbondata.core.keygenerator.directdictionary.DirectDictionaryKeyGeneratorFactory;
 import org.apache.carbondata.core.keygenerator.mdkey.Bits;
+import org.apache.carbondata.core.scan.result.vector.CarbonColumnVector;
 import org.apache.carbondata.core.util.DataTypeUtil;
 
 import mockit.Mock;
 import mockit.MockUp;
+import org.apache.spark.sql.catalyst.util.DateTimeUtils;
 import org.apache.spark.sql.types.BooleanType$;
 import org.apache.spark.sql.types.DoubleType$;
 import org.apache.spark.sql.types.IntegerType$;
@@ -133,6 +139,32 @@ public class PrimitiveQueryTypeTest {
     assertEquals(expectedValue, actualValue);
   }
 
+  @Test public void testFillColumnVectorForDateWhenIsDirectDictionaryFalse() {
+    PrimitiveQueryType queryType = new PrimitiveQueryType("test.val", "test", 2, DataType.DATE, 4,
+        new ForwardDictionary(new ColumnDictionaryInfo(DataType.DATE)), false);
+    new MockUp<ComplexQueryType>() {
+      @Mock byte[] getBlockDataChunk(DimensionRawColumnChunk[] rawColumnChunks, int rowNumber,
+          int pageNumber) {
+        return new byte[] { 0, 0, 0, 5 };
+      }
+    };
+    new MockUp<ForwardDictionary>() {
+      @Mock public String getDictionaryValueForKey(int surrogateKey) {
+        return "2017-01-02";
+      }
+    };
+    final List<Integer> values = new ArrayList<>();
+    CarbonColumnVector vector = new MockUp<CarbonColumnVector>() {
+      @Mock void putInt(int rowId, int value) {
+        values.add(value);
+      }
+    }.getMockInstance();
+    queryType.fillColumnVector(new DimensionRawColumnChunk[3], 0, 0, vector, 0);
+    // date vector keeps the number of days
+    assertEquals(Arrays.asList(DateTimeUtils.fromJavaDate(java.sql.Date.valueOf("2017-01-02"))),
+        values);
+  }
+
   public Object getDataBasedOnDataTypeFromSurrogates(ByteBuffer surrogateData) {
     int keySize = 2;
     byte[] data = new byte[keySize];
@@ -0,0 +1,291 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.carbondata.core.scan.filter;
+
+import java.nio.charset.Charset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.apache.carbondata.core.cache.dictionary.Dictionary;
+import org.apache.carbondata.core.cache.dictionary.DictionaryChunksWrapper;
+import org.apache.carbondata.core.constants.CarbonCommonConstants;
+import org.apache.carbondata.core.metadata.AbsoluteTableIdentifier;
+import org.apache.carbondata.core.metadata.CarbonTableIdentifier;
+import org.apache.carbondata.core.metadata.datatype.DataType;
+import org.apache.carbondata.core.metadata.encoder.Encoding;
+import org.apache.carbondata.core.metadata.schema.table.column.CarbonDimension;
+import org.apache.carbondata.core.metadata.schema.table.column.ColumnSchema;
+import org.apache.carbondata.core.scan.expression.ColumnExpression;
+import org.apache.carbondata.core.scan.expression.Expression;
+import org.apache.carbondata.core.scan.expression.ExpressionResult;
+import org.apache.carbondata.core.scan.expression.LiteralExpression;
+import org.apache.carbondata.core.scan.expression.UnknownExpression;
+import org.apache.carbondata.core.scan.expression.conditional.GreaterThanEqualToExpression;
+import org.apache.carbondata.core.scan.expression.conditional.LessThanExpression;
+import org.apache.carbondata.core.scan.expression.logical.AndExpression;
+import org.apache.carbondata.core.scan.filter.intf.ExpressionType;
+import org.apache.carbondata.core.scan.filter.intf.RowIntf;
+import org.apache.carbondata.core.util.CarbonProperties;
+
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+public class DictionaryFilterValueResolverTest {
+
+  private AbsoluteTableIdentifier tableIdentifier;
+
+  private ColumnExpression columnExpression;
+
+  @Before public void setUp() {
+    tableIdentifier = new AbsoluteTableIdentifier("/tmp/store",
+        new CarbonTableIdentifier("default", "t1", UUID.randomUUID().toString()));
+    ColumnSchema columnSchema = new ColumnSchema();
+    columnSchema.setColumnName("name");
+    columnSchema.setColumnUniqueId(UUID.randomUUID().toString());
+    columnSchema.setDataType(DataType.STRING);
+    columnSchema.setDimensionColumn(true);
+    columnSchema.setEncodingList(Arrays.asList(Encoding.DICTIONARY));
+    CarbonDimension dimension = new CarbonDimension(columnSchema, 0, 0, -1, -1);
+    columnExpression = new ColumnExpression("name", DataType.STRING);
+    columnExpression.setDimension(dimension);
+    columnExpression.setCarbonColumn(dimension);
+  }
+
+  @Test public void testRangeIsResolvedFromSortIndex() throws Exception {
+    Dictionary dictionary = new ListDictionary("cat", "bat", "ball", "apple", "bzz", "c");
+    // name like 'b%'
+    Expression expression = new AndExpression(
+        new GreaterThanEqualToExpression(columnExpression,
+            new LiteralExpression("b", DataType.STRING)),
+        new LessThanExpression(columnExpression, new LiteralExpression("c", DataType.STRING)));
+    List<Integer> surrogates = DictionaryFilterValueResolver
+        .getFilteredSurrogates(tableIdentifier, expression, columnExpression, true, dictionary);
+    // surrogate 1 is the null member
+    Assert.assertEquals(Arrays.asList(3, 4, 6), surrogates);
+  }
+
+  @Test public void testCachedResultIsExtendedForNewValues() throws Exception {
+    ListDictionary dictionary = new ListDictionary("xa", "yb", "xc");
+    CountingContainsExpression expression = new CountingContainsExpression(columnExpression, "x");
+    Assert.assertEquals(Arrays.asList(2, 4), DictionaryFilterValueResolver
+        .getFilteredSurrogates(tableIdentifier, expression, columnExpression, true, dictionary));
+    Assert.assertEquals(4, expression.evaluateCount);
+
+    Assert.assertEquals(Arrays.asList(2, 4), DictionaryFilterValueResolver
+        .getFilteredSurrogates(tableIdentifier, expression, columnExpression, true, dictionary));
+    Assert.assertEquals(4, expression.evaluateCount);
+
+    // only the new value is evaluated
+    dictionary = new ListDictionary("xa", "yb", "xc", "xd");
+    Assert.assertEquals(Arrays.asList(2, 4, 5), DictionaryFilterValueResolver
+        .getFilteredSurrogates(tableIdentifier, expression, columnExpression, true, dictionary));
+    Assert.assertEquals(5, expression.evaluateCount);
+  }
+
+  @Test public void testExcludeFilterSelectsNotMatchingValues() throws Exception {
+    Dictionary dictionary = new ListDictionary("xa", "yb", "xc");
+    Expression expression = new CountingContainsExpression(columnExpression, "y");
+    Assert.assertEquals(Arrays.asList(2, 4), DictionaryFilterValueResolver
+        .getFilteredSurrogates(tableIdentifier, expression, columnExpression, false, dictionary));
+  }
+
+  @Test public void testParallelResultIsSameAsSerial() throws Exception {
+    String[] values = new String[150000];
+    for (int i = 0; i < values.length; i++) {
+      values[i] = "v" + i;
+    }
+    Dictionary dictionary = new ListDictionary(values);
+    CarbonProperties properties = CarbonProperties.getInstance();
+    try {
+      properties.addProperty(CarbonCommonConstants.DICTIONARY_FILTER_CACHE_SIZE, "0");
+      properties.addProperty(CarbonCommonConstants.DICTIONARY_FILTER_RESOLVE_THREADS, "1");
+      CountingContainsExpression.EVALUATING_THREADS.clear();
+      List<Integer> serial = DictionaryFilterValueResolver.getFilteredSurrogates(tableIdentifier,
+          new CountingContainsExpression(columnExpression, "7"), columnExpression, true,
+          dictionary);
+      Assert.assertEquals(1, CountingContainsExpression.EVALUATING_THREADS.size());
+
+      properties.addProperty(CarbonCommonConstants.DICTIONARY_FILTER_RESOLVE_THREADS, "3");
+      CountingContainsExpression.EVALUATING_THREADS.clear();
+      List<Integer> parallel = DictionaryFilterValueResolver.getFilteredSurrogates(
+          tableIdentifier, new CountingContainsExpression(columnExpression, "7"),
+          columnExpression, true, dictionary);
+      Assert.assertTrue(CountingContainsExpression.EVALUATING_THREADS.size() > 1);
+      Assert.assertFalse(serial.isEmpty());
+      Assert.assertEquals(serial, parallel);
+    } finally {
+      properties.addProperty(CarbonCommonConstants.DICTIONARY_FILTER_CACHE_SIZE,
+          CarbonCommonConstants.DICTIONARY_FILTER_CACHE_SIZE_DEFAULT);
+      properties.addProperty(CarbonCommonConstants.DICTIONARY_FILTER_RESOLVE_THREADS,
+          CarbonCommonConstants.DICTIONARY_FILTER_RESOLVE_THREADS_DEFAULT);
+    }
+  }
+
+  @Test public void testExpressionWithoutCanonicalFormIsNotCached() throws Exception {
+    Dictionary dictionary = new ListDictionary("xa", "yb", "xc");
+    NonDeterministicExpression expression = new NonDeterministicExpression(columnExpression);
+    DictionaryFilterValueResolver
+        .getFilteredSurrogates(tableIdentifier, expression, columnExpression, true, dictionary);
+    DictionaryFilterValueResolver
+        .getFilteredSurrogates(tableIdentifier, expression, columnExpression, true, dictionary);
+    Assert.assertEquals(8, expression.evaluateCount);
+  }
+
+  /**
+   * unknown expression of the engine without a canonical string
+   */
+  private static class NonDeterministicExpression extends UnknownExpression {
+
+    private int evaluateCount;
+
+    private NonDeterministicExpression(ColumnExpression column) {
+      this.children.add(column);
+    }
+
+    @Override public ExpressionResult evaluate(RowIntf value) {
+      evaluateCount++;
+      return new ExpressionResult(DataType.BOOLEAN, true);
+    }
+
+    @Override public ExpressionType getFilterExpressionType() {
+      return ExpressionType.UNKNOWN;
+    }
+
+    @Override public void findAndSetChild(Expression oldExpr, Expression newExpr) {
+    }
+
+    @Override public String getString() {
+      return "rand()";
+    }
+
+    @Override public List<ColumnExpression> getAllColumnList() {
+      List<ColumnExpression> columns = new ArrayList<>();
+      columns.add((ColumnExpression) children.get(0));
+      return columns;
+    }
+  }
+
+  /**
+   * evaluates whether the column value contains the given string and counts the evaluations
+   */
+  private static class CountingContainsExpression extends Expression {
+
+    private String contains;
+
+    /**
+     * threads evaluated any of the copies of the expression
+     */
+    private static final Set<String> EVALUATING_THREADS =
+        Collections.newSetFromMap(new ConcurrentHashMap<String, Boolean>());
+
+    private int evaluateCount;
+
+    private CountingContainsExpression(ColumnExpression column, String contains) {
+      this.children.add(column);
+      this.contains = contains;
+    }
+
+    @Override public ExpressionResult evaluate(RowIntf value) {
+      evaluateCount++;
+      EVALUATING_THREADS.add(Thread.currentThread().getName());
+      Object columnValue = value.getVal(0);
+      if (null == columnValue) {
+        return new ExpressionResult(DataType.BOOLEAN, null);
+      }
+      return new ExpressionResult(DataType.BOOLEAN, columnValue.toString().contains(contains));
+    }
+
+    @Override public ExpressionType getFilterExpressionType() {
+      return ExpressionType.UNKNOWN;
+    }
+
+    @Override public void findAndSetChild(Expression oldExpr, Expression newExpr) {
+    }
+
+    @Override public String getString() {
+      return "contains(name, " + contains + ")";
+    }
+  }
+
+  /**
+   * dictionary of the given values with the null member as the first value
+   */
+  private static class ListDictionary implements Dictionary {
+
+    private List<String> values = new ArrayList<>();
+
+    private List<Integer> sortOrder = new ArrayList<>();
+
+    private ListDictionary(String... values) {
+      this.values.add(CarbonCommonConstants.MEMBER_DEFAULT_VAL);
+      this.values.addAll(Arrays.asList(values));
+      for (int i = 1; i <= this.values.size(); i++) {
+        sortOrder.add(i);
+      }
+      Collections.sort(sortOrder, new Comparator<Integer>() {
+        @Override public int compare(Integer surrogate1, Integer surrogate2) {
+          return getDictionaryValueForKey(surrogate1)
+              .compareTo(getDictionaryValueForKey(surrogate2));
+        }
+      });
+    }
+
+    @Override public int getSurrogateKey(String value) {
+      return values.indexOf(value) + 1;
+    }
+
+    @Override public int getSurrogateKey(byte[] value) {
+      return getSurrogateKey(new String(value, Charset.forName("UTF-8")));
+    }
+
+    @Override public String getDictionaryValueForKey(int surrogateKey) {
+      return values.get(surrogateKey - 1);
+    }
+
+    @Override public byte[] getDictionaryValueForKeyInBytes(int surrogateKey) {
+      return getDictionaryValueForKey(surrogateKey).getBytes(Charset.forName("UTF-8"));
+    }
+
+    @Override public int getSortedIndex(int surrogateKey) {
+      return sortOrder.indexOf(surrogateKey) + 1;
+    }
+
+    @Override public String getDictionaryValueFromSortedIndex(int sortedIndex) {
+      return getDictionaryValueForKey(sortOrder.get(sortedIndex - 1));
+    }
+
+    @Override public DictionaryChunksWrapper getDictionaryChunks() {
+      List<byte[]> chunk = new ArrayList<>();
+      for (int i = 1; i <= values.size(); i++) {
+        chunk.add(getDictionaryValueForKeyInBytes(i));
+      }
+      List<List<byte[]>> chunks = new ArrayList<>();
+      chunks.add(chunk);
+      return new DictionaryChunksWrapper(chunks);
+    }
+
+    @Override public void clear() {
+    }
+  }
+}
@@ -0,0 +1,100 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.carbondata.core.scan.processor;
+
+import java.nio.charset.Charset;
+
+import org.apache.carbondata.core.constants.CarbonCommonConstants;
+import org.apache.carbondata.core.datastore.MinMaxValues;
+import org.apache.carbondata.core.datastore.impl.btree.ArrayMinMaxValues;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class TopNPrunerTest {
+
+  @Test public void testBlockletsAfterTopNRowsAreSkippedInAscendingOrder() {
+    TopNPruner pruner = new TopNPruner(10, false, true);
+    assertTrue(pruner.isScanRequired(minMax("b", "d"), 0));
+    pruner.addScannedBlocklet(minMax("b", "d"), 0, 6);
+    // 6 rows are bounded, fewer than the top n
+    assertTrue(pruner.isScanRequired(minMax("x", "z"), 0));
+    pruner.addScannedBlocklet(minMax("c", "f"), 0, 6);
+    assertFalse(pruner.isScanRequired(minMax("g", "z"), 0));
+    assertTrue(pruner.isScanRequired(minMax("f", "z"), 0));
+    assertTrue(pruner.isScanRequired(minMax("a", "z"), 0));
+  }
+
+  @Test public void testFarthestBoundIsRemovedOnceNotNeeded() {
+    TopNPruner pruner = new TopNPruner(10, false, true);
+    pruner.addScannedBlocklet(minMax("m", "p"), 0, 10);
+    assertFalse(pruner.isScanRequired(minMax("q", "z"), 0));
+    assertTrue(pruner.isScanRequired(minMax("n", "z"), 0));
+    pruner.addScannedBlocklet(minMax("a", "c"), 0, 10);
+    assertFalse(pruner.isScanRequired(minMax("n", "z"), 0));
+    assertTrue(pruner.isScanRequired(minMax("b", "z"), 0));
+  }
+
+  @Test public void testBlockletsAfterTopNRowsAreSkippedInDescendingOrder() {
+    TopNPruner pruner = new TopNPruner(10, true, true);
+    pruner.addScannedBlocklet(minMax("s", "z"), 0, 5);
+    assertTrue(pruner.isScanRequired(minMax("a", "c"), 0));
+    pruner.addScannedBlocklet(minMax("p", "r"), 0, 5);
+    assertFalse(pruner.isScanRequired(minMax("a", "o"), 0));
+    assertTrue(pruner.isScanRequired(minMax("a", "p"), 0));
+  }
+
+  @Test public void testBlockletsWithNullValueAreNotPruned() {
+    String nullValue = CarbonCommonConstants.MEMBER_DEFAULT_VAL;
+    TopNPruner pruner = new TopNPruner(10, false, true);
+    pruner.addScannedBlocklet(minMax("0", "1"), 0, 10);
+    // null rows are the first in ascending order
+    assertTrue(pruner.isScanRequired(minMax(nullValue, "z"), 0));
+    // null value is in the range of the values, so the rows can be null
+    assertTrue(pruner.isScanRequired(minMax("2", "z"), 0));
+    assertFalse(pruner.isScanRequired(minMax("a", "z"), 0));
+
+    pruner = new TopNPruner(10, true, true);
+    // null rows are the last in descending order, so they do not bound the rows
+    pruner.addScannedBlocklet(minMax("0", "z"), 0, 10);
+    assertTrue(pruner.isScanRequired(minMax("0", "1"), 0));
+  }
+
+  @Test public void testDirectDictionaryValuesAreComparedAsBytes() {
+    TopNPruner pruner = new TopNPruner(1, false, false);
+    pruner.addScannedBlocklet(minMax(new byte[] { 0, 1 }, new byte[] { 0, 2 }), 0, 1);
+    assertFalse(pruner.isScanRequired(minMax(new byte[] { 1, 0 }, new byte[] { 1, 5 }), 0));
+    assertTrue(pruner.isScanRequired(minMax(new byte[] { 0, 2 }, new byte[] { 1, 5 }), 0));
+  }
+
+  @Test public void testEmptyBlockletDoesNotBoundRows() {
+    TopNPruner pruner = new TopNPruner(1, false, true);
+    pruner.addScannedBlocklet(minMax("a", "b"), 0, 0);
+    assertTrue(pruner.isScanRequired(minMax("x", "z"), 0));
+  }
+
+  private static MinMaxValues minMax(String min, String max) {
+    Charset charset = Charset.forName(CarbonCommonConstants.DEFAULT_CHARSET);
+    return minMax(min.getBytes(charset), max.getBytes(charset));
+  }
+
+  private static MinMaxValues minMax(byte[] min, byte[] max) {
+    return new ArrayMinMaxValues(new byte[][] { max }, new byte[][] { min });
+  }
+}
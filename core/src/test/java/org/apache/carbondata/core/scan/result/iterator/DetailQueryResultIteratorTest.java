@@ -0,0 +1,250 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.carbondata.core.scan.result.iterator;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+
+import org.apache.carbondata.core.constants.CarbonCommonConstants;
+import org.apache.carbondata.core.datastore.DataRefNode;
+import org.apache.carbondata.core.datastore.FileHolder;
+import org.apache.carbondata.core.datastore.IndexKey;
+import org.apache.carbondata.core.datastore.block.BlockIndex;
+import org.apache.carbondata.core.datastore.impl.FileFactory;
+import org.apache.carbondata.core.datastore.impl.FileHolderImpl;
+import org.apache.carbondata.core.datastore.impl.btree.BTreeDataRefNodeFinder;
+import org.apache.carbondata.core.metadata.AbsoluteTableIdentifier;
+import org.apache.carbondata.core.metadata.CarbonTableIdentifier;
+import org.apache.carbondata.core.scan.executor.infos.BlockExecutionInfo;
+import org.apache.carbondata.core.scan.model.QueryModel;
+import org.apache.carbondata.core.scan.processor.AbstractDataBlockIterator;
+import org.apache.carbondata.core.scan.processor.impl.DataBlockIteratorImpl;
+import org.apache.carbondata.core.stats.QueryStatisticsModel;
+import org.apache.carbondata.core.util.CarbonProperties;
+
+import mockit.Invocation;
+import mockit.Mock;
+import mockit.MockUp;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class DetailQueryResultIteratorTest {
+
+  private static final int NUMBER_OF_BLOCKS = 5;
+
+  private static final int BATCHES_PER_BLOCK = 3;
+
+  private static final int ROWS_PER_BATCH = 2;
+
+  /**
+   * batches of the rows of each block, rows are block number and row number in the block
+   */
+  private Map<BlockExecutionInfo, List<List<Object[]>>> blockBatches;
+
+  /**
+   * remaining batches of each data block iterator
+   */
+  private Map<Object, LinkedList<List<Object[]>>> iteratorBatches;
+
+  private Set<Object> prefetchedIterators;
+
+  private Set<Object> closedIterators;
+
+  private List<TestFileHolder> fileHolders;
+
+  private int maxOpenFileHolders;
+
+  @Before public void setUp() {
+    blockBatches = new HashMap<>();
+    iteratorBatches = new IdentityHashMap<>();
+    prefetchedIterators = new HashSet<>();
+    closedIterators = new HashSet<>();
+    fileHolders = new ArrayList<>();
+    maxOpenFileHolders = 0;
+    CarbonProperties.getInstance()
+        .addProperty(CarbonCommonConstants.CARBON_QUERY_SCAN_PARALLELISM, "2");
+    mockBlockScan();
+  }
+
+  @After public void tearDown() {
+    CarbonProperties.getInstance()
+        .addProperty(CarbonCommonConstants.CARBON_QUERY_SCAN_PARALLELISM,
+            CarbonCommonConstants.CARBON_QUERY_SCAN_PARALLELISM_DEFAULT);
+  }
+
+  private void mockBlockScan() {
+    new MockUp<BTreeDataRefNodeFinder>() {
+      @Mock public DataRefNode findFirstDataBlock(DataRefNode dataRefBlock, IndexKey searchKey) {
+        return new MockUp<DataRefNode>() {
+        }.getMockInstance();
+      }
+    };
+    new MockUp<FileFactory>() {
+      @Mock public FileHolder getFileHolder(FileFactory.FileType fileType) {
+        TestFileHolder fileHolder = new TestFileHolder();
+        fileHolders.add(fileHolder);
+        maxOpenFileHolders = Math.max(maxOpenFileHolders, getOpenFileHolders());
+        return fileHolder;
+      }
+    };
+    new MockUp<AbstractDataBlockIterator>() {
+      @Mock public void $init(BlockExecutionInfo blockExecutionInfo, FileHolder fileReader,
+          int batchSize, QueryStatisticsModel queryStatisticsModel,
+          ExecutorService executorService) {
+      }
+
+      @Mock public boolean hasNext(Invocation invocation) {
+        return !iteratorBatches.get(invocation.getInvokedInstance()).isEmpty();
+      }
+
+      @Mock public void prefetch(Invocation invocation) {
+        prefetchedIterators.add(invocation.getInvokedInstance());
+      }
+
+      @Mock public void close(Invocation invocation) {
+        closedIterators.add(invocation.getInvokedInstance());
+      }
+    };
+    new MockUp<DataBlockIteratorImpl>() {
+      @Mock public void $init(Invocation invocation, BlockExecutionInfo blockExecutionInfo,
+          FileHolder fileReader, int batchSize, QueryStatisticsModel queryStatisticsModel,
+          ExecutorService executorService) {
+        iteratorBatches.put(invocation.getInvokedInstance(),
+            new LinkedList<>(blockBatches.get(blockExecutionInfo)));
+      }
+
+      @Mock public List<Object[]> next(Invocation invocation) {
+        return iteratorBatches.get(invocation.getInvokedInstance()).poll();
+      }
+    };
+  }
+
+  private int getOpenFileHolders() {
+    int openFileHolders = 0;
+    for (TestFileHolder fileHolder : fileHolders) {
+      if (fileHolder.finishCount == 0) {
+        openFileHolders++;
+      }
+    }
+    return openFileHolders;
+  }
+
+  private List<BlockExecutionInfo> getBlockExecutionInfos() {
+    List<BlockExecutionInfo> infos = new ArrayList<>();
+    for (int block = 0; block < NUMBER_OF_BLOCKS; block++) {
+      BlockExecutionInfo info = new BlockExecutionInfo();
+      info.setDataBlock(new BlockIndex());
+      info.setEachColumnValueSize(new int[0]);
+      info.setNumberOfBlockletToScan(1);
+      List<List<Object[]>> batches = new ArrayList<>();
+      for (int batch = 0; batch < BATCHES_PER_BLOCK; batch++) {
+        List<Object[]> rows = new ArrayList<>();
+        for (int row = 0; row < ROWS_PER_BATCH; row++) {
+          rows.add(new Object[] { block, batch * ROWS_PER_BATCH + row });
+        }
+        batches.add(rows);
+      }
+      blockBatches.put(info, batches);
+      infos.add(info);
+    }
+    return infos;
+  }
+
+  private DetailQueryResultIterator getIterator() {
+    QueryModel queryModel = new QueryModel();
+    queryModel.setAbsoluteTableIdentifier(new AbsoluteTableIdentifier("/tmp/store",
+        new CarbonTableIdentifier("default", "t1", "1")));
+    return new DetailQueryResultIterator(getBlockExecutionInfos(), queryModel, null);
+  }
+
+  @Test public void testScanBlocksTogetherReturnsAllRows() {
+    DetailQueryResultIterator iterator = getIterator();
+    List<Integer> blocksOfBatches = new ArrayList<>();
+    Set<String> rows = new HashSet<>();
+    int numberOfRows = 0;
+    while (iterator.hasNext()) {
+      List<Object[]> batch = iterator.next().getRows();
+      blocksOfBatches.add((Integer) batch.get(0)[0]);
+      for (Object[] row : batch) {
+        rows.add(Arrays.toString(row));
+        numberOfRows++;
+      }
+    }
+    iterator.close();
+
+    Set<String> expectedRows = new HashSet<>();
+    for (int block = 0; block < NUMBER_OF_BLOCKS; block++) {
+      for (int row = 0; row < BATCHES_PER_BLOCK * ROWS_PER_BATCH; row++) {
+        expectedRows.add(Arrays.toString(new Object[] { block, row }));
+      }
+    }
+    assertEquals(expectedRows.size(), numberOfRows);
+    assertEquals(expectedRows, rows);
+    // batches of the blocks scanned together are taken in turn
+    assertEquals(Arrays.asList(0, 1, 0, 1, 0, 1), blocksOfBatches.subList(0, 6));
+    assertEquals(NUMBER_OF_BLOCKS, prefetchedIterators.size());
+    assertEquals(NUMBER_OF_BLOCKS, closedIterators.size());
+    assertEquals(NUMBER_OF_BLOCKS + 1, fileHolders.size());
+    assertFileHoldersFinished();
+  }
+
+  @Test public void testCloseFinishesFileHoldersOfActiveBlocks() {
+    DetailQueryResultIterator iterator = getIterator();
+    assertTrue(iterator.hasNext());
+    iterator.next();
+    iterator.next();
+    // two blocks are being scanned, the rest of the blocks are not opened
+    assertEquals(2, prefetchedIterators.size());
+    assertFalse(iterator.blockExecutionInfos.isEmpty());
+    iterator.close();
+    assertEquals(2, closedIterators.size());
+    assertFileHoldersFinished();
+  }
+
+  private void assertFileHoldersFinished() {
+    // the file holder of the query and the ones of the blocks scanned together
+    assertTrue(maxOpenFileHolders <= 3);
+    for (TestFileHolder fileHolder : fileHolders) {
+      assertEquals(1, fileHolder.finishCount);
+    }
+  }
+
+  private static class TestFileHolder extends FileHolderImpl {
+
+    private int finishCount;
+
+    @Override public void finish() throws IOException {
+      finishCount++;
+      super.finish();
+    }
+  }
+}
@@ -0,0 +1,78 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.carbondata.core.stats;
+
+import org.junit.Test;
+
+import static junit.framework.TestCase.assertEquals;
+import static junit.framework.TestCase.assertNotNull;
+import static junit.framework.TestCase.assertNull;
+import static junit.framework.TestCase.assertSame;
+
+public class QueryProfileTest {
+
+  @Test public void testMergeOfTaskProfiles() {
+    QueryProfile taskProfile1 = new QueryProfile();
+    taskProfile1.addBlocklets(3);
+    taskProfile1.addBlockletPrunedByMinMax();
+    taskProfile1.addPages(4, 2);
+    taskProfile1.addStageTime(QueryProfile.Stage.IO_READ, 100L);
+    taskProfile1.addColumnBytesRead(QueryProfile.getDimensionColumnId(0), 1024L);
+    taskProfile1.addColumnDecompress(QueryProfile.getDimensionColumnId(0), 2, 50L);
+    QueryProfile taskProfile2 = new QueryProfile();
+    taskProfile2.addBlocklets(2);
+    taskProfile2.addBlockletPrunedByFilter();
+    taskProfile2.addPages(2, 1);
+    taskProfile2.addStageTime(QueryProfile.Stage.IO_READ, 20L);
+    taskProfile2.addColumnBytesRead(QueryProfile.getDimensionColumnId(0), 512L);
+    taskProfile2.addColumnBytesRead(QueryProfile.getMeasureColumnId(1), 256L);
+
+    QueryProfile queryProfile = new QueryProfile().merge(taskProfile1).merge(taskProfile2);
+    assertEquals(5, queryProfile.getTotalBlocklets());
+    assertEquals(1, queryProfile.getBlockletsPrunedByMinMax());
+    assertEquals(1, queryProfile.getBlockletsPrunedByFilter());
+    assertEquals(6, queryProfile.getTotalPages());
+    assertEquals(3, queryProfile.getValidPages());
+    assertEquals(120L, queryProfile.getStageTime(QueryProfile.Stage.IO_READ));
+    assertEquals(50L, queryProfile.getStageTime(QueryProfile.Stage.DECOMPRESS));
+    assertEquals(1536L, queryProfile.getColumnBytesRead(QueryProfile.getDimensionColumnId(0)));
+    assertEquals(2L, queryProfile.getColumnPagesDecompressed(QueryProfile.getDimensionColumnId(0)));
+    assertEquals(1792L, queryProfile.getTotalBytesRead());
+    assertEquals(2, queryProfile.getColumns().length);
+    // merged profile should not change the task profiles
+    assertEquals(1024L, taskProfile1.getColumnBytesRead(QueryProfile.getDimensionColumnId(0)));
+    assertNotNull(queryProfile.toString());
+  }
+
+  @Test public void testDriverRecorderKeepsFirstProfile() {
+    String queryId = System.nanoTime() + "";
+    QueryProfile queryProfile = new QueryProfile();
+    DriverQueryStatisticsRecorderImpl recorder = DriverQueryStatisticsRecorderImpl.getInstance();
+    recorder.recordQueryProfileForDriver(queryProfile, queryId);
+    QueryProfile taskProfile = new QueryProfile();
+    taskProfile.addResultRows(10);
+    recorder.recordQueryProfileForDriver(taskProfile, queryId);
+    assertSame(queryProfile, recorder.getQueryProfileForDriver(queryId));
+    assertEquals(10, recorder.getQueryProfileForDriver(queryId).getResultRows());
+  }
+
+  @Test public void testProfileIsNotRecordedWhenStatisticsDisabled() {
+    assertNull(new QueryStatisticsRecorderDummy().getQueryProfile());
+    assertNull(DriverQueryStatisticsRecorderDummy.getInstance().getQueryProfile());
+    assertNotNull(new QueryStatisticsRecorderImpl("1").getQueryProfile());
+  }
+}
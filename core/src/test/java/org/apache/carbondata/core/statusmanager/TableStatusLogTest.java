@@ -0,0 +1,273 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.carbondata.core.statusmanager;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Reader;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.apache.carbondata.core.constants.CarbonCommonConstants;
+import org.apache.carbondata.core.datastore.impl.FileFactory;
+import org.apache.carbondata.core.util.CarbonProperties;
+
+import com.google.gson.Gson;
+import mockit.Mock;
+import mockit.MockUp;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+public class TableStatusLogTest {
+
+  private File statusFile;
+
+  private File logFile;
+
+  @Before public void setUp() throws Exception {
+    File dir = new File(System.getProperty("java.io.tmpdir"),
+        "tablestatuslog" + System.nanoTime());
+    dir.mkdirs();
+    statusFile = new File(dir, CarbonCommonConstants.LOADMETADATA_FILENAME);
+    logFile = new File(dir, CarbonCommonConstants.LOADMETADATA_FILENAME + ".log");
+    CarbonProperties.getInstance()
+        .addProperty(CarbonCommonConstants.CARBON_TABLE_STATUS_CHECKPOINT_INTERVAL, "5");
+    CarbonProperties.getInstance()
+        .addProperty(CarbonCommonConstants.CARBON_TABLE_STATUS_LOG_ENABLE, "true");
+  }
+
+  @After public void tearDown() {
+    logFile.delete();
+    statusFile.delete();
+    statusFile.getParentFile().delete();
+    CarbonProperties.getInstance()
+        .addProperty(CarbonCommonConstants.CARBON_TABLE_STATUS_CHECKPOINT_INTERVAL,
+            CarbonCommonConstants.CARBON_TABLE_STATUS_CHECKPOINT_INTERVAL_DEFAULT);
+    CarbonProperties.getInstance()
+        .addProperty(CarbonCommonConstants.CARBON_TABLE_STATUS_LOG_ENABLE,
+            CarbonCommonConstants.CARBON_TABLE_STATUS_LOG_ENABLE_DEFAULT);
+  }
+
+  private static LoadMetadataDetails createDetails(String loadName, String status) {
+    LoadMetadataDetails details = new LoadMetadataDetails();
+    details.setLoadName(loadName);
+    details.setLoadStatus(status);
+    return details;
+  }
+
+  private static String[] getStatus(LoadMetadataDetails[] details) {
+    String[] status = new String[details.length];
+    for (int i = 0; i < details.length; i++) {
+      status[i] = details[i].getLoadName() + ':' + details[i].getLoadStatus();
+    }
+    return status;
+  }
+
+  @Test public void testChangesAreAppendedToLog() throws Exception {
+    List<LoadMetadataDetails> details = new ArrayList<>();
+    details.add(createDetails("0", CarbonCommonConstants.STORE_LOADSTATUS_SUCCESS));
+    TableStatusLog.write(statusFile.getPath(), details.toArray(new LoadMetadataDetails[0]));
+    // first write creates the checkpoint
+    Assert.assertTrue(statusFile.exists());
+    Assert.assertFalse(logFile.exists());
+
+    details.add(createDetails("1", CarbonCommonConstants.STORE_LOADSTATUS_SUCCESS));
+    TableStatusLog.write(statusFile.getPath(), details.toArray(new LoadMetadataDetails[0]));
+    long checkpointLength = statusFile.length();
+    details.get(0).setLoadStatus(CarbonCommonConstants.MARKED_FOR_DELETE);
+    TableStatusLog.write(statusFile.getPath(), details.toArray(new LoadMetadataDetails[0]));
+    Assert.assertTrue(logFile.exists());
+    Assert.assertEquals(checkpointLength, statusFile.length());
+
+    Assert.assertArrayEquals(
+        new String[] { "0:" + CarbonCommonConstants.MARKED_FOR_DELETE,
+            "1:" + CarbonCommonConstants.STORE_LOADSTATUS_SUCCESS },
+        getStatus(TableStatusLog.read(statusFile.getPath())));
+
+    // removed segment
+    details.remove(0);
+    TableStatusLog.write(statusFile.getPath(), details.toArray(new LoadMetadataDetails[0]));
+    Assert.assertArrayEquals(
+        new String[] { "1:" + CarbonCommonConstants.STORE_LOADSTATUS_SUCCESS },
+        getStatus(TableStatusLog.read(statusFile.getPath())));
+  }
+
+  @Test public void testCheckpointAfterInterval() throws Exception {
+    List<LoadMetadataDetails> details = new ArrayList<>();
+    for (int i = 0; i < 7; i++) {
+      details.add(
+          createDetails(String.valueOf(i), CarbonCommonConstants.STORE_LOADSTATUS_SUCCESS));
+      TableStatusLog.write(statusFile.getPath(), details.toArray(new LoadMetadataDetails[0]));
+    }
+    // first write and the write after 5 log records are checkpoints
+    Assert.assertFalse(logFile.exists());
+    Assert.assertEquals(7, readCheckpoint().length);
+
+    details.add(createDetails("7", CarbonCommonConstants.STORE_LOADSTATUS_SUCCESS));
+    TableStatusLog.write(statusFile.getPath(), details.toArray(new LoadMetadataDetails[0]));
+    Assert.assertTrue(logFile.exists());
+    Assert.assertEquals(7, readCheckpoint().length);
+    Assert.assertEquals(8, SegmentStatusManager.readLoadMetadata(statusFile.getParent()).length);
+  }
+
+  private LoadMetadataDetails[] readCheckpoint() throws Exception {
+    Reader reader = new InputStreamReader(new FileInputStream(statusFile), "UTF-8");
+    try {
+      return new Gson().fromJson(reader, LoadMetadataDetails[].class);
+    } finally {
+      reader.close();
+    }
+  }
+
+  @Test public void testReadDoesNotExposeCachedDetails() throws Exception {
+    TableStatusLog.write(statusFile.getPath(), new LoadMetadataDetails[] {
+        createDetails("0", CarbonCommonConstants.STORE_LOADSTATUS_SUCCESS) });
+    TableStatusLog.read(statusFile.getPath())[0]
+        .setLoadStatus(CarbonCommonConstants.MARKED_FOR_DELETE);
+    Assert.assertEquals(CarbonCommonConstants.STORE_LOADSTATUS_SUCCESS,
+        TableStatusLog.read(statusFile.getPath())[0].getLoadStatus());
+  }
+
+  @Test public void testReadUnmodifiableIsNotCopied() throws Exception {
+    TableStatusLog.write(statusFile.getPath(), new LoadMetadataDetails[] {
+        createDetails("0", CarbonCommonConstants.STORE_LOADSTATUS_SUCCESS) });
+    List<LoadMetadataDetails> details = TableStatusLog.readUnmodifiable(statusFile.getPath());
+    Assert.assertSame(details.get(0),
+        TableStatusLog.readUnmodifiable(statusFile.getPath()).get(0));
+    try {
+      details.remove(0);
+      Assert.fail("cached details are modified");
+    } catch (UnsupportedOperationException e) {
+      // test pass
+    }
+  }
+
+  @Test public void testViewIsNotCachedWhenLogDisabled() throws Exception {
+    TableStatusLog.write(statusFile.getPath(), new LoadMetadataDetails[] {
+        createDetails("0", CarbonCommonConstants.STORE_LOADSTATUS_SUCCESS) });
+    TableStatusLog.read(statusFile.getPath());
+    Assert.assertTrue(TableStatusLog.isViewCached(statusFile.getPath()));
+    CarbonProperties.getInstance()
+        .addProperty(CarbonCommonConstants.CARBON_TABLE_STATUS_LOG_ENABLE, "false");
+    Assert.assertEquals(1, TableStatusLog.read(statusFile.getPath()).length);
+    Assert.assertFalse(TableStatusLog.isViewCached(statusFile.getPath()));
+  }
+
+  @Test public void testCheckpointReplacedWithSameTimeAndSizeIsRead() throws Exception {
+    TableStatusLog.write(statusFile.getPath(), new LoadMetadataDetails[] {
+        createDetails("0", CarbonCommonConstants.STORE_LOADSTATUS_SUCCESS) });
+    TableStatusLog.read(statusFile.getPath());
+    long modifiedTime = statusFile.lastModified();
+    long size = statusFile.length();
+    // replaced by a writer which does not use the log within the modification time granularity
+    Writer writer = new OutputStreamWriter(new FileOutputStream(statusFile), "UTF-8");
+    try {
+      new Gson().toJson(new LoadMetadataDetails[] {
+          createDetails("0", CarbonCommonConstants.STORE_LOADSTATUS_FAILURE) }, writer);
+    } finally {
+      writer.close();
+    }
+    Assert.assertTrue(statusFile.setLastModified(modifiedTime));
+    Assert.assertEquals(size, statusFile.length());
+    Assert.assertEquals(CarbonCommonConstants.STORE_LOADSTATUS_FAILURE,
+        TableStatusLog.read(statusFile.getPath())[0].getLoadStatus());
+  }
+
+  @Test public void testIncompleteLogRecordIsIgnored() throws Exception {
+    List<LoadMetadataDetails> details = new ArrayList<>();
+    details.add(createDetails("0", CarbonCommonConstants.STORE_LOADSTATUS_SUCCESS));
+    TableStatusLog.write(statusFile.getPath(), details.toArray(new LoadMetadataDetails[0]));
+    details.add(createDetails("1", CarbonCommonConstants.STORE_LOADSTATUS_SUCCESS));
+    TableStatusLog.write(statusFile.getPath(), details.toArray(new LoadMetadataDetails[0]));
+    FileOutputStream out = new FileOutputStream(logFile, true);
+    out.write("{\"upserts\":[".getBytes());
+    out.close();
+    Assert.assertEquals(2, TableStatusLog.read(statusFile.getPath()).length);
+
+    // log with incomplete record is merged to checkpoint by the next write
+    details.add(createDetails("2", CarbonCommonConstants.STORE_LOADSTATUS_SUCCESS));
+    TableStatusLog.write(statusFile.getPath(), details.toArray(new LoadMetadataDetails[0]));
+    Assert.assertFalse(logFile.exists());
+    Assert.assertEquals(3, TableStatusLog.read(statusFile.getPath()).length);
+  }
+
+  @Test public void testLogIsNotWrittenWhenDisabled() throws Exception {
+    CarbonProperties.getInstance()
+        .addProperty(CarbonCommonConstants.CARBON_TABLE_STATUS_LOG_ENABLE, "false");
+    List<LoadMetadataDetails> details = new ArrayList<>();
+    for (int i = 0; i < 3; i++) {
+      details.add(
+          createDetails(String.valueOf(i), CarbonCommonConstants.STORE_LOADSTATUS_SUCCESS));
+      TableStatusLog.write(statusFile.getPath(), details.toArray(new LoadMetadataDetails[0]));
+    }
+    Assert.assertFalse(logFile.exists());
+    Assert.assertEquals(3, readCheckpoint().length);
+  }
+
+  @Test public void testLogLeftBehindByCheckpointIsNotReplayed() throws Exception {
+    List<LoadMetadataDetails> details = new ArrayList<>();
+    details.add(createDetails("0", CarbonCommonConstants.STORE_LOADSTATUS_SUCCESS));
+    TableStatusLog.write(statusFile.getPath(), details.toArray(new LoadMetadataDetails[0]));
+    details.add(createDetails("1", CarbonCommonConstants.STORE_LOADSTATUS_IN_PROGRESS));
+    TableStatusLog.write(statusFile.getPath(), details.toArray(new LoadMetadataDetails[0]));
+    Assert.assertTrue(logFile.exists());
+
+    // checkpoint is published but the writer fails before removing the log
+    details.get(1).setLoadStatus(CarbonCommonConstants.STORE_LOADSTATUS_SUCCESS);
+    Writer writer = new OutputStreamWriter(new FileOutputStream(statusFile), "UTF-8");
+    try {
+      new Gson().toJson(details.toArray(new LoadMetadataDetails[0]), writer);
+    } finally {
+      writer.close();
+    }
+    Assert.assertTrue(statusFile.setLastModified(statusFile.lastModified() + 2000));
+    Assert.assertArrayEquals(
+        new String[] { "0:" + CarbonCommonConstants.STORE_LOADSTATUS_SUCCESS,
+            "1:" + CarbonCommonConstants.STORE_LOADSTATUS_SUCCESS },
+        getStatus(TableStatusLog.read(statusFile.getPath())));
+
+    // next write replaces the stale log by a checkpoint
+    details.add(createDetails("2", CarbonCommonConstants.STORE_LOADSTATUS_SUCCESS));
+    TableStatusLog.write(statusFile.getPath(), details.toArray(new LoadMetadataDetails[0]));
+    Assert.assertFalse(logFile.exists());
+    Assert.assertEquals(3, readCheckpoint().length);
+  }
+
+  @Test public void testLogIsNotWrittenOnObjectStore() throws Exception {
+    new MockUp<FileFactory>() {
+      @Mock public FileFactory.FileType getFileType(String path) {
+        // local path is handled by the local file system of hadoop
+        return FileFactory.FileType.S3;
+      }
+    };
+    List<LoadMetadataDetails> details = new ArrayList<>();
+    for (int i = 0; i < 3; i++) {
+      details.add(
+          createDetails(String.valueOf(i), CarbonCommonConstants.STORE_LOADSTATUS_SUCCESS));
+      TableStatusLog.write(statusFile.getPath(), details.toArray(new LoadMetadataDetails[0]));
+    }
+    Assert.assertFalse(logFile.exists());
+    Assert.assertEquals(3, readCheckpoint().length);
+    Assert.assertEquals(3, TableStatusLog.read(statusFile.getPath()).length);
+  }
+}
@@ -0,0 +1,70 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.carbondata.core.util;
+
+import java.text.ParseException;
+import java.text.SimpleDateFormat;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class DateFormatParserTest {
+
+  private static final String[] VALUES = { "2016-03-14 15:00:09", "2016-03-14 15:00:09",
+      "2016-03-14 15:01:00", "2000-02-29 23:59:59", "1970-01-01 00:00:00",
+      "1500-07-01 10:10:10", "2016-02-30 10:00:00", "2016-13-01 10:00:00",
+      "2016-03-14 24:00:00", "2016-3-14 15:00:09", "2016-03-14 15:00:09 extra",
+      "2016/03/14 15:00:09", "2016-03-14", "abc" };
+
+  @Test public void testTimestampIsSameAsSimpleDateFormat() {
+    assertSameAsSimpleDateFormat("yyyy-MM-dd HH:mm:ss", true);
+    assertSameAsSimpleDateFormat("yyyy-MM-dd HH:mm:ss", false);
+  }
+
+  @Test public void testDateIsSameAsSimpleDateFormat() {
+    assertSameAsSimpleDateFormat("yyyy-MM-dd", true);
+    assertSameAsSimpleDateFormat("yyyy-MM-dd", false);
+  }
+
+  @Test public void testPatternNotCompiledIsSameAsSimpleDateFormat() {
+    assertSameAsSimpleDateFormat("yyyy-MM-dd'T'HH:mm:ss.SSS", true);
+    assertSameAsSimpleDateFormat("dd MMM yyyy HH:mm", false);
+    assertSameAsSimpleDateFormat("yy-M-d H:m:s", true);
+  }
+
+  private static void assertSameAsSimpleDateFormat(String format, boolean lenient) {
+    SimpleDateFormat dateFormat = new SimpleDateFormat(format);
+    dateFormat.setLenient(lenient);
+    DateFormatParser parser = DateFormatParser.getParser(format, lenient);
+    for (String value : VALUES) {
+      Long expected;
+      try {
+        expected = dateFormat.parse(value).getTime();
+      } catch (ParseException e) {
+        expected = null;
+      }
+      Long actual;
+      try {
+        actual = parser.parse(value);
+      } catch (ParseException e) {
+        actual = null;
+      }
+      Assert.assertEquals(format + " " + lenient + " " + value, expected, actual);
+    }
+  }
+}
@@ -19,14 +19,19 @@ package org.apache.carbondata.core.util;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertTrue;
 
+import java.math.BigDecimal;
 import java.nio.ByteBuffer;
 
 import org.apache.carbondata.core.datastore.compression.MeasureMetaDataModel;
+import org.apache.carbondata.core.datastore.compression.ReaderCompressModel;
 import org.apache.carbondata.core.datastore.compression.WriterCompressModel;
 import org.apache.carbondata.core.datastore.compression.ValueCompressionHolder;
 import org.apache.carbondata.core.datastore.compression.decimal.*;
 import org.apache.carbondata.core.datastore.compression.nondecimal.*;
 import org.apache.carbondata.core.datastore.compression.none.*;
+import org.apache.carbondata.core.datastore.dataholder.CarbonWriteDataHolder;
+import org.apache.carbondata.core.datastore.impl.data.compressed.HeavyCompressedDoubleArrayDataStore;
+import org.apache.carbondata.core.metadata.ValueEncoderMeta;
 import org.apache.carbondata.core.util.ValueCompressionUtil.DataType;
 
 import org.junit.Test;
@@ -617,4 +622,33 @@ public class ValueCompressionUtilTest {
         writerCompressModel.getCompType(0));
   }
 
+  @Test public void testFixedPointDecimalIsReadWithScale() {
+    long[] unscaledValues = { 12345L, -250L, 99999999L };
+    WriterCompressModel writerCompressModel = ValueCompressionUtil
+        .getWriterCompressModel(new Object[] { 99999999L }, new Object[] { -250L },
+            new int[] { 2 }, new Object[] { -251L }, new char[] { 'f' }, new byte[1]);
+    CarbonWriteDataHolder dataHolder = new CarbonWriteDataHolder();
+    dataHolder.initialiseLongValues(unscaledValues.length);
+    for (int i = 0; i < unscaledValues.length; i++) {
+      dataHolder.setWritableLongValueByIndex(i, unscaledValues[i]);
+    }
+    byte[] compressedData = HeavyCompressedDoubleArrayDataStore
+        .encodeMeasureDataArray(writerCompressModel, new CarbonWriteDataHolder[] { dataHolder })[0];
+
+    ValueEncoderMeta meta = new ValueEncoderMeta();
+    meta.setMaxValue(99999999L);
+    meta.setMinValue(-250L);
+    meta.setUniqueValue(-251L);
+    meta.setDecimal(2);
+    meta.setType('f');
+    ReaderCompressModel readerCompressModel = ValueCompressionUtil.getReaderCompressModel(meta);
+    ValueCompressionHolder holder = readerCompressModel.getValueCompressionHolder();
+    holder.uncompress(readerCompressModel.getConvertedDataType(), compressedData, 0,
+        compressedData.length, 2, meta.getMaxValue(), unscaledValues.length);
+    assertEquals(2, holder.getDecimalScale());
+    assertEquals(new BigDecimal("123.45"), holder.getBigDecimalValue(0));
+    assertEquals(new BigDecimal("-2.50"), holder.getBigDecimalValue(1));
+    assertEquals(new BigDecimal("999999.99"), holder.getBigDecimalValue(2));
+    assertEquals(-250L, holder.getLongValue(1));
+  }
 }
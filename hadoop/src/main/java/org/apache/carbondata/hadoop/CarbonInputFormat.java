@@ -36,6 +36,7 @@ import org.apache.carbondata.core.datastore.impl.btree.BlockBTreeLeafNode;
 import org.apache.carbondata.core.keygenerator.KeyGenException;
 import org.apache.carbondata.core.metadata.AbsoluteTableIdentifier;
 import org.apache.carbondata.core.metadata.ColumnarFormatVersion;
+import org.apache.carbondata.core.metadata.SortScope;
 import org.apache.carbondata.core.metadata.schema.table.CarbonTable;
 import org.apache.carbondata.core.mutate.UpdateVO;
 import org.apache.carbondata.core.mutate.data.BlockMappingVO;
@@ -45,17 +46,21 @@ import org.apache.carbondata.core.scan.filter.FilterUtil;
 import org.apache.carbondata.core.scan.filter.resolver.FilterResolverIntf;
 import org.apache.carbondata.core.scan.model.CarbonQueryPlan;
 import org.apache.carbondata.core.scan.model.QueryModel;
+import org.apache.carbondata.core.stats.QueryProfile;
 import org.apache.carbondata.core.stats.QueryStatistic;
 import org.apache.carbondata.core.stats.QueryStatisticsConstants;
 import org.apache.carbondata.core.stats.QueryStatisticsRecorder;
+import org.apache.carbondata.core.stats.SegmentAccessStatistics;
 import org.apache.carbondata.core.statusmanager.SegmentStatusManager;
 import org.apache.carbondata.core.statusmanager.SegmentUpdateStatusManager;
 import org.apache.carbondata.core.util.CarbonTimeStatisticsFactory;
 import org.apache.carbondata.core.util.CarbonUtil;
 import org.apache.carbondata.core.util.path.CarbonStorePath;
 import org.apache.carbondata.core.util.path.CarbonTablePath;
+import org.apache.carbondata.hadoop.internal.CarbonFormatType;
 import org.apache.carbondata.hadoop.readsupport.CarbonReadSupport;
 import org.apache.carbondata.hadoop.readsupport.impl.DictionaryDecodeReadSupport;
+import org.apache.carbondata.hadoop.streaming.CarbonStreamRecordReader;
 import org.apache.carbondata.hadoop.util.BlockLevelTraverser;
 import org.apache.carbondata.hadoop.util.CarbonInputFormatUtil;
 import org.apache.carbondata.hadoop.util.ObjectSerializationUtil;
@@ -221,15 +226,18 @@ public class CarbonInputFormat<T> extends FileInputFormat<Void, T> {
     try {
       List<String> invalidSegments = new ArrayList<>();
       List<UpdateVO> invalidTimestampsList = new ArrayList<>();
+      List<String> streamSegments = new ArrayList<>();
+      // segments are read from the table status also when the segments to access are given,
+      // as sort scope of the segments is needed for pruning
+      SegmentStatusManager.ValidAndInvalidSegmentsInfo segments =
+          new SegmentStatusManager(identifier).getValidAndInvalidSegments();
 
       // get all valid segments and set them into the configuration
       if (getSegmentsToAccess(job).length == 0) {
-        SegmentStatusManager segmentStatusManager = new SegmentStatusManager(identifier);
-        SegmentStatusManager.ValidAndInvalidSegmentsInfo segments =
-            segmentStatusManager.getValidAndInvalidSegments();
         SegmentUpdateStatusManager updateStatusManager = new SegmentUpdateStatusManager(identifier);
         setSegmentsToAccess(job.getConfiguration(), segments.getValidSegments());
-        if (segments.getValidSegments().size() == 0) {
+        streamSegments.addAll(segments.getStreamSegments());
+        if (segments.getValidSegments().size() == 0 && streamSegments.size() == 0) {
           return new ArrayList<>(0);
         }
 
@@ -246,6 +254,13 @@ public class CarbonInputFormat<T> extends FileInputFormat<Void, T> {
           }
           cacheClient.getSegmentAccessClient().invalidateAll(invalidSegmentsIds);
         }
+      } else {
+        // only the requested streaming segments are read
+        for (String segmentId : getSegmentsToAccess(job)) {
+          if (segments.getStreamSegments().contains(segmentId)) {
+            streamSegments.add(segmentId);
+          }
+        }
       }
 
       // process and resolve the expression
@@ -259,7 +274,9 @@ public class CarbonInputFormat<T> extends FileInputFormat<Void, T> {
       FilterResolverIntf filterInterface = CarbonInputFormatUtil.resolveFilter(filter, identifier);
 
       // do block filtering and get split
-      List<InputSplit> splits = getSplits(job, filterInterface, cacheClient);
+      List<InputSplit> splits = getSplits(job, filterInterface, cacheClient, segments);
+      // streaming segments do not have index, so all the files are read
+      splits.addAll(getStreamSplits(job, identifier, streamSegments));
       // pass the invalid segment to task side in order to remove index entry in task side
       if (invalidSegments.size() > 0) {
         for (InputSplit split : splits) {
@@ -300,21 +317,31 @@ public class CarbonInputFormat<T> extends FileInputFormat<Void, T> {
    * @throws IOException
    */
   private List<InputSplit> getSplits(JobContext job, FilterResolverIntf filterResolver,
-      CacheClient cacheClient) throws IOException {
+      CacheClient cacheClient, SegmentStatusManager.ValidAndInvalidSegmentsInfo segments)
+      throws IOException {
 
     List<InputSplit> result = new LinkedList<InputSplit>();
 
     FilterExpressionProcessor filterExpressionProcessor = new FilterExpressionProcessor();
 
-    AbsoluteTableIdentifier absoluteTableIdentifier =
-            getCarbonTable(job.getConfiguration()).getAbsoluteTableIdentifier();
+    CarbonTable carbonTable = getCarbonTable(job.getConfiguration());
+    AbsoluteTableIdentifier absoluteTableIdentifier = carbonTable.getAbsoluteTableIdentifier();
     SegmentUpdateStatusManager updateStatusManager =
             new SegmentUpdateStatusManager(absoluteTableIdentifier);
     //for each segment fetch blocks matching filter in Driver BTree
     for (String segmentNo : getSegmentsToAccess(job)) {
+      if (segments.getStreamSegments().contains(segmentNo)) {
+        // streaming segment does not have index, its files are added by the streaming splits
+        continue;
+      }
+      SortScope sortScope = segments.getSortScope(segmentNo);
       List<DataRefNode> dataRefNodes =
           getDataBlocksOfSegment(job, filterExpressionProcessor, absoluteTableIdentifier,
-              filterResolver, segmentNo, cacheClient, updateStatusManager);
+              filterResolver, segmentNo, cacheClient, updateStatusManager,
+              sortScope.isSorted() && carbonTable.isSortedOnMdKey());
+      if (!dataRefNodes.isEmpty()) {
+        SegmentAccessStatistics.getInstance().recordAccess(absoluteTableIdentifier, segmentNo);
+      }
       for (DataRefNode dataRefNode : dataRefNodes) {
         BlockBTreeLeafNode leafNode = (BlockBTreeLeafNode) dataRefNode;
         TableBlockInfo tableBlockInfo = leafNode.getTableBlockInfo();
@@ -323,10 +350,51 @@ public class CarbonInputFormat<T> extends FileInputFormat<Void, T> {
             updateStatusManager)) {
           continue;
         }
-        result.add(new CarbonInputSplit(segmentNo, new Path(tableBlockInfo.getFilePath()),
-            tableBlockInfo.getBlockOffset(), tableBlockInfo.getBlockLength(),
-            tableBlockInfo.getLocations(), tableBlockInfo.getBlockletInfos().getNoOfBlockLets(),
-            tableBlockInfo.getVersion()));
+        CarbonInputSplit split =
+            new CarbonInputSplit(segmentNo, new Path(tableBlockInfo.getFilePath()),
+                tableBlockInfo.getBlockOffset(), tableBlockInfo.getBlockLength(),
+                tableBlockInfo.getLocations(),
+                tableBlockInfo.getBlockletInfos().getNoOfBlockLets(), tableBlockInfo.getVersion());
+        split.setSortScope(sortScope);
+        result.add(split);
+      }
+    }
+    return result;
+  }
+
+  /**
+   * get the splits of row format files in the streaming segments, the length of the file
+   * at this time is used so that the rows appended after planning are not read
+   */
+  private List<InputSplit> getStreamSplits(JobContext job, AbsoluteTableIdentifier identifier,
+      List<String> streamSegments) throws IOException {
+    List<InputSplit> result = new ArrayList<>();
+    if (streamSegments.isEmpty()) {
+      return result;
+    }
+    CarbonTablePath tablePath = getTablePath(identifier);
+    for (String partition : getValidPartitions(job)) {
+      for (String segmentId : streamSegments) {
+        Path segmentPath = new Path(identifier
+            .appendWithLocalPrefix(tablePath.getCarbonDataDirectoryPath(partition, segmentId)));
+        FileSystem fs = segmentPath.getFileSystem(job.getConfiguration());
+        if (!fs.exists(segmentPath)) {
+          continue;
+        }
+        RemoteIterator<LocatedFileStatus> iter = fs.listLocatedStatus(segmentPath);
+        while (iter.hasNext()) {
+          LocatedFileStatus stat = iter.next();
+          if (stat.isDirectory() || !CarbonTablePath.isStreamingDataFile(stat.getPath().getName())
+              || stat.getLen() == 0) {
+            continue;
+          }
+          String[] locations = new String[0];
+          if (stat.getBlockLocations() != null && stat.getBlockLocations().length > 0) {
+            locations = stat.getBlockLocations()[0].getHosts();
+          }
+          result.add(CarbonInputSplit
+              .createStreamSplit(segmentId, stat.getPath(), stat.getLen(), locations));
+        }
       }
     }
     return result;
@@ -351,8 +419,8 @@ public class CarbonInputFormat<T> extends FileInputFormat<Void, T> {
   private List<DataRefNode> getDataBlocksOfSegment(JobContext job,
       FilterExpressionProcessor filterExpressionProcessor,
       AbsoluteTableIdentifier absoluteTableIdentifier, FilterResolverIntf resolver,
-      String segmentId, CacheClient cacheClient, SegmentUpdateStatusManager updateStatusManager)
-      throws IOException {
+      String segmentId, CacheClient cacheClient, SegmentUpdateStatusManager updateStatusManager,
+      boolean isSortedData) throws IOException {
     Map<SegmentTaskIndexStore.TaskBucketHolder, AbstractIndex> segmentIndexMap = null;
     try {
       QueryStatisticsRecorder recorder = CarbonTimeStatisticsFactory.createDriverRecorder();
@@ -361,6 +429,9 @@ public class CarbonInputFormat<T> extends FileInputFormat<Void, T> {
           getSegmentAbstractIndexs(job, absoluteTableIdentifier, segmentId, cacheClient,
               updateStatusManager);
       List<DataRefNode> resultFilterredBlocks = new LinkedList<DataRefNode>();
+      // profile is present only when query statistics is enabled
+      QueryProfile queryProfile =
+          recorder.getQueryProfileForDriver(job.getConfiguration().get("query.id"));
       if (null != segmentIndexMap) {
         // build result
         for (AbstractIndex abstractIndex : segmentIndexMap.values()) {
@@ -368,11 +439,18 @@ public class CarbonInputFormat<T> extends FileInputFormat<Void, T> {
           // if no filter is given get all blocks from Btree Index
           if (null == resolver) {
             filterredBlocks = getDataBlocksOfIndex(abstractIndex);
+            if (null != queryProfile) {
+              queryProfile.addBlocks(filterredBlocks.size(), filterredBlocks.size());
+            }
           } else {
             // apply filter and get matching blocks
             filterredBlocks = filterExpressionProcessor
                 .getFilterredBlocks(abstractIndex.getDataRefNode(), resolver, abstractIndex,
-                    absoluteTableIdentifier);
+                    absoluteTableIdentifier, isSortedData);
+            if (null != queryProfile) {
+              queryProfile
+                  .addBlocks(getDataBlocksOfIndex(abstractIndex).size(), filterredBlocks.size());
+            }
           }
           resultFilterredBlocks.addAll(filterredBlocks);
         }
@@ -620,9 +698,34 @@ public class CarbonInputFormat<T> extends FileInputFormat<Void, T> {
     Configuration configuration = taskAttemptContext.getConfiguration();
     QueryModel queryModel = getQueryModel(inputSplit, taskAttemptContext);
     CarbonReadSupport<T> readSupport = getReadSupportClass(configuration);
+    if (getFileFormat(inputSplit) == CarbonFormatType.ROW) {
+      return createStreamRecordReader(queryModel, configuration);
+    }
     return new CarbonRecordReader<T>(queryModel, readSupport);
   }
 
+  /**
+   * Creates the reader of the row format files of streaming segment, filter is applied on
+   * each row as there is no index
+   */
+  public RecordReader<Void, T> createStreamRecordReader(QueryModel queryModel,
+      Configuration configuration) throws IOException {
+    CarbonTable carbonTable = getCarbonTable(configuration);
+    Expression filter = getFilterPredicates(configuration);
+    CarbonInputFormatUtil.processFilterExpression(filter, carbonTable);
+    return new CarbonStreamRecordReader<T>(queryModel, getReadSupportClass(configuration), filter,
+        carbonTable);
+  }
+
+  private static CarbonFormatType getFileFormat(InputSplit inputSplit) {
+    if (inputSplit instanceof CarbonMultiBlockSplit) {
+      return ((CarbonMultiBlockSplit) inputSplit).getFileFormat();
+    } else if (inputSplit instanceof CarbonInputSplit) {
+      return ((CarbonInputSplit) inputSplit).getFileFormat();
+    }
+    return CarbonFormatType.COLUMNAR;
+  }
+
   public QueryModel getQueryModel(InputSplit inputSplit, TaskAttemptContext taskAttemptContext)
       throws IOException {
     Configuration configuration = taskAttemptContext.getConfiguration();
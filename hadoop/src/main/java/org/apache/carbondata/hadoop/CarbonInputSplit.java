@@ -30,9 +30,11 @@ import org.apache.carbondata.core.datastore.block.BlockletInfos;
 import org.apache.carbondata.core.datastore.block.Distributable;
 import org.apache.carbondata.core.datastore.block.TableBlockInfo;
 import org.apache.carbondata.core.metadata.ColumnarFormatVersion;
+import org.apache.carbondata.core.metadata.SortScope;
 import org.apache.carbondata.core.mutate.UpdateVO;
 import org.apache.carbondata.core.util.CarbonProperties;
 import org.apache.carbondata.core.util.path.CarbonTablePath;
+import org.apache.carbondata.hadoop.internal.CarbonFormatType;
 import org.apache.carbondata.hadoop.internal.index.Block;
 
 import org.apache.hadoop.fs.Path;
@@ -71,6 +73,16 @@ public class CarbonInputSplit extends FileSplit
 
   private List<UpdateVO> invalidTimestampsList;
 
+  /**
+   * format of the file, columnar or row format of streaming segment
+   */
+  private CarbonFormatType fileFormat = CarbonFormatType.COLUMNAR;
+
+  /**
+   * sort scope of the segment, rows of the unsorted blocks are not searched using start key
+   */
+  private SortScope sortScope = SortScope.LOCAL_SORT;
+
   public CarbonInputSplit() {
     segmentId = null;
     taskId = "0";
@@ -120,15 +132,29 @@ public class CarbonInputSplit extends FileSplit
         split.getLocations(), version);
   }
 
+  /**
+   * Creates the split of a row format streaming file, the file is not split as it is
+   * appended by the streaming micro batches
+   */
+  public static CarbonInputSplit createStreamSplit(String segmentId, Path path, long length,
+      String[] locations) {
+    CarbonInputSplit split = new CarbonInputSplit(segmentId, path, 0, length, locations,
+        CarbonProperties.getInstance().getFormatVersion());
+    split.fileFormat = CarbonFormatType.ROW;
+    return split;
+  }
+
   public static List<TableBlockInfo> createBlocks(List<CarbonInputSplit> splitList) {
     List<TableBlockInfo> tableBlockInfoList = new ArrayList<>();
     for (CarbonInputSplit split : splitList) {
       BlockletInfos blockletInfos =
           new BlockletInfos(split.getNumberOfBlocklets(), 0, split.getNumberOfBlocklets());
       try {
-        tableBlockInfoList.add(
+        TableBlockInfo tableBlockInfo =
             new TableBlockInfo(split.getPath().toString(), split.getStart(), split.getSegmentId(),
-                split.getLocations(), split.getLength(), blockletInfos, split.getVersion()));
+                split.getLocations(), split.getLength(), blockletInfos, split.getVersion());
+        tableBlockInfo.setSortScope(split.getSortScope());
+        tableBlockInfoList.add(tableBlockInfo);
       } catch (IOException e) {
         throw new RuntimeException("fail to get location of split: " + split, e);
       }
@@ -140,9 +166,11 @@ public class CarbonInputSplit extends FileSplit
     BlockletInfos blockletInfos =
         new BlockletInfos(inputSplit.getNumberOfBlocklets(), 0, inputSplit.getNumberOfBlocklets());
     try {
-      return new TableBlockInfo(inputSplit.getPath().toString(), inputSplit.getStart(),
-          inputSplit.getSegmentId(), inputSplit.getLocations(), inputSplit.getLength(),
-          blockletInfos, inputSplit.getVersion());
+      TableBlockInfo tableBlockInfo = new TableBlockInfo(inputSplit.getPath().toString(),
+          inputSplit.getStart(), inputSplit.getSegmentId(), inputSplit.getLocations(),
+          inputSplit.getLength(), blockletInfos, inputSplit.getVersion());
+      tableBlockInfo.setSortScope(inputSplit.getSortScope());
+      return tableBlockInfo;
     } catch (IOException e) {
       throw new RuntimeException("fail to get location of split: " + inputSplit, e);
     }
@@ -162,6 +190,8 @@ public class CarbonInputSplit extends FileSplit
     for (int i = 0; i < numInvalidSegment; i++) {
       invalidSegments.add(in.readUTF());
     }
+    this.fileFormat = CarbonFormatType.valueOf(in.readUTF());
+    this.sortScope = SortScope.valueOf(in.readUTF());
   }
 
   @Override public void write(DataOutput out) throws IOException {
@@ -173,6 +203,8 @@ public class CarbonInputSplit extends FileSplit
     for (String invalidSegment : invalidSegments) {
       out.writeUTF(invalidSegment);
     }
+    out.writeUTF(fileFormat.name());
+    out.writeUTF(sortScope.name());
   }
 
   public List<String> getInvalidSegments() {
@@ -212,6 +244,18 @@ public class CarbonInputSplit extends FileSplit
     return bucketId;
   }
 
+  public CarbonFormatType getFileFormat() {
+    return fileFormat;
+  }
+
+  public SortScope getSortScope() {
+    return sortScope;
+  }
+
+  public void setSortScope(SortScope sortScope) {
+    this.sortScope = sortScope;
+  }
+
   @Override public int compareTo(Distributable o) {
     if (o == null) {
       return -1;
@@ -24,6 +24,7 @@ import java.util.ArrayList;
 import java.util.List;
 
 import org.apache.carbondata.core.metadata.AbsoluteTableIdentifier;
+import org.apache.carbondata.hadoop.internal.CarbonFormatType;
 
 import org.apache.hadoop.io.Writable;
 import org.apache.hadoop.mapreduce.InputSplit;
@@ -63,6 +64,17 @@ public class CarbonMultiBlockSplit extends InputSplit implements Writable {
     return splitList;
   }
 
+  /**
+   * Return format of the wrapped splits, row format splits are not mixed with columnar splits
+   * @return file format
+   */
+  public CarbonFormatType getFileFormat() {
+    if (splitList.isEmpty()) {
+      return CarbonFormatType.COLUMNAR;
+    }
+    return splitList.get(0).getFileFormat();
+  }
+
   @Override
   public long getLength() throws IOException, InterruptedException {
     long total = 0;
@@ -23,12 +23,14 @@ import java.util.Map;
 
 import org.apache.carbondata.common.CarbonIterator;
 import org.apache.carbondata.core.cache.dictionary.Dictionary;
+import org.apache.carbondata.core.constants.CarbonCommonConstants;
 import org.apache.carbondata.core.datastore.block.TableBlockInfo;
 import org.apache.carbondata.core.scan.executor.QueryExecutor;
 import org.apache.carbondata.core.scan.executor.QueryExecutorFactory;
 import org.apache.carbondata.core.scan.executor.exception.QueryExecutionException;
 import org.apache.carbondata.core.scan.model.QueryModel;
 import org.apache.carbondata.core.scan.result.iterator.ChunkRowIterator;
+import org.apache.carbondata.core.stats.QueryProfile;
 import org.apache.carbondata.core.util.CarbonUtil;
 import org.apache.carbondata.hadoop.readsupport.CarbonReadSupport;
 
@@ -48,6 +50,15 @@ public class CarbonRecordReader<T> extends AbstractRecordReader<T> {
 
   private QueryExecutor queryExecutor;
 
+  private QueryProfile queryProfile;
+
+  /**
+   * rows converted by the read support in a batch, so the conversion is done a column at a time
+   */
+  private List<T> rowBatch;
+
+  private int rowBatchIndex;
+
   public CarbonRecordReader(QueryModel queryModel, CarbonReadSupport<T> readSupport) {
     this.queryModel = queryModel;
     this.readSupport = readSupport;
@@ -76,14 +87,14 @@ public class CarbonRecordReader<T> extends AbstractRecordReader<T> {
         queryModel.getAbsoluteTableIdentifier());
     try {
       carbonIterator = new ChunkRowIterator(queryExecutor.execute(queryModel));
+      queryProfile = queryModel.getStatisticsRecorder().getQueryProfile();
     } catch (QueryExecutionException e) {
       throw new InterruptedException(e.getMessage());
     }
   }
 
   @Override public boolean nextKeyValue() {
-    return carbonIterator.hasNext();
-
+    return (null != rowBatch && rowBatchIndex < rowBatch.size()) || carbonIterator.hasNext();
   }
 
   @Override public Void getCurrentKey() throws IOException, InterruptedException {
@@ -92,7 +103,25 @@ public class CarbonRecordReader<T> extends AbstractRecordReader<T> {
 
   @Override public T getCurrentValue() throws IOException, InterruptedException {
     rowCount += 1;
-    return readSupport.readRow(carbonIterator.next());
+    if (null == rowBatch || rowBatchIndex == rowBatch.size()) {
+      readRowBatch();
+    }
+    return rowBatch.get(rowBatchIndex++);
+  }
+
+  private void readRowBatch() {
+    List<Object[]> data = new ArrayList<>(CarbonCommonConstants.DETAIL_QUERY_BATCH_SIZE_DEFAULT);
+    while (data.size() < CarbonCommonConstants.DETAIL_QUERY_BATCH_SIZE_DEFAULT
+        && carbonIterator.hasNext()) {
+      data.add(carbonIterator.next());
+    }
+    long decodeStartTime = null == queryProfile ? 0 : System.nanoTime();
+    rowBatch = readSupport.readRows(data);
+    rowBatchIndex = 0;
+    if (null != queryProfile) {
+      queryProfile
+          .addStageTime(QueryProfile.Stage.DICTIONARY_DECODE, System.nanoTime() - decodeStartTime);
+    }
   }
 
   @Override public float getProgress() throws IOException, InterruptedException {
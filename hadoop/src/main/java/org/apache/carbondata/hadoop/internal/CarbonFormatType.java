@@ -18,5 +18,9 @@
 package org.apache.carbondata.hadoop.internal;
 
 public enum CarbonFormatType {
-  COLUMNAR
+  COLUMNAR,
+  /**
+   * row format of streaming segment
+   */
+  ROW
 }
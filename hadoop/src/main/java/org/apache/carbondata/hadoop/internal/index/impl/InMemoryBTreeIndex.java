@@ -174,7 +174,8 @@ class InMemoryBTreeIndex implements Index {
             abstractIndex.getDataRefNode(),
             resolver,
             abstractIndex,
-            identifier
+            identifier,
+            true
         );
       }
       resultFilterredBlocks.addAll(filterredBlocks);
@@ -28,7 +28,7 @@ public interface SegmentManager {
   /**
    * Used for getting all segments for scan
    */
-  Segment[] getAllValidSegments();
+  Segment[] getAllValidSegments() throws IOException;
 
   /**
    * Used for data load
@@ -14,15 +14,50 @@
  * See the License for the specific language governing permissions and
  * limitations under the License.
  */
-
 package org.apache.carbondata.hadoop.internal.segment;
 
+import java.io.IOException;
+
+import org.apache.carbondata.core.constants.CarbonCommonConstants;
+import org.apache.carbondata.core.locks.ZookeeperInit;
+import org.apache.carbondata.core.metadata.AbsoluteTableIdentifier;
+import org.apache.carbondata.core.util.CarbonProperties;
+import org.apache.carbondata.hadoop.internal.segment.impl.zk.ZkSegmentManager;
+import org.apache.carbondata.hadoop.internal.segment.impl.zk.ZooKeeperSegmentMetadataStore;
+
 /**
  * Used to get the global segment manager instance
  */
 public class SegmentManagerFactory {
+
   public static SegmentManager getGlobalSegmentManager() {
     //TODO return the default implementation
     return null;
   }
+
+  /**
+   * @return true if segment ids of the loads are allocated by the segment manager
+   */
+  public static boolean isSegmentManagerEnabled() {
+    return Boolean.parseBoolean(CarbonProperties.getInstance()
+        .getProperty(CarbonCommonConstants.CARBON_SEGMENT_MANAGER_ENABLE,
+            CarbonCommonConstants.CARBON_SEGMENT_MANAGER_ENABLE_DEFAULT));
+  }
+
+  /**
+   * Segment manager of the table, segments are kept in zookeeper. Loads running in other
+   * processes can not see segments kept in memory of this process, so zookeeper url must be
+   * configured.
+   */
+  public static SegmentManager getSegmentManager(AbsoluteTableIdentifier identifier)
+      throws IOException {
+    String zooKeeperUrl =
+        CarbonProperties.getInstance().getProperty(CarbonCommonConstants.ZOOKEEPER_URL);
+    if (null == zooKeeperUrl) {
+      throw new IOException("Segment manager requires " + CarbonCommonConstants.ZOOKEEPER_URL
+          + " to be configured");
+    }
+    return new ZkSegmentManager(identifier,
+        new ZooKeeperSegmentMetadataStore(ZookeeperInit.getInstance(zooKeeperUrl).getZookeeper()));
+  }
 }
@@ -0,0 +1,84 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.carbondata.hadoop.internal.segment.impl.zk;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Segment metadata store kept in memory of the process with the same semantics as zookeeper.
+ * It can be used in tests and in local mode where all the loads run in one process.
+ */
+public class InMemorySegmentMetadataStore implements SegmentMetadataStore {
+
+  private ConcurrentMap<String, VersionedData> nodes = new ConcurrentHashMap<>();
+
+  private ConcurrentMap<String, AtomicInteger> sequences = new ConcurrentHashMap<>();
+
+  @Override public void ensurePath(String path) {
+    StringBuilder current = new StringBuilder();
+    for (String name : path.split("/")) {
+      if (name.isEmpty()) {
+        continue;
+      }
+      current.append('/').append(name);
+      nodes.putIfAbsent(current.toString(), new VersionedData(new byte[0], 0));
+    }
+  }
+
+  @Override public String createSequential(String parentPath, String prefix, byte[] data) {
+    sequences.putIfAbsent(parentPath, new AtomicInteger());
+    String name =
+        String.format("%s%010d", prefix, sequences.get(parentPath).getAndIncrement());
+    nodes.put(parentPath + '/' + name, new VersionedData(data, 0));
+    return name;
+  }
+
+  @Override public List<String> getChildren(String path) {
+    List<String> children = new ArrayList<>();
+    String prefix = path + '/';
+    for (Map.Entry<String, VersionedData> entry : nodes.entrySet()) {
+      String key = entry.getKey();
+      if (key.startsWith(prefix) && key.indexOf('/', prefix.length()) < 0) {
+        children.add(key.substring(prefix.length()));
+      }
+    }
+    return children;
+  }
+
+  @Override public VersionedData getData(String path) {
+    return nodes.get(path);
+  }
+
+  @Override public boolean setData(String path, byte[] data, int expectedVersion) {
+    VersionedData current = nodes.get(path);
+    if (null == current || current.getVersion() != expectedVersion) {
+      return false;
+    }
+    // replace succeeds only if the node is not changed after it is read
+    return nodes.replace(path, current, new VersionedData(data, expectedVersion + 1));
+  }
+
+  @Override public void delete(String path) {
+    nodes.remove(path);
+  }
+}
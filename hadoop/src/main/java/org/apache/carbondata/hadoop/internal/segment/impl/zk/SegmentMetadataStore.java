@@ -0,0 +1,87 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.carbondata.hadoop.internal.segment.impl.zk;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Hierarchical store of versioned nodes used by {@link ZkSegmentManager} to keep one node
+ * per segment. It follows the zookeeper model, so a segment can be updated by compare and set
+ * on its own node without taking a table level lock.
+ */
+public interface SegmentMetadataStore {
+
+  /**
+   * Creates all the nodes in the path if they are not present
+   */
+  void ensurePath(String path) throws IOException;
+
+  /**
+   * Creates a child node with the prefix and a sequence number which is unique and
+   * increasing within the parent
+   *
+   * @return name of the created child
+   */
+  String createSequential(String parentPath, String prefix, byte[] data) throws IOException;
+
+  /**
+   * @return names of the children, empty if the node is not present
+   */
+  List<String> getChildren(String path) throws IOException;
+
+  /**
+   * @return data with version of the node, null if the node is not present
+   */
+  VersionedData getData(String path) throws IOException;
+
+  /**
+   * Sets the data only if the version of the node is still the expected version
+   *
+   * @return false if the node is modified or deleted after the expected version is read
+   */
+  boolean setData(String path, byte[] data, int expectedVersion) throws IOException;
+
+  /**
+   * Deletes the node, it is ignored if node is not present
+   */
+  void delete(String path) throws IOException;
+
+  /**
+   * Data of a node with the version it was read at
+   */
+  final class VersionedData {
+
+    private byte[] data;
+
+    private int version;
+
+    public VersionedData(byte[] data, int version) {
+      this.data = data;
+      this.version = version;
+    }
+
+    public byte[] getData() {
+      return data;
+    }
+
+    public int getVersion() {
+      return version;
+    }
+  }
+}
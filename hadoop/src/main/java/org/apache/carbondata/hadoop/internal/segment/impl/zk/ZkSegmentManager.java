@@ -18,37 +18,271 @@
 package org.apache.carbondata.hadoop.internal.segment.impl.zk;
 
 import java.io.IOException;
+import java.nio.charset.Charset;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 
+import org.apache.carbondata.common.logging.LogService;
+import org.apache.carbondata.common.logging.LogServiceFactory;
+import org.apache.carbondata.core.constants.CarbonCommonConstants;
+import org.apache.carbondata.core.metadata.AbsoluteTableIdentifier;
+import org.apache.carbondata.core.statusmanager.LoadMetadataDetails;
+import org.apache.carbondata.core.statusmanager.SegmentStatusManager;
+import org.apache.carbondata.core.util.path.CarbonStorePath;
+import org.apache.carbondata.core.util.path.CarbonTablePath;
+import org.apache.carbondata.hadoop.internal.index.impl.InMemoryBTreeIndexLoader;
 import org.apache.carbondata.hadoop.internal.segment.Segment;
 import org.apache.carbondata.hadoop.internal.segment.SegmentManager;
+import org.apache.carbondata.hadoop.internal.segment.impl.IndexedSegment;
+
+import com.google.gson.Gson;
 
 /**
  * This class leverage Zookeeper and HDFS file to manage segments.
- * Zookeeper is used for locking, and HDFS is for storing the state of segments.
+ * Each segment opened by a load is a sequential node in zookeeper holding its load details, and
+ * HDFS is for storing the data of segments. Zookeeper allocates the segment id without the table
+ * status lock and tracks the state of the segments which are not yet recorded in the table
+ * status. The table status is still the commit record of a load, it is updated under the table
+ * status lock by the load before the segment is committed here, so the state in the table status
+ * takes precedence over the state of the node for a segment present in both.
+ * Sequence numbers are offset by a base id kept in the table node, which is set above the
+ * segments already present in the table status when the table node is seeded.
  */
 public class ZkSegmentManager implements SegmentManager {
+
+  private static final LogService LOGGER =
+      LogServiceFactory.getLogService(ZkSegmentManager.class.getName());
+
+  private static final String SEGMENT_NODE_PREFIX = "segment_";
+
+  private static final Charset CHARSET = Charset.forName(CarbonCommonConstants.DEFAULT_CHARSET);
+
+  private SegmentMetadataStore store;
+
+  private AbsoluteTableIdentifier identifier;
+
+  private CarbonTablePath tablePath;
+
+  /**
+   * path of the parent node of all the segment nodes of the table
+   */
+  private String segmentsPath;
+
+  /**
+   * segment id of the node with sequence number zero
+   */
+  private int baseSegmentId;
+
+  /**
+   * segments opened by this manager and not yet committed or closed, with the version of
+   * the segment node when it is opened
+   */
+  private Map<String, OpenSegment> openSegments = new ConcurrentHashMap<>();
+
+  private Gson gson = new Gson();
+
+  public ZkSegmentManager(AbsoluteTableIdentifier identifier, SegmentMetadataStore store)
+      throws IOException {
+    this.store = store;
+    this.identifier = identifier;
+    this.tablePath = CarbonStorePath.getCarbonTablePath(identifier);
+    this.segmentsPath = CarbonCommonConstants.ZOOKEEPER_SEGMENT_LOCATION + '/'
+        + identifier.getCarbonTableIdentifier().getDatabaseName() + '/'
+        + identifier.getCarbonTableIdentifier().getTableName();
+    store.ensurePath(segmentsPath);
+    this.baseSegmentId = readBaseSegmentId();
+  }
+
+  /**
+   * Reads the base id from the table node, the node is seeded with the id next to the
+   * maximum segment id in the table status if it is not seeded yet
+   */
+  private int readBaseSegmentId() throws IOException {
+    while (true) {
+      SegmentMetadataStore.VersionedData data = store.getData(segmentsPath);
+      if (null == data) {
+        throw new IOException("Segment node of table " + segmentsPath + " is not present");
+      }
+      if (null != data.getData() && data.getData().length > 0) {
+        return Integer.parseInt(new String(data.getData(), CHARSET));
+      }
+      String baseSegmentId = String.valueOf(getMaxTableStatusSegmentId() + 1);
+      // only one client seeds the node, others read the id set by it
+      if (store.setData(segmentsPath, baseSegmentId.getBytes(CHARSET), data.getVersion())) {
+        LOGGER.info("Segment ids of table " + segmentsPath + " start from " + baseSegmentId);
+      }
+    }
+  }
+
+  /**
+   * @return maximum id of the segments in the table status, merged segments are ignored
+   */
+  private int getMaxTableStatusSegmentId() {
+    int maxSegmentId = -1;
+    for (LoadMetadataDetails details : SegmentStatusManager
+        .readLoadMetadata(tablePath.getMetadataDirectoryPath())) {
+      try {
+        maxSegmentId = Math.max(maxSegmentId, Integer.parseInt(details.getLoadName()));
+      } catch (NumberFormatException e) {
+        // merged segment like 0.1, its id is not allocated by the segment manager
+      }
+    }
+    return maxSegmentId;
+  }
+
+  private boolean isTableStatusSegment(String segmentId) {
+    for (LoadMetadataDetails details : SegmentStatusManager
+        .readLoadMetadata(tablePath.getMetadataDirectoryPath())) {
+      if (segmentId.equals(details.getLoadName())) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  /**
+   * @return valid segments of the table status followed by the committed segments which are
+   * not yet recorded in the table status
+   */
   @Override
-  public Segment[] getAllValidSegments() {
-    return new Segment[0];
+  public Segment[] getAllValidSegments() throws IOException {
+    SegmentStatusManager.ValidAndInvalidSegmentsInfo segmentsInfo =
+        new SegmentStatusManager(identifier).getValidAndInvalidSegments();
+    Set<String> tableStatusSegments = new HashSet<>(segmentsInfo.getValidSegments());
+    tableStatusSegments.addAll(segmentsInfo.getInvalidSegments());
+    tableStatusSegments.addAll(segmentsInfo.getStreamSegments());
+    List<Segment> segments = new ArrayList<>();
+    for (String segmentId : segmentsInfo.getValidSegments()) {
+      segments.add(createSegment(segmentId));
+    }
+    List<String> children = store.getChildren(segmentsPath);
+    // sequence number is zero padded, so the name order is the load order
+    Collections.sort(children);
+    for (String nodeName : children) {
+      String segmentId = getSegmentId(nodeName);
+      if (tableStatusSegments.contains(segmentId)) {
+        continue;
+      }
+      SegmentMetadataStore.VersionedData data = store.getData(segmentsPath + '/' + nodeName);
+      if (null == data) {
+        // deleted after listing
+        continue;
+      }
+      String status = readDetails(data).getLoadStatus();
+      if (CarbonCommonConstants.STORE_LOADSTATUS_SUCCESS.equals(status)
+          || CarbonCommonConstants.STORE_LOADSTATUS_PARTIAL_SUCCESS.equals(status)) {
+        segments.add(createSegment(segmentId));
+      }
+    }
+    return segments.toArray(new Segment[segments.size()]);
   }
 
   @Override
   public Segment openNewSegment() throws IOException {
-    return null;
+    LoadMetadataDetails details = new LoadMetadataDetails();
+    details.setLoadStatus(CarbonCommonConstants.STORE_LOADSTATUS_IN_PROGRESS);
+    details.setLoadStartTime(System.currentTimeMillis());
+    String nodeName = store.createSequential(segmentsPath, SEGMENT_NODE_PREFIX,
+        gson.toJson(details).getBytes(CHARSET));
+    String segmentId = getSegmentId(nodeName);
+    details.setLoadName(segmentId);
+    openSegments.put(segmentId, new OpenSegment(details, 0));
+    // a load which did not use the segment manager could have taken the id already
+    if (isTableStatusSegment(segmentId)) {
+      closeSegment(createSegment(segmentId));
+      throw new IOException("Segment " + segmentId + " allocated for table " + segmentsPath
+          + " is already present in the table status");
+    }
+    LOGGER.info("Opened new segment " + segmentId + " for table " + segmentsPath);
+    return createSegment(segmentId);
   }
 
   @Override
   public void commitSegment(Segment segment) throws IOException {
-
+    finishSegment(segment, CarbonCommonConstants.STORE_LOADSTATUS_SUCCESS);
+    LOGGER.info("Committed segment " + segment.getId() + " for table " + segmentsPath);
   }
 
   @Override
   public void closeSegment(Segment segment) throws IOException {
-
+    if (!openSegments.containsKey(segment.getId())) {
+      // already committed or closed, closing it again must not hide the failure of the load
+      LOGGER.warn("Segment " + segment.getId() + " is not opened by this manager, not closed");
+      return;
+    }
+    // data of the failed segment is removed by clean files as for the failed loads
+    finishSegment(segment, CarbonCommonConstants.MARKED_FOR_DELETE);
+    LOGGER.info("Closed failed segment " + segment.getId() + " for table " + segmentsPath);
   }
 
   @Override
   public void deleteSegment(Segment segment) throws IOException {
+    String nodePath = getNodePath(segment.getId());
+    // segment can be deleted by any client, so retry till the latest version is updated
+    while (true) {
+      SegmentMetadataStore.VersionedData data = store.getData(nodePath);
+      if (null == data) {
+        throw new IOException("Segment " + segment.getId() + " is not present");
+      }
+      LoadMetadataDetails details = readDetails(data);
+      details.setLoadStatus(CarbonCommonConstants.MARKED_FOR_DELETE);
+      details.setModificationOrdeletionTimesStamp(System.currentTimeMillis());
+      if (store.setData(nodePath, gson.toJson(details).getBytes(CHARSET), data.getVersion())) {
+        break;
+      }
+    }
+    openSegments.remove(segment.getId());
+    LOGGER.info("Marked segment " + segment.getId() + " for delete in table " + segmentsPath);
+  }
+
+  private void finishSegment(Segment segment, String status) throws IOException {
+    OpenSegment openSegment = openSegments.remove(segment.getId());
+    if (null == openSegment) {
+      throw new IOException("Segment " + segment.getId() + " is not opened by this manager");
+    }
+    LoadMetadataDetails details = openSegment.details;
+    details.setLoadStatus(status);
+    details.setLoadEndTime(System.currentTimeMillis());
+    if (!store.setData(getNodePath(segment.getId()), gson.toJson(details).getBytes(CHARSET),
+        openSegment.version)) {
+      throw new IOException(
+          "Segment " + segment.getId() + " is modified or deleted by another client");
+    }
+  }
+
+  private LoadMetadataDetails readDetails(SegmentMetadataStore.VersionedData data) {
+    return gson.fromJson(new String(data.getData(), CHARSET), LoadMetadataDetails.class);
+  }
+
+  private Segment createSegment(String segmentId) {
+    return new IndexedSegment(segmentId, tablePath.getCarbonDataDirectoryPath("0", segmentId),
+        new InMemoryBTreeIndexLoader());
+  }
+
+  private String getNodePath(String segmentId) {
+    return segmentsPath + '/' + SEGMENT_NODE_PREFIX + String.format("%010d",
+        Integer.parseInt(segmentId) - baseSegmentId);
+  }
+
+  private String getSegmentId(String nodeName) {
+    return String.valueOf(
+        baseSegmentId + Integer.parseInt(nodeName.substring(SEGMENT_NODE_PREFIX.length())));
+  }
+
+  private static class OpenSegment {
+
+    private LoadMetadataDetails details;
+
+    private int version;
 
+    private OpenSegment(LoadMetadataDetails details, int version) {
+      this.details = details;
+      this.version = version;
+    }
   }
 }
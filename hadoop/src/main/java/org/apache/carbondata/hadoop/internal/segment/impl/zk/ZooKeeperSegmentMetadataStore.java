@@ -0,0 +1,133 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.carbondata.hadoop.internal.segment.impl.zk;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.apache.zookeeper.CreateMode;
+import org.apache.zookeeper.KeeperException;
+import org.apache.zookeeper.ZooDefs;
+import org.apache.zookeeper.ZooKeeper;
+import org.apache.zookeeper.data.Stat;
+
+/**
+ * Segment metadata store backed by zookeeper
+ */
+public class ZooKeeperSegmentMetadataStore implements SegmentMetadataStore {
+
+  private ZooKeeper zk;
+
+  public ZooKeeperSegmentMetadataStore(ZooKeeper zk) {
+    this.zk = zk;
+  }
+
+  @Override public void ensurePath(String path) throws IOException {
+    StringBuilder current = new StringBuilder();
+    for (String name : path.split("/")) {
+      if (name.isEmpty()) {
+        continue;
+      }
+      current.append('/').append(name);
+      try {
+        if (null == zk.exists(current.toString(), false)) {
+          zk.create(current.toString(), new byte[0], ZooDefs.Ids.OPEN_ACL_UNSAFE,
+              CreateMode.PERSISTENT);
+        }
+      } catch (KeeperException.NodeExistsException e) {
+        // created by another client
+      } catch (KeeperException e) {
+        throw new IOException(e);
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        throw new IOException(e);
+      }
+    }
+  }
+
+  @Override public String createSequential(String parentPath, String prefix, byte[] data)
+      throws IOException {
+    try {
+      String path = zk.create(parentPath + '/' + prefix, data, ZooDefs.Ids.OPEN_ACL_UNSAFE,
+          CreateMode.PERSISTENT_SEQUENTIAL);
+      return path.substring(path.lastIndexOf('/') + 1);
+    } catch (KeeperException e) {
+      throw new IOException(e);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new IOException(e);
+    }
+  }
+
+  @Override public List<String> getChildren(String path) throws IOException {
+    try {
+      return zk.getChildren(path, false);
+    } catch (KeeperException.NoNodeException e) {
+      return new ArrayList<>(0);
+    } catch (KeeperException e) {
+      throw new IOException(e);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new IOException(e);
+    }
+  }
+
+  @Override public VersionedData getData(String path) throws IOException {
+    try {
+      Stat stat = new Stat();
+      byte[] data = zk.getData(path, false, stat);
+      return new VersionedData(data, stat.getVersion());
+    } catch (KeeperException.NoNodeException e) {
+      return null;
+    } catch (KeeperException e) {
+      throw new IOException(e);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new IOException(e);
+    }
+  }
+
+  @Override public boolean setData(String path, byte[] data, int expectedVersion)
+      throws IOException {
+    try {
+      zk.setData(path, data, expectedVersion);
+      return true;
+    } catch (KeeperException.BadVersionException | KeeperException.NoNodeException e) {
+      return false;
+    } catch (KeeperException e) {
+      throw new IOException(e);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new IOException(e);
+    }
+  }
+
+  @Override public void delete(String path) throws IOException {
+    try {
+      zk.delete(path, -1);
+    } catch (KeeperException.NoNodeException e) {
+      // already deleted
+    } catch (KeeperException e) {
+      throw new IOException(e);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new IOException(e);
+    }
+  }
+}
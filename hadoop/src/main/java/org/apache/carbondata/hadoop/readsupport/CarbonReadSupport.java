@@ -17,6 +17,7 @@
 package org.apache.carbondata.hadoop.readsupport;
 
 import java.io.IOException;
+import java.util.List;
 
 import org.apache.carbondata.core.metadata.AbsoluteTableIdentifier;
 import org.apache.carbondata.core.metadata.schema.table.column.CarbonColumn;
@@ -41,6 +42,13 @@ public interface CarbonReadSupport<T> {
    */
   T readRow(Object[] data);
 
+  /**
+   * convert column data of a batch of rows back to row representation, so the conversion can
+   * be done a column at a time
+   * @param data column data of the rows
+   */
+  List<T> readRows(List<Object[]> data);
+
   /**
    * cleanup step if necessary
    */
@@ -17,10 +17,13 @@
 package org.apache.carbondata.hadoop.readsupport.impl;
 
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
 
 import org.apache.carbondata.core.cache.Cache;
 import org.apache.carbondata.core.cache.CacheProvider;
 import org.apache.carbondata.core.cache.CacheType;
+import org.apache.carbondata.core.cache.dictionary.DecodedValueCache;
 import org.apache.carbondata.core.cache.dictionary.Dictionary;
 import org.apache.carbondata.core.cache.dictionary.DictionaryColumnUniqueIdentifier;
 import org.apache.carbondata.core.metadata.AbsoluteTableIdentifier;
@@ -43,6 +46,12 @@ public class DictionaryDecodeReadSupport<T> implements CarbonReadSupport<T> {
    */
   protected CarbonColumn[] carbonColumns;
 
+  /**
+   * decoded values of the dictionary columns, values are decoded when they are read first time
+   * so each value is decoded once in the task
+   */
+  private DecodedValueCache[] decodedValues;
+
   /**
    * This initialization is done inside executor task
    * for column dictionary involved in decoding.
@@ -55,6 +64,7 @@ public class DictionaryDecodeReadSupport<T> implements CarbonReadSupport<T> {
     this.carbonColumns = carbonColumns;
     dictionaries = new Dictionary[carbonColumns.length];
     dataTypes = new DataType[carbonColumns.length];
+    decodedValues = new DecodedValueCache[carbonColumns.length];
     for (int i = 0; i < carbonColumns.length; i++) {
       if (carbonColumns[i].hasEncoding(Encoding.DICTIONARY) && !carbonColumns[i]
           .hasEncoding(Encoding.DIRECT_DICTIONARY) && !carbonColumns[i].isComplex()) {
@@ -75,12 +85,40 @@ public class DictionaryDecodeReadSupport<T> implements CarbonReadSupport<T> {
     assert (data.length == dictionaries.length);
     for (int i = 0; i < dictionaries.length; i++) {
       if (dictionaries[i] != null) {
-        data[i] = dictionaries[i].getDictionaryValueForKey((int) data[i]);
+        data[i] = getDictionaryValue(i, (int) data[i]);
       }
     }
     return (T)data;
   }
 
+  @Override public List<T> readRows(List<Object[]> data) {
+    for (int i = 0; i < dictionaries.length; i++) {
+      if (dictionaries[i] != null) {
+        for (Object[] row : data) {
+          row[i] = getDictionaryValue(i, (int) row[i]);
+        }
+      }
+    }
+    List<T> rows = new ArrayList<>(data.size());
+    for (Object[] row : data) {
+      rows.add((T) row);
+    }
+    return rows;
+  }
+
+  /**
+   * Returns the decoded value of the surrogate key of the column from the decoded values of the
+   * column, which are created when the column is read first time
+   */
+  protected String getDictionaryValue(int columnIndex, int surrogateKey) {
+    DecodedValueCache values = decodedValues[columnIndex];
+    if (null == values) {
+      values = new DecodedValueCache(dictionaries[columnIndex]);
+      decodedValues[columnIndex] = values;
+    }
+    return (String) values.getValue(surrogateKey);
+  }
+
   /**
    * to book keep the dictionary cache or update access count for each
    * column involved during decode, to facilitate LRU cache policy if memory
@@ -90,5 +128,6 @@ public class DictionaryDecodeReadSupport<T> implements CarbonReadSupport<T> {
     for (int i = 0; i < dictionaries.length; i++) {
       CarbonUtil.clearDictionaryCache(dictionaries[i]);
     }
+    decodedValues = null;
   }
 }
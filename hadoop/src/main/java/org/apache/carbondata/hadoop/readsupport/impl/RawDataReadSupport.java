@@ -16,6 +16,9 @@
  */
 package org.apache.carbondata.hadoop.readsupport.impl;
 
+import java.util.ArrayList;
+import java.util.List;
+
 import org.apache.carbondata.core.metadata.AbsoluteTableIdentifier;
 import org.apache.carbondata.core.metadata.schema.table.column.CarbonColumn;
 import org.apache.carbondata.hadoop.readsupport.CarbonReadSupport;
@@ -39,5 +42,13 @@ public class RawDataReadSupport implements CarbonReadSupport<InternalRow> {
     return new GenericInternalRow(data);
   }
 
+  @Override public List<InternalRow> readRows(List<Object[]> data) {
+    List<InternalRow> rows = new ArrayList<>(data.size());
+    for (Object[] row : data) {
+      rows.add(new GenericInternalRow(row));
+    }
+    return rows;
+  }
+
   @Override public void close() { }
 }
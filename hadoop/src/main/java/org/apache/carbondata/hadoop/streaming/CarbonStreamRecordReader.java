@@ -0,0 +1,343 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.carbondata.hadoop.streaming;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.nio.charset.Charset;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.apache.carbondata.common.logging.LogService;
+import org.apache.carbondata.common.logging.LogServiceFactory;
+import org.apache.carbondata.core.cache.dictionary.Dictionary;
+import org.apache.carbondata.core.constants.CarbonCommonConstants;
+import org.apache.carbondata.core.keygenerator.directdictionary.DirectDictionaryGenerator;
+import org.apache.carbondata.core.keygenerator.directdictionary.DirectDictionaryKeyGeneratorFactory;
+import org.apache.carbondata.core.metadata.datatype.DataType;
+import org.apache.carbondata.core.metadata.encoder.Encoding;
+import org.apache.carbondata.core.metadata.schema.table.CarbonTable;
+import org.apache.carbondata.core.metadata.schema.table.column.CarbonColumn;
+import org.apache.carbondata.core.metadata.schema.table.column.CarbonDimension;
+import org.apache.carbondata.core.metadata.schema.table.column.ColumnSchema;
+import org.apache.carbondata.core.scan.expression.ColumnExpression;
+import org.apache.carbondata.core.scan.expression.Expression;
+import org.apache.carbondata.core.scan.expression.exception.FilterIllegalMemberException;
+import org.apache.carbondata.core.scan.expression.exception.FilterUnsupportedException;
+import org.apache.carbondata.core.scan.filter.FilterUtil;
+import org.apache.carbondata.core.scan.filter.intf.RowImpl;
+import org.apache.carbondata.core.scan.model.QueryModel;
+import org.apache.carbondata.core.stats.QueryProfile;
+import org.apache.carbondata.core.util.CarbonTimeStatisticsFactory;
+import org.apache.carbondata.core.util.CarbonUtil;
+import org.apache.carbondata.core.util.DataTypeUtil;
+import org.apache.carbondata.hadoop.AbstractRecordReader;
+import org.apache.carbondata.hadoop.CarbonInputSplit;
+import org.apache.carbondata.hadoop.CarbonMultiBlockSplit;
+import org.apache.carbondata.hadoop.readsupport.CarbonReadSupport;
+import org.apache.carbondata.processing.newflow.streaming.StreamFileReader;
+
+import org.apache.hadoop.mapreduce.InputSplit;
+import org.apache.hadoop.mapreduce.TaskAttemptContext;
+
+/**
+ * Reads the row format files of streaming segment. Rows are filled in the same way as
+ * the detail query result of columnar files, dictionary columns as surrogate key and
+ * others as actual value, so the same read support can be used for both the formats.
+ * Filter expression is evaluated on each row as there is no index in streaming files.
+ */
+public class CarbonStreamRecordReader<T> extends AbstractRecordReader<T> {
+
+  private static final LogService LOGGER =
+      LogServiceFactory.getLogService(CarbonStreamRecordReader.class.getName());
+
+  private static final Charset CHARSET = Charset.forName(CarbonCommonConstants.DEFAULT_CHARSET);
+
+  private QueryModel queryModel;
+
+  private CarbonReadSupport<T> readSupport;
+
+  private Expression filter;
+
+  private CarbonTable carbonTable;
+
+  private List<CarbonInputSplit> splits;
+
+  private int splitIndex;
+
+  private StreamFileReader reader;
+
+  private CarbonColumn[] projection;
+
+  /**
+   * index of the projection column in the row read from file, -1 if column is not present
+   */
+  private int[] projectionIndexInFile;
+
+  private CarbonColumn[] filterColumns;
+
+  private int[] filterIndexInFile;
+
+  private Map<String, Dictionary> filterDictionaries = new HashMap<>();
+
+  private QueryProfile queryProfile;
+
+  private T currentValue;
+
+  public CarbonStreamRecordReader(QueryModel queryModel, CarbonReadSupport<T> readSupport,
+      Expression filter, CarbonTable carbonTable) {
+    this.queryModel = queryModel;
+    this.readSupport = readSupport;
+    this.filter = filter;
+    this.carbonTable = carbonTable;
+  }
+
+  @Override public void initialize(InputSplit inputSplit, TaskAttemptContext context)
+      throws IOException, InterruptedException {
+    if (inputSplit instanceof CarbonInputSplit) {
+      splits = new ArrayList<>(1);
+      splits.add((CarbonInputSplit) inputSplit);
+    } else if (inputSplit instanceof CarbonMultiBlockSplit) {
+      splits = ((CarbonMultiBlockSplit) inputSplit).getAllSplits();
+    } else {
+      throw new RuntimeException("unsupported input split type: " + inputSplit);
+    }
+    projection = queryModel.getProjectionColumns();
+    readSupport.initialize(projection, queryModel.getAbsoluteTableIdentifier());
+    if (null != filter) {
+      List<ColumnExpression> columnExpressions = new ArrayList<>();
+      collectColumnExpressions(filter, columnExpressions);
+      // every column is given a position in the row which is used for filter evaluation
+      Map<String, Integer> filterColumnIndex = new HashMap<>();
+      List<CarbonColumn> columns = new ArrayList<>();
+      for (ColumnExpression columnExpression : columnExpressions) {
+        CarbonColumn column = columnExpression.getCarbonColumn();
+        if (null == column) {
+          column = carbonTable
+              .getColumnByName(carbonTable.getFactTableName(), columnExpression.getColumnName());
+        }
+        Integer index = filterColumnIndex.get(column.getColumnId());
+        if (null == index) {
+          index = columns.size();
+          filterColumnIndex.put(column.getColumnId(), index);
+          columns.add(column);
+        }
+        columnExpression.setColIndex(index);
+      }
+      filterColumns = columns.toArray(new CarbonColumn[columns.size()]);
+    }
+    // there is no query executor for streaming files, so recorder is created here
+    if (null == queryModel.getStatisticsRecorder()) {
+      queryModel.setStatisticsRecorder(
+          CarbonTimeStatisticsFactory.createExecutorRecorder(queryModel.getQueryId()));
+    }
+    queryProfile = queryModel.getStatisticsRecorder().getQueryProfile();
+    if (null != queryProfile) {
+      queryProfile.addBlocks(splits.size(), splits.size());
+    }
+  }
+
+  private static void collectColumnExpressions(Expression expression,
+      List<ColumnExpression> columnExpressions) {
+    if (expression instanceof ColumnExpression) {
+      columnExpressions.add((ColumnExpression) expression);
+      return;
+    }
+    if (null != expression.getChildren()) {
+      for (Expression child : expression.getChildren()) {
+        collectColumnExpressions(child, columnExpressions);
+      }
+    }
+  }
+
+  /**
+   * Opens the next streaming file and maps the columns to the stored column order
+   */
+  private boolean openNextFile() throws IOException {
+    if (null != reader) {
+      reader.close();
+      reader = null;
+    }
+    if (splitIndex >= splits.size()) {
+      return false;
+    }
+    CarbonInputSplit split = splits.get(splitIndex++);
+    reader = new StreamFileReader(split.getPath().toString(), split.getLength());
+    reader.open();
+    List<ColumnSchema> columnSchemas = reader.getColumnSchemas();
+    Map<String, Integer> columnIndex = new HashMap<>(columnSchemas.size());
+    for (int i = 0; i < columnSchemas.size(); i++) {
+      columnIndex.put(columnSchemas.get(i).getColumnUniqueId(), i);
+    }
+    projectionIndexInFile = getIndexInFile(projection, columnIndex);
+    if (null != filterColumns) {
+      filterIndexInFile = getIndexInFile(filterColumns, columnIndex);
+    }
+    return true;
+  }
+
+  private static int[] getIndexInFile(CarbonColumn[] columns, Map<String, Integer> columnIndex) {
+    int[] indexInFile = new int[columns.length];
+    for (int i = 0; i < columns.length; i++) {
+      Integer index = columnIndex.get(columns[i].getColumnId());
+      // column added after the file is written is filled as null
+      indexInFile[i] = null == index ? -1 : index;
+    }
+    return indexInFile;
+  }
+
+  @Override public boolean nextKeyValue() throws IOException, InterruptedException {
+    while (true) {
+      if (null == reader || !reader.hasNext()) {
+        if (!openNextFile()) {
+          return false;
+        }
+        continue;
+      }
+      Object[] rowInFile = reader.next();
+      if (null != filter) {
+        long filterStartTime = null == queryProfile ? 0 : System.nanoTime();
+        boolean isValid = isValidRow(rowInFile);
+        if (null != queryProfile) {
+          queryProfile
+              .addStageTime(QueryProfile.Stage.FILTER, System.nanoTime() - filterStartTime);
+        }
+        if (!isValid) {
+          continue;
+        }
+      }
+      Object[] row = new Object[projection.length];
+      for (int i = 0; i < projection.length; i++) {
+        if (projectionIndexInFile[i] >= 0) {
+          row[i] = getResultValue(projection[i], rowInFile[projectionIndexInFile[i]]);
+        }
+      }
+      long decodeStartTime = null == queryProfile ? 0 : System.nanoTime();
+      currentValue = readSupport.readRow(row);
+      if (null != queryProfile) {
+        queryProfile.addStageTime(QueryProfile.Stage.DICTIONARY_DECODE,
+            System.nanoTime() - decodeStartTime);
+        queryProfile.addResultRows(1);
+      }
+      return true;
+    }
+  }
+
+  /**
+   * Value of the column as it is filled by detail query for columnar files
+   */
+  private Object getResultValue(CarbonColumn column, Object value) {
+    if (column.isDimesion()) {
+      if (column.hasEncoding(Encoding.DIRECT_DICTIONARY)) {
+        DirectDictionaryGenerator generator = DirectDictionaryKeyGeneratorFactory
+            .getDirectDictionaryGenerator(column.getDataType());
+        return null == generator ? null : generator.getValueFromSurrogate((Integer) value);
+      } else if (column.hasEncoding(Encoding.DICTIONARY)) {
+        return value;
+      }
+      return DataTypeUtil
+          .getDataBasedOnDataType(new String((byte[]) value, CHARSET), column.getDataType());
+    }
+    if (null != value && column.getDataType() == DataType.DECIMAL) {
+      BigDecimal decimal = (BigDecimal) value;
+      if (column.getColumnSchema().getScale() > decimal.scale()) {
+        decimal = decimal.setScale(column.getColumnSchema().getScale(), RoundingMode.HALF_UP);
+      }
+      return org.apache.spark.sql.types.Decimal.apply(decimal);
+    }
+    return value;
+  }
+
+  /**
+   * Value of the column as it is filled for row level filter evaluation
+   */
+  private Object getFilterValue(CarbonColumn column, Object value) throws IOException {
+    if (null == value) {
+      return null;
+    }
+    if (!column.isDimesion()) {
+      return value;
+    }
+    if (column.hasEncoding(Encoding.DIRECT_DICTIONARY)) {
+      DirectDictionaryGenerator generator = DirectDictionaryKeyGeneratorFactory
+          .getDirectDictionaryGenerator(column.getDataType());
+      return null == generator ? null : generator.getValueFromSurrogate((Integer) value);
+    } else if (column.hasEncoding(Encoding.DICTIONARY)) {
+      Dictionary dictionary = filterDictionaries.get(column.getColumnId());
+      if (null == dictionary) {
+        dictionary = FilterUtil.getForwardDictionaryCache(carbonTable.getAbsoluteTableIdentifier(),
+            (CarbonDimension) column);
+        filterDictionaries.put(column.getColumnId(), dictionary);
+      }
+      String member = dictionary.getDictionaryValueForKey((Integer) value);
+      if (null == member || CarbonCommonConstants.MEMBER_DEFAULT_VAL.equals(member)) {
+        return null;
+      }
+      return DataTypeUtil.getDataBasedOnDataType(member, column.getDataType());
+    }
+    return DataTypeUtil.getDataBasedOnDataType((byte[]) value, (CarbonDimension) column);
+  }
+
+  private boolean isValidRow(Object[] rowInFile) throws IOException {
+    Object[] filterRow = new Object[filterColumns.length];
+    for (int i = 0; i < filterColumns.length; i++) {
+      if (filterIndexInFile[i] >= 0) {
+        filterRow[i] = getFilterValue(filterColumns[i], rowInFile[filterIndexInFile[i]]);
+      }
+    }
+    RowImpl row = new RowImpl();
+    row.setValues(filterRow);
+    try {
+      Boolean result = filter.evaluate(row).getBoolean();
+      return null != result && result;
+    } catch (FilterIllegalMemberException e) {
+      // invalid member is ignored same as row level filter of columnar files
+      return false;
+    } catch (FilterUnsupportedException e) {
+      throw new IOException(e);
+    }
+  }
+
+  @Override public Void getCurrentKey() throws IOException, InterruptedException {
+    return null;
+  }
+
+  @Override public T getCurrentValue() throws IOException, InterruptedException {
+    rowCount += 1;
+    return currentValue;
+  }
+
+  @Override public float getProgress() throws IOException, InterruptedException {
+    return 0;
+  }
+
+  @Override public void close() throws IOException {
+    logStatistics(rowCount, queryModel.getStatisticsRecorder());
+    if (null != reader) {
+      reader.close();
+    }
+    for (Dictionary dictionary : filterDictionaries.values()) {
+      CarbonUtil.clearDictionaryCache(dictionary);
+    }
+    // close read support
+    readSupport.close();
+    LOGGER.info("Rows read from streaming files: " + rowCount);
+  }
+}
@@ -0,0 +1,106 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.carbondata.hadoop;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+
+import org.apache.carbondata.common.CarbonIterator;
+import org.apache.carbondata.core.constants.CarbonCommonConstants;
+import org.apache.carbondata.core.metadata.AbsoluteTableIdentifier;
+import org.apache.carbondata.core.metadata.schema.table.column.CarbonColumn;
+import org.apache.carbondata.core.scan.model.QueryModel;
+import org.apache.carbondata.core.stats.QueryProfile;
+import org.apache.carbondata.hadoop.readsupport.CarbonReadSupport;
+
+import mockit.Deencapsulation;
+import org.junit.Test;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+
+public class CarbonRecordReaderTest {
+
+  @Test public void testRowsAreConvertedInBatches() throws IOException, InterruptedException {
+    int batchSize = CarbonCommonConstants.DETAIL_QUERY_BATCH_SIZE_DEFAULT;
+    int numberOfRows = 2 * batchSize + 5;
+    final List<Object[]> rows = new ArrayList<>();
+    for (int i = 0; i < numberOfRows; i++) {
+      rows.add(new Object[] { i });
+    }
+    TestReadSupport readSupport = new TestReadSupport();
+    CarbonRecordReader<Object[]> reader =
+        new CarbonRecordReader<Object[]>(new QueryModel(), readSupport);
+    Deencapsulation.setField(reader, "carbonIterator", new CarbonIterator<Object[]>() {
+      private Iterator<Object[]> iterator = rows.iterator();
+
+      @Override public boolean hasNext() {
+        return iterator.hasNext();
+      }
+
+      @Override public Object[] next() {
+        return iterator.next();
+      }
+    });
+    Deencapsulation.setField(reader, "queryProfile", new QueryProfile());
+
+    int rowIndex = 0;
+    while (reader.nextKeyValue()) {
+      assertArrayEquals(new Object[] { "converted", rowIndex }, reader.getCurrentValue());
+      rowIndex++;
+    }
+    assertEquals(numberOfRows, rowIndex);
+    assertFalse(reader.nextKeyValue());
+    List<Integer> expectedBatchSizes = new ArrayList<>();
+    expectedBatchSizes.add(batchSize);
+    expectedBatchSizes.add(batchSize);
+    expectedBatchSizes.add(5);
+    assertEquals(expectedBatchSizes, readSupport.batchSizes);
+  }
+
+  /**
+   * Read support which adds a column to the row and records the size of the converted batches
+   */
+  private static class TestReadSupport implements CarbonReadSupport<Object[]> {
+
+    private List<Integer> batchSizes = new ArrayList<>();
+
+    @Override public void initialize(CarbonColumn[] carbonColumns,
+        AbsoluteTableIdentifier absoluteTableIdentifier) {
+    }
+
+    @Override public Object[] readRow(Object[] data) {
+      return new Object[] { "converted", data[0] };
+    }
+
+    @Override public List<Object[]> readRows(List<Object[]> data) {
+      batchSizes.add(data.size());
+      List<Object[]> rows = new ArrayList<>(data.size());
+      for (Object[] row : data) {
+        rows.add(readRow(row));
+      }
+      return rows;
+    }
+
+    @Override public void close() {
+    }
+  }
+}
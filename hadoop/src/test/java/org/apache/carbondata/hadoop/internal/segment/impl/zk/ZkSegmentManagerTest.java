@@ -0,0 +1,209 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.carbondata.hadoop.internal.segment.impl.zk;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.apache.carbondata.core.constants.CarbonCommonConstants;
+import org.apache.carbondata.core.metadata.AbsoluteTableIdentifier;
+import org.apache.carbondata.core.metadata.CarbonTableIdentifier;
+import org.apache.carbondata.core.statusmanager.LoadMetadataDetails;
+import org.apache.carbondata.core.statusmanager.SegmentStatusManager;
+import org.apache.carbondata.core.util.path.CarbonStorePath;
+import org.apache.carbondata.core.util.path.CarbonTablePath;
+import org.apache.carbondata.hadoop.internal.segment.Segment;
+import org.apache.carbondata.hadoop.internal.segment.SegmentManager;
+import org.apache.carbondata.hadoop.internal.segment.SegmentManagerFactory;
+
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+public class ZkSegmentManagerTest {
+
+  private SegmentManager segmentManager;
+
+  @Before public void setUp() throws Exception {
+    AbsoluteTableIdentifier identifier = new AbsoluteTableIdentifier("/tmp/store",
+        new CarbonTableIdentifier("default", "t1", "1"));
+    segmentManager = new ZkSegmentManager(identifier, new InMemorySegmentMetadataStore());
+  }
+
+  @Test public void testOnlyCommittedSegmentsAreValid() throws Exception {
+    Segment segment0 = segmentManager.openNewSegment();
+    Segment segment1 = segmentManager.openNewSegment();
+    Segment segment2 = segmentManager.openNewSegment();
+    Assert.assertEquals("0", segment0.getId());
+    Assert.assertEquals("1", segment1.getId());
+    Assert.assertEquals(0, segmentManager.getAllValidSegments().length);
+
+    segmentManager.commitSegment(segment1);
+    segmentManager.closeSegment(segment2);
+    Segment[] validSegments = segmentManager.getAllValidSegments();
+    Assert.assertEquals(1, validSegments.length);
+    Assert.assertEquals("1", validSegments[0].getId());
+    Assert.assertTrue(validSegments[0].getPath().endsWith("Segment_1"));
+
+    segmentManager.commitSegment(segment0);
+    Assert.assertEquals(2, segmentManager.getAllValidSegments().length);
+    segmentManager.deleteSegment(segment1);
+    validSegments = segmentManager.getAllValidSegments();
+    Assert.assertEquals(1, validSegments.length);
+    Assert.assertEquals("0", validSegments[0].getId());
+  }
+
+  @Test public void testCommitAfterDeleteFails() throws Exception {
+    Segment segment = segmentManager.openNewSegment();
+    segmentManager.deleteSegment(segment);
+    try {
+      segmentManager.commitSegment(segment);
+      Assert.fail("committed a deleted segment");
+    } catch (Exception e) {
+      // test pass
+    }
+    Assert.assertEquals(0, segmentManager.getAllValidSegments().length);
+  }
+
+  @Test public void testConcurrentLoads() throws Exception {
+    ExecutorService executor = Executors.newFixedThreadPool(8);
+    List<Future<String>> futures = new ArrayList<>();
+    for (int i = 0; i < 100; i++) {
+      futures.add(executor.submit(new Callable<String>() {
+        @Override public String call() throws Exception {
+          Segment segment = segmentManager.openNewSegment();
+          segmentManager.commitSegment(segment);
+          return segment.getId();
+        }
+      }));
+    }
+    Set<String> segmentIds = new HashSet<>();
+    for (Future<String> future : futures) {
+      segmentIds.add(future.get());
+    }
+    executor.shutdown();
+    Assert.assertEquals(100, segmentIds.size());
+    Assert.assertEquals(100, segmentManager.getAllValidSegments().length);
+  }
+
+  @Test public void testSegmentIdsStartAfterTableStatusSegments() throws Exception {
+    AbsoluteTableIdentifier identifier = createTableWithSegments("t2", "0", "1", "1.1");
+    InMemorySegmentMetadataStore store = new InMemorySegmentMetadataStore();
+    SegmentManager manager = new ZkSegmentManager(identifier, store);
+    Segment segment = manager.openNewSegment();
+    Assert.assertEquals("2", segment.getId());
+    manager.commitSegment(segment);
+    // base id is kept in the store, so another manager continues from the same sequence
+    Segment next = new ZkSegmentManager(identifier, store).openNewSegment();
+    Assert.assertEquals("3", next.getId());
+    Assert.assertEquals("2", manager.getAllValidSegments()[0].getId());
+  }
+
+  @Test public void testSegmentIdTakenByTableStatusFails() throws Exception {
+    AbsoluteTableIdentifier identifier = createTableWithSegments("t3", "0");
+    SegmentManager manager = new ZkSegmentManager(identifier, new InMemorySegmentMetadataStore());
+    // load which did not use the segment manager took the next id
+    writeTableStatus(identifier, "0", "1");
+    try {
+      manager.openNewSegment();
+      Assert.fail("opened a segment which is present in table status");
+    } catch (IOException e) {
+      // test pass
+    }
+    Assert.assertEquals("2", manager.openNewSegment().getId());
+  }
+
+  @Test public void testCloseAfterCommitIsIgnored() throws Exception {
+    Segment segment = segmentManager.openNewSegment();
+    segmentManager.commitSegment(segment);
+    // closed again by the finally block of the load, must not fail
+    segmentManager.closeSegment(segment);
+    Assert.assertEquals(1, segmentManager.getAllValidSegments().length);
+  }
+
+  @Test public void testTableStatusTakesPrecedence() throws Exception {
+    AbsoluteTableIdentifier identifier = createTableWithSegments("t5", "0");
+    SegmentManager manager = new ZkSegmentManager(identifier, new InMemorySegmentMetadataStore());
+    Segment segment1 = manager.openNewSegment();
+    Segment segment2 = manager.openNewSegment();
+    manager.commitSegment(segment1);
+    manager.commitSegment(segment2);
+    // segment 1 is recorded in table status and deleted there, segment 2 is not yet recorded
+    writeTableStatus(identifier, "0", "1");
+    markForDelete(identifier, "1");
+    Segment[] validSegments = manager.getAllValidSegments();
+    Assert.assertEquals(2, validSegments.length);
+    Assert.assertEquals("0", validSegments[0].getId());
+    Assert.assertEquals("2", validSegments[1].getId());
+  }
+
+  @Test public void testSegmentManagerRequiresZooKeeper() throws Exception {
+    AbsoluteTableIdentifier identifier = new AbsoluteTableIdentifier("/tmp/store",
+        new CarbonTableIdentifier("default", "t4", "4"));
+    try {
+      SegmentManagerFactory.getSegmentManager(identifier);
+      Assert.fail("segment manager is created without zookeeper");
+    } catch (IOException e) {
+      // test pass
+    }
+  }
+
+  private AbsoluteTableIdentifier createTableWithSegments(String tableName, String... segmentIds)
+      throws IOException {
+    File storePath = new File(System.getProperty("java.io.tmpdir"),
+        "zksegment_" + System.nanoTime());
+    AbsoluteTableIdentifier identifier = new AbsoluteTableIdentifier(storePath.getAbsolutePath(),
+        new CarbonTableIdentifier("default", tableName, tableName));
+    writeTableStatus(identifier, segmentIds);
+    return identifier;
+  }
+
+  private void markForDelete(AbsoluteTableIdentifier identifier, String segmentId)
+      throws IOException {
+    CarbonTablePath tablePath = CarbonStorePath.getCarbonTablePath(identifier);
+    LoadMetadataDetails[] details =
+        SegmentStatusManager.readLoadMetadata(tablePath.getMetadataDirectoryPath());
+    for (LoadMetadataDetails detail : details) {
+      if (segmentId.equals(detail.getLoadName())) {
+        detail.setLoadStatus(CarbonCommonConstants.MARKED_FOR_DELETE);
+      }
+    }
+    SegmentStatusManager.writeLoadDetailsIntoFile(tablePath.getTableStatusFilePath(), details);
+  }
+
+  private void writeTableStatus(AbsoluteTableIdentifier identifier, String... segmentIds)
+      throws IOException {
+    CarbonTablePath tablePath = CarbonStorePath.getCarbonTablePath(identifier);
+    new File(tablePath.getMetadataDirectoryPath()).mkdirs();
+    LoadMetadataDetails[] details = new LoadMetadataDetails[segmentIds.length];
+    for (int i = 0; i < segmentIds.length; i++) {
+      details[i] = new LoadMetadataDetails();
+      details[i].setLoadName(segmentIds[i]);
+      details[i].setLoadStatus(CarbonCommonConstants.STORE_LOADSTATUS_SUCCESS);
+    }
+    SegmentStatusManager.writeLoadDetailsIntoFile(tablePath.getTableStatusFilePath(), details);
+  }
+}
@@ -0,0 +1,180 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.carbondata.hadoop.readsupport.impl;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.apache.carbondata.core.cache.dictionary.Dictionary;
+import org.apache.carbondata.core.cache.dictionary.DictionaryChunksWrapper;
+import org.apache.carbondata.core.constants.CarbonCommonConstants;
+import org.apache.carbondata.core.metadata.datatype.DataType;
+import org.apache.carbondata.core.metadata.encoder.Encoding;
+import org.apache.carbondata.core.metadata.schema.table.column.CarbonColumn;
+import org.apache.carbondata.core.metadata.schema.table.column.CarbonDimension;
+import org.apache.carbondata.core.metadata.schema.table.column.ColumnSchema;
+import org.apache.carbondata.core.util.CarbonProperties;
+
+import org.junit.After;
+import org.junit.Test;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+
+public class DictionaryDecodeReadSupportTest {
+
+  @After public void tearDown() {
+    CarbonProperties.getInstance()
+        .addProperty(CarbonCommonConstants.DICTIONARY_DECODED_VALUES_MAX_SIZE,
+            CarbonCommonConstants.DICTIONARY_DECODED_VALUES_MAX_SIZE_DEFAULT);
+  }
+
+  /**
+   * Returns the read support of a dictionary column and a no dictionary column, decoded values
+   * of the dictionary column are kept up to the given maximum size
+   */
+  private static DictionaryDecodeReadSupport<Object[]> getReadSupport(Dictionary dictionary,
+      String maxDecodedValues) throws IOException {
+    CarbonProperties.getInstance()
+        .addProperty(CarbonCommonConstants.DICTIONARY_DECODED_VALUES_MAX_SIZE, maxDecodedValues);
+    DictionaryDecodeReadSupport<Object[]> readSupport = new DictionaryDecodeReadSupport<>();
+    readSupport.initialize(new CarbonColumn[] { getColumn("c1"), getColumn("c2") }, null);
+    readSupport.dictionaries[0] = dictionary;
+    return readSupport;
+  }
+
+  private static CarbonColumn getColumn(String columnName) {
+    ColumnSchema columnSchema = new ColumnSchema();
+    columnSchema.setColumnName(columnName);
+    columnSchema.setColumnUniqueId(columnName);
+    columnSchema.setDataType(DataType.STRING);
+    columnSchema.setDimensionColumn(true);
+    columnSchema.setEncodingList(new ArrayList<Encoding>());
+    return new CarbonDimension(columnSchema, 0, 0, -1, -1);
+  }
+
+  private static List<Object[]> getRows(int maxSurrogateKey) {
+    List<Object[]> rows = new ArrayList<>();
+    for (int key = 1; key <= maxSurrogateKey; key++) {
+      rows.add(new Object[] { key, "value" + key });
+    }
+    return rows;
+  }
+
+  @Test public void testValueIsDecodedOncePerSurrogateKey() throws IOException {
+    TestDictionary dictionary = new TestDictionary(10);
+    DictionaryDecodeReadSupport<Object[]> readSupport = getReadSupport(dictionary, "1000");
+    for (int i = 0; i < 3; i++) {
+      for (int key = 1; key <= 10; key++) {
+        assertEquals("v" + key, readSupport.getDictionaryValue(0, key));
+      }
+    }
+    assertEquals(10, dictionary.decodeCount);
+  }
+
+  @Test public void testDecodedValuesAreCappedToMaximumSize() throws IOException {
+    TestDictionary dictionary = new TestDictionary(10);
+    DictionaryDecodeReadSupport<Object[]> readSupport = getReadSupport(dictionary, "5");
+    for (int i = 0; i < 2; i++) {
+      for (int key = 1; key <= 10; key++) {
+        assertEquals("v" + key, readSupport.getDictionaryValue(0, key));
+      }
+    }
+    // keys up to 4 are decoded once, the keys beyond the cap are decoded on every read
+    assertEquals(4 + 2 * 6, dictionary.decodeCount);
+  }
+
+  @Test public void testKeyBeyondDictionarySizeIsDecoded() throws IOException {
+    TestDictionary dictionary = new TestDictionary(5);
+    DictionaryDecodeReadSupport<Object[]> readSupport = getReadSupport(dictionary, "1000");
+    // dictionary can grow after the decoded values of the column are created, the cache grows
+    // with it
+    assertEquals("v1", readSupport.getDictionaryValue(0, 1));
+    assertEquals("v20", readSupport.getDictionaryValue(0, 20));
+    assertEquals("v20", readSupport.getDictionaryValue(0, 20));
+    assertEquals(2, dictionary.decodeCount);
+  }
+
+  @Test public void testReadRowsIsSameAsReadRow() throws IOException {
+    DictionaryDecodeReadSupport<Object[]> readSupport =
+        getReadSupport(new TestDictionary(10), "5");
+    List<Object[]> expectedRows = new ArrayList<>();
+    for (Object[] row : getRows(10)) {
+      expectedRows.add(readSupport.readRow(row));
+    }
+    DictionaryDecodeReadSupport<Object[]> batchReadSupport =
+        getReadSupport(new TestDictionary(10), "5");
+    List<Object[]> rows = batchReadSupport.readRows(getRows(10));
+    assertEquals(expectedRows.size(), rows.size());
+    for (int i = 0; i < rows.size(); i++) {
+      assertArrayEquals(expectedRows.get(i), rows.get(i));
+    }
+    assertArrayEquals(new Object[] { "v3", "value3" }, rows.get(2));
+  }
+
+  /**
+   * dictionary of the surrogate keys 1 to size, the value of a key is v followed by the key
+   */
+  private static class TestDictionary implements Dictionary {
+
+    private int decodeCount;
+
+    private List<List<byte[]>> chunks = new ArrayList<>();
+
+    private TestDictionary(int size) {
+      List<byte[]> chunk = new ArrayList<>();
+      for (int key = 1; key <= size; key++) {
+        chunk.add(("v" + key).getBytes());
+      }
+      chunks.add(chunk);
+    }
+
+    @Override public int getSurrogateKey(String value) {
+      return Integer.parseInt(value.substring(1));
+    }
+
+    @Override public int getSurrogateKey(byte[] value) {
+      return getSurrogateKey(new String(value));
+    }
+
+    @Override public String getDictionaryValueForKey(int surrogateKey) {
+      return new String(getDictionaryValueForKeyInBytes(surrogateKey));
+    }
+
+    @Override public byte[] getDictionaryValueForKeyInBytes(int surrogateKey) {
+      decodeCount++;
+      return ("v" + surrogateKey).getBytes();
+    }
+
+    @Override public int getSortedIndex(int surrogateKey) {
+      return surrogateKey;
+    }
+
+    @Override public String getDictionaryValueFromSortedIndex(int sortedIndex) {
+      return getDictionaryValueForKey(sortedIndex);
+    }
+
+    @Override public DictionaryChunksWrapper getDictionaryChunks() {
+      return new DictionaryChunksWrapper(chunks);
+    }
+
+    @Override public void clear() {
+    }
+  }
+}
@@ -0,0 +1,156 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.carbondata.spark.testsuite.datacompaction
+
+import java.io.{BufferedWriter, File, FileWriter}
+
+import scala.collection.JavaConverters._
+
+import org.apache.spark.sql.Row
+import org.apache.spark.sql.common.util.QueryTest
+import org.scalatest.BeforeAndAfterAll
+
+import org.apache.carbondata.core.constants.CarbonCommonConstants
+import org.apache.carbondata.core.metadata.CarbonMetadata
+import org.apache.carbondata.core.statusmanager.SegmentStatusManager
+import org.apache.carbondata.core.util.CarbonProperties
+
+/**
+ * FT for major compaction with carbon.compaction.blocklet.copy enabled, both when the blocklets
+ * of the segments are copied and when compaction falls back to merging the rows.
+ */
+class BlockletCopyCompactionTest extends QueryTest with BeforeAndAfterAll {
+
+  val csvFolder = s"$integrationPath/spark-common-test/target/blockletcopy"
+
+  override def beforeAll {
+    new File(csvFolder).mkdirs()
+    CarbonProperties.getInstance()
+      .addProperty(CarbonCommonConstants.COMPACTION_BLOCKLET_COPY, "true")
+    dropTables()
+  }
+
+  private def dropTables(): Unit = {
+    sql("drop table if exists blockletcopy_sorted")
+    sql("drop table if exists blockletcopy_overlap")
+    sql("drop table if exists blockletcopy_cardinality")
+    sql("drop table if exists blockletcopy_deleted")
+  }
+
+  private def writeCsv(fileName: String, rows: Seq[String]): String = {
+    val filePath = s"$csvFolder/$fileName"
+    val writer = new BufferedWriter(new FileWriter(filePath))
+    writer.write("name,city,salary\n")
+    rows.foreach(row => writer.write(row + "\n"))
+    writer.close()
+    filePath
+  }
+
+  private def createTable(tableName: String, dictionaryExclude: String): Unit = {
+    sql(s"CREATE TABLE $tableName (name String, city String, salary Int) " +
+        s"STORED BY 'org.apache.carbondata.format' " +
+        s"TBLPROPERTIES('DICTIONARY_EXCLUDE'='$dictionaryExclude')")
+  }
+
+  private def load(tableName: String, filePath: String): Unit = {
+    sql(s"LOAD DATA LOCAL INPATH '$filePath' INTO TABLE $tableName " +
+        "OPTIONS('DELIMITER'= ',', 'QUOTECHAR'= '\"')")
+  }
+
+  private def rows(prefix: String, ids: Seq[Int], city: Int => String): Seq[String] = {
+    ids.map(id => f"$prefix$id%04d,${ city(id) },$id")
+  }
+
+  private def validSegments(tableName: String): List[String] = {
+    val carbonTable = CarbonMetadata.getInstance().getCarbonTable("default_" + tableName)
+    new SegmentStatusManager(carbonTable.getAbsoluteTableIdentifier)
+      .getValidAndInvalidSegments.getValidSegments.asScala.toList
+  }
+
+  /**
+   * compacts the table and checks that the queries return the same rows as before compaction
+   */
+  private def compactAndCompare(tableName: String): Unit = {
+    val queries = Seq(
+      s"select * from $tableName",
+      s"select name, salary from $tableName where name >= 'a0040' and name < 'b0010'",
+      s"select city, sum(salary), count(*) from $tableName group by city")
+    val before = queries.map(query => sql(query).collect())
+    sql(s"alter table $tableName compact 'major'")
+    assert(validSegments(tableName).contains("0.1"))
+    sql(s"clean files for table $tableName")
+    assert(validSegments(tableName) == List("0.1"))
+    queries.zip(before).foreach { case (query, expected) =>
+      checkAnswer(sql(query), expected.toSeq)
+    }
+  }
+
+  test("compaction copies the blocklets of segments with disjoint key ranges") {
+    createTable("blockletcopy_sorted", "name,city")
+    load("blockletcopy_sorted", writeCsv("sorted1.csv", rows("a", 0 until 100, id => "c" + id % 5)))
+    load("blockletcopy_sorted", writeCsv("sorted2.csv", rows("b", 0 until 100, id => "c" + id % 7)))
+    compactAndCompare("blockletcopy_sorted")
+    checkAnswer(sql("select count(*) from blockletcopy_sorted"), Seq(Row(200)))
+    checkAnswer(sql("select salary from blockletcopy_sorted where name = 'b0042'"), Seq(Row(42)))
+  }
+
+  test("compaction merges the rows of segments with overlapping key ranges") {
+    createTable("blockletcopy_overlap", "name,city")
+    val evenIds = (0 until 100).filter(_ % 2 == 0)
+    val oddIds = (0 until 100).filter(_ % 2 == 1)
+    load("blockletcopy_overlap", writeCsv("overlap1.csv", rows("a", evenIds, id => "c" + id % 5)))
+    load("blockletcopy_overlap", writeCsv("overlap2.csv", rows("a", oddIds, id => "c" + id % 5)))
+    compactAndCompare("blockletcopy_overlap")
+    checkAnswer(sql("select count(*) from blockletcopy_overlap"), Seq(Row(100)))
+    checkAnswer(sql("select name from blockletcopy_overlap where salary in (41, 42)"),
+      Seq(Row("a0041"), Row("a0042")))
+  }
+
+  test("compaction merges the rows of segments with different dictionary cardinality") {
+    // city is a dictionary column, the second load adds new values to its dictionary
+    createTable("blockletcopy_cardinality", "name")
+    load("blockletcopy_cardinality",
+      writeCsv("cardinality1.csv", rows("a", 0 until 100, id => "c" + id % 5)))
+    load("blockletcopy_cardinality",
+      writeCsv("cardinality2.csv", rows("b", 0 until 100, id => "d" + id % 300)))
+    compactAndCompare("blockletcopy_cardinality")
+    checkAnswer(sql("select count(distinct city) from blockletcopy_cardinality"), Seq(Row(105)))
+    checkAnswer(sql("select name from blockletcopy_cardinality where city = 'd77'"),
+      Seq(Row("b0077")))
+  }
+
+  test("compaction merges the rows of segments with deleted rows") {
+    createTable("blockletcopy_deleted", "name,city")
+    load("blockletcopy_deleted",
+      writeCsv("deleted1.csv", rows("a", 0 until 100, id => "c" + id % 5)))
+    load("blockletcopy_deleted",
+      writeCsv("deleted2.csv", rows("b", 0 until 100, id => "c" + id % 7)))
+    sql("delete from blockletcopy_deleted where salary < 10")
+    compactAndCompare("blockletcopy_deleted")
+    checkAnswer(sql("select count(*) from blockletcopy_deleted"), Seq(Row(180)))
+    checkAnswer(sql("select count(*) from blockletcopy_deleted where name = 'a0005'"), Seq(Row(0)))
+  }
+
+  override def afterAll {
+    dropTables()
+    CarbonProperties.getInstance()
+      .addProperty(CarbonCommonConstants.COMPACTION_BLOCKLET_COPY,
+        CarbonCommonConstants.COMPACTION_BLOCKLET_COPY_DEFAULT)
+  }
+
+}
@@ -0,0 +1,156 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.carbondata.spark.testsuite.dataload
+
+import java.io.{BufferedWriter, File, FileWriter}
+
+import scala.collection.mutable.ArrayBuffer
+
+import org.apache.spark.sql.Row
+import org.apache.spark.sql.common.util.QueryTest
+import org.scalatest.BeforeAndAfterAll
+
+import org.apache.carbondata.core.metadata.{CarbonMetadata, SortScope}
+import org.apache.carbondata.core.reader.CarbonIndexFileReader
+import org.apache.carbondata.core.statusmanager.SegmentStatusManager
+import org.apache.carbondata.core.util.ByteUtil
+import org.apache.carbondata.core.util.path.{CarbonStorePath, CarbonTablePath}
+
+/**
+ * Test loading with SORT_SCOPE GLOBAL_SORT, results are compared with the table loaded
+ * with LOCAL_SORT
+ */
+class TestGlobalSortDataLoad extends QueryTest with BeforeAndAfterAll {
+
+  val filePath = s"$integrationPath/spark-common-test/target/globalsortdata.csv"
+
+  def buildTestData(): Unit = {
+    val writer = new BufferedWriter(new FileWriter(filePath))
+    writer.write("id,name,city,age\n")
+    // ids are written in reverse order so that the input is not sorted
+    for (i <- 3000 until 0 by -1) {
+      writer.write(s"$i,name${ i % 700 },city${ i % 13 },${ i % 90 }\n")
+    }
+    writer.close()
+  }
+
+  def dropTable(): Unit = {
+    sql("DROP TABLE IF EXISTS carbon_globalsort")
+    sql("DROP TABLE IF EXISTS carbon_localsort")
+  }
+
+  override def beforeAll {
+    dropTable()
+    buildTestData()
+    sql("CREATE TABLE carbon_globalsort (id int, name string, city string, age int) " +
+        "STORED BY 'org.apache.carbondata.format'")
+    sql("CREATE TABLE carbon_localsort (id int, name string, city string, age int) " +
+        "STORED BY 'org.apache.carbondata.format'")
+    sql(s"LOAD DATA LOCAL INPATH '$filePath' INTO TABLE carbon_globalsort " +
+        "OPTIONS('SORT_SCOPE'='GLOBAL_SORT', 'GLOBAL_SORT_PARTITIONS'='3')")
+    sql(s"LOAD DATA LOCAL INPATH '$filePath' INTO TABLE carbon_localsort " +
+        "OPTIONS('SORT_SCOPE'='LOCAL_SORT')")
+  }
+
+  private def getTablePath(tableName: String): CarbonTablePath = {
+    val carbonTable = CarbonMetadata.getInstance().getCarbonTable("default_" + tableName)
+    CarbonStorePath.getCarbonTablePath(carbonTable.getAbsoluteTableIdentifier)
+  }
+
+  test("global sort load writes one file for each partition") {
+    val tablePath = getTablePath("carbon_globalsort")
+    val details = SegmentStatusManager.readLoadMetadata(tablePath.getMetadataDirectoryPath)
+    assert(details.length == 1)
+    assert(details(0).getSortScope == SortScope.GLOBAL_SORT)
+    val dataFiles = new File(tablePath.getCarbonDataDirectoryPath("0", "0")).listFiles()
+      .filter(_.getName.endsWith(CarbonTablePath.getCarbonDataExtension))
+    assert(dataFiles.length == 3)
+  }
+
+  /**
+   * @return start and end keys of the blocks of the segment recorded in its index files
+   */
+  private def readKeyRanges(segmentPath: String): Map[String, (Array[Byte], Array[Byte])] = {
+    new File(segmentPath).listFiles()
+      .filter(file => CarbonTablePath.isCarbonIndexFile(file.getName))
+      .flatMap { indexFile =>
+        val reader = new CarbonIndexFileReader
+        reader.openThriftReader(indexFile.getAbsolutePath)
+        try {
+          reader.readIndexHeader()
+          val keyRanges = new ArrayBuffer[(String, (Array[Byte], Array[Byte]))]
+          while (reader.hasNext) {
+            val blockIndex = reader.readBlockIndexInfo()
+            val btreeIndex = blockIndex.getBlock_index.getB_tree_index
+            keyRanges += ((new File(blockIndex.getFile_name).getName,
+              (btreeIndex.getStart_key, btreeIndex.getEnd_key)))
+          }
+          keyRanges
+        } finally {
+          reader.closeThriftReader()
+        }
+      }.toMap
+  }
+
+  test("key ranges of the files written by the global sort load are disjoint and ordered") {
+    val segmentPath = getTablePath("carbon_globalsort").getCarbonDataDirectoryPath("0", "0")
+    val keyRanges = readKeyRanges(segmentPath)
+    // files in the order of the writer tasks, each task writes the range after the range of the
+    // previous task
+    val orderedKeyRanges = new File(segmentPath).listFiles()
+      .filter(_.getName.endsWith(CarbonTablePath.getCarbonDataExtension))
+      .sortBy(file => CarbonTablePath.DataFileUtil.getTaskNo(file.getName).toInt)
+      .map(file => keyRanges(file.getName))
+    assert(orderedKeyRanges.length == 3)
+    orderedKeyRanges.foreach { case (startKey, endKey) =>
+      assert(ByteUtil.UnsafeComparer.INSTANCE.compareTo(startKey, endKey) <= 0)
+    }
+    orderedKeyRanges.sliding(2).foreach { case Array((_, previousEndKey), (nextStartKey, _)) =>
+      assert(ByteUtil.UnsafeComparer.INSTANCE.compareTo(previousEndKey, nextStartKey) < 0)
+    }
+  }
+
+  test("query the table loaded with global sort") {
+    checkAnswer(sql("select count(*) from carbon_globalsort"), Seq(Row(3000)))
+    checkAnswer(sql("select * from carbon_globalsort"), sql("select * from carbon_localsort"))
+    checkAnswer(sql("select * from carbon_globalsort where name = 'name7'"),
+      sql("select * from carbon_localsort where name = 'name7'"))
+    checkAnswer(sql("select id from carbon_globalsort where name = 'name7' and city = 'city7'"),
+      sql("select id from carbon_localsort where name = 'name7' and city = 'city7'"))
+    checkAnswer(sql("select * from carbon_globalsort where id between 1000 and 1010"),
+      sql("select * from carbon_localsort where id between 1000 and 1010"))
+    checkAnswer(sql("select city, count(*), sum(age) from carbon_globalsort group by city"),
+      sql("select city, count(*), sum(age) from carbon_localsort group by city"))
+  }
+
+  test("compact the segments loaded with global sort") {
+    sql(s"LOAD DATA LOCAL INPATH '$filePath' INTO TABLE carbon_globalsort " +
+        "OPTIONS('SORT_SCOPE'='GLOBAL_SORT', 'GLOBAL_SORT_PARTITIONS'='2')")
+    sql(s"LOAD DATA LOCAL INPATH '$filePath' INTO TABLE carbon_localsort " +
+        "OPTIONS('SORT_SCOPE'='LOCAL_SORT')")
+    sql("alter table carbon_globalsort compact 'major'")
+    checkAnswer(sql("select count(*) from carbon_globalsort"), Seq(Row(6000)))
+    checkAnswer(sql("select * from carbon_globalsort where name = 'name7'"),
+      sql("select * from carbon_localsort where name = 'name7'"))
+  }
+
+  override def afterAll {
+    dropTable()
+    new File(filePath).delete()
+  }
+}
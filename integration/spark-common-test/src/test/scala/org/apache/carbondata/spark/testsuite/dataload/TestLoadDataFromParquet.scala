@@ -0,0 +1,104 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.carbondata.spark.testsuite.dataload
+
+import java.io.File
+import java.math.BigDecimal
+import java.sql.{Date, Timestamp}
+
+import org.apache.commons.io.FileUtils
+import org.apache.spark.sql.{Row, SaveMode}
+import org.apache.spark.sql.common.util.QueryTest
+import org.apache.spark.sql.types._
+import org.scalatest.BeforeAndAfterAll
+
+/**
+ * Test loading of parquet files with all the data types as measures and dimensions
+ */
+class TestLoadDataFromParquet extends QueryTest with BeforeAndAfterAll {
+
+  val parquetFolder = s"$integrationPath/spark-common-test/target/parquetload"
+
+  val columns = "id, name, code, count, salary, rate, price, dob, updated"
+
+  var parquetFile: String = _
+
+  def buildTestData(): Unit = {
+    val rows = (1 to 100).map { i =>
+      Row(i, "name" + i, (i % 10).toShort, i * 10000000000L, i * 1.0E7, i + 0.25,
+        BigDecimal.valueOf(i * 100 + 11, 2), Date.valueOf(f"2017-01-${ i % 28 + 1 }%02d"),
+        Timestamp.valueOf(f"2017-02-03 04:05:${ i % 60 }%02d"))
+    } :+ Row(101, null, null, null, null, null, null, null, null)
+    val schema = StructType(
+      StructField("id", IntegerType, nullable = false) ::
+      StructField("name", StringType) ::
+      StructField("code", ShortType) ::
+      StructField("count", LongType) ::
+      StructField("salary", DoubleType) ::
+      StructField("rate", DoubleType) ::
+      StructField("price", DecimalType(10, 2)) ::
+      StructField("dob", DateType) ::
+      StructField("updated", TimestampType) :: Nil)
+    FileUtils.deleteDirectory(new File(parquetFolder))
+    sqlContext.createDataFrame(sqlContext.sparkContext.parallelize(rows), schema)
+      .coalesce(1).write.mode(SaveMode.Overwrite).parquet(parquetFolder)
+    parquetFile = new File(parquetFolder).listFiles()
+      .filter(_.getName.endsWith(".parquet")).head.getCanonicalPath
+    sqlContext.read.parquet(parquetFolder).registerTempTable("parquet_source")
+  }
+
+  def dropTable(): Unit = {
+    sql("DROP TABLE IF EXISTS parquet_measures")
+    sql("DROP TABLE IF EXISTS parquet_dimensions")
+  }
+
+  override def beforeAll {
+    dropTable()
+    buildTestData()
+  }
+
+  test("load parquet file with numeric columns as measures") {
+    sql("CREATE TABLE parquet_measures (id int, name string, code smallint, count bigint, " +
+        "salary double, rate double, price decimal(10,2), dob date, updated timestamp) " +
+        "STORED BY 'org.apache.carbondata.format'")
+    sql(s"LOAD DATA LOCAL INPATH '$parquetFile' INTO TABLE parquet_measures")
+    checkAnswer(sql(s"select $columns from parquet_measures"),
+      sql(s"select $columns from parquet_source"))
+    checkAnswer(sql("select sum(count), sum(salary), sum(price) from parquet_measures"),
+      sql("select sum(count), sum(salary), sum(price) from parquet_source"))
+  }
+
+  test("load parquet file with numeric columns as dictionary dimensions") {
+    // numeric values are added to the dictionary as the strings written without exponent
+    sql("CREATE TABLE parquet_dimensions (id int, name string, code smallint, count bigint, " +
+        "salary double, rate double, price decimal(10,2), dob date, updated timestamp) " +
+        "STORED BY 'org.apache.carbondata.format' " +
+        "TBLPROPERTIES('DICTIONARY_INCLUDE'='id,code,count,salary,rate,price')")
+    sql(s"LOAD DATA LOCAL INPATH '$parquetFile' INTO TABLE parquet_dimensions")
+    checkAnswer(sql(s"select $columns from parquet_dimensions"),
+      sql(s"select $columns from parquet_source"))
+    checkAnswer(sql("select id from parquet_dimensions where salary = 2.0E8"), Seq(Row(20)))
+    checkAnswer(sql("select id from parquet_dimensions where dob = cast('2017-01-05' as date)"),
+      sql("select id from parquet_source where dob = cast('2017-01-05' as date)"))
+  }
+
+  override def afterAll {
+    dropTable()
+    FileUtils.deleteDirectory(new File(parquetFolder))
+  }
+}
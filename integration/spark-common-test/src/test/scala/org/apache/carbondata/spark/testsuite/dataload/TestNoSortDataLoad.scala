@@ -0,0 +1,105 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.carbondata.spark.testsuite.dataload
+
+import java.io.{BufferedWriter, File, FileWriter}
+
+import org.apache.spark.sql.Row
+import org.apache.spark.sql.common.util.QueryTest
+import org.scalatest.BeforeAndAfterAll
+
+import org.apache.carbondata.core.constants.CarbonCommonConstants
+import org.apache.carbondata.core.metadata.{CarbonMetadata, SortScope}
+import org.apache.carbondata.core.statusmanager.SegmentStatusManager
+import org.apache.carbondata.core.util.CarbonProperties
+import org.apache.carbondata.core.util.path.CarbonStorePath
+
+/**
+ * Test loading with SORT_SCOPE NO_SORT. Input rows are in descending order of the sort
+ * columns and are split in several blocklets, so the start and end key search of the B-tree
+ * would miss the blocklets of the filter values if it was used for the unsorted segment.
+ */
+class TestNoSortDataLoad extends QueryTest with BeforeAndAfterAll {
+
+  val filePath = s"$integrationPath/spark-common-test/target/nosortdata.csv"
+
+  def buildTestData(): Unit = {
+    val writer = new BufferedWriter(new FileWriter(filePath))
+    writer.write("id,name,city,age\n")
+    for (i <- 10000 until 0 by -1) {
+      writer.write(s"$i,name${ "%03d".format(i / 100) },city${ i % 13 },${ i % 90 }\n")
+    }
+    writer.close()
+  }
+
+  def dropTable(): Unit = {
+    sql("DROP TABLE IF EXISTS carbon_nosort")
+    sql("DROP TABLE IF EXISTS carbon_sorted")
+  }
+
+  override def beforeAll {
+    CarbonProperties.getInstance()
+      .addProperty(CarbonCommonConstants.BLOCKLET_SIZE,
+        "" + CarbonCommonConstants.BLOCKLET_SIZE_MIN_VAL)
+    dropTable()
+    buildTestData()
+    sql("CREATE TABLE carbon_nosort (name string, city string, id int, age int) " +
+        "STORED BY 'org.apache.carbondata.format'")
+    sql("CREATE TABLE carbon_sorted (name string, city string, id int, age int) " +
+        "STORED BY 'org.apache.carbondata.format'")
+    sql(s"LOAD DATA LOCAL INPATH '$filePath' INTO TABLE carbon_nosort " +
+        "OPTIONS('SORT_SCOPE'='NO_SORT')")
+    sql(s"LOAD DATA LOCAL INPATH '$filePath' INTO TABLE carbon_sorted " +
+        "OPTIONS('SORT_SCOPE'='LOCAL_SORT')")
+  }
+
+  test("no sort scope is recorded for the segment") {
+    val carbonTable = CarbonMetadata.getInstance().getCarbonTable("default_carbon_nosort")
+    val tablePath = CarbonStorePath.getCarbonTablePath(carbonTable.getAbsoluteTableIdentifier)
+    val details = SegmentStatusManager.readLoadMetadata(tablePath.getMetadataDirectoryPath)
+    assert(details.length == 1)
+    assert(details(0).getSortScope == SortScope.NO_SORT)
+  }
+
+  test("filter on the unsorted segment finds the rows of all the blocklets") {
+    checkAnswer(sql("select count(*) from carbon_nosort"), Seq(Row(10000)))
+    // name000 is in the last blocklet and name099 is in the first blocklet
+    checkAnswer(sql("select count(*) from carbon_nosort where name = 'name000'"), Seq(Row(99)))
+    checkAnswer(sql("select count(*) from carbon_nosort where name = 'name099'"), Seq(Row(100)))
+    checkAnswer(sql("select * from carbon_nosort where name = 'name005'"),
+      sql("select * from carbon_sorted where name = 'name005'"))
+    checkAnswer(sql("select * from carbon_nosort where name = 'name050' and city = 'city7'"),
+      sql("select * from carbon_sorted where name = 'name050' and city = 'city7'"))
+    checkAnswer(sql("select * from carbon_nosort where name in ('name001', 'name090')"),
+      sql("select * from carbon_sorted where name in ('name001', 'name090')"))
+    checkAnswer(sql("select * from carbon_nosort where name >= 'name030' and name < 'name032'"),
+      sql("select * from carbon_sorted where name >= 'name030' and name < 'name032'"))
+    checkAnswer(sql("select * from carbon_nosort where id between 1000 and 1010"),
+      sql("select * from carbon_sorted where id between 1000 and 1010"))
+    checkAnswer(sql("select city, count(*), sum(age) from carbon_nosort group by city"),
+      sql("select city, count(*), sum(age) from carbon_sorted group by city"))
+  }
+
+  override def afterAll {
+    dropTable()
+    new File(filePath).delete()
+    CarbonProperties.getInstance()
+      .addProperty(CarbonCommonConstants.BLOCKLET_SIZE,
+        "" + CarbonCommonConstants.BLOCKLET_SIZE_DEFAULT_VAL)
+  }
+}
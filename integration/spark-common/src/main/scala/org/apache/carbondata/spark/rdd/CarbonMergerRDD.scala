@@ -36,7 +36,7 @@ import org.apache.spark.sql.hive.DistributionUtil
 import org.apache.carbondata.common.logging.LogServiceFactory
 import org.apache.carbondata.core.constants.CarbonCommonConstants
 import org.apache.carbondata.core.datastore.block._
-import org.apache.carbondata.core.metadata.{AbsoluteTableIdentifier, CarbonTableIdentifier}
+import org.apache.carbondata.core.metadata.{AbsoluteTableIdentifier, CarbonTableIdentifier, SortScope}
 import org.apache.carbondata.core.metadata.blocklet.DataFileFooter
 import org.apache.carbondata.core.metadata.schema.table.column.ColumnSchema
 import org.apache.carbondata.core.mutate.UpdateVO
@@ -159,21 +159,46 @@ class CarbonMergerRDD[K, V](
           .checkIfAnyRestructuredBlockExists(segmentMapping,
             dataFileMetadataSegMapping,
             carbonTable.getTableLastUpdatedTime)
-        exec = new CarbonCompactionExecutor(segmentMapping, segmentProperties,
-          carbonTable, dataFileMetadataSegMapping, restructuredBlockExists)
+        // rows of the blocks loaded without local or global sort are not sorted within the task,
+        // so they are sorted again instead of merging, and the merged segment is locally sorted
+        val unsortedBlockExists = tableBlockInfoList.asScala.exists { blockInfo =>
+          blockInfo.getSortScope != SortScope.LOCAL_SORT &&
+          blockInfo.getSortScope != SortScope.GLOBAL_SORT
+        }
+        // merger reads the blocks in mdk key order, rows of z-order tables are sorted again
+        val sortRequired =
+          restructuredBlockExists || unsortedBlockExists || !carbonTable.isSortedOnMdKey
+        // blocks in key order if their encoded blocklets can be copied without merging the rows
+        val blocksToCopy: java.util.List[TableBlockInfo] =
+          if (!sortRequired && isBlockletCopyEnabled &&
+              carbonMergerMapping.campactionType != CompactionType.IUD_UPDDEL_DELTA_COMPACTION) {
+            CarbonCompactionUtil.getBlocksForBlockletCopy(tableBlockInfoList,
+              segmentProperties,
+              carbonMergerMapping.maxSegmentColumnSchemaList.asJava,
+              carbonMergerMapping.maxSegmentColCardinality,
+              carbonTable)
+          } else {
+            null
+          }
 
-        // fire a query and get the results.
+        // fire a query and get the results, blocklets to copy are read by the processor
         var result2: java.util.List[RawResultIterator] = null
-        try {
-          result2 = exec.processTableBlocks()
-        } catch {
-          case e: Throwable =>
-            LOGGER.error(e)
-            if (null != e.getMessage) {
-              sys.error(s"Exception occurred in query execution :: ${ e.getMessage }")
-            } else {
-              sys.error("Exception occurred in query execution.Please check logs.")
-            }
+        if (null == blocksToCopy) {
+          exec = new CarbonCompactionExecutor(segmentMapping, segmentProperties,
+            carbonTable, dataFileMetadataSegMapping, restructuredBlockExists)
+          try {
+            result2 = exec.processTableBlocks()
+          } catch {
+            case e: Throwable =>
+              LOGGER.error(e)
+              if (null != e.getMessage) {
+                sys.error(s"Exception occurred in query execution :: ${ e.getMessage }")
+              } else {
+                sys.error("Exception occurred in query execution.Please check logs.")
+              }
+          }
+        } else {
+          result2 = new util.ArrayList[RawResultIterator]()
         }
 
         if(carbonMergerMapping.campactionType == CompactionType.IUD_UPDDEL_DELTA_COMPACTION) {
@@ -197,12 +222,20 @@ class CarbonMergerRDD[K, V](
         carbonLoadModel.setSegmentId(mergeNumber)
         carbonLoadModel.setPartitionId("0")
         var processor: AbstractResultProcessor = null
-        if (restructuredBlockExists) {
+        if (sortRequired) {
           processor = new CompactionResultSortProcessor(carbonLoadModel, carbonTable,
             segmentProperties,
             carbonMergerMapping.campactionType,
             factTableName
           )
+        } else if (null != blocksToCopy) {
+          LOGGER.info(s"Copying the blocklets of ${ blocksToCopy.size } blocks for compaction")
+          processor = new BlockletCopyResultProcessor(carbonLoadModel,
+            carbonTable,
+            segmentProperties,
+            tempStoreLoc,
+            carbonMergerMapping.campactionType,
+            blocksToCopy)
         } else {
           processor =
             new RowResultMergerProcessor(
@@ -251,6 +284,12 @@ class CarbonMergerRDD[K, V](
     iter
   }
 
+  private def isBlockletCopyEnabled: Boolean = {
+    CarbonProperties.getInstance()
+      .getProperty(CarbonCommonConstants.COMPACTION_BLOCKLET_COPY,
+        CarbonCommonConstants.COMPACTION_BLOCKLET_COPY_DEFAULT).toBoolean
+  }
+
   override def getPartitions: Array[Partition] = {
     val startTime = System.currentTimeMillis()
     val absoluteTableIdentifier: AbsoluteTableIdentifier = new AbsoluteTableIdentifier(
@@ -37,9 +37,11 @@ import org.apache.carbondata.core.metadata.AbsoluteTableIdentifier
 import org.apache.carbondata.core.metadata.schema.table.CarbonTable
 import org.apache.carbondata.core.scan.expression.Expression
 import org.apache.carbondata.core.scan.model.QueryModel
-import org.apache.carbondata.core.stats.{QueryStatistic, QueryStatisticsConstants, QueryStatisticsRecorder}
+import org.apache.carbondata.core.stats.{QueryProfile, QueryStatistic, QueryStatisticsConstants,
+QueryStatisticsRecorder}
 import org.apache.carbondata.core.util.{CarbonProperties, CarbonTimeStatisticsFactory}
 import org.apache.carbondata.hadoop._
+import org.apache.carbondata.hadoop.internal.CarbonFormatType
 import org.apache.carbondata.spark.load.CarbonLoaderUtil
 
 
@@ -63,10 +65,25 @@ class CarbonScanRDD(
   }
   private var vectorReader = false
 
+  // maximum number of rows needed from each task, -1 if all the rows are needed
+  private var limit = -1
+
+  // number of rows needed from each task ordered by the leading dimension of the sort key,
+  // blocklets beyond these rows are not scanned, -1 if the query is not ordered by it
+  private var topN = -1
+
+  private var topNColumnName: String = _
+
+  private var topNDescending = false
+
   private val readSupport = SparkReadSupport.readSupportClass
 
   private val bucketedTable = carbonTable.getBucketingInfo(carbonTable.getFactTableName)
 
+  // execution profile of all the scan tasks of this query
+  private val queryProfile =
+    sparkContext.accumulable(new QueryProfile)(new QueryProfileAccumulableParam)
+
   @transient private val jobId = new JobID(jobTrackerId, id)
   @transient val LOGGER = LogServiceFactory.getLogService(this.getClass.getName)
 
@@ -77,16 +94,25 @@ class CarbonScanRDD(
     // initialise query_id for job
     job.getConfiguration.set("query.id", queryId)
 
+    // register the profile before block pruning so that driver and task profiles are merged
+    CarbonTimeStatisticsFactory.createDriverRecorder()
+      .recordQueryProfileForDriver(queryProfile.value, queryId)
+
     // get splits
     val splits = format.getSplits(job)
     val result = distributeSplits(splits)
     result
   }
 
-  private def distributeSplits(splits: List[InputSplit]): Array[Partition] = {
+  private def distributeSplits(allSplits: List[InputSplit]): Array[Partition] = {
     // this function distributes the split based on following logic:
     // 1. based on data locality, to make split balanced on all available nodes
     // 2. if the number of split for one
+    // 3. row format files of streaming segment are read by a separate task each
+
+    val (streamSplits, columnarSplits) = allSplits.asScala.map(_.asInstanceOf[CarbonInputSplit])
+      .partition(_.getFileFormat == CarbonFormatType.ROW)
+    val splits: List[InputSplit] = new ArrayList[InputSplit](columnarSplits.asJava)
 
     var statistic = new QueryStatistic()
     val statisticRecorder = CarbonTimeStatisticsFactory.createDriverRecorder()
@@ -156,6 +182,16 @@ class CarbonScanRDD(
       }
 
       noOfBlocks = splits.size
+    }
+    if (streamSplits.nonEmpty) {
+      streamSplits.foreach { streamSplit =>
+        val multiBlockSplit =
+          new CarbonMultiBlockSplit(identifier, Seq(streamSplit).asJava, streamSplit.getLocations)
+        result.add(new CarbonSparkPartition(id, result.size(), multiBlockSplit))
+      }
+      noOfBlocks += streamSplits.size
+    }
+    if (!allSplits.isEmpty) {
       noOfTasks = result.size()
 
       statistic.addStatistics(QueryStatisticsConstants.BLOCK_IDENTIFICATION,
@@ -187,8 +223,12 @@ class CarbonScanRDD(
     val inputSplit = split.asInstanceOf[CarbonSparkPartition].split.value
     val iterator = if (inputSplit.getAllSplits.size() > 0) {
       val model = format.getQueryModel(inputSplit, attemptContext)
+      model.setLimit(limit)
+      model.setTopN(topN, topNColumnName, topNDescending)
       val reader = {
-        if (vectorReader) {
+        if (inputSplit.getFileFormat == CarbonFormatType.ROW) {
+          format.createStreamRecordReader(model, attemptContext.getConfiguration)
+        } else if (vectorReader) {
           val carbonRecordReader = createVectorizedCarbonRecordReader(model)
           if (carbonRecordReader == null) {
             new CarbonRecordReader(model,
@@ -210,6 +250,11 @@ class CarbonScanRDD(
 
         context.addTaskCompletionListener { context =>
           logStatistics(queryStartTime, model.getStatisticsRecorder)
+          // profile is not recorded when the statistics are disabled
+          val taskProfile = model.getStatisticsRecorder.getQueryProfile
+          if (null != taskProfile) {
+            queryProfile += taskProfile
+          }
           reader.close()
         }
 
@@ -263,6 +308,11 @@ class CarbonScanRDD(
     format
   }
 
+  /**
+   * Aggregated execution profile of the tasks completed so far, available only in driver
+   */
+  def getQueryProfile: QueryProfile = queryProfile.value
+
   def logStatistics(queryStartTime: Long, recorder: QueryStatisticsRecorder): Unit = {
     var queryStatistic = new QueryStatistic()
     queryStatistic.addFixedTimeStatistic(QueryStatisticsConstants.EXECUTOR_PART,
@@ -296,4 +346,26 @@ class CarbonScanRDD(
   def setVectorReaderSupport(boolean: Boolean): Unit = {
     vectorReader = boolean
   }
+
+  /**
+   * Sets the number of rows needed from each task, scan of a task is stopped once these rows
+   * are returned
+   */
+  def setLimit(limit: Int): Unit = {
+    this.limit = limit
+  }
+
+  def getLimit: Int = limit
+
+  /**
+   * Sets the number of rows needed from each task in the order of the column, blocklets with
+   * all their values beyond the rows scanned already are not scanned
+   */
+  def setTopN(topN: Int, columnName: String, descending: Boolean): Unit = {
+    this.topN = topN
+    this.topNColumnName = columnName
+    this.topNDescending = descending
+  }
+
+  def getTopN: Int = topN
 }
@@ -0,0 +1,244 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.carbondata.spark.rdd
+
+import java.text.SimpleDateFormat
+import java.util.{Comparator, Date}
+
+import scala.collection.JavaConverters._
+
+import org.apache.hadoop.mapreduce.{TaskAttemptID, TaskType}
+import org.apache.hadoop.mapreduce.task.TaskAttemptContextImpl
+import org.apache.spark.{Accumulator, SparkContext, TaskContext}
+import org.apache.spark.rdd.RDD
+import org.apache.spark.sql.Row
+import org.apache.spark.storage.StorageLevel
+
+import org.apache.carbondata.common.CarbonIterator
+import org.apache.carbondata.common.logging.LogServiceFactory
+import org.apache.carbondata.core.constants.CarbonCommonConstants
+import org.apache.carbondata.core.metadata.CarbonTableIdentifier
+import org.apache.carbondata.core.statusmanager.LoadMetadataDetails
+import org.apache.carbondata.core.util.CarbonProperties
+import org.apache.carbondata.processing.csvload.{BlockDetails, CSVInputFormat}
+import org.apache.carbondata.processing.model.CarbonLoadModel
+import org.apache.carbondata.processing.newflow.{DataLoadExecutor, DataLoadProcessBuilder}
+import org.apache.carbondata.processing.sortandgroupby.sortdata.{NewRowComparator, ZOrderComparator}
+import org.apache.carbondata.processing.surrogatekeysgenerator.csvbased.BadRecordsLogger
+import org.apache.carbondata.processing.util.CarbonDataProcessorUtil
+import org.apache.carbondata.spark.load.CarbonLoaderUtil
+import org.apache.carbondata.spark.util.CommonUtil
+
+/**
+ * It loads the data with global sort scope in three stages.
+ * 1. The input rows are parsed and converted by the tasks reading the input.
+ * 2. Spark samples the sort key of the converted rows to compute the range boundaries and
+ *    shuffles the rows, so each writer task gets the rows of one key range in sorted order.
+ * 3. Each writer task writes its range, so the min and max of the files written by different
+ *    tasks do not overlap and range filters on the sort key can prune most of the blocks.
+ */
+object GlobalSortDataLoader {
+
+  private val LOGGER = LogServiceFactory.getLogService(this.getClass.getCanonicalName)
+
+  /**
+   * loads the blocks of the fact files, the blocks of a node are converted by one task
+   */
+  def loadDataFile(sc: SparkContext,
+      carbonLoadModel: CarbonLoadModel,
+      loadCount: Integer,
+      blocksGroupBy: Array[(String, Array[BlockDetails])]): Array[(String, LoadMetadataDetails)] = {
+    val jobTrackerId = new SimpleDateFormat("yyyyMMddHHmm").format(new Date())
+    val confBroadcast = sc.broadcast(new SerializableConfiguration(sc.hadoopConfiguration))
+    val blocksRDD = sc.makeRDD(blocksGroupBy.map { case (node, blocks) => (blocks, Seq(node)) })
+    val badRecordCounter = sc.accumulator(0)
+    val convertRDD = blocksRDD.mapPartitionsWithIndex { case (index, blocks) =>
+      val configuration = confBroadcast.value.value
+      CommonUtil.configureCSVInputFormat(configuration, carbonLoadModel)
+      val attemptId = new TaskAttemptID(jobTrackerId, 0, TaskType.MAP, index, 0)
+      val hadoopAttemptContext = new TaskAttemptContextImpl(configuration, attemptId)
+      val format = new CSVInputFormat
+      val inputIterators = blocks.flatten.map(
+        CommonUtil.createInputIterator(format, _, hadoopAttemptContext, carbonLoadModel)).toArray
+      convertRows(carbonLoadModel, loadCount, index, inputIterators, badRecordCounter)
+    }
+    sortAndWrite(carbonLoadModel, loadCount, convertRDD, badRecordCounter)
+  }
+
+  /**
+   * loads the rows of the data frame, each partition of the data frame is converted by one task
+   */
+  def loadDataFrame(sc: SparkContext,
+      carbonLoadModel: CarbonLoadModel,
+      loadCount: Integer,
+      rdd: RDD[Row]): Array[(String, LoadMetadataDetails)] = {
+    val badRecordCounter = sc.accumulator(0)
+    val convertRDD = rdd.mapPartitionsWithIndex { case (index, rows) =>
+      val inputIterator: CarbonIterator[Array[AnyRef]] =
+        new NewRddIterator(rows, carbonLoadModel, TaskContext.get)
+      convertRows(carbonLoadModel, loadCount, index, Array(inputIterator), badRecordCounter)
+    }
+    sortAndWrite(carbonLoadModel, loadCount, convertRDD, badRecordCounter)
+  }
+
+  /**
+   * parses and converts the rows of the input iterators, the step is closed when the task is
+   * completed
+   */
+  private def convertRows(carbonLoadModel: CarbonLoadModel,
+      loadCount: Integer,
+      index: Int,
+      inputIterators: Array[CarbonIterator[Array[AnyRef]]],
+      badRecordCounter: Accumulator[Int]): Iterator[Array[AnyRef]] = {
+    carbonLoadModel.setPartitionId("0")
+    carbonLoadModel.setSegmentId(String.valueOf(loadCount))
+    carbonLoadModel.setTaskNo(String.valueOf(index))
+    carbonLoadModel.setPreFetch(false)
+    val loader = new SparkPartitionLoader(carbonLoadModel, index, null,
+      String.valueOf(loadCount), null)
+    loader.initialize()
+    val convertStep = new DataLoadProcessBuilder()
+      .buildForConversion(carbonLoadModel, loader.storeLocation, inputIterators)
+    convertStep.initialize()
+    TaskContext.get.addTaskCompletionListener { _ =>
+      convertStep.close()
+      val badRecordKey = new CarbonTableIdentifier(carbonLoadModel.getDatabaseName,
+        carbonLoadModel.getTableName, null).getBadRecordLoggerKey
+      if (null != BadRecordsLogger.hasBadRecord(badRecordKey)) {
+        badRecordCounter += 1
+      }
+      CarbonLoaderUtil.deleteLocalDataLoadFolderLocation(carbonLoadModel, false)
+    }
+    convertStep.execute().iterator.flatMap(_.asScala).flatMap(_.asScala).map(_.getData)
+  }
+
+  /**
+   * range partitions and sorts the converted rows, then writes each range in a separate task
+   */
+  private def sortAndWrite(carbonLoadModel: CarbonLoadModel,
+      loadCount: Integer,
+      convertRDD: RDD[Array[AnyRef]],
+      badRecordCounter: Accumulator[Int]): Array[(String, LoadMetadataDetails)] = {
+    val carbonTable = carbonLoadModel.getCarbonDataLoadSchema.getCarbonTable
+    implicit val rowOrdering: Ordering[Array[AnyRef]] =
+      new RowOrdering(CarbonDataProcessorUtil.getNoDictionaryMapping(carbonTable),
+        CarbonDataProcessorUtil.getZOrderDimensionIndexes(carbonTable))
+    val numPartitions = getGlobalSortPartitions(carbonLoadModel, convertRDD.partitions.length)
+    // converted rows are read once to sample the range boundaries and once to shuffle them,
+    // so they are cached to convert the input only once
+    convertRDD.persist(StorageLevel.MEMORY_AND_DISK_SER)
+    try {
+      val sortedRDD = convertRDD.map(row => (row, null)).sortByKey(true, numPartitions).keys
+      val status = sortedRDD.mapPartitionsWithIndex { case (index, rows) =>
+        Iterator(writeRows(carbonLoadModel, loadCount, index, rows))
+      }.collect()
+      if (badRecordCounter.value > 0) {
+        LOGGER.error("Data Load is partially success for table " + carbonLoadModel.getTableName)
+        status.foreach { case (_, loadMetadataDetails) =>
+          loadMetadataDetails.setLoadStatus(
+            CarbonCommonConstants.STORE_LOADSTATUS_PARTIAL_SUCCESS)
+        }
+      }
+      status
+    } finally {
+      convertRDD.unpersist(false)
+    }
+  }
+
+  /**
+   * writes the sorted rows of one key range, task index is used as the task number of files
+   */
+  private def writeRows(carbonLoadModel: CarbonLoadModel,
+      loadCount: Integer,
+      index: Int,
+      rows: Iterator[Array[AnyRef]]): (String, LoadMetadataDetails) = {
+    val loadMetadataDetails = new LoadMetadataDetails()
+    loadMetadataDetails.setPartitionCount("0")
+    loadMetadataDetails.setLoadStatus(CarbonCommonConstants.STORE_LOADSTATUS_SUCCESS)
+    carbonLoadModel.setPartitionId("0")
+    carbonLoadModel.setSegmentId(String.valueOf(loadCount))
+    carbonLoadModel.setTaskNo(String.valueOf(index))
+    val uniqueLoadStatusId =
+      carbonLoadModel.getTableName + CarbonCommonConstants.UNDERSCORE + index
+    val sortedIterator = new CarbonIterator[Array[AnyRef]] {
+      override def hasNext: Boolean = rows.hasNext
+
+      override def next(): Array[AnyRef] = rows.next()
+    }
+    try {
+      val loader = new SparkPartitionLoader(carbonLoadModel, index, null,
+        String.valueOf(loadCount), loadMetadataDetails)
+      loader.initialize()
+      new DataLoadExecutor().executeGlobalSortWrite(carbonLoadModel, loader.storeLocation,
+        Array(sortedIterator))
+    } catch {
+      case e: Exception =>
+        loadMetadataDetails.setLoadStatus(CarbonCommonConstants.STORE_LOADSTATUS_FAILURE)
+        LOGGER.error(e)
+        throw e
+    } finally {
+      CarbonLoaderUtil.deleteLocalDataLoadFolderLocation(carbonLoadModel, false)
+    }
+    (uniqueLoadStatusId, loadMetadataDetails)
+  }
+
+  /**
+   * @return number of writer tasks from the load option or the carbon property, number of
+   *         input tasks if both are not given
+   */
+  private def getGlobalSortPartitions(carbonLoadModel: CarbonLoadModel,
+      defaultPartitions: Int): Int = {
+    if (carbonLoadModel.getGlobalSortPartitions > 0) {
+      carbonLoadModel.getGlobalSortPartitions
+    } else {
+      val configured = CarbonProperties.getInstance()
+        .getProperty(CarbonCommonConstants.LOAD_GLOBAL_SORT_PARTITIONS)
+      try {
+        if (null != configured && configured.trim.toInt > 0) {
+          configured.trim.toInt
+        } else {
+          defaultPartitions
+        }
+      } catch {
+        case _: NumberFormatException =>
+          LOGGER.warn(s"The ${ CarbonCommonConstants.LOAD_GLOBAL_SORT_PARTITIONS } " +
+            s"configuration value is invalid, using $defaultPartitions")
+          defaultPartitions
+      }
+    }
+  }
+}
+
+/**
+ * Orders the converted rows on the sort key in the same way as the local sort of the load,
+ * z-order indexes are null if the rows are sorted on the mdk key
+ */
+class RowOrdering(noDictionaryMapping: Array[Boolean], zOrderDimensionIndexes: Array[Int])
+  extends Ordering[Array[AnyRef]] {
+
+  @transient private lazy val comparator: Comparator[Array[AnyRef]] =
+    if (null != zOrderDimensionIndexes) {
+      new ZOrderComparator(zOrderDimensionIndexes, noDictionaryMapping)
+    } else {
+      new NewRowComparator(noDictionaryMapping)
+    }
+
+  override def compare(rowA: Array[AnyRef], rowB: Array[AnyRef]): Int = {
+    comparator.compare(rowA, rowB)
+  }
+}
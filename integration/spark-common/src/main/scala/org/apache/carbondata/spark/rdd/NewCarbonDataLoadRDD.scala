@@ -44,7 +44,6 @@ import org.apache.carbondata.core.statusmanager.LoadMetadataDetails
 import org.apache.carbondata.core.util.{CarbonProperties, CarbonTimeStatisticsFactory}
 import org.apache.carbondata.processing.csvload.BlockDetails
 import org.apache.carbondata.processing.csvload.CSVInputFormat
-import org.apache.carbondata.processing.csvload.CSVRecordReaderIterator
 import org.apache.carbondata.processing.model.CarbonLoadModel
 import org.apache.carbondata.processing.newflow.DataLoadExecutor
 import org.apache.carbondata.processing.newflow.exception.BadRecordFoundException
@@ -290,13 +289,8 @@ class NewCarbonDataLoadRDD[K, V](
           StandardLogService.setThreadName(partitionID, null)
           CarbonTimeStatisticsFactory.getLoadStatisticsInstance.recordPartitionBlockMap(
               partitionID, split.partitionBlocksDetail.length)
-          val readers =
-          split.partitionBlocksDetail.map(format.createRecordReader(_, hadoopAttemptContext))
-          readers.zipWithIndex.map { case (reader, index) =>
-            new CSVRecordReaderIterator(reader,
-              split.partitionBlocksDetail(index),
-              hadoopAttemptContext)
-          }
+          split.partitionBlocksDetail.map(
+            CommonUtil.createInputIterator(format, _, hadoopAttemptContext, carbonLoadModel))
         } else {
           // for node partition
           val split = theSplit.asInstanceOf[CarbonNodePartition]
@@ -316,11 +310,8 @@ class NewCarbonDataLoadRDD[K, V](
             model = carbonLoadModel.getCopyWithPartition(partitionID)
           }
           StandardLogService.setThreadName(blocksID, null)
-          val readers =
-            split.nodeBlocksDetail.map(format.createRecordReader(_, hadoopAttemptContext))
-          readers.zipWithIndex.map { case (reader, index) =>
-            new CSVRecordReaderIterator(reader, split.nodeBlocksDetail(index), hadoopAttemptContext)
-          }
+          split.nodeBlocksDetail.map(
+            CommonUtil.createInputIterator(format, _, hadoopAttemptContext, carbonLoadModel))
         }
       }
 
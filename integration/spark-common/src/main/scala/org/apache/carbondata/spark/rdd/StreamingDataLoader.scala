@@ -0,0 +1,186 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.carbondata.spark.rdd
+
+import java.util.concurrent.{Executors, ThreadFactory}
+
+import scala.collection.JavaConverters._
+
+import org.apache.commons.lang3.SerializationUtils
+import org.apache.spark.{SparkContext, TaskContext}
+import org.apache.spark.rdd.RDD
+import org.apache.spark.sql.Row
+
+import org.apache.carbondata.common.CarbonIterator
+import org.apache.carbondata.common.logging.LogServiceFactory
+import org.apache.carbondata.core.mutate.CarbonUpdateUtil
+import org.apache.carbondata.processing.model.CarbonLoadModel
+import org.apache.carbondata.processing.newflow.DataLoadExecutor
+import org.apache.carbondata.processing.newflow.streaming.StreamSegmentManager
+import org.apache.carbondata.spark.load.CarbonLoaderUtil
+
+/**
+ * It appends the rows of a data frame as a micro batch to the row format streaming segment of
+ * the table. Once the streaming segment is full it is finished, and the finished segments are
+ * handed off to carbondata format segments in background.
+ *
+ * Handoff is a distributed job like compaction, the tasks write the rows of the streaming files
+ * to the new segment on the executors and the driver only updates the table status. Handoffs are
+ * submitted one at a time by a single background thread of the driver.
+ */
+object StreamingDataLoader {
+
+  private val LOGGER = LogServiceFactory.getLogService(this.getClass.getCanonicalName)
+
+  private lazy val handoffExecutor = Executors.newSingleThreadExecutor(new ThreadFactory {
+    override def newThread(runnable: Runnable): Thread = {
+      val thread = new Thread(runnable, "StreamSegmentHandoff")
+      thread.setDaemon(true)
+      thread
+    }
+  })
+
+  /**
+   * appends the micro batch, each partition of the data frame is appended by one task to its
+   * own streaming file
+   *
+   * @param loadCount id of the new segment, used only if there is no open streaming segment
+   * @return id of the streaming segment
+   */
+  def appendMicroBatch(sc: SparkContext,
+      carbonLoadModel: CarbonLoadModel,
+      loadCount: Integer,
+      rdd: RDD[Row]): String = {
+    val carbonTable = carbonLoadModel.getCarbonDataLoadSchema.getCarbonTable
+    val segmentId = StreamSegmentManager.openStreamSegment(carbonTable, String.valueOf(loadCount))
+    rdd.mapPartitionsWithIndex { case (index, rows) =>
+      Iterator(appendRows(carbonLoadModel, segmentId, index, rows))
+    }.collect()
+    if (StreamSegmentManager.finishStreamSegmentIfFull(carbonTable, segmentId)) {
+      LOGGER.info(s"Streaming segment $segmentId is finished for table " +
+                  carbonTable.getTableUniqueName)
+    }
+    // segments left over by failed handoffs are retried along with the new finished segment
+    StreamSegmentManager.getFinishedStreamSegments(carbonTable).asScala.foreach { streamSegment =>
+      val handoffModel = SerializationUtils.clone(carbonLoadModel)
+      handoffModel.setPartitionId("0")
+      handoffExecutor.execute(new Runnable {
+        override def run(): Unit = {
+          try {
+            handoffStreamSegment(sc, handoffModel, streamSegment)
+          } catch {
+            case e: Exception =>
+              LOGGER.error(e, s"Handoff of streaming segment $streamSegment failed")
+          }
+        }
+      })
+    }
+    segmentId
+  }
+
+  /**
+   * hands off the finished streaming segment to a carbondata format segment, each task writes
+   * the rows of one streaming file to its own carbondata file and the table status is updated
+   * once all the tasks are done
+   *
+   * @return id of the new segment, None if the segment is not waiting for handoff anymore
+   */
+  def handoffStreamSegment(sc: SparkContext,
+      carbonLoadModel: CarbonLoadModel,
+      streamSegmentId: String): Option[String] = {
+    val carbonTable = carbonLoadModel.getCarbonDataLoadSchema.getCarbonTable
+    // segment could be already handed off by an earlier request, its new segment must not be
+    // overwritten
+    if (!StreamSegmentManager.getFinishedStreamSegments(carbonTable).contains(streamSegmentId)) {
+      LOGGER.info(s"Streaming segment $streamSegmentId is not waiting for handoff")
+      return None
+    }
+    val loadStartTime = CarbonUpdateUtil.readCurrentTime()
+    val streamFiles = StreamSegmentManager.getStreamFiles(carbonTable.getAbsoluteTableIdentifier,
+      streamSegmentId)
+    var newSegmentId: Option[String] = None
+    try {
+      if (streamFiles.nonEmpty) {
+        sc.parallelize(streamFiles.toSeq, streamFiles.length).mapPartitionsWithIndex {
+          case (index, files) =>
+            Iterator(writeHandoffFiles(carbonLoadModel, streamSegmentId, index, loadStartTime,
+              files.toArray))
+        }.collect()
+      }
+      newSegmentId = Some(StreamSegmentManager.commitHandoff(carbonTable, streamSegmentId,
+        loadStartTime))
+    } finally {
+      if (newSegmentId.isEmpty) {
+        StreamSegmentManager.abortHandoff(carbonTable, streamSegmentId)
+      }
+    }
+    newSegmentId
+  }
+
+  /**
+   * writes the rows of the streaming files of one handoff task, partition index is used as the
+   * task number of the carbondata file
+   */
+  private def writeHandoffFiles(carbonLoadModel: CarbonLoadModel,
+      streamSegmentId: String,
+      index: Int,
+      loadStartTime: Long,
+      streamFiles: Array[String]): Int = {
+    try {
+      val loader = new SparkPartitionLoader(carbonLoadModel, index, null, streamSegmentId, null)
+      loader.initialize()
+      StreamSegmentManager.writeHandoffFiles(carbonLoadModel, loader.storeLocation,
+        streamSegmentId, String.valueOf(index), loadStartTime, streamFiles)
+    } catch {
+      case e: Exception =>
+        LOGGER.error(e)
+        throw e
+    } finally {
+      CarbonLoaderUtil.deleteLocalDataLoadFolderLocation(carbonLoadModel, false)
+    }
+    index
+  }
+
+  /**
+   * appends the rows of one partition, partition index is used as the task number of the file
+   */
+  private def appendRows(carbonLoadModel: CarbonLoadModel,
+      segmentId: String,
+      index: Int,
+      rows: Iterator[Row]): Int = {
+    carbonLoadModel.setPartitionId("0")
+    carbonLoadModel.setSegmentId(segmentId)
+    carbonLoadModel.setTaskNo(String.valueOf(index))
+    carbonLoadModel.setPreFetch(false)
+    val inputIterator: CarbonIterator[Array[AnyRef]] =
+      new NewRddIterator(rows, carbonLoadModel, TaskContext.get)
+    try {
+      val loader = new SparkPartitionLoader(carbonLoadModel, index, null, segmentId, null)
+      loader.initialize()
+      new DataLoadExecutor().executeStreaming(carbonLoadModel, loader.storeLocation,
+        Array(inputIterator))
+    } catch {
+      case e: Exception =>
+        LOGGER.error(e)
+        throw e
+    } finally {
+      CarbonLoaderUtil.deleteLocalDataLoadFolderLocation(carbonLoadModel, false)
+    }
+    index
+  }
+}
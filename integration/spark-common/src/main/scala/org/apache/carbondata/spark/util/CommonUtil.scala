@@ -24,18 +24,22 @@ import scala.collection.mutable.Map
 
 import org.apache.commons.lang3.StringUtils
 import org.apache.hadoop.conf.Configuration
+import org.apache.hadoop.mapreduce.TaskAttemptContext
 import org.apache.hadoop.mapreduce.lib.input.FileInputFormat
 import org.apache.spark.SparkContext
 import org.apache.spark.sql.execution.command.{ColumnProperty, Field}
 import org.apache.spark.util.FileUtils
 
+import org.apache.carbondata.common.CarbonIterator
 import org.apache.carbondata.common.logging.LogServiceFactory
 import org.apache.carbondata.core.constants.CarbonCommonConstants
+import org.apache.carbondata.core.datastore.impl.FileFactory
 import org.apache.carbondata.core.statusmanager.SegmentStatusManager
 import org.apache.carbondata.core.util.{CarbonProperties, CarbonUtil}
-import org.apache.carbondata.processing.csvload.CSVInputFormat
+import org.apache.carbondata.processing.csvload.{BlockDetails, CSVInputFormat, CSVRecordReaderIterator}
 import org.apache.carbondata.processing.model.CarbonLoadModel
 import org.apache.carbondata.processing.newflow.exception.CarbonDataLoadingException
+import org.apache.carbondata.processing.parquetload.ParquetRecordReaderIterator
 import org.apache.carbondata.processing.util.CarbonDataProcessorUtil
 import org.apache.carbondata.spark.exception.MalformedCarbonCommandException
 
@@ -244,6 +248,38 @@ object CommonUtil {
     }
   }
 
+  /**
+   * This method will validate the z-order columns specified by the user, they must be at least
+   * two distinct dictionary dimensions which are not complex
+   *
+   * @param tableProperties
+   * @param dims
+   * @param noDictionaryDims
+   */
+  def validateZOrderColumns(tableProperties: Map[String, String],
+      dims: Seq[Field],
+      noDictionaryDims: Seq[String]): Unit = {
+    tableProperties.get(CarbonCommonConstants.ZORDER_COLUMNS).foreach { property =>
+      val columns = property.split(",").map(_.trim.toLowerCase).filter(_.nonEmpty)
+      if (columns.length < 2 || columns.distinct.length != columns.length) {
+        throw new MalformedCarbonCommandException("Invalid zorder_columns value found: " +
+                                                  s"$property, at least two distinct " +
+                                                  s"columns are required.")
+      }
+      columns.foreach { column =>
+        val isDictionaryDimension = dims.exists { dim =>
+          dim.column.equalsIgnoreCase(column) && dim.children.forall(_.isEmpty)
+        } && !noDictionaryDims.exists(_.equalsIgnoreCase(column))
+        if (!isDictionaryDimension) {
+          throw new MalformedCarbonCommandException(s"Invalid zorder_columns column: $column, " +
+                                                    s"only dictionary dimensions which are not " +
+                                                    s"complex are supported.")
+        }
+      }
+      tableProperties.put(CarbonCommonConstants.ZORDER_COLUMNS, columns.mkString(","))
+    }
+  }
+
   /**
    * This method will parse the configure string from 'XX MB/M' to 'XX'
    *
@@ -284,6 +320,23 @@ object CommonUtil {
         CarbonCommonConstants.CSV_READ_BUFFER_SIZE_DEFAULT))
   }
 
+  /**
+   * creates the iterator to read the block of the fact file, parquet files are read by the
+   * parquet reader and other files are read as csv
+   */
+  def createInputIterator(format: CSVInputFormat, block: BlockDetails,
+      hadoopAttemptContext: TaskAttemptContext,
+      carbonLoadModel: CarbonLoadModel): CarbonIterator[Array[AnyRef]] = {
+    if (ParquetRecordReaderIterator.isParquetFile(block.getFilePath)) {
+      new ParquetRecordReaderIterator(block, hadoopAttemptContext,
+        carbonLoadModel.getCsvHeaderColumns,
+        carbonLoadModel.getSerializationNullFormat.split(",")(1))
+    } else {
+      new CSVRecordReaderIterator(format.createRecordReader(block, hadoopAttemptContext),
+        block, hadoopAttemptContext)
+    }
+  }
+
   def configSplitMaxSize(context: SparkContext, filePaths: String,
       hadoopConfiguration: Configuration): Unit = {
     val defaultParallelism = if (context.defaultParallelism < 1) {
@@ -319,11 +372,17 @@ object CommonUtil {
     val csvColumns = if (StringUtils.isBlank(csvHeader)) {
       // read header from csv file
       csvFile = carbonLoadModel.getFactFilePath.split(",")(0)
-      csvHeader = CarbonUtil.readHeader(csvFile)
-      if (StringUtils.isBlank(csvHeader)) {
-        throw new CarbonDataLoadingException("First line of the csv is not valid.")
+      if (ParquetRecordReaderIterator.isParquetFile(csvFile)) {
+        // read header from the schema of parquet file
+        ParquetRecordReaderIterator.readHeader(csvFile, FileFactory.getConfiguration)
+          .map(_.toLowerCase.trim)
+      } else {
+        csvHeader = CarbonUtil.readHeader(csvFile)
+        if (StringUtils.isBlank(csvHeader)) {
+          throw new CarbonDataLoadingException("First line of the csv is not valid.")
+        }
+        csvHeader.toLowerCase().split(delimiter).map(_.replaceAll("\"", "").trim)
       }
-      csvHeader.toLowerCase().split(delimiter).map(_.replaceAll("\"", "").trim)
     } else {
       csvHeader.toLowerCase.split(CarbonCommonConstants.COMMA).map(_.trim)
     }
@@ -32,6 +32,7 @@ import org.apache.spark.sql.execution.command._
 
 import org.apache.carbondata.common.logging.LogServiceFactory
 import org.apache.carbondata.core.constants.CarbonCommonConstants
+import org.apache.carbondata.core.metadata.SortScope
 import org.apache.carbondata.core.metadata.datatype.DataType
 import org.apache.carbondata.core.util.DataTypeUtil
 import org.apache.carbondata.processing.constants.LoggerAction
@@ -268,6 +269,9 @@ abstract class CarbonDDLSqlParser extends AbstractCarbonSparkSQLParser {
     // validate the tableBlockSize from table properties
     CommonUtil.validateTableBlockSize(tableProperties)
 
+    // validate the z-order columns from table properties
+    CommonUtil.validateZOrderColumns(tableProperties, dims, noDictionaryDims)
+
     TableModel(
       ifNotExistPresent,
       dbName.getOrElse(CarbonCommonConstants.DATABASE_DEFAULT_NAME),
@@ -753,7 +757,7 @@ abstract class CarbonDDLSqlParser extends AbstractCarbonSparkSQLParser {
       "COMPLEX_DELIMITER_LEVEL_1", "COMPLEX_DELIMITER_LEVEL_2", "COLUMNDICT",
       "SERIALIZATION_NULL_FORMAT", "BAD_RECORDS_LOGGER_ENABLE", "BAD_RECORDS_ACTION",
       "ALL_DICTIONARY_PATH", "MAXCOLUMNS", "COMMENTCHAR", "DATEFORMAT",
-      "SINGLE_PASS", "IS_EMPTY_DATA_BAD_RECORD"
+      "SINGLE_PASS", "IS_EMPTY_DATA_BAD_RECORD", "SORT_SCOPE", "GLOBAL_SORT_PARTITIONS"
     )
     var isSupported = true
     val invalidOptions = StringBuilder.newBuilder
@@ -807,6 +811,26 @@ abstract class CarbonDDLSqlParser extends AbstractCarbonSparkSQLParser {
           "option IS_EMPTY_DATA_BAD_RECORD can have option either true or false")
       }
     }
+    if (options.exists(_._1.equalsIgnoreCase("SORT_SCOPE"))) {
+      val optionValue: String = options.get("sort_scope").get.head._2
+      if (!SortScope.isValidSortScope(optionValue)) {
+        throw new MalformedCarbonCommandException(
+          "option SORT_SCOPE can have only either NO_SORT or BATCH_SORT or LOCAL_SORT or " +
+          "GLOBAL_SORT")
+      }
+    }
+    if (options.exists(_._1.equalsIgnoreCase("GLOBAL_SORT_PARTITIONS"))) {
+      val optionValue: String = options.get("global_sort_partitions").get.head._2
+      val isValid = try {
+        optionValue.trim.toInt > 0
+      } catch {
+        case _: NumberFormatException => false
+      }
+      if (!isValid) {
+        throw new MalformedCarbonCommandException(
+          "option GLOBAL_SORT_PARTITIONS can have only positive integer value")
+      }
+    }
 
     // check for duplicate options
     val duplicateOptions = options filter {
@@ -19,6 +19,8 @@ package org.apache.carbondata.spark.readsupport;
 import java.io.IOException;
 import java.sql.Date;
 import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.List;
 
 import org.apache.carbondata.core.metadata.AbsoluteTableIdentifier;
 import org.apache.carbondata.core.metadata.datatype.DataType;
@@ -79,4 +81,12 @@ public class SparkRowReadSupportImpl extends DictionaryDecodeReadSupport<Row> {
     }
     return new GenericRow(data);
   }
+
+  @Override public List<Row> readRows(List<Object[]> data) {
+    List<Row> rows = new ArrayList<>(data.size());
+    for (Object[] row : data) {
+      rows.add(readRow(row));
+    }
+    return rows;
+  }
 }
@@ -42,12 +42,14 @@ import org.apache.carbondata.core.constants.CarbonCommonConstants
 import org.apache.carbondata.core.datastore.block.{Distributable, TableBlockInfo}
 import org.apache.carbondata.core.dictionary.server.DictionaryServer
 import org.apache.carbondata.core.locks.{CarbonLockFactory, ICarbonLock, LockUsage}
-import org.apache.carbondata.core.metadata.{CarbonTableIdentifier, ColumnarFormatVersion}
+import org.apache.carbondata.core.metadata.{CarbonTableIdentifier, ColumnarFormatVersion, SortScope}
 import org.apache.carbondata.core.metadata.schema.table.CarbonTable
 import org.apache.carbondata.core.mutate.CarbonUpdateUtil
 import org.apache.carbondata.core.statusmanager.LoadMetadataDetails
 import org.apache.carbondata.core.util.CarbonProperties
 import org.apache.carbondata.core.util.path.CarbonStorePath
+import org.apache.carbondata.hadoop.internal.segment.{Segment, SegmentManager,
+  SegmentManagerFactory}
 import org.apache.carbondata.processing.csvload.BlockDetails
 import org.apache.carbondata.processing.etl.DataLoadingException
 import org.apache.carbondata.processing.merger.{CarbonCompactionUtil, CarbonDataMergerUtil, CompactionType}
@@ -431,6 +433,15 @@ object CarbonDataRDDFactory {
       }
     }
 
+    // with the segment manager enabled the segment id is allocated by it, so loads of the
+    // table from different drivers do not get the same id
+    val segmentManager =
+      if (updateModel.isEmpty && SegmentManagerFactory.isSegmentManagerEnabled) {
+        Some(SegmentManagerFactory.getSegmentManager(carbonTable.getAbsoluteTableIdentifier))
+      } else {
+        None
+      }
+    var openedSegment: Option[Segment] = None
     try {
       LOGGER.audit(s"Data load request has been received for table" +
           s" ${ carbonLoadModel.getDatabaseName }.${ carbonLoadModel.getTableName }")
@@ -462,15 +473,20 @@ object CarbonDataRDDFactory {
         }
       }
       currentLoadCount += 1
+      openedSegment = segmentManager.map(_.openNewSegment())
+      openedSegment.foreach(segment => currentLoadCount = segment.getId.toInt)
       // Deleting the any partially loaded data if present.
       // in some case the segment folder which is present in store will not have entry in status.
-      // so deleting those folders.
-      try {
-        CarbonLoaderUtil.deletePartialLoadDataIfExist(carbonLoadModel, false)
-      } catch {
-        case e: Exception =>
-          LOGGER
+      // so deleting those folders. With the segment manager enabled, the folders could belong
+      // to the loads running in other drivers, so they are left to clean files.
+      if (segmentManager.isEmpty) {
+        try {
+          CarbonLoaderUtil.deletePartialLoadDataIfExist(carbonLoadModel, false)
+        } catch {
+          case e: Exception =>
+            LOGGER
               .error(s"Exception in data load while clean up of stale segments ${ e.getMessage }")
+        }
       }
 
       // reading the start time of data load.
@@ -606,12 +622,19 @@ object CarbonDataRDDFactory {
           ).toArray
         }
 
-        status = new NewCarbonDataLoadRDD(sqlContext.sparkContext,
-          new DataLoadResultImpl(),
-          carbonLoadModel,
-          currentLoadCount,
-          blocksGroupBy,
-          isTableSplitPartition).collect()
+        if (carbonLoadModel.getSortScope == SortScope.GLOBAL_SORT) {
+          status = GlobalSortDataLoader.loadDataFile(sqlContext.sparkContext,
+            carbonLoadModel,
+            currentLoadCount,
+            blocksGroupBy)
+        } else {
+          status = new NewCarbonDataLoadRDD(sqlContext.sparkContext,
+            new DataLoadResultImpl(),
+            carbonLoadModel,
+            currentLoadCount,
+            blocksGroupBy,
+            isTableSplitPartition).collect()
+        }
       }
 
       def loadDataFrame(): Unit = {
@@ -732,6 +755,35 @@ object CarbonDataRDDFactory {
 
       }
 
+      // micro batches of a streaming table are appended to its streaming segment, the id of
+      // a new load is used only if there is no open streaming segment
+      if (dataFrame.isDefined && updateModel.isEmpty &&
+          carbonLoadModel.getCarbonDataLoadSchema.getCarbonTable.isStreamingTable) {
+        try {
+          val segmentId = StreamingDataLoader.appendMicroBatch(sqlContext.sparkContext,
+            carbonLoadModel,
+            currentLoadCount,
+            dataFrame.get.rdd)
+          LOGGER.info(s"Micro batch is appended to streaming segment $segmentId")
+          // allocated segment is used only if a new streaming segment is opened
+          if (segmentId == currentLoadCount.toString) {
+            val loadedSegment = openedSegment
+            openedSegment = None
+            loadedSegment.foreach(commitSegment(segmentManager.get, _))
+          }
+        } catch {
+          case ex: Exception =>
+            shutDownDictionaryServer(carbonLoadModel, result, false)
+            LOGGER.audit(s"Data load is failed for " +
+                         s"${ carbonLoadModel.getDatabaseName }.${ carbonLoadModel.getTableName }")
+            throw ex
+        }
+        shutDownDictionaryServer(carbonLoadModel, result)
+        LOGGER.audit("Data load is successful for " +
+                     s"${ carbonLoadModel.getDatabaseName }.${ carbonLoadModel.getTableName }")
+        return
+      }
+
       if (!updateModel.isDefined) {
       CarbonLoaderUtil.checkAndCreateCarbonDataLocation(storePath,
         carbonLoadModel.getDatabaseName, carbonLoadModel.getTableName, currentLoadCount.toString)
@@ -742,6 +794,12 @@ object CarbonDataRDDFactory {
       try {
         if (updateModel.isDefined) {
           loadDataFrameForUpdate()
+        } else if (dataFrame.isDefined &&
+                   carbonLoadModel.getSortScope == SortScope.GLOBAL_SORT) {
+          status = GlobalSortDataLoader.loadDataFrame(sqlContext.sparkContext,
+            carbonLoadModel,
+            currentLoadCount,
+            dataFrame.get.rdd)
         } else if (dataFrame.isDefined) {
           loadDataFrame()
         }
@@ -912,6 +970,10 @@ object CarbonDataRDDFactory {
           // TODO : Handle it
           LOGGER.info("********Database updated**********")
         }
+        // segment is recorded in the table status, so it is not closed even if the commit fails
+        val loadedSegment = openedSegment
+        openedSegment = None
+        loadedSegment.foreach(commitSegment(segmentManager.get, _))
 
         shutDownDictionaryServer(carbonLoadModel, result)
 
@@ -931,10 +993,27 @@ object CarbonDataRDDFactory {
               "Dataload is success. Auto-Compaction has failed. Please check logs.")
         }
       }
+    } finally {
+      // segment is not committed if the load failed
+      openedSegment.foreach(segmentManager.get.closeSegment)
     }
 
   }
 
+  /**
+   * Commits the segment in the segment manager after it is recorded in the table status. The
+   * table status is the commit record of the load, so the load is not failed if the segment
+   * manager fails to commit, the state of the segment is read from the table status.
+   */
+  private def commitSegment(segmentManager: SegmentManager, segment: Segment): Unit = {
+    try {
+      segmentManager.commitSegment(segment)
+    } catch {
+      case ex: Exception =>
+        LOGGER.error(ex, s"Failed to commit segment ${ segment.getId } in the segment manager")
+    }
+  }
+
   private def shutDownDictionaryServer(carbonLoadModel: CarbonLoadModel,
       result: Future[DictionaryServer], writeDictionary: Boolean = true): Unit = {
     // write dictionary file and shutdown dictionary server
@@ -20,7 +20,8 @@ package org.apache.spark.sql
 import scala.collection.JavaConverters._
 
 import org.apache.spark.sql.catalyst.InternalRow
-import org.apache.spark.sql.catalyst.expressions.{Expression => SparkExpression, GenericMutableRow}
+import org.apache.spark.sql.catalyst.expressions.{AttributeReference, ExprId,
+  Expression => SparkExpression, GenericMutableRow, ScalaUDF}
 
 import org.apache.carbondata.core.scan.expression.{ColumnExpression, Expression, ExpressionResult, UnknownExpression}
 import org.apache.carbondata.core.scan.expression.conditional.ConditionalExpression
@@ -66,6 +67,18 @@ class SparkUnknownExpression(var sparkExp: SparkExpression)
     sparkExp.toString()
   }
 
+  override def getCanonicalString: String = {
+    // non deterministic expressions and anonymous functions are not identified by string
+    if (!sparkExp.deterministic || sparkExp.find(_.isInstanceOf[ScalaUDF]).isDefined) {
+      null
+    } else {
+      // ids of the attributes are different in every query
+      sparkExp.transform {
+        case attribute: AttributeReference => attribute.withExprId(ExprId(0))
+      }.toString()
+    }
+  }
+
   def setEvaluateExpression(evaluateExpression: (InternalRow) => Any): Unit = {
     this.evaluateExpression = evaluateExpression
     isExecutor = true
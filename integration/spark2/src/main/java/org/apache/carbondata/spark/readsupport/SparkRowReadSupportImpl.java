@@ -17,6 +17,8 @@
 package org.apache.carbondata.spark.readsupport;
 
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
 
 import org.apache.carbondata.core.metadata.AbsoluteTableIdentifier;
 import org.apache.carbondata.core.metadata.datatype.DataType;
@@ -49,4 +51,12 @@ public class SparkRowReadSupportImpl extends DictionaryDecodeReadSupport<Interna
     }
     return new GenericInternalRow(data);
   }
+
+  @Override public List<InternalRow> readRows(List<Object[]> data) {
+    List<InternalRow> rows = new ArrayList<>(data.size());
+    for (Object[] row : data) {
+      rows.add(readRow(row));
+    }
+    return rows;
+  }
 }
@@ -20,14 +20,38 @@ package org.apache.carbondata.spark.vectorreader;
 import org.apache.carbondata.core.scan.result.vector.CarbonColumnVector;
 
 import org.apache.spark.sql.execution.vectorized.ColumnVector;
+import org.apache.spark.sql.types.ArrayType;
+import org.apache.spark.sql.types.DataType;
 import org.apache.spark.sql.types.Decimal;
+import org.apache.spark.sql.types.DecimalType;
+import org.apache.spark.sql.types.StructType;
 
 class ColumnarVectorWrapper implements CarbonColumnVector {
 
   private ColumnVector columnVector;
 
+  /**
+   * wrappers of the child vectors of array and struct columns
+   */
+  private ColumnarVectorWrapper[] childVectors;
+
+  /**
+   * number of elements filled to the child vector of the array column
+   */
+  private int elementCount;
+
   public ColumnarVectorWrapper(ColumnVector columnVector) {
     this.columnVector = columnVector;
+    if (columnVector.dataType() instanceof ArrayType) {
+      childVectors = new ColumnarVectorWrapper[] {
+          new ColumnarVectorWrapper(columnVector.arrayData()) };
+    } else if (columnVector.dataType() instanceof StructType) {
+      int numFields = ((StructType) columnVector.dataType()).fields().length;
+      childVectors = new ColumnarVectorWrapper[numFields];
+      for (int i = 0; i < numFields; i++) {
+        childVectors[i] = new ColumnarVectorWrapper(columnVector.getChildColumn(i));
+      }
+    }
   }
 
   @Override public void putShort(int rowId, short value) {
@@ -64,6 +88,15 @@ class ColumnarVectorWrapper implements CarbonColumnVector {
     }
   }
 
+  @Override public void putDecimal(int rowId, long unscaledValue, int precision) {
+    // same as the compact storage of spark decimal vector, so no decimal object is created
+    if (precision <= Decimal.MAX_INT_DIGITS()) {
+      columnVector.putInt(rowId, (int) unscaledValue);
+    } else {
+      columnVector.putLong(rowId, unscaledValue);
+    }
+  }
+
   @Override public void putDouble(int rowId, double value) {
     columnVector.putDouble(rowId, value);
   }
@@ -99,7 +132,45 @@ class ColumnarVectorWrapper implements CarbonColumnVector {
   }
 
   @Override public void putObject(int rowId, Object obj) {
-    //TODO handle complex types
+    if (null == obj) {
+      columnVector.putNull(rowId);
+      return;
+    }
+    DataType dataType = columnVector.dataType();
+    if (dataType instanceof DecimalType) {
+      DecimalType decimalType = (DecimalType) dataType;
+      Decimal value = (Decimal) obj;
+      if (value.changePrecision(decimalType.precision(), decimalType.scale())) {
+        columnVector.putDecimal(rowId, value, decimalType.precision());
+      } else {
+        columnVector.putNull(rowId);
+      }
+    } else if (obj instanceof Boolean) {
+      columnVector.putBoolean(rowId, (Boolean) obj);
+    } else if (obj instanceof Integer) {
+      columnVector.putInt(rowId, (Integer) obj);
+    } else if (obj instanceof Long) {
+      columnVector.putLong(rowId, (Long) obj);
+    } else if (obj instanceof Short) {
+      columnVector.putShort(rowId, (Short) obj);
+    } else if (obj instanceof Double) {
+      columnVector.putDouble(rowId, (Double) obj);
+    } else {
+      throw new UnsupportedOperationException(
+          "Unsupported value " + obj.getClass().getName() + " for the type " + dataType);
+    }
+  }
+
+  @Override public int putArray(int rowId, int length) {
+    int offset = elementCount;
+    columnVector.arrayData().reserve(offset + length);
+    columnVector.putArray(rowId, offset, length);
+    elementCount += length;
+    return offset;
+  }
+
+  @Override public CarbonColumnVector getChildVector(int ordinal) {
+    return childVectors[ordinal];
   }
 
   @Override public Object getData(int rowId) {
@@ -109,5 +180,11 @@ class ColumnarVectorWrapper implements CarbonColumnVector {
 
   @Override public void reset() {
 //    columnVector.reset();
+    elementCount = 0;
+    if (null != childVectors) {
+      for (ColumnarVectorWrapper childVector : childVectors) {
+        childVector.reset();
+      }
+    }
   }
 }
@@ -28,6 +28,7 @@ import org.apache.carbondata.core.keygenerator.directdictionary.DirectDictionary
 import org.apache.carbondata.core.keygenerator.directdictionary.DirectDictionaryKeyGeneratorFactory;
 import org.apache.carbondata.core.metadata.datatype.DataType;
 import org.apache.carbondata.core.metadata.encoder.Encoding;
+import org.apache.carbondata.core.metadata.schema.table.column.CarbonDimension;
 import org.apache.carbondata.core.scan.executor.QueryExecutor;
 import org.apache.carbondata.core.scan.executor.QueryExecutorFactory;
 import org.apache.carbondata.core.scan.executor.exception.QueryExecutionException;
@@ -47,7 +48,9 @@ import org.apache.hadoop.mapreduce.InputSplit;
 import org.apache.hadoop.mapreduce.TaskAttemptContext;
 import org.apache.spark.memory.MemoryMode;
 import org.apache.spark.sql.execution.vectorized.ColumnarBatch;
+import org.apache.spark.sql.types.DataTypes;
 import org.apache.spark.sql.types.DecimalType;
+import org.apache.spark.sql.types.Metadata;
 import org.apache.spark.sql.types.StructField;
 import org.apache.spark.sql.types.StructType;
 
@@ -177,7 +180,10 @@ class VectorizedCarbonRecordReader extends AbstractRecordReader<Object> {
     StructField[] fields = new StructField[queryDimension.size() + queryMeasures.size()];
     for (int i = 0; i < queryDimension.size(); i++) {
       QueryDimension dim = queryDimension.get(i);
-      if (dim.getDimension().hasEncoding(Encoding.DIRECT_DICTIONARY)) {
+      if (dim.getDimension().isComplex()) {
+        fields[dim.getQueryOrder()] = new StructField(dim.getColumnName(),
+            getComplexType(dim.getDimension()), true, null);
+      } else if (dim.getDimension().hasEncoding(Encoding.DIRECT_DICTIONARY)) {
         DirectDictionaryGenerator generator = DirectDictionaryKeyGeneratorFactory
             .getDirectDictionaryGenerator(dim.getDimension().getDataType());
         fields[dim.getQueryOrder()] = new StructField(dim.getColumnName(),
@@ -186,10 +192,6 @@ class VectorizedCarbonRecordReader extends AbstractRecordReader<Object> {
         fields[dim.getQueryOrder()] = new StructField(dim.getColumnName(),
             CarbonScalaUtil.convertCarbonToSparkDataType(dim.getDimension().getDataType()), true,
             null);
-      } else if (dim.getDimension().isComplex()) {
-        fields[dim.getQueryOrder()] = new StructField(dim.getColumnName(),
-            CarbonScalaUtil.convertCarbonToSparkDataType(dim.getDimension().getDataType()), true,
-            null);
       } else {
         fields[dim.getQueryOrder()] = new StructField(dim.getColumnName(),
             CarbonScalaUtil.convertCarbonToSparkDataType(DataType.INT), true, null);
@@ -225,6 +227,32 @@ class VectorizedCarbonRecordReader extends AbstractRecordReader<Object> {
     carbonColumnarBatch = new CarbonColumnarBatch(vectors, columnarBatch.capacity());
   }
 
+  /**
+   * Returns the spark type of the complex column, the elements of the array and the fields of
+   * the struct are filled to the child vectors of this type
+   */
+  private static org.apache.spark.sql.types.DataType getComplexType(CarbonDimension dimension) {
+    List<CarbonDimension> children = dimension.getListOfChildDimensions();
+    switch (dimension.getDataType()) {
+      case ARRAY:
+        return DataTypes.createArrayType(getComplexType(children.get(0)), true);
+      case STRUCT:
+        StructField[] fields = new StructField[children.size()];
+        for (int i = 0; i < children.size(); i++) {
+          CarbonDimension child = children.get(i);
+          fields[i] = new StructField(
+              child.getColName().substring(dimension.getColName().length() + 1),
+              getComplexType(child), true, Metadata.empty());
+        }
+        return new StructType(fields);
+      case DECIMAL:
+        return new DecimalType(dimension.getColumnSchema().getPrecision(),
+            dimension.getColumnSchema().getScale());
+      default:
+        return CarbonScalaUtil.convertCarbonToSparkDataType(dimension.getDataType());
+    }
+  }
+
   private void initBatch() {
     initBatch(DEFAULT_MEMORY_MODE);
   }
@@ -33,7 +33,8 @@ import org.apache.spark.sql.optimizer.CarbonDecoderRelation
 import org.apache.spark.sql.types._
 
 import org.apache.carbondata.core.cache.{Cache, CacheProvider, CacheType}
-import org.apache.carbondata.core.cache.dictionary.{Dictionary, DictionaryColumnUniqueIdentifier}
+import org.apache.carbondata.core.cache.dictionary.{DecodedValueCache, Dictionary,
+  DictionaryColumnUniqueIdentifier}
 import org.apache.carbondata.core.metadata.{AbsoluteTableIdentifier, ColumnIdentifier}
 import org.apache.carbondata.core.metadata.datatype.DataType
 import org.apache.carbondata.core.metadata.encoder.Encoding
@@ -91,6 +92,13 @@ case class CarbonDictionaryDecoder(
               }
             }
           )
+          val decodedValues = dicts.zipWithIndex.map { case (dictionary, index) =>
+            if (dictionary != null) {
+              new SparkDecodedValueCache(dictionary, getDictionaryColumnIds(index)._3)
+            } else {
+              null
+            }
+          }
           new Iterator[InternalRow] {
             val unsafeProjection = UnsafeProjection.create(output.map(_.dataType).toArray)
             var flag = true
@@ -103,9 +111,7 @@ case class CarbonDictionaryDecoder(
               val data = row.toSeq(dataTypes).toArray
               dictIndex.foreach { index =>
                 if (data(index) != null) {
-                  data(index) = DataTypeUtil.getDataBasedOnDataType(dicts(index)
-                    .getDictionaryValueForKeyInBytes(data(index).asInstanceOf[Int]),
-                    getDictionaryColumnIds(index)._3)
+                  data(index) = decodedValues(index).getValue(data(index).asInstanceOf[Int])
                 }
               }
               unsafeProjection(new GenericInternalRow(data))
@@ -148,65 +154,87 @@ case class CarbonDictionaryDecoder(
             s"""
                |${ev.code}
              """.stripMargin
-          code +=
-            s"""
-             |boolean $isNull = false;
-             |byte[] $valueIntern = $dictsRef.getDictionaryValueForKeyInBytes(${ ev.value });
-             |if ($valueIntern == null ||
-             |  java.util.Arrays.equals(org.apache.carbondata.core.constants
-             |.CarbonCommonConstants.MEMBER_DEFAULT_VAL_ARRAY, $valueIntern)) {
-             |  $isNull = true;
-             |  $valueIntern = org.apache.carbondata.core.constants
-             |  .CarbonCommonConstants.ZERO_BYTE_ARRAY;
-             |}
-             """.stripMargin
-
-            val caseCode = getDictionaryColumnIds(index)._3.getDataType match {
-              case DataType.INT =>
-                s"""
-                   |int $value = Integer.parseInt(new String($valueIntern,
-                   |org.apache.carbondata.core.constants.CarbonCommonConstants
-                   |.DEFAULT_CHARSET_CLASS));
-                 """.stripMargin
-              case DataType.SHORT =>
-                s"""
-                   |short $value =
-                   |Short.parseShort(new String($valueIntern,
-                   |org.apache.carbondata.core.constants.CarbonCommonConstants
-                   |.DEFAULT_CHARSET_CLASS));
-                 """.stripMargin
-              case DataType.DOUBLE =>
-                s"""
-                   |double $value =
-                   |Double.parseDouble(new String($valueIntern,
-                   |org.apache.carbondata.core.constants.CarbonCommonConstants
-                   |.DEFAULT_CHARSET_CLASS));
-                 """.stripMargin
-              case DataType.LONG =>
-                s"""
-                   |long $value =
-                   |Long.parseLong(new String($valueIntern,
-                   |org.apache.carbondata.core.constants.CarbonCommonConstants
-                   |.DEFAULT_CHARSET_CLASS));
-                 """.stripMargin
-              case DataType.DECIMAL =>
-                s"""
-                   |org.apache.spark.sql.types.Decimal $value =
-                   |Decimal.apply(new java.math.BigDecimal(
-                   |new String($valueIntern, org.apache.carbondata.core.constants
-                   |.CarbonCommonConstants.DEFAULT_CHARSET_CLASS)));
-                 """.stripMargin
-              case _ =>
-                s"""
-                   | UTF8String $value = UTF8String.fromBytes($valueIntern);
-                 """.stripMargin
-            }
-          code +=
-            s"""
-               |$caseCode
-             """.stripMargin
+          val decodedCode = getDictionaryColumnIds(index)._3.getDataType match {
+            case DataType.INT => Some(("int", "((Integer) %s).intValue()", "-1"))
+            case DataType.SHORT => Some(("short", "((Short) %s).shortValue()", "(short) -1"))
+            case DataType.DOUBLE => Some(("double", "((Double) %s).doubleValue()", "-1.0"))
+            case DataType.LONG => Some(("long", "((Long) %s).longValue()", "-1L"))
+            case DataType.STRING =>
+              Some(("UTF8String", "(UTF8String) %s", "UTF8String.EMPTY_UTF8"))
+            case _ => None
+          }
+          if (decodedCode.isDefined) {
+            // value decoded once per distinct surrogate in the task is reused for the rows
+            val (javaType, cast, defaultValue) = decodedCode.get
+            val decoded = ctx.freshName("decoded")
+            code +=
+              s"""
+                 |Object $decoded = $dictsRef.getDecodedValue(${ ev.value });
+                 |boolean $isNull = $decoded == null;
+                 |$javaType $value = $isNull ? $defaultValue : ${ cast.format(decoded) };
+               """.stripMargin
+            ExprCode(code, isNull, value)
+          } else {
+            code +=
+              s"""
+               |boolean $isNull = false;
+               |byte[] $valueIntern = $dictsRef.getDictionaryValueForKeyInBytes(${ ev.value });
+               |if ($valueIntern == null ||
+               |  java.util.Arrays.equals(org.apache.carbondata.core.constants
+               |.CarbonCommonConstants.MEMBER_DEFAULT_VAL_ARRAY, $valueIntern)) {
+               |  $isNull = true;
+               |  $valueIntern = org.apache.carbondata.core.constants
+               |  .CarbonCommonConstants.ZERO_BYTE_ARRAY;
+               |}
+               """.stripMargin
+
+              val caseCode = getDictionaryColumnIds(index)._3.getDataType match {
+                case DataType.INT =>
+                  s"""
+                     |int $value = Integer.parseInt(new String($valueIntern,
+                     |org.apache.carbondata.core.constants.CarbonCommonConstants
+                     |.DEFAULT_CHARSET_CLASS));
+                   """.stripMargin
+                case DataType.SHORT =>
+                  s"""
+                     |short $value =
+                     |Short.parseShort(new String($valueIntern,
+                     |org.apache.carbondata.core.constants.CarbonCommonConstants
+                     |.DEFAULT_CHARSET_CLASS));
+                   """.stripMargin
+                case DataType.DOUBLE =>
+                  s"""
+                     |double $value =
+                     |Double.parseDouble(new String($valueIntern,
+                     |org.apache.carbondata.core.constants.CarbonCommonConstants
+                     |.DEFAULT_CHARSET_CLASS));
+                   """.stripMargin
+                case DataType.LONG =>
+                  s"""
+                     |long $value =
+                     |Long.parseLong(new String($valueIntern,
+                     |org.apache.carbondata.core.constants.CarbonCommonConstants
+                     |.DEFAULT_CHARSET_CLASS));
+                   """.stripMargin
+                case DataType.DECIMAL =>
+                  s"""
+                     |org.apache.spark.sql.types.Decimal $value =
+                     |Decimal.apply(new java.math.BigDecimal(
+                     |new String($valueIntern, org.apache.carbondata.core.constants
+                     |.CarbonCommonConstants.DEFAULT_CHARSET_CLASS)));
+                   """.stripMargin
+                case _ =>
+                  s"""
+                     | UTF8String $value = UTF8String.fromBytes($valueIntern);
+                   """.stripMargin
+              }
+            code +=
+              s"""
+                 |$caseCode
+               """.stripMargin
 
-          ExprCode(code, isNull, value)
+            ExprCode(code, isNull, value)
+          }
         } else {
           expr.genCode(ctx)
         }
@@ -270,7 +298,8 @@ case class CarbonDictionaryDecoder(
             allDictIdentifiers += dictionaryColumnUniqueIdentifier;
             new ForwardDictionaryWrapper(
               storePath,
-              dictionaryColumnUniqueIdentifier)
+              dictionaryColumnUniqueIdentifier,
+              carbonDimension)
           } catch {
             case _: Throwable => null
           }
@@ -535,6 +564,13 @@ class CarbonDecoderRDD(
         }
       }
     )
+    val decodedValues = dicts.zipWithIndex.map { case (dictionary, index) =>
+      if (dictionary != null) {
+        new SparkDecodedValueCache(dictionary, getDictionaryColumnIds(index)._3)
+      } else {
+        null
+      }
+    }
     val iter = firstParent[InternalRow].iterator(split, context)
     new Iterator[InternalRow] {
       var flag = true
@@ -548,9 +584,7 @@ class CarbonDecoderRDD(
         val data = row.toSeq(dataTypes).toArray
         dictIndex.foreach { index =>
           if (data(index) != null) {
-            data(index) = DataTypeUtil.getDataBasedOnDataType(dicts(index)
-                .getDictionaryValueForKeyInBytes(data(index).asInstanceOf[Int]),
-              getDictionaryColumnIds(index)._3)
+            data(index) = decodedValues(index).getValue(data(index).asInstanceOf[Int])
           }
         }
         new GenericInternalRow(data)
@@ -586,12 +620,15 @@ class CarbonDecoderRDD(
  */
 class ForwardDictionaryWrapper(
     val storePath: String,
-    dictIdentifier: DictionaryColumnUniqueIdentifier) extends Serializable {
+    dictIdentifier: DictionaryColumnUniqueIdentifier,
+    carbonDimension: CarbonDimension) extends Serializable {
 
   var dictionary: Dictionary = null
 
   var dictionaryLoader: DictionaryLoader = _
 
+  @transient private var decodedValues: SparkDecodedValueCache = _
+
   def getDictionaryValueForKeyInBytes (surrogateKey: Int): Array[Byte] = {
     if (dictionary == null) {
       dictionary = dictionaryLoader.getDictionary(dictIdentifier)
@@ -599,6 +636,19 @@ class ForwardDictionaryWrapper(
     dictionary.getDictionaryValueForKeyInBytes(surrogateKey)
   }
 
+  /**
+   * Returns the spark value of the surrogate key, it is decoded only once in the task
+   */
+  def getDecodedValue(surrogateKey: Int): AnyRef = {
+    if (decodedValues == null) {
+      if (dictionary == null) {
+        dictionary = dictionaryLoader.getDictionary(dictIdentifier)
+      }
+      decodedValues = new SparkDecodedValueCache(dictionary, carbonDimension)
+    }
+    decodedValues.getValue(surrogateKey)
+  }
+
   def setDictionaryLoader(loader: DictionaryLoader): Unit = {
     dictionaryLoader = loader
   }
@@ -650,3 +700,19 @@ class DictionaryLoader(storePath: String,
   }
 
 }
+
+/**
+ * Decodes the dictionary surrogate keys to the spark values, the values are kept in the
+ * dictionary decoded value cache. Decimal values are mutable once written into a row, so those
+ * are decoded every time.
+ */
+class SparkDecodedValueCache(dictionary: Dictionary, carbonDimension: CarbonDimension,
+    maxSize: Int = DecodedValueCache.getMaxSize)
+  extends DecodedValueCache(dictionary,
+    if (carbonDimension.getDataType == DataType.DECIMAL) 0 else maxSize) {
+
+  override protected def decode(surrogateKey: Int): AnyRef = {
+    DataTypeUtil.getDataBasedOnDataType(dictionary.getDictionaryValueForKeyInBytes(surrogateKey),
+      carbonDimension)
+  }
+}
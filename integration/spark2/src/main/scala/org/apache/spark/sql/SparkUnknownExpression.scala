@@ -23,7 +23,8 @@ import scala.collection.JavaConverters._
 
 import org.apache.spark.sql.CarbonBoundReference
 import org.apache.spark.sql.catalyst.InternalRow
-import org.apache.spark.sql.catalyst.expressions.{Expression => SparkExpression, GenericInternalRow}
+import org.apache.spark.sql.catalyst.expressions.{AttributeReference, ExprId,
+  Expression => SparkExpression, GenericInternalRow, ScalaUDF}
 
 import org.apache.carbondata.core.metadata.encoder.Encoding
 import org.apache.carbondata.core.scan.expression.{ColumnExpression, Expression, ExpressionResult, UnknownExpression}
@@ -72,6 +73,18 @@ class SparkUnknownExpression(var sparkExp: SparkExpression)
     sparkExp.toString()
   }
 
+  override def getCanonicalString: String = {
+    // non deterministic expressions and anonymous functions are not identified by string
+    if (!sparkExp.deterministic || sparkExp.find(_.isInstanceOf[ScalaUDF]).isDefined) {
+      null
+    } else {
+      // ids of the attributes are different in every query
+      sparkExp.transform {
+        case attribute: AttributeReference => attribute.withExprId(ExprId(0))
+      }.toString()
+    }
+  }
+
   def setEvaluateExpression(evaluateExpression: (InternalRow) => Any): Unit = {
     this.evaluateExpression = evaluateExpression
     isExecutor = true
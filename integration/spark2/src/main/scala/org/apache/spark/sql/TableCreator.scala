@@ -474,6 +474,9 @@ object TableCreator {
     // validate the tableBlockSize from table properties
     CommonUtil.validateTableBlockSize(tableProperties)
 
+    // validate the z-order columns from table properties
+    CommonUtil.validateZOrderColumns(tableProperties, dims, noDictionaryDims)
+
     TableModel(ifNotExistPresent,
       dbName.getOrElse(CarbonCommonConstants.DATABASE_DEFAULT_NAME),
       dbName,
@@ -29,17 +29,22 @@ import org.apache.spark.sql.catalyst.InternalRow
 import org.apache.spark.sql.catalyst.expressions
 import org.apache.spark.sql.catalyst.expressions.{Attribute, _}
 import org.apache.spark.sql.catalyst.planning.PhysicalOperation
-import org.apache.spark.sql.catalyst.plans.logical.LogicalPlan
+import org.apache.spark.sql.catalyst.plans.logical.{Limit, LocalLimit, LogicalPlan, Project,
+  ReturnAnswer, Sort}
 import org.apache.spark.sql.catalyst.plans.physical.{HashPartitioning, Partitioning, UnknownPartitioning}
 import org.apache.spark.sql.execution.datasources.LogicalRelation
 import org.apache.spark.sql.optimizer.CarbonDecoderRelation
 import org.apache.spark.sql.sources.{BaseRelation, Filter}
-import org.apache.spark.sql.types.{AtomicType, DoubleType, IntegerType, StringType, TimestampType}
+import org.apache.spark.sql.types.{ArrayType, AtomicType, DataType, DoubleType, IntegerType,
+  StringType, StructType, TimestampType}
 
 import org.apache.carbondata.core.constants.CarbonCommonConstants
 import org.apache.carbondata.core.keygenerator.directdictionary.timestamp.TimeStampDirectDictionaryGenerator
+import org.apache.carbondata.core.metadata.datatype.{DataType => CarbonType}
+import org.apache.carbondata.core.metadata.encoder.Encoding
 import org.apache.carbondata.core.metadata.schema.BucketingInfo
 import org.apache.carbondata.core.metadata.schema.table.CarbonTable
+import org.apache.carbondata.core.statusmanager.SegmentStatusManager
 import org.apache.carbondata.core.util.CarbonProperties
 import org.apache.carbondata.spark.{CarbonAliasDecoderRelation}
 import org.apache.carbondata.spark.rdd.CarbonScanRDD
@@ -54,6 +59,26 @@ private[sql] class CarbonLateDecodeStrategy extends SparkStrategy {
 
   def apply(plan: LogicalPlan): Seq[SparkPlan] = {
     plan match {
+      case ReturnAnswer(Limit(IntegerLiteral(limit), Sort(order, true, child)))
+        if isTopNScan(order, child) =>
+        TakeOrderedAndProjectExec(limit, order, child.output,
+          planWithTopN(limit, order.head, child)) :: Nil
+      case ReturnAnswer(
+        Limit(IntegerLiteral(limit), Project(projectList, Sort(order, true, child))))
+        if isTopNScan(order, child) =>
+        TakeOrderedAndProjectExec(limit, order, projectList,
+          planWithTopN(limit, order.head, child)) :: Nil
+      case Limit(IntegerLiteral(limit), Sort(order, true, child)) if isTopNScan(order, child) =>
+        TakeOrderedAndProjectExec(limit, order, child.output,
+          planWithTopN(limit, order.head, child)) :: Nil
+      case Limit(IntegerLiteral(limit), Project(projectList, Sort(order, true, child)))
+        if isTopNScan(order, child) =>
+        TakeOrderedAndProjectExec(limit, order, projectList,
+          planWithTopN(limit, order.head, child)) :: Nil
+      case ReturnAnswer(Limit(IntegerLiteral(limit), child)) if isCarbonScan(child) =>
+        CollectLimitExec(limit, planWithLimit(limit, child)) :: Nil
+      case LocalLimit(IntegerLiteral(limit), child) if isCarbonScan(child) =>
+        LocalLimitExec(limit, planWithLimit(limit, child)) :: Nil
       case PhysicalOperation(projects, filters, l: LogicalRelation)
         if l.relation.isInstanceOf[CarbonDatasourceHadoopRelation] =>
         val relation = l.relation.asInstanceOf[CarbonDatasourceHadoopRelation]
@@ -64,24 +89,121 @@ private[sql] class CarbonLateDecodeStrategy extends SparkStrategy {
           (a, f, needDecoder) => toCatalystRDD(l, a, relation.buildScan(
             a.map(_.name).toArray, f), needDecoder)) ::
             Nil
-      case CarbonDictionaryCatalystDecoder(relations, profile, aliasMap, _, child) =>
-        if ((profile.isInstanceOf[IncludeProfile] && profile.isEmpty) ||
-            !CarbonDictionaryDecoder.
-              isRequiredToDecode(CarbonDictionaryDecoder.
-                getDictionaryColumnMapping(child.output, relations, profile, aliasMap))) {
-          planLater(child) :: Nil
-        } else {
-          CarbonDictionaryDecoder(relations,
-            profile,
-            aliasMap,
-            planLater(child),
-            SparkSession.getActiveSession.get
-          ) :: Nil
-        }
+      case decoder: CarbonDictionaryCatalystDecoder =>
+        planDecoder(decoder, planLater(decoder.child)) :: Nil
       case _ => Nil
     }
   }
 
+  private def planDecoder(
+      decoder: CarbonDictionaryCatalystDecoder,
+      childPlan: SparkPlan): SparkPlan = {
+    val CarbonDictionaryCatalystDecoder(relations, profile, aliasMap, _, child) = decoder
+    if ((profile.isInstanceOf[IncludeProfile] && profile.isEmpty) ||
+        !CarbonDictionaryDecoder.
+          isRequiredToDecode(CarbonDictionaryDecoder.
+            getDictionaryColumnMapping(child.output, relations, profile, aliasMap))) {
+      childPlan
+    } else {
+      CarbonDictionaryDecoder(relations,
+        profile,
+        aliasMap,
+        childPlan,
+        SparkSession.getActiveSession.get
+      )
+    }
+  }
+
+  /**
+   * Whether the plan is a carbon scan, optionally under the dictionary decoders which
+   * CarbonLateDecodeRule adds on top of it. Decoders do not change the number of rows, so a
+   * limit above them can be pushed to the scan
+   */
+  private def isCarbonScan(plan: LogicalPlan): Boolean = {
+    findCarbonRelation(plan).isDefined
+  }
+
+  private def findCarbonRelation(plan: LogicalPlan): Option[LogicalRelation] = {
+    plan match {
+      case decoder: CarbonDictionaryCatalystDecoder => findCarbonRelation(decoder.child)
+      case PhysicalOperation(_, _, l: LogicalRelation)
+        if l.relation.isInstanceOf[CarbonDatasourceHadoopRelation] => Some(l)
+      case _ => None
+    }
+  }
+
+  /**
+   * Whether the top n rows of the order can be pruned by the min and max values of the
+   * blocklets of the carbon scan. The first order should be on the leading dimension of the
+   * sort key of the table, with direct dictionary or no dictionary string values which are
+   * ordered as their bytes, and with its default null ordering
+   */
+  private def isTopNScan(order: Seq[SortOrder], plan: LogicalPlan): Boolean = {
+    findCarbonRelation(plan).exists { l =>
+      order.head.child match {
+        case attr: AttributeReference
+          if order.head.nullOrdering == order.head.direction.defaultNullOrdering &&
+             l.output.exists(_.exprId == attr.exprId) =>
+          val carbonTable = l.relation.asInstanceOf[CarbonDatasourceHadoopRelation].carbonTable
+          carbonTable.isSortedOnMdKey &&
+          carbonTable.getDimensionByTableName(carbonTable.getFactTableName).asScala
+            .find(!_.isComplex).exists { dimension =>
+            dimension.getColName.equalsIgnoreCase(attr.name) && dimension.isColumnar &&
+            (dimension.hasEncoding(Encoding.DIRECT_DICTIONARY) ||
+             (!dimension.hasEncoding(Encoding.DICTIONARY) &&
+              dimension.getDataType == CarbonType.STRING))
+          }
+        case _ => false
+      }
+    }
+  }
+
+  private def planWithLimit(limit: Int, plan: LogicalPlan): SparkPlan = {
+    plan match {
+      case decoder: CarbonDictionaryCatalystDecoder =>
+        planDecoder(decoder, planWithLimit(limit, decoder.child))
+      case PhysicalOperation(projects, filters, l: LogicalRelation) =>
+        planScan(l, projects, filters, _.setLimit(limit))
+    }
+  }
+
+  private def planWithTopN(limit: Int, order: SortOrder, plan: LogicalPlan): SparkPlan = {
+    plan match {
+      case decoder: CarbonDictionaryCatalystDecoder =>
+        planDecoder(decoder, planWithTopN(limit, order, decoder.child))
+      case PhysicalOperation(projects, filters, l: LogicalRelation) =>
+        planScan(l, projects, filters, _.setTopN(limit,
+          order.child.asInstanceOf[AttributeReference].name, order.direction == Descending))
+    }
+  }
+
+  /**
+   * Plans the scan of the relation with the limit or the top n pushed to the scan, so each task
+   * stops the scan once the rows of the limit are returned, or skips the blocklets beyond the
+   * top n rows. These are not pushed when some of the filters are applied by spark after the
+   * scan, as the rows removed by those filters are counted by the scan
+   */
+  private def planScan(
+      l: LogicalRelation,
+      projects: Seq[NamedExpression],
+      filters: Seq[Expression],
+      pushToScan: CarbonScanRDD => Unit): SparkPlan = {
+    val relation = l.relation.asInstanceOf[CarbonDatasourceHadoopRelation]
+    var scanRDD: CarbonScanRDD = null
+    val scan = pruneFilterProject(
+      l,
+      projects,
+      filters,
+      (a, f, needDecoder) => {
+        val rdd = relation.buildScan(a.map(_.name).toArray, f)
+        scanRDD = rdd.asInstanceOf[CarbonScanRDD]
+        toCatalystRDD(l, a, rdd, needDecoder)
+      })
+    if (scanRDD != null && scan.find(_.isInstanceOf[FilterExec]).isEmpty) {
+      pushToScan(scanRDD)
+    }
+    scan
+  }
 
   def getDecoderRDD(
       logicalRelation: LogicalRelation,
@@ -114,7 +236,8 @@ private[sql] class CarbonLateDecodeStrategy extends SparkStrategy {
       getDecoderRDD(relation, needDecode, rdd, output)
     } else {
       rdd.asInstanceOf[CarbonScanRDD]
-        .setVectorReaderSupport(supportBatchedDataSource(relation.relation.sqlContext, output))
+        .setVectorReaderSupport(supportBatchedDataSource(relation.relation.sqlContext, output) &&
+          !hasStreamSegments(relation))
       rdd
     }
   }
@@ -268,7 +391,7 @@ private[sql] class CarbonLateDecodeStrategy extends SparkStrategy {
       updateRequestedColumns: Seq[Attribute]): DataSourceScanExec = {
     val table = relation.relation.asInstanceOf[CarbonDatasourceHadoopRelation]
     if (supportBatchedDataSource(relation.relation.sqlContext, updateRequestedColumns) &&
-        needDecoder.isEmpty) {
+        needDecoder.isEmpty && !hasStreamSegments(relation)) {
       BatchedDataSourceScanExec(
         output,
         scanBuilder(updateRequestedColumns, candidatePredicates, pushedFilters, needDecoder),
@@ -497,6 +620,15 @@ private[sql] class CarbonLateDecodeStrategy extends SparkStrategy {
     }
   }
 
+  /**
+   * rows of streaming segment are read in row format, so batch read is not possible
+   */
+  private def hasStreamSegments(relation: LogicalRelation): Boolean = {
+    val table = relation.relation.asInstanceOf[CarbonDatasourceHadoopRelation]
+    !new SegmentStatusManager(table.carbonTable.getAbsoluteTableIdentifier)
+      .getValidAndInvalidSegments.getStreamSegments.isEmpty
+  }
+
   def supportBatchedDataSource(sqlContext: SQLContext, cols: Seq[Attribute]): Boolean = {
     val vectorizedReader = {
       if (sqlContext.sparkSession.conf.contains(CarbonCommonConstants.ENABLE_VECTOR_READER)) {
@@ -509,6 +641,18 @@ private[sql] class CarbonLateDecodeStrategy extends SparkStrategy {
       }
     }
     sqlContext.conf.wholeStageEnabled && vectorizedReader.toBoolean &&
-      cols.forall(_.dataType.isInstanceOf[AtomicType])
+      cols.forall(col => isVectorSupported(col.dataType))
+  }
+
+  /**
+   * Array and struct columns are filled to nested vectors, so they are supported when all their
+   * children are supported
+   */
+  private def isVectorSupported(dataType: DataType): Boolean = {
+    dataType match {
+      case arrayType: ArrayType => isVectorSupported(arrayType.elementType)
+      case structType: StructType => structType.fields.forall(f => isVectorSupported(f.dataType))
+      case _ => dataType.isInstanceOf[AtomicType]
+    }
   }
 }
@@ -42,7 +42,7 @@ import org.apache.carbondata.core.constants.CarbonCommonConstants
 import org.apache.carbondata.core.datastore.impl.FileFactory
 import org.apache.carbondata.core.dictionary.server.DictionaryServer
 import org.apache.carbondata.core.locks.{CarbonLockFactory, LockUsage}
-import org.apache.carbondata.core.metadata.{CarbonMetadata, CarbonTableIdentifier}
+import org.apache.carbondata.core.metadata.{CarbonMetadata, CarbonTableIdentifier, SortScope}
 import org.apache.carbondata.core.metadata.converter.ThriftWrapperSchemaConverterImpl
 import org.apache.carbondata.core.metadata.encoder.Encoding
 import org.apache.carbondata.core.metadata.schema.table.{CarbonTable, TableInfo}
@@ -55,6 +55,7 @@ import org.apache.carbondata.processing.constants.TableOptionConstant
 import org.apache.carbondata.processing.etl.DataLoadingException
 import org.apache.carbondata.processing.model.{CarbonDataLoadSchema, CarbonLoadModel}
 import org.apache.carbondata.processing.newflow.constants.DataLoadProcessorConstants
+import org.apache.carbondata.processing.util.CarbonDataProcessorUtil
 import org.apache.carbondata.spark.exception.MalformedCarbonCommandException
 import org.apache.carbondata.spark.rdd.{CarbonDataRDDFactory, DictionaryLoadModel}
 import org.apache.carbondata.spark.util.{CarbonScalaUtil, CarbonSparkUtil, CommonUtil,
@@ -436,6 +437,11 @@ case class LoadTable(
       carbonLoadModel
         .setIsEmptyDataBadRecord(
           DataLoadProcessorConstants.IS_EMPTY_DATA_BAD_RECORD + "," + isEmptyDataBadRecord)
+      val sortScope = CarbonDataProcessorUtil.getSortScope(options.getOrElse("sort_scope", null))
+      validateSortScope(sortScope, table)
+      carbonLoadModel.setSortScope(sortScope)
+      carbonLoadModel.setGlobalSortPartitions(
+        options.getOrElse("global_sort_partitions", "0").trim.toInt)
       val useOnePass = options.getOrElse("single_pass", "false").trim.toLowerCase match {
         case "true" =>
           if (StringUtils.isEmpty(allDictionaryPath)) {
@@ -627,6 +633,19 @@ case class LoadTable(
     Seq.empty
   }
 
+  /**
+   * rows of the table with bucketing are sorted in each bucket, so other sort scopes are not
+   * supported for it. The resolved sort scope is validated, so a sort scope configured in
+   * carbon.load.sort.scope is rejected like the SORT_SCOPE option
+   */
+  private def validateSortScope(sortScope: SortScope, table: CarbonTable): Unit = {
+    if (sortScope != SortScope.LOCAL_SORT &&
+        null != table.getBucketingInfo(table.getFactTableName)) {
+      throw new MalformedCarbonCommandException(s"Error: SORT_SCOPE $sortScope is not " +
+        "supported for the table with bucketing, only LOCAL_SORT is supported")
+    }
+  }
+
   private def validateDateFormat(dateFormat: String, table: CarbonTable): Unit = {
     val dimensions = table.getDimensionByTableName(tableName).asScala
     if (dateFormat != null) {
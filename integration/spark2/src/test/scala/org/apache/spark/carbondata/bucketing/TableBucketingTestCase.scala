@@ -46,6 +46,7 @@ class TableBucketingTestCase extends QueryTest with BeforeAndAfterAll {
     sql("DROP TABLE IF EXISTS t8")
     sql("DROP TABLE IF EXISTS t9")
     sql("DROP TABLE IF EXISTS t10")
+    sql("DROP TABLE IF EXISTS t11")
   }
 
   test("test create table with buckets") {
@@ -230,6 +231,43 @@ class TableBucketingTestCase extends QueryTest with BeforeAndAfterAll {
       .count()
   }
 
+  test("must be unable to load table with buckets with sort scope other than local sort") {
+    sql(
+      """
+           CREATE TABLE t11
+           (ID Int, date Timestamp, country String,
+           name String, phonetype String, serialname String, salary Int)
+           USING org.apache.spark.sql.CarbonSource
+           OPTIONS("bucketnumber"="4", "bucketcolumns"="name", "tableName"="t11")
+      """)
+    Seq("GLOBAL_SORT", "BATCH_SORT", "NO_SORT").foreach { sortScope =>
+      intercept[MalformedCarbonCommandException] {
+        LoadTable(Some("default"), "t11", s"$resourcesPath/source.csv", Nil,
+          Map(("sort_scope", sortScope))).run(sqlContext.sparkSession)
+      }
+    }
+    LoadTable(Some("default"), "t11", s"$resourcesPath/source.csv", Nil,
+      Map(("sort_scope", "LOCAL_SORT"))).run(sqlContext.sparkSession)
+    checkAnswer(sql("select count(*) from t11"), sql("select count(*) from t4"))
+  }
+
+  test("must be unable to load table with buckets with configured sort scope other than local " +
+       "sort") {
+    CarbonProperties.getInstance()
+      .addProperty(CarbonCommonConstants.LOAD_SORT_SCOPE, "GLOBAL_SORT")
+    try {
+      intercept[MalformedCarbonCommandException] {
+        LoadTable(Some("default"), "t11", s"$resourcesPath/source.csv", Nil,
+          Map.empty[String, String]).run(sqlContext.sparkSession)
+      }
+    } finally {
+      CarbonProperties.getInstance()
+        .addProperty(CarbonCommonConstants.LOAD_SORT_SCOPE,
+          CarbonCommonConstants.LOAD_SORT_SCOPE_DEFAULT)
+    }
+    checkAnswer(sql("select count(*) from t11"), sql("select count(*) from t4"))
+  }
+
   override def afterAll {
     sql("DROP TABLE IF EXISTS t3")
     sql("DROP TABLE IF EXISTS t4")
@@ -239,6 +277,7 @@ class TableBucketingTestCase extends QueryTest with BeforeAndAfterAll {
     sql("DROP TABLE IF EXISTS t8")
     sql("DROP TABLE IF EXISTS t9")
     sql("DROP TABLE IF EXISTS t10")
+    sql("DROP TABLE IF EXISTS t11")
     sqlContext.setConf("spark.sql.autoBroadcastJoinThreshold", threshold.toString)
   }
 }
@@ -0,0 +1,133 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.spark.carbondata.query
+
+import java.io.{File, PrintWriter}
+
+import org.apache.spark.rdd.RDD
+import org.apache.spark.sql.DataFrame
+import org.apache.spark.sql.common.util.QueryTest
+import org.apache.spark.sql.execution.{BatchedDataSourceScanExec, RowDataSourceScanExec}
+import org.scalatest.BeforeAndAfterAll
+
+import org.apache.carbondata.core.constants.CarbonCommonConstants
+import org.apache.carbondata.core.util.CarbonProperties
+import org.apache.carbondata.spark.rdd.CarbonScanRDD
+
+/**
+ * Test cases for pushing the limit of the query down to the carbon scan
+ */
+class LimitPushDownTestCase extends QueryTest with BeforeAndAfterAll {
+
+  private val totalRows = 100000
+
+  private var csvFile: File = _
+
+  override def beforeAll {
+    CarbonProperties.getInstance()
+      .addProperty(CarbonCommonConstants.ENABLE_QUERY_STATISTICS, "true")
+    sql("drop table if exists limit_push_down")
+    csvFile = File.createTempFile("limit_push_down", ".csv")
+    val writer = new PrintWriter(csvFile)
+    try {
+      (1 to totalRows).foreach { i =>
+        writer.println(s"$i,name${ i % 100 },${ i * 10 }")
+      }
+    } finally {
+      writer.close()
+    }
+    sql(
+      """
+        CREATE TABLE limit_push_down (id Int, name String, salary Int)
+        STORED BY 'org.apache.carbondata.format'
+      """)
+    sql(
+      s"""
+        LOAD DATA LOCAL INPATH '${ csvFile.getAbsolutePath }' into table limit_push_down
+        OPTIONS('FILEHEADER'='id,name,salary')
+      """)
+  }
+
+  private def getScanRDDs(df: DataFrame): Seq[CarbonScanRDD] = {
+    def collectScanRDD(rdd: RDD[_]): Seq[CarbonScanRDD] = {
+      rdd match {
+        case scan: CarbonScanRDD => Seq(scan)
+        case other => other.dependencies.flatMap(dep => collectScanRDD(dep.rdd))
+      }
+    }
+    df.queryExecution.executedPlan.collect {
+      case s: BatchedDataSourceScanExec => collectScanRDD(s.rdd)
+      case s: RowDataSourceScanExec => collectScanRDD(s.rdd)
+    }.flatten
+  }
+
+  test("limit is pushed to the scan through the dictionary decoder") {
+    val df = sql("select name, salary from limit_push_down limit 10")
+    assert(df.collect().length == 10)
+    val scans = getScanRDDs(df)
+    assert(scans.nonEmpty)
+    scans.foreach { scan =>
+      assert(scan.getLimit == 10)
+      // scan stops after the first batch instead of reading the whole table
+      assert(scan.getQueryProfile.getResultRows < totalRows)
+    }
+  }
+
+  test("limit is pushed to the scan when all filters are pushed to carbon") {
+    val df = sql("select id from limit_push_down where salary > 100 limit 5")
+    val rows = df.collect()
+    assert(rows.length == 5)
+    assert(rows.forall(_.getInt(0) > 10))
+    getScanRDDs(df).foreach { scan =>
+      assert(scan.getLimit == 5)
+      assert(scan.getQueryProfile.getResultRows < totalRows)
+    }
+  }
+
+  test("local limit under aggregate is pushed to the scan") {
+    val df = sql("select count(*) from (select id from limit_push_down limit 7) t")
+    checkAnswer(df, Seq(org.apache.spark.sql.Row(7)))
+    getScanRDDs(df).foreach { scan =>
+      assert(scan.getLimit == 7)
+    }
+  }
+
+  test("limit is not pushed when a filter is evaluated by spark") {
+    sqlContext.udf.register("limit_push_down_plus", (i: Int) => i + 1)
+    val df = sql(
+      "select id from limit_push_down where limit_push_down_plus(id) > 50000 limit 10")
+    val rows = df.collect()
+    assert(rows.length == 10)
+    assert(rows.forall(_.getInt(0) >= 50000))
+    val scans = getScanRDDs(df)
+    assert(scans.nonEmpty)
+    scans.foreach { scan =>
+      assert(scan.getLimit == -1)
+    }
+  }
+
+  override def afterAll {
+    sql("drop table if exists limit_push_down")
+    if (csvFile != null) {
+      csvFile.delete()
+    }
+    CarbonProperties.getInstance()
+      .addProperty(CarbonCommonConstants.ENABLE_QUERY_STATISTICS,
+        CarbonCommonConstants.ENABLE_QUERY_STATISTICS_DEFAULT)
+  }
+}
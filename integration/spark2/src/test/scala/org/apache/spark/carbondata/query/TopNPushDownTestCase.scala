@@ -0,0 +1,132 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.spark.carbondata.query
+
+import java.io.{File, PrintWriter}
+
+import org.apache.spark.rdd.RDD
+import org.apache.spark.sql.DataFrame
+import org.apache.spark.sql.common.util.QueryTest
+import org.apache.spark.sql.execution.{BatchedDataSourceScanExec, RowDataSourceScanExec}
+import org.scalatest.BeforeAndAfterAll
+
+import org.apache.carbondata.spark.rdd.CarbonScanRDD
+
+/**
+ * Test cases for pushing the top n rows of the query ordered by the leading dimension of the
+ * sort key down to the carbon scan
+ */
+class TopNPushDownTestCase extends QueryTest with BeforeAndAfterAll {
+
+  private val rowsPerLoad = 20000
+
+  private var csvFiles: Seq[File] = Nil
+
+  override def beforeAll {
+    sql("drop table if exists top_n_push_down")
+    sql(
+      """
+        CREATE TABLE top_n_push_down (name String, city String, id Int, salary Int)
+        STORED BY 'org.apache.carbondata.format'
+        TBLPROPERTIES('DICTIONARY_EXCLUDE'='name')
+      """)
+    val data = (0 until 3).map { load =>
+      val rows = (1 to rowsPerLoad).map { i =>
+        val id = load * rowsPerLoad + i
+        val name = if (id % 997 == 0) null else s"name${ id % 5000 }"
+        (name, s"city${ id % 10 }", id, id * 10)
+      }
+      val csvFile = File.createTempFile("top_n_push_down", ".csv")
+      val writer = new PrintWriter(csvFile)
+      try {
+        rows.foreach { case (name, city, id, salary) =>
+          writer.println(s"${ Option(name).getOrElse("\\N") },$city,$id,$salary")
+        }
+      } finally {
+        writer.close()
+      }
+      csvFiles :+= csvFile
+      sql(
+        s"""
+          LOAD DATA LOCAL INPATH '${ csvFile.getAbsolutePath }' into table top_n_push_down
+          OPTIONS('FILEHEADER'='name,city,id,salary')
+        """)
+      rows
+    }.flatten
+    sqlContext.sparkSession.createDataFrame(data).toDF("name", "city", "id", "salary")
+      .createOrReplaceTempView("top_n_expected")
+  }
+
+  private def getScanRDDs(df: DataFrame): Seq[CarbonScanRDD] = {
+    def collectScanRDD(rdd: RDD[_]): Seq[CarbonScanRDD] = {
+      rdd match {
+        case scan: CarbonScanRDD => Seq(scan)
+        case other => other.dependencies.flatMap(dep => collectScanRDD(dep.rdd))
+      }
+    }
+    df.queryExecution.executedPlan.collect {
+      case s: BatchedDataSourceScanExec => collectScanRDD(s.rdd)
+      case s: RowDataSourceScanExec => collectScanRDD(s.rdd)
+    }.flatten
+  }
+
+  private def checkTopN(query: String, topN: Int): Unit = {
+    val df = sql(query.replace("$table", "top_n_push_down"))
+    checkAnswer(df, sql(query.replace("$table", "top_n_expected")))
+    val scans = getScanRDDs(df)
+    assert(scans.nonEmpty)
+    scans.foreach { scan =>
+      assert(scan.getTopN == topN)
+    }
+  }
+
+  test("top n in ascending order of the leading no dictionary dimension is pushed to the scan") {
+    checkTopN("select name, id from $table order by name, id limit 10", 10)
+  }
+
+  test("top n in descending order of the leading no dictionary dimension is pushed to the scan") {
+    checkTopN("select name, salary from $table order by name desc, id limit 10", 10)
+  }
+
+  test("top n with the null rows is pushed to the scan") {
+    checkTopN("select name, id from $table order by name, id limit 100", 100)
+  }
+
+  test("top n with the filters pushed to carbon is pushed to the scan") {
+    checkTopN("select name, id from $table where salary > 300000 order by name, id limit 10", 10)
+  }
+
+  test("top n is not pushed when the order is not on the leading dimension") {
+    checkTopN("select city, id from $table order by city, id limit 10", -1)
+  }
+
+  test("top n is not pushed when the null ordering is not the default") {
+    checkTopN("select name, id from $table order by name desc nulls first, id limit 10", -1)
+  }
+
+  test("top n is not pushed when a filter is evaluated by spark") {
+    sqlContext.udf.register("top_n_push_down_plus", (i: Int) => i + 1)
+    checkTopN("select name, id from $table where top_n_push_down_plus(id) > 30000 " +
+              "order by name, id limit 10", -1)
+  }
+
+  override def afterAll {
+    sql("drop table if exists top_n_push_down")
+    csvFiles.foreach(_.delete())
+  }
+}
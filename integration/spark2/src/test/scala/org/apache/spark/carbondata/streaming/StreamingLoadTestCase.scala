@@ -0,0 +1,138 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.spark.carbondata.streaming
+
+import scala.collection.JavaConverters._
+
+import org.apache.hadoop.conf.Configuration
+import org.apache.hadoop.mapreduce.Job
+import org.apache.spark.sql.Row
+import org.apache.spark.sql.common.util.QueryTest
+import org.scalatest.BeforeAndAfterAll
+
+import org.apache.carbondata.core.constants.CarbonCommonConstants
+import org.apache.carbondata.core.metadata.CarbonMetadata
+import org.apache.carbondata.core.statusmanager.{LoadMetadataDetails, SegmentStatusManager}
+import org.apache.carbondata.core.util.CarbonProperties
+import org.apache.carbondata.hadoop.{CarbonInputFormat, CarbonInputSplit}
+import org.apache.carbondata.hadoop.internal.CarbonFormatType
+
+/**
+ * Test cases for appending data frame loads of a streaming table to its streaming segment
+ */
+class StreamingLoadTestCase extends QueryTest with BeforeAndAfterAll {
+
+  override def beforeAll {
+    import sqlContext.implicits._
+    sqlContext.sparkContext.parallelize(1 to 100)
+      .map(x => (x, "name" + (x % 10), x * 10))
+      .toDF("id", "name", "salary")
+      .createOrReplaceTempView("streaming_source")
+    sql("drop table if exists streaming_table")
+    sql("drop table if exists streaming_complex")
+  }
+
+  private def createStreamingTable(): Unit = {
+    sql("drop table if exists streaming_table")
+    sql(
+      """
+        CREATE TABLE streaming_table (id Int, name String, salary Int)
+        STORED BY 'org.apache.carbondata.format'
+        TBLPROPERTIES('streaming'='true')
+      """)
+  }
+
+  private def readLoadDetails(): Array[LoadMetadataDetails] = {
+    val carbonTable = CarbonMetadata.getInstance().getCarbonTable("default_streaming_table")
+    SegmentStatusManager.readLoadMetadata(carbonTable.getMetaDataFilepath)
+  }
+
+  private def segmentsWithStatus(status: String): Seq[String] = {
+    readLoadDetails().filter(_.getLoadStatus.equalsIgnoreCase(status)).map(_.getLoadName)
+  }
+
+  test("micro batches are appended to one streaming segment") {
+    createStreamingTable()
+    sql("insert into streaming_table select * from streaming_source")
+    sql("insert into streaming_table select * from streaming_source")
+    assert(segmentsWithStatus(CarbonCommonConstants.STORE_LOADSTATUS_STREAMING) == Seq("0"))
+    assert(readLoadDetails().length == 1)
+    checkAnswer(sql("select count(*) from streaming_table"), Seq(Row(200)))
+    checkAnswer(sql("select sum(salary) from streaming_table where id <= 10"), Seq(Row(1100)))
+  }
+
+  test("streaming segment in the segments to access is read") {
+    createStreamingTable()
+    sql("insert into streaming_table select * from streaming_source")
+    val carbonTable = CarbonMetadata.getInstance().getCarbonTable("default_streaming_table")
+    def getSplitFormats(segments: String): Seq[CarbonFormatType] = {
+      val job = Job.getInstance(new Configuration())
+      CarbonInputFormat.setTablePath(job.getConfiguration,
+        carbonTable.getAbsoluteTableIdentifier.getTablePath)
+      CarbonInputFormat.setCarbonTable(job.getConfiguration, carbonTable)
+      job.getConfiguration.set(CarbonInputFormat.INPUT_SEGMENT_NUMBERS, segments)
+      new CarbonInputFormat[Array[Object]]().getSplits(job).asScala
+        .map(_.asInstanceOf[CarbonInputSplit].getFileFormat)
+    }
+    val splitFormats = getSplitFormats("0")
+    assert(splitFormats.nonEmpty)
+    assert(splitFormats.forall(_ == CarbonFormatType.ROW))
+  }
+
+  test("full streaming segment is handed off to a carbondata segment") {
+    CarbonProperties.getInstance()
+      .addProperty(CarbonCommonConstants.CARBON_STREAMING_SEGMENT_MAX_SIZE, "0")
+    try {
+      createStreamingTable()
+      sql("insert into streaming_table select * from streaming_source")
+      val deadline = System.currentTimeMillis() + 60000
+      while (!segmentsWithStatus(CarbonCommonConstants.STORE_LOADSTATUS_SUCCESS).contains("0.1")
+             && System.currentTimeMillis() < deadline) {
+        Thread.sleep(500)
+      }
+      assert(segmentsWithStatus(CarbonCommonConstants.STORE_LOADSTATUS_SUCCESS) == Seq("0.1"))
+      assert(segmentsWithStatus(CarbonCommonConstants.COMPACTED) == Seq("0"))
+      // next micro batch opens a new streaming segment with the id of a new load
+      sql("insert into streaming_table select * from streaming_source")
+      assert(readLoadDetails().exists(_.getLoadName == "1"))
+      checkAnswer(sql("select count(*) from streaming_table where id > 50"), Seq(Row(100)))
+    } finally {
+      CarbonProperties.getInstance()
+        .addProperty(CarbonCommonConstants.CARBON_STREAMING_SEGMENT_MAX_SIZE,
+          CarbonCommonConstants.CARBON_STREAMING_SEGMENT_MAX_SIZE_DEFAULT)
+    }
+  }
+
+  test("table with complex column can not be streamed") {
+    sql(
+      """
+        CREATE TABLE streaming_complex (id Int, names array<string>)
+        STORED BY 'org.apache.carbondata.format'
+        TBLPROPERTIES('streaming'='true')
+      """)
+    intercept[Exception] {
+      sql("insert into streaming_complex select id, array(name) from streaming_source")
+    }
+  }
+
+  override def afterAll {
+    sql("drop table if exists streaming_table")
+    sql("drop table if exists streaming_complex")
+    sqlContext.dropTempTable("streaming_source")
+  }
+}
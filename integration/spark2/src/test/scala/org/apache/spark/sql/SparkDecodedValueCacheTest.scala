@@ -0,0 +1,104 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.spark.sql
+
+import java.util
+
+import org.apache.spark.sql.common.util.CarbonFunSuite
+
+import org.apache.carbondata.core.cache.dictionary.{Dictionary, DictionaryChunksWrapper}
+import org.apache.carbondata.core.metadata.datatype.DataType
+import org.apache.carbondata.core.metadata.encoder.Encoding
+import org.apache.carbondata.core.metadata.schema.table.column.CarbonDimension
+import org.apache.carbondata.core.metadata.schema.table.column.ColumnSchema
+
+class SparkDecodedValueCacheTest extends CarbonFunSuite {
+
+  /**
+   * dictionary of the surrogate keys 1 to size, the value of a key is key * 10
+   */
+  class TestDictionary(size: Int) extends Dictionary {
+
+    var decodeCount = 0
+
+    private val chunks = new util.ArrayList[util.List[Array[Byte]]]()
+
+    chunks.add(new util.ArrayList[Array[Byte]]())
+    (1 to size).foreach(key => chunks.get(0).add((key * 10).toString.getBytes))
+
+    override def getSurrogateKey(value: String): Int = value.toInt / 10
+
+    override def getSurrogateKey(value: Array[Byte]): Int = getSurrogateKey(new String(value))
+
+    override def getDictionaryValueForKey(surrogateKey: Int): String = {
+      new String(getDictionaryValueForKeyInBytes(surrogateKey))
+    }
+
+    override def getDictionaryValueForKeyInBytes(surrogateKey: Int): Array[Byte] = {
+      decodeCount += 1
+      (surrogateKey * 10).toString.getBytes
+    }
+
+    override def getSortedIndex(surrogateKey: Int): Int = surrogateKey
+
+    override def getDictionaryValueFromSortedIndex(sortedIndex: Int): String = {
+      getDictionaryValueForKey(sortedIndex)
+    }
+
+    override def getDictionaryChunks: DictionaryChunksWrapper = new DictionaryChunksWrapper(chunks)
+
+    override def clear(): Unit = {}
+  }
+
+  private def dimension(dataType: DataType): CarbonDimension = {
+    val columnSchema = new ColumnSchema
+    columnSchema.setColumnName("c1")
+    columnSchema.setColumnUniqueId("c1")
+    columnSchema.setDataType(dataType)
+    columnSchema.setDimensionColumn(true)
+    val encodings = new util.ArrayList[Encoding]()
+    encodings.add(Encoding.DICTIONARY)
+    columnSchema.setEncodingList(encodings)
+    new CarbonDimension(columnSchema, 0, 0, -1, -1)
+  }
+
+  test("values are decoded once per surrogate key to the spark value") {
+    val dictionary = new TestDictionary(100)
+    val cache = new SparkDecodedValueCache(dictionary, dimension(DataType.INT), 1000)
+    (1 to 3).foreach { _ =>
+      (1 to 100).foreach(key => assert(cache.getValue(key) == key * 10))
+    }
+    assert(dictionary.decodeCount == 100)
+  }
+
+  test("values beyond the maximum size are decoded to the spark value") {
+    val dictionary = new TestDictionary(100)
+    val cache = new SparkDecodedValueCache(dictionary, dimension(DataType.INT), 10)
+    (1 to 100).foreach(key => assert(cache.getValue(key) == key * 10))
+    assert(cache.size == 10)
+  }
+
+  test("decimal values are not cached") {
+    val dictionary = new TestDictionary(10)
+    val cache = new SparkDecodedValueCache(dictionary, dimension(DataType.DECIMAL), 1000)
+    assert(cache.size == 0)
+    cache.getValue(1)
+    cache.getValue(1)
+    assert(dictionary.decodeCount == 2)
+  }
+}
@@ -0,0 +1,136 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.carbondata.processing.merger;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.List;
+
+import org.apache.carbondata.common.logging.LogService;
+import org.apache.carbondata.common.logging.LogServiceFactory;
+import org.apache.carbondata.core.datastore.FileHolder;
+import org.apache.carbondata.core.datastore.block.SegmentProperties;
+import org.apache.carbondata.core.datastore.block.TableBlockInfo;
+import org.apache.carbondata.core.datastore.impl.FileFactory;
+import org.apache.carbondata.core.metadata.schema.table.CarbonTable;
+import org.apache.carbondata.core.reader.CarbonFooterReaderV3;
+import org.apache.carbondata.core.scan.result.iterator.RawResultIterator;
+import org.apache.carbondata.format.BlockletInfo3;
+import org.apache.carbondata.format.FileFooter3;
+import org.apache.carbondata.processing.model.CarbonLoadModel;
+import org.apache.carbondata.processing.store.CarbonFactDataHandlerColumnar;
+import org.apache.carbondata.processing.store.CarbonFactDataHandlerModel;
+import org.apache.carbondata.processing.store.writer.exception.CarbonDataWriterException;
+
+/**
+ * It merges the blocks by copying their encoded V3 blocklets to the new carbondata files as
+ * they are, so the rows are not decoded, sorted and encoded again. Only the footers and the
+ * index files are written again. The blocks must be written with the schema and cardinality of
+ * the merged segment and must be given in the order of their keys, see
+ * {@link CarbonCompactionUtil#getBlocksForBlockletCopy}.
+ */
+public class BlockletCopyResultProcessor extends AbstractResultProcessor {
+
+  private static final LogService LOGGER =
+      LogServiceFactory.getLogService(BlockletCopyResultProcessor.class.getName());
+
+  private CarbonFactDataHandlerColumnar dataHandler;
+
+  /**
+   * blocks to copy in the order of their keys
+   */
+  private List<TableBlockInfo> tableBlockInfoList;
+
+  public BlockletCopyResultProcessor(CarbonLoadModel loadModel, CarbonTable carbonTable,
+      SegmentProperties segProp, String tempStoreLocation, CompactionType compactionType,
+      List<TableBlockInfo> tableBlockInfoList) {
+    this.tableBlockInfoList = tableBlockInfoList;
+    if (!new File(tempStoreLocation).mkdirs()) {
+      LOGGER.error("Error while new File(tempStoreLocation).mkdirs() ");
+    }
+    CarbonFactDataHandlerModel carbonFactDataHandlerModel = CarbonFactDataHandlerModel
+        .getCarbonFactDataHandlerModel(loadModel, carbonTable, segProp,
+            carbonTable.getFactTableName(), tempStoreLocation);
+    setDataFileAttributesInModel(loadModel, compactionType, carbonTable,
+        carbonFactDataHandlerModel);
+    carbonFactDataHandlerModel.setCompactionFlow(true);
+    dataHandler = new CarbonFactDataHandlerColumnar(carbonFactDataHandlerModel);
+  }
+
+  /**
+   * Copies the blocklets of the blocks, result iterators are not used as the blocklets are
+   * read directly from the carbondata files
+   */
+  @Override public boolean execute(List<RawResultIterator> resultIteratorList) {
+    boolean mergeStatus = false;
+    boolean isDataPresent = false;
+    FileHolder fileReader = null;
+    try {
+      for (TableBlockInfo blockInfo : tableBlockInfoList) {
+        String filePath = blockInfo.getFilePath();
+        if (null == fileReader) {
+          fileReader = FileFactory.getFileHolder(FileFactory.getFileType(filePath));
+        }
+        FileFooter3 footer =
+            new CarbonFooterReaderV3(filePath, blockInfo.getBlockOffset()).readFooterVersion3();
+        List<BlockletInfo3> blockletInfoList = footer.getBlocklet_info_list3();
+        for (int i = 0; i < blockletInfoList.size(); i++) {
+          BlockletInfo3 blockletInfo = blockletInfoList.get(i);
+          // column chunks of a blocklet are written one after the other, from the first
+          // dimension chunk till the end of the last measure chunk
+          long blockletOffset = blockletInfo.getColumn_data_chunks_offsets().get(0);
+          byte[] blockletData = fileReader.readByteArray(filePath, blockletOffset,
+              (int) (blockletInfo.getMeasure_offsets() - blockletOffset));
+          if (!isDataPresent) {
+            dataHandler.initialise();
+            isDataPresent = true;
+          }
+          dataHandler.addEncodedBlocklet(blockletData, blockletInfo,
+              footer.getBlocklet_index_list().get(i));
+        }
+        LOGGER.info("Copied " + blockletInfoList.size() + " blocklets of the block " + filePath);
+      }
+      if (isDataPresent) {
+        this.dataHandler.finish();
+      }
+      mergeStatus = true;
+    } catch (Exception e) {
+      LOGGER.error(e, e.getMessage());
+      LOGGER.error("Exception in compaction blocklet copy " + e.getMessage());
+      mergeStatus = false;
+    } finally {
+      if (null != fileReader) {
+        try {
+          fileReader.finish();
+        } catch (IOException e) {
+          LOGGER.error("Exception while closing the file reader " + e.getMessage());
+        }
+      }
+      try {
+        if (isDataPresent) {
+          this.dataHandler.closeHandler();
+        }
+      } catch (CarbonDataWriterException e) {
+        LOGGER.error("Exception while closing the handler in compaction blocklet copy "
+            + e.getMessage());
+        mergeStatus = false;
+      }
+    }
+    return mergeStatus;
+  }
+}
@@ -17,7 +17,10 @@
 package org.apache.carbondata.processing.merger;
 
 import java.io.IOException;
+import java.nio.ByteBuffer;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -25,16 +28,23 @@ import java.util.Map;
 import org.apache.carbondata.common.logging.LogService;
 import org.apache.carbondata.common.logging.LogServiceFactory;
 import org.apache.carbondata.core.constants.CarbonCommonConstants;
+import org.apache.carbondata.core.datastore.IndexKey;
+import org.apache.carbondata.core.datastore.block.SegmentProperties;
 import org.apache.carbondata.core.datastore.block.TableBlockInfo;
 import org.apache.carbondata.core.datastore.block.TaskBlockInfo;
 import org.apache.carbondata.core.datastore.impl.FileFactory;
+import org.apache.carbondata.core.datastore.impl.btree.BTreeDataRefNodeFinder;
 import org.apache.carbondata.core.metadata.CarbonTableIdentifier;
+import org.apache.carbondata.core.metadata.ColumnarFormatVersion;
 import org.apache.carbondata.core.metadata.blocklet.DataFileFooter;
+import org.apache.carbondata.core.metadata.blocklet.index.BlockletBTreeIndex;
 import org.apache.carbondata.core.metadata.encoder.Encoding;
 import org.apache.carbondata.core.metadata.schema.table.CarbonTable;
 import org.apache.carbondata.core.metadata.schema.table.column.CarbonDimension;
 import org.apache.carbondata.core.metadata.schema.table.column.CarbonMeasure;
 import org.apache.carbondata.core.metadata.schema.table.column.ColumnSchema;
+import org.apache.carbondata.core.statusmanager.SegmentUpdateStatusManager;
+import org.apache.carbondata.core.util.CarbonProperties;
 import org.apache.carbondata.core.util.CarbonUtil;
 import org.apache.carbondata.core.util.path.CarbonTablePath;
 
@@ -380,4 +390,97 @@ public class CarbonCompactionUtil {
     }
     return restructuredBlockExists;
   }
+
+  /**
+   * This method will check whether the encoded blocklets of the blocks can be copied as they are
+   * to the merged segment instead of merging the rows. It is possible only if all the blocks
+   * are V3 format written with the schema and cardinality of the merged segment, without
+   * updated or deleted rows, and the key ranges of the blocks do not overlap, so the blocks
+   * written one after the other are still sorted.
+   *
+   * @param tableBlockInfoList blocks of the task, rows of each block must be sorted
+   * @param segmentProperties  properties of the merged segment
+   * @param columnSchemaList   column schema of the merged segment
+   * @param columnCardinality  column cardinality of the merged segment
+   * @param carbonTable        table which is compacted
+   * @return blocks in the order of their keys, null if the rows have to be merged
+   */
+  public static List<TableBlockInfo> getBlocksForBlockletCopy(
+      List<TableBlockInfo> tableBlockInfoList, SegmentProperties segmentProperties,
+      List<ColumnSchema> columnSchemaList, int[] columnCardinality, CarbonTable carbonTable)
+      throws IOException {
+    if (CarbonProperties.getInstance().getFormatVersion() != ColumnarFormatVersion.V3) {
+      return null;
+    }
+    SegmentUpdateStatusManager updateStatusManager =
+        new SegmentUpdateStatusManager(carbonTable.getAbsoluteTableIdentifier());
+    final List<IndexKey[]> blockKeys = new ArrayList<>(tableBlockInfoList.size());
+    for (TableBlockInfo blockInfo : tableBlockInfoList) {
+      if (blockInfo.getVersion() != ColumnarFormatVersion.V3) {
+        return null;
+      }
+      String blockName = CarbonTablePath.getCarbonDataFileName(blockInfo.getFilePath())
+          + CarbonTablePath.getCarbonDataExtension();
+      if (null != updateStatusManager.getDetailsForABlock(blockInfo.getSegmentId(), blockName)) {
+        return null;
+      }
+      DataFileFooter footer = CarbonUtil.readMetadatFile(blockInfo);
+      if (!Arrays.equals(columnCardinality, footer.getSegmentInfo().getColumnCardinality())
+          || !isSameColumns(columnSchemaList, footer.getColumnInTable())) {
+        return null;
+      }
+      BlockletBTreeIndex btreeIndex = footer.getBlockletIndex().getBtreeIndex();
+      blockKeys.add(new IndexKey[] { getIndexKey(btreeIndex.getStartKey()),
+          getIndexKey(btreeIndex.getEndKey()) });
+    }
+    final BTreeDataRefNodeFinder keyComparator =
+        new BTreeDataRefNodeFinder(segmentProperties.getEachDimColumnValueSize());
+    Integer[] order = new Integer[tableBlockInfoList.size()];
+    for (int i = 0; i < order.length; i++) {
+      order[i] = i;
+    }
+    Arrays.sort(order, new Comparator<Integer>() {
+      @Override public int compare(Integer o1, Integer o2) {
+        return keyComparator.compareIndexes(blockKeys.get(o1)[0], blockKeys.get(o2)[0]);
+      }
+    });
+    List<TableBlockInfo> orderedBlocks = new ArrayList<>(order.length);
+    for (int i = 0; i < order.length; i++) {
+      // end key of a block must not be more than the start key of the next block
+      if (i > 0 && keyComparator.compareIndexes(blockKeys.get(order[i - 1])[1],
+          blockKeys.get(order[i])[0]) > 0) {
+        return null;
+      }
+      orderedBlocks.add(tableBlockInfoList.get(order[i]));
+    }
+    return orderedBlocks;
+  }
+
+  private static boolean isSameColumns(List<ColumnSchema> columnSchemaList,
+      List<ColumnSchema> blockColumnSchemaList) {
+    if (columnSchemaList.size() != blockColumnSchemaList.size()) {
+      return false;
+    }
+    for (int i = 0; i < columnSchemaList.size(); i++) {
+      if (!columnSchemaList.get(i).getColumnUniqueId()
+          .equals(blockColumnSchemaList.get(i).getColumnUniqueId())) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  /**
+   * @param key start or end key in the format
+   *            <length of dictionary key><length of no dictionary key><keys>
+   * @return index key
+   */
+  private static IndexKey getIndexKey(byte[] key) {
+    ByteBuffer buffer = ByteBuffer.wrap(key);
+    byte[] dictionaryKey = new byte[buffer.getInt()];
+    byte[] noDictionaryKey = new byte[buffer.getInt()];
+    buffer.get(dictionaryKey);
+    buffer.get(noDictionaryKey);
+    return new IndexKey(dictionaryKey, noDictionaryKey);
+  }
 }
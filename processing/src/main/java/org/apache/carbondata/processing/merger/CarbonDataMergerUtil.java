@@ -42,11 +42,13 @@ import org.apache.carbondata.core.locks.ICarbonLock;
 import org.apache.carbondata.core.locks.LockUsage;
 import org.apache.carbondata.core.metadata.AbsoluteTableIdentifier;
 import org.apache.carbondata.core.metadata.CarbonTableIdentifier;
+import org.apache.carbondata.core.metadata.SortScope;
 import org.apache.carbondata.core.metadata.schema.table.CarbonTable;
 import org.apache.carbondata.core.mutate.CarbonUpdateUtil;
 import org.apache.carbondata.core.mutate.DeleteDeltaBlockDetails;
 import org.apache.carbondata.core.mutate.SegmentUpdateDetails;
 import org.apache.carbondata.core.reader.CarbonDeleteFilesDataReader;
+import org.apache.carbondata.core.stats.SegmentAccessStatistics;
 import org.apache.carbondata.core.statusmanager.LoadMetadataDetails;
 import org.apache.carbondata.core.statusmanager.SegmentStatusManager;
 import org.apache.carbondata.core.statusmanager.SegmentUpdateStatusManager;
@@ -367,6 +369,8 @@ public final class CarbonDataMergerUtil {
         loadMetadataDetails.setLoadName(mergedLoadNumber);
         loadMetadataDetails.setLoadStartTime(mergeLoadStartTime);
         loadMetadataDetails.setPartitionCount("0");
+        // merged segment is always sorted locally, unsorted segments are sorted while merging
+        loadMetadataDetails.setSortScope(SortScope.LOCAL_SORT);
         // if this is a major compaction then set the segment as major compaction.
         if (compactionType == CompactionType.MAJOR_COMPACTION) {
           loadMetadataDetails.setMajorCompacted("true");
@@ -381,6 +385,10 @@ public final class CarbonDataMergerUtil {
           SegmentStatusManager.writeLoadDetailsIntoFile(statusFilePath,
               updatedDetailsList.toArray(new LoadMetadataDetails[updatedDetailsList.size()]));
           tableStatusUpdationStatus = true;
+          for (LoadMetadataDetails mergedLoad : loadsToMerge) {
+            SegmentAccessStatistics.getInstance()
+                .removeSegment(absoluteTableIdentifier, mergedLoad.getLoadName());
+          }
         } catch (IOException e) {
           LOGGER.error("Error while writing metadata");
           tableStatusUpdationStatus = false;
@@ -443,6 +451,10 @@ public final class CarbonDataMergerUtil {
 
       listOfSegmentsToBeMerged = identifySegmentsToBeMergedBasedOnSize(compactionSize,
           listOfSegmentsLoadedInSameDateInterval, carbonLoadModel, storeLocation);
+    } else if (isSizeTieredCompactionPolicy()) {
+
+      listOfSegmentsToBeMerged = new SizeTieredCompactionPolicy(storeLocation, carbonLoadModel)
+          .identifySegmentsToBeMerged(listOfSegmentsLoadedInSameDateInterval);
     } else {
 
       listOfSegmentsToBeMerged =
@@ -452,6 +464,17 @@ public final class CarbonDataMergerUtil {
     return listOfSegmentsToBeMerged;
   }
 
+  /**
+   * To check whether the minor compaction selects the segments by size tiers.
+   *
+   * @return
+   */
+  private static boolean isSizeTieredCompactionPolicy() {
+    return CarbonCommonConstants.COMPACTION_POLICY_SIZE_TIERED.equalsIgnoreCase(
+        CarbonProperties.getInstance().getProperty(CarbonCommonConstants.COMPACTION_POLICY,
+            CarbonCommonConstants.COMPACTION_POLICY_DEFAULT));
+  }
+
   /**
    * Sorting of the segments.
    * @param segments
@@ -662,7 +685,7 @@ public final class CarbonDataMergerUtil {
    * @param segId
    * @return
    */
-  private static long getSizeOfSegment(String storeLocation,
+  static long getSizeOfSegment(String storeLocation,
       CarbonTableIdentifier tableIdentifier, String segId) {
     String loadPath = getStoreLocation(storeLocation, tableIdentifier, segId);
     CarbonFile segmentFolder =
@@ -0,0 +1,83 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.carbondata.processing.merger;
+
+import java.util.concurrent.TimeUnit;
+
+import org.apache.carbondata.core.constants.CarbonCommonConstants;
+import org.apache.carbondata.core.util.CarbonProperties;
+
+/**
+ * Limits the rate of data written by all the compaction tasks running in the process as per
+ * carbon.compaction.io.throttle.mb, so that compaction does not starve the queries running
+ * on the same executor. Reading of the compacted segments is pipelined with the writing, so
+ * it is limited as well.
+ */
+public final class CompactionIOThrottle {
+
+  private static final CompactionIOThrottle INSTANCE = new CompactionIOThrottle();
+
+  /**
+   * time in nano seconds at which the next bytes can be written
+   */
+  private long nextFreeTime;
+
+  private CompactionIOThrottle() {
+
+  }
+
+  public static CompactionIOThrottle getInstance() {
+    return INSTANCE;
+  }
+
+  /**
+   * Wait till the given number of bytes can be written without exceeding the configured rate
+   *
+   * @param bytes number of bytes to be written
+   * @throws InterruptedException
+   */
+  public void acquire(long bytes) throws InterruptedException {
+    long bytesPerSecond = getBytesPerSecond();
+    if (bytesPerSecond <= 0 || bytes <= 0) {
+      return;
+    }
+    long waitTime;
+    synchronized (this) {
+      long now = System.nanoTime();
+      if (nextFreeTime < now) {
+        nextFreeTime = now;
+      }
+      waitTime = nextFreeTime - now;
+      nextFreeTime += TimeUnit.SECONDS.toNanos(1) * bytes / bytesPerSecond;
+    }
+    if (waitTime > 0) {
+      TimeUnit.NANOSECONDS.sleep(waitTime);
+    }
+  }
+
+  private static long getBytesPerSecond() {
+    String throttle = CarbonProperties.getInstance()
+        .getProperty(CarbonCommonConstants.COMPACTION_IO_THROTTLE,
+            CarbonCommonConstants.COMPACTION_IO_THROTTLE_DEFAULT);
+    try {
+      return Long.parseLong(throttle) * 1024 * 1024;
+    } catch (NumberFormatException e) {
+      return Long.parseLong(CarbonCommonConstants.COMPACTION_IO_THROTTLE_DEFAULT);
+    }
+  }
+}
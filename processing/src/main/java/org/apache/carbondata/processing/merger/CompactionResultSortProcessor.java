@@ -349,6 +349,8 @@ public class CompactionResultSortProcessor extends AbstractResultProcessor {
             segmentProperties.getComplexDimensions().size(), measureCount, noDictionaryCount,
             carbonLoadModel.getPartitionId(), segmentId, carbonLoadModel.getTaskNo(),
             noDictionaryColMapping, true);
+    parameters.setZOrderDimensionIndexes(
+        CarbonDataProcessorUtil.getZOrderDimensionIndexes(carbonTable));
     return parameters;
   }
 
@@ -362,7 +364,8 @@ public class CompactionResultSortProcessor extends AbstractResultProcessor {
     finalMerger =
         new SingleThreadFinalSortFilesMerger(sortTempFileLocation, tableName, dimensionColumnCount,
             segmentProperties.getComplexDimensions().size(), measureCount, noDictionaryCount,
-            aggType, noDictionaryColMapping);
+            aggType, noDictionaryColMapping,
+            CarbonDataProcessorUtil.getZOrderDimensionIndexes(carbonTable));
   }
 
   /**
@@ -0,0 +1,352 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.carbondata.processing.merger;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.apache.carbondata.common.logging.LogService;
+import org.apache.carbondata.common.logging.LogServiceFactory;
+import org.apache.carbondata.core.constants.CarbonCommonConstants;
+import org.apache.carbondata.core.datastore.filesystem.CarbonFile;
+import org.apache.carbondata.core.datastore.filesystem.CarbonFileFilter;
+import org.apache.carbondata.core.datastore.impl.FileFactory;
+import org.apache.carbondata.core.metadata.AbsoluteTableIdentifier;
+import org.apache.carbondata.core.metadata.blocklet.index.BlockletMinMaxIndex;
+import org.apache.carbondata.core.mutate.SegmentUpdateDetails;
+import org.apache.carbondata.core.reader.CarbonIndexFileReader;
+import org.apache.carbondata.core.stats.SegmentAccessStatistics;
+import org.apache.carbondata.core.statusmanager.LoadMetadataDetails;
+import org.apache.carbondata.core.statusmanager.SegmentUpdateStatusManager;
+import org.apache.carbondata.core.util.ByteUtil;
+import org.apache.carbondata.core.util.CarbonProperties;
+import org.apache.carbondata.core.util.path.CarbonStorePath;
+import org.apache.carbondata.core.util.path.CarbonTablePath;
+import org.apache.carbondata.format.BlockIndex;
+import org.apache.carbondata.processing.model.CarbonLoadModel;
+
+/**
+ * Selects the segments of minor compaction by size tiers. Segments of similar size are
+ * grouped in a tier and the tier which gives the most benefit for the data rewritten is
+ * merged, so the small segments of frequent loads are merged early and cheaply.
+ * Benefit of a tier grows with the number of segments removed from the reads, the overlap
+ * of the sort key range of its segments, the ratio of deleted rows purged and the number of
+ * queries which read its segments. Cost of a tier is its size.
+ */
+public class SizeTieredCompactionPolicy {
+
+  private static final LogService LOGGER =
+      LogServiceFactory.getLogService(SizeTieredCompactionPolicy.class.getName());
+
+  private static final long BYTES_IN_MB = 1024 * 1024;
+
+  private String storeLocation;
+
+  private CarbonLoadModel carbonLoadModel;
+
+  /**
+   * minimum number of segments in a tier to merge it
+   */
+  private int minThreshold;
+
+  /**
+   * maximum number of segments merged at once
+   */
+  private int maxThreshold;
+
+  private double bucketRatio;
+
+  /**
+   * size in bytes below which all segments are in the smallest tier
+   */
+  private long minSize;
+
+  /**
+   * size in bytes above which the segment is not merged anymore
+   */
+  private long maxSize;
+
+  private double deleteRatio;
+
+  public SizeTieredCompactionPolicy(String storeLocation, CarbonLoadModel carbonLoadModel) {
+    this.storeLocation = storeLocation;
+    this.carbonLoadModel = carbonLoadModel;
+    this.minThreshold = Math.max(2, (int) getProperty(
+        CarbonCommonConstants.SIZE_TIERED_COMPACTION_MIN_THRESHOLD,
+        CarbonCommonConstants.SIZE_TIERED_COMPACTION_MIN_THRESHOLD_DEFAULT));
+    this.maxThreshold = Math.max(minThreshold, (int) getProperty(
+        CarbonCommonConstants.SIZE_TIERED_COMPACTION_MAX_THRESHOLD,
+        CarbonCommonConstants.SIZE_TIERED_COMPACTION_MAX_THRESHOLD_DEFAULT));
+    this.bucketRatio = Math.max(1, getProperty(
+        CarbonCommonConstants.SIZE_TIERED_COMPACTION_BUCKET_RATIO,
+        CarbonCommonConstants.SIZE_TIERED_COMPACTION_BUCKET_RATIO_DEFAULT));
+    this.minSize = (long) getProperty(CarbonCommonConstants.SIZE_TIERED_COMPACTION_MIN_SIZE,
+        CarbonCommonConstants.SIZE_TIERED_COMPACTION_MIN_SIZE_DEFAULT) * BYTES_IN_MB;
+    this.deleteRatio = getProperty(CarbonCommonConstants.SIZE_TIERED_COMPACTION_DELETE_RATIO,
+        CarbonCommonConstants.SIZE_TIERED_COMPACTION_DELETE_RATIO_DEFAULT);
+    // segments bigger than the major compaction size are not merged by minor compaction
+    this.maxSize = CarbonProperties.getInstance().getMajorCompactionSize() * BYTES_IN_MB;
+  }
+
+  private static double getProperty(String key, String defaultValue) {
+    try {
+      return Double.parseDouble(CarbonProperties.getInstance().getProperty(key, defaultValue));
+    } catch (NumberFormatException e) {
+      LOGGER.error("Invalid value for " + key + ", using default value " + defaultValue);
+      return Double.parseDouble(defaultValue);
+    }
+  }
+
+  /**
+   * Identify the segments to be merged from the valid segments of the table
+   *
+   * @param segments valid segments which are not preserved
+   * @return segments to be merged in load order, empty if no tier is worth merging
+   */
+  public List<LoadMetadataDetails> identifySegmentsToBeMerged(List<LoadMetadataDetails> segments) {
+    AbsoluteTableIdentifier identifier =
+        carbonLoadModel.getCarbonDataLoadSchema().getCarbonTable().getAbsoluteTableIdentifier();
+    CarbonTablePath carbonTablePath =
+        CarbonStorePath.getCarbonTablePath(storeLocation, identifier.getCarbonTableIdentifier());
+    Map<String, Long> deletedRowCount = getDeletedRowCount(identifier);
+    List<SegmentStats> segmentStats = new ArrayList<>(segments.size());
+    for (LoadMetadataDetails segment : segments) {
+      String segmentId = segment.getLoadName();
+      SegmentStats stats = new SegmentStats(segment, CarbonDataMergerUtil
+          .getSizeOfSegment(storeLocation, identifier.getCarbonTableIdentifier(), segmentId));
+      try {
+        readIndexFiles(carbonTablePath.getCarbonDataDirectoryPath("0", segmentId), stats);
+      } catch (IOException e) {
+        // row count and key range are only used to rank the tiers
+        LOGGER.error(e, "Problem while reading the index files of segment " + segmentId);
+      }
+      Long deleted = deletedRowCount.get(segmentId);
+      stats.deletedRowCount = null == deleted ? 0 : deleted;
+      stats.accessCount = SegmentAccessStatistics.getInstance().getAccessCount(identifier,
+          segmentId);
+      segmentStats.add(stats);
+    }
+    return select(segmentStats);
+  }
+
+  /**
+   * group the segments in tiers of similar size and select the tier with the best score
+   */
+  List<LoadMetadataDetails> select(List<SegmentStats> segmentStats) {
+    List<SegmentStats> candidates = new ArrayList<>(segmentStats.size());
+    long totalAccessCount = 0;
+    for (SegmentStats stats : segmentStats) {
+      if (stats.size <= maxSize) {
+        candidates.add(stats);
+        totalAccessCount += stats.accessCount;
+      }
+    }
+    if (candidates.size() < 2) {
+      return new ArrayList<>(0);
+    }
+    Collections.sort(candidates, new Comparator<SegmentStats>() {
+      @Override public int compare(SegmentStats o1, SegmentStats o2) {
+        return Long.compare(o1.size, o2.size);
+      }
+    });
+    double meanAccessCount = (double) totalAccessCount / candidates.size();
+
+    List<SegmentStats> bestTier = null;
+    double bestScore = 0;
+    int tierStart = 0;
+    long tierSize = 0;
+    for (int i = 0; i <= candidates.size(); i++) {
+      if (i < candidates.size()) {
+        long size = Math.max(candidates.get(i).size, minSize);
+        // segments are sorted on size, so the tier ends at the first segment which is
+        // bigger than the ratio of the average size of the tier
+        if (i == tierStart || size <= bucketRatio * tierSize / (i - tierStart)) {
+          tierSize += size;
+          continue;
+        }
+      }
+      List<SegmentStats> tier =
+          candidates.subList(tierStart, Math.min(i, tierStart + maxThreshold));
+      double score = getScore(tier, meanAccessCount);
+      LOGGER.info("Size tier of " + tier.size() + " segments starting from segment "
+          + tier.get(0).segment.getLoadName() + " has compaction score " + score);
+      if (score > bestScore) {
+        bestScore = score;
+        bestTier = tier;
+      }
+      if (i < candidates.size()) {
+        tierStart = i;
+        tierSize = Math.max(candidates.get(i).size, minSize);
+      }
+    }
+    if (null == bestTier) {
+      return new ArrayList<>(0);
+    }
+    List<LoadMetadataDetails> segmentsToBeMerged = new ArrayList<>(bestTier.size());
+    for (SegmentStats stats : bestTier) {
+      segmentsToBeMerged.add(stats.segment);
+    }
+    CarbonDataMergerUtil.sortSegments(segmentsToBeMerged);
+    return segmentsToBeMerged;
+  }
+
+  /**
+   * score of merging the tier, 0 if the tier is not qualified to be merged
+   */
+  private double getScore(List<SegmentStats> tier, double meanAccessCount) {
+    long size = 0;
+    long rowCount = 0;
+    long deletedRowCount = 0;
+    long accessCount = 0;
+    for (SegmentStats stats : tier) {
+      size += stats.size;
+      rowCount += stats.rowCount;
+      deletedRowCount += stats.deletedRowCount;
+      accessCount += stats.accessCount;
+    }
+    double tierDeleteRatio = rowCount == 0 ? 0 : (double) deletedRowCount / rowCount;
+    if (tier.size() < 2 || (tier.size() < minThreshold && tierDeleteRatio < deleteRatio)) {
+      return 0;
+    }
+    int overlappingPairs = 0;
+    for (int i = 0; i < tier.size(); i++) {
+      for (int j = i + 1; j < tier.size(); j++) {
+        if (tier.get(i).isOverlapping(tier.get(j))) {
+          overlappingPairs++;
+        }
+      }
+    }
+    double overlapRatio = overlappingPairs * 2.0 / (tier.size() * (tier.size() - 1));
+    double hotness =
+        meanAccessCount == 0 ? 0 : (double) accessCount / tier.size() / meanAccessCount;
+    double cost = Math.max(1.0, (double) size / BYTES_IN_MB);
+    return (tier.size() - 1) * (1 + overlapRatio) * (1 + tierDeleteRatio) * (1 + hotness)
+        / cost;
+  }
+
+  /**
+   * read the row count and the range of the first sort column of the segment from the
+   * index files
+   */
+  private static void readIndexFiles(String segmentPath, SegmentStats stats)
+      throws IOException {
+    FileFactory.FileType fileType = FileFactory.getFileType(segmentPath);
+    if (!FileFactory.isFileExist(segmentPath, fileType)) {
+      return;
+    }
+    CarbonFile[] indexFiles =
+        FileFactory.getCarbonFile(segmentPath, fileType).listFiles(new CarbonFileFilter() {
+          @Override public boolean accept(CarbonFile file) {
+            return CarbonTablePath.isCarbonIndexFile(file.getName());
+          }
+        });
+    for (CarbonFile indexFile : indexFiles) {
+      CarbonIndexFileReader indexReader = new CarbonIndexFileReader();
+      try {
+        indexReader.openThriftReader(indexFile.getCanonicalPath());
+        indexReader.readIndexHeader();
+        while (indexReader.hasNext()) {
+          BlockIndex blockIndex = indexReader.readBlockIndexInfo();
+          stats.rowCount += blockIndex.getNum_rows();
+          if (null != blockIndex.getBlock_index().getMin_max_index()) {
+            BlockletMinMaxIndex minMaxIndex = new BlockletMinMaxIndex(
+                blockIndex.getBlock_index().getMin_max_index().getMin_values(),
+                blockIndex.getBlock_index().getMin_max_index().getMax_values());
+            if (minMaxIndex.getMinValues().length > 0) {
+              stats.updateKeyRange(minMaxIndex.getMinValues()[0], minMaxIndex.getMaxValues()[0]);
+            }
+          }
+        }
+      } finally {
+        indexReader.closeThriftReader();
+      }
+    }
+  }
+
+  /**
+   * number of rows deleted by the delete delta files of each segment
+   */
+  private Map<String, Long> getDeletedRowCount(AbsoluteTableIdentifier identifier) {
+    SegmentUpdateStatusManager updateStatusManager =
+        carbonLoadModel.getSegmentUpdateStatusManager();
+    if (null == updateStatusManager) {
+      updateStatusManager = new SegmentUpdateStatusManager(identifier);
+    }
+    Map<String, Long> deletedRowCount = new HashMap<>();
+    for (SegmentUpdateDetails details : updateStatusManager.getUpdateStatusDetails()) {
+      if (null == details.getDeletedRowsInBlock() || CarbonCommonConstants.MARKED_FOR_DELETE
+          .equalsIgnoreCase(details.getStatus())) {
+        continue;
+      }
+      Long count = deletedRowCount.get(details.getSegmentName());
+      deletedRowCount.put(details.getSegmentName(),
+          (null == count ? 0 : count) + Long.parseLong(details.getDeletedRowsInBlock()));
+    }
+    return deletedRowCount;
+  }
+
+  /**
+   * statistics of a segment used for ranking the tiers
+   */
+  static class SegmentStats {
+
+    private LoadMetadataDetails segment;
+
+    private long size;
+
+    long rowCount;
+
+    long deletedRowCount;
+
+    long accessCount;
+
+    /**
+     * range of the first sort column, null if it is not known
+     */
+    private byte[] minKey;
+
+    private byte[] maxKey;
+
+    SegmentStats(LoadMetadataDetails segment, long size) {
+      this.segment = segment;
+      this.size = size;
+    }
+
+    void updateKeyRange(byte[] min, byte[] max) {
+      if (null == minKey || ByteUtil.UnsafeComparer.INSTANCE.compareTo(min, minKey) < 0) {
+        minKey = min;
+      }
+      if (null == maxKey || ByteUtil.UnsafeComparer.INSTANCE.compareTo(max, maxKey) > 0) {
+        maxKey = max;
+      }
+    }
+
+    private boolean isOverlapping(SegmentStats other) {
+      if (null == minKey || null == other.minKey) {
+        return false;
+      }
+      return ByteUtil.UnsafeComparer.INSTANCE.compareTo(minKey, other.maxKey) <= 0
+          && ByteUtil.UnsafeComparer.INSTANCE.compareTo(other.minKey, maxKey) <= 0;
+    }
+  }
+}
@@ -21,10 +21,12 @@ import java.io.Serializable;
 import java.util.HashMap;
 import java.util.List;
 
+import org.apache.carbondata.core.metadata.SortScope;
 import org.apache.carbondata.core.metadata.schema.table.column.CarbonDimension;
 import org.apache.carbondata.core.mutate.SegmentUpdateDetails;
 import org.apache.carbondata.core.statusmanager.LoadMetadataDetails;
 import org.apache.carbondata.core.statusmanager.SegmentUpdateStatusManager;
+import org.apache.carbondata.processing.util.CarbonDataProcessorUtil;
 
 public class CarbonLoadModel implements Serializable {
   /**
@@ -172,6 +174,17 @@ public class CarbonLoadModel implements Serializable {
   private boolean preFetch;
 
   private String numberOfcolumns;
+
+  /**
+   * scope of sorting the rows of the load, recorded in the table status of the segment
+   */
+  private SortScope sortScope;
+
+  /**
+   * number of writer tasks of the global sort load, 0 if it is not given in the load option
+   */
+  private int globalSortPartitions;
+
   /**
    * get escape char
    *
@@ -391,6 +404,8 @@ public class CarbonLoadModel implements Serializable {
     copy.dictionaryServerPort = dictionaryServerPort;
     copy.preFetch = preFetch;
     copy.isEmptyDataBadRecord = isEmptyDataBadRecord;
+    copy.sortScope = sortScope;
+    copy.globalSortPartitions = globalSortPartitions;
     return copy;
   }
 
@@ -442,6 +457,8 @@ public class CarbonLoadModel implements Serializable {
     copyObj.dictionaryServerPort = dictionaryServerPort;
     copyObj.preFetch = preFetch;
     copyObj.isEmptyDataBadRecord = isEmptyDataBadRecord;
+    copyObj.sortScope = sortScope;
+    copyObj.globalSortPartitions = globalSortPartitions;
     return copyObj;
   }
 
@@ -773,4 +790,26 @@ public class CarbonLoadModel implements Serializable {
   public void setIsEmptyDataBadRecord(String isEmptyDataBadRecord) {
     this.isEmptyDataBadRecord = isEmptyDataBadRecord;
   }
+
+  /**
+   * @return sort scope of the load, configured sort scope if it is not set
+   */
+  public SortScope getSortScope() {
+    if (null == sortScope) {
+      return CarbonDataProcessorUtil.getConfiguredSortScope();
+    }
+    return sortScope;
+  }
+
+  public void setSortScope(SortScope sortScope) {
+    this.sortScope = sortScope;
+  }
+
+  public int getGlobalSortPartitions() {
+    return globalSortPartitions;
+  }
+
+  public void setGlobalSortPartitions(int globalSortPartitions) {
+    this.globalSortPartitions = globalSortPartitions;
+  }
 }
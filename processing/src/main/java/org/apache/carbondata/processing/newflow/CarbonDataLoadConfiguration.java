@@ -69,6 +69,12 @@ public class CarbonDataLoadConfiguration {
 
   private boolean preFetch;
 
+  /**
+   * true if the rows are copied by the sort step as soon as they are added, so the input and
+   * converter steps reuse the row buffers for the next batches
+   */
+  private boolean reuseRowBuffer;
+
   private int dimensionCount;
 
   private int measureCount;
@@ -245,6 +251,14 @@ public class CarbonDataLoadConfiguration {
     this.preFetch = preFetch;
   }
 
+  public boolean isReuseRowBuffer() {
+    return reuseRowBuffer;
+  }
+
+  public void setReuseRowBuffer(boolean reuseRowBuffer) {
+    this.reuseRowBuffer = reuseRowBuffer;
+  }
+
   public DataField[] getDimensionFields() {
     return dimensionFields;
   }
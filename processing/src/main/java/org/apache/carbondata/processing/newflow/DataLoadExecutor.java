@@ -69,4 +69,80 @@ public class DataLoadExecutor {
       LOGGER.info("Data loading is successful for table " + loadModel.getTableName());
     }
   }
+
+  /**
+   * Writes the converted rows of one key range of the global sort load, the rows of the
+   * iterators are already sorted
+   */
+  public void executeGlobalSortWrite(CarbonLoadModel loadModel, String storeLocation,
+      CarbonIterator<Object[]>[] sortedIterators) throws Exception {
+    AbstractDataLoadProcessorStep loadProcessorStep = null;
+    try {
+      loadProcessorStep = new DataLoadProcessBuilder()
+          .buildForGlobalSortWrite(loadModel, storeLocation, sortedIterators);
+      loadProcessorStep.initialize();
+      LOGGER.info("Global sort write is started for table " + loadModel.getTableName());
+      loadProcessorStep.execute();
+    } catch (CarbonDataLoadingException e) {
+      throw e;
+    } catch (Exception e) {
+      LOGGER.error(e, "Global sort write failed for table " + loadModel.getTableName());
+      throw new CarbonDataLoadingException(
+          "Global sort write failed for table " + loadModel.getTableName(), e);
+    } finally {
+      if (loadProcessorStep != null) {
+        loadProcessorStep.close();
+      }
+    }
+  }
+
+  /**
+   * Appends the micro batch of input to the streaming segment of the load model
+   */
+  public void executeStreaming(CarbonLoadModel loadModel, String storeLocation,
+      CarbonIterator<Object[]>[] inputIterators) throws Exception {
+    AbstractDataLoadProcessorStep loadProcessorStep = null;
+    try {
+      loadProcessorStep = new DataLoadProcessBuilder()
+          .buildForStreaming(loadModel, storeLocation, inputIterators);
+      loadProcessorStep.initialize();
+      LOGGER.info("Streaming micro batch is started for table " + loadModel.getTableName());
+      loadProcessorStep.execute();
+    } catch (CarbonDataLoadingException e) {
+      throw e;
+    } catch (Exception e) {
+      LOGGER.error(e, "Streaming micro batch failed for table " + loadModel.getTableName());
+      throw new CarbonDataLoadingException(
+          "Streaming micro batch failed for table " + loadModel.getTableName(), e);
+    } finally {
+      if (loadProcessorStep != null) {
+        loadProcessorStep.close();
+      }
+    }
+  }
+
+  /**
+   * Writes the rows of the streaming files to the carbondata segment of the load model
+   */
+  public void executeStreamHandoff(CarbonLoadModel loadModel, String storeLocation,
+      String[] streamFiles) throws Exception {
+    AbstractDataLoadProcessorStep loadProcessorStep = null;
+    try {
+      loadProcessorStep = new DataLoadProcessBuilder()
+          .buildForStreamHandoff(loadModel, storeLocation, streamFiles);
+      loadProcessorStep.initialize();
+      LOGGER.info("Streaming segment handoff is started for table " + loadModel.getTableName());
+      loadProcessorStep.execute();
+    } catch (CarbonDataLoadingException e) {
+      throw e;
+    } catch (Exception e) {
+      LOGGER.error(e, "Streaming segment handoff failed for table " + loadModel.getTableName());
+      throw new CarbonDataLoadingException(
+          "Streaming segment handoff failed for table " + loadModel.getTableName(), e);
+    } finally {
+      if (loadProcessorStep != null) {
+        loadProcessorStep.close();
+      }
+    }
+  }
 }
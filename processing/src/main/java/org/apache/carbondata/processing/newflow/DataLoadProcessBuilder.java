@@ -28,6 +28,7 @@ import org.apache.carbondata.common.logging.LogServiceFactory;
 import org.apache.carbondata.core.constants.CarbonCommonConstants;
 import org.apache.carbondata.core.metadata.AbsoluteTableIdentifier;
 import org.apache.carbondata.core.metadata.CarbonMetadata;
+import org.apache.carbondata.core.metadata.SortScope;
 import org.apache.carbondata.core.metadata.schema.table.CarbonTable;
 import org.apache.carbondata.core.metadata.schema.table.column.CarbonColumn;
 import org.apache.carbondata.core.metadata.schema.table.column.CarbonDimension;
@@ -35,12 +36,16 @@ import org.apache.carbondata.core.metadata.schema.table.column.CarbonMeasure;
 import org.apache.carbondata.core.util.CarbonProperties;
 import org.apache.carbondata.processing.model.CarbonLoadModel;
 import org.apache.carbondata.processing.newflow.constants.DataLoadProcessorConstants;
+import org.apache.carbondata.processing.newflow.steps.ConvertedRowsInputProcessorStepImpl;
 import org.apache.carbondata.processing.newflow.steps.DataConverterProcessorStepImpl;
 import org.apache.carbondata.processing.newflow.steps.DataConverterProcessorWithBucketingStepImpl;
 import org.apache.carbondata.processing.newflow.steps.DataWriterBatchProcessorStepImpl;
 import org.apache.carbondata.processing.newflow.steps.DataWriterProcessorStepImpl;
 import org.apache.carbondata.processing.newflow.steps.InputProcessorStepImpl;
+import org.apache.carbondata.processing.newflow.steps.NoSortProcessorStepImpl;
 import org.apache.carbondata.processing.newflow.steps.SortProcessorStepImpl;
+import org.apache.carbondata.processing.newflow.steps.StreamSegmentInputProcessorStepImpl;
+import org.apache.carbondata.processing.newflow.steps.StreamWriterProcessorStepImpl;
 import org.apache.carbondata.processing.util.CarbonDataProcessorUtil;
 
 /**
@@ -53,20 +58,91 @@ public final class DataLoadProcessBuilder {
 
   public AbstractDataLoadProcessorStep build(CarbonLoadModel loadModel, String storeLocation,
       CarbonIterator[] inputIterators) throws Exception {
-    boolean batchSort = Boolean.parseBoolean(CarbonProperties.getInstance()
-        .getProperty(CarbonCommonConstants.LOAD_USE_BATCH_SORT,
-            CarbonCommonConstants.LOAD_USE_BATCH_SORT_DEFAULT));
     CarbonDataLoadConfiguration configuration =
         createConfiguration(loadModel, storeLocation);
+    SortScope sortScope = loadModel.getSortScope();
     if (configuration.getBucketingInfo() != null) {
       return buildInternalForBucketing(inputIterators, configuration);
-    } else if (batchSort) {
+    } else if (sortScope == SortScope.NO_SORT) {
+      return buildInternalForNoSort(inputIterators, configuration);
+    } else if (sortScope == SortScope.BATCH_SORT) {
       return buildInternalForBatchSort(inputIterators, configuration);
     } else {
       return buildInternal(inputIterators, configuration);
     }
   }
 
+  /**
+   * Builds the pipe line which appends the micro batch to row format streaming segment
+   */
+  public AbstractDataLoadProcessorStep buildForStreaming(CarbonLoadModel loadModel,
+      String storeLocation, CarbonIterator[] inputIterators) throws Exception {
+    CarbonDataLoadConfiguration configuration =
+        createConfiguration(loadModel, storeLocation);
+    // 1. Reads the data input iterators and parses the data.
+    AbstractDataLoadProcessorStep inputProcessorStep =
+        new InputProcessorStepImpl(configuration, inputIterators);
+    // 2. Converts the data like dictionary or non dictionary or complex objects depends on
+    // data types and configurations.
+    AbstractDataLoadProcessorStep converterProcessorStep =
+        new DataConverterProcessorStepImpl(configuration, inputProcessorStep);
+    // 3. Appends the converted rows to the streaming file without sorting.
+    return new StreamWriterProcessorStepImpl(configuration, converterProcessorStep);
+  }
+
+  /**
+   * Builds the pipe line which hands off the files of a finished streaming segment
+   * to the carbondata format segment of the load model
+   */
+  public AbstractDataLoadProcessorStep buildForStreamHandoff(CarbonLoadModel loadModel,
+      String storeLocation, String[] streamFiles) throws Exception {
+    CarbonDataLoadConfiguration configuration =
+        createConfiguration(loadModel, storeLocation);
+    // 1. Reads the converted rows from streaming files.
+    AbstractDataLoadProcessorStep inputProcessorStep =
+        new StreamSegmentInputProcessorStepImpl(configuration, streamFiles);
+    // 2. Sorts the data which are part of key (all dimensions except complex types)
+    AbstractDataLoadProcessorStep sortProcessorStep =
+        new SortProcessorStepImpl(configuration, inputProcessorStep);
+    // 3. Writes the sorted data in carbondata format.
+    return new DataWriterProcessorStepImpl(configuration, sortProcessorStep);
+  }
+
+  /**
+   * Builds the pipe line which only parses and converts the input rows. It is the first stage
+   * of the global sort load, the converted rows are range partitioned and sorted outside of
+   * the load and then written by the pipe line of buildForGlobalSortWrite.
+   */
+  public AbstractDataLoadProcessorStep buildForConversion(CarbonLoadModel loadModel,
+      String storeLocation, CarbonIterator<Object[]>[] inputIterators) throws Exception {
+    CarbonDataLoadConfiguration configuration =
+        createConfiguration(loadModel, storeLocation);
+    // 1. Reads the data input iterators and parses the data.
+    AbstractDataLoadProcessorStep inputProcessorStep =
+        new InputProcessorStepImpl(configuration, inputIterators);
+    // 2. Converts the data like dictionary or non dictionary or complex objects depends on
+    // data types and configurations.
+    return new DataConverterProcessorStepImpl(configuration, inputProcessorStep);
+  }
+
+  /**
+   * Builds the pipe line which writes the converted rows of one key range of the global sort
+   * load, the rows are already sorted
+   */
+  public AbstractDataLoadProcessorStep buildForGlobalSortWrite(CarbonLoadModel loadModel,
+      String storeLocation, CarbonIterator<Object[]>[] sortedIterators) throws Exception {
+    CarbonDataLoadConfiguration configuration =
+        createConfiguration(loadModel, storeLocation);
+    // 1. Reads the converted rows which are already sorted.
+    AbstractDataLoadProcessorStep inputProcessorStep =
+        new ConvertedRowsInputProcessorStepImpl(configuration, sortedIterators);
+    // 2. Arranges the converted rows as sorted rows, they are not sorted again.
+    AbstractDataLoadProcessorStep noSortProcessorStep =
+        new NoSortProcessorStepImpl(configuration, inputProcessorStep);
+    // 3. Writes the sorted data in carbondata format.
+    return new DataWriterProcessorStepImpl(configuration, noSortProcessorStep);
+  }
+
   private AbstractDataLoadProcessorStep buildInternal(CarbonIterator[] inputIterators,
       CarbonDataLoadConfiguration configuration) {
     // 1. Reads the data input iterators and parses the data.
@@ -85,6 +161,24 @@ public final class DataLoadProcessBuilder {
     return writerProcessorStep;
   }
 
+  private AbstractDataLoadProcessorStep buildInternalForNoSort(CarbonIterator[] inputIterators,
+      CarbonDataLoadConfiguration configuration) {
+    // 1. Reads the data input iterators and parses the data.
+    AbstractDataLoadProcessorStep inputProcessorStep =
+        new InputProcessorStepImpl(configuration, inputIterators);
+    // 2. Converts the data like dictionary or non dictionary or complex objects depends on
+    // data types and configurations.
+    AbstractDataLoadProcessorStep converterProcessorStep =
+        new DataConverterProcessorStepImpl(configuration, inputProcessorStep);
+    // 3. Arranges the converted rows as sorted rows without sorting them.
+    AbstractDataLoadProcessorStep noSortProcessorStep =
+        new NoSortProcessorStepImpl(configuration, converterProcessorStep);
+    // 4. Writes the rows of each input iterator in parallel in carbondata format.
+    AbstractDataLoadProcessorStep writerProcessorStep =
+        new DataWriterProcessorStepImpl(configuration, noSortProcessorStep, true);
+    return writerProcessorStep;
+  }
+
   private AbstractDataLoadProcessorStep buildInternalForBatchSort(CarbonIterator[] inputIterators,
       CarbonDataLoadConfiguration configuration) {
     // 1. Reads the data input iterators and parses the data.
@@ -158,6 +252,10 @@ public final class DataLoadProcessBuilder {
         loadModel.getIsEmptyDataBadRecord().split(",")[1]);
     configuration.setDataLoadProperty(DataLoadProcessorConstants.FACT_FILE_PATH,
         loadModel.getFactFilePath());
+    configuration.setDataLoadProperty(DataLoadProcessorConstants.SORT_SCOPE,
+        loadModel.getSortScope());
+    configuration.setDataLoadProperty(DataLoadProcessorConstants.ZORDER_DIMENSION_INDEXES,
+        CarbonDataProcessorUtil.getZOrderDimensionIndexes(carbonTable));
     CarbonMetadata.getInstance().addCarbonTable(carbonTable);
     List<CarbonDimension> dimensions =
         carbonTable.getDimensionByTableName(carbonTable.getFactTableName());
@@ -36,4 +36,8 @@ public final class DataLoadProcessorConstants {
 
   public static final String FACT_FILE_PATH = "FACT_FILE_PATH";
 
+  public static final String SORT_SCOPE = "SORT_SCOPE";
+
+  public static final String ZORDER_DIMENSION_INDEXES = "ZORDER_DIMENSION_INDEXES";
+
 }
@@ -17,6 +17,7 @@
 
 package org.apache.carbondata.processing.newflow.converter.impl;
 
+import java.util.Date;
 import java.util.List;
 
 import org.apache.carbondata.core.keygenerator.directdictionary.DirectDictionaryGenerator;
@@ -56,7 +57,20 @@ public class DirectDictionaryFieldConverterImpl extends AbstractDictionaryFieldC
 
   @Override
   public void convert(CarbonRow row, BadRecordLogHolder logHolder) {
-    String value = row.getString(index);
+    Object typedValue = row.getObject(index);
+    if (typedValue instanceof Date) {
+      // typed value of columnar input is converted without parsing
+      int key = directDictionaryGenerator.generateKey(((Date) typedValue).getTime());
+      if (key == 1) {
+        logHolder.setReason(
+            "The value " + " \"" + typedValue + "\"" + " with column name " + column.getColName()
+                + " and column data type " + column.getDataType() + " is not a valid "
+                + column.getDataType() + " type.");
+      }
+      row.update(key, index);
+      return;
+    }
+    String value = (String) typedValue;
     if (value == null) {
       logHolder.setReason(
           "The value " + " \"" + row.getString(index) + "\"" + " with column name " + column
@@ -58,7 +58,20 @@ public class MeasureFieldConverterImpl implements FieldConverter {
   @Override
   public void convert(CarbonRow row, BadRecordLogHolder logHolder)
       throws CarbonDataLoadingException {
-    String value = row.getString(index);
+    Object typedValue = row.getObject(index);
+    if (typedValue instanceof Number) {
+      // typed value of columnar input is converted without parsing
+      Object output = DataTypeUtil
+          .getMeasureValueBasedOnDataType((Number) typedValue, dataType, measure);
+      if (null == output) {
+        logHolder.setReason(
+            "The value " + " \"" + typedValue + "\"" + " with column name " + measure.getColName()
+                + " and column data type " + dataType + " is not a valid " + dataType + " type.");
+      }
+      row.update(output, index);
+      return;
+    }
+    String value = (String) typedValue;
     Object output;
     boolean isNull = CarbonCommonConstants.MEMBER_DEFAULT_VAL.equals(value);
     if (value == null || isNull) {
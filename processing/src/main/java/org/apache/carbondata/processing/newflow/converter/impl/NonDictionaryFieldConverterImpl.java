@@ -29,6 +29,8 @@ import org.apache.carbondata.processing.newflow.row.CarbonRow;
 
 public class NonDictionaryFieldConverterImpl implements FieldConverter {
 
+  private static final Charset CHARSET = Charset.forName(CarbonCommonConstants.DEFAULT_CHARSET);
+
   private DataType dataType;
 
   private int index;
@@ -64,7 +66,6 @@ public class NonDictionaryFieldConverterImpl implements FieldConverter {
         }
       }
     }
-    row.update(dimensionValue.getBytes(Charset.forName(CarbonCommonConstants.DEFAULT_CHARSET)),
-        index);
+    row.update(dimensionValue.getBytes(CHARSET), index);
   }
 }
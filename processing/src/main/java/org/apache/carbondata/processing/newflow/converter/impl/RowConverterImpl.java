@@ -73,6 +73,11 @@ public class RowConverterImpl implements RowConverter {
 
   private Map<Object, Integer>[] localCaches;
 
+  /**
+   * input values of the row being converted, used to log the bad record
+   */
+  private Object[] inputValues;
+
   public RowConverterImpl(DataField[] fields, CarbonDataLoadConfiguration configuration,
       BadRecordsLogger badRecordLogger) {
     this.fields = fields;
@@ -148,7 +153,16 @@ public class RowConverterImpl implements RowConverter {
 
   @Override
   public CarbonRow convert(CarbonRow row) throws CarbonDataLoadingException {
-    CarbonRow copy = row.getCopy();
+    // values of the row are kept before converting as the bad record is logged with the input
+    // values, buffer is reused for all the rows of the thread
+    boolean isBadRecordsLogged = badRecordLogger.isBadRecordsLogged();
+    if (isBadRecordsLogged) {
+      Object[] data = row.getData();
+      if (null == inputValues || inputValues.length != data.length) {
+        inputValues = new Object[data.length];
+      }
+      System.arraycopy(data, 0, inputValues, 0, data.length);
+    }
     logHolder.setLogged(false);
     logHolder.clear();
     for (int i = 0; i < fieldConverters.length; i++) {
@@ -158,7 +172,9 @@ public class RowConverterImpl implements RowConverter {
           String error = "Data load failed due to bad record: " + logHolder.getReason();
           throw new CarbonDataLoadingException(error);
         }
-        badRecordLogger.addBadRecordsToBuilder(copy.getData(), logHolder.getReason());
+        // input values are not used by the logger when the bad records are not logged
+        badRecordLogger.addBadRecordsToBuilder(isBadRecordsLogged ? inputValues : row.getData(),
+            logHolder.getReason());
         logHolder.clear();
         logHolder.setLogged(true);
         if (badRecordLogger.isBadRecordConvertNullDisable()) {
@@ -74,7 +74,7 @@ public final class CarbonParserFactory {
       case MAP:
         throw new UnsupportedOperationException("Complex type Map is not supported yet");
       default:
-        return new PrimitiveParserImpl();
+        return new PrimitiveParserImpl(carbonColumn);
     }
   }
 }
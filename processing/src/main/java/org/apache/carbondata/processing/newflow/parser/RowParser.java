@@ -28,4 +28,12 @@ public interface RowParser {
    */
   Object[] parseRow(Object[] row);
 
+  /**
+   * Parse row into the output array, so the array can be reused for the next rows.
+   * @param row input row to be parsed.
+   * @param out array to hold the parsed values, all of its values are overwritten.
+   * @return out
+   */
+  Object[] parseRow(Object[] row, Object[] out);
+
 }
@@ -14,15 +14,62 @@
  * See the License for the specific language governing permissions and
  * limitations under the License.
  */
+
 package org.apache.carbondata.processing.newflow.parser.impl;
 
+import java.math.BigDecimal;
+import java.util.Date;
+
+import org.apache.carbondata.core.metadata.encoder.Encoding;
+import org.apache.carbondata.core.metadata.schema.table.column.CarbonColumn;
 import org.apache.carbondata.processing.newflow.parser.GenericParser;
 
 public class PrimitiveParserImpl implements GenericParser<Object> {
 
+  /**
+   * true if the typed numeric value can be passed to the converter without converting to string
+   */
+  private boolean isTypedNumberSupported;
+
+  /**
+   * true if the typed date value can be passed to the converter without converting to string
+   */
+  private boolean isTypedDateSupported;
+
+  public PrimitiveParserImpl(CarbonColumn carbonColumn) {
+    this.isTypedNumberSupported = !carbonColumn.isDimesion();
+    this.isTypedDateSupported = carbonColumn.hasEncoding(Encoding.DIRECT_DICTIONARY);
+  }
+
   @Override
   public Object parse(Object data) {
-    return data;
+    if (null == data || data instanceof String) {
+      return data;
+    }
+    // typed values from the columnar input are passed as it is only to the converters which
+    // support them, string value is used for the others
+    if ((isTypedNumberSupported && data instanceof Number) || (isTypedDateSupported
+        && data instanceof Date)) {
+      return data;
+    } else if (data instanceof BigDecimal) {
+      return ((BigDecimal) data).toPlainString();
+    } else if (data instanceof Double || data instanceof Float) {
+      return toPlainString((Number) data);
+    }
+    return data.toString();
+  }
+
+  /**
+   * @return string of the fractional value without the exponent, same as the value written in
+   * csv. For example 1.0E7 is returned as 10000000
+   */
+  private static String toPlainString(Number data) {
+    double value = data.doubleValue();
+    if (Double.isNaN(value) || Double.isInfinite(value)) {
+      return data.toString();
+    }
+    // string of the float is used so that the value does not get the digits of double
+    return new BigDecimal(data.toString()).toPlainString();
   }
 
 }
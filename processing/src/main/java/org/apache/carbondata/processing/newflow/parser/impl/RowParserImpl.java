@@ -78,15 +78,14 @@ public class RowParserImpl implements RowParser {
 
   @Override
   public Object[] parseRow(Object[] row) {
-    // If number of columns are less in a row then create new array with same size of header.
-    if (row.length < numberOfColumns) {
-      String[] temp = new String[numberOfColumns];
-      System.arraycopy(row, 0, temp, 0, row.length);
-      row = temp;
-    }
-    Object[] out = new Object[genericParsers.length];
+    return parseRow(row, new Object[genericParsers.length]);
+  }
+
+  @Override
+  public Object[] parseRow(Object[] row, Object[] out) {
     for (int i = 0; i < genericParsers.length; i++) {
-      Object obj = row[inputMapping[i]];
+      // If number of columns are less in a row then missing columns are null.
+      Object obj = inputMapping[i] < row.length ? row[inputMapping[i]] : null;
       out[outputMapping[i]] = genericParsers[i].parse(obj);
     }
     return out;
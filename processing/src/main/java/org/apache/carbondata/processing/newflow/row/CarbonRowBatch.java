@@ -42,6 +42,35 @@ public class CarbonRowBatch extends CarbonIterator<CarbonRow> {
     return size;
   }
 
+  /**
+   * Clears the batch to fill it again, rows of the batch are kept to be reused
+   */
+  public void reset() {
+    size = 0;
+    index = 0;
+  }
+
+  /**
+   * @return row at the position which is filled next, null if there is no row to reuse
+   */
+  public CarbonRow getReusableRow() {
+    return rowBatch[size];
+  }
+
+  /**
+   * Replaces the row returned by the last call of next
+   */
+  public void setPreviousRow(CarbonRow carbonRow) {
+    rowBatch[index - 1] = carbonRow;
+  }
+
+  /**
+   * Moves back to the first row to read the batch again
+   */
+  public void rewind() {
+    index = 0;
+  }
+
   @Override public boolean hasNext() {
     return index < size;
   }
@@ -22,8 +22,10 @@ import java.util.concurrent.atomic.AtomicLong;
 import org.apache.carbondata.common.logging.LogService;
 import org.apache.carbondata.common.logging.LogServiceFactory;
 import org.apache.carbondata.core.constants.CarbonCommonConstants;
+import org.apache.carbondata.core.metadata.SortScope;
 import org.apache.carbondata.core.util.CarbonProperties;
 import org.apache.carbondata.processing.newflow.CarbonDataLoadConfiguration;
+import org.apache.carbondata.processing.newflow.constants.DataLoadProcessorConstants;
 import org.apache.carbondata.processing.newflow.sort.impl.ParallelReadMergeSorterImpl;
 import org.apache.carbondata.processing.newflow.sort.impl.ParallelReadMergeSorterWithBucketingImpl;
 import org.apache.carbondata.processing.newflow.sort.impl.UnsafeBatchParallelReadMergeSorterImpl;
@@ -39,10 +41,19 @@ public class SorterFactory {
     boolean offheapsort = Boolean.parseBoolean(CarbonProperties.getInstance()
         .getProperty(CarbonCommonConstants.ENABLE_UNSAFE_SORT,
             CarbonCommonConstants.ENABLE_UNSAFE_SORT_DEFAULT));
-    boolean batchSort = Boolean.parseBoolean(CarbonProperties.getInstance()
-        .getProperty(CarbonCommonConstants.LOAD_USE_BATCH_SORT,
-            CarbonCommonConstants.LOAD_USE_BATCH_SORT_DEFAULT));
+    boolean batchSort = SortScope.BATCH_SORT
+        == configuration.getDataLoadProperty(DataLoadProcessorConstants.SORT_SCOPE);
     Sorter sorter;
+    if (null != configuration.getDataLoadProperty(
+        DataLoadProcessorConstants.ZORDER_DIMENSION_INDEXES)) {
+      // unsafe sorters compare the rows in memory on the mdk key, so z-order is sorted on heap
+      if (offheapsort || batchSort) {
+        LOGGER.warn("Unsafe and batch sort are not supported for z-order columns. Falling back "
+            + "to on heap sort");
+      }
+      offheapsort = false;
+      batchSort = false;
+    }
     if (offheapsort) {
       if (configuration.getBucketingInfo() != null) {
         sorter = new UnsafeParallelReadMergeSorterWithBucketingImpl(configuration.getDataFields(),
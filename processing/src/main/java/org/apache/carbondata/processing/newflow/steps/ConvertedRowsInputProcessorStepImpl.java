@@ -0,0 +1,124 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.carbondata.processing.newflow.steps;
+
+import java.io.IOException;
+import java.util.Iterator;
+
+import org.apache.carbondata.common.CarbonIterator;
+import org.apache.carbondata.core.util.CarbonProperties;
+import org.apache.carbondata.processing.newflow.AbstractDataLoadProcessorStep;
+import org.apache.carbondata.processing.newflow.CarbonDataLoadConfiguration;
+import org.apache.carbondata.processing.newflow.DataField;
+import org.apache.carbondata.processing.newflow.converter.RowConverter;
+import org.apache.carbondata.processing.newflow.converter.impl.RowConverterImpl;
+import org.apache.carbondata.processing.newflow.exception.CarbonDataLoadingException;
+import org.apache.carbondata.processing.newflow.row.CarbonRow;
+import org.apache.carbondata.processing.newflow.row.CarbonRowBatch;
+
+/**
+ * It reads the rows which are already converted by an earlier stage of the load, in the order
+ * of the output fields of the converter step. It is used by the global sort load, where the
+ * converted rows are range partitioned and sorted outside of the load before writing.
+ */
+public class ConvertedRowsInputProcessorStepImpl extends AbstractDataLoadProcessorStep {
+
+  private CarbonIterator<Object[]>[] inputIterators;
+
+  private RowConverter converter;
+
+  public ConvertedRowsInputProcessorStepImpl(CarbonDataLoadConfiguration configuration,
+      CarbonIterator<Object[]>[] inputIterators) {
+    super(configuration, null);
+    this.inputIterators = inputIterators;
+  }
+
+  @Override public DataField[] getOutput() {
+    return configuration.getDataFields();
+  }
+
+  @Override public void initialize() throws IOException {
+    // rows are already converted, converter is used only to find the dictionary cardinality
+    converter = new RowConverterImpl(configuration.getDataFields(), configuration, null);
+    converter.initialize();
+    configuration.setCardinalityFinder(converter);
+  }
+
+  @Override public Iterator<CarbonRowBatch>[] execute() throws CarbonDataLoadingException {
+    Iterator<CarbonRowBatch>[] iterators = new Iterator[inputIterators.length];
+    int batchSize = CarbonProperties.getInstance().getBatchSize();
+    for (int i = 0; i < inputIterators.length; i++) {
+      iterators[i] = new ConvertedRowsIterator(inputIterators[i], batchSize);
+    }
+    return iterators;
+  }
+
+  @Override protected CarbonRow processRow(CarbonRow row) {
+    return null;
+  }
+
+  @Override protected String getStepName() {
+    return "Converted Rows Input";
+  }
+
+  @Override public void close() {
+    if (!closed) {
+      super.close();
+      if (null != converter) {
+        converter.finish();
+      }
+      for (CarbonIterator<Object[]> inputIterator : inputIterators) {
+        inputIterator.close();
+      }
+    }
+  }
+
+  /**
+   * Groups the converted rows of the input iterator in batches
+   */
+  private class ConvertedRowsIterator extends CarbonIterator<CarbonRowBatch> {
+
+    private CarbonIterator<Object[]> inputIterator;
+
+    private int batchSize;
+
+    private boolean initialized;
+
+    private ConvertedRowsIterator(CarbonIterator<Object[]> inputIterator, int batchSize) {
+      this.inputIterator = inputIterator;
+      this.batchSize = batchSize;
+    }
+
+    @Override public boolean hasNext() {
+      if (!initialized) {
+        initialized = true;
+        inputIterator.initialize();
+      }
+      return inputIterator.hasNext();
+    }
+
+    @Override public CarbonRowBatch next() {
+      CarbonRowBatch batch = new CarbonRowBatch(batchSize);
+      while (batch.getSize() < batchSize && inputIterator.hasNext()) {
+        batch.addRow(new CarbonRow(inputIterator.next()));
+      }
+      rowCounter.getAndAdd(batch.getSize());
+      return batch;
+    }
+  }
+}
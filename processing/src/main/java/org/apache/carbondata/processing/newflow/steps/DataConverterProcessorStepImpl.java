@@ -102,6 +102,18 @@ public class DataConverterProcessorStepImpl extends AbstractDataLoadProcessorSte
    * @return processed row.
    */
   protected CarbonRowBatch processRowBatch(CarbonRowBatch rowBatch, RowConverter localConverter) {
+    if (configuration.isReuseRowBuffer()) {
+      // rows are converted in place and the same batch is passed to the next step, rows of bad
+      // records are removed from the batch
+      while (rowBatch.hasNext()) {
+        if (null == localConverter.convert(rowBatch.next())) {
+          rowBatch.setPreviousRow(null);
+        }
+      }
+      rowBatch.rewind();
+      rowCounter.getAndAdd(rowBatch.getSize());
+      return rowBatch;
+    }
     CarbonRowBatch newBatch = new CarbonRowBatch(rowBatch.getSize());
     while (rowBatch.hasNext()) {
       newBatch.addRow(localConverter.convert(rowBatch.next()));
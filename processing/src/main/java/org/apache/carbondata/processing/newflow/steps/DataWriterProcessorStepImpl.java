@@ -18,7 +18,17 @@ package org.apache.carbondata.processing.newflow.steps;
 
 import java.io.File;
 import java.io.IOException;
+import java.util.ArrayList;
 import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
 
 import org.apache.carbondata.common.logging.LogService;
 import org.apache.carbondata.common.logging.LogServiceFactory;
@@ -54,11 +64,23 @@ public class DataWriterProcessorStepImpl extends AbstractDataLoadProcessorStep {
 
   private int measureCount;
 
-  private long readCounter;
+  private AtomicLong readCounter = new AtomicLong();
+
+  /**
+   * true if the iterators of the child are not sorted and can be written in parallel, each
+   * iterator is written as a separate task extension so each one gets its own index file
+   */
+  private boolean isParallelWrite;
 
   public DataWriterProcessorStepImpl(CarbonDataLoadConfiguration configuration,
       AbstractDataLoadProcessorStep child) {
+    this(configuration, child, false);
+  }
+
+  public DataWriterProcessorStepImpl(CarbonDataLoadConfiguration configuration,
+      AbstractDataLoadProcessorStep child, boolean isParallelWrite) {
     super(configuration, child);
+    this.isParallelWrite = isParallelWrite;
   }
 
   @Override public DataField[] getOutput() {
@@ -94,28 +116,15 @@ public class DataWriterProcessorStepImpl extends AbstractDataLoadProcessorStep {
       CarbonTimeStatisticsFactory.getLoadStatisticsInstance()
           .recordDictionaryValue2MdkAdd2FileTime(configuration.getPartitionId(),
               System.currentTimeMillis());
-      int i = 0;
-      for (Iterator<CarbonRowBatch> iterator : iterators) {
-        String storeLocation = getStoreLocation(tableIdentifier, String.valueOf(i));
-        CarbonFactDataHandlerModel model = CarbonFactDataHandlerModel
-            .createCarbonFactDataHandlerModel(configuration, storeLocation, i, 0);
-        CarbonFactHandler dataHandler = null;
-        boolean rowsNotExist = true;
-        while (iterator.hasNext()) {
-          if (rowsNotExist) {
-            rowsNotExist = false;
-            dataHandler = CarbonFactHandlerFactory
-                .createCarbonFactHandler(model, CarbonFactHandlerFactory.FactHandlerType.COLUMNAR);
-            dataHandler.initialise();
-          }
-          processBatch(iterator.next(), dataHandler);
-        }
-        if (!rowsNotExist) {
-          finish(tableName, dataHandler);
+      if (isParallelWrite && iterators.length > 1) {
+        writeInParallel(tableIdentifier, iterators);
+      } else {
+        int i = 0;
+        for (Iterator<CarbonRowBatch> iterator : iterators) {
+          writeIterator(tableIdentifier, iterator, i, i, 0);
+          i++;
         }
-        i++;
       }
-
     } catch (CarbonDataWriterException e) {
       LOGGER.error(e, "Failed for table: " + tableName + " in DataWriterProcessorStepImpl");
       throw new CarbonDataLoadingException(
@@ -127,6 +136,68 @@ public class DataWriterProcessorStepImpl extends AbstractDataLoadProcessorStep {
     return null;
   }
 
+  /**
+   * Writes each iterator in a separate thread, iterator index is used as task extension
+   */
+  private void writeInParallel(final CarbonTableIdentifier tableIdentifier,
+      Iterator<CarbonRowBatch>[] iterators) throws Exception {
+    final String threadNamePrefix =
+        "DataWriter_" + tableIdentifier.getTableName() + '_' + configuration.getPartitionId() + '_';
+    ExecutorService executorService =
+        Executors.newFixedThreadPool(iterators.length, new ThreadFactory() {
+          private AtomicInteger threadCount = new AtomicInteger();
+
+          @Override public Thread newThread(Runnable runnable) {
+            return new Thread(runnable, threadNamePrefix + threadCount.getAndIncrement());
+          }
+        });
+    List<Future<Void>> futures = new ArrayList<>(iterators.length);
+    try {
+      for (int i = 0; i < iterators.length; i++) {
+        final Iterator<CarbonRowBatch> iterator = iterators[i];
+        final int taskExtension = i;
+        futures.add(executorService.submit(new Callable<Void>() {
+          @Override public Void call() throws Exception {
+            writeIterator(tableIdentifier, iterator, taskExtension, 0, taskExtension);
+            return null;
+          }
+        }));
+      }
+      for (Future<Void> future : futures) {
+        try {
+          future.get();
+        } catch (ExecutionException e) {
+          throw e.getCause() instanceof Exception ? (Exception) e.getCause() : e;
+        }
+      }
+    } finally {
+      executorService.shutdownNow();
+    }
+  }
+
+  private void writeIterator(CarbonTableIdentifier tableIdentifier,
+      Iterator<CarbonRowBatch> iterator, int iteratorIndex, int bucketId, int taskExtension)
+      throws CarbonDataWriterException {
+    String tableName = tableIdentifier.getTableName();
+    String storeLocation = getStoreLocation(tableIdentifier, String.valueOf(iteratorIndex));
+    CarbonFactDataHandlerModel model = CarbonFactDataHandlerModel
+        .createCarbonFactDataHandlerModel(configuration, storeLocation, bucketId, taskExtension);
+    CarbonFactHandler dataHandler = null;
+    boolean rowsNotExist = true;
+    while (iterator.hasNext()) {
+      if (rowsNotExist) {
+        rowsNotExist = false;
+        dataHandler = CarbonFactHandlerFactory
+            .createCarbonFactHandler(model, CarbonFactHandlerFactory.FactHandlerType.COLUMNAR);
+        dataHandler.initialise();
+      }
+      processBatch(iterator.next(), dataHandler);
+    }
+    if (!rowsNotExist) {
+      finish(tableName, dataHandler);
+    }
+  }
+
   @Override protected String getStepName() {
     return "Data Writer";
   }
@@ -139,7 +210,7 @@ public class DataWriterProcessorStepImpl extends AbstractDataLoadProcessorStep {
     }
     LOGGER.info("Record Processed For table: " + tableName);
     String logMessage =
-        "Finished Carbon DataWriterProcessorStepImpl: Read: " + readCounter + ": Write: "
+        "Finished Carbon DataWriterProcessorStepImpl: Read: " + readCounter.get() + ": Write: "
             + rowCounter.get();
     LOGGER.info(logMessage);
     CarbonTimeStatisticsFactory.getLoadStatisticsInstance().recordTotalRecords(rowCounter.get());
@@ -170,7 +241,7 @@ public class DataWriterProcessorStepImpl extends AbstractDataLoadProcessorStep {
     try {
       while (batch.hasNext()) {
         CarbonRow row = batch.next();
-        readCounter++;
+        readCounter.getAndIncrement();
         // convert the row from surrogate key to MDKey
         Object[] outputRow = CarbonDataProcessorUtil
             .convertToMDKeyAndFillRow(row, segmentProperties, measureCount, noDictionaryCount,
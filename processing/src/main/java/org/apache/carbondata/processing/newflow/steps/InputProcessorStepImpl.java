@@ -73,7 +73,8 @@ public class InputProcessorStepImpl extends AbstractDataLoadProcessorStep {
     for (int i = 0; i < outIterators.length; i++) {
       outIterators[i] =
           new InputProcessorIterator(readerIterators[i], rowParser, batchSize,
-              configuration.isPreFetch(), executorService, rowCounter);
+              configuration.isPreFetch(), executorService, rowCounter,
+              configuration.isReuseRowBuffer() ? getOutput().length : 0);
     }
     return outIterators;
   }
@@ -146,9 +147,23 @@ public class InputProcessorStepImpl extends AbstractDataLoadProcessorStep {
 
     private AtomicLong rowCounter;
 
+    /**
+     * number of fields of the reused rows, 0 if new rows are created for each batch
+     */
+    private int reusedRowLength;
+
+    /**
+     * batches filled alternately when the rows are reused. With prefetch one batch is filled
+     * while the previous one is processed, and a batch is filled again only after the next
+     * step asked for the batch after it.
+     */
+    private CarbonRowBatch[] reusableBatches;
+
+    private int nextReusableBatch;
+
     public InputProcessorIterator(List<CarbonIterator<Object[]>> inputIterators,
         RowParser rowParser, int batchSize, boolean preFetch, ExecutorService executorService,
-        AtomicLong rowCounter) {
+        AtomicLong rowCounter, int reusedRowLength) {
       this.inputIterators = inputIterators;
       this.batchSize = batchSize;
       this.rowParser = rowParser;
@@ -160,6 +175,11 @@ public class InputProcessorStepImpl extends AbstractDataLoadProcessorStep {
       this.preFetch = preFetch;
       this.nextBatch = false;
       this.firstTime = true;
+      this.reusedRowLength = reusedRowLength;
+      if (reusedRowLength > 0) {
+        reusableBatches =
+            new CarbonRowBatch[] { new CarbonRowBatch(batchSize), new CarbonRowBatch(batchSize) };
+      }
     }
 
     @Override
@@ -228,6 +248,9 @@ public class InputProcessorStepImpl extends AbstractDataLoadProcessorStep {
     }
 
     private CarbonRowBatch getBatch() {
+      if (null != reusableBatches) {
+        return getReusedBatch();
+      }
       // Create batch and fill it.
       CarbonRowBatch carbonRowBatch = new CarbonRowBatch(batchSize);
       int count = 0;
@@ -238,6 +261,28 @@ public class InputProcessorStepImpl extends AbstractDataLoadProcessorStep {
       rowCounter.getAndAdd(carbonRowBatch.getSize());
       return carbonRowBatch;
     }
+
+    /**
+     * Fills the rows of the batch again, rows are created only for the first batches or if
+     * they are removed by the converter
+     */
+    private CarbonRowBatch getReusedBatch() {
+      CarbonRowBatch carbonRowBatch = reusableBatches[nextReusableBatch];
+      nextReusableBatch = (nextReusableBatch + 1) % reusableBatches.length;
+      carbonRowBatch.reset();
+      int count = 0;
+      while (internalHasNext() && count < batchSize) {
+        CarbonRow row = carbonRowBatch.getReusableRow();
+        if (null == row) {
+          row = new CarbonRow(new Object[reusedRowLength]);
+        }
+        rowParser.parseRow(currentIterator.next(), row.getData());
+        carbonRowBatch.addRow(row);
+        count++;
+      }
+      rowCounter.getAndAdd(carbonRowBatch.getSize());
+      return carbonRowBatch;
+    }
   }
 
 }
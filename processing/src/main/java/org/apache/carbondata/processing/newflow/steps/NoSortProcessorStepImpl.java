@@ -0,0 +1,108 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.carbondata.processing.newflow.steps;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+
+import org.apache.carbondata.core.constants.CarbonCommonConstants;
+import org.apache.carbondata.core.util.DataTypeUtil;
+import org.apache.carbondata.processing.newflow.AbstractDataLoadProcessorStep;
+import org.apache.carbondata.processing.newflow.CarbonDataLoadConfiguration;
+import org.apache.carbondata.processing.newflow.DataField;
+import org.apache.carbondata.processing.newflow.row.CarbonRow;
+import org.apache.carbondata.processing.util.CarbonDataProcessorUtil;
+import org.apache.carbondata.processing.util.NonDictionaryUtil;
+
+/**
+ * It is used in place of the sort step when the data is loaded with no sort scope.
+ * It does not sort the converted rows, it only arranges each row in the layout of the sorted
+ * rows (dictionary dimensions, no dictionary and complex dimensions, measures) which is read
+ * by the writer step. The iterators of the child are kept as it is, so the writer can write
+ * them in parallel.
+ */
+public class NoSortProcessorStepImpl extends AbstractDataLoadProcessorStep {
+
+  private boolean[] noDictionaryMapping;
+
+  private int dimensionCount;
+
+  private int complexDimensionCount;
+
+  private int noDictionaryCount;
+
+  private int measureCount;
+
+  private char[] aggType;
+
+  public NoSortProcessorStepImpl(CarbonDataLoadConfiguration configuration,
+      AbstractDataLoadProcessorStep child) {
+    super(configuration, child);
+  }
+
+  @Override public DataField[] getOutput() {
+    return child.getOutput();
+  }
+
+  @Override public void initialize() throws IOException {
+    child.initialize();
+    noDictionaryMapping = CarbonDataProcessorUtil.getNoDictionaryMapping(
+        configuration.getDataFields());
+    complexDimensionCount = configuration.getComplexDimensionCount();
+    dimensionCount = configuration.getDimensionCount() - complexDimensionCount;
+    noDictionaryCount = configuration.getNoDictionaryCount();
+    measureCount = configuration.getMeasureCount();
+    aggType = CarbonDataProcessorUtil.getAggType(measureCount, configuration.getMeasureFields());
+  }
+
+  @Override protected CarbonRow processRow(CarbonRow row) {
+    Object[] data = row.getData();
+    int[] dim = new int[dimensionCount];
+    byte[][] nonDicArray = new byte[noDictionaryCount + complexDimensionCount][];
+    Object[] measures = new Object[measureCount];
+    int index = 0;
+    int nonDicIndex = 0;
+    int dimCount = 0;
+    for (; dimCount < noDictionaryMapping.length; dimCount++) {
+      if (noDictionaryMapping[dimCount]) {
+        nonDicArray[nonDicIndex++] = (byte[]) data[dimCount];
+      } else {
+        dim[index++] = (int) data[dimCount];
+      }
+    }
+    for (int i = 0; i < complexDimensionCount; i++) {
+      nonDicArray[nonDicIndex++] = (byte[]) data[dimCount++];
+    }
+    for (int i = 0; i < measureCount; i++) {
+      Object value = data[dimCount++];
+      // decimal values are passed as bytes to the writer same as the sorted rows
+      if (null != value && aggType[i] == CarbonCommonConstants.BIG_DECIMAL_MEASURE) {
+        value = DataTypeUtil.bigDecimalToByte((BigDecimal) value);
+      }
+      measures[i] = value;
+    }
+    Object[] holder = new Object[3];
+    NonDictionaryUtil.prepareOutObj(holder, dim, nonDicArray, measures);
+    rowCounter.getAndIncrement();
+    return new CarbonRow(holder);
+  }
+
+  @Override protected String getStepName() {
+    return "No Sort Processor";
+  }
+}
@@ -19,6 +19,8 @@ package org.apache.carbondata.processing.newflow.steps;
 import java.io.IOException;
 import java.util.Iterator;
 
+import org.apache.carbondata.core.constants.CarbonCommonConstants;
+import org.apache.carbondata.core.util.CarbonProperties;
 import org.apache.carbondata.processing.newflow.AbstractDataLoadProcessorStep;
 import org.apache.carbondata.processing.newflow.CarbonDataLoadConfiguration;
 import org.apache.carbondata.processing.newflow.DataField;
@@ -27,6 +29,8 @@ import org.apache.carbondata.processing.newflow.row.CarbonRow;
 import org.apache.carbondata.processing.newflow.row.CarbonRowBatch;
 import org.apache.carbondata.processing.newflow.sort.Sorter;
 import org.apache.carbondata.processing.newflow.sort.SorterFactory;
+import org.apache.carbondata.processing.newflow.sort.impl.UnsafeBatchParallelReadMergeSorterImpl;
+import org.apache.carbondata.processing.newflow.sort.impl.UnsafeParallelReadMergeSorterImpl;
 import org.apache.carbondata.processing.sortandgroupby.sortdata.SortParameters;
 
 /**
@@ -53,6 +57,14 @@ public class SortProcessorStepImpl extends AbstractDataLoadProcessorStep {
     SortParameters sortParameters = SortParameters.createSortParameters(configuration);
     sorter = SorterFactory.createSorter(configuration, rowCounter);
     sorter.initialize(sortParameters);
+    // unsafe sorters pack the rows in memory pages as soon as they are added, so the previous
+    // steps can fill the same rows again with the next batch
+    boolean reuseRowBuffer = Boolean.parseBoolean(CarbonProperties.getInstance()
+        .getProperty(CarbonCommonConstants.CARBON_LOAD_ROW_BUFFER_REUSE,
+            CarbonCommonConstants.CARBON_LOAD_ROW_BUFFER_REUSE_DEFAULT));
+    configuration.setReuseRowBuffer(reuseRowBuffer && (
+        sorter instanceof UnsafeParallelReadMergeSorterImpl
+            || sorter instanceof UnsafeBatchParallelReadMergeSorterImpl));
   }
 
   @Override
@@ -0,0 +1,175 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.carbondata.processing.newflow.steps;
+
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+import org.apache.carbondata.common.CarbonIterator;
+import org.apache.carbondata.common.logging.LogService;
+import org.apache.carbondata.common.logging.LogServiceFactory;
+import org.apache.carbondata.core.metadata.schema.table.column.ColumnSchema;
+import org.apache.carbondata.core.util.CarbonProperties;
+import org.apache.carbondata.processing.newflow.AbstractDataLoadProcessorStep;
+import org.apache.carbondata.processing.newflow.CarbonDataLoadConfiguration;
+import org.apache.carbondata.processing.newflow.DataField;
+import org.apache.carbondata.processing.newflow.converter.RowConverter;
+import org.apache.carbondata.processing.newflow.converter.impl.RowConverterImpl;
+import org.apache.carbondata.processing.newflow.exception.CarbonDataLoadingException;
+import org.apache.carbondata.processing.newflow.row.CarbonRow;
+import org.apache.carbondata.processing.newflow.row.CarbonRowBatch;
+import org.apache.carbondata.processing.newflow.streaming.StreamFileReader;
+
+/**
+ * It reads the already converted rows from the files of a finished streaming segment,
+ * so the rows can be sorted and written in carbondata format without parsing and
+ * converting them again. It is used while handing off the streaming segment.
+ */
+public class StreamSegmentInputProcessorStepImpl extends AbstractDataLoadProcessorStep {
+
+  private static final LogService LOGGER =
+      LogServiceFactory.getLogService(StreamSegmentInputProcessorStepImpl.class.getName());
+
+  private String[] streamFiles;
+
+  private RowConverter converter;
+
+  public StreamSegmentInputProcessorStepImpl(CarbonDataLoadConfiguration configuration,
+      String[] streamFiles) {
+    super(configuration, null);
+    this.streamFiles = streamFiles;
+  }
+
+  @Override public DataField[] getOutput() {
+    return configuration.getDataFields();
+  }
+
+  @Override public void initialize() throws IOException {
+    // rows are already converted, converter is used only to find the dictionary cardinality
+    converter = new RowConverterImpl(configuration.getDataFields(), configuration, null);
+    converter.initialize();
+    configuration.setCardinalityFinder(converter);
+  }
+
+  @Override public Iterator<CarbonRowBatch>[] execute() throws CarbonDataLoadingException {
+    Iterator<CarbonRowBatch>[] iterators = new Iterator[streamFiles.length];
+    int batchSize = CarbonProperties.getInstance().getBatchSize();
+    for (int i = 0; i < streamFiles.length; i++) {
+      iterators[i] = new StreamFileIterator(streamFiles[i], batchSize);
+    }
+    return iterators;
+  }
+
+  @Override protected CarbonRow processRow(CarbonRow row) {
+    return null;
+  }
+
+  @Override protected String getStepName() {
+    return "Stream Segment Input";
+  }
+
+  @Override public void close() {
+    if (!closed) {
+      super.close();
+      if (null != converter) {
+        converter.finish();
+      }
+    }
+  }
+
+  /**
+   * Iterates the rows of one streaming file in the order of the output fields of the step
+   */
+  private class StreamFileIterator extends CarbonIterator<CarbonRowBatch> {
+
+    private String filePath;
+
+    private int batchSize;
+
+    private StreamFileReader reader;
+
+    /**
+     * index of the output field in the row read from file
+     */
+    private int[] fieldIndexInFile;
+
+    private boolean finished;
+
+    private StreamFileIterator(String filePath, int batchSize) {
+      this.filePath = filePath;
+      this.batchSize = batchSize;
+    }
+
+    private void open() throws IOException {
+      reader = new StreamFileReader(filePath, Long.MAX_VALUE);
+      reader.open();
+      List<ColumnSchema> columnSchemas = reader.getColumnSchemas();
+      Map<String, Integer> columnIndex = new HashMap<>(columnSchemas.size());
+      for (int i = 0; i < columnSchemas.size(); i++) {
+        columnIndex.put(columnSchemas.get(i).getColumnUniqueId(), i);
+      }
+      DataField[] dataFields = getOutput();
+      fieldIndexInFile = new int[dataFields.length];
+      for (int i = 0; i < dataFields.length; i++) {
+        Integer index = columnIndex.get(dataFields[i].getColumn().getColumnId());
+        if (null == index) {
+          throw new IOException("Column " + dataFields[i].getColumn().getColName()
+              + " is not present in streaming file " + filePath);
+        }
+        fieldIndexInFile[i] = index;
+      }
+    }
+
+    @Override public boolean hasNext() {
+      try {
+        if (null == reader) {
+          open();
+        }
+        if (!finished && !reader.hasNext()) {
+          finished = true;
+          reader.close();
+        }
+        return !finished;
+      } catch (IOException e) {
+        LOGGER.error(e, "Failed to read streaming file " + filePath);
+        throw new CarbonDataLoadingException("Failed to read streaming file " + filePath, e);
+      }
+    }
+
+    @Override public CarbonRowBatch next() {
+      CarbonRowBatch batch = new CarbonRowBatch(batchSize);
+      try {
+        while (batch.getSize() < batchSize && reader.hasNext()) {
+          Object[] rowInFile = reader.next();
+          Object[] row = new Object[fieldIndexInFile.length];
+          for (int i = 0; i < row.length; i++) {
+            row[i] = rowInFile[fieldIndexInFile[i]];
+          }
+          batch.addRow(new CarbonRow(row));
+        }
+      } catch (IOException e) {
+        LOGGER.error(e, "Failed to read streaming file " + filePath);
+        throw new CarbonDataLoadingException("Failed to read streaming file " + filePath, e);
+      }
+      rowCounter.getAndAdd(batch.getSize());
+      return batch;
+    }
+  }
+}
@@ -0,0 +1,134 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.carbondata.processing.newflow.steps;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+
+import org.apache.carbondata.common.logging.LogService;
+import org.apache.carbondata.common.logging.LogServiceFactory;
+import org.apache.carbondata.core.constants.CarbonCommonConstants;
+import org.apache.carbondata.core.datastore.impl.FileFactory;
+import org.apache.carbondata.core.metadata.AbsoluteTableIdentifier;
+import org.apache.carbondata.core.metadata.schema.table.column.ColumnSchema;
+import org.apache.carbondata.core.util.CarbonProperties;
+import org.apache.carbondata.core.util.path.CarbonStorePath;
+import org.apache.carbondata.core.util.path.CarbonTablePath;
+import org.apache.carbondata.processing.newflow.AbstractDataLoadProcessorStep;
+import org.apache.carbondata.processing.newflow.CarbonDataLoadConfiguration;
+import org.apache.carbondata.processing.newflow.DataField;
+import org.apache.carbondata.processing.newflow.exception.CarbonDataLoadingException;
+import org.apache.carbondata.processing.newflow.row.CarbonRow;
+import org.apache.carbondata.processing.newflow.row.CarbonRowBatch;
+import org.apache.carbondata.processing.newflow.streaming.StreamFileWriter;
+
+/**
+ * It appends the converted rows of a micro batch to the row format streaming file of the task
+ * in the streaming segment. Rows are not sorted, they are sorted and written in carbondata
+ * format when the segment is handed off.
+ */
+public class StreamWriterProcessorStepImpl extends AbstractDataLoadProcessorStep {
+
+  private static final LogService LOGGER =
+      LogServiceFactory.getLogService(StreamWriterProcessorStepImpl.class.getName());
+
+  private StreamFileWriter writer;
+
+  private int blockletRowCount;
+
+  public StreamWriterProcessorStepImpl(CarbonDataLoadConfiguration configuration,
+      AbstractDataLoadProcessorStep child) {
+    super(configuration, child);
+  }
+
+  @Override public DataField[] getOutput() {
+    return child.getOutput();
+  }
+
+  @Override public void initialize() throws IOException {
+    child.initialize();
+    AbsoluteTableIdentifier identifier = configuration.getTableIdentifier();
+    CarbonTablePath tablePath = CarbonStorePath
+        .getCarbonTablePath(identifier.getStorePath(), identifier.getCarbonTableIdentifier());
+    String segmentDir = tablePath
+        .getCarbonDataDirectoryPath(configuration.getPartitionId(), configuration.getSegmentId());
+    FileFactory.FileType fileType = FileFactory.getFileType(segmentDir);
+    if (!FileFactory.isFileExist(segmentDir, fileType)) {
+      FileFactory.mkdirs(segmentDir, fileType);
+    }
+    DataField[] dataFields = child.getOutput();
+    List<ColumnSchema> columnSchemas = new ArrayList<>(dataFields.length);
+    for (DataField dataField : dataFields) {
+      columnSchemas.add(dataField.getColumn().getColumnSchema());
+    }
+    writer = new StreamFileWriter(segmentDir + CarbonCommonConstants.FILE_SEPARATOR + tablePath
+        .getStreamingDataFileName(configuration.getTaskNo()), columnSchemas,
+        configuration.getSchemaUpdatedTimeStamp());
+    LOGGER.info("Appending micro batch to streaming file " + writer.open());
+    blockletRowCount = Integer.parseInt(CarbonProperties.getInstance()
+        .getProperty(CarbonCommonConstants.CARBON_STREAMING_BLOCKLET_ROW_COUNT,
+            CarbonCommonConstants.CARBON_STREAMING_BLOCKLET_ROW_COUNT_DEFAULT));
+  }
+
+  @Override public Iterator<CarbonRowBatch>[] execute() throws CarbonDataLoadingException {
+    Iterator<CarbonRowBatch>[] iterators = child.execute();
+    try {
+      // single file is appended by the task, so the iterators are consumed one after another
+      for (Iterator<CarbonRowBatch> iterator : iterators) {
+        while (iterator.hasNext()) {
+          CarbonRowBatch batch = iterator.next();
+          while (batch.hasNext()) {
+            writer.addRow(batch.next().getData());
+            if (writer.getBlockletRowCount() >= blockletRowCount) {
+              writer.appendBlocklet();
+            }
+          }
+          rowCounter.getAndAdd(batch.getSize());
+        }
+      }
+      writer.appendBlocklet();
+    } catch (IOException e) {
+      LOGGER.error(e, "Failed to append micro batch to streaming file");
+      throw new CarbonDataLoadingException(
+          "Failed to append micro batch to streaming file: " + e.getMessage(), e);
+    }
+    return null;
+  }
+
+  @Override protected CarbonRow processRow(CarbonRow row) {
+    return null;
+  }
+
+  @Override protected String getStepName() {
+    return "Stream Writer";
+  }
+
+  @Override public void close() {
+    if (!closed) {
+      super.close();
+      if (null != writer) {
+        try {
+          writer.close();
+        } catch (IOException e) {
+          LOGGER.error(e, "Failed to close streaming file");
+        }
+      }
+    }
+  }
+}
@@ -0,0 +1,179 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.carbondata.processing.newflow.streaming;
+
+import java.io.ByteArrayInputStream;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.apache.carbondata.core.constants.CarbonCommonConstants;
+import org.apache.carbondata.core.datastore.impl.FileFactory;
+import org.apache.carbondata.core.metadata.converter.SchemaConverter;
+import org.apache.carbondata.core.metadata.converter.ThriftWrapperSchemaConverterImpl;
+import org.apache.carbondata.core.metadata.schema.table.column.ColumnSchema;
+import org.apache.carbondata.core.util.CarbonUtil;
+import org.apache.carbondata.format.BlockletHeader;
+import org.apache.carbondata.format.FileHeader;
+import org.apache.carbondata.format.MutationType;
+
+/**
+ * Reads the rows of a row format streaming file written by {@link StreamFileWriter}.
+ * Only the blocklets which are completely present within the given length are read, so
+ * a file which is being appended can be read till the length known while planning the query.
+ */
+public class StreamFileReader {
+
+  private String filePath;
+
+  private long length;
+
+  private DataInputStream fileStream;
+
+  private List<ColumnSchema> columnSchemas;
+
+  private StreamRowCodec rowCodec;
+
+  /**
+   * offset till which complete blocklets are read
+   */
+  private long validLength;
+
+  private DataInputStream blockletStream;
+
+  private int blockletRowsLeft;
+
+  /**
+   * @param filePath path of the streaming file
+   * @param length   length of the file to consider
+   */
+  public StreamFileReader(String filePath, long length) {
+    this.filePath = filePath;
+    this.length = length;
+  }
+
+  /**
+   * Opens the file and reads the file header
+   */
+  public void open() throws IOException {
+    fileStream = FileFactory.getDataInputStream(filePath, FileFactory.getFileType(filePath),
+        CarbonCommonConstants.BYTEBUFFER_SIZE);
+    byte[] headerBytes = new byte[fileStream.readInt()];
+    fileStream.readFully(headerBytes);
+    FileHeader fileHeader = CarbonUtil.readFileHeader(headerBytes, 0, headerBytes.length);
+    if (fileHeader.getVersion() != StreamFileWriter.STREAM_FORMAT_VERSION) {
+      throw new IOException(
+          "Unsupported streaming file version " + fileHeader.getVersion() + ": " + filePath);
+    }
+    SchemaConverter schemaConverter = new ThriftWrapperSchemaConverterImpl();
+    columnSchemas = new ArrayList<>(fileHeader.getColumn_schema().size());
+    for (org.apache.carbondata.format.ColumnSchema columnSchema : fileHeader
+        .getColumn_schema()) {
+      columnSchemas.add(schemaConverter.fromExternalToWrapperColumnSchema(columnSchema));
+    }
+    rowCodec = new StreamRowCodec(columnSchemas);
+    validLength = 4 + headerBytes.length;
+  }
+
+  /**
+   * @return columns of the rows in the order they are stored
+   */
+  public List<ColumnSchema> getColumnSchemas() {
+    return columnSchemas;
+  }
+
+  /**
+   * Reads the next complete blocklet
+   *
+   * @param skipData true if only the blocklet header is required
+   * @return false if there is no complete blocklet left
+   */
+  private boolean readBlocklet(boolean skipData) throws IOException {
+    try {
+      if (validLength + 4 > length) {
+        return false;
+      }
+      int headerLength = fileStream.readInt();
+      if (validLength + 4 + headerLength > length) {
+        return false;
+      }
+      byte[] headerBytes = new byte[headerLength];
+      fileStream.readFully(headerBytes);
+      BlockletHeader blockletHeader =
+          CarbonUtil.readBlockletHeader(headerBytes, 0, headerLength);
+      long blockletEnd = validLength + 4 + headerLength + blockletHeader.getBlocklet_length();
+      if (blockletEnd > length) {
+        return false;
+      }
+      if (skipData) {
+        long toSkip = blockletHeader.getBlocklet_length();
+        while (toSkip > 0) {
+          int skipped = fileStream.skipBytes((int) toSkip);
+          if (skipped <= 0) {
+            throw new EOFException();
+          }
+          toSkip -= skipped;
+        }
+      } else {
+        byte[] blockletBytes = new byte[blockletHeader.getBlocklet_length()];
+        fileStream.readFully(blockletBytes);
+        blockletStream = new DataInputStream(new ByteArrayInputStream(blockletBytes));
+        blockletRowsLeft = blockletHeader.getMutation() == MutationType.INSERT ?
+            blockletHeader.getBlocklet_info().getNum_rows() :
+            0;
+      }
+      validLength = blockletEnd;
+      return true;
+    } catch (EOFException e) {
+      // blocklet is still being written
+      return false;
+    }
+  }
+
+  public boolean hasNext() throws IOException {
+    while (blockletRowsLeft == 0) {
+      if (!readBlocklet(false)) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  /**
+   * @return next row in the stored column order
+   */
+  public Object[] next() throws IOException {
+    blockletRowsLeft--;
+    return rowCodec.readRow(blockletStream);
+  }
+
+  /**
+   * @return length of the file till the last complete blocklet
+   */
+  public long getValidLength() throws IOException {
+    while (readBlocklet(true)) {
+      blockletRowsLeft = 0;
+    }
+    return validLength;
+  }
+
+  public void close() {
+    CarbonUtil.closeStreams(fileStream);
+  }
+}
@@ -0,0 +1,207 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.carbondata.processing.newflow.streaming;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.apache.carbondata.common.logging.LogService;
+import org.apache.carbondata.common.logging.LogServiceFactory;
+import org.apache.carbondata.core.constants.CarbonCommonConstants;
+import org.apache.carbondata.core.datastore.impl.FileFactory;
+import org.apache.carbondata.core.metadata.converter.SchemaConverter;
+import org.apache.carbondata.core.metadata.converter.ThriftWrapperSchemaConverterImpl;
+import org.apache.carbondata.core.metadata.schema.table.column.ColumnSchema;
+import org.apache.carbondata.core.util.CarbonUtil;
+import org.apache.carbondata.format.BlockletHeader;
+import org.apache.carbondata.format.BlockletIndex;
+import org.apache.carbondata.format.BlockletInfo;
+import org.apache.carbondata.format.DataChunk;
+import org.apache.carbondata.format.FileHeader;
+import org.apache.carbondata.format.MutationType;
+
+import org.apache.hadoop.fs.FSDataOutputStream;
+
+/**
+ * Appends blocklets of rows to a row format streaming file. Layout of the file is
+ * file header followed by blocklets, each blocklet is blocklet header followed by its rows.
+ * Every header is prefixed by its length, a blocklet is written and flushed at once so that
+ * readers only see complete blocklets.
+ */
+public class StreamFileWriter {
+
+  private static final LogService LOGGER =
+      LogServiceFactory.getLogService(StreamFileWriter.class.getName());
+
+  /**
+   * version of the row format
+   */
+  public static final int STREAM_FORMAT_VERSION = 1;
+
+  private String filePath;
+
+  private List<ColumnSchema> columnSchemas;
+
+  private long schemaTimeStamp;
+
+  private StreamRowCodec rowCodec;
+
+  private DataOutputStream fileStream;
+
+  private ByteArrayOutputStream blockletBuffer;
+
+  private DataOutputStream blockletStream;
+
+  private int blockletRowCount;
+
+  public StreamFileWriter(String filePath, List<ColumnSchema> columnSchemas,
+      long schemaTimeStamp) {
+    this.filePath = filePath;
+    this.columnSchemas = columnSchemas;
+    this.schemaTimeStamp = schemaTimeStamp;
+    this.rowCodec = new StreamRowCodec(columnSchemas);
+  }
+
+  private static String getNewFilePath(String filePath) {
+    int extensionIndex = filePath.lastIndexOf('.');
+    return filePath.substring(0, extensionIndex) + '_' + System.currentTimeMillis()
+        + filePath.substring(extensionIndex);
+  }
+
+  /**
+   * Opens the file for append, header is written only if file is new
+   *
+   * @return path of the file opened, it is different from the given path when the
+   * existing file is having an incomplete blocklet at the end
+   */
+  public String open() throws IOException {
+    FileFactory.FileType fileType = FileFactory.getFileType(filePath);
+    boolean append = FileFactory.isFileExist(filePath, fileType);
+    if (append && !FileFactory.isAppendSupported(fileType)) {
+      // object store can not append, so rows are written to a new file
+      filePath = getNewFilePath(filePath);
+      append = false;
+    }
+    if (append) {
+      StreamFileReader reader = new StreamFileReader(filePath, Long.MAX_VALUE);
+      try {
+        reader.open();
+        if (!isSameSchema(reader.getColumnSchemas())) {
+          throw new IOException("Table schema is changed, streaming file " + filePath
+              + " can not be appended, streaming segment should be finished first");
+        }
+        if (reader.getValidLength() != FileFactory.getCarbonFile(filePath, fileType).getSize()) {
+          // last blocklet is not complete because of a failed write, so start a new file
+          LOGGER.warn("Incomplete blocklet found in streaming file " + filePath);
+          filePath = getNewFilePath(filePath);
+          append = false;
+        }
+      } finally {
+        reader.close();
+      }
+    }
+    fileStream = FileFactory.getDataOutputStream(filePath, fileType,
+        CarbonCommonConstants.BYTEBUFFER_SIZE, append);
+    if (!append) {
+      writeFileHeader();
+    }
+    blockletBuffer = new ByteArrayOutputStream();
+    blockletStream = new DataOutputStream(blockletBuffer);
+    return filePath;
+  }
+
+  private boolean isSameSchema(List<ColumnSchema> fileColumnSchemas) {
+    if (fileColumnSchemas.size() != columnSchemas.size()) {
+      return false;
+    }
+    for (int i = 0; i < columnSchemas.size(); i++) {
+      if (!columnSchemas.get(i).getColumnUniqueId()
+          .equals(fileColumnSchemas.get(i).getColumnUniqueId())) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  private void writeFileHeader() throws IOException {
+    SchemaConverter schemaConverter = new ThriftWrapperSchemaConverterImpl();
+    List<org.apache.carbondata.format.ColumnSchema> thriftColumnSchemas =
+        new ArrayList<>(columnSchemas.size());
+    for (ColumnSchema columnSchema : columnSchemas) {
+      thriftColumnSchemas.add(schemaConverter.fromWrapperToExternalColumnSchema(columnSchema));
+    }
+    FileHeader fileHeader = new FileHeader(STREAM_FORMAT_VERSION, thriftColumnSchemas);
+    fileHeader.setIs_footer_present(false);
+    fileHeader.setTime_stamp(schemaTimeStamp);
+    byte[] headerBytes = CarbonUtil.getByteArray(fileHeader);
+    fileStream.writeInt(headerBytes.length);
+    fileStream.write(headerBytes);
+    fileStream.flush();
+  }
+
+  /**
+   * Adds the converted row to the current blocklet
+   */
+  public void addRow(Object[] row) throws IOException {
+    rowCodec.writeRow(row, blockletStream);
+    blockletRowCount++;
+  }
+
+  public int getBlockletRowCount() {
+    return blockletRowCount;
+  }
+
+  /**
+   * Appends the current blocklet to the file and makes it visible to readers
+   */
+  public void appendBlocklet() throws IOException {
+    if (blockletRowCount == 0) {
+      return;
+    }
+    blockletStream.flush();
+    BlockletHeader blockletHeader = new BlockletHeader(blockletBuffer.size(),
+        MutationType.INSERT, new BlockletIndex(),
+        new BlockletInfo(blockletRowCount, new ArrayList<DataChunk>(0)));
+    byte[] headerBytes = CarbonUtil.getByteArray(blockletHeader);
+    fileStream.writeInt(headerBytes.length);
+    fileStream.write(headerBytes);
+    blockletBuffer.writeTo(fileStream);
+    fileStream.flush();
+    if (fileStream instanceof FSDataOutputStream) {
+      ((FSDataOutputStream) fileStream).hflush();
+    }
+    blockletBuffer.reset();
+    blockletRowCount = 0;
+  }
+
+  /**
+   * Appends the pending rows and closes the file
+   */
+  public void close() throws IOException {
+    try {
+      if (null != fileStream) {
+        appendBlocklet();
+      }
+    } finally {
+      CarbonUtil.closeStreams(fileStream);
+      fileStream = null;
+    }
+  }
+}
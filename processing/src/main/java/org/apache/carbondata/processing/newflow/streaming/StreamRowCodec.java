@@ -0,0 +1,146 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.carbondata.processing.newflow.streaming;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.util.List;
+
+import org.apache.carbondata.core.constants.CarbonCommonConstants;
+import org.apache.carbondata.core.metadata.encoder.Encoding;
+import org.apache.carbondata.core.metadata.schema.table.column.ColumnSchema;
+import org.apache.carbondata.core.util.DataTypeUtil;
+
+/**
+ * Serializes the converted rows of data load to the row format of streaming file and back.
+ * Row is expected in the order of the columns given to the codec, dictionary columns are
+ * stored as surrogate key, no dictionary and complex columns as byte array and measures as
+ * typed value.
+ */
+public class StreamRowCodec {
+
+  private static final byte DICTIONARY = 0;
+
+  private static final byte BYTE_ARRAY = 1;
+
+  private static final byte LONG = 2;
+
+  private static final byte DOUBLE = 3;
+
+  private static final byte DECIMAL = 4;
+
+  private byte[] columnTypes;
+
+  public StreamRowCodec(List<ColumnSchema> columnSchemas) {
+    columnTypes = new byte[columnSchemas.size()];
+    for (int i = 0; i < columnTypes.length; i++) {
+      columnTypes[i] = getColumnType(columnSchemas.get(i));
+    }
+  }
+
+  private static byte getColumnType(ColumnSchema columnSchema) {
+    if (columnSchema.isDimensionColumn()) {
+      // converted value of complex column is its serialized bytes
+      return columnSchema.hasEncoding(Encoding.DICTIONARY) && !columnSchema.isComplex() ?
+          DICTIONARY :
+          BYTE_ARRAY;
+    }
+    switch (columnSchema.getDataType()) {
+      case SHORT:
+      case INT:
+      case LONG:
+        return LONG;
+      case DECIMAL:
+        return DECIMAL;
+      default:
+        return DOUBLE;
+    }
+  }
+
+  /**
+   * @return number of columns in a row
+   */
+  public int getColumnCount() {
+    return columnTypes.length;
+  }
+
+  public void writeRow(Object[] row, DataOutput out) throws IOException {
+    for (int i = 0; i < columnTypes.length; i++) {
+      Object value = row[i];
+      switch (columnTypes[i]) {
+        case DICTIONARY:
+          out.writeInt(null == value ?
+              CarbonCommonConstants.MEMBER_DEFAULT_VAL_SURROGATE_KEY :
+              (Integer) value);
+          break;
+        case BYTE_ARRAY:
+          byte[] bytes =
+              null == value ? CarbonCommonConstants.MEMBER_DEFAULT_VAL_ARRAY : (byte[]) value;
+          out.writeInt(bytes.length);
+          out.write(bytes);
+          break;
+        default:
+          if (null == value) {
+            out.writeBoolean(false);
+            break;
+          }
+          out.writeBoolean(true);
+          if (columnTypes[i] == LONG) {
+            out.writeLong((Long) value);
+          } else if (columnTypes[i] == DECIMAL) {
+            byte[] decimalBytes = DataTypeUtil.bigDecimalToByte((BigDecimal) value);
+            out.writeInt(decimalBytes.length);
+            out.write(decimalBytes);
+          } else {
+            out.writeDouble((Double) value);
+          }
+      }
+    }
+  }
+
+  public Object[] readRow(DataInput in) throws IOException {
+    Object[] row = new Object[columnTypes.length];
+    for (int i = 0; i < columnTypes.length; i++) {
+      switch (columnTypes[i]) {
+        case DICTIONARY:
+          row[i] = in.readInt();
+          break;
+        case BYTE_ARRAY:
+          byte[] bytes = new byte[in.readInt()];
+          in.readFully(bytes);
+          row[i] = bytes;
+          break;
+        default:
+          if (!in.readBoolean()) {
+            break;
+          }
+          if (columnTypes[i] == LONG) {
+            row[i] = in.readLong();
+          } else if (columnTypes[i] == DECIMAL) {
+            byte[] decimalBytes = new byte[in.readInt()];
+            in.readFully(decimalBytes);
+            row[i] = DataTypeUtil.byteToBigDecimal(decimalBytes);
+          } else {
+            row[i] = in.readDouble();
+          }
+      }
+    }
+    return row;
+  }
+}
@@ -0,0 +1,329 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.carbondata.processing.newflow.streaming;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.apache.carbondata.common.logging.LogService;
+import org.apache.carbondata.common.logging.LogServiceFactory;
+import org.apache.carbondata.core.constants.CarbonCommonConstants;
+import org.apache.carbondata.core.datastore.filesystem.CarbonFile;
+import org.apache.carbondata.core.datastore.filesystem.CarbonFileFilter;
+import org.apache.carbondata.core.datastore.impl.FileFactory;
+import org.apache.carbondata.core.locks.ICarbonLock;
+import org.apache.carbondata.core.metadata.AbsoluteTableIdentifier;
+import org.apache.carbondata.core.metadata.schema.table.CarbonTable;
+import org.apache.carbondata.core.metadata.schema.table.column.CarbonDimension;
+import org.apache.carbondata.core.mutate.CarbonUpdateUtil;
+import org.apache.carbondata.core.statusmanager.LoadMetadataDetails;
+import org.apache.carbondata.core.statusmanager.SegmentStatusManager;
+import org.apache.carbondata.core.util.CarbonProperties;
+import org.apache.carbondata.core.util.CarbonUtil;
+import org.apache.carbondata.core.util.path.CarbonStorePath;
+import org.apache.carbondata.core.util.path.CarbonTablePath;
+import org.apache.carbondata.processing.model.CarbonLoadModel;
+import org.apache.carbondata.processing.newflow.DataLoadExecutor;
+import org.apache.carbondata.processing.newflow.exception.CarbonDataLoadingException;
+
+/**
+ * Manages the life cycle of row format streaming segments in table status.
+ * Micro batches are appended to the segment in Streaming status, once the segment reaches
+ * the configured size it is moved to Streaming Finish status and handed off to a carbondata
+ * format segment. After handoff the streaming segment is marked as compacted to the new segment.
+ */
+public final class StreamSegmentManager {
+
+  private static final LogService LOGGER =
+      LogServiceFactory.getLogService(StreamSegmentManager.class.getName());
+
+  private StreamSegmentManager() {
+  }
+
+  /**
+   * Returns the segment which is open for streaming, the new segment is added to table status
+   * if there is no open streaming segment
+   *
+   * @param carbonTable  table
+   * @param newSegmentId id allocated for a new segment the same way as for a normal load,
+   *                     used only if there is no open streaming segment
+   * @return streaming segment id
+   */
+  public static String openStreamSegment(CarbonTable carbonTable, String newSegmentId)
+      throws IOException {
+    validateStreamingTable(carbonTable);
+    AbsoluteTableIdentifier identifier = carbonTable.getAbsoluteTableIdentifier();
+    ICarbonLock carbonLock = new SegmentStatusManager(identifier).getTableStatusLock();
+    try {
+      if (!carbonLock.lockWithRetries()) {
+        throw new IOException("Not able to acquire the lock for table status updation for table "
+            + carbonTable.getTableUniqueName());
+      }
+      LoadMetadataDetails[] loadDetails =
+          SegmentStatusManager.readLoadMetadata(carbonTable.getMetaDataFilepath());
+      for (LoadMetadataDetails loadDetail : loadDetails) {
+        if (CarbonCommonConstants.STORE_LOADSTATUS_STREAMING
+            .equalsIgnoreCase(loadDetail.getLoadStatus())) {
+          return loadDetail.getLoadName();
+        }
+      }
+      for (LoadMetadataDetails loadDetail : loadDetails) {
+        if (loadDetail.getLoadName().equals(newSegmentId)) {
+          throw new IOException("Segment " + newSegmentId + " already exists in table "
+              + carbonTable.getTableUniqueName());
+        }
+      }
+      LoadMetadataDetails streamSegment = new LoadMetadataDetails();
+      streamSegment.setLoadName(newSegmentId);
+      streamSegment.setLoadStatus(CarbonCommonConstants.STORE_LOADSTATUS_STREAMING);
+      streamSegment.setLoadStartTime(CarbonUpdateUtil.readCurrentTime());
+      streamSegment.setPartitionCount("0");
+      List<LoadMetadataDetails> updatedDetails = new ArrayList<>(Arrays.asList(loadDetails));
+      updatedDetails.add(streamSegment);
+      writeLoadDetails(identifier, updatedDetails);
+      LOGGER.info("Opened streaming segment " + streamSegment.getLoadName() + " for table "
+          + carbonTable.getTableUniqueName());
+      return streamSegment.getLoadName();
+    } finally {
+      carbonLock.unlock();
+    }
+  }
+
+  /**
+   * Complex columns are not supported by the reader of streaming files, so such tables can
+   * not be streamed
+   */
+  private static void validateStreamingTable(CarbonTable carbonTable) {
+    for (CarbonDimension dimension : carbonTable
+        .getDimensionByTableName(carbonTable.getFactTableName())) {
+      if (dimension.isComplex()) {
+        throw new CarbonDataLoadingException(
+            "Streaming is not supported for table " + carbonTable.getTableUniqueName()
+                + " as it has complex column " + dimension.getColName());
+      }
+    }
+  }
+
+  /**
+   * Finishes the streaming segment if its size reached the configured maximum size,
+   * next micro batch will open a new streaming segment
+   *
+   * @return true if segment is finished
+   */
+  public static boolean finishStreamSegmentIfFull(CarbonTable carbonTable, String segmentId)
+      throws IOException {
+    long maxSize = Long.parseLong(CarbonProperties.getInstance()
+        .getProperty(CarbonCommonConstants.CARBON_STREAMING_SEGMENT_MAX_SIZE,
+            CarbonCommonConstants.CARBON_STREAMING_SEGMENT_MAX_SIZE_DEFAULT)) * 1024 * 1024;
+    String segmentDir = getSegmentDir(carbonTable.getAbsoluteTableIdentifier(), segmentId);
+    if (FileFactory.getDirectorySize(segmentDir) < maxSize) {
+      return false;
+    }
+    return updateStreamSegmentStatus(carbonTable, segmentId,
+        CarbonCommonConstants.STORE_LOADSTATUS_STREAMING,
+        CarbonCommonConstants.STORE_LOADSTATUS_STREAMING_FINISH);
+  }
+
+  private static boolean updateStreamSegmentStatus(CarbonTable carbonTable, String segmentId,
+      String currentStatus, String newStatus) throws IOException {
+    AbsoluteTableIdentifier identifier = carbonTable.getAbsoluteTableIdentifier();
+    ICarbonLock carbonLock = new SegmentStatusManager(identifier).getTableStatusLock();
+    try {
+      if (!carbonLock.lockWithRetries()) {
+        throw new IOException("Not able to acquire the lock for table status updation for table "
+            + carbonTable.getTableUniqueName());
+      }
+      LoadMetadataDetails[] loadDetails =
+          SegmentStatusManager.readLoadMetadata(carbonTable.getMetaDataFilepath());
+      for (LoadMetadataDetails loadDetail : loadDetails) {
+        if (loadDetail.getLoadName().equals(segmentId) && currentStatus
+            .equalsIgnoreCase(loadDetail.getLoadStatus())) {
+          loadDetail.setLoadStatus(newStatus);
+          loadDetail.setLoadEndTime(CarbonUpdateUtil.readCurrentTime());
+          writeLoadDetails(identifier, Arrays.asList(loadDetails));
+          return true;
+        }
+      }
+      return false;
+    } finally {
+      carbonLock.unlock();
+    }
+  }
+
+  /**
+   * @return ids of the streaming segments which are waiting for handoff
+   */
+  public static List<String> getFinishedStreamSegments(CarbonTable carbonTable) {
+    List<String> segments = new ArrayList<>();
+    for (LoadMetadataDetails loadDetail : SegmentStatusManager
+        .readLoadMetadata(carbonTable.getMetaDataFilepath())) {
+      if (CarbonCommonConstants.STORE_LOADSTATUS_STREAMING_FINISH
+          .equalsIgnoreCase(loadDetail.getLoadStatus())) {
+        segments.add(loadDetail.getLoadName());
+      }
+    }
+    return segments;
+  }
+
+  /**
+   * @return paths of all the streaming files of the segment
+   */
+  public static String[] getStreamFiles(AbsoluteTableIdentifier identifier, String segmentId) {
+    String segmentDir = getSegmentDir(identifier, segmentId);
+    CarbonFile segment = FileFactory.getCarbonFile(segmentDir, FileFactory.getFileType(segmentDir));
+    if (!segment.exists()) {
+      return new String[0];
+    }
+    CarbonFile[] streamFiles = segment.listFiles(new CarbonFileFilter() {
+      @Override public boolean accept(CarbonFile file) {
+        return CarbonTablePath.isStreamingDataFile(file.getName());
+      }
+    });
+    String[] paths = new String[streamFiles.length];
+    for (int i = 0; i < streamFiles.length; i++) {
+      paths[i] = streamFiles[i].getAbsolutePath();
+    }
+    return paths;
+  }
+
+  private static String getSegmentDir(AbsoluteTableIdentifier identifier, String segmentId) {
+    CarbonTablePath tablePath = CarbonStorePath
+        .getCarbonTablePath(identifier.getStorePath(), identifier.getCarbonTableIdentifier());
+    return tablePath.getCarbonDataDirectoryPath("0", segmentId);
+  }
+
+  /**
+   * @return id of the carbondata format segment the streaming segment is handed off to, same
+   * naming as compaction as the new segment is the next version of the streaming segment
+   */
+  public static String getHandoffSegmentId(String streamSegmentId) {
+    return streamSegmentId + CarbonCommonConstants.POINT + "1";
+  }
+
+  /**
+   * Writes the rows of the streaming files to the carbondata format segment of the handoff.
+   * It is executed by every task of the handoff for its own streaming files, the new segment is
+   * visible only after the handoff is committed. Load model should be prepared as for a normal
+   * load of the table, its segment id and task number are overwritten. Rows of streaming files
+   * are already converted, so they are only sorted and written.
+   *
+   * @param loadModel       load model of the table
+   * @param storeLocation   local temporary location for sort and write
+   * @param streamSegmentId finished streaming segment
+   * @param taskNo          task number of the carbondata files written by the task
+   * @param loadStartTime   start time of the handoff, same for all the tasks
+   * @param streamFiles     streaming files of the segment handed off by the task
+   */
+  public static void writeHandoffFiles(CarbonLoadModel loadModel, String storeLocation,
+      String streamSegmentId, String taskNo, long loadStartTime, String[] streamFiles)
+      throws Exception {
+    loadModel.setSegmentId(getHandoffSegmentId(streamSegmentId));
+    loadModel.setTaskNo(taskNo);
+    loadModel.setFactTimeStamp(loadStartTime);
+    // dictionary values are already generated while appending the micro batches
+    loadModel.setUseOnePass(false);
+    new DataLoadExecutor().executeStreamHandoff(loadModel, storeLocation, streamFiles);
+  }
+
+  /**
+   * Marks the streaming segment as compacted to the new segment written by the handoff tasks.
+   * Caller should abort the handoff if the table status could not be updated.
+   *
+   * @return id of the new segment
+   */
+  public static String commitHandoff(CarbonTable carbonTable, String streamSegmentId,
+      long loadStartTime) throws IOException {
+    String newSegmentId = getHandoffSegmentId(streamSegmentId);
+    if (!updateHandoffStatus(carbonTable, streamSegmentId, newSegmentId, loadStartTime)) {
+      throw new IOException("Failed to update table status for handoff of streaming segment "
+          + streamSegmentId + " of table " + carbonTable.getTableUniqueName());
+    }
+    LOGGER.info("Streaming segment " + streamSegmentId + " is handed off to segment "
+        + newSegmentId + " for table " + carbonTable.getTableUniqueName());
+    return newSegmentId;
+  }
+
+  /**
+   * Removes the files written by the handoff tasks, streaming segment remains finished and its
+   * handoff is retried by the next micro batch
+   */
+  public static void abortHandoff(CarbonTable carbonTable, String streamSegmentId)
+      throws IOException, InterruptedException {
+    String newSegmentDir = getSegmentDir(carbonTable.getAbsoluteTableIdentifier(),
+        getHandoffSegmentId(streamSegmentId));
+    CarbonUtil.deleteFoldersAndFiles(
+        FileFactory.getCarbonFile(newSegmentDir, FileFactory.getFileType(newSegmentDir)));
+  }
+
+  private static boolean updateHandoffStatus(CarbonTable carbonTable, String streamSegmentId,
+      String newSegmentId, long loadStartTime) throws IOException {
+    AbsoluteTableIdentifier identifier = carbonTable.getAbsoluteTableIdentifier();
+    ICarbonLock carbonLock = new SegmentStatusManager(identifier).getTableStatusLock();
+    try {
+      if (!carbonLock.lockWithRetries()) {
+        LOGGER.error("Not able to acquire the lock for table status updation for table "
+            + carbonTable.getTableUniqueName());
+        return false;
+      }
+      LoadMetadataDetails[] loadDetails =
+          SegmentStatusManager.readLoadMetadata(carbonTable.getMetaDataFilepath());
+      LoadMetadataDetails streamSegment = null;
+      for (LoadMetadataDetails loadDetail : loadDetails) {
+        if (loadDetail.getLoadName().equals(newSegmentId)) {
+          LOGGER.error("Segment " + newSegmentId + " already exists");
+          return false;
+        }
+        if (loadDetail.getLoadName().equals(streamSegmentId)) {
+          streamSegment = loadDetail;
+        }
+      }
+      // streaming segment could be deleted after the handoff is started
+      if (null == streamSegment || !CarbonCommonConstants.STORE_LOADSTATUS_STREAMING_FINISH
+          .equalsIgnoreCase(streamSegment.getLoadStatus())) {
+        LOGGER.error("Streaming segment " + streamSegmentId + " is not in finished state");
+        return false;
+      }
+      long currentTime = CarbonUpdateUtil.readCurrentTime();
+      streamSegment.setLoadStatus(CarbonCommonConstants.COMPACTED);
+      streamSegment.setModificationOrdeletionTimesStamp(currentTime);
+      streamSegment.setMergedLoadName(newSegmentId);
+
+      LoadMetadataDetails newSegment = new LoadMetadataDetails();
+      newSegment.setLoadName(newSegmentId);
+      newSegment.setLoadStatus(CarbonCommonConstants.STORE_LOADSTATUS_SUCCESS);
+      newSegment.setLoadStartTime(loadStartTime);
+      newSegment.setLoadEndTime(currentTime);
+      newSegment.setPartitionCount("0");
+      List<LoadMetadataDetails> updatedDetails = new ArrayList<>(Arrays.asList(loadDetails));
+      updatedDetails.add(newSegment);
+      writeLoadDetails(identifier, updatedDetails);
+      return true;
+    } finally {
+      carbonLock.unlock();
+    }
+  }
+
+  private static void writeLoadDetails(AbsoluteTableIdentifier identifier,
+      List<LoadMetadataDetails> loadDetails) throws IOException {
+    CarbonTablePath tablePath = CarbonStorePath
+        .getCarbonTablePath(identifier.getStorePath(), identifier.getCarbonTableIdentifier());
+    SegmentStatusManager.writeLoadDetailsIntoFile(tablePath.getTableStatusFilePath(),
+        loadDetails.toArray(new LoadMetadataDetails[loadDetails.size()]));
+  }
+}
@@ -0,0 +1,287 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.carbondata.processing.parquetload;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Calendar;
+import java.util.List;
+import java.util.TimeZone;
+
+import org.apache.carbondata.common.CarbonIterator;
+import org.apache.carbondata.processing.newflow.exception.CarbonDataLoadingException;
+
+import org.apache.hadoop.conf.Configuration;
+import org.apache.hadoop.fs.Path;
+import org.apache.hadoop.mapreduce.InputSplit;
+import org.apache.hadoop.mapreduce.TaskAttemptContext;
+import org.apache.parquet.example.data.Group;
+import org.apache.parquet.hadoop.ParquetFileReader;
+import org.apache.parquet.hadoop.ParquetRecordReader;
+import org.apache.parquet.hadoop.api.InitContext;
+import org.apache.parquet.hadoop.example.GroupReadSupport;
+import org.apache.parquet.io.api.Binary;
+import org.apache.parquet.schema.GroupType;
+import org.apache.parquet.schema.MessageType;
+import org.apache.parquet.schema.OriginalType;
+import org.apache.parquet.schema.PrimitiveType;
+import org.apache.parquet.schema.Type;
+
+/**
+ * It reads the rows of a split of parquet file and returns the values in the order of the
+ * header, so it can be used in place of @{@link org.apache.carbondata.processing.csvload
+ * .CSVRecordReaderIterator} as input of the data load.
+ * Only the columns of the header are read from the file. Numeric, decimal, date and timestamp
+ * values are returned as typed values so that the converters do not parse them, other values
+ * are returned as string. Null value is returned as the serialization null format.
+ */
+public class ParquetRecordReaderIterator extends CarbonIterator<Object[]> {
+
+  public static final String PARQUET_FILE_EXTENSION = ".parquet";
+
+  private static final long MILLIS_PER_DAY = 24 * 60 * 60 * 1000L;
+
+  /**
+   * julian day of 1970-01-01, used for INT96 timestamps
+   */
+  private static final long JULIAN_DAY_OF_EPOCH = 2440588;
+
+  private ParquetRecordReader<Group> recordReader;
+
+  private InputSplit split;
+
+  private TaskAttemptContext context;
+
+  private String[] header;
+
+  private String nullFormat;
+
+  /**
+   * index of the field in the read schema for each column of header, -1 if the column is not
+   * present in the file
+   */
+  private int[] fieldIndexes;
+
+  private PrimitiveType[] fieldTypes;
+
+  private boolean isConsumed;
+
+  private Calendar utcCalendar;
+
+  private Calendar localCalendar;
+
+  public ParquetRecordReaderIterator(InputSplit split, TaskAttemptContext context,
+      String[] header, String nullFormat) {
+    this.split = split;
+    this.context = context;
+    this.header = header;
+    this.nullFormat = nullFormat;
+    this.recordReader = new ParquetRecordReader<>(new ProjectionReadSupport(header));
+  }
+
+  /**
+   * @return true if the file is a parquet file
+   */
+  public static boolean isParquetFile(String filePath) {
+    return filePath.toLowerCase().endsWith(PARQUET_FILE_EXTENSION);
+  }
+
+  /**
+   * @return names of the columns of the parquet file
+   */
+  public static String[] readHeader(String filePath, Configuration configuration)
+      throws IOException {
+    MessageType schema = ParquetFileReader.readFooter(configuration, new Path(filePath))
+        .getFileMetaData().getSchema();
+    String[] columns = new String[schema.getFieldCount()];
+    for (int i = 0; i < columns.length; i++) {
+      columns[i] = schema.getType(i).getName();
+    }
+    return columns;
+  }
+
+  @Override
+  public boolean hasNext() {
+    try {
+      if (!isConsumed) {
+        isConsumed = recordReader.nextKeyValue();
+        return isConsumed;
+      }
+      return true;
+    } catch (Exception e) {
+      throw new CarbonDataLoadingException(e);
+    }
+  }
+
+  @Override
+  public Object[] next() {
+    try {
+      Group group = recordReader.getCurrentValue();
+      isConsumed = false;
+      if (null == fieldIndexes) {
+        initFieldIndexes(group.getType());
+      }
+      Object[] row = new Object[header.length];
+      for (int i = 0; i < header.length; i++) {
+        int fieldIndex = fieldIndexes[i];
+        if (fieldIndex < 0 || group.getFieldRepetitionCount(fieldIndex) == 0) {
+          row[i] = nullFormat;
+        } else {
+          row[i] = getValue(group, fieldIndex, fieldTypes[i]);
+        }
+      }
+      return row;
+    } catch (IOException | InterruptedException e) {
+      throw new CarbonDataLoadingException(e);
+    }
+  }
+
+  @Override
+  public void initialize() {
+    try {
+      recordReader.initialize(split, context);
+    } catch (Exception e) {
+      throw new RuntimeException(e);
+    }
+  }
+
+  @Override
+  public void close() {
+    try {
+      recordReader.close();
+    } catch (IOException e) {
+      throw new RuntimeException(e);
+    }
+  }
+
+  private void initFieldIndexes(GroupType schema) {
+    fieldIndexes = new int[header.length];
+    fieldTypes = new PrimitiveType[header.length];
+    for (int i = 0; i < header.length; i++) {
+      fieldIndexes[i] = -1;
+      for (int j = 0; j < schema.getFieldCount(); j++) {
+        if (schema.getType(j).getName().equalsIgnoreCase(header[i])) {
+          fieldIndexes[i] = j;
+          fieldTypes[i] = schema.getType(j).asPrimitiveType();
+          break;
+        }
+      }
+    }
+  }
+
+  private Object getValue(Group group, int fieldIndex, PrimitiveType type) {
+    OriginalType originalType = type.getOriginalType();
+    switch (type.getPrimitiveTypeName()) {
+      case BOOLEAN:
+        return String.valueOf(group.getBoolean(fieldIndex, 0));
+      case INT32:
+        int intValue = group.getInteger(fieldIndex, 0);
+        if (originalType == OriginalType.DECIMAL) {
+          return BigDecimal.valueOf(intValue, type.getDecimalMetadata().getScale());
+        } else if (originalType == OriginalType.DATE) {
+          return getDate(intValue);
+        }
+        return (long) intValue;
+      case INT64:
+        long longValue = group.getLong(fieldIndex, 0);
+        if (originalType == OriginalType.DECIMAL) {
+          return BigDecimal.valueOf(longValue, type.getDecimalMetadata().getScale());
+        } else if (originalType == OriginalType.TIMESTAMP_MILLIS) {
+          return new Timestamp(longValue);
+        }
+        return longValue;
+      case INT96:
+        return getTimestamp(group.getInt96(fieldIndex, 0));
+      case FLOAT:
+        // value same as the string of the float is used, so it is same as the value loaded
+        // from csv
+        return Double.valueOf(Float.toString(group.getFloat(fieldIndex, 0)));
+      case DOUBLE:
+        return group.getDouble(fieldIndex, 0);
+      default:
+        Binary binary = group.getBinary(fieldIndex, 0);
+        if (originalType == OriginalType.DECIMAL) {
+          return new BigDecimal(new BigInteger(binary.getBytes()),
+              type.getDecimalMetadata().getScale());
+        }
+        return binary.toStringUsingUTF8();
+    }
+  }
+
+  /**
+   * @return date at the local midnight of the day since epoch
+   */
+  private java.sql.Date getDate(int daysSinceEpoch) {
+    if (null == utcCalendar) {
+      utcCalendar = Calendar.getInstance(TimeZone.getTimeZone("UTC"));
+      localCalendar = Calendar.getInstance();
+    }
+    utcCalendar.setTimeInMillis(daysSinceEpoch * MILLIS_PER_DAY);
+    localCalendar.clear();
+    localCalendar.set(utcCalendar.get(Calendar.YEAR), utcCalendar.get(Calendar.MONTH),
+        utcCalendar.get(Calendar.DAY_OF_MONTH));
+    return new java.sql.Date(localCalendar.getTimeInMillis());
+  }
+
+  /**
+   * INT96 timestamp is nanoseconds of the day followed by the julian day, in little endian
+   */
+  private static Timestamp getTimestamp(Binary binary) {
+    ByteBuffer buffer = ByteBuffer.wrap(binary.getBytes()).order(ByteOrder.LITTLE_ENDIAN);
+    long nanosOfDay = buffer.getLong();
+    long julianDay = buffer.getInt();
+    long millis = (julianDay - JULIAN_DAY_OF_EPOCH) * MILLIS_PER_DAY + nanosOfDay / 1000000;
+    return new Timestamp(millis);
+  }
+
+  /**
+   * Read support which reads only the columns of the header
+   */
+  private static class ProjectionReadSupport extends GroupReadSupport {
+
+    private String[] header;
+
+    ProjectionReadSupport(String[] header) {
+      this.header = header;
+    }
+
+    @Override
+    public ReadContext init(InitContext context) {
+      MessageType fileSchema = context.getFileSchema();
+      List<Type> fields = new ArrayList<>(header.length);
+      for (Type field : fileSchema.getFields()) {
+        for (String column : header) {
+          if (field.getName().equalsIgnoreCase(column)) {
+            if (!field.isPrimitive() || field.isRepetition(Type.Repetition.REPEATED)) {
+              throw new CarbonDataLoadingException(
+                  "Nested or repeated parquet column is not supported: " + field.getName());
+            }
+            fields.add(field);
+            break;
+          }
+        }
+      }
+      return new ReadContext(new MessageType(fileSchema.getName(), fields));
+    }
+  }
+}
@@ -244,6 +244,11 @@ public class IntermediateFileMerger implements Callable<Void> {
     LOGGER.info("Started adding first record from each file");
 
     SortTempFileChunkHolder sortTempFileChunkHolder = null;
+    ZOrderComparator zOrderComparator = null;
+    if (null != mergerParameters.getZOrderDimensionIndexes()) {
+      zOrderComparator = new ZOrderComparator(mergerParameters.getZOrderDimensionIndexes(),
+          mergerParameters.getNoDictionaryDimnesionColumn());
+    }
 
     for (File tempFile : intermediateFiles) {
       // create chunk holder
@@ -251,7 +256,8 @@ public class IntermediateFileMerger implements Callable<Void> {
           new SortTempFileChunkHolder(tempFile, mergerParameters.getDimColCount(),
               mergerParameters.getComplexDimColCount(), mergerParameters.getMeasureColCount(),
               mergerParameters.getFileBufferSize(), mergerParameters.getNoDictionaryCount(),
-              mergerParameters.getAggType(), mergerParameters.getNoDictionaryDimnesionColumn());
+              mergerParameters.getAggType(), mergerParameters.getNoDictionaryDimnesionColumn(),
+              zOrderComparator);
 
       // initialize
       sortTempFileChunkHolder.initialize();
@@ -24,6 +24,7 @@ import java.io.FileOutputStream;
 import java.io.IOException;
 import java.math.BigDecimal;
 import java.util.Arrays;
+import java.util.Comparator;
 import java.util.concurrent.Callable;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
@@ -178,6 +179,21 @@ public class SortDataRows {
     }
   }
 
+  /**
+   * @return comparator of the rows on the z-order columns if the table has them, otherwise on
+   * the mdk key
+   */
+  private Comparator<Object[]> getRowComparator() {
+    if (null != parameters.getZOrderDimensionIndexes()) {
+      return new ZOrderComparator(parameters.getZOrderDimensionIndexes(),
+          parameters.getNoDictionaryDimnesionColumn());
+    } else if (parameters.getNoDictionaryCount() > 0) {
+      return new NewRowComparator(parameters.getNoDictionaryDimnesionColumn());
+    } else {
+      return new NewRowComparatorForNormalDims(parameters.getDimColCount());
+    }
+  }
+
   /**
    * Below method will be used to start storing process This method will get
    * all the temp files present in sort temp folder then it will create the
@@ -193,11 +209,7 @@ public class SortDataRows {
       toSort = new Object[entryCount][];
       System.arraycopy(recordHolderList, 0, toSort, 0, entryCount);
 
-      if (parameters.getNoDictionaryCount() > 0) {
-        Arrays.sort(toSort, new NewRowComparator(parameters.getNoDictionaryDimnesionColumn()));
-      } else {
-        Arrays.sort(toSort, new NewRowComparatorForNormalDims(parameters.getDimColCount()));
-      }
+      Arrays.sort(toSort, getRowComparator());
       recordHolderList = toSort;
 
       // create new file
@@ -386,13 +398,7 @@ public class SortDataRows {
     @Override public Void call() throws Exception {
       try {
         long startTime = System.currentTimeMillis();
-        if (parameters.getNoDictionaryCount() > 0) {
-          Arrays.sort(recordHolderArray,
-              new NewRowComparator(parameters.getNoDictionaryDimnesionColumn()));
-        } else {
-          Arrays.sort(recordHolderArray,
-              new NewRowComparatorForNormalDims(parameters.getDimColCount()));
-        }
+        Arrays.sort(recordHolderArray, getRowComparator());
 
         // create a new file every time
         File sortTempFile = new File(
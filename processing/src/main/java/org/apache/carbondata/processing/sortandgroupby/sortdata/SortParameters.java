@@ -24,6 +24,7 @@ import org.apache.carbondata.core.constants.CarbonCommonConstants;
 import org.apache.carbondata.core.metadata.CarbonTableIdentifier;
 import org.apache.carbondata.core.util.CarbonProperties;
 import org.apache.carbondata.processing.newflow.CarbonDataLoadConfiguration;
+import org.apache.carbondata.processing.newflow.constants.DataLoadProcessorConstants;
 import org.apache.carbondata.processing.schema.metadata.SortObserver;
 import org.apache.carbondata.processing.util.CarbonDataProcessorUtil;
 
@@ -112,6 +113,12 @@ public class SortParameters {
    */
   private boolean[] noDictionaryDimnesionColumn;
 
+  /**
+   * indexes of the z-order columns among the dimensions, null if the rows are sorted on the
+   * mdk key
+   */
+  private int[] zOrderDimensionIndexes;
+
   private int numberOfCores;
 
   public SortParameters getCopy() {
@@ -137,6 +144,7 @@ public class SortParameters {
     parameters.segmentId = segmentId;
     parameters.taskNo = taskNo;
     parameters.noDictionaryDimnesionColumn = noDictionaryDimnesionColumn;
+    parameters.zOrderDimensionIndexes = zOrderDimensionIndexes;
     parameters.numberOfCores = numberOfCores;
     return parameters;
   }
@@ -309,6 +317,14 @@ public class SortParameters {
     this.noDictionaryDimnesionColumn = noDictionaryDimnesionColumn;
   }
 
+  public int[] getZOrderDimensionIndexes() {
+    return zOrderDimensionIndexes;
+  }
+
+  public void setZOrderDimensionIndexes(int[] zOrderDimensionIndexes) {
+    this.zOrderDimensionIndexes = zOrderDimensionIndexes;
+  }
+
   public int getNumberOfCores() {
     return numberOfCores;
   }
@@ -334,6 +350,8 @@ public class SortParameters {
     parameters.setComplexDimColCount(configuration.getComplexDimensionCount());
     parameters.setNoDictionaryDimnesionColumn(
         CarbonDataProcessorUtil.getNoDictionaryMapping(configuration.getDataFields()));
+    parameters.setZOrderDimensionIndexes((int[]) configuration
+        .getDataLoadProperty(DataLoadProcessorConstants.ZORDER_DIMENSION_INDEXES));
     parameters.setObserver(new SortObserver());
     // get sort buffer size
     parameters.setSortBufferSize(Integer.parseInt(carbonProperties
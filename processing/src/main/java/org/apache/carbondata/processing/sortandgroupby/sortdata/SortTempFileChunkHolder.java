@@ -132,6 +132,11 @@ public class SortTempFileChunkHolder implements Comparable<SortTempFileChunkHold
    */
   private boolean[] isNoDictionaryDimensionColumn;
 
+  /**
+   * comparator of the z-order columns, null if the rows are sorted on the mdk key
+   */
+  private ZOrderComparator zOrderComparator;
+
   /**
    * Constructor to initialize
    *
@@ -143,10 +148,11 @@ public class SortTempFileChunkHolder implements Comparable<SortTempFileChunkHold
    * @param noDictionaryCount
    * @param aggType
    * @param isNoDictionaryDimensionColumn
+   * @param zOrderComparator
    */
   public SortTempFileChunkHolder(File tempFile, int dimensionCount, int complexDimensionCount,
       int measureCount, int fileBufferSize, int noDictionaryCount, char[] aggType,
-      boolean[] isNoDictionaryDimensionColumn) {
+      boolean[] isNoDictionaryDimensionColumn, ZOrderComparator zOrderComparator) {
     // set temp file
     this.tempFile = tempFile;
 
@@ -161,6 +167,7 @@ public class SortTempFileChunkHolder implements Comparable<SortTempFileChunkHold
     this.executorService = Executors.newFixedThreadPool(1);
     this.aggType = aggType;
     this.isNoDictionaryDimensionColumn = isNoDictionaryDimensionColumn;
+    this.zOrderComparator = zOrderComparator;
   }
 
   /**
@@ -409,6 +416,12 @@ public class SortTempFileChunkHolder implements Comparable<SortTempFileChunkHold
     int[] rightMdkArray = (int[]) other.returnRow[0];
     byte[][] leftNonDictArray = (byte[][]) returnRow[1];
     byte[][] rightNonDictArray = (byte[][]) other.returnRow[1];
+    if (null != zOrderComparator) {
+      diff = zOrderComparator.compareDictionaryKeys(leftMdkArray, rightMdkArray);
+      if (diff != 0) {
+        return diff;
+      }
+    }
     for (boolean isNoDictionary : isNoDictionaryDimensionColumn) {
       if (isNoDictionary) {
         diff = UnsafeComparer.INSTANCE
@@ -0,0 +1,111 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.carbondata.processing.sortandgroupby.sortdata;
+
+import java.util.Comparator;
+
+/**
+ * It orders the rows on the z-order of the surrogate keys of the z-order columns, that is on
+ * the value formed by interleaving the bits of the keys. Rows which are close in the z-order
+ * are close in all the z-order columns, so the min and max of a blocklet stay narrow for each
+ * of them and filters on any of the columns can prune the blocklets.
+ * The interleaved value is not built, the keys are compared on the dimension whose keys differ
+ * in the most significant bit. Rows with same z-order keys are ordered on the mdk key.
+ */
+public class ZOrderComparator implements Comparator<Object[]> {
+
+  /**
+   * indexes of the z-order columns in the converted row
+   */
+  private int[] dimensionIndexes;
+
+  /**
+   * indexes of the z-order columns in the dictionary keys of the sorted row
+   */
+  private int[] dictionaryIndexes;
+
+  private NewRowComparator rowComparator;
+
+  /**
+   * @param dimensionIndexes    indexes of the z-order columns among the dimensions, all of
+   *                            them must be dictionary dimensions
+   * @param noDictionaryMapping mapping of dictionary dimensions and no dictionary dimensions
+   */
+  public ZOrderComparator(int[] dimensionIndexes, boolean[] noDictionaryMapping) {
+    this.dimensionIndexes = dimensionIndexes;
+    this.dictionaryIndexes = new int[dimensionIndexes.length];
+    for (int i = 0; i < dimensionIndexes.length; i++) {
+      for (int j = 0; j < dimensionIndexes[i]; j++) {
+        if (!noDictionaryMapping[j]) {
+          dictionaryIndexes[i]++;
+        }
+      }
+    }
+    this.rowComparator = new NewRowComparator(noDictionaryMapping);
+  }
+
+  /**
+   * Compares the converted rows, dictionary dimensions are Integer surrogate keys
+   */
+  @Override public int compare(Object[] rowA, Object[] rowB) {
+    int mostSignificantIndex = -1;
+    int mostSignificantXor = 0;
+    for (int i = 0; i < dimensionIndexes.length; i++) {
+      int xor = (int) rowA[dimensionIndexes[i]] ^ (int) rowB[dimensionIndexes[i]];
+      if (lessMostSignificantBit(mostSignificantXor, xor)) {
+        mostSignificantIndex = i;
+        mostSignificantXor = xor;
+      }
+    }
+    if (mostSignificantIndex < 0) {
+      return rowComparator.compare(rowA, rowB);
+    }
+    int index = dimensionIndexes[mostSignificantIndex];
+    return Integer.compare((int) rowA[index], (int) rowB[index]);
+  }
+
+  /**
+   * Compares the dictionary keys of the sorted rows
+   *
+   * @return 0 if the z-order keys are same, caller has to order them on the mdk key
+   */
+  public int compareDictionaryKeys(int[] keysA, int[] keysB) {
+    int mostSignificantIndex = -1;
+    int mostSignificantXor = 0;
+    for (int i = 0; i < dictionaryIndexes.length; i++) {
+      int xor = keysA[dictionaryIndexes[i]] ^ keysB[dictionaryIndexes[i]];
+      if (lessMostSignificantBit(mostSignificantXor, xor)) {
+        mostSignificantIndex = i;
+        mostSignificantXor = xor;
+      }
+    }
+    if (mostSignificantIndex < 0) {
+      return 0;
+    }
+    int index = dictionaryIndexes[mostSignificantIndex];
+    return Integer.compare(keysA[index], keysB[index]);
+  }
+
+  /**
+   * @return true if the most significant set bit of x is lower than the one of y, surrogate
+   * keys are positive so the values are never negative
+   */
+  private static boolean lessMostSignificantBit(int x, int y) {
+    return x < y && x < (x ^ y);
+  }
+}
@@ -22,6 +22,7 @@ import java.io.DataOutputStream;
 import java.io.File;
 import java.io.IOException;
 import java.math.BigDecimal;
+import java.math.RoundingMode;
 import java.nio.ByteBuffer;
 import java.util.ArrayList;
 import java.util.BitSet;
@@ -59,13 +60,17 @@ import org.apache.carbondata.core.keygenerator.factory.KeyGeneratorFactory;
 import org.apache.carbondata.core.metadata.CarbonMetadata;
 import org.apache.carbondata.core.metadata.ColumnarFormatVersion;
 import org.apache.carbondata.core.metadata.schema.table.CarbonTable;
+import org.apache.carbondata.core.metadata.schema.table.column.CarbonMeasure;
 import org.apache.carbondata.core.metadata.schema.table.column.ColumnSchema;
 import org.apache.carbondata.core.util.CarbonProperties;
 import org.apache.carbondata.core.util.CarbonUtil;
 import org.apache.carbondata.core.util.DataTypeUtil;
 import org.apache.carbondata.core.util.NodeHolder;
 import org.apache.carbondata.core.util.ValueCompressionUtil;
+import org.apache.carbondata.format.BlockletIndex;
+import org.apache.carbondata.format.BlockletInfo3;
 import org.apache.carbondata.processing.datatypes.GenericDataType;
+import org.apache.carbondata.processing.merger.CompactionIOThrottle;
 import org.apache.carbondata.processing.store.colgroup.ColGroupBlockStorage;
 import org.apache.carbondata.processing.store.colgroup.ColGroupDataHolder;
 import org.apache.carbondata.processing.store.colgroup.ColGroupMinMax;
@@ -76,6 +81,7 @@ import org.apache.carbondata.processing.store.file.IFileManagerComposite;
 import org.apache.carbondata.processing.store.writer.CarbonDataWriterVo;
 import org.apache.carbondata.processing.store.writer.CarbonFactDataWriter;
 import org.apache.carbondata.processing.store.writer.exception.CarbonDataWriterException;
+import org.apache.carbondata.processing.store.writer.v3.CarbonFactDataWriterImplV3;
 import org.apache.carbondata.processing.util.NonDictionaryUtil;
 
 import org.apache.spark.sql.types.Decimal;
@@ -346,8 +352,8 @@ public class CarbonFactDataHandlerColumnar implements CarbonFactHandler {
     this.databaseName = carbonFactDataHandlerModel.getDatabaseName();
     this.tableBlockSize = carbonFactDataHandlerModel.getBlockSizeInMB();
     this.tableName = carbonFactDataHandlerModel.getTableName();
-    this.type = carbonFactDataHandlerModel.getAggType();
     this.segmentProperties = carbonFactDataHandlerModel.getSegmentProperties();
+    this.type = getMeasureStoreType(carbonFactDataHandlerModel.getAggType());
     this.wrapperColumnSchemaList = carbonFactDataHandlerModel.getWrapperColumnSchema();
     this.colCardinality = carbonFactDataHandlerModel.getColCardinality();
     this.storeLocation = carbonFactDataHandlerModel.getStoreLocation();
@@ -407,6 +413,29 @@ public class CarbonFactDataHandlerColumnar implements CarbonFactHandler {
     consumerExecutorServiceTaskList.add(consumerExecutorService.submit(consumer));
   }
 
+  /**
+   * decimal measures whose unscaled value fits in long are stored as unscaled long values
+   * so that those are compressed and read like long measures
+   */
+  private char[] getMeasureStoreType(char[] aggType) {
+    char[] storeType = aggType.clone();
+    boolean isFixedPointDecimalEnabled = Boolean.parseBoolean(CarbonProperties.getInstance()
+        .getProperty(CarbonCommonConstants.ENABLE_FIXED_POINT_DECIMAL,
+            CarbonCommonConstants.ENABLE_FIXED_POINT_DECIMAL_DEFAULT));
+    if (!isFixedPointDecimalEnabled) {
+      return storeType;
+    }
+    List<CarbonMeasure> measures = segmentProperties.getMeasures();
+    for (int i = 0; i < storeType.length && i < measures.size(); i++) {
+      int precision = measures.get(i).getPrecision();
+      if (storeType[i] == CarbonCommonConstants.BIG_DECIMAL_MEASURE && precision > 0
+          && precision <= CarbonCommonConstants.FIXED_POINT_DECIMAL_MAX_PRECISION) {
+        storeType[i] = CarbonCommonConstants.FIXED_POINT_DECIMAL_MEASURE;
+      }
+    }
+    return storeType;
+  }
+
   private boolean[] arrangeUniqueBlockType(boolean[] aggKeyBlock) {
     int counter = 0;
     boolean[] uniqueBlock = new boolean[aggKeyBlock.length];
@@ -478,6 +507,32 @@ public class CarbonFactDataHandlerColumnar implements CarbonFactHandler {
     }
   }
 
+  /**
+   * below method will be used to append an encoded blocklet of another V3 carbondata file as it
+   * is, the file must be written with the same schema and cardinality as this handler
+   *
+   * @param blockletData  data of all the column chunks of the blocklet
+   * @param blockletInfo  blocklet info of the blocklet in the source file
+   * @param blockletIndex blocklet index of the blocklet in the source file
+   * @throws CarbonDataWriterException
+   */
+  public void addEncodedBlocklet(byte[] blockletData, BlockletInfo3 blockletInfo,
+      BlockletIndex blockletIndex) throws CarbonDataWriterException {
+    if (!(dataWriter instanceof CarbonFactDataWriterImplV3)) {
+      throw new CarbonDataWriterException(
+          "Encoded blocklets can be copied only to the V3 format files");
+    }
+    if (compactionFlow) {
+      try {
+        CompactionIOThrottle.getInstance().acquire(blockletData.length);
+      } catch (InterruptedException e) {
+        throw new CarbonDataWriterException(e.getMessage(), e);
+      }
+    }
+    ((CarbonFactDataWriterImplV3) dataWriter)
+        .writeEncodedBlocklet(blockletData, blockletInfo, blockletIndex);
+  }
+
   /** statics for one blocklet/page */
   class Statistics {
     /** min and max value of the measures */
@@ -498,10 +553,16 @@ public class CarbonFactDataHandlerColumnar implements CarbonFactHandler {
       uniqueValue = new Object[measureCount];
       decimal = new int[measureCount];
       for (int i = 0; i < measureCount; i++) {
-        if (type[i] == CarbonCommonConstants.BIG_INT_MEASURE) {
+        decimal[i] = 0;
+        if (type[i] == CarbonCommonConstants.BIG_INT_MEASURE
+            || type[i] == CarbonCommonConstants.FIXED_POINT_DECIMAL_MEASURE) {
           max[i] = Long.MIN_VALUE;
           min[i] = Long.MAX_VALUE;
           uniqueValue[i] = Long.MIN_VALUE;
+          if (type[i] == CarbonCommonConstants.FIXED_POINT_DECIMAL_MEASURE) {
+            // scale of the unscaled values
+            decimal[i] = segmentProperties.getMeasures().get(i).getScale();
+          }
         } else if (type[i] == CarbonCommonConstants.DOUBLE_MEASURE) {
           max[i] = Double.MIN_VALUE;
           min[i] = Double.MAX_VALUE;
@@ -515,7 +576,6 @@ public class CarbonFactDataHandlerColumnar implements CarbonFactHandler {
           min[i] = 0.0;
           uniqueValue[i] = 0.0;
         }
-        decimal[i] = 0;
       }
     }
 
@@ -536,7 +596,8 @@ public class CarbonFactDataHandlerColumnar implements CarbonFactHandler {
             int num = getDecimalCount(value);
             decimal[count] = (decimal[count] > num ? decimal[count] : num);
             uniqueValue[count] = (double) min[count] - 1;
-          } else if (type[count] == CarbonCommonConstants.BIG_INT_MEASURE) {
+          } else if (type[count] == CarbonCommonConstants.BIG_INT_MEASURE
+              || type[count] == CarbonCommonConstants.FIXED_POINT_DECIMAL_MEASURE) {
             long value = (long) row[count];
             long maxVal = (long) max[count];
             long minVal = (long) min[count];
@@ -652,7 +713,18 @@ public class CarbonFactDataHandlerColumnar implements CarbonFactHandler {
   private void fillMeasureHolder(Object[] row, int count, CarbonWriteDataHolder[] measureHolder,
       BitSet[] nullValueIndexBitSet) {
     for (int k = 0; k < otherMeasureIndex.length; k++) {
-      if (type[otherMeasureIndex[k]] == CarbonCommonConstants.BIG_INT_MEASURE) {
+      if (type[otherMeasureIndex[k]] == CarbonCommonConstants.FIXED_POINT_DECIMAL_MEASURE) {
+        if (null == row[otherMeasureIndex[k]]) {
+          nullValueIndexBitSet[otherMeasureIndex[k]].set(count);
+          measureHolder[otherMeasureIndex[k]].setWritableLongValueByIndex(count, 0L);
+        } else {
+          // row keeps the unscaled value, statistics of the page are updated from it
+          row[otherMeasureIndex[k]] =
+              getUnscaledDecimal(row[otherMeasureIndex[k]], otherMeasureIndex[k]);
+          measureHolder[otherMeasureIndex[k]]
+              .setWritableLongValueByIndex(count, row[otherMeasureIndex[k]]);
+        }
+      } else if (type[otherMeasureIndex[k]] == CarbonCommonConstants.BIG_INT_MEASURE) {
         if (null == row[otherMeasureIndex[k]]) {
           nullValueIndexBitSet[otherMeasureIndex[k]].set(count);
           measureHolder[otherMeasureIndex[k]].setWritableLongValueByIndex(count, 0L);
@@ -695,6 +767,19 @@ public class CarbonFactDataHandlerColumnar implements CarbonFactHandler {
     }
   }
 
+  private long getUnscaledDecimal(Object value, int measureIndex) {
+    BigDecimal bigDecimal;
+    // in compaction flow the measure with decimal type will come as spark decimal.
+    if (compactionFlow) {
+      bigDecimal = ((Decimal) value).toJavaBigDecimal();
+    } else {
+      bigDecimal = DataTypeUtil.byteToBigDecimal((byte[]) value);
+    }
+    return bigDecimal
+        .setScale(segmentProperties.getMeasures().get(measureIndex).getScale(),
+            RoundingMode.HALF_UP).unscaledValue().longValue();
+  }
+
   private NodeHolder createNodeHolderObjectWithOutKettle(byte[][] measureArray, byte[][] mdKeyArray,
       byte[][][] noDictionaryArray, int entryCountLocal, byte[] startkeyLocal, byte[] endKeyLocal,
       WriterCompressModel compressionModel, byte[][] noDictionaryStartKey,
@@ -1157,7 +1242,8 @@ public class CarbonFactDataHandlerColumnar implements CarbonFactHandler {
     CarbonWriteDataHolder[] dataHolder = new CarbonWriteDataHolder[this.measureCount];
     for (int i = 0; i < otherMeasureIndex.length; i++) {
       dataHolder[otherMeasureIndex[i]] = new CarbonWriteDataHolder();
-      if (type[otherMeasureIndex[i]] == CarbonCommonConstants.BIG_INT_MEASURE) {
+      if (type[otherMeasureIndex[i]] == CarbonCommonConstants.BIG_INT_MEASURE
+          || type[otherMeasureIndex[i]] == CarbonCommonConstants.FIXED_POINT_DECIMAL_MEASURE) {
         dataHolder[otherMeasureIndex[i]].initialiseLongValues(size);
       } else {
         dataHolder[otherMeasureIndex[i]].initialiseDoubleValues(size);
@@ -1387,6 +1473,11 @@ public class CarbonFactDataHandlerColumnar implements CarbonFactHandler {
         try {
           nodeHolder = blockletDataHolder.get();
           if (null != nodeHolder) {
+            if (compactionFlow) {
+              CompactionIOThrottle.getInstance().acquire(
+                  nodeHolder.getTotalDimensionArrayLength() + nodeHolder
+                      .getTotalMeasureArrayLength());
+            }
             dataWriter.writeBlockletData(nodeHolder);
           }
           blockletProcessingCount.decrementAndGet();
@@ -25,7 +25,6 @@ import java.io.FileNotFoundException;
 import java.io.FileOutputStream;
 import java.io.IOException;
 import java.nio.ByteBuffer;
-import java.nio.channels.FileChannel;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
@@ -88,7 +87,7 @@ public abstract class AbstractFactDataWriter<T> implements CarbonFactDataWriter<
   /**
    * file channel
    */
-  protected FileChannel fileChannel;
+  protected DataFileChannel fileChannel;
   /**
    * this will be used for holding blocklet metadata
    */
@@ -160,6 +159,12 @@ public abstract class AbstractFactDataWriter<T> implements CarbonFactDataWriter<
    */
   protected List<org.apache.carbondata.format.BlockletIndex> blockletIndex;
 
+  /**
+   * true if the carbondata and carbonindex files are written directly to the store path, it is
+   * set only by the writers which write the footer through the file channel
+   */
+  protected boolean isDirectWriteToStore;
+
   public AbstractFactDataWriter(CarbonDataWriterVo dataWriterVo) {
     this.dataWriterVo = dataWriterVo;
     this.blockletInfoList =
@@ -272,12 +277,7 @@ public abstract class AbstractFactDataWriter<T> implements CarbonFactDataWriter<
       this.dataChunksLength = new ArrayList<>();
       this.blockletMetadata = new ArrayList<>();
       this.blockletIndex = new ArrayList<>();
-      CarbonUtil.closeStreams(this.fileOutputStream, this.fileChannel);
-      // rename carbon data file from in progress status to actual
-      renameCarbonDataFile();
-      executorServiceSubmitList.add(executorService
-          .submit(new CopyThread(this.carbonDataFileTempPath
-              .substring(0, this.carbonDataFileTempPath.lastIndexOf('.')))));
+      closeCurrentFile(true);
       // initialize the new channel
       initializeWriter();
     }
@@ -297,6 +297,20 @@ public abstract class AbstractFactDataWriter<T> implements CarbonFactDataWriter<
         .getCarbonDataFileName(fileCount, dataWriterVo.getCarbonDataFileAttributes().getTaskId(),
             dataWriterVo.getBucketNumber(), dataWriterVo.getTaskExtension(),
             dataWriterVo.getCarbonDataFileAttributes().getFactTimeStamp());
+    if (isDirectWriteToStore) {
+      this.carbonDataFileTempPath =
+          dataWriterVo.getCarbonDataDirectoryPath() + File.separator + carbonDataFileName;
+      this.fileCount++;
+      try {
+        // files are not copied in direct write, so the copy executor writes the buffers
+        this.fileChannel = new DirectStoreFileChannel(this.carbonDataFileTempPath,
+            getMaxOfBlockAndFileSize(fileSizeInBytes, fileSizeInBytes), executorService);
+      } catch (IOException e) {
+        throw new CarbonDataWriterException("Problem while getting the FileChannel for Leaf File",
+            e);
+      }
+      return;
+    }
     String actualFileNameVal = carbonDataFileName + CarbonCommonConstants.FILE_INPROGRESS_STATUS;
     FileData fileData = new FileData(actualFileNameVal, dataWriterVo.getStoreLocation());
     dataWriterVo.getFileManager().add(fileData);
@@ -306,7 +320,7 @@ public abstract class AbstractFactDataWriter<T> implements CarbonFactDataWriter<
     try {
       // open channel for new data file
       fileOutputStream = new FileOutputStream(this.carbonDataFileTempPath, true);
-      this.fileChannel = fileOutputStream.getChannel();
+      this.fileChannel = new LocalDataFileChannel(fileOutputStream.getChannel());
     } catch (FileNotFoundException fileNotFoundException) {
       throw new CarbonDataWriterException("Problem while getting the FileChannel for Leaf File",
           fileNotFoundException);
@@ -342,7 +356,7 @@ public abstract class AbstractFactDataWriter<T> implements CarbonFactDataWriter<
    * This method will write metadata at the end of file file format in thrift format
    */
   protected abstract void writeBlockletInfoToFile(
-      FileChannel channel, String filePath) throws CarbonDataWriterException;
+      DataFileChannel channel, String filePath) throws CarbonDataWriterException;
 
   /**
    * Below method will be used to fill the vlock info details
@@ -417,21 +431,53 @@ public abstract class AbstractFactDataWriter<T> implements CarbonFactDataWriter<
    * @throws CarbonDataWriterException
    */
   public void closeWriter() throws CarbonDataWriterException {
-    CarbonUtil.closeStreams(this.fileOutputStream, this.fileChannel);
     if (this.blockletInfoList.size() > 0) {
-      renameCarbonDataFile();
-      copyCarbonDataFileToCarbonStorePath(
-          this.carbonDataFileTempPath
-              .substring(0, this.carbonDataFileTempPath.lastIndexOf('.')));
+      closeCurrentFile(false);
       try {
         writeIndexFile();
       } catch (IOException e) {
         throw new CarbonDataWriterException("Problem while writing the index file", e);
       }
+    } else if (isDirectWriteToStore && null != this.fileChannel) {
+      // nothing is written to the file, so it is not published to the store
+      ((DirectStoreFileChannel) this.fileChannel).abort();
+    } else {
+      CarbonUtil.closeStreams(this.fileOutputStream, this.fileChannel);
     }
     closeExecutorService();
   }
 
+  /**
+   * This method will close the current carbon data file. File written to the local disk is
+   * renamed and copied to the carbon store path, file written directly to the store path is
+   * only closed
+   *
+   * @param copyInBackground true to copy the file by the executor service
+   * @throws CarbonDataWriterException
+   */
+  protected void closeCurrentFile(boolean copyInBackground) throws CarbonDataWriterException {
+    if (isDirectWriteToStore) {
+      // error in the close is not ignored, the buffered data is written to the store in close
+      try {
+        this.fileChannel.close();
+      } catch (IOException e) {
+        throw new CarbonDataWriterException(
+            "Problem while writing the file: " + this.carbonDataFileTempPath, e);
+      }
+      return;
+    }
+    CarbonUtil.closeStreams(this.fileOutputStream, this.fileChannel);
+    // rename carbon data file from in progress status to actual
+    renameCarbonDataFile();
+    String localFileName =
+        this.carbonDataFileTempPath.substring(0, this.carbonDataFileTempPath.lastIndexOf('.'));
+    if (copyInBackground) {
+      executorServiceSubmitList.add(executorService.submit(new CopyThread(localFileName)));
+    } else {
+      copyCarbonDataFileToCarbonStorePath(localFileName);
+    }
+  }
+
   /**
    * Below method will be used to write the idex file
    *
@@ -444,7 +490,10 @@ public abstract class AbstractFactDataWriter<T> implements CarbonFactDataWriter<
         .getIndexHeader(localCardinality, thriftColumnSchemaList, dataWriterVo.getBucketNumber());
     // get the block index info thrift
     List<BlockIndex> blockIndexThrift = CarbonMetadataUtil.getBlockIndexInfo(blockIndexInfoList);
-    String fileName = dataWriterVo.getStoreLocation() + File.separator + carbonTablePath
+    String fileLocation = isDirectWriteToStore ?
+        dataWriterVo.getCarbonDataDirectoryPath() :
+        dataWriterVo.getStoreLocation();
+    String fileName = fileLocation + File.separator + carbonTablePath
         .getCarbonIndexFileName(dataWriterVo.getCarbonDataFileAttributes().getTaskId(),
             dataWriterVo.getBucketNumber(), dataWriterVo.getTaskExtension(),
             dataWriterVo.getCarbonDataFileAttributes().getFactTimeStamp());
@@ -458,8 +507,10 @@ public abstract class AbstractFactDataWriter<T> implements CarbonFactDataWriter<
       writer.writeThrift(blockIndex);
     }
     writer.close();
-    // copy from temp to actual store location
-    copyCarbonDataFileToCarbonStorePath(fileName);
+    if (!isDirectWriteToStore) {
+      // copy from temp to actual store location
+      copyCarbonDataFileToCarbonStorePath(fileName);
+    }
   }
 
   /**
@@ -0,0 +1,229 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.carbondata.processing.store.writer;
+
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.ClosedChannelException;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+
+import org.apache.carbondata.common.logging.LogService;
+import org.apache.carbondata.common.logging.LogServiceFactory;
+import org.apache.carbondata.core.constants.CarbonCommonConstants;
+import org.apache.carbondata.core.datastore.filesystem.CarbonFile;
+import org.apache.carbondata.core.datastore.impl.FileFactory;
+import org.apache.carbondata.core.util.CarbonUtil;
+
+/**
+ * File channel which writes the carbondata file directly to the file system of the carbon
+ * store path, so the file is not written to the local disk and copied again.
+ * The written bytes are copied to a buffer and a full buffer is written to the store by the
+ * flush executor while the writer fills the other buffer, so the writer waits only when the
+ * store is slower than the data is produced.
+ * The file is written with in progress extension and renamed to the actual name when the
+ * channel is closed, so a partially written file is never read as a carbondata file. It is
+ * deleted if any write fails or the channel is aborted.
+ */
+public class DirectStoreFileChannel implements DataFileChannel {
+
+  private static final LogService LOGGER =
+      LogServiceFactory.getLogService(DirectStoreFileChannel.class.getName());
+
+  private static final int BUFFER_SIZE = 4 * 1024 * 1024;
+
+  private String filePath;
+
+  private String tempFilePath;
+
+  private DataOutputStream outputStream;
+
+  private ExecutorService flushExecutor;
+
+  /**
+   * flush of the previous full buffer, null if there is no flush in progress
+   */
+  private Future<Void> pendingFlush;
+
+  private byte[] currentBuffer;
+
+  private byte[] flushBuffer;
+
+  private int bufferedBytes;
+
+  private long size;
+
+  private boolean closed;
+
+  /**
+   * true if any write to the store failed, the file is not published then
+   */
+  private boolean failed;
+
+  /**
+   * @param filePath      path of the file in the carbon store
+   * @param blockSize     block size of the file in the store
+   * @param flushExecutor executor to write the full buffers, it is owned by the caller
+   */
+  public DirectStoreFileChannel(String filePath, long blockSize, ExecutorService flushExecutor)
+      throws IOException {
+    this.filePath = filePath;
+    this.tempFilePath = filePath + CarbonCommonConstants.FILE_INPROGRESS_STATUS;
+    this.outputStream = FileFactory.getDataOutputStream(tempFilePath,
+        FileFactory.getFileType(tempFilePath), CarbonCommonConstants.BYTEBUFFER_SIZE, blockSize);
+    this.flushExecutor = flushExecutor;
+    this.currentBuffer = new byte[BUFFER_SIZE];
+    this.flushBuffer = new byte[BUFFER_SIZE];
+  }
+
+  @Override public int write(ByteBuffer src) throws IOException {
+    ensureOpen();
+    int length = src.remaining();
+    boolean written = false;
+    try {
+      while (src.hasRemaining()) {
+        int count = Math.min(src.remaining(), currentBuffer.length - bufferedBytes);
+        src.get(currentBuffer, bufferedBytes, count);
+        bufferedBytes += count;
+        if (bufferedBytes == currentBuffer.length) {
+          flushCurrentBuffer();
+        }
+      }
+      written = true;
+    } finally {
+      // part of the data could be lost, so the file must not be published
+      if (!written) {
+        failed = true;
+      }
+    }
+    size += length;
+    return length;
+  }
+
+  /**
+   * hands over the full buffer to the flush executor and continues with the other buffer,
+   * which is free once the previous flush is finished
+   */
+  private void flushCurrentBuffer() throws IOException {
+    waitForPendingFlush();
+    final byte[] buffer = currentBuffer;
+    final int length = bufferedBytes;
+    currentBuffer = flushBuffer;
+    flushBuffer = buffer;
+    bufferedBytes = 0;
+    pendingFlush = flushExecutor.submit(new Callable<Void>() {
+      @Override public Void call() throws IOException {
+        outputStream.write(buffer, 0, length);
+        return null;
+      }
+    });
+  }
+
+  private void waitForPendingFlush() throws IOException {
+    if (null == pendingFlush) {
+      return;
+    }
+    try {
+      pendingFlush.get();
+    } catch (InterruptedException e) {
+      failed = true;
+      throw new InterruptedIOException("Interrupted while writing the file: " + filePath);
+    } catch (ExecutionException e) {
+      failed = true;
+      throw new IOException("Problem while writing the file: " + filePath, e.getCause());
+    } finally {
+      pendingFlush = null;
+    }
+  }
+
+  @Override public long size() throws IOException {
+    ensureOpen();
+    return size;
+  }
+
+  @Override public boolean isOpen() {
+    return !closed;
+  }
+
+  /**
+   * writes the remaining buffered bytes and publishes the file with its actual name
+   */
+  @Override public void close() throws IOException {
+    if (closed) {
+      return;
+    }
+    closed = true;
+    boolean published = false;
+    try {
+      if (failed) {
+        throw new IOException("File is not written completely: " + filePath);
+      }
+      waitForPendingFlush();
+      if (bufferedBytes > 0) {
+        outputStream.write(currentBuffer, 0, bufferedBytes);
+        bufferedBytes = 0;
+      }
+      outputStream.close();
+      CarbonFile tempFile =
+          FileFactory.getCarbonFile(tempFilePath, FileFactory.getFileType(tempFilePath));
+      if (!tempFile.renameForce(filePath)) {
+        throw new IOException("Problem while renaming the file: " + tempFilePath);
+      }
+      published = true;
+    } finally {
+      if (!published) {
+        deleteTempFile();
+      }
+    }
+  }
+
+  /**
+   * closes the channel without publishing the file, written data is deleted
+   */
+  public void abort() {
+    if (closed) {
+      return;
+    }
+    closed = true;
+    try {
+      waitForPendingFlush();
+    } catch (IOException e) {
+      // file is deleted anyway
+    }
+    deleteTempFile();
+  }
+
+  private void deleteTempFile() {
+    CarbonUtil.closeStreams(outputStream);
+    CarbonFile tempFile =
+        FileFactory.getCarbonFile(tempFilePath, FileFactory.getFileType(tempFilePath));
+    if (tempFile.exists() && !tempFile.delete()) {
+      LOGGER.warn("Failed to delete the partially written file: " + tempFilePath);
+    }
+  }
+
+  private void ensureOpen() throws IOException {
+    if (closed) {
+      throw new ClosedChannelException();
+    }
+  }
+}
@@ -19,7 +19,6 @@ package org.apache.carbondata.processing.store.writer.v1;
 
 import java.io.IOException;
 import java.nio.ByteBuffer;
-import java.nio.channels.FileChannel;
 import java.util.BitSet;
 
 import org.apache.carbondata.common.logging.LogService;
@@ -35,6 +34,7 @@ import org.apache.carbondata.format.FileFooter;
 import org.apache.carbondata.processing.store.colgroup.ColGroupBlockStorage;
 import org.apache.carbondata.processing.store.writer.AbstractFactDataWriter;
 import org.apache.carbondata.processing.store.writer.CarbonDataWriterVo;
+import org.apache.carbondata.processing.store.writer.DataFileChannel;
 import org.apache.carbondata.processing.store.writer.exception.CarbonDataWriterException;
 
 public class CarbonFactDataWriterImplV1 extends AbstractFactDataWriter<int[]> {
@@ -230,7 +230,7 @@ public class CarbonFactDataWriterImplV1 extends AbstractFactDataWriter<int[]> {
    * @throws CarbonDataWriterException if will throw CarbonDataWriterException when any thing
    *                                   goes wrong while while writing the leaf file
    */
-  private long writeDataToFile(NodeHolder nodeHolder, FileChannel channel)
+  private long writeDataToFile(NodeHolder nodeHolder, DataFileChannel channel)
       throws CarbonDataWriterException {
     // create byte buffer
     byte[][] compressedIndex = nodeHolder.getCompressedIndex();
@@ -369,7 +369,7 @@ public class CarbonFactDataWriterImplV1 extends AbstractFactDataWriter<int[]> {
   /**
    * This method will write metadata at the end of file file format in thrift format
    */
-  protected void writeBlockletInfoToFile(FileChannel channel, String filePath)
+  protected void writeBlockletInfoToFile(DataFileChannel channel, String filePath)
       throws CarbonDataWriterException {
     try {
       long currentPosition = channel.size();
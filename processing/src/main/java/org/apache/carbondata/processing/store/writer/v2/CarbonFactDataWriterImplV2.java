@@ -18,7 +18,6 @@ package org.apache.carbondata.processing.store.writer.v2;
 
 import java.io.IOException;
 import java.nio.ByteBuffer;
-import java.nio.channels.FileChannel;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -35,6 +34,7 @@ import org.apache.carbondata.core.writer.CarbonFooterWriter;
 import org.apache.carbondata.format.DataChunk2;
 import org.apache.carbondata.format.FileFooter;
 import org.apache.carbondata.processing.store.writer.CarbonDataWriterVo;
+import org.apache.carbondata.processing.store.writer.DataFileChannel;
 import org.apache.carbondata.processing.store.writer.exception.CarbonDataWriterException;
 import org.apache.carbondata.processing.store.writer.v1.CarbonFactDataWriterImplV1;
 
@@ -138,8 +138,8 @@ public class CarbonFactDataWriterImplV2 extends CarbonFactDataWriterImplV1 {
    * @param channel
    * @throws CarbonDataWriterException
    */
-  private void writeDataToFile(NodeHolder nodeHolder, byte[][] dataChunksBytes, FileChannel channel)
-      throws CarbonDataWriterException {
+  private void writeDataToFile(NodeHolder nodeHolder, byte[][] dataChunksBytes,
+      DataFileChannel channel) throws CarbonDataWriterException {
     long offset = 0;
     try {
       offset = channel.size();
@@ -268,7 +268,7 @@ public class CarbonFactDataWriterImplV2 extends CarbonFactDataWriterImplV1 {
   /**
    * This method will write metadata at the end of file file format in thrift format
    */
-  protected void writeBlockletInfoToFile(FileChannel channel,
+  protected void writeBlockletInfoToFile(DataFileChannel channel,
       String filePath) throws CarbonDataWriterException {
     try {
       // get the current file position
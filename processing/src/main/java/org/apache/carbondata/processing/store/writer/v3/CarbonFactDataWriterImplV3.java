@@ -17,8 +17,8 @@
 package org.apache.carbondata.processing.store.writer.v3;
 
 import java.io.IOException;
+import java.math.BigDecimal;
 import java.nio.ByteBuffer;
-import java.nio.channels.FileChannel;
 import java.util.ArrayList;
 import java.util.BitSet;
 import java.util.List;
@@ -37,11 +37,13 @@ import org.apache.carbondata.core.util.CarbonMetadataUtil;
 import org.apache.carbondata.core.util.CarbonProperties;
 import org.apache.carbondata.core.util.CarbonUtil;
 import org.apache.carbondata.core.util.NodeHolder;
+import org.apache.carbondata.format.BlockletIndex;
 import org.apache.carbondata.format.BlockletInfo3;
 import org.apache.carbondata.format.FileFooter3;
 import org.apache.carbondata.processing.store.colgroup.ColGroupBlockStorage;
 import org.apache.carbondata.processing.store.writer.AbstractFactDataWriter;
 import org.apache.carbondata.processing.store.writer.CarbonDataWriterVo;
+import org.apache.carbondata.processing.store.writer.DataFileChannel;
 import org.apache.carbondata.processing.store.writer.exception.CarbonDataWriterException;
 
 /**
@@ -75,6 +77,22 @@ public class CarbonFactDataWriterImplV3 extends AbstractFactDataWriter<short[]>
       LOGGER.info("Blocklet size configure for table is: " + blockletSize);
     }
     dataWriterHolder = new DataWriterHolder();
+    // footer is written through the file channel, so the file can be written to the store path
+    isDirectWriteToStore = Boolean.parseBoolean(CarbonProperties.getInstance()
+        .getProperty(CarbonCommonConstants.LOAD_DIRECT_WRITE_TO_STORE_PATH,
+            CarbonCommonConstants.LOAD_DIRECT_WRITE_TO_STORE_PATH_DEFAULT));
+  }
+
+  /**
+   * min and max of the decimal measure stored as unscaled long values are unscaled too,
+   * so those are converted back to decimal using the scale of the page
+   */
+  private static Object getMeasureValue(WriterCompressModel compressionModel, int index,
+      Object value) {
+    if (compressionModel.getType()[index] == CarbonCommonConstants.FIXED_POINT_DECIMAL_MEASURE) {
+      return BigDecimal.valueOf((long) value, compressionModel.getMantissa()[index]);
+    }
+    return value;
   }
 
   /**
@@ -139,10 +157,12 @@ public class CarbonFactDataWriterImplV3 extends AbstractFactDataWriter<short[]>
     }
     for (int i = 0; i < measureArray.length; i++) {
       measureMaxValue[i] = CarbonMetadataUtil
-          .getByteValueForMeasure(compressionModel.getMaxValue()[i],
+          .getByteValueForMeasure(getMeasureValue(compressionModel, i,
+              compressionModel.getMaxValue()[i]),
               dataWriterVo.getSegmentProperties().getMeasures().get(i).getDataType());
       measureMinValue[i] = CarbonMetadataUtil
-          .getByteValueForMeasure(compressionModel.getMinValue()[i],
+          .getByteValueForMeasure(getMeasureValue(compressionModel, i,
+              compressionModel.getMinValue()[i]),
               dataWriterVo.getSegmentProperties().getMeasures().get(i).getDataType());
     }
     int[] keyBlockIdxLengths = new int[keyBlockSize];
@@ -284,7 +304,7 @@ public class CarbonFactDataWriterImplV3 extends AbstractFactDataWriter<short[]>
     return buffer.array();
   }
 
-  @Override protected void writeBlockletInfoToFile(FileChannel channel, String filePath)
+  @Override protected void writeBlockletInfoToFile(DataFileChannel channel, String filePath)
       throws CarbonDataWriterException {
     try {
       // get the current file position
@@ -347,7 +367,7 @@ public class CarbonFactDataWriterImplV3 extends AbstractFactDataWriter<short[]>
     }
   }
 
-  private void writeDataToFile(FileChannel channel) {
+  private void writeDataToFile(DataFileChannel channel) {
     // get the list of node holder list
     List<NodeHolder> nodeHolderList = dataWriterHolder.getNodeHolder();
     long blockletDataSize = 0;
@@ -396,19 +416,11 @@ public class CarbonFactDataWriterImplV3 extends AbstractFactDataWriter<short[]>
    * @param channel
    * @param dataChunkBytes
    */
-  private void writeDataToFile(FileChannel channel, byte[][] dataChunkBytes) {
+  private void writeDataToFile(DataFileChannel channel, byte[][] dataChunkBytes) {
     long offset = 0;
     // write the header
     try {
-      if (fileChannel.size() == 0) {
-        // below code is to write the file header
-        byte[] fileHeader = CarbonUtil.getByteArray(CarbonMetadataUtil
-            .getFileHeader(true, thriftColumnSchemaList, dataWriterVo.getSchemaUpdatedTimeStamp()));
-        ByteBuffer buffer = ByteBuffer.allocate(fileHeader.length);
-        buffer.put(fileHeader);
-        buffer.flip();
-        fileChannel.write(buffer);
-      }
+      writeFileHeaderIfRequired();
       offset = channel.size();
     } catch (IOException e) {
       throw new CarbonDataWriterException("Problem while getting the file channel size");
@@ -498,6 +510,57 @@ public class CarbonFactDataWriterImplV3 extends AbstractFactDataWriter<short[]>
     blockletMetadata.add(blockletInfo3);
   }
 
+  /**
+   * Below method will be used to write the file header if nothing is written to the file yet
+   */
+  private void writeFileHeaderIfRequired() throws IOException {
+    if (fileChannel.size() == 0) {
+      // below code is to write the file header
+      byte[] fileHeader = CarbonUtil.getByteArray(CarbonMetadataUtil
+          .getFileHeader(true, thriftColumnSchemaList, dataWriterVo.getSchemaUpdatedTimeStamp()));
+      ByteBuffer buffer = ByteBuffer.allocate(fileHeader.length);
+      buffer.put(fileHeader);
+      buffer.flip();
+      fileChannel.write(buffer);
+    }
+  }
+
+  /**
+   * Below method will be used to append a blocklet copied from another carbondata file written
+   * with the same schema and cardinality. Column chunks are written as they are, only the
+   * offsets in the blocklet info are moved to the position of the blocklet in this file
+   *
+   * @param blockletData  data of all the column chunks of the blocklet
+   * @param blockletInfo  blocklet info of the blocklet in the source file
+   * @param index         blocklet index of the blocklet in the source file
+   * @throws CarbonDataWriterException
+   */
+  public void writeEncodedBlocklet(byte[] blockletData, BlockletInfo3 blockletInfo,
+      BlockletIndex index) throws CarbonDataWriterException {
+    // to check if data size will exceed the block size then create a new file
+    updateBlockletFileChannel(blockletData.length);
+    long offsetDifference;
+    try {
+      writeFileHeaderIfRequired();
+      offsetDifference = fileChannel.size() - blockletInfo.getColumn_data_chunks_offsets().get(0);
+      fileChannel.write(ByteBuffer.wrap(blockletData));
+    } catch (IOException e) {
+      throw new CarbonDataWriterException("Problem while writing the data", e);
+    }
+    List<Long> dataChunksOffset =
+        new ArrayList<>(blockletInfo.getColumn_data_chunks_offsets().size());
+    for (Long offset : blockletInfo.getColumn_data_chunks_offsets()) {
+      dataChunksOffset.add(offset + offsetDifference);
+    }
+    blockletIndex.add(index);
+    blockletMetadata.add(
+        new BlockletInfo3(blockletInfo.getNum_rows(), dataChunksOffset,
+            blockletInfo.getColumn_data_chunks_length(),
+            blockletInfo.getDimension_offsets() + offsetDifference,
+            blockletInfo.getMeasure_offsets() + offsetDifference,
+            blockletInfo.getNumber_number_of_pages()));
+  }
+
   /**
    * Below method will be used to fill the block info details
    *
@@ -564,10 +627,7 @@ public class CarbonFactDataWriterImplV3 extends AbstractFactDataWriter<short[]>
    * @throws CarbonDataWriterException
    */
   public void closeWriter() throws CarbonDataWriterException {
-    CarbonUtil.closeStreams(this.fileOutputStream, this.fileChannel);
-    renameCarbonDataFile();
-    copyCarbonDataFileToCarbonStorePath(
-        this.carbonDataFileTempPath.substring(0, this.carbonDataFileTempPath.lastIndexOf('.')));
+    closeCurrentFile(false);
     try {
       writeIndexFile();
     } catch (IOException e) {
@@ -243,6 +243,13 @@ public class BadRecordsLogger {
     return isDataLoadFail;
   }
 
+  /**
+   * @return true if the bad records are written to the log or to the redirected csv file
+   */
+  public boolean isBadRecordsLogged() {
+    return badRecordsLogRedirect || badRecordLoggerEnable;
+  }
+
   /**
    * closeStreams void
    */
@@ -42,7 +42,9 @@ import org.apache.carbondata.core.datastore.impl.FileFactory.FileType;
 import org.apache.carbondata.core.keygenerator.KeyGenException;
 import org.apache.carbondata.core.metadata.CarbonMetadata;
 import org.apache.carbondata.core.metadata.CarbonTableIdentifier;
+import org.apache.carbondata.core.metadata.SortScope;
 import org.apache.carbondata.core.metadata.datatype.DataType;
+import org.apache.carbondata.core.metadata.encoder.Encoding;
 import org.apache.carbondata.core.metadata.schema.table.CarbonTable;
 import org.apache.carbondata.core.metadata.schema.table.column.CarbonDimension;
 import org.apache.carbondata.core.metadata.schema.table.column.CarbonMeasure;
@@ -248,6 +250,49 @@ public final class CarbonDataProcessorUtil {
         .toPrimitive(noDictionaryMapping.toArray(new Boolean[noDictionaryMapping.size()]));
   }
 
+  /**
+   * Preparing the boolean [] to map whether the dimension is no Dictionary or not, in the order
+   * of the dimensions of the converted rows of the table. Complex dimensions are not part of it.
+   */
+  public static boolean[] getNoDictionaryMapping(CarbonTable carbonTable) {
+    List<Boolean> noDictionaryMapping = new ArrayList<Boolean>();
+    for (CarbonDimension dimension : carbonTable
+        .getDimensionByTableName(carbonTable.getFactTableName())) {
+      if (!dimension.isComplex()) {
+        noDictionaryMapping.add(!dimension.hasEncoding(Encoding.DICTIONARY));
+      }
+    }
+    return ArrayUtils
+        .toPrimitive(noDictionaryMapping.toArray(new Boolean[noDictionaryMapping.size()]));
+  }
+
+  /**
+   * @return indexes of the z-order columns of the table among its non complex dimensions, in
+   * the order of the z-order columns, null if the rows are sorted on the mdk key
+   */
+  public static int[] getZOrderDimensionIndexes(CarbonTable carbonTable) {
+    List<String> zOrderColumns = carbonTable.getZOrderColumns();
+    if (zOrderColumns.isEmpty()) {
+      return null;
+    }
+    List<String> dimensionNames = new ArrayList<String>();
+    for (CarbonDimension dimension : carbonTable
+        .getDimensionByTableName(carbonTable.getFactTableName())) {
+      if (!dimension.isComplex()) {
+        dimensionNames.add(dimension.getColName().toLowerCase());
+      }
+    }
+    int[] indexes = new int[zOrderColumns.size()];
+    for (int i = 0; i < indexes.length; i++) {
+      indexes[i] = dimensionNames.indexOf(zOrderColumns.get(i));
+      if (indexes[i] < 0) {
+        throw new IllegalArgumentException(
+            "Z-order column is not a dimension of the table: " + zOrderColumns.get(i));
+      }
+    }
+    return indexes;
+  }
+
   /**
    * Preparing the boolean [] to map whether the dimension use inverted index or not.
    */
@@ -522,4 +567,41 @@ public final class CarbonDataProcessorUtil {
     return aggType;
   }
 
+  /**
+   * Gets the sort scope of the load, sort scope given in the load option is used if present
+   * otherwise the configured one. The load command validates the resolved sort scope against
+   * the table, like tables with bucketing which are always sorted locally.
+   *
+   * @param sortScopeOption sort scope given in the load option, can be null
+   */
+  public static SortScope getSortScope(String sortScopeOption) {
+    if (null != sortScopeOption) {
+      return SortScope.getSortScope(sortScopeOption);
+    }
+    return getConfiguredSortScope();
+  }
+
+  /**
+   * Gets the configured sort scope, carbon.load.use.batch.sort is used if the sort scope is
+   * not configured
+   */
+  public static SortScope getConfiguredSortScope() {
+    String sortScope =
+        CarbonProperties.getInstance().getProperty(CarbonCommonConstants.LOAD_SORT_SCOPE);
+    if (null == sortScope) {
+      boolean batchSort = Boolean.parseBoolean(CarbonProperties.getInstance()
+          .getProperty(CarbonCommonConstants.LOAD_USE_BATCH_SORT,
+              CarbonCommonConstants.LOAD_USE_BATCH_SORT_DEFAULT));
+      sortScope = batchSort ?
+          SortScope.BATCH_SORT.name() :
+          CarbonCommonConstants.LOAD_SORT_SCOPE_DEFAULT;
+    } else if (!SortScope.isValidSortScope(sortScope)) {
+      LOGGER.warn("The " + CarbonCommonConstants.LOAD_SORT_SCOPE + " configuration value is "
+          + "invalid: " + sortScope + ". Using the default value "
+          + CarbonCommonConstants.LOAD_SORT_SCOPE_DEFAULT);
+      sortScope = CarbonCommonConstants.LOAD_SORT_SCOPE_DEFAULT;
+    }
+    return SortScope.getSortScope(sortScope);
+  }
+
 }
\ No newline at end of file
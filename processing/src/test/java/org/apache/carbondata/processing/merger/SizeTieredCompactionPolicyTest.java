@@ -0,0 +1,86 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.carbondata.processing.merger;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.apache.carbondata.core.constants.CarbonCommonConstants;
+import org.apache.carbondata.core.statusmanager.LoadMetadataDetails;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class SizeTieredCompactionPolicyTest {
+
+  private static final long MB = 1024 * 1024;
+
+  private static SizeTieredCompactionPolicy.SegmentStats createStats(String loadName,
+      long size) {
+    LoadMetadataDetails details = new LoadMetadataDetails();
+    details.setLoadName(loadName);
+    details.setLoadStatus(CarbonCommonConstants.STORE_LOADSTATUS_SUCCESS);
+    SizeTieredCompactionPolicy.SegmentStats stats =
+        new SizeTieredCompactionPolicy.SegmentStats(details, size);
+    stats.rowCount = size / 100;
+    return stats;
+  }
+
+  private static List<String> getLoadNames(List<LoadMetadataDetails> segments) {
+    List<String> loadNames = new ArrayList<>();
+    for (LoadMetadataDetails segment : segments) {
+      loadNames.add(segment.getLoadName());
+    }
+    return loadNames;
+  }
+
+  @Test public void testSmallSegmentsAreMergedTogether() {
+    List<SizeTieredCompactionPolicy.SegmentStats> segments = new ArrayList<>();
+    segments.add(createStats("0.1", 500 * MB));
+    segments.add(createStats("4", 2 * MB));
+    segments.add(createStats("5", 1 * MB));
+    segments.add(createStats("6", 500 * MB));
+    segments.add(createStats("7", 3 * MB));
+    segments.add(createStats("8", 1 * MB));
+    List<LoadMetadataDetails> toBeMerged =
+        new SizeTieredCompactionPolicy(null, null).select(segments);
+    Assert.assertEquals("[4, 5, 7, 8]", getLoadNames(toBeMerged).toString());
+  }
+
+  @Test public void testTierBelowMinThresholdIsNotMerged() {
+    List<SizeTieredCompactionPolicy.SegmentStats> segments = new ArrayList<>();
+    segments.add(createStats("0", 1 * MB));
+    segments.add(createStats("1", 1 * MB));
+    segments.add(createStats("2", 1 * MB));
+    Assert.assertTrue(new SizeTieredCompactionPolicy(null, null).select(segments).isEmpty());
+
+    // tier with many deleted rows is merged to purge them
+    segments.get(1).deletedRowCount = segments.get(1).rowCount * 2;
+    Assert.assertEquals("[0, 1, 2]",
+        getLoadNames(new SizeTieredCompactionPolicy(null, null).select(segments)).toString());
+  }
+
+  @Test public void testSegmentBiggerThanMajorCompactionSizeIsNotMerged() {
+    List<SizeTieredCompactionPolicy.SegmentStats> segments = new ArrayList<>();
+    segments.add(createStats("0", 2000 * MB));
+    segments.add(createStats("1", 1500 * MB));
+    segments.add(createStats("2", 1800 * MB));
+    segments.add(createStats("3", 1600 * MB));
+    Assert.assertTrue(new SizeTieredCompactionPolicy(null, null).select(segments).isEmpty());
+  }
+}
@@ -0,0 +1,71 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.carbondata.processing.newflow.parser.impl;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import org.apache.carbondata.core.metadata.datatype.DataType;
+import org.apache.carbondata.core.metadata.encoder.Encoding;
+import org.apache.carbondata.core.metadata.schema.table.column.CarbonDimension;
+import org.apache.carbondata.core.metadata.schema.table.column.CarbonMeasure;
+import org.apache.carbondata.core.metadata.schema.table.column.ColumnSchema;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class PrimitiveParserImplTest {
+
+  private static ColumnSchema createColumnSchema(DataType dataType, boolean isDimension) {
+    ColumnSchema columnSchema = new ColumnSchema();
+    columnSchema.setColumnName("c1");
+    columnSchema.setColumnUniqueId(UUID.randomUUID().toString());
+    columnSchema.setDataType(dataType);
+    columnSchema.setDimensionColumn(isDimension);
+    List<Encoding> encodings = new ArrayList<>();
+    if (isDimension) {
+      encodings.add(Encoding.DICTIONARY);
+    }
+    columnSchema.setEncodingList(encodings);
+    return columnSchema;
+  }
+
+  @Test public void testNumbersOfDimensionAreParsedAsPlainString() {
+    PrimitiveParserImpl parser = new PrimitiveParserImpl(
+        new CarbonDimension(createColumnSchema(DataType.STRING, true), 0, 0, -1, -1));
+    Assert.assertEquals("10000000", parser.parse(1.0E7));
+    Assert.assertEquals("0.000015", parser.parse(1.5E-5));
+    Assert.assertEquals("1.1", parser.parse(1.1f));
+    Assert.assertEquals("-2.5", parser.parse(-2.5));
+    Assert.assertEquals("NaN", parser.parse(Double.NaN));
+    Assert.assertEquals("10000000000", parser.parse(10000000000L));
+    Assert.assertEquals("100000000000000000000.12",
+        parser.parse(new BigDecimal("1.0000000000000000000012E20")));
+    Assert.assertEquals("abc", parser.parse("abc"));
+    Assert.assertNull(parser.parse(null));
+  }
+
+  @Test public void testNumbersOfMeasureAreNotConverted() {
+    PrimitiveParserImpl parser =
+        new PrimitiveParserImpl(new CarbonMeasure(createColumnSchema(DataType.DOUBLE, false), 0));
+    Assert.assertEquals(1.0E7, parser.parse(1.0E7));
+    Assert.assertEquals(10L, parser.parse(10L));
+  }
+}
@@ -0,0 +1,164 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.carbondata.processing.newflow.steps;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.UUID;
+
+import org.apache.carbondata.common.CarbonIterator;
+import org.apache.carbondata.core.constants.CarbonCommonConstants;
+import org.apache.carbondata.core.metadata.datatype.DataType;
+import org.apache.carbondata.core.metadata.encoder.Encoding;
+import org.apache.carbondata.core.metadata.schema.table.column.CarbonDimension;
+import org.apache.carbondata.core.metadata.schema.table.column.ColumnSchema;
+import org.apache.carbondata.core.util.CarbonProperties;
+import org.apache.carbondata.processing.newflow.CarbonDataLoadConfiguration;
+import org.apache.carbondata.processing.newflow.DataField;
+import org.apache.carbondata.processing.newflow.constants.DataLoadProcessorConstants;
+import org.apache.carbondata.processing.newflow.row.CarbonRow;
+import org.apache.carbondata.processing.newflow.row.CarbonRowBatch;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+public class InputProcessorStepImplTest {
+
+  private static final int ROW_COUNT = 25;
+
+  @Before public void setUp() {
+    CarbonProperties.getInstance().addProperty(CarbonCommonConstants.DATA_LOAD_BATCH_SIZE, "10");
+  }
+
+  @After public void tearDown() {
+    CarbonProperties.getInstance().addProperty(CarbonCommonConstants.DATA_LOAD_BATCH_SIZE,
+        CarbonCommonConstants.DATA_LOAD_BATCH_SIZE_DEFAULT);
+  }
+
+  private static DataField createField(String name, int ordinal) {
+    ColumnSchema columnSchema = new ColumnSchema();
+    columnSchema.setColumnName(name);
+    columnSchema.setColumnUniqueId(UUID.randomUUID().toString());
+    columnSchema.setDataType(DataType.STRING);
+    columnSchema.setDimensionColumn(true);
+    columnSchema.setColumnar(true);
+    columnSchema.setEncodingList(new ArrayList<Encoding>());
+    return new DataField(new CarbonDimension(columnSchema, ordinal, -1, -1, -1));
+  }
+
+  private static InputProcessorStepImpl createStep(boolean reuseRowBuffer, boolean preFetch) {
+    CarbonDataLoadConfiguration configuration = new CarbonDataLoadConfiguration();
+    configuration.setDataFields(new DataField[] { createField("id", 0), createField("name", 1) });
+    // input columns are in different order than the fields
+    configuration.setHeader(new String[] { "name", "id" });
+    configuration.setDataLoadProperty(DataLoadProcessorConstants.COMPLEX_DELIMITERS,
+        new String[] { "$", ":" });
+    configuration.setDataLoadProperty(DataLoadProcessorConstants.SERIALIZATION_NULL_FORMAT,
+        "\\N");
+    configuration.setPreFetch(preFetch);
+    configuration.setReuseRowBuffer(reuseRowBuffer);
+    CarbonIterator<Object[]> input = new CarbonIterator<Object[]>() {
+      private int index;
+
+      @Override public boolean hasNext() {
+        return index < ROW_COUNT;
+      }
+
+      @Override public Object[] next() {
+        String[] row = new String[] { "name" + index, String.valueOf(index) };
+        index++;
+        return row;
+      }
+    };
+    InputProcessorStepImpl step =
+        new InputProcessorStepImpl(configuration, new CarbonIterator[] { input });
+    step.initialize();
+    return step;
+  }
+
+  /**
+   * reads all the batches, values are copied before the next batch is requested as the
+   * sort step does
+   */
+  private static List<List<CarbonRow>> readBatches(InputProcessorStepImpl step,
+      List<String> values) {
+    List<List<CarbonRow>> batches = new ArrayList<>();
+    Iterator<CarbonRowBatch> iterator = step.execute()[0];
+    while (iterator.hasNext()) {
+      CarbonRowBatch batch = iterator.next();
+      List<CarbonRow> rows = new ArrayList<>();
+      while (batch.hasNext()) {
+        CarbonRow row = batch.next();
+        rows.add(row);
+        values.add(Arrays.toString(row.getData()));
+      }
+      batches.add(rows);
+    }
+    return batches;
+  }
+
+  private static void assertValues(List<String> values) {
+    Assert.assertEquals(ROW_COUNT, values.size());
+    for (int i = 0; i < ROW_COUNT; i++) {
+      Assert.assertEquals("[" + i + ", name" + i + "]", values.get(i));
+    }
+  }
+
+  @Test public void testRowsAreReusedForAlternateBatches() throws Exception {
+    InputProcessorStepImpl step = createStep(true, false);
+    List<String> values = new ArrayList<>();
+    try {
+      List<List<CarbonRow>> batches = readBatches(step, values);
+      Assert.assertEquals(3, batches.size());
+      Assert.assertNotSame(batches.get(0).get(0), batches.get(1).get(0));
+      for (int i = 0; i < batches.get(2).size(); i++) {
+        Assert.assertSame(batches.get(0).get(i), batches.get(2).get(i));
+      }
+    } finally {
+      step.close();
+    }
+    assertValues(values);
+  }
+
+  @Test public void testReusedRowsWithPreFetch() throws Exception {
+    InputProcessorStepImpl step = createStep(true, true);
+    List<String> values = new ArrayList<>();
+    try {
+      readBatches(step, values);
+    } finally {
+      step.close();
+    }
+    assertValues(values);
+  }
+
+  @Test public void testRowsAreNotReusedByDefault() throws Exception {
+    InputProcessorStepImpl step = createStep(false, false);
+    List<String> values = new ArrayList<>();
+    try {
+      List<List<CarbonRow>> batches = readBatches(step, values);
+      Assert.assertNotSame(batches.get(0).get(0), batches.get(2).get(0));
+    } finally {
+      step.close();
+    }
+    assertValues(values);
+  }
+}
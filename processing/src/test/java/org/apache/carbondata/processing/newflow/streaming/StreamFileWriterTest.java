@@ -0,0 +1,142 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.carbondata.processing.newflow.streaming;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+
+import org.apache.carbondata.core.metadata.datatype.DataType;
+import org.apache.carbondata.core.metadata.encoder.Encoding;
+import org.apache.carbondata.core.metadata.schema.table.column.ColumnSchema;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+public class StreamFileWriterTest {
+
+  private File file;
+
+  private List<ColumnSchema> columnSchemas;
+
+  @Before public void setUp() throws Exception {
+    file = File.createTempFile("part-0-0_batchno0-0-0", ".stream");
+    file.delete();
+    columnSchemas = new ArrayList<>();
+    columnSchemas.add(createColumn("name", DataType.STRING, true, Encoding.DICTIONARY));
+    columnSchemas.add(createColumn("city", DataType.STRING, true));
+    columnSchemas.add(createColumn("age", DataType.INT, false));
+    columnSchemas.add(createColumn("salary", DataType.DECIMAL, false));
+  }
+
+  @After public void tearDown() {
+    file.delete();
+  }
+
+  private static ColumnSchema createColumn(String name, DataType dataType, boolean isDimension,
+      Encoding... encodings) {
+    ColumnSchema columnSchema = new ColumnSchema();
+    columnSchema.setColumnName(name);
+    columnSchema.setColumnUniqueId(UUID.randomUUID().toString());
+    columnSchema.setDataType(dataType);
+    columnSchema.setDimensionColumn(isDimension);
+    columnSchema.setColumnar(true);
+    columnSchema.setEncodingList(new ArrayList<>(Arrays.asList(encodings)));
+    columnSchema.setPrecision(10);
+    columnSchema.setScale(2);
+    return columnSchema;
+  }
+
+  private static Object[] createRow(int i) {
+    return new Object[] { i + 2, ("city" + i).getBytes(), i % 3 == 0 ? null : (long) i,
+        new BigDecimal(i + ".50") };
+  }
+
+  private int readAll(long length) throws Exception {
+    StreamFileReader reader = new StreamFileReader(file.getPath(), length);
+    reader.open();
+    int count = 0;
+    try {
+      while (reader.hasNext()) {
+        Object[] row = reader.next();
+        Object[] expected = createRow(count);
+        Assert.assertEquals(expected[0], row[0]);
+        Assert.assertArrayEquals((byte[]) expected[1], (byte[]) row[1]);
+        Assert.assertEquals(expected[2], row[2]);
+        Assert.assertEquals(expected[3], row[3]);
+        count++;
+      }
+    } finally {
+      reader.close();
+    }
+    return count;
+  }
+
+  /**
+   * test rows of all the micro batches are read back in order
+   */
+  @Test public void testAppendMicroBatch() throws Exception {
+    StreamFileWriter writer = new StreamFileWriter(file.getPath(), columnSchemas, 0L);
+    writer.open();
+    for (int i = 0; i < 10; i++) {
+      writer.addRow(createRow(i));
+    }
+    writer.appendBlocklet();
+    writer.close();
+    long firstBatchLength = file.length();
+
+    writer = new StreamFileWriter(file.getPath(), columnSchemas, 0L);
+    Assert.assertEquals(file.getPath(), writer.open());
+    for (int i = 10; i < 25; i++) {
+      writer.addRow(createRow(i));
+    }
+    writer.close();
+
+    Assert.assertEquals(25, readAll(file.length()));
+    // rows appended after the length is known are not read
+    Assert.assertEquals(10, readAll(firstBatchLength));
+  }
+
+  /**
+   * test incomplete blocklet at the end of file is ignored and new file is started on append
+   */
+  @Test public void testIncompleteBlocklet() throws Exception {
+    StreamFileWriter writer = new StreamFileWriter(file.getPath(), columnSchemas, 0L);
+    writer.open();
+    for (int i = 0; i < 5; i++) {
+      writer.addRow(createRow(i));
+    }
+    writer.close();
+    FileOutputStream out = new FileOutputStream(file, true);
+    out.write(new byte[] { 0, 0, 0, 100, 1, 2 });
+    out.close();
+
+    Assert.assertEquals(5, readAll(file.length()));
+    writer = new StreamFileWriter(file.getPath(), columnSchemas, 0L);
+    String newPath = writer.open();
+    writer.close();
+    Assert.assertNotEquals(file.getPath(), newPath);
+    Assert.assertTrue(newPath.endsWith(".stream"));
+    new File(newPath).delete();
+  }
+}
@@ -0,0 +1,214 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.carbondata.processing.parquetload;
+
+import java.io.File;
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Calendar;
+import java.util.List;
+
+import org.apache.carbondata.processing.newflow.exception.CarbonDataLoadingException;
+
+import org.apache.hadoop.conf.Configuration;
+import org.apache.hadoop.fs.Path;
+import org.apache.hadoop.mapreduce.TaskAttemptID;
+import org.apache.hadoop.mapreduce.lib.input.FileSplit;
+import org.apache.hadoop.mapreduce.task.TaskAttemptContextImpl;
+import org.apache.parquet.example.data.Group;
+import org.apache.parquet.example.data.simple.SimpleGroupFactory;
+import org.apache.parquet.hadoop.ParquetWriter;
+import org.apache.parquet.hadoop.example.GroupWriteSupport;
+import org.apache.parquet.io.api.Binary;
+import org.apache.parquet.schema.MessageType;
+import org.apache.parquet.schema.MessageTypeParser;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+public class ParquetRecordReaderIteratorTest {
+
+  private static final String SCHEMA = "message test {\n"
+      + "  required int32 id;\n"
+      + "  optional binary name (UTF8);\n"
+      + "  optional boolean flag;\n"
+      + "  optional int64 count;\n"
+      + "  optional float ratio;\n"
+      + "  optional double salary;\n"
+      + "  optional int32 small_price (DECIMAL(9,2));\n"
+      + "  optional int64 price (DECIMAL(18,3));\n"
+      + "  optional fixed_len_byte_array(16) big_price (DECIMAL(38,4));\n"
+      + "  optional int32 dob (DATE);\n"
+      + "  optional int64 updated (TIMESTAMP_MILLIS);\n"
+      + "  optional int96 created;\n"
+      + "}";
+
+  private static final long MILLIS_PER_DAY = 24 * 60 * 60 * 1000L;
+
+  private static final long JULIAN_DAY_OF_EPOCH = 2440588;
+
+  private static final String NULL_FORMAT = "\\N";
+
+  private File file;
+
+  private Configuration configuration;
+
+  @Before public void setUp() throws Exception {
+    file = new File("target/ParquetRecordReaderIteratorTest/data.parquet");
+    file.getParentFile().mkdirs();
+    file.delete();
+    configuration = new Configuration();
+    MessageType schema = MessageTypeParser.parseMessageType(SCHEMA);
+    GroupWriteSupport.setSchema(schema, configuration);
+    ParquetWriter<Group> writer = new ParquetWriter<>(new Path(file.getCanonicalPath()),
+        configuration, new GroupWriteSupport());
+    SimpleGroupFactory factory = new SimpleGroupFactory(schema);
+    try {
+      writer.write(factory.newGroup()
+          .append("id", 1)
+          .append("name", "abc")
+          .append("flag", true)
+          .append("count", 10000000000L)
+          .append("ratio", 1.1f)
+          .append("salary", 1.0E7)
+          .append("small_price", 12345)
+          .append("price", 1234567L)
+          .append("big_price", toFixedBinary(new BigDecimal("-123456789.1234"), 16))
+          .append("dob", 17000)
+          .append("updated", 1500000000000L)
+          .append("created", toInt96(17000, 3600L * 1000 * 1000 * 1000)));
+      // only required column is set, others are null
+      writer.write(factory.newGroup().append("id", 2));
+    } finally {
+      writer.close();
+    }
+  }
+
+  @After public void tearDown() {
+    file.delete();
+  }
+
+  @Test public void testReadAllTypes() throws Exception {
+    String[] header = ParquetRecordReaderIterator.readHeader(file.getCanonicalPath(),
+        configuration);
+    Assert.assertArrayEquals(new String[] { "id", "name", "flag", "count", "ratio", "salary",
+        "small_price", "price", "big_price", "dob", "updated", "created" }, header);
+    List<Object[]> rows = readRows(header);
+    Assert.assertEquals(2, rows.size());
+
+    Object[] row = rows.get(0);
+    Assert.assertEquals(1L, row[0]);
+    Assert.assertEquals("abc", row[1]);
+    Assert.assertEquals("true", row[2]);
+    Assert.assertEquals(10000000000L, row[3]);
+    // float is returned as the double of its string, not as 1.100000023841858
+    Assert.assertEquals(1.1, row[4]);
+    Assert.assertEquals(1.0E7, row[5]);
+    Assert.assertEquals(new BigDecimal("123.45"), row[6]);
+    Assert.assertEquals(new BigDecimal("1234.567"), row[7]);
+    Assert.assertEquals(new BigDecimal("-123456789.1234"), row[8]);
+    Calendar calendar = Calendar.getInstance();
+    calendar.setTime((java.sql.Date) row[9]);
+    Assert.assertEquals(2016, calendar.get(Calendar.YEAR));
+    Assert.assertEquals(Calendar.JULY, calendar.get(Calendar.MONTH));
+    Assert.assertEquals(18, calendar.get(Calendar.DAY_OF_MONTH));
+    Assert.assertEquals(0, calendar.get(Calendar.HOUR_OF_DAY));
+    Assert.assertEquals(new Timestamp(1500000000000L), row[10]);
+    Assert.assertEquals(new Timestamp(17000 * MILLIS_PER_DAY + 3600 * 1000L), row[11]);
+
+    row = rows.get(1);
+    Assert.assertEquals(2L, row[0]);
+    for (int i = 1; i < row.length; i++) {
+      Assert.assertEquals(NULL_FORMAT, row[i]);
+    }
+  }
+
+  @Test public void testReadProjectedColumns() throws Exception {
+    // columns are returned in the order of header, missing column is returned as null
+    List<Object[]> rows = readRows(new String[] { "salary", "NAME", "missing", "id" });
+    Assert.assertEquals(2, rows.size());
+    Assert.assertArrayEquals(new Object[] { 1.0E7, "abc", NULL_FORMAT, 1L }, rows.get(0));
+    Assert.assertArrayEquals(new Object[] { NULL_FORMAT, NULL_FORMAT, NULL_FORMAT, 2L },
+        rows.get(1));
+  }
+
+  @Test public void testNestedColumnIsNotSupported() throws Exception {
+    file.delete();
+    MessageType schema = MessageTypeParser.parseMessageType(
+        "message test { required int32 id; repeated int32 values; }");
+    GroupWriteSupport.setSchema(schema, configuration);
+    ParquetWriter<Group> writer = new ParquetWriter<>(new Path(file.getCanonicalPath()),
+        configuration, new GroupWriteSupport());
+    try {
+      writer.write(new SimpleGroupFactory(schema).newGroup().append("id", 1).append("values", 2));
+    } finally {
+      writer.close();
+    }
+    try {
+      readRows(new String[] { "id", "values" });
+      Assert.fail("repeated column must not be read");
+    } catch (RuntimeException e) {
+      // the reader fails when it is initialized with the schema of the file
+      Throwable cause = e;
+      while (!(cause instanceof CarbonDataLoadingException) && null != cause.getCause()) {
+        cause = cause.getCause();
+      }
+      Assert.assertTrue(cause instanceof CarbonDataLoadingException);
+      Assert.assertTrue(cause.getMessage().contains("values"));
+    }
+  }
+
+  private List<Object[]> readRows(String[] header) throws Exception {
+    FileSplit split = new FileSplit(new Path(file.getCanonicalPath()), 0, file.length(), null);
+    ParquetRecordReaderIterator iterator = new ParquetRecordReaderIterator(split,
+        new TaskAttemptContextImpl(configuration, new TaskAttemptID()), header, NULL_FORMAT);
+    List<Object[]> rows = new ArrayList<>();
+    try {
+      iterator.initialize();
+      while (iterator.hasNext()) {
+        rows.add(iterator.next());
+      }
+    } finally {
+      iterator.close();
+    }
+    return rows;
+  }
+
+  private static Binary toFixedBinary(BigDecimal value, int length) {
+    byte[] unscaled = value.unscaledValue().toByteArray();
+    byte[] bytes = new byte[length];
+    // sign extend the two's complement value to the fixed length
+    byte padding = (byte) (value.signum() < 0 ? -1 : 0);
+    for (int i = 0; i < length - unscaled.length; i++) {
+      bytes[i] = padding;
+    }
+    System.arraycopy(unscaled, 0, bytes, length - unscaled.length, unscaled.length);
+    return Binary.fromByteArray(bytes);
+  }
+
+  private static Binary toInt96(int daysSinceEpoch, long nanosOfDay) {
+    ByteBuffer buffer = ByteBuffer.allocate(12).order(ByteOrder.LITTLE_ENDIAN);
+    buffer.putLong(nanosOfDay);
+    buffer.putInt((int) (daysSinceEpoch + JULIAN_DAY_OF_EPOCH));
+    return Binary.fromByteArray(buffer.array());
+  }
+}
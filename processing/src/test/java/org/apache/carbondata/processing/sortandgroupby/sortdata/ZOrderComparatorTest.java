@@ -0,0 +1,79 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.carbondata.processing.sortandgroupby.sortdata;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class ZOrderComparatorTest {
+
+  // dimensions a and c are dictionary, b is no dictionary, z-order is on a and c
+  private static final boolean[] NO_DICTIONARY_MAPPING = new boolean[] { false, true, false };
+
+  private static final int[] ZORDER_INDEXES = new int[] { 0, 2 };
+
+  /**
+   * @return value formed by interleaving the bits of a and c, bit of a first
+   */
+  private static long interleave(int a, int c) {
+    long value = 0;
+    for (int bit = 15; bit >= 0; bit--) {
+      value = (value << 1) | ((a >> bit) & 1);
+      value = (value << 1) | ((c >> bit) & 1);
+    }
+    return value;
+  }
+
+  @Test public void testRowsAreSortedOnInterleavedKeys() {
+    List<Object[]> rows = new ArrayList<>();
+    for (int a = 1; a <= 20; a++) {
+      for (int c = 1; c <= 20; c++) {
+        rows.add(new Object[] { a, new byte[] { 1 }, c, 10L });
+      }
+    }
+    Collections.shuffle(rows, new Random(7));
+    Collections.sort(rows, new ZOrderComparator(ZORDER_INDEXES, NO_DICTIONARY_MAPPING));
+    for (int i = 1; i < rows.size(); i++) {
+      long previous = interleave((int) rows.get(i - 1)[0], (int) rows.get(i - 1)[2]);
+      long current = interleave((int) rows.get(i)[0], (int) rows.get(i)[2]);
+      Assert.assertTrue(previous < current);
+    }
+  }
+
+  @Test public void testSameZOrderKeysAreOrderedOnMdKey() {
+    ZOrderComparator comparator = new ZOrderComparator(ZORDER_INDEXES, NO_DICTIONARY_MAPPING);
+    Object[] rowA = new Object[] { 3, new byte[] { 1 }, 5 };
+    Object[] rowB = new Object[] { 3, new byte[] { 2 }, 5 };
+    Assert.assertTrue(comparator.compare(rowA, rowB) < 0);
+    Assert.assertTrue(comparator.compare(rowB, rowA) > 0);
+  }
+
+  @Test public void testCompareDictionaryKeys() {
+    ZOrderComparator comparator = new ZOrderComparator(ZORDER_INDEXES, NO_DICTIONARY_MAPPING);
+    // dictionary keys of the sorted row hold only a and c
+    Assert.assertTrue(comparator.compareDictionaryKeys(new int[] { 1, 2 }, new int[] { 2, 1 }) < 0);
+    Assert.assertTrue(comparator.compareDictionaryKeys(new int[] { 4, 1 }, new int[] { 3, 3 }) > 0);
+    Assert.assertEquals(0,
+        comparator.compareDictionaryKeys(new int[] { 3, 3 }, new int[] { 3, 3 }));
+  }
+}
@@ -0,0 +1,115 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.carbondata.processing.store.writer;
+
+import java.io.File;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import org.apache.carbondata.core.constants.CarbonCommonConstants;
+import org.apache.carbondata.core.util.CarbonUtil;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+public class DirectStoreFileChannelTest {
+
+  private File directory;
+
+  private ExecutorService executorService;
+
+  @Before public void setUp() throws Exception {
+    directory = Files.createTempDirectory("direct_store").toFile();
+    executorService = Executors.newFixedThreadPool(1);
+  }
+
+  @After public void tearDown() throws Exception {
+    executorService.shutdownNow();
+    CarbonUtil.deleteFoldersAndFiles(directory);
+  }
+
+  private static byte[] createData(int length) {
+    byte[] data = new byte[length];
+    for (int i = 0; i < length; i++) {
+      data[i] = (byte) i;
+    }
+    return data;
+  }
+
+  /**
+   * data is written in pieces bigger than the buffer, so some buffers are written by the
+   * executor, and the file is visible with its actual name only after close
+   */
+  @Test public void testFileIsPublishedOnClose() throws Exception {
+    File file = new File(directory, "part-0-0_batchno0-0-0.carbondata");
+    File tempFile = new File(file.getPath() + CarbonCommonConstants.FILE_INPROGRESS_STATUS);
+    byte[] data = createData(10 * 1024 * 1024 + 17);
+    DirectStoreFileChannel channel =
+        new DirectStoreFileChannel(file.getPath(), 1024 * 1024 * 1024, executorService);
+    int pieceSize = 3 * 1024 * 1024;
+    for (int offset = 0; offset < data.length; offset += pieceSize) {
+      channel.write(ByteBuffer.wrap(data, offset, Math.min(pieceSize, data.length - offset)));
+    }
+    Assert.assertEquals(data.length, channel.size());
+    Assert.assertFalse(file.exists());
+    Assert.assertTrue(tempFile.exists());
+    channel.close();
+    Assert.assertFalse(channel.isOpen());
+    Assert.assertFalse(tempFile.exists());
+    Assert.assertArrayEquals(data, Files.readAllBytes(file.toPath()));
+  }
+
+  @Test public void testAbortDeletesFile() throws Exception {
+    File file = new File(directory, "part-0-1_batchno0-0-0.carbondata");
+    DirectStoreFileChannel channel =
+        new DirectStoreFileChannel(file.getPath(), 1024 * 1024 * 1024, executorService);
+    channel.write(ByteBuffer.wrap(createData(5 * 1024 * 1024)));
+    channel.abort();
+    Assert.assertFalse(channel.isOpen());
+    Assert.assertEquals(0, directory.listFiles().length);
+    // close after abort does not publish the file
+    channel.close();
+    Assert.assertFalse(file.exists());
+  }
+
+  @Test public void testFailedWriteIsNotPublished() throws Exception {
+    File file = new File(directory, "part-0-2_batchno0-0-0.carbondata");
+    ExecutorService failingExecutor = Executors.newFixedThreadPool(1);
+    DirectStoreFileChannel channel =
+        new DirectStoreFileChannel(file.getPath(), 1024 * 1024 * 1024, failingExecutor);
+    // buffers can not be written once the executor is stopped
+    failingExecutor.shutdownNow();
+    try {
+      channel.write(ByteBuffer.wrap(createData(5 * 1024 * 1024)));
+      Assert.fail("buffer is written by a stopped executor");
+    } catch (Exception e) {
+      // test pass
+    }
+    try {
+      channel.close();
+      Assert.fail("partially written file is published");
+    } catch (Exception e) {
+      // test pass
+    }
+    Assert.assertEquals(0, directory.listFiles().length);
+  }
+}